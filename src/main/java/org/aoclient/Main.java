@@ -1,9 +1,12 @@
 package org.aoclient;
 
 import org.aoclient.engine.Engine;
+import org.aoclient.engine.Headless;
+import org.aoclient.engine.ReplayBenchmark;
 import org.aoclient.engine.renderer.FontRenderer;
 
 import java.nio.ByteOrder;
+import java.nio.file.Paths;
 
 /**
  * Clase principal que actua como punto de entrada de la aplicacion.
@@ -11,12 +14,53 @@ import java.nio.ByteOrder;
  * Esta clase contiene el metodo main que sirve como punto de inicio para la ejecucion del cliente. Su unica responsabilidad es
  * instanciar el motor grafico (Engine) y ejecutar su metodo {@code start()}, iniciando asi toda la secuencia de arranque del
  * juego.
+ * <p>
+ * Con {@code --replay captura.aocap [--speed factor|max]} el cliente no se conecta a un servidor, sino que ejecuta un
+ * {@link ReplayBenchmark} con la captura indicada.
+ * <p>
+ * Con {@code --headless} el cliente corre sin ventana, OpenGL ni audio ({@link Headless}). En ese modo se aceptan ademas
+ * {@code --fps n} (frames por segundo del reloj simulado), {@code --unpaced} (correr sin esperar entre frames),
+ * {@code --frames n} (cerrar tras n frames) y {@code --login usuario:contraseña [--server host:puerto]} para entrar a la partida
+ * sin el formulario de conexion. Se puede combinar con {@code --replay} para correr el benchmark de reproduccion sin GPU.
  */
 
 public class Main {
 
     public static void main(String[] args) {
-        new Engine().start();
+        String capture = null;
+        double speed = 1;
+        boolean headless = false, paced = true;
+        int fps = 60;
+        long frames = 0;
+        String login = null, server = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--replay" -> capture = args[++i];
+                case "--speed" -> speed = args[++i].equals("max") ? 0 : Double.parseDouble(args[i]);
+                case "--headless" -> headless = true;
+                case "--fps" -> fps = Integer.parseInt(args[++i]);
+                case "--unpaced" -> paced = false;
+                case "--frames" -> frames = Long.parseLong(args[++i]);
+                case "--login" -> login = args[++i];
+                case "--server" -> server = args[++i];
+                default -> {
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+        if (headless) {
+            Headless.INSTANCE.enable(fps, paced, frames);
+            if (login != null) {
+                int colon = login.indexOf(':');
+                if (colon <= 0) {
+                    System.err.println("The login must be user:password");
+                    System.exit(1);
+                }
+                Headless.INSTANCE.setLogin(login.substring(0, colon), login.substring(colon + 1), server);
+            }
+        }
+        new Engine(capture != null ? new ReplayBenchmark(Paths.get(capture), speed) : null).start();
     }
 
 }
\ No newline at end of file
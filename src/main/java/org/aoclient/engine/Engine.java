@@ -13,10 +13,12 @@ import org.tinylog.Logger;
 
 import static org.aoclient.engine.Sound.playMusic;
 import static org.aoclient.engine.scenes.SceneType.INTRO_SCENE;
+import static org.aoclient.engine.scenes.SceneType.MAIN_SCENE;
 import static org.aoclient.engine.utils.GameData.options;
 import static org.aoclient.engine.utils.Time.deltaTime;
 import static org.lwjgl.glfw.GLFW.glfwPollEvents;
 import static org.lwjgl.glfw.GLFW.glfwSwapBuffers;
+import static org.lwjgl.glfw.GLFW.glfwSwapInterval;
 import static org.lwjgl.opengl.GL11.*;
 
 /**
@@ -28,6 +30,12 @@ import static org.lwjgl.opengl.GL11.*;
  * El ciclo de vida del motor incluye tres etapas principales: inicializacion de recursos mediante el metodo {@code init()},
  * ejecucion del bucle principal con {@code loop()} y cierre de recursos junto con la terminacion del programa a traves del metodo
  * {@code close()}.
+ * <p>
+ * Si se crea con un {@link ReplayBenchmark}, en lugar de esperar a que el usuario se conecte reproduce una captura del trafico
+ * del servidor, mide cada frame y termina al aplicar el ultimo paquete de la captura.
+ * <p>
+ * En el modo sin ventana ({@link Headless}) corre el mismo bucle sin GLFW, OpenGL ni OpenAL, sobre un reloj simulado, y en lugar
+ * de la presentacion pasa directo a la escena principal, desde donde entra a la partida si se indicaron credenciales.
  */
 
 public final class Engine {
@@ -38,17 +46,32 @@ public final class Engine {
     private final Window window = Window.INSTANCE;
     /** Sistema de interfaz grafica de usuario. */
     private final ImGUISystem guiSystem = ImGUISystem.INSTANCE;
+    private final Headless headless = Headless.INSTANCE;
     /** Escena actual que esta siendo renderizada y actualizada en el motor. */
     private Scene currentScene;
+    /** Benchmark de reproduccion en curso, o null si el cliente se conecta a un servidor. */
+    private final ReplayBenchmark replay;
+
+    public Engine() {
+        this(null);
+    }
+
+    /**
+     * @param replay benchmark de reproduccion a ejecutar, o null para iniciar el cliente normalmente
+     */
+    public Engine(ReplayBenchmark replay) {
+        this.replay = replay;
+    }
 
     /**
      * Finaliza el cliente del motor grafico cerrando los recursos necesarios y deteniendo su ejecucion.
      * <p>
-     * Este metodo garantiza que las opciones actuales sean almacenadas invocando el metodo {@code options.save()}.
-     * Adicionalmente, ajusta el estado del programa a inactivo configurando {@code prgRun} a {@code false}.
+     * Este metodo garantiza que las opciones actuales sean almacenadas invocando el metodo {@code options.save()}, salvo en el
+     * modo sin ventana, para no pisar las opciones del usuario con las de una prueba. Adicionalmente, ajusta el estado del
+     * programa a inactivo configurando {@code prgRun} a {@code false}.
      */
     public static void closeClient() {
-        options.save();
+        if (!Headless.INSTANCE.isEnabled()) options.save();
         prgRun = false;
     }
 
@@ -61,10 +84,24 @@ public final class Engine {
         Logger.info("Java version: {}", System.getProperty("java.version"));
 
         GameData.init();
-        window.init();
+        if (!headless.isEnabled()) window.init();
         guiSystem.init();
         Surface.INSTANCE.init();
 
+        if (replay != null) {
+            // La captura logea al personaje, asi que se salta la presentacion y se espera en la escena principal
+            if (!headless.isEnabled()) glfwSwapInterval(0);
+            changeScene(MAIN_SCENE);
+            replay.start();
+            return;
+        }
+
+        if (headless.isEnabled()) {
+            changeScene(MAIN_SCENE);
+            headless.login();
+            return;
+        }
+
         changeScene(INTRO_SCENE);
         playMusic("intro.ogg");
     }
@@ -91,7 +128,8 @@ public final class Engine {
         Sound.clearSounds();
         Sound.clearMusics();
         guiSystem.destroy();
-        window.close();
+        if (headless.isEnabled()) headless.report();
+        else window.close();
     }
 
     /**
@@ -102,6 +140,9 @@ public final class Engine {
      * <ul>
      * <li>Inicializa el tiempo al inicio del bucle llamando a {@code Time.initTime()}.
      * <li>Itera mientras el programa esta activo, verificando continuamente eventos de la ventana con {@code glfwPollEvents()}.
+     * <li>Aplica los paquetes que el hilo de red recibio desde el frame anterior con {@code SocketConnection.INSTANCE.read()}, de
+     * modo que el frame se renderiza con el estado del juego ya actualizado. Solo se usan hasta {@code PacketTimeBudget}
+     * milisegundos; si llega una rafaga, el resto se aplica en los frames siguientes.
      * <li>Si la ventana no esta minimizada:
      * <ul>
      *  <li>Establece el color de fondo del renderizado basandose en los valores RGB de la escena actual.
@@ -110,20 +151,33 @@ public final class Engine {
      *  <li>Actualiza los timers llamando a {@code Time.updateTime()}.
      * </ul>
      * <li>Resetea el estado de botones del raton con {@code MouseListener.resetReleasedButtons()}.
-     * <li>Gestiona la comunicacion con el servidor enviando y recibiendo bytes utilizando
-     * {@code SocketConnection.INSTANCE.write()} y {@code SocketConnection.INSTANCE.read()} respectivamente.
+     * <li>Envia al servidor los paquetes escritos durante el frame utilizando {@code SocketConnection.INSTANCE.write()}, que los
+     * agrupa con los de los frames siguientes hasta {@code FlushInterval} milisegundos. Los paquetes que no pueden esperar ya se
+     * enviaron al escribirse.
+     * <li>Durante un benchmark de reproduccion, registra la duracion del frame y, si ya se aplico toda la captura, imprime el
+     * resumen y termina.
      * </ul>
      * <p>
+     * En el modo sin ventana no hay eventos ni buffers que intercambiar: cada frame se actualiza y "renderiza" contra los
+     * backends de {@link Headless}, que al final avanza el reloj simulado y, si corresponde, espera al siguiente frame.
+     * <p>
      * Este bucle mantiene el motor grafico activo hasta que el estado de ejecucion del programa {@code prgRun} cambie a
      * {@code false}.
      */
     private void loop() {
         Time.initTime();
+        final long startNanos = System.nanoTime();
 
         while (prgRun) {
-            glfwPollEvents();
+            if (!headless.isEnabled()) glfwPollEvents();
 
-            if (!window.isMinimized()) {
+            // Aplica lo que recibio el hilo de red (lee lo que recibe el cliente del servidor)
+            SocketConnection.INSTANCE.read();
+
+            if (headless.isEnabled()) {
+                if (deltaTime >= 0) render();
+                Time.updateTime();
+            } else if (!window.isMinimized()) {
                 glClearColor(currentScene.getBackground().getRed(), currentScene.getBackground().getGreen(), currentScene.getBackground().getBlue(), 1.0f);
                 glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
 
@@ -138,8 +192,16 @@ public final class Engine {
 
             // Si hay algo para enviar, lo envia (escribe lo que envia el cliente al servidor)
             SocketConnection.INSTANCE.write();
-            // Si hay algo para recibir, lo recibe (lee lo que recibe el cliente del servidor)
-            SocketConnection.INSTANCE.read();
+
+            if (replay != null) {
+                replay.onFrame();
+                if (replay.isFinished()) {
+                    replay.report();
+                    prgRun = false;
+                }
+            }
+
+            if (headless.isEnabled() && !headless.endFrame(startNanos)) prgRun = false;
 
         }
     }
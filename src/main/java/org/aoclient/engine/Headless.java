@@ -0,0 +1,200 @@
+package org.aoclient.engine;
+
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.User;
+import org.aoclient.network.Reconnection;
+import org.aoclient.network.SocketConnection;
+
+import java.util.Locale;
+
+import static org.aoclient.engine.utils.GameData.options;
+import static org.aoclient.network.protocol.Protocol.writeLoginExistingChar;
+
+/**
+ * <p>
+ * Modo sin ventana del cliente, para correr el juego completo en maquinas sin pantalla, placa de video ni dispositivo de audio,
+ * como las de integracion continua.
+ * <p>
+ * Con el modo activado, {@link Engine} corre su bucle normal (red, {@code User}, personajes, mapa, escenas y formularios) pero
+ * no crea la ventana GLFW, el contexto OpenGL ni el de OpenAL, y los puntos del cliente que los usan los reemplazan por estos
+ * backends:
+ * <ul>
+ * <li><b>Video</b>: {@code Drawn} cuenta los quads y primitivas que habria dibujado en lugar de enviarlos a OpenGL, y
+ * {@code Texture} y {@code Form} decodifican las imagenes para conocer su tamaño, pero no las suben a la placa.
+ * <li><b>Interfaz</b>: ImGui corre del lado de la CPU con un tamaño de pantalla fijo, sin backend de plataforma ni de
+ * renderizado.
+ * <li><b>Audio</b>: {@link Sound} no decodifica ni reproduce nada y solo cuenta los sonidos y las musicas que se pidieron. Los
+ * sonidos en loop siguen "sonando" hasta que se detienen.
+ * <li><b>Entrada</b>: no hay eventos de teclado ni de raton, salvo los que una prueba inyecte llamando a los callbacks de
+ * {@code KeyHandler} y {@code MouseListener}.
+ * <li><b>Tiempo</b>: {@code Time} usa un reloj simulado que avanza exactamente {@code 1 / fps} segundos por frame, asi que las
+ * animaciones y los intervalos del juego no dependen de la velocidad de la maquina. Por defecto el bucle espera entre frames para
+ * que el reloj simulado vaya al ritmo del real, lo que mantiene al cliente sincronizado con el servidor; sin esa espera corre lo
+ * mas rapido posible.
+ * </ul>
+ * Lo que queda afuera es solo el costo de la GPU y del driver, por lo que sirve como base para pruebas automatizadas de
+ * rendimiento y de estabilidad de todo lo demas. Se activa con {@code --headless} (ver {@code Main}) antes de iniciar el motor.
+ * <p>
+ * Como no hay quien complete el formulario de conexion, si se indicaron credenciales con
+ * {@link #setLogin(String, String, String)} el motor se conecta y entra a la partida apenas inicia. Las opciones del cliente no
+ * se guardan al cerrar.
+ */
+
+public enum Headless {
+
+    INSTANCE;
+
+    /** Tamaño de pantalla que se informa a ImGui, igual al de la ventana del cliente. */
+    public static final int SCREEN_WIDTH = 800, SCREEN_HEIGHT = 600;
+
+    private boolean enabled;
+    /** Si el bucle espera entre frames para que el reloj simulado avance al ritmo del real. */
+    private boolean paced = true;
+    private int fps = 60;
+    /** Cantidad de frames tras la cual se cierra el cliente, o 0 para correr sin limite. */
+    private long maxFrames;
+    /** Tiempo del reloj simulado, en segundos. */
+    private double clock;
+    private long frames;
+    private long quads;
+    private long primitives;
+    private long texturesLoaded;
+    private long soundsPlayed;
+    private long musicsPlayed;
+    private long formsShown;
+    private String userName;
+    private String password;
+    /** Servidor al que se conecta, como {@code host:puerto}, o null para usar el de las opciones. */
+    private String server;
+
+    /**
+     * Activa el modo sin ventana. Tiene que llamarse antes de {@link Engine#start()}.
+     *
+     * @param fps       frames por segundo del reloj simulado
+     * @param paced     true para que el bucle vaya al ritmo del reloj real, false para correr lo mas rapido posible
+     * @param maxFrames cantidad de frames tras la cual se cierra el cliente, o 0 para correr sin limite
+     */
+    public void enable(int fps, boolean paced, long maxFrames) {
+        if (fps <= 0) throw new IllegalArgumentException("The frame rate must be positive: " + fps);
+        this.enabled = true;
+        this.fps = fps;
+        this.paced = paced;
+        this.maxFrames = maxFrames;
+        // El modo no usa ninguna ventana, ni siquiera las de AWT que se usan para decodificar imagenes
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    /**
+     * Indica con que personaje entrar a la partida al iniciar el motor.
+     *
+     * @param userName nombre del personaje
+     * @param password contraseña del personaje
+     * @param server   servidor como {@code host:puerto}, o null para usar el de las opciones
+     */
+    public void setLogin(String userName, String password, String server) {
+        if (server != null && server.lastIndexOf(':') <= 0)
+            throw new IllegalArgumentException("The server must be host:port: " + server);
+        this.userName = userName;
+        this.password = password;
+        this.server = server;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return tiempo del reloj simulado, en segundos
+     */
+    public double getClock() {
+        return clock;
+    }
+
+    /**
+     * Termina un frame: avanza el reloj simulado y, si el modo va al ritmo del reloj real, espera hasta el momento en que deberia
+     * empezar el siguiente.
+     *
+     * @param startNanos momento en que comenzo el primer frame, segun {@link System#nanoTime()}
+     * @return false si se alcanzo la cantidad maxima de frames
+     */
+    boolean endFrame(long startNanos) {
+        frames++;
+        clock = (double) frames / fps;
+        if (paced) {
+            long wait = startNanos + frames * 1_000_000_000L / fps - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return maxFrames == 0 || frames < maxFrames;
+    }
+
+    /**
+     * Se conecta y entra a la partida con las credenciales indicadas, si las hay, igual que el formulario de conexion. Se llama
+     * con las opciones ya cargadas.
+     */
+    void login() {
+        if (userName == null) return;
+        if (server != null) {
+            int colon = server.lastIndexOf(':');
+            options.setIpServer(server.substring(0, colon));
+            options.setPortServer(server.substring(colon + 1));
+        }
+        SocketConnection.INSTANCE.connect(() -> writeLoginExistingChar(Session.CLIENT, userName, password));
+        Reconnection.INSTANCE.setCredentials(userName, password);
+        Session.CLIENT.getUser().setUserName(userName);
+    }
+
+    public void recordQuad() {
+        quads++;
+    }
+
+    public void recordPrimitive() {
+        primitives++;
+    }
+
+    public void recordTexture() {
+        texturesLoaded++;
+    }
+
+    public void recordSound() {
+        soundsPlayed++;
+    }
+
+    public void recordMusic() {
+        musicsPlayed++;
+    }
+
+    public void recordForm() {
+        formsShown++;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getQuads() {
+        return quads;
+    }
+
+    public long getSoundsPlayed() {
+        return soundsPlayed;
+    }
+
+    /**
+     * Imprime lo que registraron los backends durante la ejecucion.
+     */
+    void report() {
+        System.out.printf(Locale.ROOT, "Headless run: %d frames, %.1f simulated seconds%n", frames, clock);
+        System.out.printf(Locale.ROOT, "  Video:       %d quads (%.0f per frame), %d other primitives, %d textures loaded%n",
+                quads, frames > 0 ? (double) quads / frames : 0, primitives, texturesLoaded);
+        System.out.println("  Audio:       " + soundsPlayed + " sounds, " + musicsPlayed + " music changes");
+        System.out.println("  Interface:   " + formsShown + " forms shown");
+    }
+
+}
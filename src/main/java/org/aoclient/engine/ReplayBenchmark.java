@@ -0,0 +1,177 @@
+package org.aoclient.engine;
+
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.User;
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.SocketConnection;
+import org.aoclient.network.WireCapture;
+import org.aoclient.network.WireCaptureReader;
+import org.aoclient.network.protocol.ClientPacket;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * <p>
+ * Benchmark de punta a punta que reproduce una captura del trafico del servidor ({@link org.aoclient.network.WireCapture}) en el
+ * cliente completo, sin servidor.
+ * <p>
+ * Los bytes recibidos de la captura se publican con {@link SocketConnection#replay(Path, double)} y el {@link Engine} corre su
+ * bucle normal: los paquetes se aplican con los handlers reales, {@code MainScene} pasa a {@code GameScene} cuando la captura
+ * logea al personaje y cada frame se renderiza igual que en una partida. Al terminar la captura se imprime un resumen y se cierra
+ * el cliente.
+ * <p>
+ * Mide:
+ * <ul>
+ * <li>La duracion de cada frame, en un histograma preasignado con resolucion de {@link #BUCKET_NANOS} nanosegundos, del que se
+ * obtienen los percentiles.
+ * <li>Los paquetes aplicados por segundo.
+ * <li>Los bytes que asigna el hilo de renderizado por segundo y por frame, y las recolecciones de basura durante la
+ * reproduccion.
+ * </ul>
+ * Medir no asigna memoria, asi que no altera la tasa de asignacion que se reporta. Como la captura conserva la fragmentacion y
+ * los tiempos originales, dos ejecuciones con la misma captura y la misma velocidad reciben exactamente los mismos bytes, y sus
+ * resultados son comparables entre versiones del cliente. El VSYNC se desactiva durante la reproduccion para que la duracion de
+ * los frames no quede fijada por el monitor.
+ */
+
+public final class ReplayBenchmark {
+
+    /** Resolucion del histograma de duracion de frames. */
+    private static final long BUCKET_NANOS = 10_000;
+    /** Cantidad de intervalos del histograma, que cubre hasta 100 ms. Los frames mas largos se acumulan en un intervalo extra. */
+    private static final int BUCKETS = 10_000;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Path capture;
+    /** Factor de velocidad de la reproduccion, o 0 para reproducir sin esperas. */
+    private final double speed;
+    private final int[] histogram = new int[BUCKETS + 1];
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private long frames;
+    private long maxFrameNanos;
+    private long startNanos;
+    private long lastFrameNanos;
+    private long startAllocatedBytes;
+    private long startGcCount;
+    private long startGcMillis;
+
+    /**
+     * @param capture archivo de captura a reproducir
+     * @param speed   factor de velocidad (1 respeta los tiempos de la captura), o 0 para reproducir lo mas rapido posible
+     */
+    public ReplayBenchmark(Path capture, double speed) {
+        this.capture = capture;
+        this.speed = speed;
+    }
+
+    /**
+     * Comienza la reproduccion. Se llama desde el hilo de renderizado, antes del primer frame.
+     */
+    void start() {
+        Session.CLIENT.getUser().setUserName(loginName());
+        SocketConnection.INSTANCE.replay(capture, speed);
+        startNanos = System.nanoTime();
+        lastFrameNanos = startNanos;
+        startAllocatedBytes = threads.getCurrentThreadAllocatedBytes();
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+    }
+
+    /**
+     * Registra la duracion del frame que acaba de terminar.
+     */
+    void onFrame() {
+        long now = System.nanoTime();
+        long frameNanos = now - lastFrameNanos;
+        lastFrameNanos = now;
+        histogram[(int) Math.min(frameNanos / BUCKET_NANOS, BUCKETS)]++;
+        if (frameNanos > maxFrameNanos) maxFrameNanos = frameNanos;
+        frames++;
+    }
+
+    /**
+     * Indica si ya se aplicaron todos los paquetes de la captura.
+     */
+    boolean isFinished() {
+        return SocketConnection.INSTANCE.isReplayFinished();
+    }
+
+    /**
+     * Imprime el resumen de la reproduccion.
+     */
+    void report() {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+        double seconds = elapsedNanos / 1e9;
+        long packets = SocketConnection.INSTANCE.getAppliedPackets();
+
+        System.out.println("Replay of '" + capture + "' at " + (speed > 0 ? speed + "x" : "maximum speed"));
+        System.out.printf(Locale.ROOT, "  Duration:    %.2f s, %d frames (%.1f FPS)%n", seconds, frames, frames / seconds);
+        StringBuilder percentiles = new StringBuilder("  Frame time:  ");
+        for (double percentile : PERCENTILES) {
+            double millis = percentileNanos(percentile) / 1e6;
+            percentiles.append(String.format(Locale.ROOT, "p%s %.2f ms, ", format(percentile), millis));
+        }
+        percentiles.append(String.format(Locale.ROOT, "max %.2f ms", maxFrameNanos / 1e6));
+        System.out.println(percentiles);
+        System.out.printf(Locale.ROOT, "  Packets:     %d applied (%.0f per second), %d over-budget frames%n", packets,
+                packets / seconds, SocketConnection.INSTANCE.getOverBudgetFrames());
+        System.out.printf(Locale.ROOT, "  Allocation:  %.2f MB/s on the render thread (%.0f bytes per frame)%n",
+                allocated / seconds / (1024 * 1024), frames > 0 ? (double) allocated / frames : 0);
+        System.out.printf(Locale.ROOT, "  GC:          %d collections, %d ms%n", gcCount() - startGcCount,
+                gcMillis() - startGcMillis);
+    }
+
+    /**
+     * Busca el nombre del personaje en el login que envio el cliente durante la captura, ya que no hay un formulario de conexion
+     * que lo deje en {@code User}. Si la captura no empieza con un login, usa el nombre del archivo.
+     */
+    private String loginName() {
+        try {
+            PacketBuffer sent = new PacketBuffer();
+            sent.writeBlock(WireCaptureReader.readStream(capture, WireCapture.SENT));
+            int id = sent.readByte();
+            if (id == ClientPacket.LOGIN_EXISTING_CHAR.getId() || id == ClientPacket.LOGIN_NEW_CHAR.getId())
+                return sent.readCp1252String();
+        } catch (IOException | RuntimeException ignored) {
+            // La reproduccion informara el error al leer la captura
+        }
+        return capture.getFileName().toString();
+    }
+
+    /**
+     * Devuelve el limite superior del intervalo del histograma en el que cae el percentil.
+     */
+    private long percentileNanos(double percentile) {
+        long rank = (long) Math.ceil(frames * percentile / 100);
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += histogram[i];
+            if (count >= rank) return (i + 1) * BUCKET_NANOS;
+        }
+        return maxFrameNanos;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            count += Math.max(gc.getCollectionCount(), 0);
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            millis += Math.max(gc.getCollectionTime(), 0);
+        return millis;
+    }
+
+}
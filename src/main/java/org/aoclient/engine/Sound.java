@@ -27,6 +27,9 @@ import static org.lwjgl.system.libc.LibCStdlib.free;
  * <p>
  * Incluye funcionalidades para la limpieza de recursos de audio cuando ya no son necesarios, ayudando a prevenir fugas de
  * memoria.
+ * <p>
+ * En el modo sin ventana ({@link Headless}) no hay contexto de OpenAL: los sonidos no se decodifican ni se reproducen, solo se
+ * cuentan, y su estado de reproduccion se simula.
  */
 
 public final class Sound {
@@ -39,10 +42,13 @@ public final class Sound {
 
     public static final int MAX_SOUNDS = 30; // cantidad maxima de sondios almacenadas en memoria.
     public static final int MAX_MUSIC = 2; // cantidad maxima de musica almacenada en memoria.
+    private static final Headless HEADLESS = Headless.INSTANCE;
     private String filepath;
     private int bufferId;
     private int sourceId;
     private boolean isPlaying = false;
+    /** Si el sonido se repite en loop. Solo se usa en el modo sin ventana, para simular el estado de reproduccion. */
+    private boolean loops;
 
     public static DecodedSoundData preloadedMusic = null;
 
@@ -51,6 +57,8 @@ public final class Sound {
      */
     public Sound(final String filepath, final boolean loops) {
         this.filepath = filepath;
+        this.loops = loops;
+        if (HEADLESS.isEnabled()) return;
 
         // Allocate space to store the return information from stb
         stackPush();
@@ -174,6 +182,11 @@ public final class Sound {
      * Agregamos musica a nuestro objeto de musica y lo reproduce.
      */
     public static void playMusic(String musicName) {
+        if (HEADLESS.isEnabled()) {
+            if (options.isMusic()) HEADLESS.recordMusic();
+            return;
+        }
+
         stopMusic();
 
         final File file = new File("resources/music/" + musicName);
@@ -243,6 +256,7 @@ public final class Sound {
      * Destruye el sonido creado en OpenAL y libera memoria.
      */
     public void delete() {
+        if (HEADLESS.isEnabled()) return;
         alDeleteSources(sourceId);
         alDeleteBuffers(bufferId);
     }
@@ -253,6 +267,12 @@ public final class Sound {
      * contrario, se comienza a reproducir el sonido 1 sola vez.
      */
     public void play() {
+        if (HEADLESS.isEnabled()) {
+            // Sin audio los sonidos terminan apenas empiezan, salvo los que se repiten hasta que se detienen
+            HEADLESS.recordSound();
+            isPlaying = loops;
+            return;
+        }
         if (alGetSourcei(sourceId, AL_SOURCE_STATE) == AL_PLAYING) new Sound(this.filepath, false).play();
         else {
             if (!isPlaying) isPlaying = true;
@@ -265,7 +285,7 @@ public final class Sound {
      */
     public void stop() {
         if (isPlaying) {
-            alSourceStop(sourceId);
+            if (!HEADLESS.isEnabled()) alSourceStop(sourceId);
             isPlaying = false;
         }
     }
@@ -274,7 +294,7 @@ public final class Sound {
      * @return True si esta reproduciendose el sonido, falso en caso contrario.
      */
     public boolean isPlaying() {
-        if (alGetSourcei(sourceId, AL_SOURCE_STATE) == AL_STOPPED) isPlaying = false;
+        if (!HEADLESS.isEnabled() && alGetSourcei(sourceId, AL_SOURCE_STATE) == AL_STOPPED) isPlaying = false;
         return isPlaying;
     }
 
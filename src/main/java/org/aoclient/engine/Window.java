@@ -39,6 +39,9 @@ import static org.lwjgl.system.MemoryUtil.NULL;
  * <p>
  * La clase mantiene las dimensiones constantes de la ventana (800x600) y gestiona el posicionamiento centrado en la pantalla del
  * usuario.
+ * <p>
+ * En el modo sin ventana ({@link Headless}) el motor no la inicializa ni la cierra, y las acciones sobre la ventana no hacen
+ * nada.
  */
 
 public enum Window {
@@ -178,6 +181,7 @@ public enum Window {
     }
 
     public void toggleWindow() {
+        if (Headless.INSTANCE.isEnabled()) return;
         if (options.isFullscreen()) glfwSetWindowMonitor(window, glfwGetPrimaryMonitor(), 0, 0, width, height, GLFW_DONT_CARE);
         else {
             glfwSetWindowMonitor(window, NULL,
@@ -213,6 +217,7 @@ public enum Window {
      * Minimiza nuestra ventana
      */
     public void minimizar() {
+        if (Headless.INSTANCE.isEnabled()) return;
         glfwIconifyWindow(window);
     }
 
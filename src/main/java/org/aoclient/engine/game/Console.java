@@ -19,6 +19,10 @@ import java.util.List;
  * <p>
  * Esta consola es fundamental para la comunicacion unidireccional del sistema hacia el jugador, mostrando eventos importantes,
  * resultados de acciones, mensajes del servidor y otros datos relevantes durante la experiencia de juego.
+ * <p>
+ * La consola no es segura entre hilos: solo la usa el hilo de renderizado. Los handlers de paquetes escriben a traves de
+ * {@link Session#addMsgToConsole(String, boolean, boolean, RGBColor)}, que descarta los mensajes de las sesiones que no son la
+ * del cliente.
  */
 
 public enum Console {
@@ -1,13 +1,13 @@
 package org.aoclient.engine.game;
 
 import org.aoclient.engine.game.models.Character;
+import org.aoclient.engine.game.models.CharacterList;
+import org.aoclient.engine.game.models.Position;
 import org.aoclient.engine.renderer.RGBColor;
 import org.aoclient.engine.scenes.Camera;
 
-import static org.aoclient.engine.game.models.Character.lastChar;
 import static org.aoclient.engine.renderer.FontRenderer.*;
 import static org.aoclient.engine.scenes.Camera.*;
-import static org.aoclient.engine.utils.GameData.charList;
 import static org.aoclient.engine.utils.GameData.mapData;
 import static org.aoclient.engine.utils.Time.deltaTime;
 
@@ -27,6 +27,8 @@ import static org.aoclient.engine.utils.Time.deltaTime;
  * <li>Coordinar la posicion de los dialogos para que aparezcan correctamente sobre las cabezas de los personajes
  * <li>Eliminar dialogos individuales o todos los dialogos en pantalla
  * </ul>
+ * <p>
+ * Los dialogos se guardan en los personajes, por lo que cada metodo recibe la lista de personajes de la sesion.
  */
 
 public class Dialogs {
@@ -34,73 +36,78 @@ public class Dialogs {
     private static final RGBColor HIT_COLOR = new RGBColor(1, 0, 0);
     private static float timerDialogs = 1.0f;
 
-    public static void removeDialog(final int charIndex) {
-        if (charList[charIndex].getDialog_life() > 0) {
-            charList[charIndex].setDialog("");
-            charList[charIndex].setDialog_life(0);
-            charList[charIndex].setDialog_offset_counter_y(0);
+    public static void removeDialog(final CharacterList charList, final int charIndex) {
+        if (charList.get(charIndex).getDialog_life() > 0) {
+            charList.get(charIndex).setDialog("");
+            charList.get(charIndex).setDialog_life(0);
+            charList.get(charIndex).setDialog_offset_counter_y(0);
         }
     }
 
-    public static void removeAllDialogs() {
-        for (int i = 1; i <= lastChar; i++) {
-            if (!charList[i].getDialog().isEmpty()) {
-                charDialogSet(i, "", new RGBColor(1, 1, 1));
-                charList[i].setDialog_life(0);
+    public static void removeAllDialogs(final CharacterList charList) {
+        for (int i = 1; i <= charList.getLastChar(); i++) {
+            if (charList.contains(i) && !charList.get(i).getDialog().isEmpty()) {
+                charDialogSet(charList, i, "", new RGBColor(1, 1, 1));
+                charList.get(i).setDialog_life(0);
             }
         }
     }
 
-    public static void charDialogSet(final int charIndex, final String charDialog, final RGBColor color) {
-        if (charList[charIndex].isActive()) {
-            charList[charIndex].setDialog(charDialog);
-            charList[charIndex].setDialog_color(color);
-            charList[charIndex].setDialog_life(10);
-            charList[charIndex].setDialog_font_index(NORMAL_FONT);
-            charList[charIndex].setDialog_offset_counter_y(0);
+    public static void charDialogSet(final CharacterList charList, final int charIndex, final String charDialog,
+                                     final RGBColor color) {
+        if (charList.get(charIndex).isActive()) {
+            charList.get(charIndex).setDialog(charDialog);
+            charList.get(charIndex).setDialog_color(color);
+            charList.get(charIndex).setDialog_life(10);
+            charList.get(charIndex).setDialog_font_index(NORMAL_FONT);
+            charList.get(charIndex).setDialog_offset_counter_y(0);
         }
     }
 
-    public static void charDialogHitSet(final int charIndex, int charDamage) {
+    public static void charDialogHitSet(final CharacterList charList, final int charIndex, int charDamage) {
         String charDialog = "";
 
-        if (charList[charIndex].isActive()) {
-            charList[charIndex].setDialog_color(HIT_COLOR);
-            charList[charIndex].setDialog_life(5);
-            charList[charIndex].setDialog_font_index(HIT_FONT);
-            charList[charIndex].setDialog_offset_counter_y(0);
+        if (charList.get(charIndex).isActive()) {
+            charList.get(charIndex).setDialog_color(HIT_COLOR);
+            charList.get(charIndex).setDialog_life(5);
+            charList.get(charIndex).setDialog_font_index(HIT_FONT);
+            charList.get(charIndex).setDialog_offset_counter_y(0);
 
             if (charDamage >= 150) charDialog = "¡" + charDamage + "!";
             else charDialog = String.valueOf(charDamage);
 
-            charList[charIndex].setDialog(charDialog);
+            charList.get(charIndex).setDialog(charDialog);
         }
     }
 
-    public static void charDialogHitSet(final int charIndex, String charDialog) {
-        if (charList[charIndex].isActive()) {
-            charList[charIndex].setDialog_color(HIT_COLOR);
-            charList[charIndex].setDialog_life(5);
-            charList[charIndex].setDialog_font_index(HIT_FONT);
-            charList[charIndex].setDialog_offset_counter_y(0);
-            charList[charIndex].setDialog(charDialog);
+    public static void charDialogHitSet(final CharacterList charList, final int charIndex, String charDialog) {
+        if (charList.get(charIndex).isActive()) {
+            charList.get(charIndex).setDialog_color(HIT_COLOR);
+            charList.get(charIndex).setDialog_life(5);
+            charList.get(charIndex).setDialog_font_index(HIT_FONT);
+            charList.get(charIndex).setDialog_offset_counter_y(0);
+            charList.get(charIndex).setDialog(charDialog);
         }
     }
 
-    public static void removeDialogsNPCArea() {
-        for (int x = charList[User.INSTANCE.getUserCharIndex()].getPos().getX() - HALF_WINDOW_TILE_WIDTH; x <= charList[User.INSTANCE.getUserCharIndex()].getPos().getX() + HALF_WINDOW_TILE_WIDTH; x++) {
-            for (int y = charList[User.INSTANCE.getUserCharIndex()].getPos().getY() - HALF_WINDOW_TILE_HEIGHT; y <= charList[User.INSTANCE.getUserCharIndex()].getPos().getY() + HALF_WINDOW_TILE_HEIGHT; y++) {
+    public static void removeDialogsNPCArea(final Session session) {
+        if (!session.isOnMap()) return;
+        final CharacterList charList = session.getCharList();
+        final Position userPos = charList.get(session.getUser().getUserCharIndex()).getPos();
+        for (int x = userPos.getX() - HALF_WINDOW_TILE_WIDTH; x <= userPos.getX() + HALF_WINDOW_TILE_WIDTH; x++) {
+            for (int y = userPos.getY() - HALF_WINDOW_TILE_HEIGHT; y <= userPos.getY() + HALF_WINDOW_TILE_HEIGHT; y++) {
                 if (mapData[x][y].getCharIndex() > 0) {
-                    if (charList[mapData[x][y].getCharIndex()].getName().length() <= 1)
-                        removeDialog(mapData[x][y].getCharIndex());
+                    if (charList.get(mapData[x][y].getCharIndex()).getName().length() <= 1)
+                        removeDialog(charList, mapData[x][y].getCharIndex());
                 }
             }
         }
     }
 
-    public static void renderDialogs(final Camera camera, final int x, final int y, final int pixelOffsetX, final int pixelOffsetY) {
+    public static void renderDialogs(final CharacterList charList, final Camera camera, final int x, final int y,
+                                     final int pixelOffsetX, final int pixelOffsetY) {
         if (mapData[x][y].getCharIndex() != 0) {
-            final Character chrActual = charList[mapData[x][y].getCharIndex()];
+            final Character chrActual = charList.get(mapData[x][y].getCharIndex());
 
             if (!chrActual.getDialog().isEmpty()) {
                 if (chrActual.getDialog_offset_counter_y() < 10)
@@ -119,19 +126,19 @@ public class Dialogs {
         }
     }
 
-    public static void updateDialogs() {
+    public static void updateDialogs(final CharacterList charList) {
         // paso 1 seg?
         if (timerDialogs <= 0) {
             timerDialogs = 1.0f;
-            for (int i = 1; i <= lastChar; i++) {
-                if (!charList[i].getDialog().isEmpty()) {
-                    charList[i].setDialog_life(charList[i].getDialog_life() - 1);
-                    if (charList[i].getDialog_life() <= 0) {
-                        charList[i].setDialog("");
-                        charList[i].setDialog_color(new RGBColor(1, 1, 1));
-                        charList[i].setDialog_life(0);
-                        charList[i].setDialog_offset_counter_y(0);
-                        charList[i].setDialog_scroll(false);
+            for (int i = 1; i <= charList.getLastChar(); i++) {
+                if (charList.contains(i) && !charList.get(i).getDialog().isEmpty()) {
+                    charList.get(i).setDialog_life(charList.get(i).getDialog_life() - 1);
+                    if (charList.get(i).getDialog_life() <= 0) {
+                        charList.get(i).setDialog("");
+                        charList.get(i).setDialog_color(new RGBColor(1, 1, 1));
+                        charList.get(i).setDialog_life(0);
+                        charList.get(i).setDialog_offset_counter_y(0);
+                        charList.get(i).setDialog_scroll(false);
                     }
                 }
             }
@@ -22,6 +22,22 @@ public enum Options {
     private String nickName = "";
     private String ipServer = "127.0.0.1";
     private String portServer = "7666";
+    /** Tiempo maximo de espera al conectarse a cada direccion del servidor, en milisegundos. */
+    private int connectTimeout = 5000;
+    /** Desactiva el algoritmo de Nagle para que los paquetes pequeños se envien sin esperar el ACK del anterior. */
+    private boolean tcpNoDelay = true;
+    /** Tiempo maximo que se agrupan los paquetes que no necesitan enviarse de inmediato, en milisegundos. */
+    private int flushInterval = 10;
+    /** Intervalo entre los PING que miden la latencia, en milisegundos. 0 los desactiva. */
+    private int heartbeatInterval = 5000;
+    /** Tiempo sin recibir datos del servidor tras el cual se cierra la conexion, en milisegundos. 0 lo desactiva. */
+    private int deadPeerTimeout = 20000;
+    /** Cantidad de intentos para reconectar tras perder la conexion durante la partida. 0 desactiva la reconexion. */
+    private int reconnectAttempts = 5;
+    /** Tiempo maximo por frame para aplicar los paquetes recibidos, en milisegundos. Los restantes esperan al siguiente frame. */
+    private int packetTimeBudget = 4;
+    /** Graba el trafico de cada conexion en un archivo de captura dentro de la carpeta captures. */
+    private boolean wireCapture = false;
 
     /**
      * Carga las opciones.
@@ -58,6 +74,14 @@ public enum Options {
             write(writer, "Name", nickName);
             write(writer, "IP", ipServer);
             write(writer, "PORT", portServer);
+            write(writer, "ConnectTimeout", connectTimeout);
+            write(writer, "TcpNoDelay", tcpNoDelay);
+            write(writer, "FlushInterval", flushInterval);
+            write(writer, "HeartbeatInterval", heartbeatInterval);
+            write(writer, "DeadPeerTimeout", deadPeerTimeout);
+            write(writer, "ReconnectAttempts", reconnectAttempts);
+            write(writer, "PacketTimeBudget", packetTimeBudget);
+            write(writer, "WireCapture", wireCapture);
             write(writer, "Fullscreen", fullscreen);
             write(writer, "VSYNC", vsync);
         } catch (IOException e) {
@@ -113,6 +137,70 @@ public enum Options {
         this.portServer = portServer;
     }
 
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(int heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public int getDeadPeerTimeout() {
+        return deadPeerTimeout;
+    }
+
+    public void setDeadPeerTimeout(int deadPeerTimeout) {
+        this.deadPeerTimeout = deadPeerTimeout;
+    }
+
+    public int getReconnectAttempts() {
+        return reconnectAttempts;
+    }
+
+    public void setReconnectAttempts(int reconnectAttempts) {
+        this.reconnectAttempts = reconnectAttempts;
+    }
+
+    public int getPacketTimeBudget() {
+        return packetTimeBudget;
+    }
+
+    public void setPacketTimeBudget(int packetTimeBudget) {
+        this.packetTimeBudget = packetTimeBudget;
+    }
+
+    public boolean isWireCapture() {
+        return wireCapture;
+    }
+
+    public void setWireCapture(boolean wireCapture) {
+        this.wireCapture = wireCapture;
+    }
+
     public boolean isFullscreen() {
         return fullscreen;
     }
@@ -155,6 +243,14 @@ public enum Options {
             case "Name" -> nickName = value;
             case "IP" -> ipServer = value;
             case "PORT" -> portServer = value;
+            case "ConnectTimeout" -> connectTimeout = Integer.parseInt(value);
+            case "TcpNoDelay" -> tcpNoDelay = Boolean.parseBoolean(value);
+            case "FlushInterval" -> flushInterval = Integer.parseInt(value);
+            case "HeartbeatInterval" -> heartbeatInterval = Integer.parseInt(value);
+            case "DeadPeerTimeout" -> deadPeerTimeout = Integer.parseInt(value);
+            case "ReconnectAttempts" -> reconnectAttempts = Integer.parseInt(value);
+            case "PacketTimeBudget" -> packetTimeBudget = Integer.parseInt(value);
+            case "WireCapture" -> wireCapture = Boolean.parseBoolean(value);
             case "Fullscreen" -> fullscreen = Boolean.parseBoolean(value);
             case "VSYNC" -> vsync = Boolean.parseBoolean(value);
             default -> Logger.warn("Unknown option ignored: {}", option);
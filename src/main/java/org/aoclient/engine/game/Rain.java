@@ -43,7 +43,7 @@ public enum Rain {
     private float timeToChangeFrame;
     private int iFrameIndex;
     
-    private final User user = User.INSTANCE;
+    private final User user = Session.CLIENT.getUser();
 
     Rain() {
         this.bRain = false;
@@ -0,0 +1,146 @@
+package org.aoclient.engine.game;
+
+import org.aoclient.engine.game.models.CharacterList;
+import org.aoclient.engine.renderer.RGBColor;
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.SocketConnection;
+
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * Estado de una sesion de juego: el usuario conectado, los paquetes que todavia no se enviaron al servidor y los personajes que
+ * conoce la sesion.
+ * <p>
+ * {@link org.aoclient.network.protocol.Protocol}, {@link org.aoclient.network.protocol.PacketReceiver} y los handlers de los
+ * paquetes reciben la sesion sobre la que trabajan, en lugar de usar un unico usuario global. El cliente tiene una sola sesion,
+ * {@link #CLIENT}, que es la que usan la ventana, los formularios y {@link SocketConnection}; las herramientas como
+ * {@code BotSwarm} crean una sesion por cada conexion y las atienden con los mismos handlers que el cliente.
+ * <p>
+ * Los datos del juego ({@link org.aoclient.engine.utils.GameData}) se cargan una sola vez y los comparten todas las sesiones. El
+ * mapa cargado es el de la sesion del cliente: las sesiones creadas sin mapa no marcan en el la ocupacion de las celdas ni
+ * consultan sus capas.
+ * <p>
+ * Lo mismo vale para la consola, el audio y las opciones del cliente, que son globales y solo los usa el hilo de renderizado.
+ * Los handlers no los acceden directamente sino a traves de la sesion ({@link #addMsgToConsole(String, boolean, boolean,
+ * RGBColor)} y {@link #hasAudio()}), que solo los usa en la sesion del cliente. Asi las sesiones que atienden otros hilos, como
+ * las de {@code BotSwarm}, nunca los tocan.
+ */
+
+public final class Session {
+
+    /** Sesion del cliente, la que se dibuja en la ventana y se envia por {@link SocketConnection}. */
+    public static final Session CLIENT = new Session(true, new PacketBuffer(), () -> SocketConnection.INSTANCE.flush(),
+            reason -> SocketConnection.INSTANCE.closeOnProtocolError());
+
+    private final User user;
+    private final CharacterList charList;
+    /** Buffer para la salida de bytes (escribe lo que envia el cliente al servidor). */
+    private final PacketBuffer outputBuffer;
+    /** Indica si la sesion usa el mapa cargado en {@link org.aoclient.engine.utils.GameData#mapData}. */
+    private final boolean onMap;
+    /** Envia en el momento los paquetes pendientes, en lugar de esperar al final del frame. */
+    private final Runnable flush;
+    /** Cierra la conexion de la sesion cuando se pierde la sincronizacion con el flujo del servidor. */
+    private final Consumer<String> protocolError;
+    /** Momento en que se envio el PING pendiente, segun {@link System#nanoTime()}, o 0 si no hay ninguno en camino. */
+    private long pingTime;
+    /** Indica si el usuario pidio el PING pendiente con /PING, para mostrarle el resultado en la consola. */
+    private boolean pingRequested;
+
+    /**
+     * Crea una sesion sin mapa, cuyos paquetes se acumulan en el buffer de salida hasta que quien la atiende los envie.
+     *
+     * @param outputCapacity capacidad inicial del buffer de salida
+     */
+    public Session(int outputCapacity) {
+        this(outputCapacity, reason -> {
+        });
+    }
+
+    /**
+     * Crea una sesion sin mapa, cuyos paquetes se acumulan en el buffer de salida hasta que quien la atiende los envie.
+     *
+     * @param outputCapacity capacidad inicial del buffer de salida
+     * @param protocolError  accion que cierra la conexion de la sesion tras un error de protocolo, con el motivo
+     */
+    public Session(int outputCapacity, Consumer<String> protocolError) {
+        this(false, new PacketBuffer(outputCapacity), () -> {
+        }, protocolError);
+    }
+
+    private Session(boolean onMap, PacketBuffer outputBuffer, Runnable flush, Consumer<String> protocolError) {
+        this.onMap = onMap;
+        this.flush = flush;
+        this.protocolError = protocolError;
+        this.outputBuffer = outputBuffer;
+        this.charList = new CharacterList(onMap);
+        this.user = new User(this);
+    }
+
+    /**
+     * Pide que los paquetes pendientes salgan en el momento. En las sesiones sin conexion propia no hace nada.
+     */
+    public void flush() {
+        flush.run();
+    }
+
+    /**
+     * Cierra la conexion de la sesion porque se perdio la sincronizacion con el flujo del servidor (un ID desconocido, un paquete
+     * malformado o un handler que no coincide con el layout del paquete). Lo llama
+     * {@link org.aoclient.network.protocol.PacketReceiver}, que ya registro el error, y despues no aplica mas paquetes del flujo.
+     *
+     * @param reason descripcion del error
+     */
+    public void protocolError(String reason) {
+        protocolError.accept(reason);
+    }
+
+    /**
+     * Muestra un mensaje en la consola del cliente. Las demas sesiones no tienen consola y descartan el mensaje.
+     */
+    public void addMsgToConsole(String text, boolean bold, boolean italic, RGBColor color) {
+        if (this == CLIENT) Console.INSTANCE.addMsgToConsole(text, bold, italic, color);
+    }
+
+    /**
+     * @return true si la sesion reproduce los sonidos y la musica que pide el servidor, segun las opciones del cliente. Solo la
+     * sesion del cliente tiene audio.
+     */
+    public boolean hasAudio() {
+        return this == CLIENT;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public CharacterList getCharList() {
+        return charList;
+    }
+
+    public PacketBuffer getOutputBuffer() {
+        return outputBuffer;
+    }
+
+    public boolean isOnMap() {
+        return onMap;
+    }
+
+    public long getPingTime() {
+        return pingTime;
+    }
+
+    public void setPingTime(long pingTime) {
+        this.pingTime = pingTime;
+    }
+
+    public boolean isPingRequested() {
+        return pingRequested;
+    }
+
+    public void setPingRequested(boolean pingRequested) {
+        this.pingRequested = pingRequested;
+    }
+
+}
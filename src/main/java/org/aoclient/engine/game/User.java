@@ -5,7 +5,9 @@ import org.aoclient.engine.game.inventory.UserInventory;
 import org.aoclient.engine.game.models.*;
 
 import static org.aoclient.engine.Sound.*;
-import static org.aoclient.engine.game.models.Character.*;
+import static org.aoclient.engine.game.models.Character.CASPER_HEAD;
+import static org.aoclient.engine.game.models.Character.FRAGATA_FANTASMAL;
+import static org.aoclient.engine.game.models.Character.sgn;
 import static org.aoclient.engine.game.models.Direction.*;
 import static org.aoclient.engine.scenes.Camera.*;
 import static org.aoclient.engine.utils.GameData.*;
@@ -33,12 +35,15 @@ import static org.aoclient.network.protocol.Protocol.writeWalk;
  * <p>
  * La clase representa el nucleo de la experiencia de juego, siendo el punto de conexion entre las acciones del jugador y su
  * representacion en el mundo virtual.
+ * <p>
+ * Cada {@link Session} tiene su propio usuario, que trabaja sobre los personajes de la sesion y envia sus paquetes por ella. Si
+ * la sesion no usa el mapa cargado, el usuario no marca en el la ocupacion de las celdas ni consulta sus triggers.
  */
 
-public enum User {
-
-    INSTANCE;
+public final class User {
 
+    private final Session session;
+    private final CharacterList charList;
     private final UserInventory userInventory;
     private final InventorySpells inventorySpells;
     private final Position userPos;
@@ -100,11 +105,13 @@ public enum User {
     private int role;
     private int jailTime;
 
-    User() {
+    User(Session session) {
+        this.session = session;
+        this.charList = session.getCharList();
         this.userPos = new Position();
         this.addToUserPos = new Position();
-        this.userInventory = new UserInventory();
-        this.inventorySpells = new InventorySpells();
+        this.userInventory = new UserInventory(session);
+        this.inventorySpells = new InventorySpells(session);
         this.talking = false;
         this.userNavegando = false;
         this.userComerciando = false;
@@ -162,6 +169,7 @@ public enum User {
      *  Checkea si estamos bajo techo segun el trigger en donde esta parado el usuario.
      */
     public boolean checkUnderCeiling() {
+        if (!session.isOnMap()) return false;
         return mapData[userPos.getX()][userPos.getY()].getTrigger() == 1 ||
                 mapData[userPos.getX()][userPos.getY()].getTrigger() == 2 ||
                 mapData[userPos.getX()][userPos.getY()].getTrigger() == 4;
@@ -189,30 +197,30 @@ public enum User {
                 break;
         }
 
-        final int x = charList[charIndex].getPos().getX();
-        final int y = charList[charIndex].getPos().getY();
+        final int x = charList.get(charIndex).getPos().getX();
+        final int y = charList.get(charIndex).getPos().getY();
         final int nX = x + addX;
         final int nY = y + addY;
 
-        mapData[nX][nY].setCharIndex(charIndex);
-        charList[charIndex].getPos().setX(nX);
-        charList[charIndex].getPos().setY(nY);
-        mapData[x][y].setCharIndex(0);
+        if (session.isOnMap()) mapData[nX][nY].setCharIndex(charIndex);
+        charList.get(charIndex).getPos().setX(nX);
+        charList.get(charIndex).getPos().setY(nY);
+        if (session.isOnMap()) mapData[x][y].setCharIndex(0);
 
-        charList[charIndex].setMoveOffsetX(-1 * (TILE_PIXEL_SIZE * addX));
-        charList[charIndex].setMoveOffsetY(-1 * (TILE_PIXEL_SIZE * addY));
+        charList.get(charIndex).setMoveOffsetX(-1 * (TILE_PIXEL_SIZE * addX));
+        charList.get(charIndex).setMoveOffsetY(-1 * (TILE_PIXEL_SIZE * addY));
 
-        charList[charIndex].setMoving(true);
-        charList[charIndex].setHeading(nDirection);
+        charList.get(charIndex).setMoving(true);
+        charList.get(charIndex).setHeading(nDirection);
 
-        charList[charIndex].setScrollDirectionX(addX);
-        charList[charIndex].setScrollDirectionY(addY);
+        charList.get(charIndex).setScrollDirectionX(addX);
+        charList.get(charIndex).setScrollDirectionY(addY);
 
         doPasosFx(charIndex);
 
         // areas viejos
         if ((nY < minLimiteY) || (nY > maxLimiteY) || (nX < minLimiteX) || (nX > maxLimiteX))
-            if (charIndex != userCharIndex) eraseChar(charIndex);
+            if (charIndex != userCharIndex) charList.eraseChar(charIndex);
 
     }
 
@@ -225,20 +233,31 @@ public enum User {
         minLimiteY = (y / 9 - 1) * 9;
         maxLimiteY = minLimiteY + 26;
 
+        if (!session.isOnMap()) {
+            // Sin mapa no hay objetos que borrar, solo los personajes que quedaron fuera del area
+            for (short charIndex = 1; charIndex <= charList.getLastChar(); charIndex++) {
+                if (!charList.contains(charIndex) || charIndex == userCharIndex) continue;
+                final Position pos = charList.get(charIndex).getPos();
+                if (pos.getY() < minLimiteY || pos.getY() > maxLimiteY || pos.getX() < minLimiteX || pos.getX() > maxLimiteX)
+                    charList.eraseChar(charIndex);
+            }
+            return;
+        }
+
         for (int loopX = 1; loopX <= 100; loopX++) {
             for (int loopY = 1; loopY <= 100; loopY++) {
                 if ((loopY < minLimiteY) || (loopY > maxLimiteY) || (loopX < minLimiteX) || (loopX > maxLimiteX)) {
                     // Erase NPCs
                     if (mapData[loopX][loopY].getCharIndex() > 0)
                         if (mapData[loopX][loopY].getCharIndex() != userCharIndex)
-                            eraseChar(mapData[loopX][loopY].getCharIndex());
+                            charList.eraseChar(mapData[loopX][loopY].getCharIndex());
                     // Erase Objs
                     mapData[loopX][loopY].getObjGrh().setGrhIndex(0);
                 }
             }
         }
 
-        refreshAllChars();
+        charList.refreshAllChars();
     }
 
     /**
@@ -251,10 +270,10 @@ public enum User {
     }
 
     public boolean estaPCarea(int charIndex) {
-        return charList[charIndex].getPos().getX() > userPos.getX() - minXBorder &&
-                charList[charIndex].getPos().getX() < userPos.getX() + minXBorder &&
-                charList[charIndex].getPos().getY() > userPos.getY() - minYBorder &&
-                charList[charIndex].getPos().getY() < userPos.getY() + minYBorder;
+        return charList.get(charIndex).getPos().getX() > userPos.getX() - minXBorder &&
+                charList.get(charIndex).getPos().getX() < userPos.getX() + minXBorder &&
+                charList.get(charIndex).getPos().getY() > userPos.getY() - minYBorder &&
+                charList.get(charIndex).getPos().getY() < userPos.getY() + minYBorder;
     }
 
     /**
@@ -273,7 +292,7 @@ public enum User {
         // ¿Hay un personaje?
         if (charIndex > 0) {
             if (mapData[userPos.getX()][userPos.getY()].getBlocked()) return false;
-            if (charList[charIndex].getiHead() != CASPER_HEAD && charList[charIndex].getiBody() != FRAGATA_FANTASMAL) {
+            if (charList.get(charIndex).getiHead() != CASPER_HEAD && charList.get(charIndex).getiBody() != FRAGATA_FANTASMAL) {
                 return false;
             } else {
                 // No puedo intercambiar con un casper que este en la orilla (Lado tierra)
@@ -284,8 +303,8 @@ public enum User {
                     if (hayAgua(x, y)) return false;
                 }
                 // Los admins no pueden intercambiar pos con caspers cuando estan invisibles
-                if (charList[userCharIndex].getPriv() > 0 && charList[userCharIndex].getPriv() < 6) {
-                    if (charList[userCharIndex].isInvisible()) return false;
+                if (charList.get(userCharIndex).getPriv() > 0 && charList.get(userCharIndex).getPriv() < 6) {
+                    if (charList.get(userCharIndex).isInvisible()) return false;
                 }
 
             }
@@ -311,10 +330,10 @@ public enum User {
      *  Establece un efecto FX en un personaje.
      */
     public void setCharacterFx(int charIndex, int fx, int loops) {
-        charList[charIndex].setFxIndex(fx);
-        if (charList[charIndex].getFxIndex() > 0) {
-            initGrh(charList[charIndex].getfX(), fxData[fx].getAnimacion(), true);
-            charList[charIndex].getfX().setLoops(loops);
+        charList.get(charIndex).setFxIndex(fx);
+        if (charList.get(charIndex).getFxIndex() > 0) {
+            initGrh(charList.get(charIndex).getfX(), fxData[fx].getAnimacion(), true);
+            charList.get(charIndex).getfX().setLoops(loops);
         }
     }
 
@@ -325,29 +344,29 @@ public enum User {
      *  Mueve el personaje segun la direccion establecida en "nX" y "nY".
      */
     public void moveCharbyPos(short charIndex, int nX, int nY) {
-        final int x = charList[charIndex].getPos().getX();
-        final int y = charList[charIndex].getPos().getY();
+        final int x = charList.get(charIndex).getPos().getX();
+        final int y = charList.get(charIndex).getPos().getY();
 
         final int addX = nX - x;
         final int addY = nY - y;
 
-        if (sgn((short) addX) == 1) charList[charIndex].setHeading(RIGHT);
-        else if (sgn((short) addX) == -1) charList[charIndex].setHeading(LEFT);
-        else if (sgn((short) addY) == -1) charList[charIndex].setHeading(UP);
-        else if (sgn((short) addY) == 1) charList[charIndex].setHeading(DOWN);
+        if (sgn((short) addX) == 1) charList.get(charIndex).setHeading(RIGHT);
+        else if (sgn((short) addX) == -1) charList.get(charIndex).setHeading(LEFT);
+        else if (sgn((short) addY) == -1) charList.get(charIndex).setHeading(UP);
+        else if (sgn((short) addY) == 1) charList.get(charIndex).setHeading(DOWN);
 
-        mapData[nX][nY].setCharIndex(charIndex);
-        charList[charIndex].getPos().setX(nX);
-        charList[charIndex].getPos().setY(nY);
-        mapData[x][y].setCharIndex(0);
+        if (session.isOnMap()) mapData[nX][nY].setCharIndex(charIndex);
+        charList.get(charIndex).getPos().setX(nX);
+        charList.get(charIndex).getPos().setY(nY);
+        if (session.isOnMap()) mapData[x][y].setCharIndex(0);
 
-        charList[charIndex].setMoveOffsetX(-1 * (TILE_PIXEL_SIZE * addX));
-        charList[charIndex].setMoveOffsetY(-1 * (TILE_PIXEL_SIZE * addY));
+        charList.get(charIndex).setMoveOffsetX(-1 * (TILE_PIXEL_SIZE * addX));
+        charList.get(charIndex).setMoveOffsetY(-1 * (TILE_PIXEL_SIZE * addY));
 
-        charList[charIndex].setMoving(true);
+        charList.get(charIndex).setMoving(true);
 
-        charList[charIndex].setScrollDirectionX(sgn((short) addX));
-        charList[charIndex].setScrollDirectionY(sgn((short) addY));
+        charList.get(charIndex).setScrollDirectionX(sgn((short) addX));
+        charList.get(charIndex).setScrollDirectionY(sgn((short) addY));
 
         /*
             'parche para que no medite cuando camina
@@ -356,12 +375,12 @@ public enum User {
             End If
          */
 
-        if (!estaPCarea(charIndex)) Dialogs.removeDialog(charIndex);
+        if (!estaPCarea(charIndex)) Dialogs.removeDialog(charList, charIndex);
 
         // If Not EstaPCarea(CharIndex) Then Call Dialogos.RemoveDialog(CharIndex)
 
         if ((nY < minLimiteY) || (nY > maxLimiteY) || (nX < minLimiteX) || (nX > maxLimiteX))
-            if (charIndex != userCharIndex) eraseChar(charIndex);
+            if (charIndex != userCharIndex) charList.eraseChar(charIndex);
 
     }
 
@@ -376,11 +395,11 @@ public enum User {
             case DOWN -> moveToLegalPos(userPos.getX(), userPos.getY() + 1);
             case LEFT -> moveToLegalPos(userPos.getX() - 1, userPos.getY());
         };
-        if (legalOk && !charList[userCharIndex].isParalizado()) {
-            writeWalk(direction);
+        if (legalOk && !charList.get(userCharIndex).isParalizado()) {
+            writeWalk(session, direction);
             moveScreen(direction);
             moveCharbyHead(userCharIndex, direction);
-        } else if (charList[userCharIndex].getHeading() != direction) writeChangeHeading(direction);
+        } else if (charList.get(userCharIndex).getHeading() != direction) writeChangeHeading(session, direction);
 
     }
 
@@ -392,21 +411,25 @@ public enum User {
      */
     public void doPasosFx(int charIndex) {
         if (!userNavegando) {
-            if (!charList[charIndex].isDead()
+            if (!charList.get(charIndex).isDead()
                     && estaPCarea(charIndex)
-                    && (charList[charIndex].getPriv() == 0 || charList[charIndex].getPriv() > 5)) {
-                if (charList[charIndex].isPie()) {
-                    playSound(SND_PASOS1);
-                    charList[charIndex].setPie(false);
+                    && (charList.get(charIndex).getPriv() == 0 || charList.get(charIndex).getPriv() > 5)) {
+                if (charList.get(charIndex).isPie()) {
+                    if (session.hasAudio()) playSound(SND_PASOS1);
+                    charList.get(charIndex).setPie(false);
                 } else {
-                    playSound(SND_PASOS2);
-                    charList[charIndex].setPie(true);
+                    if (session.hasAudio()) playSound(SND_PASOS2);
+                    charList.get(charIndex).setPie(true);
                 }
             }
 
         }
     }
 
+    public Session getSession() {
+        return session;
+    }
+
     public boolean isUserMoving() {
         return userMoving;
     }
@@ -448,7 +471,7 @@ public enum User {
     }
 
     public boolean isDead() {
-        return charList[userCharIndex].isDead();
+        return charList.get(userCharIndex).isDead();
     }
 
     public UserInventory getUserInventory() {
@@ -1,6 +1,6 @@
 package org.aoclient.engine.game.inventory;
 
-import imgui.ImGui;
+import imgui.ImColor;
 import org.aoclient.engine.game.models.ObjectType;
 import org.aoclient.engine.listeners.MouseListener;
 import org.aoclient.engine.renderer.RGBColor;
@@ -30,7 +30,8 @@ public abstract class Inventory {
     public static final int MAX_INVENTORY_SLOTS = 30;
     public static final int MAX_NPC_INVENTORY_SLOTS = 50;
 
-    protected static final int selectedColor = ImGui.getColorU32(0f, 1f, 0f, 1f);
+    // Se calcula sin ImGui para que se puedan crear inventarios sin un contexto de ImGui, como los de las sesiones de BotSwarm
+    protected static final int selectedColor = ImColor.rgba(0f, 1f, 0f, 1f);
 
     protected int posX, posY;
     protected int sWidth, sHeigth;
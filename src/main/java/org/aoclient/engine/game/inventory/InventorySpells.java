@@ -4,6 +4,7 @@ import imgui.ImGui;
 import imgui.flag.ImGuiCond;
 import imgui.flag.ImGuiWindowFlags;
 import imgui.type.ImInt;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.models.Skill;
 
 import static org.aoclient.network.protocol.Protocol.*;
@@ -22,8 +23,11 @@ public class InventorySpells {
     private static final int MAX_INVENTORY_SPELLS = 35;
     private final ImInt currentItemSpell = new ImInt(0);
     private final String[] spells;
+    /** Sesion por la que se envian las acciones sobre los hechizos. */
+    private final Session session;
 
-    public InventorySpells() {
+    public InventorySpells(Session session) {
+        this.session = session;
         this.spells = new String[MAX_INVENTORY_SPELLS];
         for (int i = 0; i < MAX_INVENTORY_SPELLS; i++) spells[i] = "";
     }
@@ -58,13 +62,13 @@ public class InventorySpells {
 
     public void buttonThrowSpell() {
         if (!spells[currentItemSpell.get()].equals("(None)")) {
-            writeCastSpell(currentItemSpell.get() + 1);
-            writeWork(Skill.MAGIC.getId());
+            writeCastSpell(session, currentItemSpell.get() + 1);
+            writeWork(session, Skill.MAGIC.getId());
         }
     }
 
     public void buttonInfoSpell() {
-        writeSpellInfo(currentItemSpell.get() + 1);
+        writeSpellInfo(session, currentItemSpell.get() + 1);
     }
 
 }
@@ -2,6 +2,7 @@ package org.aoclient.engine.game.inventory;
 
 import imgui.ImGui;
 import org.aoclient.engine.game.IntervalTimer;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.listeners.MouseListener;
 
 import static org.aoclient.engine.scenes.Camera.TILE_PIXEL_SIZE;
@@ -44,6 +45,8 @@ public final class UserInventory extends Inventory implements Cloneable {
     private static final float INT_EQUIP_ITEM = 0.15f;
     private final IntervalTimer intervalUseItem = new IntervalTimer(INT_USE_ITEM);
     private final IntervalTimer intervalEquipItem = new IntervalTimer(INT_EQUIP_ITEM);
+    /** Sesion por la que se envian las acciones sobre los objetos. */
+    private final Session session;
 
     private boolean visible;
     private boolean invComerce;
@@ -51,8 +54,9 @@ public final class UserInventory extends Inventory implements Cloneable {
     /**
      * Inventory user constructor
      */
-    public UserInventory() {
+    public UserInventory(Session session) {
         super(MAIN_POS_X, MAIN_POS_Y, MAIN_SIZE_WIDTH, MAIN_SIZE_HEIGHT, MAX_INVENTORY_SLOTS);
+        this.session = session;
         this.visible = true;
         this.invComerce = false;
     }
@@ -145,13 +149,13 @@ public final class UserInventory extends Inventory implements Cloneable {
     }
 
     public void useItem() {
-        if (slots[slotSelected].grhIndex > 0 && intervalUseItem.check()) writeUseItem(this.slotSelected + 1);
+        if (slots[slotSelected].grhIndex > 0 && intervalUseItem.check()) writeUseItem(session, this.slotSelected + 1);
     }
 
     public void equipItem() {
         // no vamos a mandar un paquete al pedo.
         if (slots[slotSelected].grhIndex > 0 && slots[slotSelected].objType.isEquippable() && intervalEquipItem.check())
-            writeEquipItem(this.slotSelected + 1);
+            writeEquipItem(session, this.slotSelected + 1);
 
     }
 
@@ -27,7 +27,8 @@ import static org.aoclient.engine.utils.Time.timerTicksPerFrame;
  * </ul>
  * <p>
  * La clase contiene numerosas constantes que definen los rangos de indices de cabezas y cuerpos para diferentes razas y generos,
- * asi como metodos estaticos para operaciones como crear, eliminar o redibujar personajes en el mapa.
+ * asi como metodos estaticos para dibujar los personajes. Los personajes de cada sesion se crean y eliminan en su
+ * {@link CharacterList}.
  * <p>
  * Character es una pieza central del motor grafico, gestionando tanto la representacion visual como la logica de estado de todas
  * las entidades animadas que pueblan el mundo.
@@ -78,8 +79,6 @@ public final class Character {
     public static final int GNOMO_M_ULTIMA_CABEZA = 484;
     public static final int GNOMO_M_CUERPO_DESNUDO = 260;
 
-    // ultimo personaje del array
-    public static short lastChar = 0;
     private boolean active;
     private Direction direction;
     private Position pos;
@@ -159,213 +158,116 @@ public final class Character {
         this.dialog_offset_counter_y = 0;
     }
 
-    /**
-     *  Crea un nuevo personaje segun los parametros establecidos.
-     */
-    public static void makeChar(short charIndex, int body, int head, Direction direction, int x, int y, int weapon, int shield, int helmet) {
-        // apuntamos al ultimo char
-        if (charIndex > lastChar) lastChar = charIndex;
-
-        if (weapon == 0) weapon = 2;
-        if (shield == 0) shield = 2;
-        if (helmet == 0) helmet = 2;
-
-        char f = '<', u = '>';
-
-        if (charList[charIndex].priv != 0) charList[charIndex].setClanName(f + "Game Master" + u);
-
-        charList[charIndex].setDead(head == CASPER_HEAD);
-        charList[charIndex].setiHead(head);
-        charList[charIndex].setiBody(body);
-
-        charList[charIndex].setHead(new HeadData(headData[head]));
-        charList[charIndex].setBody(new BodyData(bodyData[body]));
-
-        charList[charIndex].setWeapon(new WeaponData(weaponData[weapon]));
-
-        charList[charIndex].setShield(new ShieldData(shieldData[shield]));
-        charList[charIndex].setHelmet(new HeadData(helmetsData[helmet]));
-
-        charList[charIndex].setHeading(direction);
-
-        // reset moving stats
-        charList[charIndex].setMoving(false);
-        charList[charIndex].setMoveOffsetX(0);
-        charList[charIndex].setMoveOffsetY(0);
-
-        // update position
-        charList[charIndex].getPos().setX(x);
-        charList[charIndex].getPos().setY(y);
-
-        // Make active
-        charList[charIndex].setActive(true);
-
-        // plot on map
-        mapData[x][y].setCharIndex(charIndex);
-    }
-
-    /**
-     * @param charIndex Numero de identificador de personaje
-     *  Elimina un personaje del array de personajes.
-     */
-    public static void eraseChar(short charIndex) {
-        charList[charIndex].setActive(false);
-
-        if (charIndex == lastChar) {
-            while (!charList[lastChar].isActive()) {
-                lastChar--;
-                if (lastChar == 0) break;
-            }
-        }
-
-        mapData[charList[charIndex].getPos().getX()][charList[charIndex].getPos().getY()].setCharIndex(0);
-
-        /*
-            'Remove char's dialog
-            Call Dialogos.RemoveDialog(CharIndex)
-         */
-
-        resetCharInfo(charIndex);
-    }
-
-    /**
-     *  elimina todos los personajes de nuestro array charList.
-     */
-    public static void eraseAllChars() {
-        for (short i = 1; i < charList.length; i++) {
-            mapData[charList[i].getPos().getX()][charList[i].getPos().getY()].setCharIndex(0);
-            resetCharInfo(i);
-        }
-        lastChar = 0;
-    }
-
-    /**
-     * @param charIndex Numero de identificador del personaje
-     *  Resetea los atributos del personaje.
-     */
-    private static void resetCharInfo(short charIndex) {
-        charList[charIndex] = new Character(); // al crear un obj nuevo, el viejo sera eliminado por el recolector de basura de java.
-    }
-
-    /**
-     *  Actualiza todos los personajes visibles.
-     */
-    public static void refreshAllChars() {
-        for (int loopC = 1; loopC <= lastChar; loopC++)
-            if (charList[loopC].isActive())
-                mapData[charList[loopC].getPos().getX()][charList[loopC].getPos().getY()].setCharIndex(loopC);
-    }
-
     /**
      *  Dibuja nuestro personaje!
      */
-    public static void drawCharacter(int charIndex, int PixelOffsetX, int PixelOffsetY, RGBColor ambientcolor) {
+    public static void drawCharacter(Character character, int PixelOffsetX, int PixelOffsetY, RGBColor ambientcolor) {
         boolean moved = false;
         RGBColor color = new RGBColor();
 
-        if (charList[charIndex].getMoving()) {
-            if (charList[charIndex].getScrollDirectionX() != 0) {
+        if (character.getMoving()) {
+            if (character.getScrollDirectionX() != 0) {
 
-                charList[charIndex].setMoveOffsetX(charList[charIndex].getMoveOffsetX() +
-                        charList[charIndex].getWalkingSpeed() * sgn(charList[charIndex].getScrollDirectionX()) * timerTicksPerFrame);
+                character.setMoveOffsetX(character.getMoveOffsetX() +
+                        character.getWalkingSpeed() * sgn(character.getScrollDirectionX()) * timerTicksPerFrame);
 
-                if (charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()).getSpeed() > 0.0f) {
-                    charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()).setStarted(true);
+                if (character.getBody().getWalk(character.getHeading().getId()).getSpeed() > 0.0f) {
+                    character.getBody().getWalk(character.getHeading().getId()).setStarted(true);
                 }
 
-                charList[charIndex].getWeapon().getWeaponWalk(charList[charIndex].getHeading().getId()).setStarted(true);
-                charList[charIndex].getShield().getShieldWalk(charList[charIndex].getHeading().getId()).setStarted(true);
+                character.getWeapon().getWeaponWalk(character.getHeading().getId()).setStarted(true);
+                character.getShield().getShieldWalk(character.getHeading().getId()).setStarted(true);
 
                 moved = true;
 
-                if ((sgn(charList[charIndex].getScrollDirectionX()) == 1 && charList[charIndex].getMoveOffsetX() >= 0) ||
-                        (sgn(charList[charIndex].getScrollDirectionX()) == -1 && charList[charIndex].getMoveOffsetX() <= 0)) {
+                if ((sgn(character.getScrollDirectionX()) == 1 && character.getMoveOffsetX() >= 0) ||
+                        (sgn(character.getScrollDirectionX()) == -1 && character.getMoveOffsetX() <= 0)) {
 
-                    charList[charIndex].setMoveOffsetX(0);
-                    charList[charIndex].setScrollDirectionX(0);
+                    character.setMoveOffsetX(0);
+                    character.setScrollDirectionX(0);
                 }
             }
 
-            if (charList[charIndex].getScrollDirectionY() != 0) {
-                charList[charIndex].setMoveOffsetY(charList[charIndex].getMoveOffsetY()
-                        + charList[charIndex].getWalkingSpeed() * sgn(charList[charIndex].getScrollDirectionY()) * timerTicksPerFrame);
+            if (character.getScrollDirectionY() != 0) {
+                character.setMoveOffsetY(character.getMoveOffsetY()
+                        + character.getWalkingSpeed() * sgn(character.getScrollDirectionY()) * timerTicksPerFrame);
 
 
-                if (charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()).getSpeed() > 0.0f) {
-                    charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()).setStarted(true);
+                if (character.getBody().getWalk(character.getHeading().getId()).getSpeed() > 0.0f) {
+                    character.getBody().getWalk(character.getHeading().getId()).setStarted(true);
                 }
 
-                charList[charIndex].getWeapon().getWeaponWalk(charList[charIndex].getHeading().getId()).setStarted(true);
-                charList[charIndex].getShield().getShieldWalk(charList[charIndex].getHeading().getId()).setStarted(true);
+                character.getWeapon().getWeaponWalk(character.getHeading().getId()).setStarted(true);
+                character.getShield().getShieldWalk(character.getHeading().getId()).setStarted(true);
 
                 moved = true;
 
-                if ((sgn(charList[charIndex].getScrollDirectionY()) == 1 && charList[charIndex].getMoveOffsetY() >= 0)
-                        || (sgn(charList[charIndex].getScrollDirectionY()) == -1 && charList[charIndex].getMoveOffsetY() <= 0)) {
-                    charList[charIndex].setMoveOffsetY(0);
-                    charList[charIndex].setScrollDirectionY(0);
+                if ((sgn(character.getScrollDirectionY()) == 1 && character.getMoveOffsetY() >= 0)
+                        || (sgn(character.getScrollDirectionY()) == -1 && character.getMoveOffsetY() <= 0)) {
+                    character.setMoveOffsetY(0);
+                    character.setScrollDirectionY(0);
                 }
             }
         }
 
         if (!moved) {
-            charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()).setStarted(false);
-            charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()).setFrameCounter(1);
+            character.getBody().getWalk(character.getHeading().getId()).setStarted(false);
+            character.getBody().getWalk(character.getHeading().getId()).setFrameCounter(1);
 
-            charList[charIndex].getWeapon().getWeaponWalk(charList[charIndex].getHeading().getId()).setStarted(false);
-            charList[charIndex].getWeapon().getWeaponWalk(charList[charIndex].getHeading().getId()).setFrameCounter(1);
+            character.getWeapon().getWeaponWalk(character.getHeading().getId()).setStarted(false);
+            character.getWeapon().getWeaponWalk(character.getHeading().getId()).setFrameCounter(1);
 
-            charList[charIndex].getShield().getShieldWalk(charList[charIndex].getHeading().getId()).setStarted(false);
-            charList[charIndex].getShield().getShieldWalk(charList[charIndex].getHeading().getId()).setFrameCounter(1);
+            character.getShield().getShieldWalk(character.getHeading().getId()).setStarted(false);
+            character.getShield().getShieldWalk(character.getHeading().getId()).setFrameCounter(1);
 
-            charList[charIndex].setMoving(false);
+            character.setMoving(false);
         }
 
-        PixelOffsetX += (int) charList[charIndex].getMoveOffsetX();
-        PixelOffsetY += (int) charList[charIndex].getMoveOffsetY();
+        PixelOffsetX += (int) character.getMoveOffsetX();
+        PixelOffsetY += (int) character.getMoveOffsetY();
 
-        if (charList[charIndex].getHead().getHead(charList[charIndex].getHeading().getId()).getGrhIndex() != 0) {
-            if (!charList[charIndex].isInvisible()) {
+        if (character.getHead().getHead(character.getHeading().getId()).getGrhIndex() != 0) {
+            if (!character.isInvisible()) {
 
-                if (charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()).getGrhIndex() != 0) {
-                    drawTexture(charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()),
+                if (character.getBody().getWalk(character.getHeading().getId()).getGrhIndex() != 0) {
+                    drawTexture(character.getBody().getWalk(character.getHeading().getId()),
                             PixelOffsetX, PixelOffsetY, true, true, false, 1.0f, ambientcolor);
                 }
 
-                if (charList[charIndex].getHead().getHead(charList[charIndex].getHeading().getId()).getGrhIndex() != 0) {
-                    drawTexture(charList[charIndex].getHead().getHead(charList[charIndex].getHeading().getId()),
-                            PixelOffsetX + charList[charIndex].getBody().getHeadOffset().getX(),
-                            PixelOffsetY + charList[charIndex].getBody().getHeadOffset().getY(),
+                if (character.getHead().getHead(character.getHeading().getId()).getGrhIndex() != 0) {
+                    drawTexture(character.getHead().getHead(character.getHeading().getId()),
+                            PixelOffsetX + character.getBody().getHeadOffset().getX(),
+                            PixelOffsetY + character.getBody().getHeadOffset().getY(),
                             true, false, false, 1.0f, ambientcolor);
 
 
-                    if (charList[charIndex].getHelmet().getHead(charList[charIndex].getHeading().getId()).getGrhIndex() != 0) {
-                        drawTexture(charList[charIndex].getHelmet().getHead(charList[charIndex].getHeading().getId()),
-                                PixelOffsetX + charList[charIndex].getBody().getHeadOffset().getX(),
-                                PixelOffsetY + charList[charIndex].getBody().getHeadOffset().getY() - 34,
+                    if (character.getHelmet().getHead(character.getHeading().getId()).getGrhIndex() != 0) {
+                        drawTexture(character.getHelmet().getHead(character.getHeading().getId()),
+                                PixelOffsetX + character.getBody().getHeadOffset().getX(),
+                                PixelOffsetY + character.getBody().getHeadOffset().getY() - 34,
                                 true, false, false, 1.0f, ambientcolor);
                     }
 
-                    if (charList[charIndex].getWeapon().getWeaponWalk(charList[charIndex].getHeading().getId()).getGrhIndex() != 0) {
-                        drawTexture(charList[charIndex].getWeapon().getWeaponWalk(charList[charIndex].getHeading().getId()),
+                    if (character.getWeapon().getWeaponWalk(character.getHeading().getId()).getGrhIndex() != 0) {
+                        drawTexture(character.getWeapon().getWeaponWalk(character.getHeading().getId()),
                                 PixelOffsetX, PixelOffsetY, true, true, false, 1.0f, ambientcolor);
                     }
 
-                    if (charList[charIndex].getShield().getShieldWalk(charList[charIndex].getHeading().getId()).getGrhIndex() != 0) {
-                        drawTexture(charList[charIndex].getShield().getShieldWalk(charList[charIndex].getHeading().getId()),
+                    if (character.getShield().getShieldWalk(character.getHeading().getId()).getGrhIndex() != 0) {
+                        drawTexture(character.getShield().getShieldWalk(character.getHeading().getId()),
                                 PixelOffsetX, PixelOffsetY, true, true, false, 1.0f, ambientcolor);
                     }
 
                     if (options.isShowName()) {
-                        if (charList[charIndex].name.length() > 0) {
+                        if (character.name.length() > 0) {
 
-                            if (charList[charIndex].priv == 0) {
-                                if (charList[charIndex].attackable) {
+                            if (character.priv == 0) {
+                                if (character.attackable) {
                                     color.setRed(0.54f);
                                     color.setGreen(0.0f);
                                     color.setBlue(1.0f);
                                 } else {
-                                    if (charList[charIndex].criminal) {
+                                    if (character.criminal) {
                                         color.setRed(1.0f);
                                         color.setGreen(0.0f);
                                         color.setBlue(0.0f);
@@ -381,13 +283,13 @@ public final class Character {
                                 color.setBlue(0.3f);
                             }
 
-                            String line = charList[charIndex].name;
+                            String line = character.name;
                             drawText(line,
                                     PixelOffsetX + 16 - getTextWidth(line, false) / 2,
                                     PixelOffsetY + 30, color, NORMAL_FONT, false);
 
 
-                            line = charList[charIndex].clanName;
+                            line = character.clanName;
                             if (!line.isEmpty()) {
                                 drawText(line,
                                         PixelOffsetX + 16 - getTextWidth(line, false) / 2,
@@ -400,22 +302,22 @@ public final class Character {
 
 
         } else {
-            if (charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()).getGrhIndex() > 0) {
-                drawTexture(charList[charIndex].getBody().getWalk(charList[charIndex].getHeading().getId()),
+            if (character.getBody().getWalk(character.getHeading().getId()).getGrhIndex() > 0) {
+                drawTexture(character.getBody().getWalk(character.getHeading().getId()),
                         PixelOffsetX, PixelOffsetY, true, true, false, 1.0f, ambientcolor);
             }
         }
 
         // Draw FX
-        if (charList[charIndex].fxIndex != 0) {
-            drawTexture(charList[charIndex].fX,
-                    PixelOffsetX + fxData[charList[charIndex].fxIndex].getOffsetX(),
-                    PixelOffsetY + fxData[charList[charIndex].fxIndex].getOffsetY(),
+        if (character.fxIndex != 0) {
+            drawTexture(character.fX,
+                    PixelOffsetX + fxData[character.fxIndex].getOffsetX(),
+                    PixelOffsetY + fxData[character.fxIndex].getOffsetY(),
                     true, true, true, 1.0f, ambientcolor);
 
             // Check if animation is over
-            if (!charList[charIndex].fX.isStarted())
-                charList[charIndex].setFxIndex(0);
+            if (!character.fX.isStarted())
+                character.setFxIndex(0);
         }
     }
 
@@ -0,0 +1,169 @@
+package org.aoclient.engine.game.models;
+
+import org.aoclient.engine.utils.inits.BodyData;
+import org.aoclient.engine.utils.inits.HeadData;
+import org.aoclient.engine.utils.inits.ShieldData;
+import org.aoclient.engine.utils.inits.WeaponData;
+
+import static org.aoclient.engine.game.models.Character.CASPER_HEAD;
+import static org.aoclient.engine.utils.GameData.*;
+
+/**
+ * <p>
+ * Personajes que conoce una sesion, indexados por el {@code charIndex} que les asigna el servidor.
+ * <p>
+ * Reemplaza al array {@code GameData.charList}, que tenia los 10001 personajes creados de antemano para el unico usuario del
+ * proceso. Aca cada posicion se crea recien la primera vez que se consulta con {@link #get(int)}, por lo que una sesion ocupa
+ * memoria solo por los personajes que llego a ver; eso permite tener muchas sesiones en la misma JVM, como hace
+ * {@code BotSwarm}.
+ * <p>
+ * Si la sesion dibuja el mapa cargado en {@link org.aoclient.engine.utils.GameData#mapData}, la lista tambien marca en cada
+ * celda el personaje que la ocupa al crear, mover o eliminar personajes. Las sesiones sin mapa solo llevan la posicion de cada
+ * personaje.
+ */
+
+public final class CharacterList {
+
+    /** Cantidad de posiciones de la lista. Se agregan tantas porque hay mapas que tienen muchos NPCs. */
+    public static final int CAPACITY = 10000 + 1;
+
+    private final Character[] characters = new Character[CAPACITY];
+    /** Indica si la lista marca la ocupacion de las celdas en el mapa cargado. */
+    private final boolean onMap;
+    /** Ultima posicion de la lista con un personaje activo. */
+    private short lastChar;
+
+    public CharacterList(boolean onMap) {
+        this.onMap = onMap;
+    }
+
+    /**
+     * Devuelve el personaje de una posicion, creandolo si todavia no existe.
+     *
+     * @param charIndex indice del personaje
+     * @return el personaje, que esta inactivo si el servidor todavia no lo creo
+     */
+    public Character get(int charIndex) {
+        Character character = characters[charIndex];
+        if (character == null) characters[charIndex] = character = new Character();
+        return character;
+    }
+
+    /**
+     * Indica si la posicion tiene un personaje, sin crearlo.
+     */
+    public boolean contains(int charIndex) {
+        return characters[charIndex] != null;
+    }
+
+    public short getLastChar() {
+        return lastChar;
+    }
+
+    /**
+     * Crea un nuevo personaje segun los parametros establecidos.
+     */
+    public void makeChar(short charIndex, int body, int head, Direction direction, int x, int y, int weapon, int shield,
+                         int helmet) {
+        // apuntamos al ultimo char
+        if (charIndex > lastChar) lastChar = charIndex;
+
+        if (weapon == 0) weapon = 2;
+        if (shield == 0) shield = 2;
+        if (helmet == 0) helmet = 2;
+
+        char f = '<', u = '>';
+
+        final Character character = get(charIndex);
+
+        if (character.getPriv() != 0) character.setClanName(f + "Game Master" + u);
+
+        character.setDead(head == CASPER_HEAD);
+        character.setiHead(head);
+        character.setiBody(body);
+
+        character.setHead(new HeadData(headData[head]));
+        character.setBody(new BodyData(bodyData[body]));
+
+        character.setWeapon(new WeaponData(weaponData[weapon]));
+
+        character.setShield(new ShieldData(shieldData[shield]));
+        character.setHelmet(new HeadData(helmetsData[helmet]));
+
+        character.setHeading(direction);
+
+        // reset moving stats
+        character.setMoving(false);
+        character.setMoveOffsetX(0);
+        character.setMoveOffsetY(0);
+
+        // update position
+        character.getPos().setX(x);
+        character.getPos().setY(y);
+
+        // Make active
+        character.setActive(true);
+
+        // plot on map
+        if (onMap) mapData[x][y].setCharIndex(charIndex);
+    }
+
+    /**
+     * @param charIndex Numero de identificador de personaje
+     *  Elimina un personaje de la lista.
+     */
+    public void eraseChar(short charIndex) {
+        final Character character = get(charIndex);
+        character.setActive(false);
+
+        if (charIndex == lastChar) {
+            while (characters[lastChar] == null || !characters[lastChar].isActive()) {
+                lastChar--;
+                if (lastChar == 0) break;
+            }
+        }
+
+        if (onMap) mapData[character.getPos().getX()][character.getPos().getY()].setCharIndex(0);
+
+        /*
+            'Remove char's dialog
+            Call Dialogos.RemoveDialog(CharIndex)
+         */
+
+        // al vaciar la posicion, el personaje sera eliminado por el recolector de basura de java.
+        characters[charIndex] = null;
+    }
+
+    /**
+     *  Elimina todos los personajes de la lista.
+     */
+    public void eraseAllChars() {
+        for (short i = 1; i < CAPACITY; i++) {
+            if (characters[i] == null) continue;
+            if (onMap) mapData[characters[i].getPos().getX()][characters[i].getPos().getY()].setCharIndex(0);
+            characters[i] = null;
+        }
+        lastChar = 0;
+    }
+
+    /**
+     *  Actualiza en el mapa la posicion de todos los personajes visibles.
+     */
+    public void refreshAllChars() {
+        if (!onMap) return;
+        for (int loopC = 1; loopC <= lastChar; loopC++)
+            if (characters[loopC] != null && characters[loopC].isActive())
+                mapData[characters[loopC].getPos().getX()][characters[loopC].getPos().getY()].setCharIndex(loopC);
+    }
+
+    /**
+     * Cuenta los personajes creados en la lista, activos o no, para estimar la memoria que ocupa la sesion.
+     */
+    public int countCreated() {
+        int count = 0;
+        for (Character character : characters)
+            if (character != null) count++;
+        return count;
+    }
+
+}
@@ -11,8 +11,10 @@ import imgui.flag.ImGuiConfigFlags;
 import imgui.flag.ImGuiKey;
 import imgui.flag.ImGuiMouseCursor;
 import imgui.gl3.ImGuiImplGl3;
+import org.aoclient.engine.Headless;
 import org.aoclient.engine.Window;
 import org.aoclient.engine.gui.forms.Form;
+import org.aoclient.engine.listeners.MouseListener;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -59,6 +61,7 @@ public enum ImGUISystem {
     private final List<Form> frms = new ArrayList<>();
     
     private final Window window = Window.INSTANCE;
+    private final Headless headless = Headless.INSTANCE;
 
     private ImGUISystem() {
 
@@ -85,12 +88,19 @@ public enum ImGUISystem {
 
         // Teclado y raton.
         setKeyboardMapping(io);
-        setMouseMapping();
-        setCallbacks(io);
 
         // Configuracion de Fonts
         loadImGUIFonts(io);
 
+        // Sin ventana no hay cursores, portapapeles ni OpenGL, y el atlas de fuentes que arma el backend se arma a mano
+        if (headless.isEnabled()) {
+            io.getFonts().build();
+            return;
+        }
+
+        setMouseMapping();
+        setCallbacks(io);
+
         // Iniciamos ImGUI en OpenGL
         imGuiGl3.init();
     }
@@ -196,11 +206,16 @@ public enum ImGUISystem {
     }
 
     public void destroy() {
-        imGuiGl3.dispose();
+        if (!headless.isEnabled()) imGuiGl3.dispose();
         ImGui.destroyContext();
     }
 
     public void renderGUI() {
+        if (headless.isEnabled()) {
+            renderHeadless();
+            return;
+        }
+
         // Get window size properties and mouse position
         glfwGetWindowSize(window.getWindow(), winWidth, winHeight);
         glfwGetFramebufferSize(window.getWindow(), fbWidth, fbHeight);
@@ -233,6 +248,22 @@ public enum ImGUISystem {
         imGuiGl3.renderDrawData(ImGui.getDrawData());
     }
 
+    /**
+     * Corre los formularios igual que {@link #renderGUI()}, pero con la pantalla y el raton del modo sin ventana y sin dibujar
+     * el resultado.
+     */
+    private void renderHeadless() {
+        final ImGuiIO io = ImGui.getIO();
+        io.setDisplaySize(Headless.SCREEN_WIDTH, Headless.SCREEN_HEIGHT);
+        io.setDisplayFramebufferScale(1, 1);
+        io.setMousePos(MouseListener.getX(), MouseListener.getY());
+        io.setDeltaTime(deltaTime);
+
+        ImGui.newFrame();
+        this.renderFrms();
+        ImGui.render();
+    }
+
     private void renderFrms() {
         for (int i = 0; i < frms.size(); i++)
             frms.get(i).render();
@@ -240,6 +271,7 @@ public enum ImGUISystem {
     }
 
     public void show(Form frm) {
+        headless.recordForm();
         boolean exits = false;
         // esta abierto?
         for (int i = 0; i < frms.size(); i++) {
@@ -67,7 +67,7 @@ public final class FBank extends Form{
         // BOTONES
         ImGui.setCursorPos(415, 28);
         if (ImGui.invisibleButton("Close", 30, 30)) {
-            writeBankEnd();
+            writeBankEnd(SESSION);
             this.close();
         }
 
@@ -75,7 +75,7 @@ public final class FBank extends Form{
         if (ImGui.invisibleButton("Depositar", 17, 17)) {
             playSound(SND_CLICK);
             if(!cant.isEmpty()) {
-                writeBankDeposit(invUser.getSlotSelected() + 1, Integer.parseInt(cant.get()));
+                writeBankDeposit(SESSION, invUser.getSlotSelected() + 1, Integer.parseInt(cant.get()));
             }
 
         }
@@ -85,7 +85,7 @@ public final class FBank extends Form{
             playSound(SND_CLICK);
 
             if(!cant.isEmpty()) {
-                writeBankExtractItem(invNPC.getSlotSelected() + 1, Integer.parseInt(cant.get()));
+                writeBankExtractItem(SESSION, invNPC.getSlotSelected() + 1, Integer.parseInt(cant.get()));
             }
         }
 
@@ -94,7 +94,7 @@ public final class FBank extends Form{
             playSound(SND_CLICK);
 
             if(!cantGOLD.isEmpty()) {
-                writeBankDepositGold(Integer.parseInt(cantGOLD.get()));
+                writeBankDepositGold(SESSION, Integer.parseInt(cantGOLD.get()));
             }
         }
 
@@ -103,7 +103,7 @@ public final class FBank extends Form{
             playSound(SND_CLICK);
 
             if(!cantGOLD.isEmpty()) {
-                writeBankExtractGold(Integer.parseInt(cantGOLD.get()));
+                writeBankExtractGold(SESSION, Integer.parseInt(cantGOLD.get()));
             }
         }
 
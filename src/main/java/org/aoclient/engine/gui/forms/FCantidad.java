@@ -83,8 +83,8 @@ public final class FCantidad extends Form {
             if (!cant.get().isEmpty()) {
                 final int cantToDrop = Integer.parseInt(cant.get());
                 if (cantToDrop > 0 && cantToDrop <= 10000) {
-                    if (dropOro) writeDrop(FLAGORO, cantToDrop);
-                    else writeDrop(USER.getUserInventory().getSlotSelected() + 1, cantToDrop);
+                    if (dropOro) writeDrop(SESSION, FLAGORO, cantToDrop);
+                    else writeDrop(SESSION, USER.getUserInventory().getSlotSelected() + 1, cantToDrop);
                 }
             }
             this.close();
@@ -95,9 +95,10 @@ public final class FCantidad extends Form {
             if (!cant.get().isEmpty()) {
                 final int cantToDrop = Integer.parseInt(cant.get());
                 if (cantToDrop > 0 && cantToDrop <= 10000) {
-                    if (dropOro) writeDrop(FLAGORO, Math.min(USER.getUserGLD(), 10000));
+                    if (dropOro) writeDrop(SESSION, FLAGORO, Math.min(USER.getUserGLD(), 10000));
                     else
-                        writeDrop(USER.getUserInventory().getSlotSelected() + 1, USER.getUserInventory().getAmountSlotSelected());
+                        writeDrop(SESSION, USER.getUserInventory().getSlotSelected() + 1,
+                                USER.getUserInventory().getAmountSlotSelected());
                 }
             }
             this.close();
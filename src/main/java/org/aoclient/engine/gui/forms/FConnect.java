@@ -10,9 +10,12 @@ import org.aoclient.engine.Engine;
 import org.aoclient.engine.Window;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.widgets.ImageButton3State;
+import org.aoclient.network.ConnectionState;
+import org.aoclient.network.Reconnection;
 import org.aoclient.network.SocketConnection;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 
 import static org.aoclient.engine.Sound.playMusic;
 import static org.aoclient.engine.utils.GameData.options;
@@ -38,7 +41,7 @@ import static org.lwjgl.glfw.GLFW.GLFW_KEY_ENTER;
  * <p>
  * Esta clase maneja la validacion basica de campos y establece la comunicacion inicial con el servidor, enviando las credenciales
  * del usuario y procesando la respuesta para determinar si se permite el acceso. En caso de conexion exitosa, la aplicacion
- * avanzara a la pantalla principal.
+ * avanzara a la pantalla principal. Mientras se intenta conectar, el formulario muestra el progreso y permite cancelar el intento.
  */
 
 public final class FConnect extends Form {
@@ -198,16 +201,34 @@ public final class FConnect extends Form {
         }
         if (btnExit.render()) this.buttonExitGame();
 
+        renderConnectionProgress();
+
         ImGui.end();
     }
 
+    /**
+     * Muestra debajo del boton de conexion el progreso del intento de conexion en curso, junto con un boton para cancelarlo.
+     */
+    private void renderConnectionProgress() {
+        ConnectionState state = SocketConnection.INSTANCE.getState();
+        if (state != ConnectionState.RESOLVING && state != ConnectionState.CONNECTING) return;
+
+        ImGui.setCursorPos(329, 295);
+        InetSocketAddress address = SocketConnection.INSTANCE.getConnectingAddress();
+        if (state == ConnectionState.RESOLVING || address == null) ImGui.textColored(1, 1, 0, 1, "Resolviendo servidor...");
+        else ImGui.textColored(1, 1, 0, 1, "Conectando a " + address.getAddress().getHostAddress() + "...");
+
+        ImGui.setCursorPos(329, 313);
+        if (ImGui.button("Cancelar", 89, 20)) SocketConnection.INSTANCE.cancelConnect();
+    }
+
     private void buttonConnect() {
         options.setIpServer(ipStr.get());
         options.setPortServer(portStr.get());
         if (!nickStr.get().isEmpty() && !passStr.get().isEmpty()) {
-            new Thread(() -> {
-                if (SocketConnection.INSTANCE.connect()) writeLoginExistingChar(nickStr.get(), passStr.get());
-            }).start();
+            final String nick = nickStr.get(), pass = passStr.get();
+            SocketConnection.INSTANCE.connect(() -> writeLoginExistingChar(SESSION, nick, pass));
+            Reconnection.INSTANCE.setCredentials(nick, pass);
             options.setNickName(nickStr.get());
             USER.setUserName(nickStr.get());
         } else ImGUISystem.INSTANCE.show(new FMessage("Please enter a username and/or password."));
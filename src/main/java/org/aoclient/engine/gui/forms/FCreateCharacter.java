@@ -18,6 +18,7 @@ import org.aoclient.engine.renderer.RGBColor;
 import org.aoclient.engine.renderer.Surface;
 import org.aoclient.engine.renderer.Texture;
 import org.aoclient.engine.utils.inits.BodyData;
+import org.aoclient.network.Reconnection;
 import org.aoclient.network.SocketConnection;
 
 import java.io.IOException;
@@ -489,17 +490,16 @@ public final class FCreateCharacter extends Form {
         final int userClase = currentItemClass.get() + 1;
         final int userHogar = currentItemHogar.get() + 1;
         if (!checkData()) return;
-        new Thread(() -> {
-            if (SocketConnection.INSTANCE.connect())
-                writeLoginNewChar(txtNombre.get(), txtPassword.get(), userRaza, userSexo, userClase, userHead, txtMail.get(), userHogar);
-        }).start();
+        final String nombre = txtNombre.get(), password = txtPassword.get(), mail = txtMail.get();
+        final int head = userHead;
+        SocketConnection.INSTANCE.connect(() ->
+                writeLoginNewChar(SESSION, nombre, password, userRaza, userSexo, userClase, head, mail, userHogar));
+        Reconnection.INSTANCE.setCredentials(nombre, password);
         USER.setUserName(txtNombre.get());
     }
 
     private void buttonThrowDices() {
-        new Thread(() -> {
-            if (SocketConnection.INSTANCE.connect()) writeThrowDices();
-        }).start();
+        SocketConnection.INSTANCE.connect(() -> writeThrowDices(SESSION));
     }
 
     private void buttonGoBack() {
@@ -7,12 +7,16 @@ import imgui.type.ImString;
 import org.aoclient.engine.Engine;
 import org.aoclient.engine.Window;
 import org.aoclient.engine.game.Console;
+import org.aoclient.network.Reconnection;
+import org.aoclient.network.SocketConnection;
 import org.aoclient.network.protocol.Protocol;
 
 import java.io.IOException;
 
 import static org.aoclient.engine.Sound.SND_CLICK;
 import static org.aoclient.engine.Sound.playSound;
+import static org.aoclient.engine.scenes.Camera.POS_SCREEN_X;
+import static org.aoclient.engine.scenes.Camera.POS_SCREEN_Y;
 import static org.aoclient.engine.utils.Time.FPS;
 
 /**
@@ -83,17 +87,25 @@ public final class FMain extends Form {
             IM_GUI_SYSTEM.show(new FSkills());
         }
 
-        // LBL FPS
+        // LBL FPS (click para ver las estadisticas de red)
         final String txtFPS = String.valueOf(FPS);
         ImGui.setCursorPos(448, 4);
         ImGui.pushStyleVar(ImGuiStyleVar.SelectableTextAlign, 0.5f, 0.5f);
         ImGui.pushStyleColor(ImGuiCol.HeaderHovered, ImGui.getColorU32(0f, 0f, 0f, 0f));
         ImGui.pushStyleColor(ImGuiCol.HeaderActive, ImGui.getColorU32(0f, 0f, 0f, 0f));
-        ImGui.selectable(txtFPS, false, ImGuiSelectableFlags.None, 28, 10);
+        if (ImGui.selectable(txtFPS, false, ImGuiSelectableFlags.None, 28, 10)) IM_GUI_SYSTEM.show(new FNetworkStats());
+        if (ImGui.isItemHovered())
+            ImGui.setTooltip(String.format("Ping: %.0f ms", SocketConnection.INSTANCE.getLatencyStats().getLastMillis()));
         ImGui.popStyleColor();
         ImGui.popStyleColor();
         ImGui.popStyleVar();
 
+        // Estado de la reconexion, sobre el area de juego
+        if (Reconnection.INSTANCE.isActive()) {
+            ImGui.setCursorPos(POS_SCREEN_X + 10, POS_SCREEN_Y + 10);
+            ImGui.textColored(1f, 1f, 0f, 1f, Reconnection.INSTANCE.getStatusText());
+        }
+
         // lblEnergia
         ImGui.setCursorPos(591, 453);
         ImGui.pushStyleVar(ImGuiStyleVar.SelectableTextAlign, 0.5f, 0.5f);
@@ -257,7 +269,7 @@ public final class FMain extends Form {
         ImGui.setCursorPos(681, 530);
         if (ImGui.invisibleButton("viewGuild", 95, 22)) {
             playSound(SND_CLICK);
-            Protocol.writeRequestGuildLeaderInfo();
+            Protocol.writeRequestGuildLeaderInfo(SESSION);
         }
 
         // btnClose
@@ -0,0 +1,77 @@
+package org.aoclient.engine.gui.forms;
+
+import imgui.ImGui;
+import imgui.flag.ImGuiCond;
+import imgui.flag.ImGuiWindowFlags;
+import org.aoclient.network.LatencyStats;
+import org.aoclient.network.SocketConnection;
+
+import static org.aoclient.engine.utils.GameData.options;
+import static org.aoclient.network.protocol.ServerPacket.*;
+
+/**
+ * Ventana con las estadisticas de la conexion en vivo: latencia (RTT) de los PING del heartbeat, jitter, histograma de latencias,
+ * tiempo desde el ultimo dato recibido, demora de los paquetes en la cola del hilo de renderizado, tiempo que lleva aplicarlos en
+ * cada frame frente a su presupuesto y paquetes descartados por saturacion de esa cola.
+ * <p>
+ * Se abre haciendo click en el contador de FPS de {@link FMain}. Sirve para relacionar los reportes de los jugadores con el
+ * estado real de la red en ese momento.
+ */
+
+public final class FNetworkStats extends Form {
+
+    private final float[] histogram = new float[LatencyStats.getBucketCount()];
+
+    @Override
+    public void render() {
+        ImGui.setNextWindowFocus();
+        ImGui.setNextWindowSize(260, 0, ImGuiCond.Always);
+        ImGui.begin(this.getClass().getSimpleName(), ImGuiWindowFlags.NoTitleBar | ImGuiWindowFlags.NoMove |
+                ImGuiWindowFlags.AlwaysAutoResize);
+
+        checkMoveFrm();
+
+        SocketConnection connection = SocketConnection.INSTANCE;
+        LatencyStats stats = connection.getLatencyStats();
+
+        ImGui.text("Estadisticas de red");
+        ImGui.separator();
+
+        if (stats.getCount() == 0) ImGui.text("Ping: midiendo...");
+        else {
+            ImGui.text(String.format("Ping: %.0f ms (promedio %.0f ms)", stats.getLastMillis(), stats.getAverageMillis()));
+            ImGui.text(String.format("Min %.0f / p50 %.0f / p95 %.0f / max %.0f ms", stats.getPercentileMillis(0),
+                    stats.getPercentileMillis(50), stats.getPercentileMillis(95), stats.getPercentileMillis(100)));
+            ImGui.text(String.format("Jitter: %.1f ms", stats.getJitterMillis()));
+        }
+        ImGui.text("Mediciones: " + stats.getCount() + " (cada " + options.getHeartbeatInterval() + " ms)");
+
+        int[] counts = stats.getHistogram();
+        int max = 1;
+        for (int i = 0; i < counts.length; i++) {
+            histogram[i] = counts[i];
+            max = Math.max(max, counts[i]);
+        }
+        ImGui.plotHistogram("##rtt", histogram, histogram.length, 0, null, 0, max, 244, 60);
+        ImGui.textDisabled(LatencyStats.getBucketLabel(0) + " ms ... " + LatencyStats.getBucketLabel(histogram.length - 1) + " ms");
+
+        ImGui.separator();
+        ImGui.text("Ultimo dato recibido: hace " + connection.getMillisSinceLastReceive() + " ms");
+        ImGui.text(String.format("Cola: %.2f ms promedio, %.2f ms max, %d pendientes", connection.getAverageQueueDelayNanos() / 1e6,
+                connection.getMaxQueueDelayNanos() / 1e6, connection.getPendingPackets()));
+        ImGui.text(String.format("Procesamiento: %.2f ms (promedio %.2f, max %.2f, presupuesto %d ms)",
+                connection.getLastDispatchNanos() / 1e6, connection.getAverageDispatchNanos() / 1e6,
+                connection.getMaxDispatchNanos() / 1e6, options.getPacketTimeBudget()));
+        ImGui.text("Frames excedidos: " + connection.getOverBudgetFrames() + ", masivos apartados: "
+                + connection.getDeferredPackets());
+
+        ImGui.text("Descartados por saturacion: FX " + connection.getShedCount(CREATE_FX) + ", sonidos "
+                + connection.getShedCount(PLAY_WAVE) + ", dialogos " + connection.getShedCount(CHAT_OVER_HEAD));
+        ImGui.text("Movimientos fusionados: " + connection.getShedCount(CHARACTER_MOVE));
+
+        if (ImGui.button("Cerrar", ImGui.getWindowWidth() - 16, 20)) close();
+
+        ImGui.end();
+    }
+
+}
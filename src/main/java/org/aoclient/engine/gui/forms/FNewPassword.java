@@ -103,7 +103,7 @@ public final class FNewPassword extends Form {
                 IM_GUI_SYSTEM.show(new FMessage("Las contraseñas no coinciden."));
             } else
                 // Si está correcto enviamos paquete para cambiar la contraseña.
-                writeChangePassword(this.txtPassword.get(), this.txtNewPassword.get());
+                writeChangePassword(SESSION, this.txtPassword.get(), this.txtNewPassword.get());
                 close();
         }
 
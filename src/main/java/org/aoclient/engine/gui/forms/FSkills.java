@@ -25,7 +25,7 @@ public final class FSkills extends Form {
     public FSkills() {
         try {
             backgroundImage = loadTexture("VentanaSkills");
-            writeRequestSkills();
+            writeRequestSkills(SESSION);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -147,6 +147,6 @@ public final class FSkills extends Form {
             int skillIndex = skill.getId() - 1;
             modifiedSkills[skillIndex] = USER.getSkill(skill.getId()) - this.userSkills[skillIndex];
         }
-        writeModifySkills(modifiedSkills);
+        writeModifySkills(SESSION, modifiedSkills);
     }
 }
\ No newline at end of file
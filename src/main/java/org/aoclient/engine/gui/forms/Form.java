@@ -2,6 +2,8 @@ package org.aoclient.engine.gui.forms;
 
 import imgui.ImGui;
 import imgui.ImVec2;
+import org.aoclient.engine.Headless;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.User;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.lwjgl.BufferUtils;
@@ -9,13 +11,12 @@ import org.lwjgl.BufferUtils;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.ByteBuffer;
 
-import static org.aoclient.scripts.Compressor.readResource;
+import static org.aoclient.scripts.Compressor.openResource;
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
 
@@ -38,13 +39,14 @@ import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
 public abstract class Form {
 
     protected int backgroundImage;
-    protected static final User USER = User.INSTANCE;
+    protected static final Session SESSION = Session.CLIENT;
+    protected static final User USER = SESSION.getUser();
     protected static final ImGUISystem IM_GUI_SYSTEM = ImGUISystem.INSTANCE;
 
     public abstract void render();
 
     public void close() {
-        glDeleteTextures(backgroundImage);
+        if (!Headless.INSTANCE.isEnabled()) glDeleteTextures(backgroundImage);
         IM_GUI_SYSTEM.deleteFrmArray(this);
     }
 
@@ -84,14 +86,15 @@ public abstract class Form {
 
     protected int loadTexture(final String file) throws IOException {
         // Lee los datos del recurso desde el archivo comprimido
-        byte[] resourceData = readResource("resources/gui.ao", file);
-        /* if (resourceData == null) {
-            System.err.println("No se pudieron cargar los datos de " + file);
-            return -1; // TODO Deberia devolver -1 en este caso?
-        } */
-
-        InputStream is = new ByteArrayInputStream(resourceData);
-        BufferedImage image = ImageIO.read(is);
+        BufferedImage image;
+        try (InputStream is = openResource("resources/gui.ao", file)) {
+            image = ImageIO.read(is);
+        }
+        // Sin ventana no hay a donde subir la imagen, asi que el formulario se dibuja sin fondo
+        if (Headless.INSTANCE.isEnabled()) {
+            Headless.INSTANCE.recordTexture();
+            return 0;
+        }
 
         final int[] pixels = new int[image.getWidth() * image.getHeight()];
         image.getRGB(0, 0, image.getWidth(), image.getHeight(), pixels, 0, image.getWidth());
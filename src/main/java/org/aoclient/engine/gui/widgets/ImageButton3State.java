@@ -4,6 +4,7 @@ import imgui.ImGui;
 import imgui.flag.ImGuiCol;
 import imgui.flag.ImGuiMouseButton;
 import imgui.flag.ImGuiStyleVar;
+import org.aoclient.engine.Headless;
 
 import static org.lwjgl.opengl.GL11.glDeleteTextures;
 
@@ -92,6 +93,7 @@ public class ImageButton3State {
     }
 
     public void delete() {
+        if (Headless.INSTANCE.isEnabled()) return;
         glDeleteTextures(normalId);
         glDeleteTextures(hoverId);
         glDeleteTextures(clickId);
@@ -1,5 +1,6 @@
 package org.aoclient.engine.renderer;
 
+import org.aoclient.engine.Headless;
 import org.aoclient.engine.utils.inits.GrhInfo;
 
 import static org.aoclient.engine.scenes.Camera.TILE_PIXEL_SIZE;
@@ -17,7 +18,8 @@ import static org.lwjgl.opengl.GL11.*;
  * <p>
  * Implementa la funcionalidad de bajo nivel para el renderizado mediante OpenGL, encapsulando las operaciones complejas en
  * metodos faciles de usar. Maneja aspectos como la aplicacion de efectos de mezcla (blending), transparencia, colores y
- * transformaciones de coordenadas.
+ * transformaciones de coordenadas. En el modo sin ventana ({@link Headless}) no se llama a OpenGL y cada dibujo solo se
+ * registra.
  * <p>
  * Es utilizada por todos los subsistemas graficos del juego para dibujar desde elementos de la interfaz de usuario hasta
  * personajes, objetos del mapa y efectos visuales. La mayor parte del renderizado visible pasa por los metodos de esta clase.
@@ -28,6 +30,9 @@ import static org.lwjgl.opengl.GL11.*;
 
 public final class Drawn {
 
+    /** En el modo sin ventana los dibujos solo se cuentan. */
+    private static final Headless HEADLESS = Headless.INSTANCE;
+
     /**
      * @param: grh_index = Numero de indice de grafico del GrhData
      * @param: x, y: posicion eje x e y de la pantalla.
@@ -39,9 +44,14 @@ public final class Drawn {
      *  Se encargara de guardar la textura en la grafica y prepararla para su dibujado (en pocas palabras).
      */
     public static void geometryBoxRender(int grh_index, int x, int y, int src_width, int src_height, float sX, float sY, boolean blend, float alpha, RGBColor color) {
+        final Texture texture = Surface.INSTANCE.getTexture(grhData[grh_index].getFileNum());
+        if (HEADLESS.isEnabled()) {
+            HEADLESS.recordQuad();
+            return;
+        }
+
         if (blend) glBlendFunc(GL_SRC_ALPHA, GL_ONE);
 
-        final Texture texture = Surface.INSTANCE.getTexture(grhData[grh_index].getFileNum());
         final float src_right = sX + src_width;
         final float src_bottom = sY + src_height;
 
@@ -88,6 +98,11 @@ public final class Drawn {
      *  Lo mismo pero para interfaces de usuario.
      */
     public static void geometryBoxRenderGUI(Texture texture, int x, int y, float alpha) {
+        if (HEADLESS.isEnabled()) {
+            HEADLESS.recordQuad();
+            return;
+        }
+
         texture.bind();
         glBegin(GL_QUADS);
 
@@ -129,6 +144,11 @@ public final class Drawn {
      * Lo mismo pero con una textura ya cargada.
      */
     public static void geometryBoxRender(Texture texture, int x, int y, int src_width, int src_height, float sX, float sY, boolean blend, float alpha, RGBColor color) {
+        if (HEADLESS.isEnabled()) {
+            HEADLESS.recordQuad();
+            return;
+        }
+
         if (blend) glBlendFunc(GL_SRC_ALPHA, GL_ONE);
 
         final float src_right = sX + src_width;
@@ -178,6 +198,11 @@ public final class Drawn {
      *  Dibuja un cuadrado o rectangulo segun la dimencion que le asignemos.
      */
     public static void drawRectangle(int x, int y, int width, int height, RGBColor color) {
+        if (HEADLESS.isEnabled()) {
+            HEADLESS.recordPrimitive();
+            return;
+        }
+
         if (color == null) color = new RGBColor(0.0f, 0.0f, 0.0f);
 
         glDisable(GL_BLEND);
@@ -220,6 +245,11 @@ public final class Drawn {
      *  Dibuja una linea seun las dimenciones que les demos.
      */
     public static void drawLine(int x, int y, int width, int height, RGBColor color) {
+        if (HEADLESS.isEnabled()) {
+            HEADLESS.recordPrimitive();
+            return;
+        }
+
         if (color == null)
             color = new RGBColor(0.0f, 0.0f, 0.0f);
 
@@ -1,16 +1,16 @@
 package org.aoclient.engine.renderer;
 
+import org.aoclient.engine.Headless;
 import org.lwjgl.BufferUtils;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 
-import static org.aoclient.scripts.Compressor.readResource;
+import static org.aoclient.scripts.Compressor.openResource;
 import static org.lwjgl.opengl.GL11.*;
 
 /**
@@ -39,25 +39,22 @@ public class Texture {
         BufferedImage bi;
 
         try {
-            // Generate texture on GPU
-            this.id = glGenTextures();
-            glBindTexture(GL_TEXTURE_2D, id);
-
             // Lee los datos del recurso desde el archivo comprimido
-            byte[] resourceData = readResource("resources/" + compressedFile, file);
-            /* if (resourceData == null) {
-            System.err.println("No se pudieron cargar los datos de " + file);
-            return -1;
-            } */
-
-            InputStream is = new ByteArrayInputStream(resourceData);
-
-            //File fil = new File(file);
-            BufferedImage image = ImageIO.read(is);
+            // La imagen se decodifica directamente del stream del archivo, sin copiarla antes a un array
+            BufferedImage image;
+            try (InputStream is = openResource("resources/" + compressedFile, file)) {
+                image = ImageIO.read(is);
+            }
 
             refTexture.tex_width = image.getWidth();
             refTexture.tex_height = image.getHeight();
 
+            // Sin ventana alcanza con el tamaño, que se usa para calcular las coordenadas de los dibujos
+            if (Headless.INSTANCE.isEnabled()) {
+                Headless.INSTANCE.recordTexture();
+                return;
+            }
+
             bi = new BufferedImage(refTexture.tex_width, refTexture.tex_height, BufferedImage.TYPE_4BYTE_ABGR);
 
             Graphics2D g = bi.createGraphics();
@@ -82,6 +79,10 @@ public class Texture {
             pixels.put(data);
             pixels.rewind();
 
+            // Generate texture on GPU
+            this.id = glGenTextures();
+            glBindTexture(GL_TEXTURE_2D, id);
+
             glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA,
                     refTexture.tex_width, refTexture.tex_height, 0, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
 
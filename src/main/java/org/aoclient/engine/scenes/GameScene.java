@@ -4,7 +4,9 @@ import org.aoclient.engine.Window;
 import org.aoclient.engine.game.Dialogs;
 import org.aoclient.engine.game.IntervalTimer;
 import org.aoclient.engine.game.Rain;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.engine.game.models.Direction;
 import org.aoclient.engine.game.models.Key;
 import org.aoclient.engine.game.models.Skill;
@@ -45,7 +47,8 @@ import static org.lwjgl.glfw.GLFW.*;
  * </ul>
  * <p>
  * Esta escena monitorea constantemente el estado de conexion del usuario. Si se detecta una desconexion, la escena se cierra
- * automaticamente y regresa a {@code MainScene} para permitir una nueva conexion.
+ * automaticamente y regresa a {@code MainScene} para permitir una nueva conexion. Una perdida inesperada de la red no cuenta como
+ * desconexion mientras {@code Reconnection} intenta volver a entrar a la partida, por lo que la escena sigue abierta.
  * <p>
  * El metodo {@link GameScene#render()} es particularmente complejo en esta escena, ya que maneja el renderizado de multiples
  * capas en orden especifico para lograr el efecto visual correcto del mundo.
@@ -60,7 +63,9 @@ import static org.lwjgl.glfw.GLFW.*;
 public final class GameScene extends Scene {
 
     private final IntervalTimer intervalToUpdatePos = new IntervalTimer(INT_SENTRPU);
-    private final User user = User.INSTANCE;
+    private final Session session = Session.CLIENT;
+    private final User user = session.getUser();
+    private final CharacterList charList = session.getCharList();
     RGBColor ambientColor; // color de ambiente.
     private float offSetCounterX = 0;
     private float offSetCounterY = 0;
@@ -94,7 +99,7 @@ public final class GameScene extends Scene {
 
         if (user.isUserMoving()) {
             if (user.getAddToUserPos().getX() != 0) {
-                offSetCounterX -= charList[user.getUserCharIndex()].getWalkingSpeed() * user.getAddToUserPos().getX() * timerTicksPerFrame;
+                offSetCounterX -= charList.get(user.getUserCharIndex()).getWalkingSpeed() * user.getAddToUserPos().getX() * timerTicksPerFrame;
                 if (Math.abs(offSetCounterX) >= Math.abs(TILE_PIXEL_SIZE * user.getAddToUserPos().getX())) {
                     offSetCounterX = 0;
                     user.getAddToUserPos().setX(0);
@@ -103,7 +108,7 @@ public final class GameScene extends Scene {
             }
 
             if (user.getAddToUserPos().getY() != 0) {
-                offSetCounterY -= charList[user.getUserCharIndex()].getWalkingSpeed() * user.getAddToUserPos().getY() * timerTicksPerFrame;
+                offSetCounterY -= charList.get(user.getUserCharIndex()).getWalkingSpeed() * user.getAddToUserPos().getY() * timerTicksPerFrame;
                 if (Math.abs(offSetCounterY) >= Math.abs(TILE_PIXEL_SIZE * user.getAddToUserPos().getY())) {
                     offSetCounterY = 0;
                     user.getAddToUserPos().setY(0);
@@ -131,9 +136,9 @@ public final class GameScene extends Scene {
 
                     // Estamos manteniendo Shift derecho?
                     if (KeyHandler.isKeyPressed(GLFW_KEY_RIGHT_SHIFT) &&
-                            charList[user.getUserCharIndex()].getPriv() != 0) {
+                            charList.get(user.getUserCharIndex()).getPriv() != 0) {
 
-                        writeWarpChar("YO",
+                        writeWarpChar(session, "YO",
                                 user.getUserMap(),
                                 getTileMouseX((int) MouseListener.getX() - POS_SCREEN_X),
                                 getTileMouseY((int) MouseListener.getY() - POS_SCREEN_Y));
@@ -141,7 +146,7 @@ public final class GameScene extends Scene {
                     } else {
 
                         writeLeftClick(
-                                getTileMouseX((int) MouseListener.getX() - POS_SCREEN_X),
+                                session, getTileMouseX((int) MouseListener.getX() - POS_SCREEN_X),
                                 getTileMouseY((int) MouseListener.getY() - POS_SCREEN_Y));
 
                     }
@@ -151,7 +156,7 @@ public final class GameScene extends Scene {
 
             if (MouseListener.mouseButtonReleased(GLFW_MOUSE_BUTTON_LEFT)) {
                 if (user.getUsingSkill() != 0) {
-                    writeWorkLeftClick(getTileMouseX((int) MouseListener.getX() - POS_SCREEN_X),
+                    writeWorkLeftClick(session, getTileMouseX((int) MouseListener.getX() - POS_SCREEN_X),
                             getTileMouseY((int) MouseListener.getY() - POS_SCREEN_Y),
                             user.getUsingSkill());
 
@@ -177,7 +182,7 @@ public final class GameScene extends Scene {
         if (MouseListener.mouseButtonDoubleClick(GLFW_MOUSE_BUTTON_LEFT)) {
             user.getUserInventory().dobleClickInventory();
         } else if (MouseListener.mouseButtonDoubleClick(GLFW_MOUSE_BUTTON_RIGHT)) {
-            writeDoubleClick(getTileMouseX((int) MouseListener.getX() - POS_SCREEN_X), getTileMouseY((int) MouseListener.getY() - POS_SCREEN_Y));
+            writeDoubleClick(session, getTileMouseX((int) MouseListener.getX() - POS_SCREEN_X), getTileMouseY((int) MouseListener.getY() - POS_SCREEN_Y));
         }
 
 
@@ -188,7 +193,7 @@ public final class GameScene extends Scene {
      */
     @Override
     public void keyEvents() {
-        if (KeyHandler.isKeyPressed(Key.EXIT_GAME.getKeyCode())) writeQuit();
+        if (KeyHandler.isKeyPressed(Key.EXIT_GAME.getKeyCode())) writeQuit(session);
         this.checkBindedKeys();
     }
 
@@ -223,10 +228,10 @@ public final class GameScene extends Scene {
                     user.getUserInventory().useItem();
                     break;
                 case GET_OBJECT:
-                    writePickUp();
+                    writePickUp(session);
                     break;
                 case ATTACK:
-                    writeAttack();
+                    writeAttack(session);
                     break;
                 case EQUIP_OBJECT:
                     user.getUserInventory().equipItem();
@@ -247,13 +252,13 @@ public final class GameScene extends Scene {
                     }
                     break;
                 case HIDE:
-                    writeWork(Skill.CONCEALMENT.getId());
+                    writeWork(session, Skill.CONCEALMENT.getId());
                     break;
                 case STEAL:
-                    writeWork(Skill.THEFT.getId());
+                    writeWork(session, Skill.THEFT.getId());
                     break;
                 case REQUEST_REFRESH:
-                    if (intervalToUpdatePos.check()) writeRequestPositionUpdate();
+                    if (intervalToUpdatePos.check()) writeRequestPositionUpdate(session);
                     break;
             }
         }
@@ -300,7 +305,7 @@ public final class GameScene extends Scene {
         for (int y = camera.getMinY(); y <= camera.getMaxY(); y++) {
             camera.setScreenX(camera.getMinXOffset() - TILE_BUFFER_SIZE);
             for (int x = camera.getMinX(); x <= camera.getMaxX(); x++) {
-                Dialogs.renderDialogs(camera, x, y, pixelOffsetX, pixelOffsetY);
+                Dialogs.renderDialogs(charList, camera, x, y, pixelOffsetX, pixelOffsetY);
                 camera.incrementScreenX();
             }
             camera.incrementScreenY();
@@ -308,7 +313,7 @@ public final class GameScene extends Scene {
 
         renderFourthLayer(pixelOffsetX, pixelOffsetY);
 
-        Dialogs.updateDialogs();
+        Dialogs.updateDialogs(charList);
         Rain.INSTANCE.render(ambientColor);
     }
 
@@ -375,7 +380,7 @@ public final class GameScene extends Scene {
                 }
 
                 if (mapData[x][y].getCharIndex() != 0) {
-                    drawCharacter(mapData[x][y].getCharIndex(),
+                    drawCharacter(charList.get(mapData[x][y].getCharIndex()),
                             POS_SCREEN_X + camera.getScreenX() * TILE_PIXEL_SIZE + pixelOffsetX,
                             POS_SCREEN_Y + camera.getScreenY() * TILE_PIXEL_SIZE + pixelOffsetY, ambientColor);
                 }
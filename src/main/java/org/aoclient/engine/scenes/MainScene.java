@@ -1,5 +1,6 @@
 package org.aoclient.engine.scenes;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.User;
 import org.aoclient.engine.game.models.Key;
 import org.aoclient.engine.gui.ImGUISystem;
@@ -62,7 +63,7 @@ public final class MainScene extends Scene {
 
     @Override
     public void render() {
-        if (User.INSTANCE.isUserConected()) {
+        if (Session.CLIENT.getUser().isUserConected()) {
             this.close();
             ImGUISystem.INSTANCE.closeAllFrms();
         }
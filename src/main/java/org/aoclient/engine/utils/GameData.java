@@ -2,7 +2,6 @@ package org.aoclient.engine.utils;
 
 import org.aoclient.engine.Sound;
 import org.aoclient.engine.game.Options;
-import org.aoclient.engine.game.models.Character;
 import org.aoclient.engine.renderer.Surface;
 import org.aoclient.engine.utils.inits.*;
 
@@ -11,7 +10,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.aoclient.engine.Messages.loadMessages;
-import static org.aoclient.engine.game.models.Character.eraseAllChars;
 import static org.aoclient.engine.renderer.FontRenderer.loadFonts;
 import static org.aoclient.scripts.Compressor.readResource;
 
@@ -29,7 +27,7 @@ import static org.aoclient.scripts.Compressor.readResource;
  * <li>Cargar los recursos desde archivos comprimidos
  * <li>Inicializar los datos necesarios al inicio del juego
  * <li>Proporcionar metodos de acceso a los datos del juego
- * <li>Mantener el estado global de elementos como personajes, mapas y efectos
+ * <li>Mantener el estado global de elementos como mapas y efectos
  * </ul>
  * <p>
  * La clase implementa un sistema de carga secuencial de recursos durante la inicializacion, garantizando que todos los datos
@@ -47,7 +45,6 @@ public final class GameData {
     public static GrhData[] grhData;
     public static MapData[][] mapData;
     public static boolean[] bLluvia;
-    public static Character[] charList = new Character[10000 + 1]; // se agrega aca porque hay mapas que tienen NPCs.
     public static Map<String, Sound> sounds = new HashMap<>();
     public static Map<String, Sound> musics = new HashMap<>();
     public static Options options = Options.INSTANCE;
@@ -57,9 +54,6 @@ public final class GameData {
      * Inicializamos todos los datos almacenados en archivos.
      */
     public static void init() {
-
-        for (int i = 0; i < charList.length; i++) charList[i] = new Character();
-
         reader = new BinaryDataReader();
 
         options.load();
@@ -398,10 +392,19 @@ public final class GameData {
 
         // Liberar memoria
         Surface.INSTANCE.deleteAllTextures();
-        eraseAllChars();
 
     }
 
+    /**
+     * Quita del mapa cargado los objetos, conservando las capas y las texturas. Se usa al volver a entrar al mismo mapa tras una
+     * reconexion, ya que el servidor vuelve a enviar todo lo que hay en el area del usuario.
+     */
+    public static void clearMapObjects() {
+        for (int y = 1; y <= 100; y++)
+            for (int x = 1; x <= 100; x++)
+                mapData[x][y].getObjGrh().setGrhIndex(0);
+    }
+
     /**
      * Cargamos los indices de animaciones FXs del archivo "fxs.ind"
      */
@@ -1,5 +1,7 @@
 package org.aoclient.engine.utils;
 
+import org.aoclient.engine.Headless;
+
 import static org.lwjgl.glfw.GLFW.glfwGetTime;
 
 /**
@@ -14,6 +16,8 @@ import static org.lwjgl.glfw.GLFW.glfwGetTime;
  * Esta clase es crucial para que todos los elementos animados del juego (personajes, efectos, etc.) se muevan a velocidades
  * consistentes en diferentes sistemas, ajustandose automaticamente a las variaciones en la tasa de fotogramas.
  * <p>
+ * En el modo sin ventana ({@link Headless}) el tiempo se toma del reloj simulado en lugar del de GLFW.
+ * <p>
  * Al ser una clase utilitaria con metodos estaticos, no es necesario instanciarla para usar su funcionalidad.
  *
  * @see GameData
@@ -35,7 +39,7 @@ public final class Time {
      *  Inicializamos las variables necesarias para calcular el tiempo
      */
     public static void initTime() {
-        beginTime = (float) glfwGetTime();
+        beginTime = (float) now();
         deltaTime = -1.0f;
     }
 
@@ -45,13 +49,20 @@ public final class Time {
     public static void updateTime() {
         updateFPS();
 
-        endTime = (float) glfwGetTime();
+        endTime = (float) now();
         deltaTime = endTime - beginTime;
         beginTime = endTime;
 
         timerTicksPerFrame = (deltaTime * ENGINE_BASE_SPEED);
     }
 
+    /**
+     *  Devuelve el tiempo actual en segundos, del reloj de GLFW o del simulado
+     */
+    private static double now() {
+        return Headless.INSTANCE.isEnabled() ? Headless.INSTANCE.getClock() : glfwGetTime();
+    }
+
     /**
      *  Actualizamos los FPS
      */
@@ -0,0 +1,18 @@
+package org.aoclient.network;
+
+/**
+ * Estados por los que pasa la conexion con el servidor, para que la interfaz pueda mostrar el progreso de un intento de conexion.
+ */
+
+public enum ConnectionState {
+
+    /** No hay conexion ni intento de conexion en curso. */
+    DISCONNECTED,
+    /** Resolviendo el nombre del servidor a sus direcciones IP. */
+    RESOLVING,
+    /** Estableciendo la conexion TCP con alguna de las direcciones del servidor. */
+    CONNECTING,
+    /** Conexion establecida. */
+    CONNECTED
+
+}
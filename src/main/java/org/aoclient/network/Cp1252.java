@@ -0,0 +1,146 @@
+package org.aoclient.network;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codificacion y decodificacion de cadenas en Cp1252 (Windows-1252), la codificacion que usa el protocolo de AO, mediante tablas
+ * precalculadas en lugar de un {@link Charset}.
+ * <p>
+ * En Cp1252 cada caracter ocupa exactamente un byte, y solo difiere de ISO-8859-1 en el rango {@code 0x80-0x9F} (comillas
+ * tipograficas, el simbolo del euro, etc.). Por eso decodificar una cadena que no tiene bytes en ese rango, que es el caso de casi
+ * todas, se resuelve con la conversion directa de ISO-8859-1, que copia los bytes a la cadena sin pasar por un decodificador. Solo
+ * las cadenas con algun byte en ese rango se traducen por la tabla.
+ * <p>
+ * Las tablas se construyen una unica vez a partir del charset del JDK, por lo que el resultado es identico al de
+ * {@code new String(bytes, "Cp1252")} y {@code string.getBytes("Cp1252")}: los bytes sin definir se decodifican como
+ * {@code U+FFFD} y los caracteres que no existen en Cp1252 se codifican como {@code '?'}.
+ * <p>
+ * Ademas mantiene una cache acotada de cadenas cortas ({@link #intern(byte[], int, int)}). Los nombres de los personajes y los
+ * tags de clan llegan una y otra vez, en cada {@code CHARACTER_CREATE} que envia el servidor cuando un personaje entra al area
+ * visible; con la cache, una cadena que ya se recibio se devuelve sin crear una nueva, y las comparaciones posteriores entre ellas
+ * terminan en la comparacion de referencias de {@link String#equals(Object)}.
+ */
+
+final class Cp1252 {
+
+    /** Longitud maxima, en bytes, de las cadenas que se guardan en la cache. Las mas largas suelen ser mensajes irrepetibles. */
+    static final int MAX_INTERNED_LENGTH = 32;
+    /** Cantidad de entradas de la cache. Debe ser potencia de 2. */
+    private static final int CACHE_SIZE = 1024;
+    /** Byte con el que el charset del JDK reemplaza a los caracteres que no existen en Cp1252. */
+    private static final byte UNMAPPABLE = '?';
+    /** Caracter con el que el charset del JDK decodifica los bytes que Cp1252 no define. */
+    private static final char UNDEFINED = '\uFFFD';
+
+    /** Caracter correspondiente a cada byte. */
+    private static final char[] DECODE = new char[256];
+    /** Byte correspondiente a cada caracter hasta el mayor caracter de Cp1252 ({@code U+2122}), o 0 si no tiene. */
+    private static final byte[] ENCODE;
+    /**
+     * Cache de mapeo directo: cada cadena ocupa la entrada que indica el hash de sus bytes y reemplaza a la que estaba. No necesita
+     * sincronizacion porque las cadenas son inmutables y escribir una referencia es atomico; en el peor caso, dos hilos que
+     * escriben la misma entrada solo provocan un fallo de cache.
+     */
+    private static final String[] cache = new String[CACHE_SIZE];
+
+    static {
+        Charset cp1252 = Charset.forName("Cp1252");
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = (byte) i;
+        new String(bytes, cp1252).getChars(0, 256, DECODE, 0);
+        char max = 0;
+        for (char c : DECODE)
+            if (c != UNDEFINED && c > max) max = c;
+        ENCODE = new byte[max + 1];
+        for (int i = 0; i < DECODE.length; i++)
+            if (DECODE[i] != UNDEFINED) ENCODE[DECODE[i]] = (byte) i;
+    }
+
+    private Cp1252() {
+    }
+
+    /**
+     * Decodifica una cadena.
+     *
+     * @param src    array con los bytes
+     * @param offset posicion del primer byte
+     * @param length cantidad de bytes
+     * @return la cadena decodificada
+     */
+    static String decode(byte[] src, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            int b = src[i] & 0xFF;
+            if (b >= 0x80 && b <= 0x9F) return decodeWithTable(src, offset, length);
+        }
+        // Fuera del rango 0x80-0x9F, Cp1252 e ISO-8859-1 son identicos
+        return new String(src, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Decodifica una cadena, devolviendo la misma instancia que en una llamada anterior si los bytes son iguales y la cadena es
+     * corta.
+     *
+     * @param src    array con los bytes
+     * @param offset posicion del primer byte
+     * @param length cantidad de bytes
+     * @return la cadena decodificada
+     */
+    static String intern(byte[] src, int offset, int length) {
+        if (length > MAX_INTERNED_LENGTH) return decode(src, offset, length);
+        int end = offset + length;
+        int hash = length;
+        for (int i = offset; i < end; i++)
+            hash = hash * 31 + src[i];
+        int slot = (hash ^ hash >>> 16) & CACHE_SIZE - 1;
+        String cached = cache[slot];
+        if (cached != null && matches(cached, src, offset, length)) return cached;
+        String string = decode(src, offset, length);
+        cache[slot] = string;
+        return string;
+    }
+
+    /**
+     * Codifica una cadena. El array debe tener lugar para {@code string.length()} bytes, ya que ningun caracter ocupa mas de uno.
+     *
+     * @param string cadena a codificar
+     * @param dest   array de destino
+     * @param offset posicion donde se escribe el primer byte
+     * @return la cantidad de bytes escritos
+     */
+    static int encode(String string, byte[] dest, int offset) {
+        int length = string.length();
+        int position = offset;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) dest[position++] = (byte) c;
+            else {
+                byte b = c < ENCODE.length ? ENCODE[c] : 0;
+                if (b == 0) {
+                    b = UNMAPPABLE;
+                    // Un par sustituto representa un unico caracter, que se reemplaza por un unico '?'
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) i++;
+                }
+                dest[position++] = b;
+            }
+        }
+        return position - offset;
+    }
+
+    private static String decodeWithTable(byte[] src, int offset, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+            chars[i] = DECODE[src[offset + i] & 0xFF];
+        return new String(chars);
+    }
+
+    private static boolean matches(String string, byte[] src, int offset, int length) {
+        if (string.length() != length) return false;
+        for (int i = 0; i < length; i++)
+            if (string.charAt(i) != DECODE[src[offset + i] & 0xFF]) return false;
+        return true;
+    }
+
+}
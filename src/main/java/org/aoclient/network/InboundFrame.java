@@ -0,0 +1,40 @@
+package org.aoclient.network;
+
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder;
+
+/**
+ * Evento que representa un paquete completo del servidor, ya identificado y delimitado por el hilo de red, listo para que el
+ * hilo de renderizado lo aplique.
+ * <p>
+ * Los paquetes frecuentes que tienen decoder generado (movimientos, creacion de personajes, vida, mana, energia, efectos y
+ * dialogos) llegan ya decodificados: el hilo de red lee sus campos directamente del buffer de recepcion al evento tipado que les
+ * corresponde dentro de {@link #events}, y el hilo de renderizado solo los aplica. El resto de los paquetes viaja como bytes en
+ * {@link #buffer} y su handler los lee al aplicarlos.
+ * <p>
+ * Las instancias son los slots de la cola {@link SpscRing} entre ambos hilos, por lo que se reutilizan: el hilo de red las llena
+ * y el hilo de renderizado las aplica y las devuelve. El buffer y los eventos de cada slot se reutilizan entre usos, asi que
+ * recibir un paquete no asigna memoria (salvo las cadenas que no estan en la cache de {@link Cp1252#intern}).
+ */
+
+class InboundFrame {
+
+    /** Capacidad inicial del buffer de cada slot, suficiente para la gran mayoria de los paquetes. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Bytes del paquete, incluyendo su byte identificador. Queda vacio si el paquete llego decodificado en {@link #event}. */
+    final PacketBuffer buffer = new PacketBuffer(INITIAL_CAPACITY);
+    /** Eventos en los que el hilo de red decodifica los paquetes que tienen decoder, uno por tipo de paquete. */
+    final ServerPacketDecoder.Events events = new ServerPacketDecoder.Events();
+    /** Evento de {@link #events} con los campos del paquete, o null si el paquete viaja como bytes en {@link #buffer}. */
+    ServerPacketDecoder.Event event;
+    /** Paquete identificado por el primer byte. */
+    ServerPacket packet;
+    /** Longitud total del paquete en bytes. */
+    int length;
+    /** Momento en que el hilo de red termino de recibir el paquete, segun {@link System#nanoTime()}. */
+    long receivedNanos;
+    /** Numero de secuencia del paquete, asignado por {@link InboundShedder}. */
+    long sequence;
+
+}
@@ -0,0 +1,174 @@
+package org.aoclient.network;
+
+import org.aoclient.network.protocol.PacketFramer;
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Lado productor de la cola entrante: lee los bytes del canal, los agrupa en paquetes completos con {@link PacketFramer} y los
+ * publica en la cola para el hilo de renderizado, decodificando en el mismo paso los paquetes que tienen un evento tipado. Solo
+ * lo usa el hilo de red (o el de reproduccion), salvo {@link #getLastReceiveNanos()}.
+ * <p>
+ * El buffer de recepcion esta acotado por la cola: se publica despues de cada lectura del canal y, si la cola se llena, se deja
+ * de leer. Asi el buffer nunca guarda mas que una lectura y el ultimo paquete incompleto, y los bytes que el cliente no alcanza a
+ * aplicar quedan en el socket, donde el control de flujo de TCP frena al servidor. El llamador tiene que reintentar
+ * {@link #publishFrames()} hasta que la cola tenga lugar antes de volver a llamar a {@link #receive(ReadableByteChannel,
+ * WireRecorder)}.
+ */
+
+class InboundPipeline {
+
+    /** Tamaño del buffer directo de lectura del canal. */
+    static final int CHANNEL_BUFFER_SIZE = 16 * 1024;
+
+    /** Buffer directo en el que se leen los bytes del canal. */
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+    /** Bytes recibidos que todavia no se publicaron, ya sea porque forman un paquete incompleto o porque la cola esta llena. */
+    private final PacketBuffer receiveBuffer = new PacketBuffer();
+    /** Agrupa los bytes recibidos en paquetes completos. */
+    private final PacketFramer framer = new PacketFramer();
+    /** Paquetes completos listos para aplicar en el hilo de renderizado. Esta clase es el unico productor. */
+    private final SpscRing<InboundFrame> queue;
+    /** Descarta paquetes cosmeticos cuando la cola supera la marca de agua alta. */
+    private final InboundShedder shedder;
+    /** Momento en que se recibieron bytes por ultima vez, segun {@link System#nanoTime()}. */
+    private volatile long lastReceiveNanos;
+
+    /**
+     * @param queue   cola en la que se publican los paquetes completos
+     * @param shedder politica de descarte de paquetes cosmeticos de la cola
+     */
+    InboundPipeline(SpscRing<InboundFrame> queue, InboundShedder shedder) {
+        this.queue = queue;
+        this.shedder = shedder;
+    }
+
+    /**
+     * Lee los bytes disponibles del canal y publica los paquetes completos. Publica despues de cada lectura y deja de leer en
+     * cuanto la cola se llena, para que los bytes que el cliente no puede aplicar queden en el socket.
+     *
+     * @param channel  canal en modo no bloqueante del que se leen los bytes
+     * @param recorder captura en la que se graban los bytes recibidos, o null si no se esta grabando
+     * @return true si quedaron paquetes completos sin publicar porque la cola esta llena
+     * @throws EOFException si el servidor cerro la conexion
+     * @throws IOException  si falla la lectura o se perdio la sincronizacion con el flujo
+     */
+    boolean receive(ReadableByteChannel channel, WireRecorder recorder) throws IOException {
+        int bytesRead;
+        while ((bytesRead = channel.read(readBuffer)) > 0) {
+            lastReceiveNanos = System.nanoTime();
+            readBuffer.flip();
+            if (recorder != null) recorder.recordReceived(readBuffer);
+            receiveBuffer.writeBlock(readBuffer);
+            readBuffer.clear();
+            if (publishFrames()) return true;
+        }
+        if (bytesRead < 0) throw new EOFException("Connection closed by the server");
+        return false;
+    }
+
+    /**
+     * Agrega bytes recibidos por otro medio que no es un canal, como los registros de una captura que se reproduce. No publica:
+     * el llamador tiene que llamar a {@link #publishFrames()} despues.
+     *
+     * @param payload bytes recibidos, que se consumen
+     */
+    void append(ByteBuffer payload) {
+        lastReceiveNanos = System.nanoTime();
+        receiveBuffer.writeBlock(payload);
+    }
+
+    /**
+     * Publica en la cola cada paquete completo del buffer de recepcion, dejando el ultimo paquete incompleto a la espera del
+     * resto. Si la cola se llena, los paquetes restantes quedan en el buffer hasta que el hilo de renderizado libere lugar.
+     *
+     * @return true si quedaron paquetes completos sin publicar porque la cola esta llena
+     * @throws IOException si se perdio la sincronizacion con el flujo
+     */
+    boolean publishFrames() throws IOException {
+        while (receiveBuffer.getLength() > 0) {
+            int packetId = receiveBuffer.peekByteAt(0);
+            ServerPacket packet = ServerPacket.fromId(packetId);
+            // Un ID desconocido significa que se perdio la sincronizacion con el flujo, y no hay forma de recuperarla
+            if (packet == null) throw new IOException("Invalid packet ID received: " + packetId);
+            int frameLength = framer.frameLength(packet, receiveBuffer);
+            if (frameLength == PacketFramer.INCOMPLETE) return false;
+
+            // Con la cola casi llena, los paquetes cosmeticos se descartan en lugar de ocupar lugar
+            if (shedder.shouldShed(packet, queue.size())) {
+                receiveBuffer.skip(frameLength);
+                continue;
+            }
+
+            InboundFrame frame = queue.claim();
+            if (frame == null) return true;
+            frame.buffer.clear();
+            frame.event = frame.events.get(packet);
+            if (frame.event != null) decode(frame.event, frameLength);
+            else receiveBuffer.transferTo(frame.buffer, frameLength);
+            frame.packet = packet;
+            frame.length = frameLength;
+            frame.receivedNanos = System.nanoTime();
+            shedder.onEnqueue(frame);
+            queue.publish();
+        }
+        return false;
+    }
+
+    /**
+     * Decodifica el paquete completo al comienzo del buffer de recepcion en su evento, para que el hilo de renderizado solo tenga
+     * que aplicar los campos ya leidos.
+     *
+     * @param event       evento del slot de la cola que corresponde al paquete
+     * @param frameLength longitud total del paquete en bytes, calculada por {@link PacketFramer}
+     * @throws IOException si el decoder leyo mas bytes que el layout del paquete
+     */
+    private void decode(ServerPacketDecoder.Event event, int frameLength) throws IOException {
+        long frameStart = receiveBuffer.getConsumedBytes();
+        receiveBuffer.mark();
+        try {
+            event.decode(receiveBuffer);
+            receiveBuffer.commit();
+        } catch (NotEnoughBytesException e) {
+            receiveBuffer.rollback();
+            throw new IOException("Decoder of [" + event.getPacket() + "] read past the end of its layout");
+        }
+        // El decoder y PacketFramer usan el mismo layout, por lo que una diferencia significa que se perdio la sincronizacion
+        int bytesRead = (int) (receiveBuffer.getConsumedBytes() - frameStart);
+        if (bytesRead < frameLength) receiveBuffer.skip(frameLength - bytesRead);
+        else if (bytesRead > frameLength) throw new IOException("Decoder of [" + event.getPacket() + "] read " + bytesRead
+                + " bytes, but its layout has " + frameLength);
+    }
+
+    /**
+     * Reinicia el momento de la ultima recepcion, para que el plazo sin datos de una conexion nueva empiece a contar desde ahora.
+     */
+    void resetReceiveClock() {
+        lastReceiveNanos = System.nanoTime();
+    }
+
+    long getLastReceiveNanos() {
+        return lastReceiveNanos;
+    }
+
+    /**
+     * @return cantidad de bytes recibidos que todavia no se publicaron
+     */
+    int getBufferedBytes() {
+        return receiveBuffer.getLength();
+    }
+
+    /**
+     * Descarta los bytes que hayan quedado de una conexion anterior.
+     */
+    void clear() {
+        receiveBuffer.clear();
+        readBuffer.clear();
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.aoclient.network;
+
+import org.aoclient.network.protocol.ServerPacket;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.aoclient.network.protocol.ServerPacket.*;
+
+/**
+ * Politica de descarte de paquetes entrantes cuando la cola entre el hilo de red y el de renderizado se llena, por ejemplo cuando
+ * el servidor envia rafagas en una pelea masiva.
+ * <p>
+ * Mientras la cola esta por debajo de la marca de agua alta no se descarta nada. Por encima de ella:
+ * <ul>
+ * <li>El hilo de red descarta, antes de encolarlos, los paquetes puramente cosmeticos ({@link #COSMETIC}): efectos, sonidos y
+ * dialogos sobre la cabeza. No modifican el estado del juego, asi que perderlos solo se nota como un efecto que no se ve.
+ * <li>El hilo de renderizado saltea un {@code CHARACTER_MOVE} si ya llego otro mas nuevo para el mismo personaje. La posicion
+ * que envia el servidor es absoluta, por lo que aplicar solo la ultima equivale a aplicar todas, y el personaje se desliza los
+ * casilleros que correspondan.
+ * </ul>
+ * Los paquetes que llevan estado (inventario, vida, posicion del usuario, etc.) nunca se descartan.
+ * <p>
+ * Para saber si un movimiento fue reemplazado, cada paquete encolado lleva un numero de secuencia creciente y el hilo de red anota
+ * la secuencia del ultimo {@code CHARACTER_MOVE} de cada personaje. La secuencia nunca se reinicia, asi que las anotaciones de una
+ * conexion anterior siempre son menores a las de la actual.
+ */
+
+class InboundShedder {
+
+    /** Paquetes que se pueden descartar sin afectar el estado del juego. */
+    static final EnumSet<ServerPacket> COSMETIC = EnumSet.of(CREATE_FX, PLAY_WAVE, CHAT_OVER_HEAD);
+    /** Cantidad de indices de personaje posibles (el indice viaja como un Integer de VB6). */
+    private static final int CHAR_INDEXES = 1 << 16;
+
+    /** Cantidad de paquetes en la cola a partir de la cual se empieza a descartar. */
+    private final int highWaterMark;
+    private final boolean[] cosmetic = new boolean[256];
+    /** Paquetes descartados por ID. Los escriben ambos hilos y los lee la interfaz. */
+    private final AtomicLongArray shedCounts = new AtomicLongArray(256);
+    /** Secuencia del ultimo {@code CHARACTER_MOVE} encolado por cada personaje. */
+    private final AtomicLongArray lastMoveSequence = new AtomicLongArray(CHAR_INDEXES);
+    /** Siguiente numero de secuencia. Solo lo usa el hilo de red. */
+    private long nextSequence = 1;
+
+    InboundShedder(int highWaterMark) {
+        this.highWaterMark = highWaterMark;
+        for (ServerPacket packet : COSMETIC)
+            cosmetic[packet.getId()] = true;
+    }
+
+    /**
+     * Decide si el hilo de red debe descartar un paquete en lugar de encolarlo.
+     *
+     * @param packet paquete recibido
+     * @param queued cantidad de paquetes en la cola
+     * @return true si el paquete es cosmetico y la cola supera la marca de agua alta
+     */
+    boolean shouldShed(ServerPacket packet, int queued) {
+        if (queued < highWaterMark || !cosmetic[packet.getId()]) return false;
+        shedCounts.incrementAndGet(packet.getId());
+        return true;
+    }
+
+    /**
+     * Asigna la secuencia a un paquete que el hilo de red esta por publicar y, si es un movimiento, la anota para su personaje.
+     *
+     * @param frame paquete ya copiado o decodificado en el slot de la cola
+     */
+    void onEnqueue(InboundFrame frame) {
+        frame.sequence = nextSequence++;
+        if (frame.packet == CHARACTER_MOVE) lastMoveSequence.lazySet(moveCharIndex(frame), frame.sequence);
+    }
+
+    /**
+     * Decide si el hilo de renderizado puede saltear un paquete porque otro posterior lo reemplaza.
+     *
+     * @param frame  paquete a aplicar
+     * @param queued cantidad de paquetes en la cola
+     * @return true si es un movimiento, la cola supera la marca de agua alta y ya se encolo otro movimiento del mismo personaje
+     */
+    boolean isSuperseded(InboundFrame frame, int queued) {
+        if (frame.packet != CHARACTER_MOVE || queued < highWaterMark) return false;
+        if (lastMoveSequence.get(moveCharIndex(frame)) <= frame.sequence) return false;
+        shedCounts.incrementAndGet(CHARACTER_MOVE.getId());
+        return true;
+    }
+
+    /**
+     * Devuelve la cantidad de paquetes de un tipo que se descartaron o fusionaron.
+     *
+     * @param packet tipo de paquete
+     * @return la cantidad de paquetes descartados desde que se inicio el cliente
+     */
+    long getShedCount(ServerPacket packet) {
+        return shedCounts.get(packet.getId());
+    }
+
+    /** Devuelve el indice de personaje de un {@code CHARACTER_MOVE}, que el hilo de red siempre decodifica en su evento. */
+    private static int moveCharIndex(InboundFrame frame) {
+        return frame.events.characterMove.charIndex & 0xFFFF;
+    }
+
+}
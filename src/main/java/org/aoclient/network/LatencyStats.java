@@ -0,0 +1,142 @@
+package org.aoclient.network;
+
+import java.util.Arrays;
+
+/**
+ * Estadisticas de latencia de la conexion, calculadas a partir de las mediciones de ida y vuelta (RTT) de los PING.
+ * <p>
+ * Conserva las ultimas {@link #WINDOW_SIZE} mediciones en un anillo, y sobre esa ventana mantiene un histograma por rangos de
+ * milisegundos que se actualiza al entrar y salir cada medicion, por lo que mostrar las estadisticas no recorre las mediciones.
+ * El jitter es la variacion promedio entre mediciones consecutivas, suavizada como en RFC 3550 (cada nueva diferencia pesa 1/16).
+ * <p>
+ * Solo la usa el hilo de renderizado, que es donde se aplica el PONG y donde se muestran las estadisticas.
+ */
+
+public class LatencyStats {
+
+    /** Cantidad de mediciones que se conservan. */
+    public static final int WINDOW_SIZE = 128;
+    /** Limite superior, en milisegundos, de cada rango del histograma. El ultimo rango no tiene limite. */
+    private static final int[] BUCKET_LIMITS_MILLIS = {25, 50, 100, 150, 200, 300, 500, 1000};
+
+    private final float[] samples = new float[WINDOW_SIZE];
+    /** Copia ordenada de las mediciones, reutilizada para calcular percentiles. */
+    private final float[] sorted = new float[WINDOW_SIZE];
+    private final int[] histogram = new int[BUCKET_LIMITS_MILLIS.length + 1];
+    /** Cantidad total de mediciones registradas desde el ultimo reseteo. */
+    private long count;
+    private float lastMillis;
+    private float jitterMillis;
+    private double sumMillis;
+
+    /**
+     * Registra una medicion.
+     *
+     * @param rttNanos tiempo de ida y vuelta en nanosegundos
+     */
+    public void record(long rttNanos) {
+        float millis = rttNanos / 1_000_000f;
+        int slot = (int) (count % WINDOW_SIZE);
+        if (count >= WINDOW_SIZE) {
+            float evicted = samples[slot];
+            histogram[bucketOf(evicted)]--;
+            sumMillis -= evicted;
+        }
+        if (count > 0) jitterMillis += (Math.abs(millis - lastMillis) - jitterMillis) / 16;
+        samples[slot] = millis;
+        histogram[bucketOf(millis)]++;
+        sumMillis += millis;
+        lastMillis = millis;
+        count++;
+    }
+
+    /**
+     * Descarta todas las mediciones, por ejemplo al conectarse de nuevo.
+     */
+    public void reset() {
+        Arrays.fill(histogram, 0);
+        count = 0;
+        lastMillis = 0;
+        jitterMillis = 0;
+        sumMillis = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public float getLastMillis() {
+        return lastMillis;
+    }
+
+    public float getJitterMillis() {
+        return jitterMillis;
+    }
+
+    /**
+     * Devuelve el promedio de las mediciones de la ventana.
+     *
+     * @return el RTT promedio en milisegundos, o 0 si no hay mediciones
+     */
+    public float getAverageMillis() {
+        int size = getWindowCount();
+        return size == 0 ? 0 : (float) (sumMillis / size);
+    }
+
+    /**
+     * Devuelve el percentil indicado de las mediciones de la ventana.
+     *
+     * @param percentile percentil entre 0 y 100 (por ejemplo, 0 para el minimo y 100 para el maximo)
+     * @return el RTT en milisegundos, o 0 si no hay mediciones
+     */
+    public float getPercentileMillis(double percentile) {
+        int size = getWindowCount();
+        if (size == 0) return 0;
+        System.arraycopy(samples, 0, sorted, 0, size);
+        Arrays.sort(sorted, 0, size);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, index))];
+    }
+
+    /**
+     * Devuelve el histograma de la ventana. El array es interno y no debe modificarse.
+     *
+     * @return la cantidad de mediciones en cada rango de {@link #getBucketLabel(int)}
+     */
+    public int[] getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Devuelve la cantidad de rangos del histograma.
+     *
+     * @return la cantidad de rangos
+     */
+    public static int getBucketCount() {
+        return BUCKET_LIMITS_MILLIS.length + 1;
+    }
+
+    /**
+     * Devuelve la etiqueta de un rango del histograma, por ejemplo {@code "50-100"} o {@code "1000+"}.
+     *
+     * @param bucket indice del rango
+     * @return la etiqueta en milisegundos
+     */
+    public static String getBucketLabel(int bucket) {
+        if (bucket == BUCKET_LIMITS_MILLIS.length) return BUCKET_LIMITS_MILLIS[bucket - 1] + "+";
+        int from = bucket == 0 ? 0 : BUCKET_LIMITS_MILLIS[bucket - 1];
+        return from + "-" + BUCKET_LIMITS_MILLIS[bucket];
+    }
+
+    private int getWindowCount() {
+        return (int) Math.min(count, WINDOW_SIZE);
+    }
+
+    private static int bucketOf(float millis) {
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS_MILLIS.length && millis >= BUCKET_LIMITS_MILLIS[bucket])
+            bucket++;
+        return bucket;
+    }
+
+}
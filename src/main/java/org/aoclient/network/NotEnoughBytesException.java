@@ -0,0 +1,19 @@
+package org.aoclient.network;
+
+/**
+ * Indica que se intento leer del {@link PacketBuffer} mas bytes de los que hay pendientes, es decir, que el paquete todavia no
+ * llego completo desde el servidor.
+ * <p>
+ * Al ser una excepcion no comprobada, los handlers leen los campos sin manejarla explicitamente; el despachador de paquetes la
+ * captura y vuelve el cursor de lectura a la marca del paquete para reintentar cuando lleguen los bytes restantes.
+ */
+
+public class NotEnoughBytesException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NotEnoughBytesException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.aoclient.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Cola de bytes salientes entre el hilo de renderizado, que la llena, y el hilo de red, que la envia al canal.
+ * <p>
+ * Los bytes se copian una unica vez, desde el buffer de salida del protocolo a segmentos {@code ByteBuffer} directos que se
+ * reutilizan entre envios, por lo que enviar un paquete no asigna memoria. El hilo de red toma todos los segmentos pendientes de
+ * una vez y los escribe con una sola escritura con recoleccion ({@link GatheringByteChannel#write(ByteBuffer[], int, int)}), de
+ * modo que los paquetes encolados entre dos envios viajan en la menor cantidad posible de llamadas al sistema.
+ * <p>
+ * Los segmentos pendientes y los libres se sincronizan sobre la instancia; los segmentos en vuelo solo los usa el hilo de red, que
+ * los escribe fuera del bloqueo.
+ */
+
+class OutboundQueue {
+
+    /** Tamaño de cada segmento, suficiente para varios frames de paquetes normales. */
+    private static final int SEGMENT_SIZE = 4 * 1024;
+
+    /** Segmentos vacios listos para reutilizar. */
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+    /** Segmentos llenados por el hilo de renderizado que el hilo de red todavia no tomo. Estan en modo escritura. */
+    private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+    /** Segmentos que el hilo de red esta enviando. Estan en modo lectura. Solo los usa el hilo de red. */
+    private ByteBuffer[] inFlight = new ByteBuffer[8];
+    /** Indice del primer segmento en vuelo con bytes sin enviar. */
+    private int inFlightStart;
+    /** Cantidad de segmentos en vuelo a partir de {@link #inFlightStart}. */
+    private int inFlightCount;
+
+    /**
+     * Mueve todos los bytes del buffer a la cola. Lo llama el hilo de renderizado.
+     *
+     * @param src buffer del que se consumen los bytes
+     */
+    synchronized void enqueue(PacketBuffer src) {
+        while (src.getLength() > 0) {
+            ByteBuffer tail = pending.peekLast();
+            if (tail == null || !tail.hasRemaining()) {
+                tail = free.isEmpty() ? ByteBuffer.allocateDirect(SEGMENT_SIZE) : free.poll();
+                pending.addLast(tail);
+            }
+            src.readBytes(tail);
+        }
+    }
+
+    /**
+     * Escribe en el canal todos los bytes que pueda, sin bloquear. Lo llama el hilo de red.
+     *
+     * @param channel  canal en el que se escriben los bytes
+     * @param recorder captura en la que se graban los bytes enviados, o null si no se esta grabando
+     * @return true si quedaron bytes sin enviar porque el canal no acepto mas
+     */
+    boolean writeTo(GatheringByteChannel channel, WireRecorder recorder) throws IOException {
+        takePending();
+        if (inFlightCount == 0) return false;
+
+        int firstPosition = inFlight[inFlightStart].position();
+        long written = channel.write(inFlight, inFlightStart, inFlightCount);
+        if (recorder != null && written > 0) record(recorder, firstPosition, (int) written);
+
+        // Recicla los segmentos que se enviaron completos
+        int sent = 0;
+        while (sent < inFlightCount && !inFlight[inFlightStart + sent].hasRemaining())
+            sent++;
+        if (sent > 0) {
+            synchronized (this) {
+                for (int i = 0; i < sent; i++) {
+                    ByteBuffer segment = inFlight[inFlightStart + i];
+                    inFlight[inFlightStart + i] = null;
+                    free.addLast(segment.clear());
+                }
+            }
+            inFlightStart += sent;
+            inFlightCount -= sent;
+        }
+        if (inFlightCount == 0) inFlightStart = 0;
+
+        return inFlightCount > 0 || hasPending();
+    }
+
+    /**
+     * Graba como un unico registro los bytes que acaba de enviar una escritura, que pueden abarcar varios segmentos en vuelo.
+     *
+     * @param firstPosition posicion del primer segmento en vuelo antes de la escritura
+     * @param written       cantidad de bytes que acepto el canal
+     */
+    private void record(WireRecorder recorder, int firstPosition, int written) {
+        if (!recorder.begin(WireCapture.SENT, written)) return;
+        int from = firstPosition;
+        for (int i = inFlightStart; written > 0; i++) {
+            ByteBuffer segment = inFlight[i];
+            int to = Math.min(segment.position(), from + written);
+            recorder.append(segment, from, to);
+            written -= to - from;
+            from = 0;
+        }
+        recorder.end();
+    }
+
+    /**
+     * Indica si hay bytes esperando a que el hilo de red los tome.
+     *
+     * @return true si hay segmentos pendientes
+     */
+    synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Descarta todos los bytes encolados y en vuelo. Solo debe llamarse cuando el hilo de red no esta en ejecucion.
+     */
+    synchronized void clear() {
+        while (!pending.isEmpty())
+            free.addLast(pending.poll().clear());
+        for (int i = 0; i < inFlightCount; i++) {
+            free.addLast(inFlight[inFlightStart + i].clear());
+            inFlight[inFlightStart + i] = null;
+        }
+        inFlightStart = 0;
+        inFlightCount = 0;
+    }
+
+    /**
+     * Pasa los segmentos pendientes a la lista de segmentos en vuelo, dejandolos en modo lectura. A partir de aca el hilo de
+     * renderizado sigue escribiendo en segmentos nuevos.
+     */
+    private synchronized void takePending() {
+        if (pending.isEmpty()) return;
+        if (inFlightStart > 0) {
+            System.arraycopy(inFlight, inFlightStart, inFlight, 0, inFlightCount);
+            Arrays.fill(inFlight, inFlightCount, inFlightStart + inFlightCount, null);
+            inFlightStart = 0;
+        }
+        int needed = inFlightCount + pending.size();
+        if (needed > inFlight.length) inFlight = Arrays.copyOf(inFlight, Math.max(needed, inFlight.length * 2));
+        while (!pending.isEmpty())
+            inFlight[inFlightCount++] = pending.poll().flip();
+    }
+
+}
@@ -1,12 +1,9 @@
 package org.aoclient.network;
 
-import org.aoclient.engine.gui.ImGUISystem;
-import org.aoclient.engine.gui.forms.FMessage;
-import org.aoclient.network.protocol.PacketReceiver;
-
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -28,6 +25,21 @@ import java.nio.charset.StandardCharsets;
  * <p>
  * La clase incluye soporte para gestionar diferentes codificaciones de texto (ASCII, UTF-8, UTF-16) y maneja la conversion entre
  * tipos de datos de Java y sus equivalentes en Visual Basic 6.
+ * <p>
+ * Internamente el buffer trabaja con dos cursores independientes: {@code readPosition} indica el siguiente byte a leer y
+ * {@code writePosition} el lugar donde se escribira el siguiente byte. Leer solo avanza el cursor de lectura, por lo que consumir
+ * un paquete cuesta O(1) en lugar de mover todos los bytes restantes al inicio del array. Los bytes ya leidos se descartan de
+ * forma perezosa: recien cuando una escritura no entra al final del array se compactan los bytes pendientes (o se agranda el
+ * array si aun asi no hay espacio). De esta forma, procesar una rafaga de N paquetes cuesta un tiempo lineal en la cantidad de
+ * bytes recibidos.
+ * <p>
+ * Los tipos primitivos se leen y escriben directamente sobre el array mediante vistas {@link VarHandle} en orden
+ * {@code LITTLE_ENDIAN}, sin crear {@code ByteBuffer} ni arrays auxiliares, por lo que parsear paquetes de tamaño fijo (como
+ * {@code CHARACTER_MOVE} o {@code UPDATE_HP}) no genera basura.
+ * <p>
+ * Para los paquetes de longitud variable el buffer ofrece lecturas transaccionales: {@link #mark()} recuerda la posicion de
+ * lectura al comenzar el paquete, {@link #commit()} confirma los bytes leidos y {@link #rollback()} vuelve el cursor a la marca
+ * si el paquete resulto estar incompleto, sin necesidad de copiar el buffer.
  */
 
 public class PacketBuffer {
@@ -43,6 +55,16 @@ public class PacketBuffer {
     private static final int VB6_LONG_BYTES = 4;
     /** Tamaño predeterminado del buffer en bytes. */
     private static final int DEFAULT_BUFFER_SIZE = 2048; // 2 KB para una latencia baja
+    /** Factor de crecimiento del buffer cuando los bytes pendientes mas los nuevos no entran en la capacidad actual. */
+    private static final int GROWTH_FACTOR = 2;
+    /** Vista de un {@code byte[]} como {@code short} en formato little-endian, usada para el tipo <b>Integer</b> de VB6. */
+    private static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    /** Vista de un {@code byte[]} como {@code int} en formato little-endian, usada para el tipo <b>Long</b> de VB6. */
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    /** Vista de un {@code byte[]} como {@code float} en formato little-endian, usada para el tipo <b>Single</b> de VB6. */
+    private static final VarHandle FLOAT_LE = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    /** Vista de un {@code byte[]} como {@code double} en formato little-endian, usada para el tipo <b>Double</b> de VB6. */
+    private static final VarHandle DOUBLE_LE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
     /**
      * Array de bytes que actua como un almacen temporal para los bytes que entran y salen del flujo de comunicacion.
      * <p>
@@ -50,11 +72,34 @@ public class PacketBuffer {
      * de bytes. Y cuando se dice "el buffer local", "en el buffer local", etc., se hace referencia al buffer local que se crea en
      * los metodos *read y *peek para almacenar los bytes de este buffer.
      */
-    private byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+    private byte[] buffer;
     /** Capacidad del buffer. */
-    private int bufferCapacity = DEFAULT_BUFFER_SIZE;
-    /** Longitud del buffer. */
-    private int bufferLength;
+    private int bufferCapacity;
+    /** Posicion del siguiente byte a leer. Los bytes anteriores a esta posicion ya fueron consumidos. */
+    private int readPosition;
+    /** Posicion donde se escribira el siguiente byte. Los bytes pendientes por leer estan entre los dos cursores. */
+    private int writePosition;
+    /** Posicion de lectura marcada al comenzar una transaccion, o -1 si no hay ninguna transaccion en curso. */
+    private int markPosition = -1;
+    /**
+     * Cantidad total de bytes consumidos desde la creacion del buffer. Como nunca retrocede salvo en un {@link #rollback()}, sirve
+     * para identificar la posicion absoluta del cursor de lectura dentro del flujo aunque el array se compacte o se agrande.
+     */
+    private long consumedBytes;
+
+    public PacketBuffer() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Crea un buffer con una capacidad inicial especifica, util para buffers que contienen un unico paquete pequeño.
+     *
+     * @param initialCapacity capacidad inicial en bytes
+     */
+    public PacketBuffer(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+        bufferCapacity = initialCapacity;
+    }
 
     /**
      * Copia los bytes del buffer de origen al buffer.
@@ -62,20 +107,51 @@ public class PacketBuffer {
      * @param srcBuffer buffer de origen desde el cual se copiaran los bytes
      */
     public void copy(PacketBuffer srcBuffer) {
-        // Si el buffer de origen esta vacio
-        if (srcBuffer.getLength() == 0) {
-            // "Elimina" todos los bytes del buffer ya que tambien debe quedar en 0 para poder recibir el siguiente paquete
-            remove(bufferLength);
-            return;
+        // Los bytes pendientes que se sobreescriben cuentan como consumidos
+        consumedBytes += getLength();
+        // Reinicia los cursores, ya que tambien debe quedar en 0 para poder recibir el siguiente paquete
+        readPosition = 0;
+        writePosition = 0;
+        markPosition = -1;
+        // Si el buffer de origen esta vacio no hay nada mas que copiar
+        if (srcBuffer.getLength() == 0) return;
+        // Copia directamente los bytes pendientes del buffer de origen sin pasar por un buffer local
+        ensureWritable(srcBuffer.getLength());
+        System.arraycopy(srcBuffer.buffer, srcBuffer.readPosition, buffer, 0, srcBuffer.getLength());
+        writePosition = srcBuffer.getLength();
+    }
+
+    /**
+     * Comienza una transaccion de lectura marcando la posicion actual del cursor de lectura.
+     * <p>
+     * Mientras la transaccion este en curso, los bytes leidos desde la marca no se descartan, por lo que {@link #rollback()}
+     * puede volver a ellos si el paquete resulta estar incompleto. Marcar de nuevo reemplaza la marca anterior.
+     */
+    public void mark() {
+        markPosition = readPosition;
+    }
+
+    /**
+     * Confirma la transaccion de lectura en curso, descartando definitivamente los bytes leidos desde la marca.
+     */
+    public void commit() {
+        markPosition = -1;
+        // Si ya no quedan bytes pendientes, reinicia los cursores para reutilizar todo el array
+        if (readPosition == writePosition) {
+            readPosition = 0;
+            writePosition = 0;
         }
-        // Crea un buffer local con la capacidad del buffer de origen
-        byte[] buffer = new byte[srcBuffer.getLength()];
-        // Lee los bytes del buffer de origen y los copia al buffer local
-        srcBuffer.peekBlock(buffer, srcBuffer.getLength());
-        // Reinicia la longitud del buffer
-        bufferLength = 0;
-        // Escribe los bytes del buffer local en el buffer
-        writeBlock(buffer);
+    }
+
+    /**
+     * Cancela la transaccion de lectura en curso, volviendo el cursor de lectura a la posicion marcada. Si no hay ninguna
+     * transaccion en curso, no hace nada.
+     */
+    public void rollback() {
+        if (markPosition < 0) return;
+        consumedBytes -= readPosition - markPosition;
+        readPosition = markPosition;
+        markPosition = -1;
     }
 
     /**
@@ -86,7 +162,8 @@ public class PacketBuffer {
      * @param value valor entero a escribir, que se convertira a un {@code byte}
      */
     public void writeByte(int value) {
-        write(new byte[]{(byte) value});
+        ensureWritable(Byte.BYTES);
+        buffer[writePosition++] = (byte) value;
     }
 
     /**
@@ -100,7 +177,9 @@ public class PacketBuffer {
      * @param value valor de tipo {@code short} a escribir en el buffer
      */
     public void writeInteger(short value) {
-        write(ByteBuffer.allocate(VB6_INTEGER_BYTES).order(ByteOrder.LITTLE_ENDIAN).putShort(value).array());
+        ensureWritable(VB6_INTEGER_BYTES);
+        SHORT_LE.set(buffer, writePosition, value);
+        writePosition += VB6_INTEGER_BYTES;
     }
 
     /**
@@ -114,7 +193,9 @@ public class PacketBuffer {
      * @param value valor de tipo {@code int} a escribir en el buffer
      */
     public void writeLong(int value) {
-        write(ByteBuffer.allocate(VB6_LONG_BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array());
+        ensureWritable(VB6_LONG_BYTES);
+        INT_LE.set(buffer, writePosition, value);
+        writePosition += VB6_LONG_BYTES;
     }
 
     /**
@@ -127,7 +208,9 @@ public class PacketBuffer {
      * @param value valor de tipo {@code float} a escribir en el buffer
      */
     public void writeFloat(float value) {
-        write(ByteBuffer.allocate(Float.BYTES).order(ByteOrder.LITTLE_ENDIAN).putFloat(value).array());
+        ensureWritable(Float.BYTES);
+        FLOAT_LE.set(buffer, writePosition, value);
+        writePosition += Float.BYTES;
     }
 
     /**
@@ -138,7 +221,9 @@ public class PacketBuffer {
      * @param value valor de tipo {@code double} a escribir en el buffer
      */
     public void writeDouble(double value) {
-        write(ByteBuffer.allocate(Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).putDouble(value).array());
+        ensureWritable(Double.BYTES);
+        DOUBLE_LE.set(buffer, writePosition, value);
+        writePosition += Double.BYTES;
     }
 
     /**
@@ -149,7 +234,7 @@ public class PacketBuffer {
      * @param value valor de tipo {@code boolean} a escribir en el buffer
      */
     public void writeBoolean(boolean value) {
-        write(new byte[]{(byte) (value ? 1 : 0)});
+        writeByte(value ? 1 : 0);
     }
 
     /**
@@ -163,19 +248,19 @@ public class PacketBuffer {
 
     /**
      * Escribe una cadena de texto en formato Cp1252 en el buffer.
+     * <p>
+     * Como en Cp1252 cada caracter ocupa exactamente 1 byte, la cadena se codifica directamente en el buffer con la tabla de
+     * {@link Cp1252}, sin resolver el charset ni crear un array intermedio.
      *
      * @param string cadena de texto que sera codificada en Cp1252 y escrita en el buffer
      */
     public void writeCp1252String(String string) {
-        byte[] stringBytes = string.getBytes(Charset.forName("Cp1252"));
-        byte[] buffer = new byte[STRING_LENGTH_BYTES + stringBytes.length];
-        /* Como se esta escribiendo una cadena codificada en Cp1252, entonces los caracteres ocupan solo 1 byte, por lo tanto es
-         * valido obtener la longitud de la cadena con string.length(), aunque por simplicidad se usa la variable ya creada
-         * stringBytes. */
-        ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).putShort((short) stringBytes.length); // Almacena la longitud como un short (2 bytes) en formato little-endian
-        // Copia los bytes de la cadena al buffer despues de la longitud
-        System.arraycopy(stringBytes, 0, buffer, STRING_LENGTH_BYTES, stringBytes.length);
-        write(buffer);
+        // Reserva lugar para el peor caso, ya que un par sustituto (2 chars) se codifica como un unico byte
+        ensureWritable(STRING_LENGTH_BYTES + string.length());
+        int bytes = Cp1252.encode(string, buffer, writePosition + STRING_LENGTH_BYTES);
+        // Almacena la longitud en bytes como un short (2 bytes) en formato little-endian
+        SHORT_LE.set(buffer, writePosition, (short) bytes);
+        writePosition += STRING_LENGTH_BYTES + bytes;
     }
 
     /**
@@ -195,13 +280,12 @@ public class PacketBuffer {
          * que solo devolveria la cantidad de caracteres sin considerar el espacio real que ocupan los caracteres especiales. Por
          * eso es necesario usar la longitud en bytes de la cadena, no en caracteres. */
         int bytes = stringBytes.length;
-        // Crea un buffer local con la capacidad para almacenar la longitud y los bytes de la cadena
-        byte[] buffer = new byte[STRING_LENGTH_BYTES + bytes];
-        // Agrega la longitud de la cadena en los primeros 2 bytes del buffer
-        ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).putShort((short) bytes);
-        // Agrega los bytes de la cadena a partir de la posicion 2 del buffer, es decir, despues de haber agregado los dos bytes que representan la longitud de la cadena
-        System.arraycopy(stringBytes, 0, buffer, STRING_LENGTH_BYTES, bytes);
-        write(buffer);
+        ensureWritable(STRING_LENGTH_BYTES + bytes);
+        // Agrega la longitud de la cadena en los primeros 2 bytes
+        SHORT_LE.set(buffer, writePosition, (short) bytes);
+        // Agrega los bytes de la cadena despues de haber agregado los dos bytes que representan la longitud de la cadena
+        System.arraycopy(stringBytes, 0, buffer, writePosition + STRING_LENGTH_BYTES, bytes);
+        writePosition += STRING_LENGTH_BYTES + bytes;
     }
 
     /**
@@ -216,6 +300,66 @@ public class PacketBuffer {
         write(buffer);
     }
 
+    /**
+     * Escribe los bytes restantes de un {@code ByteBuffer} (por ejemplo, un buffer directo leido desde un canal de red), dejando
+     * su posicion al final.
+     *
+     * @param src buffer de origen
+     */
+    public void writeBlock(ByteBuffer src) {
+        int bytesToWrite = src.remaining();
+        ensureWritable(bytesToWrite);
+        src.get(buffer, writePosition, bytesToWrite);
+        writePosition += bytesToWrite;
+    }
+
+    /**
+     * Lee en un {@code ByteBuffer} (por ejemplo, un buffer directo que se escribira en un canal de red) tantos bytes pendientes
+     * como entren en el espacio restante del buffer de destino.
+     *
+     * @param dest buffer de destino
+     * @return la cantidad de bytes leidos
+     */
+    public int readBytes(ByteBuffer dest) {
+        int bytesToRead = Math.min(getLength(), dest.remaining());
+        dest.put(buffer, readPosition, bytesToRead);
+        return remove(bytesToRead);
+    }
+
+    /**
+     * Mueve todos los bytes pendientes a otro buffer, sin pasar por un array intermedio.
+     *
+     * @param dest buffer de destino
+     */
+    public void transferTo(PacketBuffer dest) {
+        transferTo(dest, getLength());
+    }
+
+    /**
+     * Mueve una cantidad especifica de bytes pendientes a otro buffer, sin pasar por un array intermedio.
+     *
+     * @param dest  buffer de destino
+     * @param bytes cantidad de bytes a mover
+     * @throws NotEnoughBytesException si la cantidad de bytes a mover es mayor a la longitud del buffer
+     */
+    public void transferTo(PacketBuffer dest, int bytes) {
+        requireReadable(bytes);
+        dest.ensureWritable(bytes);
+        System.arraycopy(buffer, readPosition, dest.buffer, dest.writePosition, bytes);
+        dest.writePosition += bytes;
+        remove(bytes);
+    }
+
+    /**
+     * Descarta todos los bytes pendientes y cancela la transaccion en curso, dejando el buffer listo para una nueva conexion.
+     */
+    public void clear() {
+        consumedBytes += getLength();
+        readPosition = 0;
+        writePosition = 0;
+        markPosition = -1;
+    }
+
     /**
      * Lee una cantidad especifica de bytes.
      * <p>
@@ -226,7 +370,7 @@ public class PacketBuffer {
      * @return un arreglo de bytes que contiene los bytes leidos
      */
     public byte[] readBytes() {
-        byte[] buffer = new byte[bufferLength];
+        byte[] buffer = new byte[getLength()];
         // En Java, los arreglos son objetos que se pasan por referencia, por lo tanto se copia el contenido del buffer al buffer local
         int bytesRead = read(buffer);
         remove(bytesRead); // "Elimina" los bytes leidos del buffer una vez ya copiados al buffer local
@@ -244,12 +388,11 @@ public class PacketBuffer {
      * @return el byte leido como un entero sin signo
      */
     public int readByte() {
-        byte[] buffer = new byte[Byte.BYTES];
-        // Copia el byte leido al buffer local
-        int bytesRead = read(buffer);
+        requireReadable(Byte.BYTES);
+        int value = buffer[readPosition] & 0xFF;
         // "Elimina" el byte leido del buffer, avanzando efectivamente el puntero
-        remove(bytesRead);
-        return ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).get() & 0xFF;
+        remove(Byte.BYTES);
+        return value;
     }
 
     /**
@@ -262,10 +405,9 @@ public class PacketBuffer {
      * @return el valor de tipo int del buffer
      */
     public short readInteger() {
-        byte[] buffer = new byte[VB6_INTEGER_BYTES];
-        int bytesRead = read(buffer);
-        remove(bytesRead);
-        return ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).getShort();
+        short value = peekInteger();
+        remove(VB6_INTEGER_BYTES);
+        return value;
     }
 
     /**
@@ -278,10 +420,9 @@ public class PacketBuffer {
      * @return el valor de tipo long del buffer
      */
     public int readLong() {
-        byte[] buffer = new byte[VB6_LONG_BYTES];
-        int bytesRead = read(buffer);
-        remove(bytesRead);
-        return ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        int value = peekLong();
+        remove(VB6_LONG_BYTES);
+        return value;
     }
 
     /**
@@ -290,10 +431,9 @@ public class PacketBuffer {
      * @return el valor de tipo float del buffer
      */
     public float readFloat() {
-        byte[] buffer = new byte[Float.BYTES];
-        int bytesRead = read(buffer);
-        remove(bytesRead);
-        return ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).getFloat();
+        float value = peekFloat();
+        remove(Float.BYTES);
+        return value;
     }
 
     /**
@@ -302,19 +442,13 @@ public class PacketBuffer {
      * @return el valor de tipo boolean del buffer
      */
     public boolean readBoolean() {
-        byte[] buffer = new byte[Byte.BYTES];
-        int bytesRead = read(buffer);
-        remove(bytesRead);
-        return buffer[0] == 1;
+        return readByte() == 1;
     }
 
     public String readUnicodeStringFixed(int length) {
-        if (length <= 0) return "";
-        if (bufferLength >= length * 2) {
-            byte[] buf = new byte[length * 2];
-            remove(read(buf));
-            return new String(buf, StandardCharsets.UTF_16LE);
-        } else throw new RuntimeException("Not enough data");
+        String string = peekUnicodeStringFixed(length);
+        remove(length * 2);
+        return string;
     }
 
     /**
@@ -322,36 +456,39 @@ public class PacketBuffer {
      * <p>
      * El metodo primero interpreta los primeros 2 bytes en formato little-endian como un valor short, el cual determina la
      * longitud de la cadena a leer. Despues, lee la cantidad especificada de bytes y los decodifica como texto en formato
-     * Cp1252.
+     * Cp1252 con {@link Cp1252}.
+     * <p>
+     * Las cadenas cortas, como los nombres de los personajes o los tags de clan, pasan por la cache de {@link Cp1252#intern}, por
+     * lo que leer otra vez un nombre que ya se recibio devuelve la misma instancia sin crear una nueva.
      *
      * @return la cadena leida en formato Cp1252, si la longitud de la cadena es 0, se devuelve una cadena vacia
-     * @throws RuntimeException si no hay suficientes bytes en el buffer
+     * @throws NotEnoughBytesException si no hay suficientes bytes en el buffer
      */
     public String readCp1252String() {
         // Verifica si hay suficientes bytes para leer la longitud de la cadena
-        if (bufferLength <= 1) throw new RuntimeException("Not enough byte!");
+        if (getLength() <= 1) throw new NotEnoughBytesException("Not enough byte!");
         short stringLength = readStringLength();
         // Verifica si hay suficientes bytes para leer la cadena completa
-        if (bufferLength < stringLength) throw new RuntimeException("Not enough byte!");
+        if (getLength() < stringLength) throw new NotEnoughBytesException("Not enough byte!");
         // Si la longitud es cero, devuelve cadena vacia
         if (stringLength <= 0) return "";
-        return readString(stringLength, Charset.forName("Cp1252"));
+        String string = Cp1252.intern(buffer, readPosition, stringLength);
+        remove(stringLength);
+        return string;
     }
 
+    /**
+     * Lee una cadena UTF-16LE precedida por su longitud en caracteres, con el mismo formato de longitud que
+     * {@link #readCp1252String()}. Decodifica directamente desde el array, sin copiar los bytes a un array auxiliar.
+     *
+     * @return la cadena leida, o una cadena vacia si la longitud es 0
+     * @throws NotEnoughBytesException si no hay suficientes bytes en el buffer
+     */
     public String readUnicodeString() {
-        byte[] buffer = new byte[2];
-        int length;
-        if (bufferLength > 1) {
-            remove(read(buffer));
-            length = ByteBuffer.wrap(buffer).getShort();
-            if (bufferLength >= length * 2 + 2) {
-                remove(2);
-                byte[] buf2 = new byte[length * 2];
-                remove(read(buf2/*, length * 2*/));
-                return new String(buf2, StandardCharsets.UTF_16LE);
-            } else throw new RuntimeException("Not enough bytes!");
-        }
-        throw new RuntimeException("Not enough bytes!");
+        String string = peekUnicodeString();
+        // peekUnicodeString ya verifico que la longitud y la cadena esten completas
+        remove(STRING_LENGTH_BYTES + Math.max(0, peekInteger()) * 2);
+        return string;
     }
 
     public long readBlock(byte[] block, long dataLength) {
@@ -369,108 +506,117 @@ public class PacketBuffer {
      * @return el primer byte del buffer, interpretado como un valor sin signo (0-255)
      */
     public byte peekByte() {
-        byte[] buffer = new byte[Byte.BYTES];
-        read(buffer);
-        return buffer[0];
+        requireReadable(Byte.BYTES);
+        return buffer[readPosition];
     }
 
+    /**
+     * Examina un valor <b>Integer</b> de VB6 (2 bytes en formato little-endian) al inicio del buffer sin eliminarlo.
+     *
+     * @return el valor de tipo short al inicio del buffer
+     */
     public short peekInteger() {
-        byte[] buffer = new byte[VB6_INTEGER_BYTES];
-        read(buffer);
-        return ByteBuffer.wrap(buffer).getShort();
+        requireReadable(VB6_INTEGER_BYTES);
+        return (short) SHORT_LE.get(buffer, readPosition);
     }
 
+    /**
+     * Examina un byte sin signo ubicado a una distancia especifica del cursor de lectura, sin eliminarlo.
+     * <p>
+     * Permite inspeccionar el interior de un paquete (por ejemplo, para calcular su longitud) antes de que su handler lo lea.
+     *
+     * @param offset distancia en bytes desde el cursor de lectura
+     * @return el byte en esa posicion, interpretado como un valor sin signo (0-255)
+     */
+    public int peekByteAt(int offset) {
+        requireReadable(offset + Byte.BYTES);
+        return buffer[readPosition + offset] & 0xFF;
+    }
+
+    /**
+     * Examina un valor <b>Integer</b> de VB6 ubicado a una distancia especifica del cursor de lectura, sin eliminarlo.
+     *
+     * @param offset distancia en bytes desde el cursor de lectura
+     * @return el valor de tipo short en esa posicion
+     */
+    public short peekIntegerAt(int offset) {
+        requireReadable(offset + VB6_INTEGER_BYTES);
+        return (short) SHORT_LE.get(buffer, readPosition + offset);
+    }
+
+    /**
+     * Examina un valor <b>Long</b> de VB6 (4 bytes en formato little-endian) al inicio del buffer sin eliminarlo.
+     *
+     * @return el valor de tipo int al inicio del buffer
+     */
     public int peekLong() {
-        byte[] buffer = new byte[VB6_LONG_BYTES];
-        read(buffer);
-        return ByteBuffer.wrap(buffer).getInt();
+        requireReadable(VB6_LONG_BYTES);
+        return (int) INT_LE.get(buffer, readPosition);
     }
 
     public float peekFloat() {
-        byte[] buffer = new byte[Float.BYTES];
-        read(buffer);
-        return ByteBuffer.wrap(buffer).getFloat();
+        requireReadable(Float.BYTES);
+        return (float) FLOAT_LE.get(buffer, readPosition);
     }
 
     public double peekDouble() {
-        byte[] buffer = new byte[Double.BYTES];
-        read(buffer);
-        return ByteBuffer.wrap(buffer).getDouble();
+        requireReadable(Double.BYTES);
+        return (double) DOUBLE_LE.get(buffer, readPosition);
     }
 
     public boolean peekBoolean() {
-        byte[] buffer = new byte[Byte.BYTES];
-        read(buffer);
-        return buffer[0] == 1;
+        return peekByte() == 1;
     }
 
     public String peekASCIIStringFixed(int length) {
         if (length <= 0) return "";
-        if (bufferLength >= length) {
-            byte[] buf = new byte[length];
-            read(buf);
-            return new String(buf, StandardCharsets.UTF_8);
-        } else throw new RuntimeException("Not enough bytes!");
+        requireReadable(length);
+        return new String(buffer, readPosition, length, StandardCharsets.UTF_8);
     }
 
     public String peekUnicodeStringFixed(int length) {
         if (length <= 0) return "";
-        if (bufferLength >= length * 2) {
-            byte[] buf = new byte[length * 2];
-            read(buf);
-            return new String(buf, StandardCharsets.UTF_16LE);
-        } else throw new RuntimeException("Not enough bytes!");
+        requireReadable(length * 2);
+        return new String(buffer, readPosition, length * 2, StandardCharsets.UTF_16LE);
     }
 
+    /**
+     * Examina una cadena UTF-8 precedida por su longitud en bytes, sin eliminarla. La longitud se lee en little-endian con
+     * {@link #peekInteger()}, igual que en el resto de las cadenas del protocolo, y el texto se decodifica directamente desde el
+     * array.
+     *
+     * @return la cadena, o una cadena vacia si la longitud es 0
+     * @throws NotEnoughBytesException si no hay suficientes bytes en el buffer
+     */
     public String peekASCIIString() {
-        byte[] buf = new byte[2];
-        int length;
-
-        if (bufferLength > 1) {
-            read(buf);
-            length = ByteBuffer.wrap(buf).getShort();
-
-            if (bufferLength >= length + 2) {
-                byte[] buf2 = new byte[length + 2];
-                read(buf2);
-
-                if (length > 0) {
-                    byte[] buf3 = new byte[length];
-                    System.arraycopy(buf2, 2, buf3, 0, length);
-                    return new String(buf3, StandardCharsets.UTF_8);
-                }
-            } else {
-                throw new RuntimeException("Not enough bytes!");
-            }
-        }
-
-        throw new RuntimeException("Not enough bytes!");
+        int length = peekInteger();
+        requireReadable(STRING_LENGTH_BYTES + Math.max(0, length));
+        if (length <= 0) return "";
+        return new String(buffer, readPosition + STRING_LENGTH_BYTES, length, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Examina una cadena UTF-16LE precedida por su longitud en caracteres, sin eliminarla. Igual que
+     * {@link #peekASCIIString()}, no usa arrays auxiliares.
+     *
+     * @return la cadena, o una cadena vacia si la longitud es 0
+     * @throws NotEnoughBytesException si no hay suficientes bytes en el buffer
+     */
     public String peekUnicodeString() {
-        byte[] buf = new byte[2];
-        int length;
-
-        if (bufferLength > 1) {
-            read(buf);
-            length = ByteBuffer.wrap(buf).getShort();
-
-            if (bufferLength >= length * 2 + 2) {
-                byte[] buf2 = new byte[length * 2 + 2];
-                read(buf2);
-                byte[] buf3 = new byte[length * 2];
-                System.arraycopy(buf2, 2, buf3, 0, length * 2);
-                return new String(buf3, StandardCharsets.UTF_16LE);
-            } else {
-                throw new RuntimeException("Not enough bytes!");
-            }
-        }
-
-        throw new RuntimeException("Not enough bytes!");
+        int length = peekInteger();
+        requireReadable(STRING_LENGTH_BYTES + Math.max(0, length) * 2);
+        if (length <= 0) return "";
+        return new String(buffer, readPosition + STRING_LENGTH_BYTES, length * 2, StandardCharsets.UTF_16LE);
     }
 
+    /**
+     * Devuelve la cantidad de bytes pendientes por leer, es decir, los bytes que hay entre el cursor de lectura y el de
+     * escritura.
+     *
+     * @return la cantidad de bytes pendientes por leer
+     */
     public int getLength() {
-        return bufferLength;
+        return writePosition - readPosition;
     }
 
     public int getCapacity() {
@@ -482,40 +628,87 @@ public class PacketBuffer {
         bufferCapacity = value;
 
         // All extra data is lost
-        if (bufferLength > value) bufferLength = value;
+        int retainedPosition = getRetainedPosition();
+        int length = Math.min(writePosition - retainedPosition, value);
 
-        // Resize the queue
+        // Resize the queue, moving the retained bytes to the start
         byte[] newData = new byte[bufferCapacity];
-        System.arraycopy(buffer, 0, newData, 0, bufferLength);
+        System.arraycopy(buffer, retainedPosition, newData, 0, length);
         buffer = newData;
+        readPosition = Math.min(readPosition - retainedPosition, length);
+        if (markPosition >= 0) markPosition = 0;
+        writePosition = length;
     }
 
     /**
+     * Devuelve la cantidad total de bytes consumidos del buffer desde su creacion.
      * <p>
-     * Revisa la cantidad de bytes que tiene que leer de un paquete en caso de que no coincida la cantidad se presentara un
-     * error.
+     * A diferencia del cursor de lectura, este valor no cambia cuando el array se compacta o se agranda, por lo que identifica
+     * de forma univoca el comienzo del paquete pendiente dentro del flujo de bytes.
+     *
+     * @return la cantidad total de bytes consumidos
      */
-    public boolean checkBytes(int bytes) {
-        if (bufferLength < bytes) {
-            disconnect();
-            return true;
-        }
-        return false;
+    public long getConsumedBytes() {
+        return consumedBytes;
+    }
+
+    /**
+     * Descarta una cantidad especifica de bytes sin leerlos.
+     *
+     * @param bytes cantidad de bytes a descartar
+     * @throws NotEnoughBytesException si la cantidad de bytes a descartar es mayor a la longitud del buffer
+     */
+    public void skip(int bytes) {
+        requireReadable(bytes);
+        remove(bytes);
     }
 
     /**
      * Escribe una cantidad especifica de bytes desde el buffer de origen al buffer.
      *
      * @param srcBuffer buffer de origen que contiene los bytes a escribir en el buffer
-     * @throws RuntimeException si no hay suficiente espacio disponible en el buffer
      */
     private void write(byte[] srcBuffer) {
         int bytesToWrite = srcBuffer.length;
-        int availableSpace = bufferCapacity - bufferLength;
-        if (availableSpace < bytesToWrite) throw new RuntimeException("Not enough space in the buffer!");
-        // Lee los bytes del buffer de origen y los copia al buffer
-        System.arraycopy(srcBuffer, 0, buffer, bufferLength, bytesToWrite); // Los bytes del buffer local creado en copyByffer() se copian al buffer!
-        bufferLength += bytesToWrite;
+        ensureWritable(bytesToWrite);
+        // Lee los bytes del buffer de origen y los copia al buffer a partir del cursor de escritura
+        System.arraycopy(srcBuffer, 0, buffer, writePosition, bytesToWrite);
+        writePosition += bytesToWrite;
+    }
+
+    /**
+     * Garantiza que haya espacio para escribir la cantidad de bytes especificada a partir del cursor de escritura.
+     * <p>
+     * Primero intenta recuperar el espacio ocupado por los bytes ya leidos compactando el buffer. Solo si los bytes pendientes
+     * mas los nuevos superan la capacidad, el array se agranda multiplicando su capacidad por {@link #GROWTH_FACTOR}. Como la
+     * compactacion solo ocurre cuando una escritura no entra al final del array, su costo se amortiza entre todas las lecturas
+     * realizadas desde la compactacion anterior.
+     *
+     * @param bytesToWrite cantidad de bytes que se van a escribir
+     */
+    private void ensureWritable(int bytesToWrite) {
+        if (bufferCapacity - writePosition >= bytesToWrite) return;
+        // Los bytes leidos dentro de una transaccion en curso todavia pueden necesitarse, por lo que cuentan como pendientes
+        int pendingBytes = writePosition - getRetainedPosition();
+        int requiredCapacity = pendingBytes + bytesToWrite;
+        if (requiredCapacity <= bufferCapacity) reorganizeBuffer();
+        else {
+            int newCapacity = bufferCapacity;
+            while (newCapacity < requiredCapacity)
+                newCapacity *= GROWTH_FACTOR;
+            setCapacity(newCapacity);
+        }
+    }
+
+    /**
+     * Verifica que haya la cantidad de bytes especificada pendientes por leer.
+     *
+     * @param bytesToRead cantidad de bytes que se van a leer
+     * @throws NotEnoughBytesException si la cantidad de bytes a leer es mayor a la longitud del buffer
+     */
+    private void requireReadable(int bytesToRead) {
+        if (bytesToRead > getLength())
+            throw new NotEnoughBytesException("Not enough bytes available. Requested: " + bytesToRead + ", Available: " + getLength());
     }
 
     /**
@@ -523,49 +716,66 @@ public class PacketBuffer {
      *
      * @param destBuffer buffer de destino en el que se copiaran los bytes leidos desde el buffer
      * @return la cantidad de bytes leidos
-     * @throws IllegalArgumentException si la cantidad de bytes a leer es mayor a la longitud del buffer
+     * @throws NotEnoughBytesException si la cantidad de bytes a leer es mayor a la longitud del buffer
      */
     private int read(byte[] destBuffer) {
         int bytesToRead = destBuffer.length;
-        if (bytesToRead > bufferLength)
-            throw new IllegalArgumentException("Not enough bytes available. Requested: " + bytesToRead + ", Available: " + bufferLength);
-        // Lee los bytes del buffer y los copia al buffer de destino para su procesamiento antes de ser "eliminados"
-        System.arraycopy(buffer, 0, destBuffer, 0, bytesToRead);
+        requireReadable(bytesToRead);
+        // Lee los bytes desde el cursor de lectura y los copia al buffer de destino para su procesamiento antes de ser "eliminados"
+        System.arraycopy(buffer, readPosition, destBuffer, 0, bytesToRead);
         return bytesToRead;
     }
 
     /**
-     * "Elimina" una cantidad especificada de bytes del buffer y reorganiza los bytes restantes.
+     * "Elimina" una cantidad especificada de bytes del buffer avanzando el cursor de lectura.
+     * <p>
+     * Los bytes no se mueven: simplemente quedan detras del cursor de lectura hasta que una escritura necesite el espacio. Si se
+     * consumieron todos los bytes pendientes, ambos cursores vuelven al inicio del array sin costo alguno.
      *
      * @param bytesToRemove cantidad de bytes a eliminar
      * @return la cantidad de bytes eliminados
      */
     private int remove(int bytesToRemove) {
         // Limita la cantidad de bytes a eliminar a la longitud del buffer
-        int bytesRemoved = Math.min(bytesToRemove, bufferLength);
-        // Si la cantidad de bytes a eliminar es menor a la longitud del buffer
-        if (bytesRemoved < bufferLength) reorganizeBuffer(bytesRemoved);
-        // Actualiza la longitud del buffer
-        bufferLength -= bytesRemoved;
+        int bytesRemoved = Math.min(bytesToRemove, getLength());
+        readPosition += bytesRemoved;
+        consumedBytes += bytesRemoved;
+        // Si ya no quedan bytes pendientes ni hay una transaccion en curso, reinicia los cursores para reutilizar todo el array
+        if (readPosition == writePosition && markPosition < 0) {
+            readPosition = 0;
+            writePosition = 0;
+        }
         return bytesRemoved;
     }
 
     /**
-     * Mueve los bytes restantes al inicio del buffer.
+     * Mueve los bytes pendientes al inicio del buffer.
      * <p>
      * En lugar de una eliminacion fisica (que seria imposible en un array de Java), lo que ocurre es una reorganizacion donde los
-     * bytes que deben permanecer en el buffer sobreescriben aquellos que deben ser "eliminados".
+     * bytes que deben permanecer en el buffer sobreescriben aquellos que ya fueron leidos.
      * <p>
-     * Esta implementacion es eficiente porque evita crear nuevos arrays cada vez que se eliminan bytes del buffer, aprovechando
-     * el espacio existente.
-     *
-     * @param startPosition posicion desde donde se empieza a mover los bytes
+     * Esta implementacion es eficiente porque evita crear nuevos arrays, aprovechando el espacio existente, y porque solo se
+     * invoca desde {@link #ensureWritable(int)} cuando realmente hace falta el espacio, no despues de cada lectura.
      */
-    private void reorganizeBuffer(int startPosition) {
+    private void reorganizeBuffer() {
+        int retainedPosition = getRetainedPosition();
         // Calcula la cantidad de bytes restantes
-        int remainingBytes = bufferLength - startPosition;
-        // Sobreescribe los bytes "eliminados" por los bytes restantes
-        System.arraycopy(buffer, startPosition, buffer, 0, remainingBytes);
+        int remainingBytes = writePosition - retainedPosition;
+        // Sobreescribe los bytes ya leidos por los bytes restantes
+        System.arraycopy(buffer, retainedPosition, buffer, 0, remainingBytes);
+        readPosition -= retainedPosition;
+        if (markPosition >= 0) markPosition = 0;
+        writePosition = remainingBytes;
+    }
+
+    /**
+     * Devuelve la posicion a partir de la cual los bytes deben conservarse: la marca de la transaccion en curso si existe, o el
+     * cursor de lectura en caso contrario.
+     *
+     * @return la posicion del primer byte que no puede descartarse
+     */
+    private int getRetainedPosition() {
+        return markPosition >= 0 ? markPosition : readPosition;
     }
 
     /**
@@ -577,41 +787,10 @@ public class PacketBuffer {
      * @return La longitud de la cadena representada como un valor de tipo short
      */
     private short readStringLength() {
-        byte[] buffer = new byte[STRING_LENGTH_BYTES];
-        read(buffer);
-        short length = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).getShort();
+        short length = peekInteger();
         // Elimina los bytes de la longitud de la cadena que ya fueron leidos
         remove(STRING_LENGTH_BYTES);
         return length;
     }
 
-    /**
-     * Lee una cadena de texto desde el buffer utilizando la longitud especificada y el conjunto de caracteres proporcionado.
-     *
-     * @param stringLength longitud de la cadena en bytes
-     * @param charset      charset utilizado para decodificar los bytes
-     * @return la cadena decodificada
-     */
-    private String readString(short stringLength, Charset charset) {
-        byte[] bytes = new byte[stringLength];
-        read(bytes);
-        remove(stringLength);
-        return new String(bytes, charset);
-    }
-
-    private void peekBlock(byte[] block, int dataLength) {
-        if (dataLength > 0) read(block);
-    }
-
-    private void disconnect() {
-        String msgErr = "Not enough bytes to read from the packet " + PacketReceiver.serverPacket;
-        ImGUISystem.INSTANCE.show(new FMessage(msgErr));
-        System.out.println(msgErr);
-        SocketConnection.INSTANCE.disconnect();
-        // Resetea el buffer para que termine la recursividad de lectura de paquetes
-        buffer = new byte[DEFAULT_BUFFER_SIZE];
-        bufferCapacity = DEFAULT_BUFFER_SIZE;
-        bufferLength = 0;
-    }
-
-}
\ No newline at end of file
+}
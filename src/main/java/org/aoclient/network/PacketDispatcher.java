@@ -0,0 +1,211 @@
+package org.aoclient.network;
+
+import org.aoclient.network.protocol.PacketReceiver;
+import org.aoclient.network.protocol.ServerPacket;
+
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+
+import static org.aoclient.engine.utils.GameData.options;
+import static org.aoclient.network.protocol.Protocol.handleIncomingEvent;
+import static org.aoclient.network.protocol.Protocol.handleIncomingPacket;
+import static org.aoclient.network.protocol.ServerPacket.*;
+
+/**
+ * Aplica en el hilo de renderizado los paquetes que el hilo de red dejo en la cola, dentro de un presupuesto de tiempo por frame.
+ * <p>
+ * En cada frame se aplican paquetes hasta agotar {@code PacketTimeBudget} milisegundos (y como maximo
+ * {@link PacketReceiver#MAX_PACKETS_PER_CALL}); el resto queda en la cola para el siguiente frame. Siempre se aplica al menos un
+ * paquete, para que un paquete mas caro que el presupuesto no trabe la cola. Asi una rafaga, por ejemplo un {@code CHANGE_MAP}
+ * seguido de todos los personajes y objetos del area, se reparte en varios frames en lugar de producir un tiron.
+ * <p>
+ * Los paquetes se priorizan en dos niveles. Los paquetes normales (posicion, movimientos, vida, inventario, etc.) se aplican en el
+ * orden en que llegaron, porque dependen unos de otros. Los paquetes masivos de la interfaz ({@link #BULK}: listas de clanes,
+ * mensajes del foro, listas de criaturas, etc.) no dependen del resto, por lo que se apartan a una cola propia y solo se aplican
+ * con el presupuesto que sobra tras vaciar la cola principal, manteniendo el orden entre ellos. Para que nunca queden postergados
+ * indefinidamente, se aplica al menos uno por frame.
+ * <p>
+ * Los paquetes frecuentes llegan ya decodificados por el hilo de red en el evento tipado del slot ({@link InboundFrame#event}),
+ * por lo que aplicarlos se reduce a ejecutar su handler con los campos ya leidos.
+ * <p>
+ * Solo la usa el hilo de renderizado.
+ */
+
+class PacketDispatcher {
+
+    /** Paquetes masivos de la interfaz que pueden esperar a que se apliquen los normales. */
+    static final EnumSet<ServerPacket> BULK = EnumSet.of(GUILD_LIST, GUILD_NEWS, GUILD_DETAILS, GUILD_LEADER_INFO,
+            GUILD_MEMBER_INFO, ALIANCE_PROPOSALS_LIST, PEACE_PROPOSALS_LIST, OFFER_DETAILS, CHARACTER_INFO, ADD_FORUM_MSG,
+            SHOW_FORUM_FORM, TRAINER_CREATURE_LIST, SPAWN_LIST, USER_NAME_LIST, SHOW_SOS_FORM, SHOW_MOTD_EDITION_FORM,
+            BLACKSMITH_WEAPONS, BLACKSMITH_ARMORS, CARPENTER_OBJECTS, SHOW_BLACKSMITH_FORM, SHOW_CARPENTER_FORM);
+    /** Peso de cada nueva muestra en los promedios moviles. */
+    private static final double SMOOTHING = 0.05;
+
+    private final SpscRing<InboundFrame> queue;
+    private final InboundShedder shedder;
+    private final boolean[] bulk = new boolean[256];
+    /** Paquetes masivos apartados, en orden de llegada. */
+    private final ArrayDeque<InboundFrame> deferred = new ArrayDeque<>();
+    /** Slots libres para apartar paquetes masivos sin asignar memoria. */
+    private final ArrayDeque<InboundFrame> deferredPool = new ArrayDeque<>();
+
+    /** Momento en que el hilo de red recibio el paquete que se esta aplicando. */
+    private long currentPacketReceivedNanos;
+    /** Promedio movil de la demora en la cola de los paquetes aplicados, en nanosegundos. */
+    private volatile double averageQueueDelayNanos;
+    /** Mayor demora en la cola de un paquete aplicado desde la conexion, en nanosegundos. */
+    private volatile long maxQueueDelayNanos;
+    /** Tiempo que llevo aplicar los paquetes en el ultimo frame, en nanosegundos. */
+    private volatile long lastDispatchNanos;
+    /** Promedio movil del tiempo que lleva aplicar los paquetes de un frame, en nanosegundos. */
+    private volatile double averageDispatchNanos;
+    /** Mayor tiempo que llevo aplicar los paquetes de un frame desde la conexion, en nanosegundos. */
+    private volatile long maxDispatchNanos;
+    /** Cantidad de frames en los que se agoto el presupuesto con paquetes pendientes. */
+    private volatile long overBudgetFrames;
+    /** Cantidad de paquetes aplicados. */
+    private volatile long appliedPackets;
+
+    PacketDispatcher(SpscRing<InboundFrame> queue, InboundShedder shedder) {
+        this.queue = queue;
+        this.shedder = shedder;
+        for (ServerPacket packet : BULK)
+            bulk[packet.getId()] = true;
+    }
+
+    /**
+     * Aplica los paquetes pendientes hasta agotar el presupuesto de tiempo del frame.
+     */
+    void dispatch() {
+        long start = System.nanoTime();
+        long deadline = start + options.getPacketTimeBudget() * 1_000_000L;
+        int applied = 0;
+
+        InboundFrame frame;
+        while (applied < PacketReceiver.MAX_PACKETS_PER_CALL && (frame = queue.peek()) != null) {
+            if (applied > 0 && System.nanoTime() - deadline >= 0) break;
+            recordQueueDelay(System.nanoTime() - frame.receivedNanos);
+            try {
+                if (bulk[frame.packet.getId()]) defer(frame);
+                else {
+                    // Con la cola casi llena, un movimiento que ya fue reemplazado por otro del mismo personaje no se aplica
+                    if (!shedder.isSuperseded(frame, queue.size())) apply(frame);
+                    applied++;
+                }
+            } finally {
+                // Devuelve el slot aunque el handler falle, para no volver a aplicar el mismo paquete
+                queue.release();
+            }
+        }
+
+        // Los paquetes masivos usan el presupuesto que sobra, y al menos uno por frame
+        boolean first = true;
+        while (!deferred.isEmpty() && (first || System.nanoTime() - deadline < 0)) {
+            frame = deferred.poll();
+            try {
+                apply(frame);
+            } finally {
+                deferredPool.push(frame);
+            }
+            first = false;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastDispatchNanos = elapsed;
+        averageDispatchNanos += (elapsed - averageDispatchNanos) * SMOOTHING;
+        if (elapsed > maxDispatchNanos) maxDispatchNanos = elapsed;
+        if (queue.peek() != null || !deferred.isEmpty()) overBudgetFrames++;
+    }
+
+    /**
+     * Indica si quedan paquetes por aplicar, en la cola o apartados.
+     *
+     * @return true si hay paquetes pendientes
+     */
+    boolean hasPending() {
+        return queue.peek() != null || !deferred.isEmpty();
+    }
+
+    /**
+     * Descarta todos los paquetes pendientes y reinicia las metricas, al iniciar una nueva conexion.
+     */
+    void clear() {
+        while (queue.peek() != null)
+            queue.release();
+        while (!deferred.isEmpty())
+            deferredPool.push(deferred.poll());
+        averageQueueDelayNanos = 0;
+        maxQueueDelayNanos = 0;
+        lastDispatchNanos = 0;
+        averageDispatchNanos = 0;
+        maxDispatchNanos = 0;
+        overBudgetFrames = 0;
+        appliedPackets = 0;
+    }
+
+    long getCurrentPacketReceivedNanos() {
+        return currentPacketReceivedNanos;
+    }
+
+    double getAverageQueueDelayNanos() {
+        return averageQueueDelayNanos;
+    }
+
+    long getMaxQueueDelayNanos() {
+        return maxQueueDelayNanos;
+    }
+
+    long getLastDispatchNanos() {
+        return lastDispatchNanos;
+    }
+
+    double getAverageDispatchNanos() {
+        return averageDispatchNanos;
+    }
+
+    long getMaxDispatchNanos() {
+        return maxDispatchNanos;
+    }
+
+    long getOverBudgetFrames() {
+        return overBudgetFrames;
+    }
+
+    long getAppliedPackets() {
+        return appliedPackets;
+    }
+
+    int getDeferredPackets() {
+        return deferred.size();
+    }
+
+    private void apply(InboundFrame frame) {
+        currentPacketReceivedNanos = frame.receivedNanos;
+        // Los paquetes que el hilo de red ya decodifico se aplican desde su evento, sin volver a leer bytes
+        if (frame.event != null) handleIncomingEvent(frame.event);
+        else handleIncomingPacket(frame.packet, frame.buffer, frame.length);
+        appliedPackets++;
+    }
+
+    /**
+     * Copia un paquete masivo a un slot propio, ya que el slot de la cola se devuelve al hilo de red. Los paquetes masivos no
+     * tienen decoder, por lo que siempre viajan como bytes.
+     */
+    private void defer(InboundFrame frame) {
+        InboundFrame copy = deferredPool.isEmpty() ? new InboundFrame() : deferredPool.pop();
+        copy.buffer.clear();
+        copy.event = null;
+        frame.buffer.transferTo(copy.buffer, frame.length);
+        copy.packet = frame.packet;
+        copy.length = frame.length;
+        copy.receivedNanos = frame.receivedNanos;
+        copy.sequence = frame.sequence;
+        deferred.add(copy);
+    }
+
+    private void recordQueueDelay(long delayNanos) {
+        averageQueueDelayNanos += (delayNanos - averageQueueDelayNanos) * SMOOTHING;
+        if (delayNanos > maxQueueDelayNanos) maxQueueDelayNanos = delayNanos;
+    }
+
+}
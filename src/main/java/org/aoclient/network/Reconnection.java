@@ -0,0 +1,196 @@
+package org.aoclient.network;
+
+import org.aoclient.engine.game.Console;
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.gui.ImGUISystem;
+import org.aoclient.engine.gui.forms.FMessage;
+import org.aoclient.engine.renderer.RGBColor;
+import org.tinylog.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.aoclient.engine.utils.GameData.options;
+import static org.aoclient.network.protocol.Protocol.writeLoginExistingChar;
+
+/**
+ * Reconexion automatica tras una perdida inesperada de la conexion durante la partida.
+ * <p>
+ * Cuando el hilo de red pierde la conexion con el usuario logeado, en lugar de resetear el juego y volver al menu principal,
+ * {@link SocketConnection} le pasa el control a esta maquina de estados. Mientras reintenta, el usuario sigue figurando como
+ * conectado, por lo que la {@code GameScene}, el mapa cargado, las texturas y la interfaz siguen abiertos. Cada intento se conecta
+ * de nuevo y reenvia {@code LOGIN_EXISTING_CHAR} con las credenciales guardadas; al llegar {@code LOGGED} la partida continua.
+ * <p>
+ * Entre intentos se espera un tiempo que se duplica en cada fallo (backoff exponencial, con una variacion aleatoria para que
+ * muchos clientes cortados a la vez no reintenten sincronizados), hasta {@code ReconnectAttempts} intentos. Si se agotan, o si el
+ * servidor rechaza el login (con {@code ERROR_MSG}, que llama a {@link SocketConnection#disconnect()}), se vuelve al menu como
+ * antes.
+ * <p>
+ * Solo la usa el hilo de renderizado.
+ */
+
+public enum Reconnection {
+
+    INSTANCE;
+
+    /** Espera antes del primer intento, en milisegundos. */
+    private static final long BASE_DELAY_MILLIS = 500;
+    /** Espera maxima entre intentos, en milisegundos. */
+    private static final long MAX_DELAY_MILLIS = 15_000;
+    /** Variacion aleatoria de cada espera, como fraccion de la espera. */
+    private static final double DELAY_JITTER = 0.2;
+
+    private enum Phase {
+        /** No hay reconexion en curso. */
+        IDLE,
+        /** Esperando para el proximo intento. */
+        WAITING,
+        /** Conectandose al servidor. */
+        CONNECTING,
+        /** Conectado, esperando la respuesta al login. */
+        LOGGING_IN
+    }
+
+    private Phase phase = Phase.IDLE;
+    /** Numero del intento actual, empezando en 1. */
+    private int attempt;
+    /** Momento del proximo intento, segun {@link System#nanoTime()}. */
+    private long nextAttemptNanos;
+    private String userName;
+    private String password;
+
+    /**
+     * Guarda las credenciales con las que se logeo el usuario, para reenviarlas al reconectar.
+     *
+     * @param userName nombre del personaje
+     * @param password contraseña
+     */
+    public void setCredentials(String userName, String password) {
+        this.userName = userName;
+        this.password = password;
+    }
+
+    /**
+     * Inicia la reconexion tras perder la conexion, o programa el siguiente intento si la conexion se perdio durante una
+     * reconexion.
+     *
+     * @return false si no corresponde reconectar (el usuario no estaba logeado, no hay credenciales o esta desactivado), en cuyo
+     * caso la conexion debe cerrarse como siempre
+     */
+    boolean begin() {
+        if (phase == Phase.WAITING) return true;
+        if (phase == Phase.IDLE) {
+            if (!Session.CLIENT.getUser().isUserConected() || userName == null || options.getReconnectAttempts() <= 0)
+                return false;
+            attempt = 0;
+            Logger.warn("Connection lost, trying to reconnect");
+            Console.INSTANCE.addMsgToConsole("Se perdio la conexion con el servidor. Reconectando...", false, true,
+                    new RGBColor(1f, 0f, 0f));
+        }
+        scheduleNextAttempt();
+        return true;
+    }
+
+    /**
+     * Avanza la maquina de estados. Se llama en cada frame desde {@link SocketConnection#read()}.
+     */
+    void update() {
+        switch (phase) {
+            case WAITING -> {
+                if (System.nanoTime() - nextAttemptNanos < 0) return;
+                phase = Phase.CONNECTING;
+                Logger.info("Reconnect attempt {} of {}", attempt, options.getReconnectAttempts());
+                String name = userName, pass = password;
+                SocketConnection.INSTANCE.connect(() -> {
+                    if (phase != Phase.CONNECTING) return; // La conexion se perdio antes de llegar a usarla
+                    writeLoginExistingChar(Session.CLIENT, name, pass);
+                    phase = Phase.LOGGING_IN;
+                });
+            }
+            // La conexion no se pudo establecer
+            case CONNECTING -> {
+                if (SocketConnection.INSTANCE.getState() == ConnectionState.DISCONNECTED) scheduleNextAttempt();
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Termina la reconexion con exito. Lo llama el handler de {@code LOGGED}.
+     */
+    public void onLogged() {
+        if (phase == Phase.IDLE) return;
+        Logger.info("Reconnected after {} attempt(s)", attempt);
+        Console.INSTANCE.addMsgToConsole("Reconectado.", false, true, new RGBColor(0f, 1f, 0f));
+        phase = Phase.IDLE;
+        attempt = 0;
+    }
+
+    /**
+     * Abandona la reconexion en curso sin modificar el estado del juego.
+     */
+    void cancel() {
+        phase = Phase.IDLE;
+        attempt = 0;
+    }
+
+    /**
+     * Indica si hay una reconexion en curso.
+     *
+     * @return true si se esta reconectando
+     */
+    public boolean isActive() {
+        return phase != Phase.IDLE;
+    }
+
+    /**
+     * Indica si se esta volviendo a entrar a la partida, es decir, si el servidor esta respondiendo al login de una reconexion.
+     *
+     * @return true si se espera la respuesta al login de una reconexion
+     */
+    public boolean isReentering() {
+        return phase == Phase.LOGGING_IN;
+    }
+
+    /**
+     * Devuelve un texto con el estado de la reconexion para mostrar en la interfaz.
+     *
+     * @return el estado de la reconexion
+     */
+    public String getStatusText() {
+        return switch (phase) {
+            case WAITING -> {
+                long seconds = Math.max(0, (nextAttemptNanos - System.nanoTime() + 999_999_999) / 1_000_000_000);
+                yield "Conexion perdida. Reintentando en " + seconds + " s (intento " + attempt + " de "
+                        + options.getReconnectAttempts() + ")";
+            }
+            case CONNECTING -> "Reconectando (intento " + attempt + " de " + options.getReconnectAttempts() + ")...";
+            case LOGGING_IN -> "Volviendo a entrar al juego...";
+            case IDLE -> "";
+        };
+    }
+
+    /**
+     * Programa el siguiente intento, o abandona y vuelve al menu si ya no quedan intentos.
+     */
+    private void scheduleNextAttempt() {
+        if (attempt >= options.getReconnectAttempts()) {
+            giveUp();
+            return;
+        }
+        attempt++;
+        long delay = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << Math.min(attempt - 1, 20));
+        delay += (long) (delay * DELAY_JITTER * ThreadLocalRandom.current().nextDouble(-1, 1));
+        nextAttemptNanos = System.nanoTime() + delay * 1_000_000;
+        phase = Phase.WAITING;
+    }
+
+    private void giveUp() {
+        Logger.warn("Could not reconnect after {} attempt(s)", attempt);
+        phase = Phase.IDLE;
+        attempt = 0;
+        Session.CLIENT.getUser().resetGameState();
+        ImGUISystem.INSTANCE.show(new FMessage("No se pudo reconectar con el servidor."));
+    }
+
+}
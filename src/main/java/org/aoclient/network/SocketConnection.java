@@ -1,197 +1,819 @@
 package org.aoclient.network;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.forms.FMessage;
+import org.aoclient.network.protocol.PacketFramer;
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder;
+import org.tinylog.Logger;
 
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
-import java.net.Socket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.aoclient.engine.utils.GameData.options;
 import static org.aoclient.network.protocol.Protocol.*;
 
 /**
  * <p>
- * Gestiona la conexion cliente-servidor a traves de sockets TCP. Ofrece metodos para conectar y desconectar a un servidor, y
- * metodos para enviar y recibir bytes dentro de un buffer por medio de los flujos de entrada y salida del socket.
+ * Gestiona la conexion cliente-servidor a traves de un {@link SocketChannel} no bloqueante. Ofrece metodos para conectar y
+ * desconectar a un servidor, y metodos para enviar y recibir bytes dentro de un buffer.
+ * <p>
+ * La lectura y escritura del canal se realiza en un hilo de red dedicado que espera eventos con un {@link Selector}, de modo que
+ * la latencia de la red no depende de la frecuencia de frames: los bytes se leen en cuanto llegan, no una vez por frame. El hilo
+ * de red lee en un {@code ByteBuffer} directo, delimita e identifica cada paquete con {@link PacketFramer} y lo publica como un
+ * {@link InboundFrame} en una cola {@link SpscRing} sin bloqueos. Los paquetes frecuentes que tienen decoder generado
+ * ({@link ServerPacketDecoder}) ademas se decodifican en el hilo de red, directamente del buffer de recepcion al evento tipado
+ * del slot, sin copiar sus bytes. El hilo de renderizado, desde {@link #read()}, solo aplica los paquetes ya delimitados (o los
+ * eventos ya decodificados) a traves de sus handlers, ya que estos modifican el estado del juego y no deben ejecutarse
+ * concurrentemente con el renderizado.
+ * <p>
+ * La cola es acotada: si el hilo de renderizado no da abasto (por ejemplo, en una pelea masiva), el hilo de red deja de leer del
+ * canal cuando se llena, y antes de eso {@link InboundShedder} descarta los paquetes cosmeticos y fusiona los movimientos viejos.
+ * Mientras la cola esta llena el canal no se lee ni se espera {@code OP_READ}, por lo que el buffer de recepcion de
+ * {@link InboundPipeline} no pasa de una lectura mas el ultimo paquete incompleto, los bytes siguientes quedan en el buffer del
+ * socket y el control de flujo de TCP frena al servidor. Cuando el hilo de renderizado libera lugar, el hilo de red publica lo
+ * que quedo y vuelve a leer.
+ * <p>
+ * Cada paquete lleva el momento en que termino de llegar, por lo que al aplicarlo se mide cuanto espero en la cola
+ * ({@link #getAverageQueueDelayNanos()} y {@link #getMaxQueueDelayNanos()}), separado de la latencia de la red.
+ * <p>
+ * En sentido inverso, los bytes que el hilo de renderizado escribio en el buffer de salida se mueven a una {@link OutboundQueue} y
+ * se despierta al hilo de red para que los envie. Los paquetes que afectan la respuesta del personaje (caminar, atacar, etc.) se
+ * envian en cuanto se escriben con {@link #flush()}; el resto se agrupa y se envia desde {@link #write()} al final del frame, como
+ * maximo cada {@code FlushInterval} milisegundos, para enviar menos segmentos TCP pequeños.
+ * <p>
+ * La conexion tambien se establece en el hilo de red, por lo que ni la resolucion del nombre del servidor ni el handshake TCP
+ * congelan la ventana. El progreso se expone con {@link #getState()} y {@link #getConnectingAddress()}, y un intento en curso se
+ * puede cancelar con {@link #cancelConnect()}.
+ * <p>
+ * Una vez que el usuario esta logeado, el hilo de renderizado envia un PING cada {@code HeartbeatInterval} milisegundos y
+ * acumula los tiempos de ida y vuelta en {@link LatencyStats}. Si el servidor no envia ningun byte durante
+ * {@code DeadPeerTimeout} milisegundos, la conexion se considera muerta (por ejemplo, una conexion TCP semiabierta tras un corte
+ * de la red) y se cierra, en lugar de esperar indefinidamente a que el sistema operativo lo detecte.
+ * <p>
+ * Si la conexion se pierde con el usuario logeado, {@link Reconnection} intenta volver a entrar a la partida sin resetear el juego.
+ * <p>
+ * Con la opcion {@code WireCapture} activada, el hilo de red graba cada lectura y escritura del canal en un archivo de captura
+ * ({@link WireCapture}) a traves de un {@link WireRecorder}, que escribe en disco desde su propio hilo. Con
+ * {@link #replay(Path, double)}, un hilo de reproduccion ocupa el lugar del hilo de red y publica los bytes recibidos de una
+ * captura como si llegaran del servidor, sin conexion.
  * <p>
  * TODO Se podria llamar Connection?
- * TODO Se podria usar NIO?
  */
 
 public enum SocketConnection {
 
     INSTANCE;
 
-    /** Socket para la conexion TCP. */
-    private Socket socket;
-    /** Flujo de salida de bytes. */
-    private DataOutputStream outputStream;
-    /** Flujo de entrada de bytes. */
-    private DataInputStream inputStream;
-    /** Bandera que indica si hay un intento de conexion en curso. */
-    private boolean tryConnect;
+    /** Cantidad de paquetes que pueden esperar en la cola entre el hilo de red y el de renderizado. */
+    private static final int INBOUND_QUEUE_CAPACITY = 4096;
+    /** Cantidad de paquetes en la cola a partir de la cual se descartan los cosmeticos. */
+    private static final int INBOUND_HIGH_WATER_MARK = INBOUND_QUEUE_CAPACITY * 3 / 4;
+    /** Tiempo maximo que el hilo de renderizado espera a que termine el hilo de red de una conexion anterior. */
+    private static final long NETWORK_THREAD_JOIN_MILLIS = 1000;
+    /** Tiempo maximo que espera el hilo de red para reintentar publicar paquetes cuando la cola esta llena. */
+    private static final long QUEUE_FULL_RETRY_MILLIS = 2;
+    /** Cantidad de bytes pendientes a partir de la cual se envian sin esperar, aproximadamente un segmento TCP. */
+    private static final int COALESCE_MAX_BYTES = 1400;
+    /** Cantidad de intervalos del heartbeat tras los cuales un PING sin respuesta se da por perdido. */
+    private static final int LOST_PING_INTERVALS = 4;
+    /** Canal que acepta y descarta todos los bytes, para los paquetes que escribe el cliente durante una reproduccion. */
+    private static final GatheringByteChannel DISCARD = new GatheringByteChannel() {
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long written = 0;
+            for (int i = offset; i < offset + length; i++) {
+                written += srcs[i].remaining();
+                srcs[i].position(srcs[i].limit());
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[]{src}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /** Paquetes completos listos para aplicar en el hilo de renderizado. El hilo de red es el unico productor. */
+    private final SpscRing<InboundFrame> inboundQueue = new SpscRing<>(INBOUND_QUEUE_CAPACITY, InboundFrame::new);
+    /** Descarta paquetes cosmeticos cuando la cola entrante supera la marca de agua alta. */
+    private final InboundShedder shedder = new InboundShedder(INBOUND_HIGH_WATER_MARK);
+    /** Lee, delimita y publica en la cola entrante los paquetes recibidos. Solo lo usa el hilo de red. */
+    private final InboundPipeline inbound = new InboundPipeline(inboundQueue, shedder);
+    /** Aplica los paquetes de la cola entrante dentro del presupuesto de tiempo de cada frame. */
+    private final PacketDispatcher dispatcher = new PacketDispatcher(inboundQueue, shedder);
+    /** Bytes pendientes de envio al servidor. */
+    private final OutboundQueue outboundQueue = new OutboundQueue();
+
+    /** Canal de la conexion TCP, o el canal que se esta intentando conectar. */
+    private volatile SocketChannel channel;
+    /** Selector con el que el hilo de red espera eventos del canal. */
+    private volatile Selector selector;
+    /** Hilo de red de la conexion actual. */
+    private Thread networkThread;
+    /**
+     * Indica si el hilo de red llego a usar los buffers y las colas, es decir, si paso a {@code CONNECTED} o es el hilo de una
+     * reproduccion. Se sincroniza sobre esta instancia.
+     */
+    private boolean networkThreadConnected;
+    /** Estado de la conexion. Las transiciones se hacen sincronizando sobre esta instancia. */
+    private volatile ConnectionState state = ConnectionState.DISCONNECTED;
+    /** Direccion con la que se esta intentando conectar, para mostrar el progreso. */
+    private volatile InetSocketAddress connectingAddress;
+    /**
+     * Numero del intento de conexion actual. Cada intento nuevo o cancelado lo incrementa, asi un hilo de un intento anterior
+     * (por ejemplo, bloqueado resolviendo el nombre del servidor) sabe que ya no debe publicar su resultado.
+     */
+    private int connectAttempt;
+    /** Accion a ejecutar en el hilo de renderizado cuando se establezca la conexion. Solo la usa el hilo de renderizado. */
+    private Runnable onConnected;
+    /** Bandera que indica que se establecio la conexion y el hilo de renderizado todavia no ejecuto {@link #onConnected}. */
+    private volatile boolean connectCompleted;
+    /** Mensaje de error del ultimo intento de conexion fallido, pendiente de mostrar por el hilo de renderizado. */
+    private volatile String connectError;
+    /** Bandera que indica que el hilo de red perdio la conexion y el hilo de renderizado todavia no reseteo el juego. */
+    private volatile boolean connectionLost;
+    /** Tiempos de ida y vuelta de los PING. Solo la usa el hilo de renderizado. */
+    private final LatencyStats latencyStats = new LatencyStats();
+    /** Momento en que se envio el ultimo PING del heartbeat. Solo lo usa el hilo de renderizado. */
+    private long lastHeartbeatNanos;
+    /** Momento en que se escribio el primer byte que todavia no se envio, o -1 si no hay. Solo lo usa el hilo de renderizado. */
+    private long outputPendingSinceNanos = -1;
+    /** Bandera que indica que la conexion actual es la reproduccion de una captura. */
+    private volatile boolean replaying;
+    /** Bandera que indica que el hilo de reproduccion publico todos los paquetes de la captura, o que fallo. */
+    private volatile boolean replayDone;
 
     /**
      * <p>
-     * Se conecta a una conexion con el servidor a traves de un socket.
+     * Inicia un intento de conexion con el servidor configurado en las opciones, sin bloquear el hilo de renderizado.
      * <p>
      * Este metodo se llama primero en tres posibles casos: cuando se conecta el usuario por primera vez, cuando se crea un
      * personaje o cuando se lanza los dados. Esto es asi ya que son los tres posibles casos en donde se va a iniciar la conexion
-     * con el servidor antes de iniciar el juego. Por lo tanto, se crea un subproceso para manejar la comunicacion
-     * cliente-servidor.
+     * con el servidor antes de iniciar el juego. El hilo de red resuelve el nombre del servidor, prueba cada una de sus
+     * direcciones con el tiempo de espera configurado en {@code Options} y, si logra conectarse, pasa a atender la conexion.
+     * <p>
+     * La accion {@code onConnected} se ejecuta en el hilo de renderizado (desde {@link #read()}) una vez establecida la
+     * conexion, por lo que puede escribir paquetes en el buffer de salida. Si ya hay una conexion abierta se ejecuta
+     * inmediatamente.
      * <p>
      * La primera vez que se necesita la clase {@code Protocol} ocurre cuando:
      * <ol>
      *   <li>El usuario intenta conectarse al servidor desde la interfaz de usuario
      *   <li>Como resultado, se llama al metodo {@code connect()} de {@code SocketConnection}
-     *   <li>Al ejecutar este metodo, la JVM necesita resolver las referencias a {@code inputBuffer} y {@code outputBuffer}
-     *   <li>La JVM carga la clase {@code Protocol} en memoria para resolver estas referencias
+     *   <li>Al ejecutar este metodo, la JVM necesita resolver la referencia a {@code inputBuffer}
+     *   <li>La JVM carga la clase {@code Protocol} en memoria para resolver esta referencia
      *   <li>Durante la carga de la clase, se inicializan los objetos estaticos:
      *   <pre>{@code
-     *      public static NetworkBuffer outputBuffer = new NetworkBuffer();
-     *      public static NetworkBuffer inputBuffer = new NetworkBuffer();
+     *      public static PacketBuffer inputBuffer = new PacketBuffer();
      *   }</pre>
      * </ol>
      *
-     * @return true si la conexion fue exitosa, false en caso de error o si no logra establecerse la conexion con el servidor.
+     * @param onConnected accion a ejecutar en el hilo de renderizado cuando se establezca la conexion
      */
-    public boolean connect() {
+    public void connect(Runnable onConnected) {
+        if (state == ConnectionState.CONNECTED) {
+            onConnected.run();
+            return;
+        }
+
         // Comprueba si ya esta intentando conectarse
-        if (tryConnect) {
+        if (state != ConnectionState.DISCONNECTED) {
             ImGUISystem.INSTANCE.show(new FMessage("Trying to connect to the server, please wait..."));
-            return false;
+            return;
         }
 
-        // Comprueba si el socket no existe o esta cerrado, importante que sea en ese orden
-        if (socket == null || socket.isClosed()) {
-            this.tryConnect = true;
+        // Detiene el hilo de una conexion anterior para que no comparta los buffers con el nuevo
+        joinNetworkThread();
 
-            try {
-                // Crea un socket a la IP y puerto del servidor especificado
-                socket = new Socket(options.getIpServer(), Integer.parseInt(options.getPortServer()));
-                // Inicializa los flujos de salida y entrada de bytes
-                outputStream = new DataOutputStream(socket.getOutputStream());
-                inputStream = new DataInputStream(socket.getInputStream());
-
-                // Si el socket se conecto, resuelve las referencias de los buffers de entrada y salida
-                if (socket.isConnected()) {
-                    this.tryConnect = false;
-                    // TODO No hay otra forma de crear estas dos instancias? Me parece raro llamar al metodo readBytes() para crear estas intancias
-                    inputBuffer.readBytes();
-                    outputBuffer.readBytes();
-                }
+        // Descarta cualquier resto de una conexion anterior
+        resetConnection();
 
-            } catch (Exception e) {
-                ImGUISystem.INSTANCE.show(new FMessage(e.getMessage()));
-                this.tryConnect = false;
-                return false;
-            }
+        this.onConnected = onConnected;
+        String host = options.getIpServer();
+        String port = options.getPortServer();
+        int timeout = options.getConnectTimeout();
+        int attempt;
+        synchronized (this) {
+            attempt = ++connectAttempt;
+            state = ConnectionState.RESOLVING;
         }
 
-        return true;
+        networkThread = new Thread(() -> runConnection(attempt, host, port, timeout), "Network");
+        networkThread.setDaemon(true);
+        networkThread.start();
     }
 
     /**
      * <p>
-     * Cierra la conexion del socket y los flujos de entrada y salida asociados. En caso de que la conexion este activa, cierra
-     * los flujos de entrada y salida, asi como el socket asociado, manejando posibles excepciones {@code IOException} que
-     * pudieran ocurrir durante el cierre. Finalmente, resetea el estado del juego.
+     * Reproduce los bytes recibidos de una captura ({@link WireCapture}) como si llegaran del servidor, sin abrir ninguna
+     * conexion. Es la base del benchmark de reproduccion: los paquetes pasan por el mismo camino que los de una conexion real
+     * (delimitacion en un hilo aparte, cola entrante y {@link #read()} en el hilo de renderizado), por lo que el juego los aplica
+     * igual que en una partida.
+     * <p>
+     * Cada registro de la captura se publica con la fragmentacion original. Con velocidad 1 se respetan los tiempos de la captura,
+     * con velocidad N se reproducen N veces mas rapido y con velocidad 0 lo mas rapido posible, es decir, solo limitado por la
+     * cola entrante. Los bytes que escribe el cliente se descartan, y el heartbeat no actua, ya que no hay un servidor que
+     * responda.
+     *
+     * @param capture archivo de captura
+     * @param speed   factor de velocidad, o 0 para reproducir sin esperas
+     */
+    public void replay(Path capture, double speed) {
+        disconnect();
+        joinNetworkThread();
+        resetConnection();
+        synchronized (this) {
+            connectAttempt++;
+            inbound.resetReceiveClock();
+            state = ConnectionState.CONNECTED;
+            networkThreadConnected = true;
+        }
+        replaying = true;
+        replayDone = false;
+
+        networkThread = new Thread(() -> runReplay(capture, speed), "Replay");
+        networkThread.setDaemon(true);
+        networkThread.start();
+    }
+
+    /**
+     * Indica si termino la reproduccion iniciada con {@link #replay(Path, double)}: se publicaron todos los paquetes de la
+     * captura y el hilo de renderizado ya los aplico.
+     *
+     * @return true si la reproduccion termino
+     */
+    public boolean isReplayFinished() {
+        return replaying && replayDone && !dispatcher.hasPending() && inboundQueue.peek() == null;
+    }
+
+    /**
+     * Cancela el intento de conexion en curso, si lo hay. La accion pendiente de {@link #connect(Runnable)} no se ejecuta.
+     */
+    public void cancelConnect() {
+        synchronized (this) {
+            if (state != ConnectionState.RESOLVING && state != ConnectionState.CONNECTING) return;
+            connectAttempt++;
+            state = ConnectionState.DISCONNECTED;
+            connectingAddress = null;
+            // Cerrar el canal interrumpe el handshake TCP que este bloqueando al hilo de red
+            closeQuietly(channel);
+            channel = null;
+        }
+        onConnected = null;
+    }
+
+    /**
+     * <p>
+     * Cierra la conexion del canal y detiene el hilo de red. En caso de que la conexion este activa, cierra el selector y el canal,
+     * manejando posibles excepciones {@code IOException} que pudieran ocurrir durante el cierre. Finalmente, resetea el estado
+     * del juego.
      */
     public void disconnect() {
-        if (!isReadyForCommunication()) return;
+        Reconnection.INSTANCE.cancel();
+        if (state != ConnectionState.CONNECTED && !connectionLost) return;
+        closeChannel();
+        joinNetworkThread();
+        connectionLost = false;
+        replaying = false;
+        Session.CLIENT.getUser().resetGameState();
+    }
+
+    /**
+     * Cierra la conexion porque el hilo de renderizado encontro un paquete que no se puede aplicar sin perder la sincronizacion
+     * con el flujo, igual que cuando el hilo de red la pierde al delimitar: el juego se conserva y {@link #read()} decide si se
+     * reconecta o se resetea.
+     */
+    public void closeOnProtocolError() {
+        if (state != ConnectionState.CONNECTED) return;
+        closeChannel();
+        connectionLost = true;
+    }
+
+    public ConnectionState getState() {
+        return state;
+    }
+
+    /**
+     * Devuelve la direccion con la que se esta intentando conectar.
+     *
+     * @return la direccion del intento en curso, o null si todavia se esta resolviendo el nombre del servidor
+     */
+    public InetSocketAddress getConnectingAddress() {
+        return connectingAddress;
+    }
+
+    /**
+     * Envia los bytes del buffer de salida agrupando los paquetes que no necesitan salir de inmediato. Se llama una vez por frame.
+     * <p>
+     * Si desde el primer byte pendiente paso menos de {@code FlushInterval} milisegundos y los bytes pendientes no llenan un
+     * segmento TCP, se espera al siguiente frame para enviarlos junto con los que se escriban mientras tanto.
+     */
+    public void write() {
+        PacketBuffer outputBuffer = Session.CLIENT.getOutputBuffer();
+        if (state != ConnectionState.CONNECTED || outputBuffer.getLength() == 0) return;
+        long now = System.nanoTime();
+        if (outputPendingSinceNanos < 0) outputPendingSinceNanos = now;
+        if (outputBuffer.getLength() < COALESCE_MAX_BYTES && now - outputPendingSinceNanos < options.getFlushInterval() * 1_000_000L)
+            return;
+        flush();
+    }
+
+    /**
+     * Envia de inmediato los bytes del buffer de salida, sin esperar al final del frame. Lo usan los paquetes que afectan la
+     * respuesta del personaje, para que la demora entre la tecla y el envio no dependa de la frecuencia de frames.
+     */
+    public void flush() {
+        PacketBuffer outputBuffer = Session.CLIENT.getOutputBuffer();
+        if (state != ConnectionState.CONNECTED || outputBuffer.getLength() == 0) return;
+        outboundQueue.enqueue(outputBuffer);
+        outputPendingSinceNanos = -1;
+        Selector selector = this.selector;
+        if (selector != null) selector.wakeup();
+    }
+
+    /**
+     * Aplica los paquetes que recibio el hilo de red, en el orden en que llegaron.
+     * <p>
+     * Los paquetes se aplican hasta agotar el presupuesto de tiempo del frame ({@code PacketTimeBudget}); los restantes quedan en
+     * la cola para el siguiente frame (ver {@link PacketDispatcher}). Si el hilo de red perdio la conexion, primero se aplican los paquetes que alcanzaron a llegar (por
+     * ejemplo, un mensaje de error del servidor) y luego se resetea el juego, salvo que {@link Reconnection} intente reconectar.
+     * <p>
+     * Tambien completa en el hilo de renderizado los intentos de conexion que termino el hilo de red: ejecuta la accion pendiente
+     * si la conexion se establecio, o muestra el error si fallo.
+     */
+    public void read() {
+        if (connectCompleted) {
+            connectCompleted = false;
+            Runnable action = onConnected;
+            onConnected = null;
+            if (action != null) action.run();
+        }
+
+        String error = connectError;
+        if (error != null) {
+            connectError = null;
+            // Durante una reconexion los intentos fallidos solo se muestran como estado, no como un mensaje por intento
+            if (!Reconnection.INSTANCE.isActive()) ImGUISystem.INSTANCE.show(new FMessage(error));
+        }
+
+        Reconnection.INSTANCE.update();
+
+        heartbeat();
+
+        dispatcher.dispatch();
+
+        if (connectionLost && !dispatcher.hasPending()) {
+            if (Reconnection.INSTANCE.begin()) {
+                // Conserva el estado del juego mientras se reconecta
+                joinNetworkThread();
+                connectionLost = false;
+            } else disconnect();
+        }
+    }
+
+    /**
+     * Devuelve el momento en que el hilo de red recibio el paquete que se esta aplicando. Los handlers lo usan para medir tiempos
+     * sin contar lo que el paquete espero en la cola.
+     *
+     * @return el momento de recepcion segun {@link System#nanoTime()}
+     */
+    public long getCurrentPacketReceivedNanos() {
+        return dispatcher.getCurrentPacketReceivedNanos();
+    }
+
+    /**
+     * Devuelve la cantidad de paquetes de un tipo que se descartaron (o, en el caso de {@code CHARACTER_MOVE}, que se fusionaron
+     * con uno posterior) porque la cola entrante estaba casi llena.
+     *
+     * @param packet tipo de paquete
+     * @return la cantidad de paquetes descartados desde que se inicio el cliente
+     */
+    public long getShedCount(ServerPacket packet) {
+        return shedder.getShedCount(packet);
+    }
+
+    public LatencyStats getLatencyStats() {
+        return latencyStats;
+    }
+
+    /**
+     * Devuelve el tiempo transcurrido desde que se recibieron bytes del servidor por ultima vez.
+     *
+     * @return el tiempo en milisegundos, o 0 si no hay conexion
+     */
+    public long getMillisSinceLastReceive() {
+        if (state != ConnectionState.CONNECTED) return 0;
+        return (System.nanoTime() - inbound.getLastReceiveNanos()) / 1_000_000;
+    }
+
+    /**
+     * Devuelve el promedio movil del tiempo que esperan los paquetes en la cola entre el hilo de red y el de renderizado.
+     *
+     * @return la demora promedio en nanosegundos
+     */
+    public double getAverageQueueDelayNanos() {
+        return dispatcher.getAverageQueueDelayNanos();
+    }
+
+    /**
+     * Devuelve el mayor tiempo que espero un paquete en la cola desde que se establecio la conexion.
+     *
+     * @return la demora maxima en nanosegundos
+     */
+    public long getMaxQueueDelayNanos() {
+        return dispatcher.getMaxQueueDelayNanos();
+    }
+
+    /**
+     * Devuelve la cantidad de paquetes que se aplicaron desde que se establecio la conexion.
+     *
+     * @return la cantidad de paquetes aplicados
+     */
+    public long getAppliedPackets() {
+        return dispatcher.getAppliedPackets();
+    }
+
+    /**
+     * Devuelve la cantidad de paquetes que esperan en la cola para ser aplicados.
+     *
+     * @return la cantidad de paquetes pendientes
+     */
+    public int getPendingPackets() {
+        return inboundQueue.size() + dispatcher.getDeferredPackets();
+    }
+
+    /**
+     * Devuelve la cantidad de paquetes masivos apartados para aplicar cuando sobre tiempo en el frame.
+     *
+     * @return la cantidad de paquetes apartados
+     */
+    public int getDeferredPackets() {
+        return dispatcher.getDeferredPackets();
+    }
+
+    /**
+     * Devuelve el tiempo que llevo aplicar los paquetes en el ultimo frame.
+     *
+     * @return el tiempo en nanosegundos
+     */
+    public long getLastDispatchNanos() {
+        return dispatcher.getLastDispatchNanos();
+    }
+
+    /**
+     * Devuelve el promedio movil del tiempo que lleva aplicar los paquetes de un frame.
+     *
+     * @return el tiempo promedio en nanosegundos
+     */
+    public double getAverageDispatchNanos() {
+        return dispatcher.getAverageDispatchNanos();
+    }
+
+    /**
+     * Devuelve el mayor tiempo que llevo aplicar los paquetes de un frame desde que se establecio la conexion.
+     *
+     * @return el tiempo maximo en nanosegundos
+     */
+    public long getMaxDispatchNanos() {
+        return dispatcher.getMaxDispatchNanos();
+    }
+
+    /**
+     * Devuelve la cantidad de frames en los que se agoto el presupuesto de tiempo y quedaron paquetes para el siguiente.
+     *
+     * @return la cantidad de frames desde que se establecio la conexion
+     */
+    public long getOverBudgetFrames() {
+        return dispatcher.getOverBudgetFrames();
+    }
+
+    /**
+     * Envia el PING periodico y cierra la conexion si el servidor lleva demasiado tiempo sin enviar nada. Solo actua con el
+     * usuario logeado, ya que antes el servidor no responde los PING.
+     */
+    private void heartbeat() {
+        if (state != ConnectionState.CONNECTED || replaying || !Session.CLIENT.getUser().isUserConected()) return;
+        long now = System.nanoTime();
+
+        long deadPeerTimeout = options.getDeadPeerTimeout() * 1_000_000L;
+        if (deadPeerTimeout > 0 && now - inbound.getLastReceiveNanos() > deadPeerTimeout) {
+            Logger.warn("No data received from the server in {} ms, closing the connection", options.getDeadPeerTimeout());
+            closeChannel();
+            connectionLost = true;
+            connectError = "Se perdio la conexion con el servidor.";
+            return;
+        }
+
+        long interval = options.getHeartbeatInterval() * 1_000_000L;
+        if (interval <= 0) return;
+        // Un PING sin respuesta durante varios intervalos se da por perdido para no detener las mediciones
+        long pingTime = Session.CLIENT.getPingTime();
+        if (pingTime != 0 && now - pingTime > interval * LOST_PING_INTERVALS) Session.CLIENT.setPingTime(0);
+        if (now - lastHeartbeatNanos >= interval) {
+            lastHeartbeatNanos = now;
+            writeHeartbeatPing(Session.CLIENT);
+        }
+    }
+
+    /**
+     * Cuerpo del hilo de red: establece la conexion y, si lo logra, atiende el canal hasta que se cierre.
+     *
+     * @param attempt numero del intento de conexion
+     * @param host    nombre o IP del servidor
+     * @param port    puerto del servidor
+     * @param timeout tiempo maximo de espera por cada direccion, en milisegundos
+     */
+    private void runConnection(int attempt, String host, String port, int timeout) {
+        SocketChannel channel;
         try {
-            outputStream.close();
-            inputStream.close();
-            socket.close();
+            channel = openChannel(attempt, host, Integer.parseInt(port), timeout);
+        } catch (Exception e) {
+            synchronized (this) {
+                if (attempt != connectAttempt) return;
+                state = ConnectionState.DISCONNECTED;
+                connectingAddress = null;
+                this.channel = null;
+                // Dentro del bloqueo, para que el error no alcance a un intento nuevo que se inicie apenas cambia el estado
+                connectError = e.getMessage() != null ? e.getMessage() : e.toString();
+            }
+            Logger.error("Could not connect to {}:{}: {}", host, port, e.getMessage());
+            return;
+        }
+        if (channel == null) return; // Intento cancelado
+
+        Selector selector;
+        SelectionKey key;
+        try {
+            channel.configureBlocking(false);
+            selector = Selector.open();
+            key = channel.register(selector, SelectionKey.OP_READ);
         } catch (IOException e) {
-            System.err.println("Error closing connection: " + e.getMessage());
+            closeQuietly(channel);
+            synchronized (this) {
+                if (attempt != connectAttempt) return;
+                state = ConnectionState.DISCONNECTED;
+                this.channel = null;
+                connectError = e.getMessage();
+            }
+            return;
+        }
+
+        synchronized (this) {
+            if (attempt != connectAttempt) {
+                closeQuietly(selector);
+                closeQuietly(channel);
+                return;
+            }
+            this.selector = selector;
+            connectingAddress = null;
+            inbound.resetReceiveClock();
+            state = ConnectionState.CONNECTED;
+            networkThreadConnected = true;
+            connectCompleted = true;
+        }
+
+        WireRecorder recorder = null;
+        if (options.isWireCapture()) {
+            try {
+                recorder = WireRecorder.open(channel.socket().getRemoteSocketAddress());
+            } catch (IOException e) {
+                Logger.warn("Could not start the wire capture: {}", e.getMessage());
+            }
+        }
+
+        runNetworkLoop(channel, selector, key, recorder);
+    }
+
+    /**
+     * Cuerpo del hilo de reproduccion: publica los bytes recibidos de la captura respetando sus tiempos escalados por la
+     * velocidad, hasta terminar la captura o hasta que se desconecte el cliente.
+     */
+    private void runReplay(Path capture, double speed) {
+        long start = System.nanoTime();
+        try (WireCaptureReader reader = new WireCaptureReader(capture)) {
+            while (state == ConnectionState.CONNECTED && reader.next()) {
+                // Los bytes que escribe el cliente no tienen destino, pero se consumen para que la cola de salida no crezca
+                outboundQueue.writeTo(DISCARD, null);
+                if (reader.getType() != WireCapture.RECEIVED) continue;
+
+                if (speed > 0) {
+                    long due = start + (long) (reader.getTimestampNanos() / speed);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0 && state == ConnectionState.CONNECTED)
+                        LockSupport.parkNanos(wait);
+                }
+
+                inbound.append(reader.getPayload());
+                // Con la cola llena espera a que el hilo de renderizado libere lugar, igual que el hilo de red
+                while (inbound.publishFrames() && state == ConnectionState.CONNECTED)
+                    LockSupport.parkNanos(QUEUE_FULL_RETRY_MILLIS * 1_000_000);
+            }
+            if (inbound.getBufferedBytes() > 0)
+                Logger.warn("The capture ends with an incomplete packet of {} bytes", inbound.getBufferedBytes());
+        } catch (IOException e) {
+            Logger.error("Could not replay the capture '{}': {}", capture, e.getMessage());
         } finally {
-            User.INSTANCE.resetGameState();
+            replayDone = true;
         }
     }
 
     /**
-     * Escribe los bytes del buffer de salida en el flujo de salida del socket.
+     * Resuelve el nombre del servidor y prueba sus direcciones en orden hasta que alguna acepte la conexion, de modo que una
+     * direccion inalcanzable (por ejemplo, una IPv6 sin ruta) solo demora el tiempo de espera configurado y no el del sistema
+     * operativo.
+     *
+     * @return el canal conectado en modo bloqueante, o null si el intento fue cancelado
+     * @throws IOException si ninguna direccion acepto la conexion
      */
-    public void write() {
-        if (!isReadyForWriting()) return;
-        // Si hay bytes en el buffer de salida
-        if (outputBuffer != null && outputBuffer.getLength() > 0) {
-            // Extrae los bytes del buffer de salida (que ya fue llenado con los metodos *write antes de enviarlos a travez del flujo de salida) y los almacena en el array de bytes
-            byte[] bytes = outputBuffer.readBytes();
+    private SocketChannel openChannel(int attempt, String host, int port, int timeout) throws IOException {
+        InetAddress[] addresses = InetAddress.getAllByName(host);
+        IOException lastError = null;
+        for (InetAddress address : addresses) {
+            InetSocketAddress socketAddress = new InetSocketAddress(address, port);
+            SocketChannel channel = SocketChannel.open();
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, options.isTcpNoDelay());
+            synchronized (this) {
+                if (attempt != connectAttempt) {
+                    closeQuietly(channel);
+                    return null;
+                }
+                this.channel = channel;
+                connectingAddress = socketAddress;
+                state = ConnectionState.CONNECTING;
+            }
             try {
-                // Envia los bytes al servidor a traves del flujo de salida
-                outputStream.write(bytes);
+                channel.socket().connect(socketAddress, timeout);
+                return channel;
+            } catch (AsynchronousCloseException e) {
+                return null; // El canal lo cerro cancelConnect()
             } catch (IOException e) {
-                System.err.println("Error writing bytes: " + e.getMessage());
-                disconnect();
+                Logger.warn("Could not connect to {}: {}", socketAddress, e.getMessage());
+                closeQuietly(channel);
+                lastError = e;
             }
         }
+        throw lastError != null ? lastError : new IOException("No addresses found for " + host);
     }
 
     /**
-     * Lee los bytes del flujo de entrada del socket y los almacena en el buffer de entrada.
+     * Bucle del hilo de red. Espera a que el canal tenga bytes para leer o espacio para escribir y, cuando el hilo de
+     * renderizado lo despierta, envia los bytes pendientes.
      * <p>
-     * La estructura actual del codigo evita intencionalmente que el metodo {@code read()} bloquee el hilo de ejecucion, lo que es
-     * importante para mantener la capacidad de respuesta de la aplicacion, especialmente si este codigo se ejecuta en el hilo
-     * principal de la interfaz de usuario.
-     * <p>
-     * Solo si {@code available()} indica que hay bytes disponibles, entonces se procede a llamar a {@code read()}, lo que
-     * garantiza que la llamada no bloqueara el hilo porque ya se sabe que hay bytes disponibles.
-     * <p>
-     * Ademas, esta doble verificacion es una tecnica de programacion defensiva en entornos de red, donde las condiciones pueden
-     * cambiar rapidamente. Aunque en la mayoria de los casos ambas verificaciones daran el mismo resultado, mantener ambas
-     * protege contra casos extremos y condiciones de carrera, haciendo el codigo mas robusto.
+     * Recibe el canal, el selector y la clave como parametros para no depender de los campos, que el hilo de renderizado puede
+     * limpiar al desconectarse.
+     *
+     * @param recorder captura de la conexion, o null si no se esta grabando
      */
-    public void read() {
-        if (!isReadyForReading()) return;
+    private void runNetworkLoop(SocketChannel channel, Selector selector, SelectionKey key, WireRecorder recorder) {
+        boolean queueFull = false;
         try {
-            // Si hay bytes disponibles para leer (sin bloquear el hilo) en el flujo de entrada
-            int availableBytes = inputStream.available();
-            if (availableBytes > 0) {
-                byte[] buffer = new byte[availableBytes];
-                // Si efectivamente se leyeron bytes
-                int bytesRead = inputStream.read(buffer);
-                if (bytesRead > 0) {
-                    // Escribe los bytes del servidor en el buffer de entrada
-                    inputBuffer.writeBlock(buffer);
-                    // Delega el manejo de los bytes a PacketReceiver
-                    handleIncomingBytes();
+            while (selector.isOpen()) {
+                // Si quedaron paquetes sin publicar porque la cola estaba llena, vuelve a intentarlo en poco tiempo
+                if (queueFull) selector.select(QUEUE_FULL_RETRY_MILLIS);
+                else selector.select();
+                if (!selector.isOpen()) break;
+                boolean resumed = false;
+                if (queueFull) {
+                    queueFull = inbound.publishFrames();
+                    // Con la cola llena no se esperaba OP_READ, asi que puede haber bytes que el selector no indico
+                    resumed = !queueFull;
                 }
+                if (!queueFull && (resumed || key.isReadable())) queueFull = inbound.receive(channel, recorder);
+                send(channel, key, recorder, !queueFull);
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | ClosedSelectorException | CancelledKeyException e) {
+            if (selector.isOpen()) Logger.error("Connection lost: {}", e.getMessage());
+        } finally {
+            if (recorder != null) recorder.close();
+            // Si el hilo de renderizado no cerro la conexion, la cierra y le avisa que se perdio
+            if (selector.isOpen()) {
+                closeChannel();
+                connectionLost = true;
             }
-        } catch (IOException e) {
-            System.err.println(e.getMessage());
         }
     }
 
     /**
-     * Verifica si el socket esta listo para escribir datos.
+     * Escribe en el canal los bytes pendientes de envio. Si el canal no acepta todos los bytes, se registra el interes en
+     * escribir para continuar cuando haya espacio.
      *
-     * @return true si el socket esta conectado y el flujo de salida esta disponible
+     * @param reading indica si se espera {@code OP_READ}, que se quita mientras la cola entrante esta llena
      */
-    private boolean isReadyForWriting() {
-        return isReadyForCommunication() && outputStream != null;
+    private void send(SocketChannel channel, SelectionKey key, WireRecorder recorder, boolean reading) throws IOException {
+        boolean pending = outboundQueue.writeTo(channel, recorder);
+        key.interestOps((reading ? SelectionKey.OP_READ : 0) | (pending ? SelectionKey.OP_WRITE : 0));
     }
 
     /**
-     * Verifica si el socket esta listo para leer datos.
-     *
-     * @return true si el socket esta conectado y el flujo de entrada esta disponible
+     * Cierra el selector y el canal, lo que tambien hace terminar al hilo de red.
      */
-    private boolean isReadyForReading() {
-        return isReadyForCommunication() && inputStream != null;
+    private synchronized void closeChannel() {
+        closeQuietly(selector);
+        closeQuietly(channel);
+        selector = null;
+        channel = null;
+        state = ConnectionState.DISCONNECTED;
     }
 
     /**
-     * Verifica si el socket esta preparado para comunicarse.
-     *
-     * @return true si el socket existe, esta conectado y no esta cerrado
+     * <p>
+     * Detiene el hilo de red de la conexion anterior, si todavia esta en ejecucion y no es el hilo actual, sin bloquear el hilo
+     * de renderizado mas alla de un limite.
+     * <p>
+     * Primero se invalida el intento de conexion y se cierran el canal y el selector, lo que corta el handshake TCP o el
+     * {@code select()} en el que este bloqueado, y se despierta el hilo por si esta esperando entre dos registros de una
+     * reproduccion. Un hilo que nunca llego a {@code CONNECTED} no toco los buffers ni las colas, y al ver que su intento ya no
+     * es el actual termina solo sin publicar nada, por lo que no se lo espera: puede seguir bloqueado resolviendo el nombre del
+     * servidor hasta que el sistema operativo responda. Un hilo que llego a {@code CONNECTED} es el unico productor de la cola
+     * entrante y del buffer de recepcion, y si el hilo de una conexion nueva arrancara mientras el anterior sigue publicando,
+     * los dos escribirian a la vez en ellos; con el selector cerrado sale del bucle enseguida, asi que se lo espera hasta
+     * {@link #NETWORK_THREAD_JOIN_MILLIS}.
+     */
+    private void joinNetworkThread() {
+        Thread thread = networkThread;
+        if (thread == null || thread == Thread.currentThread()) return;
+        networkThread = null;
+        boolean connected;
+        synchronized (this) {
+            connectAttempt++;
+            connected = networkThreadConnected;
+            networkThreadConnected = false;
+        }
+        closeChannel();
+        LockSupport.unpark(thread);
+        if (!connected) return;
+
+        long deadline = System.nanoTime() + NETWORK_THREAD_JOIN_MILLIS * 1_000_000;
+        boolean interrupted = false;
+        long remaining;
+        while (thread.isAlive() && (remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                thread.join(Math.max(1, remaining / 1_000_000));
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (thread.isAlive()) Logger.warn("The network thread did not stop within {} ms", NETWORK_THREAD_JOIN_MILLIS);
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Descarta los buffers, las colas y el estado que hayan quedado de una conexion anterior.
      */
-    private boolean isReadyForCommunication() {
-        return socket != null && socket.isConnected() && !socket.isClosed();
+    private void resetConnection() {
+        inputBuffer.clear();
+        Session.CLIENT.getOutputBuffer().clear();
+        inbound.clear();
+        dispatcher.clear();
+        outboundQueue.clear();
+        outputPendingSinceNanos = -1;
+        latencyStats.reset();
+        lastHeartbeatNanos = 0;
+        Session.CLIENT.setPingTime(0);
+        Session.CLIENT.setPingRequested(false);
+        connectionLost = false;
+        connectCompleted = false;
+        connectError = null;
+        replaying = false;
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            System.err.println("Error closing connection: " + e.getMessage());
+        }
     }
 
 }
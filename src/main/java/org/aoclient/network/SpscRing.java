@@ -0,0 +1,118 @@
+package org.aoclient.network;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Supplier;
+
+/**
+ * Cola acotada sin bloqueos para exactamente un productor y un consumidor (SPSC), implementada como un anillo de slots
+ * preasignados.
+ * <p>
+ * Los slots se crean una sola vez y se reutilizan: el productor obtiene el siguiente slot libre con {@link #claim()}, lo llena y
+ * lo publica con {@link #publish()}; el consumidor obtiene el siguiente slot publicado con {@link #peek()}, lo procesa y lo
+ * devuelve con {@link #release()}. Asi la cola no asigna memoria por elemento.
+ * <p>
+ * Cada indice lo escribe un solo hilo, por lo que alcanza con publicarlo con semantica <i>release</i> y leerlo desde el otro
+ * hilo con semantica <i>acquire</i>: todo lo que el productor escribio en el slot antes de {@code publish()} es visible para el
+ * consumidor despues de {@code peek()}, y viceversa con {@code release()} y {@code claim()}. Cada hilo guarda ademas una copia
+ * del indice del otro para no leerlo en cada operacion.
+ *
+ * @param <T> tipo de los slots
+ */
+
+public class SpscRing<T> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscRing.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscRing.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] slots;
+    private final int mask;
+    /** Indice del siguiente slot a consumir. Solo lo escribe el consumidor. */
+    private long head;
+    /** Indice del siguiente slot a producir. Solo lo escribe el productor. */
+    private long tail;
+    /** Copia de {@link #head} que mantiene el productor. */
+    private long cachedHead;
+    /** Copia de {@link #tail} que mantiene el consumidor. */
+    private long cachedTail;
+
+    /**
+     * Crea el anillo y sus slots.
+     *
+     * @param capacity cantidad de slots, que debe ser una potencia de dos
+     * @param factory  crea cada uno de los slots
+     */
+    public SpscRing(int capacity, Supplier<T> factory) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        slots = new Object[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < capacity; i++)
+            slots[i] = factory.get();
+    }
+
+    /**
+     * Obtiene el siguiente slot libre para que el productor lo llene. Llamar de nuevo sin publicar devuelve el mismo slot.
+     *
+     * @return el slot libre, o null si la cola esta llena
+     */
+    @SuppressWarnings("unchecked")
+    public T claim() {
+        if (tail - cachedHead >= slots.length) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            if (tail - cachedHead >= slots.length) return null;
+        }
+        return (T) slots[(int) tail & mask];
+    }
+
+    /**
+     * Publica el slot obtenido con {@link #claim()}, dejandolo visible para el consumidor.
+     */
+    public void publish() {
+        TAIL.setRelease(this, tail + 1);
+    }
+
+    /**
+     * Obtiene el siguiente slot publicado sin quitarlo de la cola.
+     *
+     * @return el slot publicado, o null si la cola esta vacia
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (head >= cachedTail) {
+            cachedTail = (long) TAIL.getAcquire(this);
+            if (head >= cachedTail) return null;
+        }
+        return (T) slots[(int) head & mask];
+    }
+
+    /**
+     * Devuelve al productor el slot obtenido con {@link #peek()}.
+     */
+    public void release() {
+        HEAD.setRelease(this, head + 1);
+    }
+
+    /**
+     * Devuelve la cantidad aproximada de slots publicados y todavia no consumidos. Se puede llamar desde cualquier hilo.
+     *
+     * @return la cantidad de slots en la cola
+     */
+    public int size() {
+        return (int) ((long) TAIL.getAcquire(this) - (long) HEAD.getAcquire(this));
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.aoclient.network;
+
+/**
+ * <p>
+ * Formato de los archivos de captura ({@code .aocap}) con el trafico de una conexion, tal como paso por el socket.
+ * <p>
+ * Los escribe {@link WireRecorder} cuando la opcion {@code WireCapture} esta activada, y los leen las herramientas que reproducen
+ * sesiones reales con {@link WireCaptureReader}. Cada archivo corresponde a una conexion y contiene una cabecera seguida de una
+ * secuencia de registros:
+ * <pre>
+ * cabecera: "AOWC" | version (1 byte) | inicio de la captura (Long de 8 bytes, milisegundos desde la epoca)
+ * registro: tipo (1 byte) | microsegundos desde el registro anterior (varint) | longitud (varint) | contenido (longitud bytes)
+ * </pre>
+ * Los enteros de tamaño fijo van en little-endian, igual que en el protocolo, y los varint usan 7 bits por byte empezando por los
+ * menos significativos (LEB128), por lo que un registro de un segmento TCP tipico ocupa solo 3 a 5 bytes mas que los datos. El
+ * tiempo se toma de {@link System#nanoTime()}, es decir, es monotono y no depende de cambios en el reloj del sistema.
+ * <p>
+ * Cada registro {@link #RECEIVED} o {@link #SENT} es exactamente lo que devolvio una lectura o escritura del canal, asi que
+ * concatenar los registros de un sentido reconstruye el flujo completo y la division en registros conserva la fragmentacion real.
+ */
+
+public final class WireCapture {
+
+    /** Extension de los archivos de captura. */
+    public static final String EXTENSION = ".aocap";
+    /** Primeros bytes de todo archivo de captura. */
+    static final byte[] MAGIC = {'A', 'O', 'W', 'C'};
+    /** Version del formato. */
+    static final int VERSION = 1;
+    /** Tamaño de la cabecera en bytes. */
+    static final int HEADER_SIZE = MAGIC.length + 1 + Long.BYTES;
+
+    /** Bytes recibidos del servidor. */
+    public static final int RECEIVED = 0;
+    /** Bytes enviados al servidor. */
+    public static final int SENT = 1;
+    /** Conexion establecida. El contenido es la direccion del servidor en UTF-8. Es siempre el primer registro. */
+    public static final int CONNECTED = 2;
+    /**
+     * Registros descartados porque el escritor no alcanzo a guardarlos. El contenido es un Long de 8 bytes con la cantidad de
+     * bytes de datos perdidos, y a partir de aca el flujo de cada sentido ya no es continuo.
+     */
+    public static final int DROPPED = 3;
+
+    private WireCapture() {
+    }
+
+}
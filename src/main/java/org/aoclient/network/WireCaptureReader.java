@@ -0,0 +1,149 @@
+package org.aoclient.network;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Lee secuencialmente los registros de un archivo de captura ({@link WireCapture}).
+ * <p>
+ * El contenido de cada registro se lee en un buffer que se reutiliza entre registros, por lo que el {@code ByteBuffer} devuelto
+ * por {@link #getPayload()} solo es valido hasta la siguiente llamada a {@link #next()}.
+ * <pre>{@code
+ * try (WireCaptureReader reader = new WireCaptureReader(path)) {
+ *     while (reader.next())
+ *         if (reader.getType() == WireCapture.RECEIVED) process(reader.getPayload());
+ * }
+ * }</pre>
+ */
+
+public final class WireCaptureReader implements Closeable {
+
+    private final InputStream in;
+    /** Momento en que comenzo la captura, en milisegundos desde la epoca. */
+    private final long startMillis;
+    private byte[] payload = new byte[4096];
+    private int type = -1;
+    private int length;
+    /** Microsegundos desde el comienzo de la captura hasta el registro actual. */
+    private long micros;
+
+    /**
+     * Abre un archivo de captura y valida su cabecera.
+     *
+     * @param path archivo de captura
+     * @throws IOException si el archivo no se pudo leer o no es una captura de una version conocida
+     */
+    public WireCaptureReader(Path path) throws IOException {
+        in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        try {
+            byte[] header = in.readNBytes(WireCapture.HEADER_SIZE);
+            if (header.length < WireCapture.HEADER_SIZE
+                    || !Arrays.equals(header, 0, WireCapture.MAGIC.length, WireCapture.MAGIC, 0, WireCapture.MAGIC.length))
+                throw new IOException("Not a wire capture: " + path);
+            if (header[WireCapture.MAGIC.length] != WireCapture.VERSION)
+                throw new IOException("Unsupported wire capture version " + header[WireCapture.MAGIC.length] + ": " + path);
+            long start = 0;
+            for (int i = 0; i < Long.BYTES; i++)
+                start |= (header[WireCapture.MAGIC.length + 1 + i] & 0xFFL) << 8 * i;
+            startMillis = start;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Concatena el contenido de todos los registros de un tipo, que para {@link WireCapture#RECEIVED} y
+     * {@link WireCapture#SENT} es el flujo completo de bytes en ese sentido.
+     *
+     * @param path archivo de captura
+     * @param type tipo de registro
+     * @return los bytes concatenados
+     * @throws IOException si el archivo no se pudo leer o esta malformado
+     */
+    public static byte[] readStream(Path path, int type) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (WireCaptureReader reader = new WireCaptureReader(path)) {
+            while (reader.next())
+                if (reader.getType() == type) stream.write(reader.payload, 0, reader.length);
+        }
+        return stream.toByteArray();
+    }
+
+    /**
+     * Avanza al siguiente registro.
+     *
+     * @return false si no quedan registros
+     * @throws IOException si el archivo no se pudo leer o termina en medio de un registro
+     */
+    public boolean next() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            type = -1;
+            return false;
+        }
+        type = first;
+        micros += readVarint();
+        long value = readVarint();
+        if (value > Integer.MAX_VALUE) throw new IOException("Invalid record length: " + value);
+        length = (int) value;
+        if (payload.length < length) payload = new byte[Math.max(length, payload.length * 2)];
+        if (in.readNBytes(payload, 0, length) < length) throw new EOFException("Truncated wire capture record");
+        return true;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * @return tipo del registro actual, una de las constantes de {@link WireCapture}
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * @return tiempo transcurrido desde el comienzo de la captura hasta el registro actual, en nanosegundos
+     */
+    public long getTimestampNanos() {
+        return micros * 1000;
+    }
+
+    /**
+     * @return contenido del registro actual, de solo lectura y valido hasta la siguiente llamada a {@link #next()}
+     */
+    public ByteBuffer getPayload() {
+        return ByteBuffer.wrap(payload, 0, length).asReadOnlyBuffer();
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Truncated wire capture record");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Invalid varint in wire capture");
+    }
+
+}
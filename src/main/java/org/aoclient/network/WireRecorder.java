@@ -0,0 +1,287 @@
+package org.aoclient.network;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * Graba en un archivo de captura ({@link WireCapture}) cada lectura y escritura del canal de una conexion.
+ * <p>
+ * El hilo de red, unico productor, codifica cada registro en un anillo de bytes preasignado, sin bloqueos ni asignacion de
+ * memoria, y un hilo propio lo vuelca al archivo cada {@link #DRAIN_INTERVAL_MILLIS} milisegundos (o antes, si el anillo se esta
+ * llenando). Asi grabar cuesta una copia de los bytes por lectura o escritura, y la escritura en disco nunca demora al hilo de
+ * red ni, por lo tanto, a la recepcion de paquetes. Los indices del anillo se publican igual que en {@link SpscRing}.
+ * <p>
+ * Si el disco no da abasto y el anillo se llena, los registros que no entran se descartan y se anota un registro
+ * {@link WireCapture#DROPPED} con la cantidad de bytes perdidos, en lugar de frenar la conexion.
+ * <p>
+ * Se crea al establecer la conexion y se cierra cuando termina el hilo de red, o al cerrar el cliente si la conexion seguia
+ * abierta.
+ */
+
+final class WireRecorder {
+
+    /** Carpeta donde se guardan las capturas. */
+    private static final String CAPTURE_DIRECTORY = "captures";
+    /** Tamaño del anillo, suficiente para varios segundos de trafico de una ciudad llena si el disco se demora. */
+    private static final int RING_SIZE = 4 * 1024 * 1024;
+    /** Intervalo con el que el hilo escritor vuelca el anillo al archivo. */
+    private static final long DRAIN_INTERVAL_MILLIS = 20;
+    /** Tamaño maximo de la cabecera de un registro: tipo, tiempo (varint de 64 bits) y longitud (varint de 32 bits). */
+    private static final int MAX_RECORD_HEADER = 1 + 10 + 5;
+    /** Tamaño de un registro {@link WireCapture#DROPPED} en el peor caso. */
+    private static final int DROPPED_RECORD_SIZE = MAX_RECORD_HEADER + Long.BYTES;
+    /** Tiempo maximo que se espera al hilo escritor al cerrar. */
+    private static final long CLOSE_JOIN_MILLIS = 2000;
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private static final VarHandle PUBLISHED;
+    private static final VarHandle DRAINED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PUBLISHED = lookup.findVarHandle(WireRecorder.class, "published", long.class);
+            DRAINED = lookup.findVarHandle(WireRecorder.class, "drained", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final byte[] ring = new byte[RING_SIZE];
+    private final int mask = RING_SIZE - 1;
+    private final Path path;
+    private final FileChannel file;
+    private final Thread writer;
+    private final Thread shutdownHook;
+    /** Momento en que comenzo la captura, segun {@link System#nanoTime()}. */
+    private final long startNanos;
+
+    /** Posicion hasta la que el productor escribio en el anillo, incluyendo el registro en curso. Solo la usa el productor. */
+    private long head;
+    /** Posicion hasta la que los registros estan completos y el escritor puede volcarlos. La escribe el productor. */
+    private long published;
+    /** Posicion hasta la que el escritor volco el anillo al archivo. La escribe el escritor. */
+    private long drained;
+    /** Copia de {@link #drained} que mantiene el productor para no leerla en cada registro. */
+    private long cachedDrained;
+    /** Microsegundos desde el inicio de la captura en el registro anterior. Solo lo usa el productor. */
+    private long lastMicros;
+    /** Bytes de datos descartados que todavia no se anotaron en un registro {@link WireCapture#DROPPED}. */
+    private long pendingDroppedBytes;
+    /** Total de bytes de datos descartados. Solo lo usa el productor. */
+    private long droppedBytes;
+    /** Total de bytes de datos grabados. Solo lo usa el productor. */
+    private long recordedBytes;
+    private volatile boolean closed;
+
+    private WireRecorder(Path path, FileChannel file) {
+        this.path = path;
+        this.file = file;
+        this.startNanos = System.nanoTime();
+        writer = new Thread(this::drain, "Wire capture");
+        writer.setDaemon(true);
+        shutdownHook = new Thread(this::close, "Wire capture shutdown");
+    }
+
+    /**
+     * Crea un archivo de captura nuevo y comienza a grabar.
+     *
+     * @param address direccion del servidor, que se anota en el primer registro
+     * @return el grabador
+     * @throws IOException si no se pudo crear el archivo
+     */
+    static WireRecorder open(SocketAddress address) throws IOException {
+        Path directory = Paths.get(CAPTURE_DIRECTORY);
+        Files.createDirectories(directory);
+        Path path = directory.resolve("capture-" + LocalDateTime.now().format(FILE_NAME_FORMAT) + WireCapture.EXTENSION);
+        FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(WireCapture.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(WireCapture.MAGIC).put((byte) WireCapture.VERSION).putLong(System.currentTimeMillis()).flip();
+        while (header.hasRemaining())
+            file.write(header);
+
+        WireRecorder recorder = new WireRecorder(path, file);
+        byte[] description = String.valueOf(address).getBytes(StandardCharsets.UTF_8);
+        if (recorder.begin(WireCapture.CONNECTED, description.length)) {
+            recorder.put(description, 0, description.length);
+            recorder.end();
+        }
+        recorder.writer.start();
+        Runtime.getRuntime().addShutdownHook(recorder.shutdownHook);
+        Logger.info("Recording the connection to '{}'", path);
+        return recorder;
+    }
+
+    /**
+     * Graba los bytes recibidos que hay entre la posicion y el limite del buffer, sin modificarlo.
+     *
+     * @param src buffer recien leido del canal, en modo lectura
+     */
+    void recordReceived(ByteBuffer src) {
+        if (!begin(WireCapture.RECEIVED, src.remaining())) return;
+        append(src, src.position(), src.limit());
+        end();
+    }
+
+    /**
+     * Comienza un registro, reservando lugar en el anillo para su cabecera y su contenido. Si no hay lugar, el registro se
+     * descarta.
+     *
+     * @param type   tipo de registro
+     * @param length longitud del contenido
+     * @return true si el registro se puede escribir con {@link #append(ByteBuffer, int, int)} y {@link #end()}
+     */
+    boolean begin(int type, int length) {
+        if (closed) return false;
+        long needed = MAX_RECORD_HEADER + (long) length + (pendingDroppedBytes > 0 ? DROPPED_RECORD_SIZE : 0);
+        if (RING_SIZE - (head - cachedDrained) < needed) {
+            cachedDrained = (long) DRAINED.getAcquire(this);
+            if (RING_SIZE - (head - cachedDrained) < needed) {
+                pendingDroppedBytes += length;
+                droppedBytes += length;
+                LockSupport.unpark(writer);
+                return false;
+            }
+        }
+
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        if (pendingDroppedBytes > 0) putDropped(micros);
+        putHeader(type, micros, length);
+        recordedBytes += length;
+        return true;
+    }
+
+    /**
+     * Agrega al registro en curso los bytes del buffer entre dos posiciones, sin modificar el buffer.
+     */
+    void append(ByteBuffer src, int from, int to) {
+        int length = to - from;
+        int offset = (int) (head & mask);
+        int first = Math.min(length, RING_SIZE - offset);
+        src.get(from, ring, offset, first);
+        if (first < length) src.get(from + first, ring, 0, length - first);
+        head += length;
+    }
+
+    /**
+     * Termina el registro en curso y lo deja disponible para el hilo escritor.
+     */
+    void end() {
+        PUBLISHED.setRelease(this, head);
+        // Con el anillo a mitad de su capacidad no se espera al siguiente intervalo para volcarlo
+        if (head - cachedDrained > RING_SIZE / 2) LockSupport.unpark(writer);
+    }
+
+    /**
+     * Deja de grabar, espera a que el hilo escritor vuelque lo que queda en el anillo y cierra el archivo. Lo llama el hilo de
+     * red al terminar, o el hook de cierre del cliente.
+     */
+    void close() {
+        // Anota los ultimos registros descartados, salvo desde el hook, que no puede escribir en el anillo
+        if (Thread.currentThread() != shutdownHook && pendingDroppedBytes > 0 && !closed) {
+            long deadline = System.nanoTime() + CLOSE_JOIN_MILLIS * 1_000_000;
+            while (RING_SIZE - (head - (long) DRAINED.getAcquire(this)) < DROPPED_RECORD_SIZE && System.nanoTime() < deadline) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(DRAIN_INTERVAL_MILLIS * 1_000_000);
+            }
+            if (RING_SIZE - (head - (long) DRAINED.getAcquire(this)) >= DROPPED_RECORD_SIZE) {
+                putDropped((System.nanoTime() - startNanos) / 1000);
+                PUBLISHED.setRelease(this, head);
+            }
+        }
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_JOIN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // El cliente ya se esta cerrando
+            }
+        }
+        Logger.info("Saved capture '{}': {} bytes recorded, {} bytes dropped", path, recordedBytes, droppedBytes);
+    }
+
+    /**
+     * Cuerpo del hilo escritor: vuelca al archivo los registros publicados hasta que se cierra la captura.
+     */
+    private void drain() {
+        long tail = 0;
+        try (file) {
+            while (true) {
+                // Lee el cierre antes que la posicion publicada, para no perder lo que se publico justo antes de cerrar
+                boolean closing = closed;
+                long available = (long) PUBLISHED.getAcquire(this) - tail;
+                if (available > 0) {
+                    int offset = (int) (tail & mask);
+                    int length = (int) Math.min(available, RING_SIZE - offset);
+                    ByteBuffer chunk = ByteBuffer.wrap(ring, offset, length);
+                    while (chunk.hasRemaining())
+                        file.write(chunk);
+                    tail += length;
+                    DRAINED.setRelease(this, tail);
+                } else if (closing) break;
+                else LockSupport.parkNanos(this, DRAIN_INTERVAL_MILLIS * 1_000_000);
+            }
+        } catch (IOException e) {
+            // El productor seguira llenando el anillo hasta descartar todo, sin afectar la conexion
+            Logger.error("Could not write the capture '{}': {}", path, e.getMessage());
+        }
+    }
+
+    private void putDropped(long micros) {
+        putHeader(WireCapture.DROPPED, micros, Long.BYTES);
+        for (int i = 0; i < Long.BYTES; i++)
+            putByte((int) (pendingDroppedBytes >>> 8 * i));
+        pendingDroppedBytes = 0;
+    }
+
+    private void putHeader(int type, long micros, int length) {
+        putByte(type);
+        putVarint(micros - lastMicros);
+        putVarint(length);
+        lastMicros = micros;
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            putByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        putByte((int) value);
+    }
+
+    private void putByte(int value) {
+        ring[(int) (head++ & mask)] = (byte) value;
+    }
+
+    private void put(byte[] src, int offset, int length) {
+        for (int i = 0; i < length; i++)
+            putByte(src[offset + i]);
+    }
+
+}
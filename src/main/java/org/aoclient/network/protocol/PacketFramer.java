@@ -0,0 +1,58 @@
+package org.aoclient.network.protocol;
+
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.codec.ServerPacketLengths;
+
+import java.net.ProtocolException;
+
+/**
+ * <p>
+ * Determina si el paquete del servidor que esta al comienzo del buffer llego completo, sin consumir ningun byte.
+ * <p>
+ * El protocolo heredado de VB6 no antepone la longitud a cada paquete: el tamaño depende del tipo de paquete y, en los paquetes
+ * de longitud variable, de los prefijos de longitud de sus cadenas o de los contadores de elementos. La longitud la calcula
+ * {@link ServerPacketLengths}, generada por {@link org.aoclient.scripts.PacketCodecGenerator} a partir del layout declarado en
+ * {@link ServerPacket#getLayout()}: los paquetes de layout fijo cuestan una comparacion, y los variables examinan solo los
+ * prefijos necesarios con {@link PacketBuffer#peekIntegerAt(int)} y {@link PacketBuffer#peekByteAt(int)}.
+ * <p>
+ * Cuando un paquete variable esta incompleto, se recuerda la cantidad minima de bytes que necesita junto con la posicion absoluta
+ * de su comienzo ({@link PacketBuffer#getConsumedBytes()}), de modo que las siguientes llamadas no vuelven a recorrer el paquete
+ * hasta que el buffer tenga al menos esa cantidad de bytes.
+ */
+
+public class PacketFramer {
+
+    /** Valor devuelto por {@link #frameLength(ServerPacket, PacketBuffer)} cuando el paquete todavia no llego completo. */
+    public static final int INCOMPLETE = -1;
+
+    /** Posicion absoluta del paquete incompleto recordado, o -1 si no hay ninguno. */
+    private long pendingFrameStart = -1;
+    /** Cantidad minima de bytes que necesita el paquete incompleto recordado antes de volver a recorrerlo. */
+    private int pendingFrameMinimum;
+
+    /**
+     * Calcula la longitud del paquete que comienza en el cursor de lectura del buffer, incluyendo su byte identificador.
+     *
+     * @param packet paquete identificado por el primer byte del buffer
+     * @param buffer buffer con los bytes recibidos del servidor
+     * @return la longitud total del paquete, o {@link #INCOMPLETE} si todavia faltan bytes
+     * @throws ProtocolException si el paquete contiene un mensaje de {@code MULTI_MESSAGE} de tipo desconocido, con lo que se
+     *                           perdio la sincronizacion con el flujo
+     */
+    public int frameLength(ServerPacket packet, PacketBuffer buffer) throws ProtocolException {
+        // Si es el mismo paquete incompleto de la llamada anterior y no llegaron suficientes bytes, no lo vuelve a recorrer
+        long frameStart = buffer.getConsumedBytes();
+        if (frameStart == pendingFrameStart && buffer.getLength() < pendingFrameMinimum) return INCOMPLETE;
+
+        int length = ServerPacketLengths.frameLength(packet.getId(), buffer);
+        if (length > 0) {
+            pendingFrameStart = -1;
+            return length;
+        }
+
+        pendingFrameStart = frameStart;
+        pendingFrameMinimum = -length;
+        return INCOMPLETE;
+    }
+
+}
@@ -1,187 +1,343 @@
 package org.aoclient.network.protocol;
 
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.NotEnoughBytesException;
 import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder;
 import org.aoclient.network.protocol.handlers.*;
 import org.aoclient.network.protocol.handlers.gm.*;
 import org.tinylog.Logger;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.net.ProtocolException;
 
 /**
  * Actua como un despachador que redirige cada paquete a su correspondiente manejador mediante una asociacion entre el tipo de
  * paquete del servidor y una implementacion concreta del manejador.
+ * <p>
+ * Tanto los paquetes como los handlers se guardan en arrays indexados por el ID del paquete (un byte sin signo), por lo que
+ * obtener el handler de un paquete es un acceso directo al array, sin boxing del ID ni busquedas en un {@code HashMap}.
+ * <p>
+ * Cada receptor aplica los paquetes sobre una {@link Session}, que les pasa a los handlers. El cliente tiene un unico receptor
+ * sobre {@link Session#CLIENT}; las herramientas que atienden varias conexiones crean un receptor por sesion.
  */
 
 public class PacketReceiver {
 
-    public static ServerPacket serverPacket;
-    /** Almacena la asociacion entre paquetes del servidor y sus respectivos handlers. */
-    private final Map<ServerPacket, PacketHandler> handlers = new HashMap<>();
+    /** Cantidad maxima de paquetes que se procesan por llamada a {@link #handleIncomingBytes(PacketBuffer)}. */
+    public static final int MAX_PACKETS_PER_CALL = 200;
+    /** Cantidad de IDs posibles, ya que el ID del paquete ocupa un byte sin signo. */
+    private static final int PACKET_ID_COUNT = 256;
 
-    public PacketReceiver() {
+    /**
+     * Ultimo paquete que proceso el receptor. Es propio de cada receptor, ya que las herramientas que atienden varias sesiones
+     * los usan desde distintos hilos.
+     */
+    private ServerPacket serverPacket;
+    /** Handlers indexados por el ID del paquete que manejan. */
+    private final PacketHandler[] handlers = new PacketHandler[PACKET_ID_COUNT];
+    /** Determina si el paquete al comienzo del buffer llego completo antes de invocar a su handler. */
+    private final PacketFramer framer = new PacketFramer();
+    /** Sesion sobre la que se aplican los paquetes. */
+    private final Session session;
+
+    /**
+     * Crea un receptor que aplica los paquetes con los handlers del juego.
+     *
+     * @param session sesion sobre la que se aplican los paquetes
+     */
+    public PacketReceiver(Session session) {
+        this.session = session;
         registerHandlers();
     }
 
+    /**
+     * Crea un receptor que procesa todos los paquetes con el mismo handler en lugar de los handlers del juego.
+     * <p>
+     * Lo usan las herramientas que ejercitan el protocolo sin el motor, como {@link org.aoclient.scripts.PacketStreamHarness},
+     * para que procesar un paquete no dependa del estado del juego ni de la interfaz. Con {@link #register(ServerPacket,
+     * PacketHandler)} se pueden reemplazar despues los handlers de algunos paquetes, por ejemplo por los del juego.
+     *
+     * @param session sesion que se le pasa al handler
+     * @param handler handler que procesara todos los paquetes
+     */
+    public PacketReceiver(Session session, PacketHandler handler) {
+        this.session = session;
+        for (ServerPacket packet : ServerPacket.values())
+            register(packet, handler);
+    }
+
     /**
      * Registra los handlers asociados a los diferentes paquetes del servidor.
      */
     private void registerHandlers() {
-        handlers.put(ServerPacket.LOGGED, new LoggedHandler());
-        handlers.put(ServerPacket.REMOVE_DIALOGS, new RemoveDialogsHandler());
-        handlers.put(ServerPacket.REMOVE_CHAR_DIALOG, new RemoveCharDialogHandler());
-        handlers.put(ServerPacket.NAVIGATE_TOGGLE, new NavigateToggleHandler());
-        handlers.put(ServerPacket.DISCONNECT, new DisconnectHandler());
-        handlers.put(ServerPacket.COMMERCE_END, new CommerceEndHandler());
-        handlers.put(ServerPacket.COMMERCE_CHAT, new CommerceChatHandler());
-        handlers.put(ServerPacket.BANK_END, new BankEndHandler());
-        handlers.put(ServerPacket.COMMERCE_INIT, new CommerceInitHandler());
-        handlers.put(ServerPacket.BANK_INIT, new BankInitHandler());
-        handlers.put(ServerPacket.USER_COMMERCE_INIT, new UserCommerceInitHandler());
-        handlers.put(ServerPacket.USER_COMMERCE_END, new UserCommerceEndHandler());
-        handlers.put(ServerPacket.USER_OFFER_CONFIRM, new UserOfferConfirmHandler());
-        handlers.put(ServerPacket.SHOW_BLACKSMITH_FORM, new ShowBlacksmithFormHandler());
-        handlers.put(ServerPacket.SHOW_CARPENTER_FORM, new ShowCarpenterFormHandler());
-        handlers.put(ServerPacket.UPDATE_STA, new UpdateStaHandler());
-        handlers.put(ServerPacket.UPDATE_MANA, new UpdateManaHandler());
-        handlers.put(ServerPacket.UPDATE_HP, new UpdateHPHandler());
-        handlers.put(ServerPacket.UPDATE_GOLD, new UpdateGoldHandler());
-        handlers.put(ServerPacket.UPDATE_BANK_GOLD, new UpdateBankGoldHandler());
-        handlers.put(ServerPacket.UPDATE_EXP, new UpdateExpHandler());
-        handlers.put(ServerPacket.CHANGE_MAP, new ChangeMapHandler());
-        handlers.put(ServerPacket.POS_UPDATE, new PosUpdateHandler());
-        handlers.put(ServerPacket.CHAT_OVER_HEAD, new ChatOverHeadHandler());
-        handlers.put(ServerPacket.CONSOLE_MSG, new ConsoleMessageHandler());
-        handlers.put(ServerPacket.GUILD_CHAT, new GuildChatHandler());
-        handlers.put(ServerPacket.SHOW_MESSAGE_BOX, new ShowMessageBoxHandler());
-        handlers.put(ServerPacket.USER_INDEX_IN_SERVER, new UserIndexInServerHandler());
-        handlers.put(ServerPacket.USER_CHAR_INDEX_IN_SERVER, new UserCharIndexInServerHandler());
-        handlers.put(ServerPacket.CHARACTER_CREATE, new CharacterCreateHandler());
-        handlers.put(ServerPacket.CHARACTER_REMOVE, new CharacterRemoveHandler());
-        handlers.put(ServerPacket.CHARACTER_CHANGE_NICK, new CharacterChangeNickHandler());
-        handlers.put(ServerPacket.CHARACTER_MOVE, new CharacterMoveHandler());
-        handlers.put(ServerPacket.FORCE_CHAR_MOVE, new ForceCharMoveHandler());
-        handlers.put(ServerPacket.CHARACTER_CHANGE, new CharacterChangeHandler());
-        handlers.put(ServerPacket.OBJECT_CREATE, new ObjectCreateHandler());
-        handlers.put(ServerPacket.OBJECT_DELETE, new ObjectDeleteHandler());
-        handlers.put(ServerPacket.BLOCK_POSITION, new BlockPositionHandler());
-        handlers.put(ServerPacket.PLAY_MIDI, new PlayMIDIHandler());
-        handlers.put(ServerPacket.PLAY_WAVE, new PlayWaveHandler());
-        handlers.put(ServerPacket.GUILD_LIST, new GuildListHandler());
-        handlers.put(ServerPacket.AREA_CHANGED, new AreaChangedHandler());
-        handlers.put(ServerPacket.PAUSE_TOGGLE, new PauseToggleHandler());
-        handlers.put(ServerPacket.RAIN_TOGGLE, new RainToggleHandler());
-        handlers.put(ServerPacket.CREATE_FX, new CreateFXHandler());
-        handlers.put(ServerPacket.UPDATE_USER_STATS, new UpdateUserStatsHandler());
-        handlers.put(ServerPacket.WORK_REQUEST_TARGET, new WorkRequestTargetHandler());
-        handlers.put(ServerPacket.CHANGE_BANK_SLOT, new ChangeBankSlotHandler());
-        handlers.put(ServerPacket.CHANGE_INVENTORY_SLOT, new ChangeInventorySlotHandler());
-        handlers.put(ServerPacket.CHANGE_SPELL_SLOT, new ChangeSpellSlotHandler());
-        handlers.put(ServerPacket.ATTRIBUTES, new AttributesHandler());
-        handlers.put(ServerPacket.BLACKSMITH_WEAPONS, new BlacksmithWeaponsHandler());
-        handlers.put(ServerPacket.BLACKSMITH_ARMORS, new BlacksmithArmorsHandler());
-        handlers.put(ServerPacket.CARPENTER_OBJECTS, new CarpenterObjectsHandler());
-        handlers.put(ServerPacket.REST_OK, new RestOKHandler());
-        handlers.put(ServerPacket.ERROR_MSG, new ErrorMessageHandler());
-        handlers.put(ServerPacket.BLIND, new BlindHandler());
-        handlers.put(ServerPacket.DUMB, new DumbHandler());
-        handlers.put(ServerPacket.SHOW_SIGNAL, new ShowSignalHandler());
-        handlers.put(ServerPacket.CHANGE_NPC_INVENTORY_SLOT, new ChangeNPCInventorySlotHandler());
-        handlers.put(ServerPacket.UPDATE_HUNGER_AND_THIRST, new UpdateHungerAndThirstHandler());
-        handlers.put(ServerPacket.FAME, new FameHandler());
-        handlers.put(ServerPacket.MINI_STATS, new MiniStatsHandler());
-        handlers.put(ServerPacket.LEVEL_UP, new LevelUpHandler());
-        handlers.put(ServerPacket.ADD_FORUM_MSG, new AddForumMessageHandler());
-        handlers.put(ServerPacket.SHOW_FORUM_FORM, new ShowForumFormHandler());
-        handlers.put(ServerPacket.SET_INVISIBLE, new SetInvisibleHandler());
-        handlers.put(ServerPacket.DICE_ROLL, new DiceRollHandler());
-        handlers.put(ServerPacket.MEDITATE_TOGGLE, new MeditateToggleHandler());
-        handlers.put(ServerPacket.BLIND_NO_MORE, new BlindNoMoreHandler());
-        handlers.put(ServerPacket.DUMB_NO_MORE, new DumbNoMoreHandler());
-        handlers.put(ServerPacket.SEND_SKILLS, new SendSkillsHandler());
-        handlers.put(ServerPacket.TRAINER_CREATURE_LIST, new TrainerCreatureListHandler());
-        handlers.put(ServerPacket.GUILD_NEWS, new GuildNewsHandler());
-        handlers.put(ServerPacket.OFFER_DETAILS, new OfferDetailsHandler());
-        handlers.put(ServerPacket.ALIANCE_PROPOSALS_LIST, new AlianceProposalsListHandler());
-        handlers.put(ServerPacket.PEACE_PROPOSALS_LIST, new PeaceProposalsListHandler());
-        handlers.put(ServerPacket.CHARACTER_INFO, new CharacterInfoHandler());
-        handlers.put(ServerPacket.GUILD_LEADER_INFO, new GuildLeaderInfoHandler());
-        handlers.put(ServerPacket.GUILD_DETAILS, new GuildDetailsHandler());
-        handlers.put(ServerPacket.SHOW_GUILD_FUNDATION_FORM, new ShowGuildFundationFormHandler());
-        handlers.put(ServerPacket.PARALIZE_OK, new ParalizeOKHandler());
-        handlers.put(ServerPacket.SHOW_USER_REQUEST, new ShowUserRequestHandler());
-        handlers.put(ServerPacket.TRADE_OK, new TradeOKHandler());
-        handlers.put(ServerPacket.BANK_OK, new BankOKHandler());
-        handlers.put(ServerPacket.CHANGE_USER_TRADE_SLOT, new ChangeUserTradeSlotHandler());
-        handlers.put(ServerPacket.SEND_NIGHT, new SendNightHandler());
-        handlers.put(ServerPacket.PONG, new PongHandler());
-        handlers.put(ServerPacket.UPDATE_TAG_AND_STATUS, new UpdateTagAndStatusHandler());
-        handlers.put(ServerPacket.GUILD_MEMBER_INFO, new GuildMemberInfoHandler());
-        handlers.put(ServerPacket.SPAWN_LIST, new SpawnListHandler());
-        handlers.put(ServerPacket.SHOW_SOS_FORM, new ShowSOSFormHandler());
-        handlers.put(ServerPacket.SHOW_MOTD_EDITION_FORM, new ShowMOTDEditionFormHandler());
-        handlers.put(ServerPacket.SHOW_GM_PANEL_FORM, new ShowGMPanelFormHandler());
-        handlers.put(ServerPacket.USER_NAME_LIST, new UserNameListHandler());
-        handlers.put(ServerPacket.SHOW_GUILD_ALIGN, new ShowGuildAlignHandler());
-        handlers.put(ServerPacket.SHOW_PARTY_FORM, new ShowPartyFormHandler());
-        handlers.put(ServerPacket.UPDATE_STRENGHT_AND_DEXTERITY, new UpdateStrenghtAndDexterityHandler());
-        handlers.put(ServerPacket.UPDATE_STRENGHT, new UpdateStrenghtHandler());
-        handlers.put(ServerPacket.UPDATE_DEXTERITY, new UpdateDexterityHandler());
-        handlers.put(ServerPacket.ADD_SLOTS, new AddSlotsHandler());
-        handlers.put(ServerPacket.MULTI_MESSAGE, new MultiMessageHandler());
-        handlers.put(ServerPacket.STOP_WORKING, new StopWorkingHandler());
-        handlers.put(ServerPacket.CANCEL_OFFER_ITEM, new CancelOfferItemHandler());
+        register(ServerPacket.LOGGED, new LoggedHandler());
+        register(ServerPacket.REMOVE_DIALOGS, new RemoveDialogsHandler());
+        register(ServerPacket.REMOVE_CHAR_DIALOG, new RemoveCharDialogHandler());
+        register(ServerPacket.NAVIGATE_TOGGLE, new NavigateToggleHandler());
+        register(ServerPacket.DISCONNECT, new DisconnectHandler());
+        register(ServerPacket.COMMERCE_END, new CommerceEndHandler());
+        register(ServerPacket.COMMERCE_CHAT, new CommerceChatHandler());
+        register(ServerPacket.BANK_END, new BankEndHandler());
+        register(ServerPacket.COMMERCE_INIT, new CommerceInitHandler());
+        register(ServerPacket.BANK_INIT, new BankInitHandler());
+        register(ServerPacket.USER_COMMERCE_INIT, new UserCommerceInitHandler());
+        register(ServerPacket.USER_COMMERCE_END, new UserCommerceEndHandler());
+        register(ServerPacket.USER_OFFER_CONFIRM, new UserOfferConfirmHandler());
+        register(ServerPacket.SHOW_BLACKSMITH_FORM, new ShowBlacksmithFormHandler());
+        register(ServerPacket.SHOW_CARPENTER_FORM, new ShowCarpenterFormHandler());
+        register(ServerPacket.UPDATE_STA, new UpdateStaHandler());
+        register(ServerPacket.UPDATE_MANA, new UpdateManaHandler());
+        register(ServerPacket.UPDATE_HP, new UpdateHPHandler());
+        register(ServerPacket.UPDATE_GOLD, new UpdateGoldHandler());
+        register(ServerPacket.UPDATE_BANK_GOLD, new UpdateBankGoldHandler());
+        register(ServerPacket.UPDATE_EXP, new UpdateExpHandler());
+        register(ServerPacket.CHANGE_MAP, new ChangeMapHandler());
+        register(ServerPacket.POS_UPDATE, new PosUpdateHandler());
+        register(ServerPacket.CHAT_OVER_HEAD, new ChatOverHeadHandler());
+        register(ServerPacket.CONSOLE_MSG, new ConsoleMessageHandler());
+        register(ServerPacket.GUILD_CHAT, new GuildChatHandler());
+        register(ServerPacket.SHOW_MESSAGE_BOX, new ShowMessageBoxHandler());
+        register(ServerPacket.USER_INDEX_IN_SERVER, new UserIndexInServerHandler());
+        register(ServerPacket.USER_CHAR_INDEX_IN_SERVER, new UserCharIndexInServerHandler());
+        register(ServerPacket.CHARACTER_CREATE, new CharacterCreateHandler());
+        register(ServerPacket.CHARACTER_REMOVE, new CharacterRemoveHandler());
+        register(ServerPacket.CHARACTER_CHANGE_NICK, new CharacterChangeNickHandler());
+        register(ServerPacket.CHARACTER_MOVE, new CharacterMoveHandler());
+        register(ServerPacket.FORCE_CHAR_MOVE, new ForceCharMoveHandler());
+        register(ServerPacket.CHARACTER_CHANGE, new CharacterChangeHandler());
+        register(ServerPacket.OBJECT_CREATE, new ObjectCreateHandler());
+        register(ServerPacket.OBJECT_DELETE, new ObjectDeleteHandler());
+        register(ServerPacket.BLOCK_POSITION, new BlockPositionHandler());
+        register(ServerPacket.PLAY_MIDI, new PlayMIDIHandler());
+        register(ServerPacket.PLAY_WAVE, new PlayWaveHandler());
+        register(ServerPacket.GUILD_LIST, new GuildListHandler());
+        register(ServerPacket.AREA_CHANGED, new AreaChangedHandler());
+        register(ServerPacket.PAUSE_TOGGLE, new PauseToggleHandler());
+        register(ServerPacket.RAIN_TOGGLE, new RainToggleHandler());
+        register(ServerPacket.CREATE_FX, new CreateFXHandler());
+        register(ServerPacket.UPDATE_USER_STATS, new UpdateUserStatsHandler());
+        register(ServerPacket.WORK_REQUEST_TARGET, new WorkRequestTargetHandler());
+        register(ServerPacket.CHANGE_BANK_SLOT, new ChangeBankSlotHandler());
+        register(ServerPacket.CHANGE_INVENTORY_SLOT, new ChangeInventorySlotHandler());
+        register(ServerPacket.CHANGE_SPELL_SLOT, new ChangeSpellSlotHandler());
+        register(ServerPacket.ATTRIBUTES, new AttributesHandler());
+        register(ServerPacket.BLACKSMITH_WEAPONS, new BlacksmithWeaponsHandler());
+        register(ServerPacket.BLACKSMITH_ARMORS, new BlacksmithArmorsHandler());
+        register(ServerPacket.CARPENTER_OBJECTS, new CarpenterObjectsHandler());
+        register(ServerPacket.REST_OK, new RestOKHandler());
+        register(ServerPacket.ERROR_MSG, new ErrorMessageHandler());
+        register(ServerPacket.BLIND, new BlindHandler());
+        register(ServerPacket.DUMB, new DumbHandler());
+        register(ServerPacket.SHOW_SIGNAL, new ShowSignalHandler());
+        register(ServerPacket.CHANGE_NPC_INVENTORY_SLOT, new ChangeNPCInventorySlotHandler());
+        register(ServerPacket.UPDATE_HUNGER_AND_THIRST, new UpdateHungerAndThirstHandler());
+        register(ServerPacket.FAME, new FameHandler());
+        register(ServerPacket.MINI_STATS, new MiniStatsHandler());
+        register(ServerPacket.LEVEL_UP, new LevelUpHandler());
+        register(ServerPacket.ADD_FORUM_MSG, new AddForumMessageHandler());
+        register(ServerPacket.SHOW_FORUM_FORM, new ShowForumFormHandler());
+        register(ServerPacket.SET_INVISIBLE, new SetInvisibleHandler());
+        register(ServerPacket.DICE_ROLL, new DiceRollHandler());
+        register(ServerPacket.MEDITATE_TOGGLE, new MeditateToggleHandler());
+        register(ServerPacket.BLIND_NO_MORE, new BlindNoMoreHandler());
+        register(ServerPacket.DUMB_NO_MORE, new DumbNoMoreHandler());
+        register(ServerPacket.SEND_SKILLS, new SendSkillsHandler());
+        register(ServerPacket.TRAINER_CREATURE_LIST, new TrainerCreatureListHandler());
+        register(ServerPacket.GUILD_NEWS, new GuildNewsHandler());
+        register(ServerPacket.OFFER_DETAILS, new OfferDetailsHandler());
+        register(ServerPacket.ALIANCE_PROPOSALS_LIST, new AlianceProposalsListHandler());
+        register(ServerPacket.PEACE_PROPOSALS_LIST, new PeaceProposalsListHandler());
+        register(ServerPacket.CHARACTER_INFO, new CharacterInfoHandler());
+        register(ServerPacket.GUILD_LEADER_INFO, new GuildLeaderInfoHandler());
+        register(ServerPacket.GUILD_DETAILS, new GuildDetailsHandler());
+        register(ServerPacket.SHOW_GUILD_FUNDATION_FORM, new ShowGuildFundationFormHandler());
+        register(ServerPacket.PARALIZE_OK, new ParalizeOKHandler());
+        register(ServerPacket.SHOW_USER_REQUEST, new ShowUserRequestHandler());
+        register(ServerPacket.TRADE_OK, new TradeOKHandler());
+        register(ServerPacket.BANK_OK, new BankOKHandler());
+        register(ServerPacket.CHANGE_USER_TRADE_SLOT, new ChangeUserTradeSlotHandler());
+        register(ServerPacket.SEND_NIGHT, new SendNightHandler());
+        register(ServerPacket.PONG, new PongHandler());
+        register(ServerPacket.UPDATE_TAG_AND_STATUS, new UpdateTagAndStatusHandler());
+        register(ServerPacket.GUILD_MEMBER_INFO, new GuildMemberInfoHandler());
+        register(ServerPacket.SPAWN_LIST, new SpawnListHandler());
+        register(ServerPacket.SHOW_SOS_FORM, new ShowSOSFormHandler());
+        register(ServerPacket.SHOW_MOTD_EDITION_FORM, new ShowMOTDEditionFormHandler());
+        register(ServerPacket.SHOW_GM_PANEL_FORM, new ShowGMPanelFormHandler());
+        register(ServerPacket.USER_NAME_LIST, new UserNameListHandler());
+        register(ServerPacket.SHOW_GUILD_ALIGN, new ShowGuildAlignHandler());
+        register(ServerPacket.SHOW_PARTY_FORM, new ShowPartyFormHandler());
+        register(ServerPacket.UPDATE_STRENGHT_AND_DEXTERITY, new UpdateStrenghtAndDexterityHandler());
+        register(ServerPacket.UPDATE_STRENGHT, new UpdateStrenghtHandler());
+        register(ServerPacket.UPDATE_DEXTERITY, new UpdateDexterityHandler());
+        register(ServerPacket.ADD_SLOTS, new AddSlotsHandler());
+        register(ServerPacket.MULTI_MESSAGE, new MultiMessageHandler());
+        register(ServerPacket.STOP_WORKING, new StopWorkingHandler());
+        register(ServerPacket.CANCEL_OFFER_ITEM, new CancelOfferItemHandler());
     }
 
     /**
-     * Maneja los bytes entrantes desde el buffer del paquete del servidor, validando el paquete y procesandolo a traves del
-     * handler correspondiente, si esta disponible.
+     * Maneja los paquetes completos que haya en el buffer del servidor, validando cada paquete y procesandolo a traves del
+     * handler correspondiente.
+     * <p>
+     * Los paquetes se procesan en un bucle (y no recursivamente), por lo que una rafaga grande no puede desbordar la pila. Como
+     * maximo se procesan {@link #MAX_PACKETS_PER_CALL} paquetes por llamada para que una rafaga tampoco pueda congelar un frame:
+     * los paquetes restantes quedan en el buffer y se continua desde ahi en la siguiente llamada.
      *
-     * @param buffer buffer que contiene los bytes del paquete recibido del servidor
+     * @param buffer buffer que contiene los bytes de los paquetes recibidos del servidor
+     * @return la cantidad de paquetes procesados
      */
-    public void handleIncomingBytes(PacketBuffer buffer) {
-        if (buffer.getLength() <= 0) return;
+    public int handleIncomingBytes(PacketBuffer buffer) {
+        int handledPackets = 0;
+        while (handledPackets < MAX_PACKETS_PER_CALL && buffer.getLength() > 0 && handleNextPacket(buffer))
+            handledPackets++;
+        return handledPackets;
+    }
 
+    /**
+     * Procesa el paquete que esta al comienzo del buffer.
+     * <p>
+     * Antes de invocar al handler, {@link PacketFramer} verifica que el paquete completo este en el buffer. Si todavia faltan
+     * bytes, el paquete queda intacto a la espera del resto sin que su handler lo procese parcialmente.
+     * <p>
+     * Un ID desconocido o un paquete que no se puede delimitar significan que se perdio la sincronizacion con el flujo, ya que no
+     * se sabe donde empieza el paquete siguiente. En ese caso se cierra la sesion ({@link Session#protocolError(String)}) y los
+     * bytes quedan en el buffer sin procesar.
+     *
+     * @param buffer buffer que contiene los bytes de los paquetes recibidos del servidor
+     * @return true si el paquete se proceso y se puede continuar con el siguiente, false si hay que esperar mas bytes o se cerro
+     * la sesion
+     */
+    private boolean handleNextPacket(PacketBuffer buffer) {
         // Obtiene el ID del paquete del servidor
-        int packetId = buffer.peekByte();
+        int packetId = buffer.peekByteAt(0);
 
-        // Valida el ID del paquete del servidor antes de procesarlo
-        if (!isValidPacketId(packetId)) {
-            Logger.debug("Invalid package ID received: " + packetId);
-            return;
+        // Obtiene el paquete del servidor a partir del ID y lo valida antes de procesarlo
+        ServerPacket serverPacket = ServerPacket.fromId(packetId);
+        if (serverPacket == null) {
+            protocolError("Invalid packet ID received: " + packetId);
+            return false;
         }
 
-        // Obtiene el paquete del servidor a partir del ID del paquete del servidor
-        ServerPacket serverPacket = ServerPacket.getPacket(packetId);
+        // Espera a que el paquete llegue completo antes de procesarlo
+        int frameLength;
+        try {
+            frameLength = framer.frameLength(serverPacket, buffer);
+        } catch (ProtocolException e) {
+            // Igual que con un ID desconocido, no se sabe donde termina el paquete y no se puede seguir leyendo el flujo
+            protocolError("Malformed server packet [" + serverPacket + "]: " + e.getMessage());
+            return false;
+        }
+        if (frameLength == PacketFramer.INCOMPLETE) return false;
 
-        Logger.debug("Processing server packet [" + serverPacket + "] with ID " + packetId);
+        return handlePacket(serverPacket, buffer, frameLength);
+    }
 
-        // Guarda la referencia del paquete del servidor en la variable estatica serverPacket de clase para poder usarla sin instanciarla en el metodo disconnect() de PacketBuffer
-        PacketReceiver.serverPacket = serverPacket;
+    /**
+     * Procesa un paquete completo que esta al comienzo del buffer, cuya longitud ya fue calculada por {@link PacketFramer}.
+     * <p>
+     * Si el handler lee menos bytes que los indicados por el layout del paquete, el resto se descarta para no perder la
+     * sincronizacion con el flujo. Si en cambio lee mas, ya sea que encuentre el paquete incompleto
+     * ({@link NotEnoughBytesException}) o que consuma bytes del paquete siguiente, el handler y el layout no coinciden y no hay
+     * forma de saber donde sigue el flujo, por lo que se cierra la sesion ({@link Session#protocolError(String)}). Si el paquete
+     * estaba incompleto, el cursor de lectura vuelve a la marca del paquete.
+     *
+     * @param serverPacket paquete identificado por el primer byte del buffer
+     * @param buffer       buffer que contiene el paquete
+     * @param frameLength  longitud total del paquete en bytes
+     * @return true si el paquete se proceso, false si el handler leyo mas alla del final del paquete y se cerro la sesion
+     */
+    public boolean handlePacket(ServerPacket serverPacket, PacketBuffer buffer, int frameLength) {
+        // Sin la comprobacion, el array de argumentos se crearia por cada paquete aunque el nivel debug este desactivado
+        if (Logger.isDebugEnabled()) Logger.debug("Processing server packet [{}] with ID {}", serverPacket, serverPacket.getId());
+
+        // Guarda la referencia del paquete del servidor para poder consultarla desde fuera
+        this.serverPacket = serverPacket;
 
         // Obtiene el handler del paquete del servidor
-        PacketHandler handler = handlers.get(serverPacket);
+        PacketHandler handler = handlers[serverPacket.getId()];
+        if (handler == null) {
+            // Como se conoce la longitud del paquete, se puede descartar sin perder la sincronizacion con el flujo
+            Logger.warn("No handler registered for server packet [{}]", serverPacket);
+            buffer.skip(frameLength);
+            return true;
+        }
 
-        if (handler != null) {
+        long frameStart = buffer.getConsumedBytes();
 
+        try {
             // Maneja los bytes del buffer del paquete del servidor en el handler correspondiente
-            handler.handle(buffer);
-
-            // Si quedan bytes, continua manejando los bytes del buffer del paquete del servidor
-            if (buffer.getLength() > 0) handleIncomingBytes(buffer);
+            handler.handle(session, buffer);
+            // Confirma la transaccion por si el handler termino antes de llegar a su propio commit
+            buffer.commit();
+        } catch (NotEnoughBytesException e) {
+            // PacketFramer ya dio el paquete por completo, asi que esperar mas bytes no lo arreglaria
+            buffer.rollback();
+            protocolError("Handler of [" + serverPacket + "] read past the end of its layout");
+            return false;
+        }
 
+        // Verifica que el handler haya leido exactamente el paquete
+        int bytesRead = (int) (buffer.getConsumedBytes() - frameStart);
+        if (bytesRead < frameLength) buffer.skip(frameLength - bytesRead);
+        else if (bytesRead > frameLength) {
+            protocolError("Handler of [" + serverPacket + "] read " + bytesRead + " bytes, but its layout has " + frameLength);
+            return false;
         }
 
+        return true;
+    }
+
+    /**
+     * Aplica un paquete que el hilo de red ya decodifico, pasandole el evento a su handler sin volver a leer bytes.
+     *
+     * @param event evento con los campos del paquete
+     */
+    public void handleEvent(ServerPacketDecoder.Event event) {
+        ServerPacket serverPacket = event.getPacket();
+        if (Logger.isDebugEnabled()) Logger.debug("Processing decoded server packet [{}] with ID {}", serverPacket,
+                serverPacket.getId());
+
+        this.serverPacket = serverPacket;
+
+        // Los paquetes con decoder se registran con un DecodedPacketHandler, salvo en los receptores que usan un unico handler
+        if (handlers[serverPacket.getId()] instanceof DecodedPacketHandler<?> handler) handler.handleDecoded(session, event);
+        else Logger.warn("No decoded handler registered for server packet [{}]", serverPacket);
+    }
+
+    /**
+     * Registra un error de protocolo y cierra la sesion, ya que el resto del flujo no se puede interpretar.
+     *
+     * @param reason descripcion del error
+     */
+    private void protocolError(String reason) {
+        Logger.error("Protocol error, closing the connection: {}", reason);
+        session.protocolError(reason);
+    }
+
+    /**
+     * @return el ultimo paquete que proceso el receptor, o null si todavia no proceso ninguno
+     */
+    public ServerPacket getServerPacket() {
+        return serverPacket;
+    }
+
+    /**
+     * @param packet paquete del servidor
+     * @return el handler registrado para el paquete, o null si no tiene
+     */
+    PacketHandler getHandler(ServerPacket packet) {
+        return handlers[packet.getId()];
     }
 
     /**
-     * Verifica si existe un paquete del servidor con el ID especificado.
+     * Asocia un handler al paquete del servidor especificado.
      *
-     * @param packetId ID del paquete a validar
-     * @return true si existe un paquete con el ID especificado, false en caso contrario
+     * @param packet  paquete del servidor
+     * @param handler handler que procesara el paquete
      */
-    private boolean isValidPacketId(int packetId) {
-        return ServerPacket.PACKET_REGISTRY.containsKey(packetId);
+    public void register(ServerPacket packet, PacketHandler handler) {
+        handlers[packet.getId()] = handler;
     }
 
 }
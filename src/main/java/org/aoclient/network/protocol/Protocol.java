@@ -1,19 +1,17 @@
 package org.aoclient.network.protocol;
 
 import org.aoclient.engine.game.Console;
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.models.Direction;
-import org.aoclient.engine.game.models.Skill;
 import org.aoclient.engine.renderer.RGBColor;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.SocketConnection;
-import org.aoclient.network.protocol.types.GMCommand;
+import org.aoclient.network.protocol.codec.ClientPacketEncoder;
+import org.aoclient.network.protocol.codec.GMCommandEncoder;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder;
 
 import java.nio.charset.StandardCharsets;
 
-import static org.aoclient.engine.utils.GameData.charList;
-import static org.lwjgl.glfw.GLFW.glfwGetTime;
-
 /**
  * Maneja el protocolo de comunicacion entre el cliente y el servidor.
  * <p>
@@ -25,24 +23,50 @@ import static org.lwjgl.glfw.GLFW.glfwGetTime;
  * <p>
  * Trabaja en conjunto con {@link SocketConnection} para la transmision real de los datos, y utiliza {@link PacketBuffer} para
  * almacenar temporalmente los bytes entrantes y salientes antes de su manejo.
+ * <p>
+ * Los metodos {@code write} reciben la {@link Session} por la que se envia el paquete: lo escriben en su buffer de salida y
+ * consultan su usuario y sus personajes. El cliente usa {@link Session#CLIENT}; otras herramientas, como {@code BotSwarm},
+ * escriben con los mismos metodos en sus propias sesiones.
+ * <p>
+ * Los paquetes que determinan la respuesta del personaje a una tecla o un click (caminar, atacar, girar, usar un objeto, lanzar
+ * un hechizo o trabajar) llaman a {@link Session#flush()} para salir en el momento; el resto se agrupa hasta el final del frame.
  */
 
 public class Protocol {
 
     private static final Console CONSOLE = Console.INSTANCE;
-    private static final User USER = User.INSTANCE;
-    private static final PacketReceiver PACKET_RECEIVER = new PacketReceiver();
-    public static int pingTime;
-    /** Buffer para la salida de bytes (escribe lo que envia el cliente al servidor). */
-    public static PacketBuffer outputBuffer = new PacketBuffer();
+    /** Receptor de los paquetes que llegan por {@link SocketConnection}, que se aplican sobre la sesion del cliente. */
+    private static final PacketReceiver PACKET_RECEIVER = new PacketReceiver(Session.CLIENT);
     /** Buffer para la entrada de bytes (lee lo que recibe el cliente del servidor). */
     public static PacketBuffer inputBuffer = new PacketBuffer();
 
     /**
      * Delega el manejo de los bytes del buffer de entrada a PacketReceiver.
+     *
+     * @return la cantidad de paquetes procesados
+     */
+    public static int handleIncomingBytes() {
+        return PACKET_RECEIVER.handleIncomingBytes(inputBuffer);
+    }
+
+    /**
+     * Delega el manejo de un paquete completo, ya delimitado por el hilo de red, a PacketReceiver.
+     *
+     * @param packet      paquete identificado por el primer byte del buffer
+     * @param buffer      buffer que contiene el paquete
+     * @param frameLength longitud total del paquete en bytes
+     */
+    public static void handleIncomingPacket(ServerPacket packet, PacketBuffer buffer, int frameLength) {
+        PACKET_RECEIVER.handlePacket(packet, buffer, frameLength);
+    }
+
+    /**
+     * Delega el manejo de un paquete que el hilo de red ya decodifico a PacketReceiver.
+     *
+     * @param event evento con los campos del paquete
      */
-    public static void handleIncomingBytes() {
-        PACKET_RECEIVER.handleIncomingBytes(inputBuffer);
+    public static void handleIncomingEvent(ServerPacketDecoder.Event event) {
+        PACKET_RECEIVER.handleEvent(event);
     }
 
     /**
@@ -51,37 +75,18 @@ public class Protocol {
      * @param username nombre de usuario
      * @param password contraseña
      */
-    public static void writeLoginExistingChar(String username, String password) {
-        // Primero escribe el ID del paquete para que al momento de deserializar el paquete entrante, lea primero el ID del paquete
-        outputBuffer.writeByte(ClientPacket.LOGIN_EXISTING_CHAR.getId());
-        outputBuffer.writeCp1252String(username);
-        outputBuffer.writeCp1252String(password);
-        outputBuffer.writeByte(0); // App.Major ?
-        outputBuffer.writeByte(13); // App.Minor ?
-        outputBuffer.writeByte(0); // App.Revision ?
+    public static void writeLoginExistingChar(Session session, String username, String password) {
+        // Los tres bytes despues de la contraseña son la version del cliente (App.Major, App.Minor y App.Revision en VB6)
+        ClientPacketEncoder.loginExistingChar(session.getOutputBuffer(), username, password, 0, 13, 0);
     }
 
-    public static void writeThrowDices() {
-        outputBuffer.writeByte(ClientPacket.THROW_DICES.getId());
+    public static void writeThrowDices(Session session) {
+        ClientPacketEncoder.throwDices(session.getOutputBuffer());
     }
 
-    public static void writeLoginNewChar(String userName, String userPassword, int userRaza, int userSexo, int userClase, int userHead, String userEmail, int userHogar) {
-        outputBuffer.writeByte(ClientPacket.LOGIN_NEW_CHAR.getId());
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeCp1252String(userPassword);
-
-        outputBuffer.writeByte(0);  // App.Major
-        outputBuffer.writeByte(13); // App.Minor
-        outputBuffer.writeByte(0);  // App.Revision
-
-        outputBuffer.writeByte(userRaza);
-        outputBuffer.writeByte(userSexo);
-        outputBuffer.writeByte(userClase);
-        outputBuffer.writeInteger((short) userHead); // Convierte el valor int (32 bits) a short (16 bits) descartando los 16 bits mas significativos para ser compatible con el tipo Integer de VB6 (2 bytes)
-
-
-        outputBuffer.writeCp1252String(userEmail);
-        outputBuffer.writeByte(userHogar);
+    public static void writeLoginNewChar(Session session, String userName, String userPassword, int userRaza, int userSexo, int userClase, int userHead, String userEmail, int userHogar) {
+        ClientPacketEncoder.loginNewChar(session.getOutputBuffer(), userName, userPassword, 0, 13, 0, userRaza, userSexo,
+                userClase, (short) userHead, userEmail, userHogar);
     }
 
     /**
@@ -105,9 +110,10 @@ public class Protocol {
      * <ol>
      * <li><b>Cliente Java envia un paquete TALK simple</b>:
      * <pre>{@code
-     * public static void writeTalk(String chat) {
-     *     outputBuffer.writeByte(ClientPacket.TALK.getId());
-     *     outputBuffer.writeCp1252String(chat);
+     * // En ClientPacketEncoder.java, generado a partir del layout "S{chat}" de ClientPacket.TALK
+     * public static void talk(PacketBuffer buffer, String chat) {
+     *     buffer.writeByte(ClientPacket.TALK.getId());
+     *     buffer.writeCp1252String(chat);
      * }
      * }</pre>
      * <li><b>El servidor VB6 procesa el paquete en {@code HandleTalk}</b>:
@@ -120,1361 +126,992 @@ public class Protocol {
      * </ul>
      * <li><b>El cliente Java recibe y procesa un paquete CHAT_OVER_HEAD completo</b>:
      * <pre>{@code
-     * // En ChatOverHeadHandler.java
-     * String chat = tempBuffer.readCp1252String(); // El cliente añadio esto!
-     * short charIndex = tempBuffer.readInteger(); // El servidor desde el codigo de VB6 añadio esto!
-     * int r = tempBuffer.readByte(); // El servidor desde el codigo de VB6 añadio esto!
-     * int g = tempBuffer.readByte(); // El servidor desde el codigo de VB6 añadio esto!
-     * int b = tempBuffer.readByte(); // El servidor desde el codigo de VB6 añadio esto!
+     * // En ServerPacketDecoder.java, generado a partir del layout "S{chat}I{charIndex}B{red}B{green}B{blue}" de
+     * // ServerPacket.CHAT_OVER_HEAD; ChatOverHeadHandler recibe el evento con los campos ya leidos
+     * chat = buffer.readCp1252String(); // El cliente añadio esto!
+     * charIndex = buffer.readInteger(); // El servidor desde el codigo de VB6 añadio esto!
+     * red = buffer.readByte(); // El servidor desde el codigo de VB6 añadio esto!
+     * green = buffer.readByte(); // El servidor desde el codigo de VB6 añadio esto!
+     * blue = buffer.readByte(); // El servidor desde el codigo de VB6 añadio esto!
      * }</pre>
      * </ol>
      * <p>
      * Ver: communication-protocol.md
      */
-    public static void writeTalk(String chat) {
-        outputBuffer.writeByte(ClientPacket.TALK.getId());
-        outputBuffer.writeCp1252String(chat);
+    public static void writeTalk(Session session, String chat) {
+        ClientPacketEncoder.talk(session.getOutputBuffer(), chat);
     }
 
-    public static void writeYell(String chat) {
-        outputBuffer.writeByte(ClientPacket.YELL.getId());
-        outputBuffer.writeCp1252String(chat);
+    public static void writeYell(Session session, String chat) {
+        ClientPacketEncoder.yell(session.getOutputBuffer(), chat);
     }
 
-    public static void writeWhisper(short charIndex, String chat) {
-        outputBuffer.writeByte(ClientPacket.WHISPER.getId());
-        outputBuffer.writeInteger(charIndex);
-        outputBuffer.writeCp1252String(chat);
+    public static void writeWhisper(Session session, short charIndex, String chat) {
+        ClientPacketEncoder.whisper(session.getOutputBuffer(), charIndex, chat);
     }
 
-    public static void writeWalk(Direction direction) {
-        outputBuffer.writeByte(ClientPacket.WALK.getId());
-        outputBuffer.writeByte(direction.getId());
+    public static void writeWalk(Session session, Direction direction) {
+        ClientPacketEncoder.walk(session.getOutputBuffer(), direction.getId());
+        session.flush();
     }
 
-    public static void writeDrop(int slot, int amount) {
-        outputBuffer.writeByte(ClientPacket.DROP.getId());
-        outputBuffer.writeByte((byte) slot);
-        outputBuffer.writeInteger((short) amount);
+    public static void writeDrop(Session session, int slot, int amount) {
+        ClientPacketEncoder.drop(session.getOutputBuffer(), (byte) slot, (short) amount);
     }
 
-    public static void writeRequestPositionUpdate() {
-        outputBuffer.writeByte(ClientPacket.REQUEST_POSITION_UPDATE.getId());
+    public static void writeRequestPositionUpdate(Session session) {
+        ClientPacketEncoder.requestPositionUpdate(session.getOutputBuffer());
     }
 
-    public static void writeAttack() {
-        outputBuffer.writeByte(ClientPacket.ATTACK.getId());
+    public static void writeAttack(Session session) {
+        ClientPacketEncoder.attack(session.getOutputBuffer());
+        session.flush();
     }
 
-    public static void writePickUp() {
-        outputBuffer.writeByte(ClientPacket.PICK_UP.getId());
+    public static void writePickUp(Session session) {
+        ClientPacketEncoder.pickUp(session.getOutputBuffer());
     }
 
-    public static void writeSafeToggle() {
-        outputBuffer.writeByte(ClientPacket.SAFE_TOGGLE.getId());
+    public static void writeSafeToggle(Session session) {
+        ClientPacketEncoder.safeToggle(session.getOutputBuffer());
     }
 
-    public static void writeResucitationToggle() {
-        outputBuffer.writeByte(ClientPacket.RESUSCITATION_SAFE_TOGGLE.getId());
+    public static void writeResucitationToggle(Session session) {
+        ClientPacketEncoder.resuscitationSafeToggle(session.getOutputBuffer());
     }
 
-    public static void writeRequestGuildLeaderInfo() {
-        outputBuffer.writeByte(ClientPacket.REQUEST_GUILD_LEADER_INFO.getId());
+    public static void writeRequestGuildLeaderInfo(Session session) {
+        ClientPacketEncoder.requestGuildLeaderInfo(session.getOutputBuffer());
     }
 
-    public static void writeRequestAttributes() {
-        outputBuffer.writeByte(ClientPacket.REQUEST_ATTRIBUTES.getId());
+    public static void writeRequestAttributes(Session session) {
+        ClientPacketEncoder.requestAttributes(session.getOutputBuffer());
     }
 
-    public static void writeRequestFame() {
-        outputBuffer.writeByte(ClientPacket.REQUEST_FAME.getId());
+    public static void writeRequestFame(Session session) {
+        ClientPacketEncoder.requestFame(session.getOutputBuffer());
     }
 
-    public static void writeRequestSkills() {
-        outputBuffer.writeByte(ClientPacket.REQUEST_SKILLS.getId());
+    public static void writeRequestSkills(Session session) {
+        ClientPacketEncoder.requestSkills(session.getOutputBuffer());
     }
 
-    public static void writeRequestMiniStats() {
-        outputBuffer.writeByte(ClientPacket.REQUEST_MINI_STATS.getId());
+    public static void writeRequestMiniStats(Session session) {
+        ClientPacketEncoder.requestMiniStats(session.getOutputBuffer());
     }
 
-    public static void writeChangeHeading(Direction direction) {
-        outputBuffer.writeByte(ClientPacket.CHANGE_HEADING.getId());
-        outputBuffer.writeByte(direction.getId());
+    public static void writeChangeHeading(Session session, Direction direction) {
+        ClientPacketEncoder.changeHeading(session.getOutputBuffer(), direction.getId());
+        session.flush();
     }
 
-    public static void writeModifySkills(int[] skills) {
-        outputBuffer.writeByte(ClientPacket.MODIFY_SKILLS.getId());
-        for (Skill skill : Skill.values())
-            outputBuffer.writeByte(skills[skill.getId() - 1]);
+    public static void writeModifySkills(Session session, int[] skills) {
+        ClientPacketEncoder.modifySkills(session.getOutputBuffer(), skills);
     }
 
-    public static void writeLeftClick(int x, int y) {
-        outputBuffer.writeByte(ClientPacket.LEFT_CLICK.getId());
-        outputBuffer.writeByte(x);
-        outputBuffer.writeByte(y);
+    public static void writeLeftClick(Session session, int x, int y) {
+        ClientPacketEncoder.leftClick(session.getOutputBuffer(), x, y);
     }
 
-    public static void writeWorkLeftClick(int x, int y, int skill) {
-        outputBuffer.writeByte(ClientPacket.WORK_LEFT_CLICK.getId());
-        outputBuffer.writeByte(x);
-        outputBuffer.writeByte(y);
-        outputBuffer.writeByte(skill);
+    public static void writeWorkLeftClick(Session session, int x, int y, int skill) {
+        ClientPacketEncoder.workLeftClick(session.getOutputBuffer(), x, y, skill);
+        session.flush();
     }
 
-    public static void writeDoubleClick(int x, int y) {
-        outputBuffer.writeByte(ClientPacket.DOUBLE_CLICK.getId());
-        outputBuffer.writeByte(x);
-        outputBuffer.writeByte(y);
+    public static void writeDoubleClick(Session session, int x, int y) {
+        ClientPacketEncoder.doubleClick(session.getOutputBuffer(), x, y);
     }
 
-    public static void writeUseItem(int slot) {
-        outputBuffer.writeByte(ClientPacket.USE_ITEM.getId());
-        outputBuffer.writeByte(slot);
+    public static void writeUseItem(Session session, int slot) {
+        ClientPacketEncoder.useItem(session.getOutputBuffer(), slot);
+        session.flush();
     }
 
-    public static void writeEquipItem(int slot) {
-        outputBuffer.writeByte(ClientPacket.EQUIP_ITEM.getId());
-        outputBuffer.writeByte(slot);
+    public static void writeEquipItem(Session session, int slot) {
+        ClientPacketEncoder.equipItem(session.getOutputBuffer(), slot);
     }
 
-    public static void writeWork(int skill) {
-        if (USER.isDead()) {
+    public static void writeWork(Session session, int skill) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡¡Estas muerto!!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.WORK.getId());
-        outputBuffer.writeByte(skill);
+        ClientPacketEncoder.work(session.getOutputBuffer(), skill);
     }
 
-    public static void writeCastSpell(int slot) {
-        outputBuffer.writeByte(ClientPacket.CAST_SPELL.getId());
-        outputBuffer.writeByte(slot);
+    public static void writeCastSpell(Session session, int slot) {
+        ClientPacketEncoder.castSpell(session.getOutputBuffer(), slot);
+        session.flush();
     }
 
-    public static void writeQuit() {
-        if (charList[USER.getUserCharIndex()].isParalizado()) {
+    public static void writeQuit(Session session) {
+        if (session.getCharList().get(session.getUser().getUserCharIndex()).isParalizado()) {
             CONSOLE.addMsgToConsole(new String("No puedes salir estando paralizado.".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.QUIT.getId());
+        ClientPacketEncoder.quit(session.getOutputBuffer());
     }
 
-    public static void writeSpellInfo(final int slot) {
-        outputBuffer.writeByte(ClientPacket.SPELL_INFO.getId());
-        outputBuffer.writeByte(slot);
+    public static void writeSpellInfo(Session session, final int slot) {
+        ClientPacketEncoder.spellInfo(session.getOutputBuffer(), slot);
     }
 
-    public static void writeCommerceEnd() {
-        outputBuffer.writeByte(ClientPacket.COMMERCE_END.getId());
+    public static void writeCommerceEnd(Session session) {
+        ClientPacketEncoder.commerceEnd(session.getOutputBuffer());
     }
 
-    public static void writeBankEnd() {
-        outputBuffer.writeByte(ClientPacket.BANK_END.getId());
+    public static void writeBankEnd(Session session) {
+        ClientPacketEncoder.bankEnd(session.getOutputBuffer());
     }
 
-    public static void writeChangePassword(String oldPass, String newPass) {
-        outputBuffer.writeByte(ClientPacket.CHANGE_PASSWORD.getId());
-        outputBuffer.writeCp1252String(oldPass);
-        outputBuffer.writeCp1252String(newPass);
+    public static void writeChangePassword(Session session, String oldPass, String newPass) {
+        ClientPacketEncoder.changePassword(session.getOutputBuffer(), oldPass, newPass);
     }
 
-    public static void writeOnline() {
-        outputBuffer.writeByte(ClientPacket.ONLINE.getId());
+    public static void writeOnline(Session session) {
+        ClientPacketEncoder.online(session.getOutputBuffer());
     }
 
-    public static void writeMeditate() {
+    public static void writeMeditate(Session session) {
 
-        if (USER.getUserMaxMAN() == USER.getUserMinMAN()) {
+        if (session.getUser().getUserMaxMAN() == session.getUser().getUserMinMAN()) {
             return;
         }
 
-        if (charList[USER.getUserCharIndex()].isDead()) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.MEDITATE.getId());
+        ClientPacketEncoder.meditate(session.getOutputBuffer());
     }
 
-    public static void writeCommerceStart() {
-        outputBuffer.writeByte(ClientPacket.COMMERCE_START.getId());
+    public static void writeCommerceStart(Session session) {
+        ClientPacketEncoder.commerceStart(session.getOutputBuffer());
     }
 
-    public static void writeBankStart() {
-        outputBuffer.writeByte(ClientPacket.BANK_START.getId());
+    public static void writeBankStart(Session session) {
+        ClientPacketEncoder.bankStart(session.getOutputBuffer());
     }
 
-    public static void writeGuildLeave() {
-        outputBuffer.writeByte(ClientPacket.GUILD_LEAVE.getId());
+    public static void writeGuildLeave(Session session) {
+        ClientPacketEncoder.guildLeave(session.getOutputBuffer());
     }
 
-    public static void writeRequestAccountState() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writeRequestAccountState(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.REQUEST_ACCOUNT_STATE.getId());
+        ClientPacketEncoder.requestAccountState(session.getOutputBuffer());
     }
 
-    public static void writePetStand() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writePetStand(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.PET_STAND.getId());
+        ClientPacketEncoder.petStand(session.getOutputBuffer());
     }
 
-    public static void writePetFollow() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writePetFollow(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.PET_FOLLOW.getId());
+        ClientPacketEncoder.petFollow(session.getOutputBuffer());
     }
 
-    public static void writeReleasePet() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writeReleasePet(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.RELEASE_PET.getId());
+        ClientPacketEncoder.releasePet(session.getOutputBuffer());
     }
 
-    public static void writeTrainList() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writeTrainList(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.TRAIN_LIST.getId());
+        ClientPacketEncoder.trainList(session.getOutputBuffer());
     }
 
-    public static void writeRest() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writeRest(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.REST.getId());
+        ClientPacketEncoder.rest(session.getOutputBuffer());
     }
 
-    public static void writeConsultation() {
-        outputBuffer.writeByte(ClientPacket.CONSULTA.getId());
+    public static void writeConsultation(Session session) {
+        ClientPacketEncoder.consulta(session.getOutputBuffer());
     }
 
-    public static void writeResucitate() {
-        outputBuffer.writeByte(ClientPacket.RESUCITATE.getId());
+    public static void writeResucitate(Session session) {
+        ClientPacketEncoder.resucitate(session.getOutputBuffer());
     }
 
-    public static void writeHeal() {
-        outputBuffer.writeByte(ClientPacket.HEAL.getId());
+    public static void writeHeal(Session session) {
+        ClientPacketEncoder.heal(session.getOutputBuffer());
     }
 
-    public static void writeRequestStats() {
-        outputBuffer.writeByte(ClientPacket.REQUEST_STATS.getId());
+    public static void writeRequestStats(Session session) {
+        ClientPacketEncoder.requestStats(session.getOutputBuffer());
     }
 
-    public static void writeHelp() {
-        outputBuffer.writeByte(ClientPacket.HELP.getId());
+    public static void writeHelp(Session session) {
+        ClientPacketEncoder.help(session.getOutputBuffer());
     }
 
-    public static void writeEnlist() {
-        outputBuffer.writeByte(ClientPacket.ENLIST.getId());
+    public static void writeEnlist(Session session) {
+        ClientPacketEncoder.enlist(session.getOutputBuffer());
     }
 
-    public static void writeInformation() {
-        outputBuffer.writeByte(ClientPacket.INFORMATION.getId());
+    public static void writeInformation(Session session) {
+        ClientPacketEncoder.information(session.getOutputBuffer());
     }
 
-    public static void writeReward() {
-        outputBuffer.writeByte(ClientPacket.REWARD.getId());
+    public static void writeReward(Session session) {
+        ClientPacketEncoder.reward(session.getOutputBuffer());
     }
 
-    public static void writeRequestMOTD() {
-        outputBuffer.writeByte(ClientPacket.REQUEST_MOTD.getId());
+    public static void writeRequestMOTD(Session session) {
+        ClientPacketEncoder.requestMotd(session.getOutputBuffer());
     }
 
-    public static void writeUpTime() {
-        outputBuffer.writeByte(ClientPacket.UPTIME.getId());
+    public static void writeUpTime(Session session) {
+        ClientPacketEncoder.uptime(session.getOutputBuffer());
     }
 
-    public static void writePartyLeave() {
-        outputBuffer.writeByte(ClientPacket.PARTY_LEAVE.getId());
+    public static void writePartyLeave(Session session) {
+        ClientPacketEncoder.partyLeave(session.getOutputBuffer());
     }
 
-    public static void writePartyCreate() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writePartyCreate(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.PARTY_CREATE.getId());
+        ClientPacketEncoder.partyCreate(session.getOutputBuffer());
     }
 
-    public static void writePartyJoin() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writePartyJoin(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.PARTY_JOIN.getId());
+        ClientPacketEncoder.partyJoin(session.getOutputBuffer());
     }
 
-    public static void writeShareNpc() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writeShareNpc(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.SHARE_NPC.getId());
+        ClientPacketEncoder.shareNpc(session.getOutputBuffer());
     }
 
-    public static void writeStopSharingNpc() {
-        if (charList[USER.getUserCharIndex()].isDead()) {
+    public static void writeStopSharingNpc(Session session) {
+        if (session.getUser().isDead()) {
             CONSOLE.addMsgToConsole(new String("¡Estas muerto!".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
 
             return;
         }
 
-        outputBuffer.writeByte(ClientPacket.STOP_SHARING_NPC.getId());
+        ClientPacketEncoder.stopSharingNpc(session.getOutputBuffer());
     }
 
-    public static void writeInquiry() {
-        outputBuffer.writeByte(ClientPacket.INQUIRY.getId());
+    public static void writeInquiry(Session session) {
+        ClientPacketEncoder.inquiry(session.getOutputBuffer());
     }
 
-    public static void writeInquiryVote(int opt) {
-        outputBuffer.writeByte(ClientPacket.INQUIRY_VOTE.getId());
-        outputBuffer.writeByte(opt);
+    public static void writeInquiryVote(Session session, int opt) {
+        ClientPacketEncoder.inquiryVote(session.getOutputBuffer(), opt);
     }
 
-    public static void writeGuildMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.GUILD_MESSAGE.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writeGuildMessage(Session session, String message) {
+        ClientPacketEncoder.guildMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writePartyMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.PARTY_MESSAGE.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writePartyMessage(Session session, String message) {
+        ClientPacketEncoder.partyMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writeCentinelReport(int number) {
-        outputBuffer.writeByte(ClientPacket.CENTINEL_REPORT.getId());
-        outputBuffer.writeByte(number);
+    public static void writeCentinelReport(Session session, int number) {
+        ClientPacketEncoder.centinelReport(session.getOutputBuffer(), number);
     }
 
-    public static void writeGuildOnline() {
-        outputBuffer.writeByte(ClientPacket.GUILD_ONLINE.getId());
+    public static void writeGuildOnline(Session session) {
+        ClientPacketEncoder.guildOnline(session.getOutputBuffer());
     }
 
-    public static void writePartyOnline() {
-        outputBuffer.writeByte(ClientPacket.GUILD_ONLINE.getId());
+    public static void writePartyOnline(Session session) {
+        ClientPacketEncoder.guildOnline(session.getOutputBuffer());
     }
 
-    public static void writeCouncilMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.COUNCIL_MESSAGE.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writeCouncilMessage(Session session, String message) {
+        ClientPacketEncoder.councilMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writeRoleMasterRequest(String message) {
-        outputBuffer.writeByte(ClientPacket.ROLE_MASTER_REQUEST.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writeRoleMasterRequest(Session session, String message) {
+        ClientPacketEncoder.roleMasterRequest(session.getOutputBuffer(), message);
     }
 
-    public static void writeGMRequest() {
-        outputBuffer.writeByte(ClientPacket.GM_REQUEST.getId());
+    public static void writeGMRequest(Session session) {
+        ClientPacketEncoder.gmRequest(session.getOutputBuffer());
     }
 
-    public static void writeBugReport(String message) {
-        outputBuffer.writeByte(ClientPacket.BUG_REPORT.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writeBugReport(Session session, String message) {
+        ClientPacketEncoder.bugReport(session.getOutputBuffer(), message);
     }
 
-    public static void writeChangeDescription(String message) {
-        outputBuffer.writeByte(ClientPacket.CHANGE_DESCRIPTION.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writeChangeDescription(Session session, String message) {
+        ClientPacketEncoder.changeDescription(session.getOutputBuffer(), message);
     }
 
-    public static void writeGuildVote(String message) {
-        outputBuffer.writeByte(ClientPacket.GUILD_VOTE.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writeGuildVote(Session session, String message) {
+        ClientPacketEncoder.guildVote(session.getOutputBuffer(), message);
     }
 
-    public static void writePunishments(String message) {
-        outputBuffer.writeByte(ClientPacket.PUNISHMENTS.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writePunishments(Session session, String message) {
+        ClientPacketEncoder.punishments(session.getOutputBuffer(), message);
     }
 
-    public static void writeGamble(short amount) {
-        outputBuffer.writeByte(ClientPacket.GAMBLE.getId());
-        outputBuffer.writeInteger(amount);
+    public static void writeGamble(Session session, short amount) {
+        ClientPacketEncoder.gamble(session.getOutputBuffer(), amount);
     }
 
-    public static void writeLeaveFaction() {
-        outputBuffer.writeByte(ClientPacket.LEAVE_FACTION.getId());
+    public static void writeLeaveFaction(Session session) {
+        ClientPacketEncoder.leaveFaction(session.getOutputBuffer());
     }
 
-    public static void writeBankExtractGold(int amount) {
-        outputBuffer.writeByte(ClientPacket.BANK_EXTRACT_GOLD.getId());
-        outputBuffer.writeLong(amount);
+    public static void writeBankExtractGold(Session session, int amount) {
+        ClientPacketEncoder.bankExtractGold(session.getOutputBuffer(), amount);
     }
 
-    public static void writeBankDepositGold(int amount) {
-        outputBuffer.writeByte(ClientPacket.BANK_DEPOSIT_GOLD.getId());
-        outputBuffer.writeLong(amount);
+    public static void writeBankDepositGold(Session session, int amount) {
+        ClientPacketEncoder.bankDepositGold(session.getOutputBuffer(), amount);
     }
 
-    public static void writeDenounce(String message) {
-        outputBuffer.writeByte(ClientPacket.DENOUNCE.getId());
-        outputBuffer.writeCp1252String(message);
+    public static void writeDenounce(Session session, String message) {
+        ClientPacketEncoder.denounce(session.getOutputBuffer(), message);
     }
 
-    public static void writeGuildFundate() {
-        outputBuffer.writeByte(ClientPacket.GUILD_FUNDATE.getId());
+    public static void writeGuildFundate(Session session) {
+        ClientPacketEncoder.guildFundate(session.getOutputBuffer());
     }
 
-    public static void writeGuildFundation(int clanType) {
-        outputBuffer.writeByte(ClientPacket.GUILD_FUNDATION.getId());
-        outputBuffer.writeByte(clanType);
+    public static void writeGuildFundation(Session session, int clanType) {
+        ClientPacketEncoder.guildFundation(session.getOutputBuffer(), clanType);
     }
 
-    public static void writePartyKick(String userName) {
-        outputBuffer.writeByte(ClientPacket.PARTY_KICK.getId());
-        outputBuffer.writeCp1252String(userName);
+    public static void writePartyKick(Session session, String userName) {
+        ClientPacketEncoder.partyKick(session.getOutputBuffer(), userName);
     }
 
-    public static void writePartySetLeader(String userName) {
-        outputBuffer.writeByte(ClientPacket.PARTY_SET_LEADER.getId());
-        outputBuffer.writeCp1252String(userName);
+    public static void writePartySetLeader(Session session, String userName) {
+        ClientPacketEncoder.partySetLeader(session.getOutputBuffer(), userName);
     }
 
-    public static void writePartyAcceptMember(String userName) {
-        outputBuffer.writeByte(ClientPacket.PARTY_ACCEPT_MEMBER.getId());
-        outputBuffer.writeCp1252String(userName);
+    public static void writePartyAcceptMember(Session session, String userName) {
+        ClientPacketEncoder.partyAcceptMember(session.getOutputBuffer(), userName);
     }
 
      /* ##############################################
         #              COMANDOS DE GM                #
         ##############################################*/
 
-    public static void writeGMMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.GM_MESSAGE.getId());
-
-        outputBuffer.writeCp1252String(message);
+    public static void writeGMMessage(Session session, String message) {
+        GMCommandEncoder.gmMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writeShowName() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SHOW_NAME.getId());
+    public static void writeShowName(Session session) {
+        GMCommandEncoder.showName(session.getOutputBuffer());
     }
 
-    public static void writeOnlineRoyalArmy() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ONLINE_ROYAL_ARMY.getId());
+    public static void writeOnlineRoyalArmy(Session session) {
+        GMCommandEncoder.onlineRoyalArmy(session.getOutputBuffer());
     }
 
-    public static void writeOnlineChaosLegion() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ONLINE_CHAOS_LEGION.getId());
+    public static void writeOnlineChaosLegion(Session session) {
+        GMCommandEncoder.onlineChaosLegion(session.getOutputBuffer());
     }
 
-    public static void writeGoNearby(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.GO_NEARBY.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeGoNearby(Session session, String userName) {
+        GMCommandEncoder.goNearby(session.getOutputBuffer(), userName);
     }
 
-    public static void writeComment(String message) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.COMMENT.getId());
-
-        outputBuffer.writeCp1252String(message);
+    public static void writeComment(Session session, String message) {
+        GMCommandEncoder.comment(session.getOutputBuffer(), message);
     }
 
-    public static void writeServerTime() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SERVER_TIME.getId());
+    public static void writeServerTime(Session session) {
+        GMCommandEncoder.serverTime(session.getOutputBuffer());
     }
 
-    public static void writeWhere(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.WHERE.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeWhere(Session session, String userName) {
+        GMCommandEncoder.where(session.getOutputBuffer(), userName);
     }
 
-    public static void writeCreaturesInMap(short Map) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CREATURES_IN_MAP.getId());
-
-        outputBuffer.writeInteger(Map);
+    public static void writeCreaturesInMap(Session session, short Map) {
+        GMCommandEncoder.creaturesInMap(session.getOutputBuffer(), Map);
     }
 
-    public static void writeCreateItem(int itemIndex) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CREATE_ITEM.getId());
-        outputBuffer.writeInteger((short) itemIndex);
+    public static void writeCreateItem(Session session, int itemIndex) {
+        GMCommandEncoder.createItem(session.getOutputBuffer(), (short) itemIndex);
     }
 
-    public static void writeWarpMeToTarget() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.WARP_ME_TO_TARGET.getId());
+    public static void writeWarpMeToTarget(Session session) {
+        GMCommandEncoder.warpMeToTarget(session.getOutputBuffer());
     }
 
-    public static void writeWarpChar(String userName, short map, int x, int y) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.WARP_CHAR.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeInteger(map);
-        outputBuffer.writeByte(x);
-        outputBuffer.writeByte(y);
+    public static void writeWarpChar(Session session, String userName, short map, int x, int y) {
+        GMCommandEncoder.warpChar(session.getOutputBuffer(), userName, map, x, y);
     }
 
-    public static void writeSilence(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SILENCE.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeSilence(Session session, String userName) {
+        GMCommandEncoder.silence(session.getOutputBuffer(), userName);
     }
 
-    public static void writeSOSShowList() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SOS_SHOW_LIST.getId());
+    public static void writeSOSShowList(Session session) {
+        GMCommandEncoder.sosShowList(session.getOutputBuffer());
     }
 
-    public static void writeShowServerForm() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SHOW_SERVER_FORM.getId());
+    public static void writeShowServerForm(Session session) {
+        GMCommandEncoder.showServerForm(session.getOutputBuffer());
     }
 
-    public static void writeGoToChar(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.GO_TO_CHAR.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeGoToChar(Session session, String userName) {
+        GMCommandEncoder.goToChar(session.getOutputBuffer(), userName);
     }
 
-    public static void writeInvisible() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.INVISIBLE.getId());
+    public static void writeInvisible(Session session) {
+        GMCommandEncoder.invisible(session.getOutputBuffer());
     }
 
-    public static void writeGMPanel() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.GM_PANEL.getId());
+    public static void writeGMPanel(Session session) {
+        GMCommandEncoder.gmPanel(session.getOutputBuffer());
     }
 
-    public static void writeWorking() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.WORKING.getId());
+    public static void writeWorking(Session session) {
+        GMCommandEncoder.working(session.getOutputBuffer());
     }
 
-    public static void writeHiding() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.HIDING.getId());
+    public static void writeHiding(Session session) {
+        GMCommandEncoder.hiding(session.getOutputBuffer());
     }
 
-    public static void writeJail(String userName, String reason, int time) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.JAIL.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeCp1252String(reason);
-        outputBuffer.writeByte(time);
+    public static void writeJail(Session session, String userName, String reason, int time) {
+        GMCommandEncoder.jail(session.getOutputBuffer(), userName, reason, time);
     }
 
-    public static void writeKillNPC() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.KILL_NPC.getId());
+    public static void writeKillNPC(Session session) {
+        GMCommandEncoder.killNpc(session.getOutputBuffer());
     }
 
-    public static void writeWarnUser(String userName, String reason) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.WARN_USER.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeCp1252String(reason);
+    public static void writeWarnUser(Session session, String userName, String reason) {
+        GMCommandEncoder.warnUser(session.getOutputBuffer(), userName, reason);
     }
 
-    public static void writeEditChar(String userName, int editOption, String arg1, String arg2) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.EDIT_CHAR.getId());
-
-        outputBuffer.writeCp1252String(userName);
-
-        outputBuffer.writeByte(editOption);
-
-        outputBuffer.writeCp1252String(arg1);
-        outputBuffer.writeCp1252String(arg2);
+    public static void writeEditChar(Session session, String userName, int editOption, String arg1, String arg2) {
+        GMCommandEncoder.editChar(session.getOutputBuffer(), userName, editOption, arg1, arg2);
 
 
     }
 
-    public static void writeRequestCharInfo(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REQUEST_CHAR_INFO.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRequestCharInfo(Session session, String userName) {
+        GMCommandEncoder.requestCharInfo(session.getOutputBuffer(), userName);
     }
 
-    public static void writeRequestCharStats(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REQUEST_CHAR_STATS.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRequestCharStats(Session session, String userName) {
+        GMCommandEncoder.requestCharStats(session.getOutputBuffer(), userName);
     }
 
-    public static void writeRequestCharGold(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REQUEST_CHAR_GOLD.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRequestCharGold(Session session, String userName) {
+        GMCommandEncoder.requestCharGold(session.getOutputBuffer(), userName);
     }
 
-    public static void writeRequestCharInventory(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REQUEST_CHAR_INVENTORY.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRequestCharInventory(Session session, String userName) {
+        GMCommandEncoder.requestCharInventory(session.getOutputBuffer(), userName);
     }
 
-    public static void writeRequestCharBank(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REQUEST_CHAR_BANK.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRequestCharBank(Session session, String userName) {
+        GMCommandEncoder.requestCharBank(session.getOutputBuffer(), userName);
     }
 
-    public static void writeRequestCharSkills(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REQUEST_CHAR_SKILLS.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRequestCharSkills(Session session, String userName) {
+        GMCommandEncoder.requestCharSkills(session.getOutputBuffer(), userName);
     }
 
-    public static void writeReviveChar(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REVIVE_CHAR.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeReviveChar(Session session, String userName) {
+        GMCommandEncoder.reviveChar(session.getOutputBuffer(), userName);
     }
 
-    public static void writeOnlineGM() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ONLINE_GM.getId());
+    public static void writeOnlineGM(Session session) {
+        GMCommandEncoder.onlineGm(session.getOutputBuffer());
     }
 
-    public static void writeOnlineMap(short map) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ONLINE_MAP.getId());
-
-        outputBuffer.writeInteger(map);
+    public static void writeOnlineMap(Session session, short map) {
+        GMCommandEncoder.onlineMap(session.getOutputBuffer(), map);
     }
 
-    public static void writeForgive(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.FORGIVE.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeForgive(Session session, String userName) {
+        GMCommandEncoder.forgive(session.getOutputBuffer(), userName);
     }
 
-    public static void writeKick(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.KICK.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeKick(Session session, String userName) {
+        GMCommandEncoder.kick(session.getOutputBuffer(), userName);
     }
 
-    public static void writeExecute(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.EXECUTE.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeExecute(Session session, String userName) {
+        GMCommandEncoder.execute(session.getOutputBuffer(), userName);
     }
 
-    public static void writeBanChar(String userName, String reason) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.BAN_CHAR.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeCp1252String(reason);
+    public static void writeBanChar(Session session, String userName, String reason) {
+        GMCommandEncoder.banChar(session.getOutputBuffer(), userName, reason);
     }
 
-    public static void writeUnbanChar(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.UNBAN_CHAR.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeUnbanChar(Session session, String userName) {
+        GMCommandEncoder.unbanChar(session.getOutputBuffer(), userName);
     }
 
-    public static void writeNPCFollow() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.NPC_FOLLOW.getId());
+    public static void writeNPCFollow(Session session) {
+        GMCommandEncoder.npcFollow(session.getOutputBuffer());
     }
 
-    public static void writeSummonChar() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SUMMON_CHAR.getId());
+    public static void writeSummonChar(Session session) {
+        GMCommandEncoder.summonChar(session.getOutputBuffer());
     }
 
-    public static void writeSpawnListRequest() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SPAWN_LIST_REQUEST.getId());
+    public static void writeSpawnListRequest(Session session) {
+        GMCommandEncoder.spawnListRequest(session.getOutputBuffer());
     }
 
-    public static void writeSpawnCreature(short creatureIndex) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SPAWN_CREATURE.getId());
-        outputBuffer.writeInteger(creatureIndex);
+    public static void writeSpawnCreature(Session session, short creatureIndex) {
+        GMCommandEncoder.spawnCreature(session.getOutputBuffer(), creatureIndex);
     }
 
-    public static void writeResetNPCInventory() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RESET_NPC_INVENTORY.getId());
+    public static void writeResetNPCInventory(Session session) {
+        GMCommandEncoder.resetNpcInventory(session.getOutputBuffer());
     }
 
-    public static void writeCleanWorld() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CLEAN_WORLD.getId());
+    public static void writeCleanWorld(Session session) {
+        GMCommandEncoder.cleanWorld(session.getOutputBuffer());
     }
 
-    public static void writeServerMessage() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SERVER_MESSAGE.getId());
+    public static void writeServerMessage(Session session) {
+        GMCommandEncoder.serverMessage(session.getOutputBuffer());
     }
 
-    public static void writeNickToIP(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.NICK_TO_IP.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeNickToIP(Session session, String userName) {
+        GMCommandEncoder.nickToIp(session.getOutputBuffer(), userName);
     }
 
-    public static void writeIPToNick(int[] ip) {
+    public static void writeIPToNick(Session session, int[] ip) {
         // Validar que el tamaño del array sea 4 bytes
         if (ip.length != 4) return; // IP invalida
 
-        // Escribir el mensaje "IPToNick" en el buffer de datos salientes
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.IP_TO_NICK.getId());
-
-        // Escribir cada byte de la IP en el buffer de datos salientes
-        for (int b : ip) {
-            outputBuffer.writeByte(b);
-        }
+        GMCommandEncoder.ipToNick(session.getOutputBuffer(), ip);
     }
 
-    public static void writeGuildOnlineMembers(String guild) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.GUILD_ONLINE_MEMBERS.getId());
-
-        outputBuffer.writeCp1252String(guild);
+    public static void writeGuildOnlineMembers(Session session, String guild) {
+        GMCommandEncoder.guildOnlineMembers(session.getOutputBuffer(), guild);
     }
 
-    public static void writeTeleportCreate(short map, int x, int y, int radio) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.TELEPORT_CREATE.getId());
-
-        outputBuffer.writeInteger(map);
-        outputBuffer.writeByte(x);
-        outputBuffer.writeByte(y);
-        outputBuffer.writeByte(radio);
+    public static void writeTeleportCreate(Session session, short map, int x, int y, int radio) {
+        GMCommandEncoder.teleportCreate(session.getOutputBuffer(), map, x, y, radio);
     }
 
-    public static void writeTeleportDestroy() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.TELEPORT_DESTROY.getId());
+    public static void writeTeleportDestroy(Session session) {
+        GMCommandEncoder.teleportDestroy(session.getOutputBuffer());
     }
 
-    public static void writeRainToggle() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RAIN_TOGGLE.getId());
+    public static void writeRainToggle(Session session) {
+        GMCommandEncoder.rainToggle(session.getOutputBuffer());
     }
 
-    public static void writeSetCharDescription(String desc) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SET_CHAR_DESCRIPTION.getId());
-
-        outputBuffer.writeCp1252String(desc);
+    public static void writeSetCharDescription(Session session, String desc) {
+        GMCommandEncoder.setCharDescription(session.getOutputBuffer(), desc);
     }
 
-    public static void writeForceMIDIToMap(int midiID, short map) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.FORCE_MIDI_TO_MAP.getId());
-
-        outputBuffer.writeByte(midiID);
-        outputBuffer.writeInteger(map);
+    public static void writeForceMIDIToMap(Session session, int midiID, short map) {
+        GMCommandEncoder.forceMidiToMap(session.getOutputBuffer(), midiID, map);
     }
 
-    public static void writeForceWAVEToMap(int waveID, short map, int x, int y) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.FORCE_WAVE_TO_MAP.getId());
-
-        outputBuffer.writeByte(waveID);
-
-        outputBuffer.writeInteger(map);
-
-        outputBuffer.writeByte(x);
-        outputBuffer.writeByte(y);
+    public static void writeForceWAVEToMap(Session session, int waveID, short map, int x, int y) {
+        GMCommandEncoder.forceWaveToMap(session.getOutputBuffer(), waveID, map, x, y);
     }
 
-    public static void writeRoyaleArmyMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ROYAL_ARMY_MESSAGE.getId());
-
-        outputBuffer.writeCp1252String(message);
+    public static void writeRoyaleArmyMessage(Session session, String message) {
+        GMCommandEncoder.royalArmyMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writeChaosLegionMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHAOS_LEGION_MESSAGE.getId());
-
-        outputBuffer.writeCp1252String(message);
+    public static void writeChaosLegionMessage(Session session, String message) {
+        GMCommandEncoder.chaosLegionMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writeCitizenMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CITIZEN_MESSAGE.getId());
-
-        outputBuffer.writeCp1252String(message);
+    public static void writeCitizenMessage(Session session, String message) {
+        GMCommandEncoder.citizenMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writeCriminalMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CRIMINAL_MESSAGE.getId());
-
-        outputBuffer.writeCp1252String(message);
+    public static void writeCriminalMessage(Session session, String message) {
+        GMCommandEncoder.criminalMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writeTalkAsNPC(String message) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.TALK_AS_NPC.getId());
-
-        outputBuffer.writeCp1252String(message);
+    public static void writeTalkAsNPC(Session session, String message) {
+        GMCommandEncoder.talkAsNpc(session.getOutputBuffer(), message);
     }
 
-    public static void writeDestroyAllItemsInArea() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.DESTROY_ALL_ITEMS_IN_AREA.getId());
+    public static void writeDestroyAllItemsInArea(Session session) {
+        GMCommandEncoder.destroyAllItemsInArea(session.getOutputBuffer());
     }
 
-    public static void writeAcceptRoyalCouncilMember(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ACCEPT_ROYAL_COUNCIL_MEMBER.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeAcceptRoyalCouncilMember(Session session, String userName) {
+        GMCommandEncoder.acceptRoyalCouncilMember(session.getOutputBuffer(), userName);
     }
 
-    public static void writeAcceptChaosCouncilMember(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ACCEPT_CHAOS_COUNCIL_MEMBER.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeAcceptChaosCouncilMember(Session session, String userName) {
+        GMCommandEncoder.acceptChaosCouncilMember(session.getOutputBuffer(), userName);
     }
 
-    public static void writeItemsInTheFloor() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ITEMS_IN_THE_FLOOR.getId());
+    public static void writeItemsInTheFloor(Session session) {
+        GMCommandEncoder.itemsInTheFloor(session.getOutputBuffer());
     }
 
-    public static void writeMakeDumb(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.MAKE_DUMB.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeMakeDumb(Session session, String userName) {
+        GMCommandEncoder.makeDumb(session.getOutputBuffer(), userName);
     }
 
-    public static void writeMakeDumbNoMore(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.MAKE_DUMB_NO_MORE.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeMakeDumbNoMore(Session session, String userName) {
+        GMCommandEncoder.makeDumbNoMore(session.getOutputBuffer(), userName);
     }
 
-    public static void writeDumpIPTables() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.DUMP_IP_TABLES.getId());
+    public static void writeDumpIPTables(Session session) {
+        GMCommandEncoder.dumpIpTables(session.getOutputBuffer());
     }
 
-    public static void writeCouncilKick(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.COUNCIL_KICK.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeCouncilKick(Session session, String userName) {
+        GMCommandEncoder.councilKick(session.getOutputBuffer(), userName);
     }
 
-    public static void writeSetTrigger(int trigger) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SET_TRIGGER.getId());
-
-        outputBuffer.writeByte(trigger);
+    public static void writeSetTrigger(Session session, int trigger) {
+        GMCommandEncoder.setTrigger(session.getOutputBuffer(), trigger);
     }
 
-    public static void writeAskTrigger() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ASK_TRIGGER.getId());
+    public static void writeAskTrigger(Session session) {
+        GMCommandEncoder.askTrigger(session.getOutputBuffer());
     }
 
-    public static void writeBannedIPList() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.BANNED_IP_LIST.getId());
+    public static void writeBannedIPList(Session session) {
+        GMCommandEncoder.bannedIpList(session.getOutputBuffer());
     }
 
-    public static void writeBannedIPReload() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.BANNED_IP_RELOAD.getId());
+    public static void writeBannedIPReload(Session session) {
+        GMCommandEncoder.bannedIpReload(session.getOutputBuffer());
     }
 
-    public static void writeGuildMemberList(String guild) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.GUILD_MEMBER_LIST.getId());
-
-        outputBuffer.writeCp1252String(guild);
+    public static void writeGuildMemberList(Session session, String guild) {
+        GMCommandEncoder.guildMemberList(session.getOutputBuffer(), guild);
     }
 
-    public static void writeGuildBan(String guild) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.GUILD_BAN.getId());
-
-        outputBuffer.writeCp1252String(guild);
+    public static void writeGuildBan(Session session, String guild) {
+        GMCommandEncoder.guildBan(session.getOutputBuffer(), guild);
     }
 
-    public static void writeBanIP(boolean byIp, int[] ip, String nick, String reason) {
+    public static void writeBanIP(Session session, boolean byIp, int[] ip, String nick, String reason) {
         if (byIp && ip.length != 4) return; // IP invalida
 
-        // Escribir el mensaje "BanIP" en el buffer de datos salientes
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.BAN_IP.getId());
-
-        // Escribir si es por IP o por nick
-        outputBuffer.writeBoolean(byIp);
-
-        // Si es por IP, escribir los componentes de la IP
-        if (byIp) {
-            for (int b : ip) {
-                outputBuffer.writeByte(b);
-            }
-        } else {
-            // Si es por nick, escribir el nick
-            outputBuffer.writeCp1252String(nick);
-        }
-
-        // Escribir el motivo del baneo
-        outputBuffer.writeCp1252String(reason);
+        GMCommandEncoder.banIp(session.getOutputBuffer(), byIp, ip, nick, reason);
     }
 
-    public static void writeUnbanIP(int[] ip) {
+    public static void writeUnbanIP(Session session, int[] ip) {
         if (ip.length != 4) return; // IP invalida
 
-        // Escribir el mensaje "UnbanIP" en el buffer de datos salientes
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.UNBAN_IP.getId());
-
-        // Escribir los componentes de la IP
-        for (int b : ip) {
-            outputBuffer.writeByte(b);
-        }
+        GMCommandEncoder.unbanIp(session.getOutputBuffer(), ip);
     }
 
-    public static void writeDestroyItems() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.DESTROY_ITEMS.getId());
+    public static void writeDestroyItems(Session session) {
+        GMCommandEncoder.destroyItems(session.getOutputBuffer());
     }
 
-    public static void writeChaosLegionKick(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHAOS_LEGION_KICK.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeChaosLegionKick(Session session, String userName) {
+        GMCommandEncoder.chaosLegionKick(session.getOutputBuffer(), userName);
     }
 
-    public static void writeRoyalArmyKick(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ROYAL_ARMY_KICK.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRoyalArmyKick(Session session, String userName) {
+        GMCommandEncoder.royalArmyKick(session.getOutputBuffer(), userName);
     }
 
-    public static void writeForceMIDIAll(int midiID) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.FORCE_MIDI_ALL.getId());
-
-        outputBuffer.writeByte(midiID);
+    public static void writeForceMIDIAll(Session session, int midiID) {
+        GMCommandEncoder.forceMidiAll(session.getOutputBuffer(), midiID);
     }
 
-    public static void writeForceWAVEAll(int waveID) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.FORCE_WAVE_ALL.getId());
-
-        outputBuffer.writeByte(waveID);
+    public static void writeForceWAVEAll(Session session, int waveID) {
+        GMCommandEncoder.forceWaveAll(session.getOutputBuffer(), waveID);
     }
 
-    public static void writeRemovePunishment(String userName, int punishment, String newText) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REMOVE_PUNISHMENT.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeByte(punishment);
-        outputBuffer.writeCp1252String(newText);
+    public static void writeRemovePunishment(Session session, String userName, int punishment, String newText) {
+        GMCommandEncoder.removePunishment(session.getOutputBuffer(), userName, punishment, newText);
     }
 
-    public static void writeTileBlockedToggle() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.TILE_BLOCKED_TOGGLE.getId());
+    public static void writeTileBlockedToggle(Session session) {
+        GMCommandEncoder.tileBlockedToggle(session.getOutputBuffer());
     }
 
-    public static void writeKillNPCNoRespawn() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.KILL_NPC_NO_RESPAWN.getId());
+    public static void writeKillNPCNoRespawn(Session session) {
+        GMCommandEncoder.killNpcNoRespawn(session.getOutputBuffer());
     }
 
-    public static void writeKillAllNearbyNPCs() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.KILL_ALL_NEARBY_NPCS.getId());
+    public static void writeKillAllNearbyNPCs(Session session) {
+        GMCommandEncoder.killAllNearbyNpcs(session.getOutputBuffer());
     }
 
-    public static void writeLastIP(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.LAST_IP.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeLastIP(Session session, String userName) {
+        GMCommandEncoder.lastIp(session.getOutputBuffer(), userName);
     }
 
-    public static void writeChangeMOTD() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MOTD.getId());
+    public static void writeChangeMOTD(Session session) {
+        GMCommandEncoder.changeMotd(session.getOutputBuffer());
     }
 
-    public static void writeSystemMessage(String message) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SYSTEM_MESSAGE.getId());
-
-        outputBuffer.writeCp1252String(message);
+    public static void writeSystemMessage(Session session, String message) {
+        GMCommandEncoder.systemMessage(session.getOutputBuffer(), message);
     }
 
-    public static void writeCreateNPC(Short NPCIndex) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CREATE_NPC.getId());
-
-        outputBuffer.writeInteger(NPCIndex);
+    public static void writeCreateNPC(Session session, Short NPCIndex) {
+        GMCommandEncoder.createNpc(session.getOutputBuffer(), NPCIndex);
     }
 
-    public static void writeCreateNPCWithRespawn(Short NPCIndex) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CREATE_NPC_WITH_RESPAWN.getId());
-
-        outputBuffer.writeInteger(NPCIndex);
+    public static void writeCreateNPCWithRespawn(Session session, Short NPCIndex) {
+        GMCommandEncoder.createNpcWithRespawn(session.getOutputBuffer(), NPCIndex);
     }
 
-    public static void writeImperialArmour(int armourIndex, short objectIndex) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.IMPERIAL_ARMOUR.getId());
-
-        outputBuffer.writeByte(armourIndex);
-        outputBuffer.writeInteger(objectIndex);
+    public static void writeImperialArmour(Session session, int armourIndex, short objectIndex) {
+        GMCommandEncoder.imperialArmour(session.getOutputBuffer(), armourIndex, objectIndex);
     }
 
-    public static void writeChaosArmour(int armourIndex, short objectIndex) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHAOS_ARMOUR.getId());
-
-        outputBuffer.writeByte(armourIndex);
-        outputBuffer.writeInteger(objectIndex);
+    public static void writeChaosArmour(Session session, int armourIndex, short objectIndex) {
+        GMCommandEncoder.chaosArmour(session.getOutputBuffer(), armourIndex, objectIndex);
     }
 
-    public static void writeNavigateToggle() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.NAVIGATE_TOGGLE.getId());
+    public static void writeNavigateToggle(Session session) {
+        GMCommandEncoder.navigateToggle(session.getOutputBuffer());
     }
 
-    public static void writeServerOpenToUsersToggle() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SERVER_OPEN_TO_USERS_TOGGLE.getId());
+    public static void writeServerOpenToUsersToggle(Session session) {
+        GMCommandEncoder.serverOpenToUsersToggle(session.getOutputBuffer());
     }
 
-    public static void writeTurnOffServer() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.TURN_OFF_SERVER.getId());
+    public static void writeTurnOffServer(Session session) {
+        GMCommandEncoder.turnOffServer(session.getOutputBuffer());
     }
 
-    public static void writeTurnCriminal(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.TURN_CRIMINAL.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeTurnCriminal(Session session, String userName) {
+        GMCommandEncoder.turnCriminal(session.getOutputBuffer(), userName);
     }
 
-    public static void writeResetFactions(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RESET_FACTIONS.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeResetFactions(Session session, String userName) {
+        GMCommandEncoder.resetFactions(session.getOutputBuffer(), userName);
     }
 
-    public static void writeRemoveCharFromGuild(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REMOVE_CHAR_FROM_GUILD.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRemoveCharFromGuild(Session session, String userName) {
+        GMCommandEncoder.removeCharFromGuild(session.getOutputBuffer(), userName);
     }
 
-    public static void writeRequestCharMail(String userName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.REQUEST_CHAR_MAIL.getId());
-
-        outputBuffer.writeCp1252String(userName);
+    public static void writeRequestCharMail(Session session, String userName) {
+        GMCommandEncoder.requestCharMail(session.getOutputBuffer(), userName);
     }
 
-    public static void writeAlterPassword(String userName, String copyFrom) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ALTER_PASSWORD.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeCp1252String(copyFrom);
+    public static void writeAlterPassword(Session session, String userName, String copyFrom) {
+        GMCommandEncoder.alterPassword(session.getOutputBuffer(), userName, copyFrom);
     }
 
-    public static void writeAlterMail(String userName, String newMail) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ALTER_MAIL.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeCp1252String(newMail);
+    public static void writeAlterMail(Session session, String userName, String newMail) {
+        GMCommandEncoder.alterMail(session.getOutputBuffer(), userName, newMail);
     }
 
-    public static void writeAlterName(String userName, String newName) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.ALTER_NAME.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeCp1252String(newName);
+    public static void writeAlterName(Session session, String userName, String newName) {
+        GMCommandEncoder.alterName(session.getOutputBuffer(), userName, newName);
     }
 
-    public static void writeCheckSlot(String userName, int slot) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHECK_SLOT.getId());
-
-        outputBuffer.writeCp1252String(userName);
-        outputBuffer.writeByte(slot);
+    public static void writeCheckSlot(Session session, String userName, int slot) {
+        GMCommandEncoder.checkSlot(session.getOutputBuffer(), userName, slot);
     }
 
-    public static void writeToggleCentinelActivated() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.TOGGLE_CENTINEL_ACTIVATED.getId());
+    public static void writeToggleCentinelActivated(Session session) {
+        GMCommandEncoder.toggleCentinelActivated(session.getOutputBuffer());
     }
 
-    public static void writeDoBackup() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.DO_BACKUP.getId());
+    public static void writeDoBackup(Session session) {
+        GMCommandEncoder.doBackup(session.getOutputBuffer());
     }
 
-    public static void writeShowGuildMessages(String guild) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SHOW_GUILD_MESSAGES.getId());
-
-        outputBuffer.writeCp1252String(guild);
+    public static void writeShowGuildMessages(Session session, String guild) {
+        GMCommandEncoder.showGuildMessages(session.getOutputBuffer(), guild);
     }
 
-    public static void writeSaveMap() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SAVE_MAP.getId());
+    public static void writeSaveMap(Session session) {
+        GMCommandEncoder.saveMap(session.getOutputBuffer());
     }
 
-    public static void writeChangeMapInfoPK(boolean isPK) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MAP_INFO_PK.getId());
-
-        outputBuffer.writeBoolean(isPK);
+    public static void writeChangeMapInfoPK(Session session, boolean isPK) {
+        GMCommandEncoder.changeMapInfoPk(session.getOutputBuffer(), isPK);
     }
 
-    public static void writeChangeMapInfoBackup(boolean backup) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MAP_INFO_BACKUP.getId());
-
-        outputBuffer.writeBoolean(backup);
+    public static void writeChangeMapInfoBackup(Session session, boolean backup) {
+        GMCommandEncoder.changeMapInfoBackup(session.getOutputBuffer(), backup);
     }
 
-    public static void writeChangeMapInfoRestricted(String restrict) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MAP_INFO_RESTRICTED.getId());
-
-        outputBuffer.writeCp1252String(restrict);
+    public static void writeChangeMapInfoRestricted(Session session, String restrict) {
+        GMCommandEncoder.changeMapInfoRestricted(session.getOutputBuffer(), restrict);
     }
 
-    public static void writeChangeMapInfoNoMagic(boolean noMagic) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MAP_INFO_NO_MAGIC.getId());
-
-        outputBuffer.writeBoolean(noMagic);
+    public static void writeChangeMapInfoNoMagic(Session session, boolean noMagic) {
+        GMCommandEncoder.changeMapInfoNoMagic(session.getOutputBuffer(), noMagic);
     }
 
-    public static void writeChangeMapInfoNoInvi(boolean noInvi) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MAP_INFO_NO_INVI.getId());
-
-        outputBuffer.writeBoolean(noInvi);
+    public static void writeChangeMapInfoNoInvi(Session session, boolean noInvi) {
+        GMCommandEncoder.changeMapInfoNoInvi(session.getOutputBuffer(), noInvi);
     }
 
-    public static void writeChangeMapInfoNoResu(boolean noResu) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MAP_INFO_NO_RESU.getId());
-
-        outputBuffer.writeBoolean(noResu);
+    public static void writeChangeMapInfoNoResu(Session session, boolean noResu) {
+        GMCommandEncoder.changeMapInfoNoResu(session.getOutputBuffer(), noResu);
     }
 
-    public static void writeChangeMapInfoLand(String land) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MAP_INFO_LAND.getId());
-
-        outputBuffer.writeCp1252String(land);
+    public static void writeChangeMapInfoLand(Session session, String land) {
+        GMCommandEncoder.changeMapInfoLand(session.getOutputBuffer(), land);
     }
 
-    public static void writeChangeMapInfoZone(String zone) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHANGE_MAP_INFO_ZONE.getId());
-
-        outputBuffer.writeCp1252String(zone);
+    public static void writeChangeMapInfoZone(Session session, String zone) {
+        GMCommandEncoder.changeMapInfoZone(session.getOutputBuffer(), zone);
     }
 
-    public static void writeSaveChars() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SAVE_CHARS.getId());
+    public static void writeSaveChars(Session session) {
+        GMCommandEncoder.saveChars(session.getOutputBuffer());
     }
 
-    public static void writeCleanSOS() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CLEAN_SOS.getId());
+    public static void writeCleanSOS(Session session) {
+        GMCommandEncoder.cleanSos(session.getOutputBuffer());
     }
 
-    public static void writeNight() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.NIGHT.getId());
+    public static void writeNight(Session session) {
+        GMCommandEncoder.night(session.getOutputBuffer());
     }
 
-    public static void writeKickAllChars() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.KICK_ALL_CHARS.getId());
+    public static void writeKickAllChars(Session session) {
+        GMCommandEncoder.kickAllChars(session.getOutputBuffer());
     }
 
-    public static void writeReloadNPCs() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RELOAD_NPCS.getId());
+    public static void writeReloadNPCs(Session session) {
+        GMCommandEncoder.reloadNpcs(session.getOutputBuffer());
     }
 
-    public static void writeReloadServerIni() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RELOAD_SERVER_INI.getId());
+    public static void writeReloadServerIni(Session session) {
+        GMCommandEncoder.reloadServerIni(session.getOutputBuffer());
     }
 
-    public static void writeReloadSpells() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RELOAD_SPELLS.getId());
+    public static void writeReloadSpells(Session session) {
+        GMCommandEncoder.reloadSpells(session.getOutputBuffer());
     }
 
-    public static void writeReloadObjects() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RELOAD_OBJECTS.getId());
+    public static void writeReloadObjects(Session session) {
+        GMCommandEncoder.reloadObjects(session.getOutputBuffer());
     }
 
-    public static void writeRestart() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RESTART.getId());
+    public static void writeRestart(Session session) {
+        GMCommandEncoder.restart(session.getOutputBuffer());
     }
 
-    public static void writeResetAutoUpdate() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.RESET_AUTO_UPDATE.getId());
+    public static void writeResetAutoUpdate(Session session) {
+        GMCommandEncoder.resetAutoUpdate(session.getOutputBuffer());
     }
 
-    public static void writeChatColor(int r, int g, int b) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.CHAT_COLOR.getId());
-
-        outputBuffer.writeByte(r);
-        outputBuffer.writeByte(g);
-        outputBuffer.writeByte(b);
+    public static void writeChatColor(Session session, int r, int g, int b) {
+        GMCommandEncoder.chatColor(session.getOutputBuffer(), r, g, b);
     }
 
-    public static void writeIgnored() {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.IGNORED.getId());
+    public static void writeIgnored(Session session) {
+        GMCommandEncoder.ignored(session.getOutputBuffer());
     }
 
-    public static void writePing() {
-        if (pingTime != 0) return;
-        outputBuffer.writeByte(ClientPacket.PING.getId());
-        pingTime = (int) glfwGetTime();
+    public static void writePing(Session session) {
+        // Si ya hay un PING del heartbeat en camino, se muestra el resultado de ese
+        session.setPingRequested(true);
+        writeHeartbeatPing(session);
     }
 
-    public static void writeSetIniVar(String sLlave, String sClave, String sValor) {
-        outputBuffer.writeByte(ClientPacket.GM_COMMANDS.getId());
-        outputBuffer.writeByte(GMCommand.SET_INI_VAR.getId());
+    /**
+     * Envia un PING para medir la latencia sin mostrar el resultado en la consola. Se envia de inmediato para que la medicion no
+     * incluya la espera hasta el final del frame.
+     */
+    public static void writeHeartbeatPing(Session session) {
+        if (session.getPingTime() != 0) return;
+        ClientPacketEncoder.ping(session.getOutputBuffer());
+        session.setPingTime(System.nanoTime());
+        session.flush();
+    }
 
-        outputBuffer.writeCp1252String(sLlave);
-        outputBuffer.writeCp1252String(sClave);
-        outputBuffer.writeCp1252String(sValor);
+    public static void writeSetIniVar(Session session, String sLlave, String sClave, String sValor) {
+        GMCommandEncoder.setIniVar(session.getOutputBuffer(), sLlave, sClave, sValor);
     }
 
-    public static void writeHome() {
-        outputBuffer.writeByte(ClientPacket.HOME.getId());
+    public static void writeHome(Session session) {
+        ClientPacketEncoder.home(session.getOutputBuffer());
     }
 
-    public static void writeCommerceBuy(int slot, int amount) {
-        outputBuffer.writeByte(ClientPacket.COMMERCE_BUY.getId());
-        outputBuffer.writeByte(slot);
-        outputBuffer.writeInteger((short) amount);
+    public static void writeCommerceBuy(Session session, int slot, int amount) {
+        ClientPacketEncoder.commerceBuy(session.getOutputBuffer(), slot, (short) amount);
     }
 
-    public static void writeCommerceSell(int slot, int amount) {
-        outputBuffer.writeByte(ClientPacket.COMMERCE_SELL.getId());
-        outputBuffer.writeByte(slot);
-        outputBuffer.writeInteger((short) amount);
+    public static void writeCommerceSell(Session session, int slot, int amount) {
+        ClientPacketEncoder.commerceSell(session.getOutputBuffer(), slot, (short) amount);
     }
 
-    public static void writeBankDeposit(int slot, int amount) {
-        outputBuffer.writeByte(ClientPacket.BANK_DEPOSIT.getId());
-        outputBuffer.writeByte(slot);
-        outputBuffer.writeInteger((short) amount);
+    public static void writeBankDeposit(Session session, int slot, int amount) {
+        ClientPacketEncoder.bankDeposit(session.getOutputBuffer(), slot, (short) amount);
     }
 
-    public static void writeBankExtractItem(int slot, int amount) {
-        outputBuffer.writeByte(ClientPacket.BANK_EXTRACT_ITEM.getId());
-        outputBuffer.writeByte(slot);
-        outputBuffer.writeInteger((short) amount);
+    public static void writeBankExtractItem(Session session, int slot, int amount) {
+        ClientPacketEncoder.bankExtractItem(session.getOutputBuffer(), slot, (short) amount);
     }
 
 }
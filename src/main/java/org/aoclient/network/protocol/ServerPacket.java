@@ -31,120 +31,153 @@ import java.util.Map;
  * correspondiente en el {@code ServerPacketID} del servidor VB6 dentro de {@code Protocol.bas}. Esta coincidencia es fundamental
  * para la correcta comunicacion cliente-servidor.
  * <p>
+ * Cada constante declara tambien el <b>layout</b> de su cuerpo (sin contar el byte identificador), a partir del cual
+ * {@link org.aoclient.scripts.PacketCodecGenerator} genera el calculo de longitud que utiliza {@link PacketFramer} para saber si
+ * un paquete llego completo antes de invocar a su handler. El layout es una secuencia de codigos que deben coincidir con el orden
+ * de lectura del handler:
+ * <ul>
+ * <li>{@code B}: byte (1 byte)
+ * <li>{@code I}: Integer de VB6 (2 bytes)
+ * <li>{@code L}: Long de VB6 (4 bytes)
+ * <li>{@code F}: Single de VB6 (4 bytes)
+ * <li>{@code D}: Double de VB6 (8 bytes)
+ * <li>{@code S}: cadena Cp1252 precedida por su longitud en un Integer (2 + n bytes)
+ * <li>{@code N} (digitos) antes de un codigo o grupo: repite el codigo o grupo N veces, por ejemplo {@code 5B} o {@code 20(BB)}
+ * <li>{@code #(...)}: un Integer con la cantidad de elementos seguido de esa cantidad de grupos
+ * <li>{@code M}: un byte de {@link MessageType} seguido del layout propio de ese mensaje
+ * <li>{@code {nombre}} despues de un codigo: el nombre del campo, por ejemplo {@code I{charIndex}}. No ocupa bytes; los codecs
+ * generados lo usan como nombre del parametro del encoder y del atributo del evento decodificado
+ * </ul>
+ * Los paquetes mas frecuentes ({@code CHARACTER_MOVE}, {@code CHARACTER_CREATE}, {@code UPDATE_HP}, etc.) ademas tienen un
+ * decoder generado en {@link org.aoclient.network.protocol.codec.ServerPacketDecoder}, que lee sus campos en un evento tipado;
+ * sus handlers reciben ese evento en lugar del buffer.
+ * Si se modifica la lectura de un handler, hay que actualizar su layout en consecuencia y volver a generar el codigo con la tarea
+ * {@code generatePacketCodecs} de Gradle.
+ * <p>
  * TODO Creo que el maximo de IDs de paquetes que pueden haber es de 255 (entero sin signo), ya que ese valor es lo maximo que se
  * puede ocupar en un byte y el ID del paquete ocupa 1 byte... buscar forma de agregar mas paquetes
  */
 
 public enum ServerPacket {
 
-    LOGGED(0),                   // LOGGED
-    REMOVE_DIALOGS(1),           // QTDL
-    REMOVE_CHAR_DIALOG(2),       // QDL
-    NAVIGATE_TOGGLE(3),          // NAVEG
-    DISCONNECT(4),               // FINOK
-    COMMERCE_END(5),             // FINCOMOK
-    BANK_END(6),                 // FINBANOK
-    COMMERCE_INIT(7),            // INITCOM
-    BANK_INIT(8),                // INITBANCO
-    USER_COMMERCE_INIT(9),       // INITCOMUSU
-    USER_COMMERCE_END(10),       // FINCOMUSUOK
-    USER_OFFER_CONFIRM(11),
-    COMMERCE_CHAT(12),
-    SHOW_BLACKSMITH_FORM(13),     // SFH
-    SHOW_CARPENTER_FORM(14),      // SFC
-    UPDATE_STA(15),               // ASS
-    UPDATE_MANA(16),              // ASM
-    UPDATE_HP(17),                // ASH
-    UPDATE_GOLD(18),              // ASG
-    UPDATE_BANK_GOLD(19),
-    UPDATE_EXP(20),               // ASE
-    CHANGE_MAP(21),               // CM
-    POS_UPDATE(22),               // PU
-    CHAT_OVER_HEAD(23),           // ||
-    CONSOLE_MSG(24),              // || ¡Cuidado! Es lo mismo que el anterior, pero esta correctamente dividido
-    GUILD_CHAT(25),               // |+
-    SHOW_MESSAGE_BOX(26),         // !!
-    USER_INDEX_IN_SERVER(27),     // IU
-    USER_CHAR_INDEX_IN_SERVER(28),// IP
-    CHARACTER_CREATE(29),         // CC
-    CHARACTER_REMOVE(30),         // BP
-    CHARACTER_CHANGE_NICK(31),
-    CHARACTER_MOVE(32),           // MP, +, * and _ //
-    FORCE_CHAR_MOVE(33),
-    CHARACTER_CHANGE(34),         // CP
-    OBJECT_CREATE(35),            // HO
-    OBJECT_DELETE(36),            // BO
-    BLOCK_POSITION(37),           // BQ
-    PLAY_MIDI(38),                // TM
-    PLAY_WAVE(39),                // TW
-    GUILD_LIST(40),               // GL
-    AREA_CHANGED(41),             // CA
-    PAUSE_TOGGLE(42),             // BKW
-    RAIN_TOGGLE(43),              // LLU
-    CREATE_FX(44),                // CFX
-    UPDATE_USER_STATS(45),        // EST
-    WORK_REQUEST_TARGET(46),      // T01
-    CHANGE_INVENTORY_SLOT(47),    // CSI
-    CHANGE_BANK_SLOT(48),         // SBO
-    CHANGE_SPELL_SLOT(49),        // SHS
-    ATTRIBUTES(50),               // ATR
-    BLACKSMITH_WEAPONS(51),       // LAH
-    BLACKSMITH_ARMORS(52),        // LAR
-    CARPENTER_OBJECTS(53),        // OBR
-    REST_OK(54),                  // DOK
-    ERROR_MSG(55),                // ERR
-    BLIND(56),                    // CEGU
-    DUMB(57),                     // DUMB
-    SHOW_SIGNAL(58),              // MCAR
-    CHANGE_NPC_INVENTORY_SLOT(59),// NPCI
-    UPDATE_HUNGER_AND_THIRST(60), // EHYS
-    FAME(61),                     // FAMA
-    MINI_STATS(62),               // MEST
-    LEVEL_UP(63),                 // SUNI
-    ADD_FORUM_MSG(64),            // FMSG
-    SHOW_FORUM_FORM(65),          // MFOR
-    SET_INVISIBLE(66),            // NOVER
-    DICE_ROLL(67),                // DADOS
-    MEDITATE_TOGGLE(68),          // MEDOK
-    BLIND_NO_MORE(69),            // NSEGUE
-    DUMB_NO_MORE(70),             // NESTUP
-    SEND_SKILLS(71),              // SKILLS
-    TRAINER_CREATURE_LIST(72),    // LSTCRI
-    GUILD_NEWS(73),               // GUILDNE
-    OFFER_DETAILS(74),            // PEACEDE & ALLIEDE
-    ALIANCE_PROPOSALS_LIST(75),   // ALLIEPR
-    PEACE_PROPOSALS_LIST(76),     // PEACEPR
-    CHARACTER_INFO(77),           // CHRINFO
-    GUILD_LEADER_INFO(78),        // LEADERI
-    GUILD_MEMBER_INFO(79),
-    GUILD_DETAILS(80),            // CLANDET
-    SHOW_GUILD_FUNDATION_FORM(81),// SHOWFUN
-    PARALIZE_OK(82),              // PARADOK
-    SHOW_USER_REQUEST(83),        // PETICIO
-    TRADE_OK(84),                 // TRANSOK
-    BANK_OK(85),                  // BANCOOK
-    CHANGE_USER_TRADE_SLOT(86),   // COMUSUINV
-    SEND_NIGHT(87),               // NOC
-    PONG(88),
-    UPDATE_TAG_AND_STATUS(89),
+    LOGGED(0, ""),                               // LOGGED
+    REMOVE_DIALOGS(1, ""),                       // QTDL
+    REMOVE_CHAR_DIALOG(2, "I{charIndex}"),       // QDL
+    NAVIGATE_TOGGLE(3, ""),                      // NAVEG
+    DISCONNECT(4, ""),                           // FINOK
+    COMMERCE_END(5, ""),                         // FINCOMOK
+    BANK_END(6, ""),                             // FINBANOK
+    COMMERCE_INIT(7, ""),                        // INITCOM
+    BANK_INIT(8, "L{gold}"),                     // INITBANCO
+    USER_COMMERCE_INIT(9, "S{userName}"),        // INITCOMUSU
+    USER_COMMERCE_END(10, ""),                   // FINCOMUSUOK
+    USER_OFFER_CONFIRM(11, ""),
+    COMMERCE_CHAT(12, "S{chat}B{fontIndex}"),
+    SHOW_BLACKSMITH_FORM(13, ""),                // SFH
+    SHOW_CARPENTER_FORM(14, ""),                 // SFC
+    UPDATE_STA(15, "I{minSta}"),                 // ASS
+    UPDATE_MANA(16, "I{minMana}"),               // ASM
+    UPDATE_HP(17, "I{minHp}"),                   // ASH
+    UPDATE_GOLD(18, "L{gold}"),                  // ASG
+    UPDATE_BANK_GOLD(19, "L{gold}"),
+    UPDATE_EXP(20, "L{exp}"),                    // ASE
+    CHANGE_MAP(21, "I{map}I{version}"),          // CM
+    POS_UPDATE(22, "B{x}B{y}"),                  // PU
+    CHAT_OVER_HEAD(23, "S{chat}I{charIndex}B{red}B{green}B{blue}"), // ||
+    CONSOLE_MSG(24, "S{chat}B{fontIndex}"),      // || ¡Cuidado! Es lo mismo que el anterior, pero esta correctamente dividido
+    GUILD_CHAT(25, "S{chat}"),                   // |+
+    SHOW_MESSAGE_BOX(26, "S{message}"),          // !!
+    USER_INDEX_IN_SERVER(27, "I{userIndex}"),    // IU
+    USER_CHAR_INDEX_IN_SERVER(28, "I{charIndex}"), // IP
+    CHARACTER_CREATE(29, "I{charIndex}I{body}I{head}B{heading}B{x}B{y}I{weapon}I{shield}I{helmet}I{fx}I{fxLoops}S{name}" // CC
+            + "B{nickColor}B{privileges}"),
+    CHARACTER_REMOVE(30, "I{charIndex}"),        // BP
+    CHARACTER_CHANGE_NICK(31, "I{charIndex}S{name}"),
+    CHARACTER_MOVE(32, "I{charIndex}B{x}B{y}"),  // MP, +, * and _ //
+    FORCE_CHAR_MOVE(33, "B{heading}"),
+    CHARACTER_CHANGE(34, "I{charIndex}I{body}I{head}B{heading}I{weapon}I{shield}I{helmet}I{fx}I{fxLoops}"), // CP
+    OBJECT_CREATE(35, "B{x}B{y}I{grhIndex}"),    // HO
+    OBJECT_DELETE(36, "B{x}B{y}"),               // BO
+    BLOCK_POSITION(37, "B{x}B{y}B{blocked}"),    // BQ
+    PLAY_MIDI(38, "B{midi}I{loops}"),            // TM
+    PLAY_WAVE(39, "B{wave}B{x}B{y}"),            // TW
+    GUILD_LIST(40, "S{guilds}"),                 // GL
+    AREA_CHANGED(41, "B{x}B{y}"),                // CA
+    PAUSE_TOGGLE(42, ""),                        // BKW
+    RAIN_TOGGLE(43, ""),                         // LLU
+    CREATE_FX(44, "I{charIndex}I{fx}I{fxLoops}"), // CFX
+    UPDATE_USER_STATS(45, "I{maxHp}I{minHp}I{maxMana}I{minMana}I{maxSta}I{minSta}L{gold}B{level}L{nextLevelExp}L{exp}"), // EST
+    WORK_REQUEST_TARGET(46, "B{skill}"),         // T01
+    CHANGE_INVENTORY_SLOT(47, "B{slot}I{objIndex}S{name}I{amount}B{equipped}I{grhIndex}B{objType}I{maxHit}I{minHit}" // CSI
+            + "I{maxDef}I{minDef}F{value}"),
+    CHANGE_BANK_SLOT(48, "B{slot}I{objIndex}S{name}I{amount}I{grhIndex}B{objType}I{maxHit}I{minHit}I{maxDef}I{minDef}" // SBO
+            + "F{value}"),
+    CHANGE_SPELL_SLOT(49, "B{slot}I{spell}S{name}"), // SHS
+    ATTRIBUTES(50, "5B{attributes}"),            // ATR
+    BLACKSMITH_WEAPONS(51, "#(S{name}I{grhIndex}I{ingots1}I{ingots2}I{ingots3}I{objIndex}I{upgrade})"), // LAH
+    BLACKSMITH_ARMORS(52, "#(S{name}I{grhIndex}I{ingots1}I{ingots2}I{ingots3}I{objIndex}I{upgrade})"), // LAR
+    CARPENTER_OBJECTS(53, "#(S{name}I{grhIndex}I{wood}I{elvenWood}I{objIndex}I{upgrade})"), // OBR
+    REST_OK(54, ""),                             // DOK
+    ERROR_MSG(55, "S{message}"),                 // ERR
+    BLIND(56, ""),                               // CEGU
+    DUMB(57, ""),                                // DUMB
+    SHOW_SIGNAL(58, "S{text}I{grhIndex}"),       // MCAR
+    CHANGE_NPC_INVENTORY_SLOT(59, "B{slot}S{name}I{amount}F{value}I{grhIndex}I{objIndex}B{objType}I{maxHit}I{minHit}" // NPCI
+            + "I{maxDef}I{minDef}"),
+    UPDATE_HUNGER_AND_THIRST(60, "B{maxThirst}B{minThirst}B{maxHunger}B{minHunger}"), // EHYS
+    FAME(61, "7L{reputations}"),                 // FAMA
+    MINI_STATS(62, "3L{kills}I{deaths}B{role}L{jailTime}"), // MEST
+    LEVEL_UP(63, "I{skillPoints}"),              // SUNI
+    ADD_FORUM_MSG(64, "B{forumType}S{title}S{author}S{message}"), // FMSG
+    SHOW_FORUM_FORM(65, "B{visibility}B{canPostSticky}"), // MFOR
+    SET_INVISIBLE(66, "I{charIndex}B{invisible}"), // NOVER
+    DICE_ROLL(67, "5B{attributes}"),             // DADOS
+    MEDITATE_TOGGLE(68, ""),                     // MEDOK
+    BLIND_NO_MORE(69, ""),                       // NSEGUE
+    DUMB_NO_MORE(70, ""),                        // NESTUP
+    SEND_SKILLS(71, "B{charClass}20(B{skills}B{percentages})"), // SKILLS
+    TRAINER_CREATURE_LIST(72, "S{creatures}"),   // LSTCRI
+    GUILD_NEWS(73, "S{news}S{enemies}S{allies}"), // GUILDNE
+    OFFER_DETAILS(74, "S{details}"),             // PEACEDE & ALLIEDE
+    ALIANCE_PROPOSALS_LIST(75, "S{guilds}"),     // ALLIEPR
+    PEACE_PROPOSALS_LIST(76, "S{guilds}"),       // PEACEPR
+    CHARACTER_INFO(77, "S{name}B{race}B{charClass}B{gender}B{level}L{gold}L{bank}L{reputation}S{previousPetitions}" // CHRINFO
+            + "S{currentGuild}S{previousGuilds}B{royalArmy}B{chaosLegion}L{citizensKilled}L{criminalsKilled}"),
+    GUILD_LEADER_INFO(78, "S{guilds}S{members}S{news}S{requests}"), // LEADERI
+    GUILD_MEMBER_INFO(79, "S{guilds}S{members}"),
+    GUILD_DETAILS(80, "S{name}S{founder}S{creationDate}S{leader}S{url}I{members}B{electionsOpen}S{alignment}" // CLANDET
+            + "I{enemies}I{allies}S{antifaction}S{codex}S{description}"),
+    SHOW_GUILD_FUNDATION_FORM(81, ""),           // SHOWFUN
+    PARALIZE_OK(82, ""),                         // PARADOK
+    SHOW_USER_REQUEST(83, "S{details}"),         // PETICIO
+    TRADE_OK(84, ""),                            // TRANSOK
+    BANK_OK(85, ""),                             // BANCOOK
+    CHANGE_USER_TRADE_SLOT(86, "B{offerSlot}I{objIndex}L{amount}I{grhIndex}B{objType}I{maxHit}I{minHit}I{maxDef}" // COMUSUINV
+            + "I{minDef}L{price}S{name}I{otherObjIndex}L{otherAmount}I{otherGrhIndex}B{otherObjType}I{otherMaxHit}"
+            + "I{otherMinHit}I{otherMaxDef}I{otherMinDef}L{otherPrice}S{otherName}"),
+    SEND_NIGHT(87, "B{night}"),                  // NOC
+    PONG(88, ""),
+    UPDATE_TAG_AND_STATUS(89, "I{charIndex}B{nickColor}S{tag}"),
     // GM messages
-    SPAWN_LIST(90),               // SPL
-    SHOW_SOS_FORM(91),            // MSOS
-    SHOW_MOTD_EDITION_FORM(92),   // ZMOTD
-    SHOW_GM_PANEL_FORM(93),       // ABPANEL
-    USER_NAME_LIST(94),           // LISTUSU
-    SHOW_GUILD_ALIGN(95),
-    SHOW_PARTY_FORM(96),
-    UPDATE_STRENGHT_AND_DEXTERITY(97),
-    UPDATE_STRENGHT(98),
-    UPDATE_DEXTERITY(99),
-    ADD_SLOTS(100),
-    MULTI_MESSAGE(101),
-    STOP_WORKING(102),
-    CANCEL_OFFER_ITEM(103);
+    SPAWN_LIST(90, "S{creatures}"),              // SPL
+    SHOW_SOS_FORM(91, "S{requests}"),            // MSOS
+    SHOW_MOTD_EDITION_FORM(92, "S{motd}"),       // ZMOTD
+    SHOW_GM_PANEL_FORM(93, ""),                  // ABPANEL
+    USER_NAME_LIST(94, "S{userNames}"),          // LISTUSU
+    SHOW_GUILD_ALIGN(95, ""),
+    SHOW_PARTY_FORM(96, "B{leader}S{members}"),
+    UPDATE_STRENGHT_AND_DEXTERITY(97, "B{strength}B{dexterity}"),
+    UPDATE_STRENGHT(98, "B{strength}"),
+    UPDATE_DEXTERITY(99, "B{dexterity}"),
+    ADD_SLOTS(100, "B{slots}"),
+    MULTI_MESSAGE(101, "M"),
+    STOP_WORKING(102, ""),
+    CANCEL_OFFER_ITEM(103, "B{slot}");
 
     /** Utiliza un HashMap que proporciona acceso en tiempo constante (complejidad O(1)). */
     public static final Map<Integer, ServerPacket> PACKET_REGISTRY = new HashMap<>();
+    /** Paquetes indexados por su ID para las busquedas del camino critico, que no deben hacer boxing del ID. */
+    private static final ServerPacket[] PACKETS_BY_ID = new ServerPacket[256];
 
     /* Bloque de inicializacion estatico que construye el mapa de busqueda para conversion eficiente de ID a objetos ServerPacket.
      *
@@ -163,14 +196,19 @@ public enum ServerPacket {
      * 4. Optimizacion de memoria: Al crear el mapa con el tamaño exacto necesario (el numero de constantes enum), se evita la
      * sobrecarga de redimensionamientos internos del HashMap. */
     static {
-        for (ServerPacket packet : values())
+        for (ServerPacket packet : values()) {
             PACKET_REGISTRY.put(packet.getId(), packet);
+            PACKETS_BY_ID[packet.getId()] = packet;
+        }
     }
 
     private final int id;
+    /** Layout del cuerpo del paquete, sin incluir el byte identificador. */
+    private final String layout;
 
-    ServerPacket(int id) {
+    ServerPacket(int id, String layout) {
         this.id = id;
+        this.layout = layout;
     }
 
     /**
@@ -191,8 +229,22 @@ public enum ServerPacket {
         return packet;
     }
 
+    /**
+     * Obtiene el paquete del servidor correspondiente al ID proporcionado sin lanzar excepciones ni hacer boxing del ID.
+     *
+     * @param id ID del paquete, interpretado como un byte sin signo (0-255)
+     * @return el paquete del servidor correspondiente, o null si el ID no corresponde a ningun paquete
+     */
+    public static ServerPacket fromId(int id) {
+        return PACKETS_BY_ID[id];
+    }
+
     public int getId() {
         return id;
     }
 
+    public String getLayout() {
+        return layout;
+    }
+
 }
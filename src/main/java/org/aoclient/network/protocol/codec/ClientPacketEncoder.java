@@ -0,0 +1,521 @@
+package org.aoclient.network.protocol.codec;
+
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.ClientPacket;
+
+/**
+ * Encoders de los paquetes del cliente segun los layouts de {@code ClientPacket}. Cada metodo escribe el paquete completo,
+ * incluyendo su byte identificador. Los comandos de GM estan en {@link GMCommandEncoder}.
+ * <p>
+ * Generado por {@code PacketCodecGenerator}, no modificar a mano.
+ */
+
+public final class ClientPacketEncoder {
+
+    private ClientPacketEncoder() {
+    }
+
+    /** Escribe {@code LOGIN_EXISTING_CHAR} ({@code SSBBB}). */
+    public static void loginExistingChar(PacketBuffer buffer, String userName, String password, int versionMajor,
+            int versionMinor, int versionRevision) {
+        buffer.writeByte(ClientPacket.LOGIN_EXISTING_CHAR.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeCp1252String(password);
+        buffer.writeByte(versionMajor);
+        buffer.writeByte(versionMinor);
+        buffer.writeByte(versionRevision);
+    }
+
+    /** Escribe {@code THROW_DICES}. */
+    public static void throwDices(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.THROW_DICES.getId());
+    }
+
+    /** Escribe {@code LOGIN_NEW_CHAR} ({@code SSBBBBBBISB}). */
+    public static void loginNewChar(PacketBuffer buffer, String userName, String password, int versionMajor, int versionMinor,
+            int versionRevision, int race, int gender, int charClass, short head, String email, int homeland) {
+        buffer.writeByte(ClientPacket.LOGIN_NEW_CHAR.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeCp1252String(password);
+        buffer.writeByte(versionMajor);
+        buffer.writeByte(versionMinor);
+        buffer.writeByte(versionRevision);
+        buffer.writeByte(race);
+        buffer.writeByte(gender);
+        buffer.writeByte(charClass);
+        buffer.writeInteger(head);
+        buffer.writeCp1252String(email);
+        buffer.writeByte(homeland);
+    }
+
+    /** Escribe {@code TALK} ({@code S}). */
+    public static void talk(PacketBuffer buffer, String chat) {
+        buffer.writeByte(ClientPacket.TALK.getId());
+        buffer.writeCp1252String(chat);
+    }
+
+    /** Escribe {@code YELL} ({@code S}). */
+    public static void yell(PacketBuffer buffer, String chat) {
+        buffer.writeByte(ClientPacket.YELL.getId());
+        buffer.writeCp1252String(chat);
+    }
+
+    /** Escribe {@code WHISPER} ({@code IS}). */
+    public static void whisper(PacketBuffer buffer, short charIndex, String chat) {
+        buffer.writeByte(ClientPacket.WHISPER.getId());
+        buffer.writeInteger(charIndex);
+        buffer.writeCp1252String(chat);
+    }
+
+    /** Escribe {@code WALK} ({@code B}). */
+    public static void walk(PacketBuffer buffer, int heading) {
+        buffer.writeByte(ClientPacket.WALK.getId());
+        buffer.writeByte(heading);
+    }
+
+    /** Escribe {@code REQUEST_POSITION_UPDATE}. */
+    public static void requestPositionUpdate(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_POSITION_UPDATE.getId());
+    }
+
+    /** Escribe {@code ATTACK}. */
+    public static void attack(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.ATTACK.getId());
+    }
+
+    /** Escribe {@code PICK_UP}. */
+    public static void pickUp(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.PICK_UP.getId());
+    }
+
+    /** Escribe {@code SAFE_TOGGLE}. */
+    public static void safeToggle(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.SAFE_TOGGLE.getId());
+    }
+
+    /** Escribe {@code RESUSCITATION_SAFE_TOGGLE}. */
+    public static void resuscitationSafeToggle(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.RESUSCITATION_SAFE_TOGGLE.getId());
+    }
+
+    /** Escribe {@code REQUEST_GUILD_LEADER_INFO}. */
+    public static void requestGuildLeaderInfo(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_GUILD_LEADER_INFO.getId());
+    }
+
+    /** Escribe {@code REQUEST_ATTRIBUTES}. */
+    public static void requestAttributes(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_ATTRIBUTES.getId());
+    }
+
+    /** Escribe {@code REQUEST_FAME}. */
+    public static void requestFame(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_FAME.getId());
+    }
+
+    /** Escribe {@code REQUEST_SKILLS}. */
+    public static void requestSkills(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_SKILLS.getId());
+    }
+
+    /** Escribe {@code REQUEST_MINI_STATS}. */
+    public static void requestMiniStats(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_MINI_STATS.getId());
+    }
+
+    /** Escribe {@code COMMERCE_END}. */
+    public static void commerceEnd(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.COMMERCE_END.getId());
+    }
+
+    /** Escribe {@code BANK_END}. */
+    public static void bankEnd(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.BANK_END.getId());
+    }
+
+    /** Escribe {@code DROP} ({@code BI}). */
+    public static void drop(PacketBuffer buffer, int slot, short amount) {
+        buffer.writeByte(ClientPacket.DROP.getId());
+        buffer.writeByte(slot);
+        buffer.writeInteger(amount);
+    }
+
+    /** Escribe {@code CAST_SPELL} ({@code B}). */
+    public static void castSpell(PacketBuffer buffer, int slot) {
+        buffer.writeByte(ClientPacket.CAST_SPELL.getId());
+        buffer.writeByte(slot);
+    }
+
+    /** Escribe {@code LEFT_CLICK} ({@code BB}). */
+    public static void leftClick(PacketBuffer buffer, int x, int y) {
+        buffer.writeByte(ClientPacket.LEFT_CLICK.getId());
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code DOUBLE_CLICK} ({@code BB}). */
+    public static void doubleClick(PacketBuffer buffer, int x, int y) {
+        buffer.writeByte(ClientPacket.DOUBLE_CLICK.getId());
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code WORK} ({@code B}). */
+    public static void work(PacketBuffer buffer, int skill) {
+        buffer.writeByte(ClientPacket.WORK.getId());
+        buffer.writeByte(skill);
+    }
+
+    /** Escribe {@code USE_ITEM} ({@code B}). */
+    public static void useItem(PacketBuffer buffer, int slot) {
+        buffer.writeByte(ClientPacket.USE_ITEM.getId());
+        buffer.writeByte(slot);
+    }
+
+    /** Escribe {@code WORK_LEFT_CLICK} ({@code BBB}). */
+    public static void workLeftClick(PacketBuffer buffer, int x, int y, int skill) {
+        buffer.writeByte(ClientPacket.WORK_LEFT_CLICK.getId());
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+        buffer.writeByte(skill);
+    }
+
+    /** Escribe {@code SPELL_INFO} ({@code B}). */
+    public static void spellInfo(PacketBuffer buffer, int slot) {
+        buffer.writeByte(ClientPacket.SPELL_INFO.getId());
+        buffer.writeByte(slot);
+    }
+
+    /** Escribe {@code EQUIP_ITEM} ({@code B}). */
+    public static void equipItem(PacketBuffer buffer, int slot) {
+        buffer.writeByte(ClientPacket.EQUIP_ITEM.getId());
+        buffer.writeByte(slot);
+    }
+
+    /** Escribe {@code CHANGE_HEADING} ({@code B}). */
+    public static void changeHeading(PacketBuffer buffer, int heading) {
+        buffer.writeByte(ClientPacket.CHANGE_HEADING.getId());
+        buffer.writeByte(heading);
+    }
+
+    /** Escribe {@code MODIFY_SKILLS} ({@code 20B}). */
+    public static void modifySkills(PacketBuffer buffer, int[] skills) {
+        buffer.writeByte(ClientPacket.MODIFY_SKILLS.getId());
+        for (int i = 0; i < 20; i++)
+            buffer.writeByte(skills[i]);
+    }
+
+    /** Escribe {@code COMMERCE_BUY} ({@code BI}). */
+    public static void commerceBuy(PacketBuffer buffer, int slot, short amount) {
+        buffer.writeByte(ClientPacket.COMMERCE_BUY.getId());
+        buffer.writeByte(slot);
+        buffer.writeInteger(amount);
+    }
+
+    /** Escribe {@code BANK_EXTRACT_ITEM} ({@code BI}). */
+    public static void bankExtractItem(PacketBuffer buffer, int slot, short amount) {
+        buffer.writeByte(ClientPacket.BANK_EXTRACT_ITEM.getId());
+        buffer.writeByte(slot);
+        buffer.writeInteger(amount);
+    }
+
+    /** Escribe {@code COMMERCE_SELL} ({@code BI}). */
+    public static void commerceSell(PacketBuffer buffer, int slot, short amount) {
+        buffer.writeByte(ClientPacket.COMMERCE_SELL.getId());
+        buffer.writeByte(slot);
+        buffer.writeInteger(amount);
+    }
+
+    /** Escribe {@code BANK_DEPOSIT} ({@code BI}). */
+    public static void bankDeposit(PacketBuffer buffer, int slot, short amount) {
+        buffer.writeByte(ClientPacket.BANK_DEPOSIT.getId());
+        buffer.writeByte(slot);
+        buffer.writeInteger(amount);
+    }
+
+    /** Escribe {@code ONLINE}. */
+    public static void online(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.ONLINE.getId());
+    }
+
+    /** Escribe {@code QUIT}. */
+    public static void quit(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.QUIT.getId());
+    }
+
+    /** Escribe {@code GUILD_LEAVE}. */
+    public static void guildLeave(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GUILD_LEAVE.getId());
+    }
+
+    /** Escribe {@code REQUEST_ACCOUNT_STATE}. */
+    public static void requestAccountState(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_ACCOUNT_STATE.getId());
+    }
+
+    /** Escribe {@code PET_STAND}. */
+    public static void petStand(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.PET_STAND.getId());
+    }
+
+    /** Escribe {@code PET_FOLLOW}. */
+    public static void petFollow(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.PET_FOLLOW.getId());
+    }
+
+    /** Escribe {@code RELEASE_PET}. */
+    public static void releasePet(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.RELEASE_PET.getId());
+    }
+
+    /** Escribe {@code TRAIN_LIST}. */
+    public static void trainList(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.TRAIN_LIST.getId());
+    }
+
+    /** Escribe {@code REST}. */
+    public static void rest(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REST.getId());
+    }
+
+    /** Escribe {@code MEDITATE}. */
+    public static void meditate(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.MEDITATE.getId());
+    }
+
+    /** Escribe {@code RESUCITATE}. */
+    public static void resucitate(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.RESUCITATE.getId());
+    }
+
+    /** Escribe {@code HEAL}. */
+    public static void heal(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.HEAL.getId());
+    }
+
+    /** Escribe {@code HELP}. */
+    public static void help(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.HELP.getId());
+    }
+
+    /** Escribe {@code REQUEST_STATS}. */
+    public static void requestStats(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_STATS.getId());
+    }
+
+    /** Escribe {@code COMMERCE_START}. */
+    public static void commerceStart(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.COMMERCE_START.getId());
+    }
+
+    /** Escribe {@code BANK_START}. */
+    public static void bankStart(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.BANK_START.getId());
+    }
+
+    /** Escribe {@code ENLIST}. */
+    public static void enlist(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.ENLIST.getId());
+    }
+
+    /** Escribe {@code INFORMATION}. */
+    public static void information(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.INFORMATION.getId());
+    }
+
+    /** Escribe {@code REWARD}. */
+    public static void reward(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REWARD.getId());
+    }
+
+    /** Escribe {@code REQUEST_MOTD}. */
+    public static void requestMotd(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.REQUEST_MOTD.getId());
+    }
+
+    /** Escribe {@code UPTIME}. */
+    public static void uptime(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.UPTIME.getId());
+    }
+
+    /** Escribe {@code PARTY_LEAVE}. */
+    public static void partyLeave(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.PARTY_LEAVE.getId());
+    }
+
+    /** Escribe {@code PARTY_CREATE}. */
+    public static void partyCreate(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.PARTY_CREATE.getId());
+    }
+
+    /** Escribe {@code PARTY_JOIN}. */
+    public static void partyJoin(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.PARTY_JOIN.getId());
+    }
+
+    /** Escribe {@code INQUIRY}. */
+    public static void inquiry(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.INQUIRY.getId());
+    }
+
+    /** Escribe {@code GUILD_MESSAGE} ({@code S}). */
+    public static void guildMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GUILD_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code PARTY_MESSAGE} ({@code S}). */
+    public static void partyMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.PARTY_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code CENTINEL_REPORT} ({@code B}). */
+    public static void centinelReport(PacketBuffer buffer, int code) {
+        buffer.writeByte(ClientPacket.CENTINEL_REPORT.getId());
+        buffer.writeByte(code);
+    }
+
+    /** Escribe {@code GUILD_ONLINE}. */
+    public static void guildOnline(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GUILD_ONLINE.getId());
+    }
+
+    /** Escribe {@code COUNCIL_MESSAGE} ({@code S}). */
+    public static void councilMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.COUNCIL_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code ROLE_MASTER_REQUEST} ({@code S}). */
+    public static void roleMasterRequest(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.ROLE_MASTER_REQUEST.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code GM_REQUEST}. */
+    public static void gmRequest(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_REQUEST.getId());
+    }
+
+    /** Escribe {@code BUG_REPORT} ({@code S}). */
+    public static void bugReport(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.BUG_REPORT.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code CHANGE_DESCRIPTION} ({@code S}). */
+    public static void changeDescription(PacketBuffer buffer, String description) {
+        buffer.writeByte(ClientPacket.CHANGE_DESCRIPTION.getId());
+        buffer.writeCp1252String(description);
+    }
+
+    /** Escribe {@code GUILD_VOTE} ({@code S}). */
+    public static void guildVote(PacketBuffer buffer, String vote) {
+        buffer.writeByte(ClientPacket.GUILD_VOTE.getId());
+        buffer.writeCp1252String(vote);
+    }
+
+    /** Escribe {@code PUNISHMENTS} ({@code S}). */
+    public static void punishments(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.PUNISHMENTS.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code CHANGE_PASSWORD} ({@code SS}). */
+    public static void changePassword(PacketBuffer buffer, String oldPassword, String newPassword) {
+        buffer.writeByte(ClientPacket.CHANGE_PASSWORD.getId());
+        buffer.writeCp1252String(oldPassword);
+        buffer.writeCp1252String(newPassword);
+    }
+
+    /** Escribe {@code GAMBLE} ({@code I}). */
+    public static void gamble(PacketBuffer buffer, short amount) {
+        buffer.writeByte(ClientPacket.GAMBLE.getId());
+        buffer.writeInteger(amount);
+    }
+
+    /** Escribe {@code INQUIRY_VOTE} ({@code B}). */
+    public static void inquiryVote(PacketBuffer buffer, int option) {
+        buffer.writeByte(ClientPacket.INQUIRY_VOTE.getId());
+        buffer.writeByte(option);
+    }
+
+    /** Escribe {@code LEAVE_FACTION}. */
+    public static void leaveFaction(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.LEAVE_FACTION.getId());
+    }
+
+    /** Escribe {@code BANK_EXTRACT_GOLD} ({@code L}). */
+    public static void bankExtractGold(PacketBuffer buffer, int amount) {
+        buffer.writeByte(ClientPacket.BANK_EXTRACT_GOLD.getId());
+        buffer.writeLong(amount);
+    }
+
+    /** Escribe {@code BANK_DEPOSIT_GOLD} ({@code L}). */
+    public static void bankDepositGold(PacketBuffer buffer, int amount) {
+        buffer.writeByte(ClientPacket.BANK_DEPOSIT_GOLD.getId());
+        buffer.writeLong(amount);
+    }
+
+    /** Escribe {@code DENOUNCE} ({@code S}). */
+    public static void denounce(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.DENOUNCE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code GUILD_FUNDATE}. */
+    public static void guildFundate(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GUILD_FUNDATE.getId());
+    }
+
+    /** Escribe {@code GUILD_FUNDATION} ({@code B}). */
+    public static void guildFundation(PacketBuffer buffer, int clanType) {
+        buffer.writeByte(ClientPacket.GUILD_FUNDATION.getId());
+        buffer.writeByte(clanType);
+    }
+
+    /** Escribe {@code PARTY_KICK} ({@code S}). */
+    public static void partyKick(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.PARTY_KICK.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code PARTY_SET_LEADER} ({@code S}). */
+    public static void partySetLeader(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.PARTY_SET_LEADER.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code PARTY_ACCEPT_MEMBER} ({@code S}). */
+    public static void partyAcceptMember(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.PARTY_ACCEPT_MEMBER.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code PING}. */
+    public static void ping(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.PING.getId());
+    }
+
+    /** Escribe {@code HOME}. */
+    public static void home(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.HOME.getId());
+    }
+
+    /** Escribe {@code SHARE_NPC}. */
+    public static void shareNpc(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.SHARE_NPC.getId());
+    }
+
+    /** Escribe {@code STOP_SHARING_NPC}. */
+    public static void stopSharingNpc(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.STOP_SHARING_NPC.getId());
+    }
+
+    /** Escribe {@code CONSULTA}. */
+    public static void consulta(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.CONSULTA.getId());
+    }
+
+}
@@ -0,0 +1,727 @@
+package org.aoclient.network.protocol.codec;
+
+import org.aoclient.network.PacketBuffer;
+
+/**
+ * Calcula la longitud exacta de los paquetes del cliente segun los layouts de {@code ClientPacket} y {@code GMCommand}.
+ * <p>
+ * Generado por {@code PacketCodecGenerator}, no modificar a mano.
+ */
+
+public final class ClientPacketLengths {
+
+    private ClientPacketLengths() {
+    }
+
+    /**
+     * Calcula la longitud del paquete que comienza en el cursor de lectura del buffer, incluyendo su byte identificador.
+     *
+     * @param id     ID del paquete
+     * @param buffer buffer con los bytes recibidos del cliente
+     * @return la longitud total del paquete o, si todavia faltan bytes, la cantidad minima de bytes que necesita con signo
+     * negativo
+     * @throws IllegalArgumentException si el ID no corresponde a un paquete que envie el cliente
+     */
+    public static int frameLength(int id, PacketBuffer buffer) {
+        int available = buffer.getLength();
+        return switch (id) {
+            case 0 -> loginExistingChar(buffer, available);
+            case 1 -> fixed(available, 1); // THROW_DICES
+            case 2 -> loginNewChar(buffer, available);
+            case 3 -> talk(buffer, available);
+            case 4 -> yell(buffer, available);
+            case 5 -> whisper(buffer, available);
+            case 6 -> fixed(available, 2); // WALK
+            case 7 -> fixed(available, 1); // REQUEST_POSITION_UPDATE
+            case 8 -> fixed(available, 1); // ATTACK
+            case 9 -> fixed(available, 1); // PICK_UP
+            case 10 -> fixed(available, 1); // SAFE_TOGGLE
+            case 11 -> fixed(available, 1); // RESUSCITATION_SAFE_TOGGLE
+            case 12 -> fixed(available, 1); // REQUEST_GUILD_LEADER_INFO
+            case 13 -> fixed(available, 1); // REQUEST_ATTRIBUTES
+            case 14 -> fixed(available, 1); // REQUEST_FAME
+            case 15 -> fixed(available, 1); // REQUEST_SKILLS
+            case 16 -> fixed(available, 1); // REQUEST_MINI_STATS
+            case 17 -> fixed(available, 1); // COMMERCE_END
+            case 21 -> fixed(available, 1); // BANK_END
+            case 24 -> fixed(available, 4); // DROP
+            case 25 -> fixed(available, 2); // CAST_SPELL
+            case 26 -> fixed(available, 3); // LEFT_CLICK
+            case 27 -> fixed(available, 3); // DOUBLE_CLICK
+            case 28 -> fixed(available, 2); // WORK
+            case 30 -> fixed(available, 2); // USE_ITEM
+            case 33 -> fixed(available, 4); // WORK_LEFT_CLICK
+            case 35 -> fixed(available, 2); // SPELL_INFO
+            case 36 -> fixed(available, 2); // EQUIP_ITEM
+            case 37 -> fixed(available, 2); // CHANGE_HEADING
+            case 38 -> fixed(available, 21); // MODIFY_SKILLS
+            case 40 -> fixed(available, 4); // COMMERCE_BUY
+            case 41 -> fixed(available, 4); // BANK_EXTRACT_ITEM
+            case 42 -> fixed(available, 4); // COMMERCE_SELL
+            case 43 -> fixed(available, 4); // BANK_DEPOSIT
+            case 70 -> fixed(available, 1); // ONLINE
+            case 71 -> fixed(available, 1); // QUIT
+            case 72 -> fixed(available, 1); // GUILD_LEAVE
+            case 73 -> fixed(available, 1); // REQUEST_ACCOUNT_STATE
+            case 74 -> fixed(available, 1); // PET_STAND
+            case 75 -> fixed(available, 1); // PET_FOLLOW
+            case 76 -> fixed(available, 1); // RELEASE_PET
+            case 77 -> fixed(available, 1); // TRAIN_LIST
+            case 78 -> fixed(available, 1); // REST
+            case 79 -> fixed(available, 1); // MEDITATE
+            case 80 -> fixed(available, 1); // RESUCITATE
+            case 81 -> fixed(available, 1); // HEAL
+            case 82 -> fixed(available, 1); // HELP
+            case 83 -> fixed(available, 1); // REQUEST_STATS
+            case 84 -> fixed(available, 1); // COMMERCE_START
+            case 85 -> fixed(available, 1); // BANK_START
+            case 86 -> fixed(available, 1); // ENLIST
+            case 87 -> fixed(available, 1); // INFORMATION
+            case 88 -> fixed(available, 1); // REWARD
+            case 89 -> fixed(available, 1); // REQUEST_MOTD
+            case 90 -> fixed(available, 1); // UPTIME
+            case 91 -> fixed(available, 1); // PARTY_LEAVE
+            case 92 -> fixed(available, 1); // PARTY_CREATE
+            case 93 -> fixed(available, 1); // PARTY_JOIN
+            case 94 -> fixed(available, 1); // INQUIRY
+            case 95 -> guildMessage(buffer, available);
+            case 96 -> partyMessage(buffer, available);
+            case 97 -> fixed(available, 2); // CENTINEL_REPORT
+            case 98 -> fixed(available, 1); // GUILD_ONLINE
+            case 100 -> councilMessage(buffer, available);
+            case 101 -> roleMasterRequest(buffer, available);
+            case 102 -> fixed(available, 1); // GM_REQUEST
+            case 103 -> bugReport(buffer, available);
+            case 104 -> changeDescription(buffer, available);
+            case 105 -> guildVote(buffer, available);
+            case 106 -> punishments(buffer, available);
+            case 107 -> changePassword(buffer, available);
+            case 108 -> fixed(available, 3); // GAMBLE
+            case 109 -> fixed(available, 2); // INQUIRY_VOTE
+            case 110 -> fixed(available, 1); // LEAVE_FACTION
+            case 111 -> fixed(available, 5); // BANK_EXTRACT_GOLD
+            case 112 -> fixed(available, 5); // BANK_DEPOSIT_GOLD
+            case 113 -> denounce(buffer, available);
+            case 114 -> fixed(available, 1); // GUILD_FUNDATE
+            case 115 -> fixed(available, 2); // GUILD_FUNDATION
+            case 116 -> partyKick(buffer, available);
+            case 117 -> partySetLeader(buffer, available);
+            case 118 -> partyAcceptMember(buffer, available);
+            case 119 -> fixed(available, 1); // PING
+            case 122 -> gmCommands(buffer, available);
+            case 124 -> fixed(available, 1); // HOME
+            case 126 -> fixed(available, 1); // SHARE_NPC
+            case 127 -> fixed(available, 1); // STOP_SHARING_NPC
+            case 128 -> fixed(available, 1); // CONSULTA
+            default -> throw new IllegalArgumentException("Unknown client packet ID: " + id);
+        };
+    }
+
+    private static int fixed(int available, int length) {
+        return available >= length ? length : -length;
+    }
+
+    /** {@code LOGIN_EXISTING_CHAR}: {@code SSBBB}. */
+    private static int loginExistingChar(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 3;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code LOGIN_NEW_CHAR}: {@code SSBBBBBBISB}. */
+    private static int loginNewChar(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 8;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 1;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code TALK}: {@code S}. */
+    private static int talk(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code YELL}: {@code S}. */
+    private static int yell(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code WHISPER}: {@code IS}. */
+    private static int whisper(PacketBuffer buffer, int available) {
+        int offset = 3;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GUILD_MESSAGE}: {@code S}. */
+    private static int guildMessage(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code PARTY_MESSAGE}: {@code S}. */
+    private static int partyMessage(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code COUNCIL_MESSAGE}: {@code S}. */
+    private static int councilMessage(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code ROLE_MASTER_REQUEST}: {@code S}. */
+    private static int roleMasterRequest(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code BUG_REPORT}: {@code S}. */
+    private static int bugReport(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHANGE_DESCRIPTION}: {@code S}. */
+    private static int changeDescription(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GUILD_VOTE}: {@code S}. */
+    private static int guildVote(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code PUNISHMENTS}: {@code S}. */
+    private static int punishments(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHANGE_PASSWORD}: {@code SS}. */
+    private static int changePassword(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code DENOUNCE}: {@code S}. */
+    private static int denounce(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code PARTY_KICK}: {@code S}. */
+    private static int partyKick(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code PARTY_SET_LEADER}: {@code S}. */
+    private static int partySetLeader(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code PARTY_ACCEPT_MEMBER}: {@code S}. */
+    private static int partyAcceptMember(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GM_COMMANDS}: {@code G}. */
+    private static int gmCommands(PacketBuffer buffer, int available) {
+        int offset = 1;
+        offset = gmCommand(buffer, available, offset);
+        if (offset < 0) return offset;
+        return available >= offset ? offset : -offset;
+    }
+
+    /**
+     * Recorre el comando de un {@code GM_COMMANDS} que comienza en la posicion indicada.
+     *
+     * @return la posicion siguiente al comando o, si faltan bytes para leer un prefijo, la cantidad minima de bytes con signo
+     * negativo
+     */
+    private static int gmCommand(PacketBuffer buffer, int available, int offset) {
+        if (available < offset + 1) return -(offset + 1);
+        int command = buffer.peekByteAt(offset);
+        offset++;
+        switch (command) {
+            case 1 -> { // GM_MESSAGE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 2 -> { // SHOW_NAME
+            }
+            case 3 -> { // ONLINE_ROYAL_ARMY
+            }
+            case 4 -> { // ONLINE_CHAOS_LEGION
+            }
+            case 5 -> { // GO_NEARBY
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 6 -> { // COMMENT
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 7 -> { // SERVER_TIME
+            }
+            case 8 -> { // WHERE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 9 -> { // CREATURES_IN_MAP
+                offset += 2;
+            }
+            case 10 -> { // WARP_ME_TO_TARGET
+            }
+            case 11 -> { // WARP_CHAR
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                offset += 4;
+            }
+            case 12 -> { // SILENCE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 13 -> { // SOS_SHOW_LIST
+            }
+            case 15 -> { // GO_TO_CHAR
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 16 -> { // INVISIBLE
+            }
+            case 17 -> { // GM_PANEL
+            }
+            case 19 -> { // WORKING
+            }
+            case 20 -> { // HIDING
+            }
+            case 21 -> { // JAIL
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                offset += 1;
+            }
+            case 22 -> { // KILL_NPC
+            }
+            case 23 -> { // WARN_USER
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 24 -> { // EDIT_CHAR
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                offset += 1;
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 25 -> { // REQUEST_CHAR_INFO
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 26 -> { // REQUEST_CHAR_STATS
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 27 -> { // REQUEST_CHAR_GOLD
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 28 -> { // REQUEST_CHAR_INVENTORY
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 29 -> { // REQUEST_CHAR_BANK
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 30 -> { // REQUEST_CHAR_SKILLS
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 31 -> { // REVIVE_CHAR
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 32 -> { // ONLINE_GM
+            }
+            case 33 -> { // ONLINE_MAP
+                offset += 2;
+            }
+            case 34 -> { // FORGIVE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 35 -> { // KICK
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 36 -> { // EXECUTE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 37 -> { // BAN_CHAR
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 38 -> { // UNBAN_CHAR
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 39 -> { // NPC_FOLLOW
+            }
+            case 40 -> { // SUMMON_CHAR
+            }
+            case 41 -> { // SPAWN_LIST_REQUEST
+            }
+            case 42 -> { // SPAWN_CREATURE
+                offset += 2;
+            }
+            case 43 -> { // RESET_NPC_INVENTORY
+            }
+            case 44 -> { // CLEAN_WORLD
+            }
+            case 45 -> { // SERVER_MESSAGE
+            }
+            case 46 -> { // NICK_TO_IP
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 47 -> { // IP_TO_NICK
+                offset += 4;
+            }
+            case 48 -> { // GUILD_ONLINE_MEMBERS
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 49 -> { // TELEPORT_CREATE
+                offset += 5;
+            }
+            case 50 -> { // TELEPORT_DESTROY
+            }
+            case 51 -> { // RAIN_TOGGLE
+            }
+            case 52 -> { // SET_CHAR_DESCRIPTION
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 53 -> { // FORCE_MIDI_TO_MAP
+                offset += 3;
+            }
+            case 54 -> { // FORCE_WAVE_TO_MAP
+                offset += 5;
+            }
+            case 55 -> { // ROYAL_ARMY_MESSAGE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 56 -> { // CHAOS_LEGION_MESSAGE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 57 -> { // CITIZEN_MESSAGE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 58 -> { // CRIMINAL_MESSAGE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 59 -> { // TALK_AS_NPC
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 60 -> { // DESTROY_ALL_ITEMS_IN_AREA
+            }
+            case 61 -> { // ACCEPT_ROYAL_COUNCIL_MEMBER
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 62 -> { // ACCEPT_CHAOS_COUNCIL_MEMBER
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 63 -> { // ITEMS_IN_THE_FLOOR
+            }
+            case 64 -> { // MAKE_DUMB
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 65 -> { // MAKE_DUMB_NO_MORE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 66 -> { // DUMP_IP_TABLES
+            }
+            case 67 -> { // COUNCIL_KICK
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 68 -> { // SET_TRIGGER
+                offset += 1;
+            }
+            case 69 -> { // ASK_TRIGGER
+            }
+            case 70 -> { // BANNED_IP_LIST
+            }
+            case 71 -> { // BANNED_IP_RELOAD
+            }
+            case 72 -> { // GUILD_MEMBER_LIST
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 73 -> { // GUILD_BAN
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 74 -> { // BAN_IP
+                if (available < offset + 1) return -(offset + 1);
+                boolean flag0 = buffer.peekByteAt(offset) != 0;
+                offset++;
+                if (flag0) {
+                    offset += 4;
+                } else {
+                    if (available < offset + 2) return -(offset + 2);
+                    offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                }
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 75 -> { // UNBAN_IP
+                offset += 4;
+            }
+            case 76 -> { // CREATE_ITEM
+                offset += 2;
+            }
+            case 77 -> { // DESTROY_ITEMS
+            }
+            case 78 -> { // CHAOS_LEGION_KICK
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 79 -> { // ROYAL_ARMY_KICK
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 80 -> { // FORCE_MIDI_ALL
+                offset += 1;
+            }
+            case 81 -> { // FORCE_WAVE_ALL
+                offset += 1;
+            }
+            case 82 -> { // REMOVE_PUNISHMENT
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                offset += 1;
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 83 -> { // TILE_BLOCKED_TOGGLE
+            }
+            case 84 -> { // KILL_NPC_NO_RESPAWN
+            }
+            case 85 -> { // KILL_ALL_NEARBY_NPCS
+            }
+            case 86 -> { // LAST_IP
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 87 -> { // CHANGE_MOTD
+            }
+            case 89 -> { // SYSTEM_MESSAGE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 90 -> { // CREATE_NPC
+                offset += 2;
+            }
+            case 91 -> { // CREATE_NPC_WITH_RESPAWN
+                offset += 2;
+            }
+            case 92 -> { // IMPERIAL_ARMOUR
+                offset += 3;
+            }
+            case 93 -> { // CHAOS_ARMOUR
+                offset += 3;
+            }
+            case 94 -> { // NAVIGATE_TOGGLE
+            }
+            case 95 -> { // SERVER_OPEN_TO_USERS_TOGGLE
+            }
+            case 96 -> { // TURN_OFF_SERVER
+            }
+            case 97 -> { // TURN_CRIMINAL
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 98 -> { // RESET_FACTIONS
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 99 -> { // REMOVE_CHAR_FROM_GUILD
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 100 -> { // REQUEST_CHAR_MAIL
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 101 -> { // ALTER_PASSWORD
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 102 -> { // ALTER_MAIL
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 103 -> { // ALTER_NAME
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 104 -> { // TOGGLE_CENTINEL_ACTIVATED
+            }
+            case 105 -> { // DO_BACKUP
+            }
+            case 106 -> { // SHOW_GUILD_MESSAGES
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 107 -> { // SAVE_MAP
+            }
+            case 108 -> { // CHANGE_MAP_INFO_PK
+                offset += 1;
+            }
+            case 109 -> { // CHANGE_MAP_INFO_BACKUP
+                offset += 1;
+            }
+            case 110 -> { // CHANGE_MAP_INFO_RESTRICTED
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 111 -> { // CHANGE_MAP_INFO_NO_MAGIC
+                offset += 1;
+            }
+            case 112 -> { // CHANGE_MAP_INFO_NO_INVI
+                offset += 1;
+            }
+            case 113 -> { // CHANGE_MAP_INFO_NO_RESU
+                offset += 1;
+            }
+            case 114 -> { // CHANGE_MAP_INFO_LAND
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 115 -> { // CHANGE_MAP_INFO_ZONE
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            case 119 -> { // SAVE_CHARS
+            }
+            case 120 -> { // CLEAN_SOS
+            }
+            case 121 -> { // SHOW_SERVER_FORM
+            }
+            case 122 -> { // NIGHT
+            }
+            case 123 -> { // KICK_ALL_CHARS
+            }
+            case 124 -> { // RELOAD_NPCS
+            }
+            case 125 -> { // RELOAD_SERVER_INI
+            }
+            case 126 -> { // RELOAD_SPELLS
+            }
+            case 127 -> { // RELOAD_OBJECTS
+            }
+            case 128 -> { // RESTART
+            }
+            case 129 -> { // RESET_AUTO_UPDATE
+            }
+            case 130 -> { // CHAT_COLOR
+                offset += 3;
+            }
+            case 131 -> { // IGNORED
+            }
+            case 132 -> { // CHECK_SLOT
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                offset += 1;
+            }
+            case 133 -> { // SET_INI_VAR
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            default -> throw new IllegalArgumentException("Unknown GM command ID: " + command);
+        }
+        return offset;
+    }
+
+}
@@ -0,0 +1,897 @@
+package org.aoclient.network.protocol.codec;
+
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.ClientPacket;
+import org.aoclient.network.protocol.types.GMCommand;
+
+/**
+ * Encoders de los comandos de GM segun los layouts de {@code GMCommand}. Cada metodo escribe el paquete
+ * {@code GM_COMMANDS} completo, incluyendo el byte identificador del paquete y el del comando.
+ * <p>
+ * Generado por {@code PacketCodecGenerator}, no modificar a mano.
+ */
+
+public final class GMCommandEncoder {
+
+    private GMCommandEncoder() {
+    }
+
+    /** Escribe {@code GM_MESSAGE} ({@code S}). */
+    public static void gmMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.GM_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code SHOW_NAME}. */
+    public static void showName(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SHOW_NAME.getId());
+    }
+
+    /** Escribe {@code ONLINE_ROYAL_ARMY}. */
+    public static void onlineRoyalArmy(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ONLINE_ROYAL_ARMY.getId());
+    }
+
+    /** Escribe {@code ONLINE_CHAOS_LEGION}. */
+    public static void onlineChaosLegion(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ONLINE_CHAOS_LEGION.getId());
+    }
+
+    /** Escribe {@code GO_NEARBY} ({@code S}). */
+    public static void goNearby(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.GO_NEARBY.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code COMMENT} ({@code S}). */
+    public static void comment(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.COMMENT.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code SERVER_TIME}. */
+    public static void serverTime(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SERVER_TIME.getId());
+    }
+
+    /** Escribe {@code WHERE} ({@code S}). */
+    public static void where(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.WHERE.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code CREATURES_IN_MAP} ({@code I}). */
+    public static void creaturesInMap(PacketBuffer buffer, short map) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CREATURES_IN_MAP.getId());
+        buffer.writeInteger(map);
+    }
+
+    /** Escribe {@code WARP_ME_TO_TARGET}. */
+    public static void warpMeToTarget(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.WARP_ME_TO_TARGET.getId());
+    }
+
+    /** Escribe {@code WARP_CHAR} ({@code SIBB}). */
+    public static void warpChar(PacketBuffer buffer, String userName, short map, int x, int y) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.WARP_CHAR.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeInteger(map);
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code SILENCE} ({@code S}). */
+    public static void silence(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SILENCE.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code SOS_SHOW_LIST}. */
+    public static void sosShowList(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SOS_SHOW_LIST.getId());
+    }
+
+    /** Escribe {@code GO_TO_CHAR} ({@code S}). */
+    public static void goToChar(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.GO_TO_CHAR.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code INVISIBLE}. */
+    public static void invisible(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.INVISIBLE.getId());
+    }
+
+    /** Escribe {@code GM_PANEL}. */
+    public static void gmPanel(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.GM_PANEL.getId());
+    }
+
+    /** Escribe {@code WORKING}. */
+    public static void working(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.WORKING.getId());
+    }
+
+    /** Escribe {@code HIDING}. */
+    public static void hiding(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.HIDING.getId());
+    }
+
+    /** Escribe {@code JAIL} ({@code SSB}). */
+    public static void jail(PacketBuffer buffer, String userName, String reason, int time) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.JAIL.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeCp1252String(reason);
+        buffer.writeByte(time);
+    }
+
+    /** Escribe {@code KILL_NPC}. */
+    public static void killNpc(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.KILL_NPC.getId());
+    }
+
+    /** Escribe {@code WARN_USER} ({@code SS}). */
+    public static void warnUser(PacketBuffer buffer, String userName, String reason) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.WARN_USER.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeCp1252String(reason);
+    }
+
+    /** Escribe {@code EDIT_CHAR} ({@code SBSS}). */
+    public static void editChar(PacketBuffer buffer, String userName, int editOption, String arg1, String arg2) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.EDIT_CHAR.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeByte(editOption);
+        buffer.writeCp1252String(arg1);
+        buffer.writeCp1252String(arg2);
+    }
+
+    /** Escribe {@code REQUEST_CHAR_INFO} ({@code S}). */
+    public static void requestCharInfo(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REQUEST_CHAR_INFO.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code REQUEST_CHAR_STATS} ({@code S}). */
+    public static void requestCharStats(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REQUEST_CHAR_STATS.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code REQUEST_CHAR_GOLD} ({@code S}). */
+    public static void requestCharGold(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REQUEST_CHAR_GOLD.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code REQUEST_CHAR_INVENTORY} ({@code S}). */
+    public static void requestCharInventory(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REQUEST_CHAR_INVENTORY.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code REQUEST_CHAR_BANK} ({@code S}). */
+    public static void requestCharBank(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REQUEST_CHAR_BANK.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code REQUEST_CHAR_SKILLS} ({@code S}). */
+    public static void requestCharSkills(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REQUEST_CHAR_SKILLS.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code REVIVE_CHAR} ({@code S}). */
+    public static void reviveChar(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REVIVE_CHAR.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code ONLINE_GM}. */
+    public static void onlineGm(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ONLINE_GM.getId());
+    }
+
+    /** Escribe {@code ONLINE_MAP} ({@code I}). */
+    public static void onlineMap(PacketBuffer buffer, short map) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ONLINE_MAP.getId());
+        buffer.writeInteger(map);
+    }
+
+    /** Escribe {@code FORGIVE} ({@code S}). */
+    public static void forgive(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.FORGIVE.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code KICK} ({@code S}). */
+    public static void kick(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.KICK.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code EXECUTE} ({@code S}). */
+    public static void execute(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.EXECUTE.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code BAN_CHAR} ({@code SS}). */
+    public static void banChar(PacketBuffer buffer, String userName, String reason) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.BAN_CHAR.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeCp1252String(reason);
+    }
+
+    /** Escribe {@code UNBAN_CHAR} ({@code S}). */
+    public static void unbanChar(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.UNBAN_CHAR.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code NPC_FOLLOW}. */
+    public static void npcFollow(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.NPC_FOLLOW.getId());
+    }
+
+    /** Escribe {@code SUMMON_CHAR}. */
+    public static void summonChar(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SUMMON_CHAR.getId());
+    }
+
+    /** Escribe {@code SPAWN_LIST_REQUEST}. */
+    public static void spawnListRequest(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SPAWN_LIST_REQUEST.getId());
+    }
+
+    /** Escribe {@code SPAWN_CREATURE} ({@code I}). */
+    public static void spawnCreature(PacketBuffer buffer, short creatureIndex) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SPAWN_CREATURE.getId());
+        buffer.writeInteger(creatureIndex);
+    }
+
+    /** Escribe {@code RESET_NPC_INVENTORY}. */
+    public static void resetNpcInventory(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RESET_NPC_INVENTORY.getId());
+    }
+
+    /** Escribe {@code CLEAN_WORLD}. */
+    public static void cleanWorld(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CLEAN_WORLD.getId());
+    }
+
+    /** Escribe {@code SERVER_MESSAGE}. */
+    public static void serverMessage(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SERVER_MESSAGE.getId());
+    }
+
+    /** Escribe {@code NICK_TO_IP} ({@code S}). */
+    public static void nickToIp(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.NICK_TO_IP.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code IP_TO_NICK} ({@code 4B}). */
+    public static void ipToNick(PacketBuffer buffer, int[] ip) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.IP_TO_NICK.getId());
+        for (int i = 0; i < 4; i++)
+            buffer.writeByte(ip[i]);
+    }
+
+    /** Escribe {@code GUILD_ONLINE_MEMBERS} ({@code S}). */
+    public static void guildOnlineMembers(PacketBuffer buffer, String guild) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.GUILD_ONLINE_MEMBERS.getId());
+        buffer.writeCp1252String(guild);
+    }
+
+    /** Escribe {@code TELEPORT_CREATE} ({@code IBBB}). */
+    public static void teleportCreate(PacketBuffer buffer, short map, int x, int y, int radius) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.TELEPORT_CREATE.getId());
+        buffer.writeInteger(map);
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+        buffer.writeByte(radius);
+    }
+
+    /** Escribe {@code TELEPORT_DESTROY}. */
+    public static void teleportDestroy(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.TELEPORT_DESTROY.getId());
+    }
+
+    /** Escribe {@code RAIN_TOGGLE}. */
+    public static void rainToggle(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RAIN_TOGGLE.getId());
+    }
+
+    /** Escribe {@code SET_CHAR_DESCRIPTION} ({@code S}). */
+    public static void setCharDescription(PacketBuffer buffer, String description) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SET_CHAR_DESCRIPTION.getId());
+        buffer.writeCp1252String(description);
+    }
+
+    /** Escribe {@code FORCE_MIDI_TO_MAP} ({@code BI}). */
+    public static void forceMidiToMap(PacketBuffer buffer, int midi, short map) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.FORCE_MIDI_TO_MAP.getId());
+        buffer.writeByte(midi);
+        buffer.writeInteger(map);
+    }
+
+    /** Escribe {@code FORCE_WAVE_TO_MAP} ({@code BIBB}). */
+    public static void forceWaveToMap(PacketBuffer buffer, int wave, short map, int x, int y) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.FORCE_WAVE_TO_MAP.getId());
+        buffer.writeByte(wave);
+        buffer.writeInteger(map);
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code ROYAL_ARMY_MESSAGE} ({@code S}). */
+    public static void royalArmyMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ROYAL_ARMY_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code CHAOS_LEGION_MESSAGE} ({@code S}). */
+    public static void chaosLegionMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHAOS_LEGION_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code CITIZEN_MESSAGE} ({@code S}). */
+    public static void citizenMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CITIZEN_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code CRIMINAL_MESSAGE} ({@code S}). */
+    public static void criminalMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CRIMINAL_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code TALK_AS_NPC} ({@code S}). */
+    public static void talkAsNpc(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.TALK_AS_NPC.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code DESTROY_ALL_ITEMS_IN_AREA}. */
+    public static void destroyAllItemsInArea(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.DESTROY_ALL_ITEMS_IN_AREA.getId());
+    }
+
+    /** Escribe {@code ACCEPT_ROYAL_COUNCIL_MEMBER} ({@code S}). */
+    public static void acceptRoyalCouncilMember(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ACCEPT_ROYAL_COUNCIL_MEMBER.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code ACCEPT_CHAOS_COUNCIL_MEMBER} ({@code S}). */
+    public static void acceptChaosCouncilMember(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ACCEPT_CHAOS_COUNCIL_MEMBER.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code ITEMS_IN_THE_FLOOR}. */
+    public static void itemsInTheFloor(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ITEMS_IN_THE_FLOOR.getId());
+    }
+
+    /** Escribe {@code MAKE_DUMB} ({@code S}). */
+    public static void makeDumb(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.MAKE_DUMB.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code MAKE_DUMB_NO_MORE} ({@code S}). */
+    public static void makeDumbNoMore(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.MAKE_DUMB_NO_MORE.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code DUMP_IP_TABLES}. */
+    public static void dumpIpTables(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.DUMP_IP_TABLES.getId());
+    }
+
+    /** Escribe {@code COUNCIL_KICK} ({@code S}). */
+    public static void councilKick(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.COUNCIL_KICK.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code SET_TRIGGER} ({@code B}). */
+    public static void setTrigger(PacketBuffer buffer, int trigger) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SET_TRIGGER.getId());
+        buffer.writeByte(trigger);
+    }
+
+    /** Escribe {@code ASK_TRIGGER}. */
+    public static void askTrigger(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ASK_TRIGGER.getId());
+    }
+
+    /** Escribe {@code BANNED_IP_LIST}. */
+    public static void bannedIpList(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.BANNED_IP_LIST.getId());
+    }
+
+    /** Escribe {@code BANNED_IP_RELOAD}. */
+    public static void bannedIpReload(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.BANNED_IP_RELOAD.getId());
+    }
+
+    /** Escribe {@code GUILD_MEMBER_LIST} ({@code S}). */
+    public static void guildMemberList(PacketBuffer buffer, String guild) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.GUILD_MEMBER_LIST.getId());
+        buffer.writeCp1252String(guild);
+    }
+
+    /** Escribe {@code GUILD_BAN} ({@code S}). */
+    public static void guildBan(PacketBuffer buffer, String guild) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.GUILD_BAN.getId());
+        buffer.writeCp1252String(guild);
+    }
+
+    /** Escribe {@code BAN_IP} ({@code ?(4B)(S)S}). */
+    public static void banIp(PacketBuffer buffer, boolean byIp, int[] ip, String userName, String reason) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.BAN_IP.getId());
+        buffer.writeBoolean(byIp);
+        if (byIp) {
+            for (int i = 0; i < 4; i++)
+                buffer.writeByte(ip[i]);
+        } else {
+            buffer.writeCp1252String(userName);
+        }
+        buffer.writeCp1252String(reason);
+    }
+
+    /** Escribe {@code UNBAN_IP} ({@code 4B}). */
+    public static void unbanIp(PacketBuffer buffer, int[] ip) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.UNBAN_IP.getId());
+        for (int i = 0; i < 4; i++)
+            buffer.writeByte(ip[i]);
+    }
+
+    /** Escribe {@code CREATE_ITEM} ({@code I}). */
+    public static void createItem(PacketBuffer buffer, short itemIndex) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CREATE_ITEM.getId());
+        buffer.writeInteger(itemIndex);
+    }
+
+    /** Escribe {@code DESTROY_ITEMS}. */
+    public static void destroyItems(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.DESTROY_ITEMS.getId());
+    }
+
+    /** Escribe {@code CHAOS_LEGION_KICK} ({@code S}). */
+    public static void chaosLegionKick(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHAOS_LEGION_KICK.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code ROYAL_ARMY_KICK} ({@code S}). */
+    public static void royalArmyKick(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ROYAL_ARMY_KICK.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code FORCE_MIDI_ALL} ({@code B}). */
+    public static void forceMidiAll(PacketBuffer buffer, int midi) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.FORCE_MIDI_ALL.getId());
+        buffer.writeByte(midi);
+    }
+
+    /** Escribe {@code FORCE_WAVE_ALL} ({@code B}). */
+    public static void forceWaveAll(PacketBuffer buffer, int wave) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.FORCE_WAVE_ALL.getId());
+        buffer.writeByte(wave);
+    }
+
+    /** Escribe {@code REMOVE_PUNISHMENT} ({@code SBS}). */
+    public static void removePunishment(PacketBuffer buffer, String userName, int punishment, String newText) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REMOVE_PUNISHMENT.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeByte(punishment);
+        buffer.writeCp1252String(newText);
+    }
+
+    /** Escribe {@code TILE_BLOCKED_TOGGLE}. */
+    public static void tileBlockedToggle(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.TILE_BLOCKED_TOGGLE.getId());
+    }
+
+    /** Escribe {@code KILL_NPC_NO_RESPAWN}. */
+    public static void killNpcNoRespawn(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.KILL_NPC_NO_RESPAWN.getId());
+    }
+
+    /** Escribe {@code KILL_ALL_NEARBY_NPCS}. */
+    public static void killAllNearbyNpcs(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.KILL_ALL_NEARBY_NPCS.getId());
+    }
+
+    /** Escribe {@code LAST_IP} ({@code S}). */
+    public static void lastIp(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.LAST_IP.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code CHANGE_MOTD}. */
+    public static void changeMotd(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MOTD.getId());
+    }
+
+    /** Escribe {@code SYSTEM_MESSAGE} ({@code S}). */
+    public static void systemMessage(PacketBuffer buffer, String message) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SYSTEM_MESSAGE.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code CREATE_NPC} ({@code I}). */
+    public static void createNpc(PacketBuffer buffer, short npcIndex) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CREATE_NPC.getId());
+        buffer.writeInteger(npcIndex);
+    }
+
+    /** Escribe {@code CREATE_NPC_WITH_RESPAWN} ({@code I}). */
+    public static void createNpcWithRespawn(PacketBuffer buffer, short npcIndex) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CREATE_NPC_WITH_RESPAWN.getId());
+        buffer.writeInteger(npcIndex);
+    }
+
+    /** Escribe {@code IMPERIAL_ARMOUR} ({@code BI}). */
+    public static void imperialArmour(PacketBuffer buffer, int armourIndex, short objectIndex) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.IMPERIAL_ARMOUR.getId());
+        buffer.writeByte(armourIndex);
+        buffer.writeInteger(objectIndex);
+    }
+
+    /** Escribe {@code CHAOS_ARMOUR} ({@code BI}). */
+    public static void chaosArmour(PacketBuffer buffer, int armourIndex, short objectIndex) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHAOS_ARMOUR.getId());
+        buffer.writeByte(armourIndex);
+        buffer.writeInteger(objectIndex);
+    }
+
+    /** Escribe {@code NAVIGATE_TOGGLE}. */
+    public static void navigateToggle(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.NAVIGATE_TOGGLE.getId());
+    }
+
+    /** Escribe {@code SERVER_OPEN_TO_USERS_TOGGLE}. */
+    public static void serverOpenToUsersToggle(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SERVER_OPEN_TO_USERS_TOGGLE.getId());
+    }
+
+    /** Escribe {@code TURN_OFF_SERVER}. */
+    public static void turnOffServer(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.TURN_OFF_SERVER.getId());
+    }
+
+    /** Escribe {@code TURN_CRIMINAL} ({@code S}). */
+    public static void turnCriminal(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.TURN_CRIMINAL.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code RESET_FACTIONS} ({@code S}). */
+    public static void resetFactions(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RESET_FACTIONS.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code REMOVE_CHAR_FROM_GUILD} ({@code S}). */
+    public static void removeCharFromGuild(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REMOVE_CHAR_FROM_GUILD.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code REQUEST_CHAR_MAIL} ({@code S}). */
+    public static void requestCharMail(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.REQUEST_CHAR_MAIL.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code ALTER_PASSWORD} ({@code SS}). */
+    public static void alterPassword(PacketBuffer buffer, String userName, String copyFrom) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ALTER_PASSWORD.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeCp1252String(copyFrom);
+    }
+
+    /** Escribe {@code ALTER_MAIL} ({@code SS}). */
+    public static void alterMail(PacketBuffer buffer, String userName, String newMail) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ALTER_MAIL.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeCp1252String(newMail);
+    }
+
+    /** Escribe {@code ALTER_NAME} ({@code SS}). */
+    public static void alterName(PacketBuffer buffer, String userName, String newName) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.ALTER_NAME.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeCp1252String(newName);
+    }
+
+    /** Escribe {@code TOGGLE_CENTINEL_ACTIVATED}. */
+    public static void toggleCentinelActivated(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.TOGGLE_CENTINEL_ACTIVATED.getId());
+    }
+
+    /** Escribe {@code DO_BACKUP}. */
+    public static void doBackup(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.DO_BACKUP.getId());
+    }
+
+    /** Escribe {@code SHOW_GUILD_MESSAGES} ({@code S}). */
+    public static void showGuildMessages(PacketBuffer buffer, String guild) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SHOW_GUILD_MESSAGES.getId());
+        buffer.writeCp1252String(guild);
+    }
+
+    /** Escribe {@code SAVE_MAP}. */
+    public static void saveMap(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SAVE_MAP.getId());
+    }
+
+    /** Escribe {@code CHANGE_MAP_INFO_PK} ({@code Z}). */
+    public static void changeMapInfoPk(PacketBuffer buffer, boolean pk) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MAP_INFO_PK.getId());
+        buffer.writeBoolean(pk);
+    }
+
+    /** Escribe {@code CHANGE_MAP_INFO_BACKUP} ({@code Z}). */
+    public static void changeMapInfoBackup(PacketBuffer buffer, boolean backup) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MAP_INFO_BACKUP.getId());
+        buffer.writeBoolean(backup);
+    }
+
+    /** Escribe {@code CHANGE_MAP_INFO_RESTRICTED} ({@code S}). */
+    public static void changeMapInfoRestricted(PacketBuffer buffer, String restriction) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MAP_INFO_RESTRICTED.getId());
+        buffer.writeCp1252String(restriction);
+    }
+
+    /** Escribe {@code CHANGE_MAP_INFO_NO_MAGIC} ({@code Z}). */
+    public static void changeMapInfoNoMagic(PacketBuffer buffer, boolean noMagic) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MAP_INFO_NO_MAGIC.getId());
+        buffer.writeBoolean(noMagic);
+    }
+
+    /** Escribe {@code CHANGE_MAP_INFO_NO_INVI} ({@code Z}). */
+    public static void changeMapInfoNoInvi(PacketBuffer buffer, boolean noInvisibility) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MAP_INFO_NO_INVI.getId());
+        buffer.writeBoolean(noInvisibility);
+    }
+
+    /** Escribe {@code CHANGE_MAP_INFO_NO_RESU} ({@code Z}). */
+    public static void changeMapInfoNoResu(PacketBuffer buffer, boolean noResurrection) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MAP_INFO_NO_RESU.getId());
+        buffer.writeBoolean(noResurrection);
+    }
+
+    /** Escribe {@code CHANGE_MAP_INFO_LAND} ({@code S}). */
+    public static void changeMapInfoLand(PacketBuffer buffer, String land) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MAP_INFO_LAND.getId());
+        buffer.writeCp1252String(land);
+    }
+
+    /** Escribe {@code CHANGE_MAP_INFO_ZONE} ({@code S}). */
+    public static void changeMapInfoZone(PacketBuffer buffer, String zone) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHANGE_MAP_INFO_ZONE.getId());
+        buffer.writeCp1252String(zone);
+    }
+
+    /** Escribe {@code SAVE_CHARS}. */
+    public static void saveChars(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SAVE_CHARS.getId());
+    }
+
+    /** Escribe {@code CLEAN_SOS}. */
+    public static void cleanSos(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CLEAN_SOS.getId());
+    }
+
+    /** Escribe {@code SHOW_SERVER_FORM}. */
+    public static void showServerForm(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SHOW_SERVER_FORM.getId());
+    }
+
+    /** Escribe {@code NIGHT}. */
+    public static void night(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.NIGHT.getId());
+    }
+
+    /** Escribe {@code KICK_ALL_CHARS}. */
+    public static void kickAllChars(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.KICK_ALL_CHARS.getId());
+    }
+
+    /** Escribe {@code RELOAD_NPCS}. */
+    public static void reloadNpcs(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RELOAD_NPCS.getId());
+    }
+
+    /** Escribe {@code RELOAD_SERVER_INI}. */
+    public static void reloadServerIni(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RELOAD_SERVER_INI.getId());
+    }
+
+    /** Escribe {@code RELOAD_SPELLS}. */
+    public static void reloadSpells(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RELOAD_SPELLS.getId());
+    }
+
+    /** Escribe {@code RELOAD_OBJECTS}. */
+    public static void reloadObjects(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RELOAD_OBJECTS.getId());
+    }
+
+    /** Escribe {@code RESTART}. */
+    public static void restart(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RESTART.getId());
+    }
+
+    /** Escribe {@code RESET_AUTO_UPDATE}. */
+    public static void resetAutoUpdate(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.RESET_AUTO_UPDATE.getId());
+    }
+
+    /** Escribe {@code CHAT_COLOR} ({@code BBB}). */
+    public static void chatColor(PacketBuffer buffer, int red, int green, int blue) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHAT_COLOR.getId());
+        buffer.writeByte(red);
+        buffer.writeByte(green);
+        buffer.writeByte(blue);
+    }
+
+    /** Escribe {@code IGNORED}. */
+    public static void ignored(PacketBuffer buffer) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.IGNORED.getId());
+    }
+
+    /** Escribe {@code CHECK_SLOT} ({@code SB}). */
+    public static void checkSlot(PacketBuffer buffer, String userName, int slot) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.CHECK_SLOT.getId());
+        buffer.writeCp1252String(userName);
+        buffer.writeByte(slot);
+    }
+
+    /** Escribe {@code SET_INI_VAR} ({@code SSS}). */
+    public static void setIniVar(PacketBuffer buffer, String section, String key, String value) {
+        buffer.writeByte(ClientPacket.GM_COMMANDS.getId());
+        buffer.writeByte(GMCommand.SET_INI_VAR.getId());
+        buffer.writeCp1252String(section);
+        buffer.writeCp1252String(key);
+        buffer.writeCp1252String(value);
+    }
+
+}
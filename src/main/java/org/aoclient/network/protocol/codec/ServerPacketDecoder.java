@@ -0,0 +1,252 @@
+package org.aoclient.network.protocol.codec;
+
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.ServerPacket;
+
+/**
+ * Decoders de los paquetes del servidor mas frecuentes segun los layouts de {@code ServerPacket}. Cada paquete tiene un
+ * evento con un atributo por campo del layout, y decodificarlo lee el paquete completo, incluyendo su byte identificador.
+ * <p>
+ * Los eventos son mutables para poder reutilizarlos: {@link Events} tiene uno de cada tipo, asi que decodificar no asigna
+ * memoria salvo por las cadenas.
+ * <p>
+ * Generado por {@code PacketCodecGenerator}, no modificar a mano.
+ */
+
+public final class ServerPacketDecoder {
+
+    private ServerPacketDecoder() {
+    }
+
+    /** Paquete del servidor decodificado. */
+    public abstract static class Event {
+
+        /**
+         * Lee el paquete completo que comienza en el cursor de lectura del buffer, incluyendo su byte identificador, y guarda sus
+         * campos en el evento.
+         *
+         * @param buffer buffer que contiene el paquete completo
+         */
+        public abstract void decode(PacketBuffer buffer);
+
+        /** Devuelve el paquete que representa el evento. */
+        public abstract ServerPacket getPacket();
+
+    }
+
+    /** {@code CHARACTER_MOVE}: {@code IBB}. */
+    public static final class CharacterMove extends Event {
+
+        public short charIndex;
+        public int x;
+        public int y;
+
+        @Override
+        public void decode(PacketBuffer buffer) {
+            buffer.readByte();
+            charIndex = buffer.readInteger();
+            x = buffer.readByte();
+            y = buffer.readByte();
+        }
+
+        @Override
+        public ServerPacket getPacket() {
+            return ServerPacket.CHARACTER_MOVE;
+        }
+
+    }
+
+    /** {@code CHARACTER_CREATE}: {@code IIIBBBIIIIISBB}. */
+    public static final class CharacterCreate extends Event {
+
+        public short charIndex;
+        public short body;
+        public short head;
+        public int heading;
+        public int x;
+        public int y;
+        public short weapon;
+        public short shield;
+        public short helmet;
+        public short fx;
+        public short fxLoops;
+        public String name;
+        public int nickColor;
+        public int privileges;
+
+        @Override
+        public void decode(PacketBuffer buffer) {
+            buffer.readByte();
+            charIndex = buffer.readInteger();
+            body = buffer.readInteger();
+            head = buffer.readInteger();
+            heading = buffer.readByte();
+            x = buffer.readByte();
+            y = buffer.readByte();
+            weapon = buffer.readInteger();
+            shield = buffer.readInteger();
+            helmet = buffer.readInteger();
+            fx = buffer.readInteger();
+            fxLoops = buffer.readInteger();
+            name = buffer.readCp1252String();
+            nickColor = buffer.readByte();
+            privileges = buffer.readByte();
+        }
+
+        @Override
+        public ServerPacket getPacket() {
+            return ServerPacket.CHARACTER_CREATE;
+        }
+
+    }
+
+    /** {@code UPDATE_HP}: {@code I}. */
+    public static final class UpdateHp extends Event {
+
+        public short minHp;
+
+        @Override
+        public void decode(PacketBuffer buffer) {
+            buffer.readByte();
+            minHp = buffer.readInteger();
+        }
+
+        @Override
+        public ServerPacket getPacket() {
+            return ServerPacket.UPDATE_HP;
+        }
+
+    }
+
+    /** {@code UPDATE_MANA}: {@code I}. */
+    public static final class UpdateMana extends Event {
+
+        public short minMana;
+
+        @Override
+        public void decode(PacketBuffer buffer) {
+            buffer.readByte();
+            minMana = buffer.readInteger();
+        }
+
+        @Override
+        public ServerPacket getPacket() {
+            return ServerPacket.UPDATE_MANA;
+        }
+
+    }
+
+    /** {@code UPDATE_STA}: {@code I}. */
+    public static final class UpdateSta extends Event {
+
+        public short minSta;
+
+        @Override
+        public void decode(PacketBuffer buffer) {
+            buffer.readByte();
+            minSta = buffer.readInteger();
+        }
+
+        @Override
+        public ServerPacket getPacket() {
+            return ServerPacket.UPDATE_STA;
+        }
+
+    }
+
+    /** {@code CREATE_FX}: {@code III}. */
+    public static final class CreateFx extends Event {
+
+        public short charIndex;
+        public short fx;
+        public short fxLoops;
+
+        @Override
+        public void decode(PacketBuffer buffer) {
+            buffer.readByte();
+            charIndex = buffer.readInteger();
+            fx = buffer.readInteger();
+            fxLoops = buffer.readInteger();
+        }
+
+        @Override
+        public ServerPacket getPacket() {
+            return ServerPacket.CREATE_FX;
+        }
+
+    }
+
+    /** {@code CHAT_OVER_HEAD}: {@code SIBBB}. */
+    public static final class ChatOverHead extends Event {
+
+        public String chat;
+        public short charIndex;
+        public int red;
+        public int green;
+        public int blue;
+
+        @Override
+        public void decode(PacketBuffer buffer) {
+            buffer.readByte();
+            chat = buffer.readCp1252String();
+            charIndex = buffer.readInteger();
+            red = buffer.readByte();
+            green = buffer.readByte();
+            blue = buffer.readByte();
+        }
+
+        @Override
+        public ServerPacket getPacket() {
+            return ServerPacket.CHAT_OVER_HEAD;
+        }
+
+    }
+
+    /**
+     * Un evento de cada paquete que tiene decoder, para decodificar cualquiera de ellos sin asignar memoria.
+     */
+    public static final class Events {
+
+        public final CharacterMove characterMove = new CharacterMove();
+        public final CharacterCreate characterCreate = new CharacterCreate();
+        public final UpdateHp updateHp = new UpdateHp();
+        public final UpdateMana updateMana = new UpdateMana();
+        public final UpdateSta updateSta = new UpdateSta();
+        public final CreateFx createFx = new CreateFx();
+        public final ChatOverHead chatOverHead = new ChatOverHead();
+
+        /**
+         * Decodifica el paquete que comienza en el cursor de lectura del buffer en el evento que le corresponde.
+         *
+         * @param packet paquete identificado por el primer byte del buffer
+         * @param buffer buffer que contiene el paquete completo
+         * @return el evento con los campos del paquete, o null si el paquete no tiene decoder, en cuyo caso no se lee nada
+         */
+        public Event decode(ServerPacket packet, PacketBuffer buffer) {
+            Event event = get(packet);
+            if (event != null) event.decode(buffer);
+            return event;
+        }
+
+        /**
+         * Devuelve el evento de un paquete.
+         *
+         * @param packet paquete del servidor
+         * @return el evento, o null si el paquete no tiene decoder
+         */
+        public Event get(ServerPacket packet) {
+            return switch (packet.getId()) {
+                case 32 -> characterMove; // CHARACTER_MOVE
+                case 29 -> characterCreate; // CHARACTER_CREATE
+                case 17 -> updateHp; // UPDATE_HP
+                case 16 -> updateMana; // UPDATE_MANA
+                case 15 -> updateSta; // UPDATE_STA
+                case 44 -> createFx; // CREATE_FX
+                case 23 -> chatOverHead; // CHAT_OVER_HEAD
+                default -> null;
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,766 @@
+package org.aoclient.network.protocol.codec;
+
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.ServerPacket;
+
+/**
+ * Encoders de los paquetes del servidor segun los layouts de {@code ServerPacket}. Cada metodo escribe el paquete completo,
+ * incluyendo su byte identificador. Los paquetes con listas de largo variable ({@code #}) o mensajes de {@code MULTI_MESSAGE}
+ * no tienen encoder.
+ * <p>
+ * Generado por {@code PacketCodecGenerator}, no modificar a mano.
+ */
+
+public final class ServerPacketEncoder {
+
+    private ServerPacketEncoder() {
+    }
+
+    /** Escribe {@code LOGGED}. */
+    public static void logged(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.LOGGED.getId());
+    }
+
+    /** Escribe {@code REMOVE_DIALOGS}. */
+    public static void removeDialogs(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.REMOVE_DIALOGS.getId());
+    }
+
+    /** Escribe {@code REMOVE_CHAR_DIALOG} ({@code I}). */
+    public static void removeCharDialog(PacketBuffer buffer, short charIndex) {
+        buffer.writeByte(ServerPacket.REMOVE_CHAR_DIALOG.getId());
+        buffer.writeInteger(charIndex);
+    }
+
+    /** Escribe {@code NAVIGATE_TOGGLE}. */
+    public static void navigateToggle(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.NAVIGATE_TOGGLE.getId());
+    }
+
+    /** Escribe {@code DISCONNECT}. */
+    public static void disconnect(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.DISCONNECT.getId());
+    }
+
+    /** Escribe {@code COMMERCE_END}. */
+    public static void commerceEnd(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.COMMERCE_END.getId());
+    }
+
+    /** Escribe {@code BANK_END}. */
+    public static void bankEnd(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.BANK_END.getId());
+    }
+
+    /** Escribe {@code COMMERCE_INIT}. */
+    public static void commerceInit(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.COMMERCE_INIT.getId());
+    }
+
+    /** Escribe {@code BANK_INIT} ({@code L}). */
+    public static void bankInit(PacketBuffer buffer, int gold) {
+        buffer.writeByte(ServerPacket.BANK_INIT.getId());
+        buffer.writeLong(gold);
+    }
+
+    /** Escribe {@code USER_COMMERCE_INIT} ({@code S}). */
+    public static void userCommerceInit(PacketBuffer buffer, String userName) {
+        buffer.writeByte(ServerPacket.USER_COMMERCE_INIT.getId());
+        buffer.writeCp1252String(userName);
+    }
+
+    /** Escribe {@code USER_COMMERCE_END}. */
+    public static void userCommerceEnd(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.USER_COMMERCE_END.getId());
+    }
+
+    /** Escribe {@code USER_OFFER_CONFIRM}. */
+    public static void userOfferConfirm(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.USER_OFFER_CONFIRM.getId());
+    }
+
+    /** Escribe {@code COMMERCE_CHAT} ({@code SB}). */
+    public static void commerceChat(PacketBuffer buffer, String chat, int fontIndex) {
+        buffer.writeByte(ServerPacket.COMMERCE_CHAT.getId());
+        buffer.writeCp1252String(chat);
+        buffer.writeByte(fontIndex);
+    }
+
+    /** Escribe {@code SHOW_BLACKSMITH_FORM}. */
+    public static void showBlacksmithForm(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.SHOW_BLACKSMITH_FORM.getId());
+    }
+
+    /** Escribe {@code SHOW_CARPENTER_FORM}. */
+    public static void showCarpenterForm(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.SHOW_CARPENTER_FORM.getId());
+    }
+
+    /** Escribe {@code UPDATE_STA} ({@code I}). */
+    public static void updateSta(PacketBuffer buffer, short minSta) {
+        buffer.writeByte(ServerPacket.UPDATE_STA.getId());
+        buffer.writeInteger(minSta);
+    }
+
+    /** Escribe {@code UPDATE_MANA} ({@code I}). */
+    public static void updateMana(PacketBuffer buffer, short minMana) {
+        buffer.writeByte(ServerPacket.UPDATE_MANA.getId());
+        buffer.writeInteger(minMana);
+    }
+
+    /** Escribe {@code UPDATE_HP} ({@code I}). */
+    public static void updateHp(PacketBuffer buffer, short minHp) {
+        buffer.writeByte(ServerPacket.UPDATE_HP.getId());
+        buffer.writeInteger(minHp);
+    }
+
+    /** Escribe {@code UPDATE_GOLD} ({@code L}). */
+    public static void updateGold(PacketBuffer buffer, int gold) {
+        buffer.writeByte(ServerPacket.UPDATE_GOLD.getId());
+        buffer.writeLong(gold);
+    }
+
+    /** Escribe {@code UPDATE_BANK_GOLD} ({@code L}). */
+    public static void updateBankGold(PacketBuffer buffer, int gold) {
+        buffer.writeByte(ServerPacket.UPDATE_BANK_GOLD.getId());
+        buffer.writeLong(gold);
+    }
+
+    /** Escribe {@code UPDATE_EXP} ({@code L}). */
+    public static void updateExp(PacketBuffer buffer, int exp) {
+        buffer.writeByte(ServerPacket.UPDATE_EXP.getId());
+        buffer.writeLong(exp);
+    }
+
+    /** Escribe {@code CHANGE_MAP} ({@code II}). */
+    public static void changeMap(PacketBuffer buffer, short map, short version) {
+        buffer.writeByte(ServerPacket.CHANGE_MAP.getId());
+        buffer.writeInteger(map);
+        buffer.writeInteger(version);
+    }
+
+    /** Escribe {@code POS_UPDATE} ({@code BB}). */
+    public static void posUpdate(PacketBuffer buffer, int x, int y) {
+        buffer.writeByte(ServerPacket.POS_UPDATE.getId());
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code CHAT_OVER_HEAD} ({@code SIBBB}). */
+    public static void chatOverHead(PacketBuffer buffer, String chat, short charIndex, int red, int green, int blue) {
+        buffer.writeByte(ServerPacket.CHAT_OVER_HEAD.getId());
+        buffer.writeCp1252String(chat);
+        buffer.writeInteger(charIndex);
+        buffer.writeByte(red);
+        buffer.writeByte(green);
+        buffer.writeByte(blue);
+    }
+
+    /** Escribe {@code CONSOLE_MSG} ({@code SB}). */
+    public static void consoleMsg(PacketBuffer buffer, String chat, int fontIndex) {
+        buffer.writeByte(ServerPacket.CONSOLE_MSG.getId());
+        buffer.writeCp1252String(chat);
+        buffer.writeByte(fontIndex);
+    }
+
+    /** Escribe {@code GUILD_CHAT} ({@code S}). */
+    public static void guildChat(PacketBuffer buffer, String chat) {
+        buffer.writeByte(ServerPacket.GUILD_CHAT.getId());
+        buffer.writeCp1252String(chat);
+    }
+
+    /** Escribe {@code SHOW_MESSAGE_BOX} ({@code S}). */
+    public static void showMessageBox(PacketBuffer buffer, String message) {
+        buffer.writeByte(ServerPacket.SHOW_MESSAGE_BOX.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code USER_INDEX_IN_SERVER} ({@code I}). */
+    public static void userIndexInServer(PacketBuffer buffer, short userIndex) {
+        buffer.writeByte(ServerPacket.USER_INDEX_IN_SERVER.getId());
+        buffer.writeInteger(userIndex);
+    }
+
+    /** Escribe {@code USER_CHAR_INDEX_IN_SERVER} ({@code I}). */
+    public static void userCharIndexInServer(PacketBuffer buffer, short charIndex) {
+        buffer.writeByte(ServerPacket.USER_CHAR_INDEX_IN_SERVER.getId());
+        buffer.writeInteger(charIndex);
+    }
+
+    /** Escribe {@code CHARACTER_CREATE} ({@code IIIBBBIIIIISBB}). */
+    public static void characterCreate(PacketBuffer buffer, short charIndex, short body, short head, int heading, int x, int y,
+            short weapon, short shield, short helmet, short fx, short fxLoops, String name, int nickColor, int privileges) {
+        buffer.writeByte(ServerPacket.CHARACTER_CREATE.getId());
+        buffer.writeInteger(charIndex);
+        buffer.writeInteger(body);
+        buffer.writeInteger(head);
+        buffer.writeByte(heading);
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+        buffer.writeInteger(weapon);
+        buffer.writeInteger(shield);
+        buffer.writeInteger(helmet);
+        buffer.writeInteger(fx);
+        buffer.writeInteger(fxLoops);
+        buffer.writeCp1252String(name);
+        buffer.writeByte(nickColor);
+        buffer.writeByte(privileges);
+    }
+
+    /** Escribe {@code CHARACTER_REMOVE} ({@code I}). */
+    public static void characterRemove(PacketBuffer buffer, short charIndex) {
+        buffer.writeByte(ServerPacket.CHARACTER_REMOVE.getId());
+        buffer.writeInteger(charIndex);
+    }
+
+    /** Escribe {@code CHARACTER_CHANGE_NICK} ({@code IS}). */
+    public static void characterChangeNick(PacketBuffer buffer, short charIndex, String name) {
+        buffer.writeByte(ServerPacket.CHARACTER_CHANGE_NICK.getId());
+        buffer.writeInteger(charIndex);
+        buffer.writeCp1252String(name);
+    }
+
+    /** Escribe {@code CHARACTER_MOVE} ({@code IBB}). */
+    public static void characterMove(PacketBuffer buffer, short charIndex, int x, int y) {
+        buffer.writeByte(ServerPacket.CHARACTER_MOVE.getId());
+        buffer.writeInteger(charIndex);
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code FORCE_CHAR_MOVE} ({@code B}). */
+    public static void forceCharMove(PacketBuffer buffer, int heading) {
+        buffer.writeByte(ServerPacket.FORCE_CHAR_MOVE.getId());
+        buffer.writeByte(heading);
+    }
+
+    /** Escribe {@code CHARACTER_CHANGE} ({@code IIIBIIIII}). */
+    public static void characterChange(PacketBuffer buffer, short charIndex, short body, short head, int heading, short weapon,
+            short shield, short helmet, short fx, short fxLoops) {
+        buffer.writeByte(ServerPacket.CHARACTER_CHANGE.getId());
+        buffer.writeInteger(charIndex);
+        buffer.writeInteger(body);
+        buffer.writeInteger(head);
+        buffer.writeByte(heading);
+        buffer.writeInteger(weapon);
+        buffer.writeInteger(shield);
+        buffer.writeInteger(helmet);
+        buffer.writeInteger(fx);
+        buffer.writeInteger(fxLoops);
+    }
+
+    /** Escribe {@code OBJECT_CREATE} ({@code BBI}). */
+    public static void objectCreate(PacketBuffer buffer, int x, int y, short grhIndex) {
+        buffer.writeByte(ServerPacket.OBJECT_CREATE.getId());
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+        buffer.writeInteger(grhIndex);
+    }
+
+    /** Escribe {@code OBJECT_DELETE} ({@code BB}). */
+    public static void objectDelete(PacketBuffer buffer, int x, int y) {
+        buffer.writeByte(ServerPacket.OBJECT_DELETE.getId());
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code BLOCK_POSITION} ({@code BBB}). */
+    public static void blockPosition(PacketBuffer buffer, int x, int y, int blocked) {
+        buffer.writeByte(ServerPacket.BLOCK_POSITION.getId());
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+        buffer.writeByte(blocked);
+    }
+
+    /** Escribe {@code PLAY_MIDI} ({@code BI}). */
+    public static void playMidi(PacketBuffer buffer, int midi, short loops) {
+        buffer.writeByte(ServerPacket.PLAY_MIDI.getId());
+        buffer.writeByte(midi);
+        buffer.writeInteger(loops);
+    }
+
+    /** Escribe {@code PLAY_WAVE} ({@code BBB}). */
+    public static void playWave(PacketBuffer buffer, int wave, int x, int y) {
+        buffer.writeByte(ServerPacket.PLAY_WAVE.getId());
+        buffer.writeByte(wave);
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code GUILD_LIST} ({@code S}). */
+    public static void guildList(PacketBuffer buffer, String guilds) {
+        buffer.writeByte(ServerPacket.GUILD_LIST.getId());
+        buffer.writeCp1252String(guilds);
+    }
+
+    /** Escribe {@code AREA_CHANGED} ({@code BB}). */
+    public static void areaChanged(PacketBuffer buffer, int x, int y) {
+        buffer.writeByte(ServerPacket.AREA_CHANGED.getId());
+        buffer.writeByte(x);
+        buffer.writeByte(y);
+    }
+
+    /** Escribe {@code PAUSE_TOGGLE}. */
+    public static void pauseToggle(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.PAUSE_TOGGLE.getId());
+    }
+
+    /** Escribe {@code RAIN_TOGGLE}. */
+    public static void rainToggle(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.RAIN_TOGGLE.getId());
+    }
+
+    /** Escribe {@code CREATE_FX} ({@code III}). */
+    public static void createFx(PacketBuffer buffer, short charIndex, short fx, short fxLoops) {
+        buffer.writeByte(ServerPacket.CREATE_FX.getId());
+        buffer.writeInteger(charIndex);
+        buffer.writeInteger(fx);
+        buffer.writeInteger(fxLoops);
+    }
+
+    /** Escribe {@code UPDATE_USER_STATS} ({@code IIIIIILBLL}). */
+    public static void updateUserStats(PacketBuffer buffer, short maxHp, short minHp, short maxMana, short minMana, short maxSta,
+            short minSta, int gold, int level, int nextLevelExp, int exp) {
+        buffer.writeByte(ServerPacket.UPDATE_USER_STATS.getId());
+        buffer.writeInteger(maxHp);
+        buffer.writeInteger(minHp);
+        buffer.writeInteger(maxMana);
+        buffer.writeInteger(minMana);
+        buffer.writeInteger(maxSta);
+        buffer.writeInteger(minSta);
+        buffer.writeLong(gold);
+        buffer.writeByte(level);
+        buffer.writeLong(nextLevelExp);
+        buffer.writeLong(exp);
+    }
+
+    /** Escribe {@code WORK_REQUEST_TARGET} ({@code B}). */
+    public static void workRequestTarget(PacketBuffer buffer, int skill) {
+        buffer.writeByte(ServerPacket.WORK_REQUEST_TARGET.getId());
+        buffer.writeByte(skill);
+    }
+
+    /** Escribe {@code CHANGE_INVENTORY_SLOT} ({@code BISIBIBIIIIF}). */
+    public static void changeInventorySlot(PacketBuffer buffer, int slot, short objIndex, String name, short amount, int equipped,
+            short grhIndex, int objType, short maxHit, short minHit, short maxDef, short minDef, float value) {
+        buffer.writeByte(ServerPacket.CHANGE_INVENTORY_SLOT.getId());
+        buffer.writeByte(slot);
+        buffer.writeInteger(objIndex);
+        buffer.writeCp1252String(name);
+        buffer.writeInteger(amount);
+        buffer.writeByte(equipped);
+        buffer.writeInteger(grhIndex);
+        buffer.writeByte(objType);
+        buffer.writeInteger(maxHit);
+        buffer.writeInteger(minHit);
+        buffer.writeInteger(maxDef);
+        buffer.writeInteger(minDef);
+        buffer.writeFloat(value);
+    }
+
+    /** Escribe {@code CHANGE_BANK_SLOT} ({@code BISIIBIIIIF}). */
+    public static void changeBankSlot(PacketBuffer buffer, int slot, short objIndex, String name, short amount, short grhIndex,
+            int objType, short maxHit, short minHit, short maxDef, short minDef, float value) {
+        buffer.writeByte(ServerPacket.CHANGE_BANK_SLOT.getId());
+        buffer.writeByte(slot);
+        buffer.writeInteger(objIndex);
+        buffer.writeCp1252String(name);
+        buffer.writeInteger(amount);
+        buffer.writeInteger(grhIndex);
+        buffer.writeByte(objType);
+        buffer.writeInteger(maxHit);
+        buffer.writeInteger(minHit);
+        buffer.writeInteger(maxDef);
+        buffer.writeInteger(minDef);
+        buffer.writeFloat(value);
+    }
+
+    /** Escribe {@code CHANGE_SPELL_SLOT} ({@code BIS}). */
+    public static void changeSpellSlot(PacketBuffer buffer, int slot, short spell, String name) {
+        buffer.writeByte(ServerPacket.CHANGE_SPELL_SLOT.getId());
+        buffer.writeByte(slot);
+        buffer.writeInteger(spell);
+        buffer.writeCp1252String(name);
+    }
+
+    /** Escribe {@code ATTRIBUTES} ({@code 5B}). */
+    public static void attributes(PacketBuffer buffer, int[] attributes) {
+        buffer.writeByte(ServerPacket.ATTRIBUTES.getId());
+        for (int i = 0; i < 5; i++)
+            buffer.writeByte(attributes[i]);
+    }
+
+    /** Escribe {@code REST_OK}. */
+    public static void restOk(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.REST_OK.getId());
+    }
+
+    /** Escribe {@code ERROR_MSG} ({@code S}). */
+    public static void errorMsg(PacketBuffer buffer, String message) {
+        buffer.writeByte(ServerPacket.ERROR_MSG.getId());
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code BLIND}. */
+    public static void blind(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.BLIND.getId());
+    }
+
+    /** Escribe {@code DUMB}. */
+    public static void dumb(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.DUMB.getId());
+    }
+
+    /** Escribe {@code SHOW_SIGNAL} ({@code SI}). */
+    public static void showSignal(PacketBuffer buffer, String text, short grhIndex) {
+        buffer.writeByte(ServerPacket.SHOW_SIGNAL.getId());
+        buffer.writeCp1252String(text);
+        buffer.writeInteger(grhIndex);
+    }
+
+    /** Escribe {@code CHANGE_NPC_INVENTORY_SLOT} ({@code BSIFIIBIIII}). */
+    public static void changeNpcInventorySlot(PacketBuffer buffer, int slot, String name, short amount, float value,
+            short grhIndex, short objIndex, int objType, short maxHit, short minHit, short maxDef, short minDef) {
+        buffer.writeByte(ServerPacket.CHANGE_NPC_INVENTORY_SLOT.getId());
+        buffer.writeByte(slot);
+        buffer.writeCp1252String(name);
+        buffer.writeInteger(amount);
+        buffer.writeFloat(value);
+        buffer.writeInteger(grhIndex);
+        buffer.writeInteger(objIndex);
+        buffer.writeByte(objType);
+        buffer.writeInteger(maxHit);
+        buffer.writeInteger(minHit);
+        buffer.writeInteger(maxDef);
+        buffer.writeInteger(minDef);
+    }
+
+    /** Escribe {@code UPDATE_HUNGER_AND_THIRST} ({@code BBBB}). */
+    public static void updateHungerAndThirst(PacketBuffer buffer, int maxThirst, int minThirst, int maxHunger, int minHunger) {
+        buffer.writeByte(ServerPacket.UPDATE_HUNGER_AND_THIRST.getId());
+        buffer.writeByte(maxThirst);
+        buffer.writeByte(minThirst);
+        buffer.writeByte(maxHunger);
+        buffer.writeByte(minHunger);
+    }
+
+    /** Escribe {@code FAME} ({@code 7L}). */
+    public static void fame(PacketBuffer buffer, int[] reputations) {
+        buffer.writeByte(ServerPacket.FAME.getId());
+        for (int i = 0; i < 7; i++)
+            buffer.writeLong(reputations[i]);
+    }
+
+    /** Escribe {@code MINI_STATS} ({@code 3LIBL}). */
+    public static void miniStats(PacketBuffer buffer, int[] kills, short deaths, int role, int jailTime) {
+        buffer.writeByte(ServerPacket.MINI_STATS.getId());
+        for (int i = 0; i < 3; i++)
+            buffer.writeLong(kills[i]);
+        buffer.writeInteger(deaths);
+        buffer.writeByte(role);
+        buffer.writeLong(jailTime);
+    }
+
+    /** Escribe {@code LEVEL_UP} ({@code I}). */
+    public static void levelUp(PacketBuffer buffer, short skillPoints) {
+        buffer.writeByte(ServerPacket.LEVEL_UP.getId());
+        buffer.writeInteger(skillPoints);
+    }
+
+    /** Escribe {@code ADD_FORUM_MSG} ({@code BSSS}). */
+    public static void addForumMsg(PacketBuffer buffer, int forumType, String title, String author, String message) {
+        buffer.writeByte(ServerPacket.ADD_FORUM_MSG.getId());
+        buffer.writeByte(forumType);
+        buffer.writeCp1252String(title);
+        buffer.writeCp1252String(author);
+        buffer.writeCp1252String(message);
+    }
+
+    /** Escribe {@code SHOW_FORUM_FORM} ({@code BB}). */
+    public static void showForumForm(PacketBuffer buffer, int visibility, int canPostSticky) {
+        buffer.writeByte(ServerPacket.SHOW_FORUM_FORM.getId());
+        buffer.writeByte(visibility);
+        buffer.writeByte(canPostSticky);
+    }
+
+    /** Escribe {@code SET_INVISIBLE} ({@code IB}). */
+    public static void setInvisible(PacketBuffer buffer, short charIndex, int invisible) {
+        buffer.writeByte(ServerPacket.SET_INVISIBLE.getId());
+        buffer.writeInteger(charIndex);
+        buffer.writeByte(invisible);
+    }
+
+    /** Escribe {@code DICE_ROLL} ({@code 5B}). */
+    public static void diceRoll(PacketBuffer buffer, int[] attributes) {
+        buffer.writeByte(ServerPacket.DICE_ROLL.getId());
+        for (int i = 0; i < 5; i++)
+            buffer.writeByte(attributes[i]);
+    }
+
+    /** Escribe {@code MEDITATE_TOGGLE}. */
+    public static void meditateToggle(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.MEDITATE_TOGGLE.getId());
+    }
+
+    /** Escribe {@code BLIND_NO_MORE}. */
+    public static void blindNoMore(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.BLIND_NO_MORE.getId());
+    }
+
+    /** Escribe {@code DUMB_NO_MORE}. */
+    public static void dumbNoMore(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.DUMB_NO_MORE.getId());
+    }
+
+    /** Escribe {@code SEND_SKILLS} ({@code B20(BB)}). */
+    public static void sendSkills(PacketBuffer buffer, int charClass, int[] skills, int[] percentages) {
+        buffer.writeByte(ServerPacket.SEND_SKILLS.getId());
+        buffer.writeByte(charClass);
+        for (int i = 0; i < 20; i++) {
+            buffer.writeByte(skills[i]);
+            buffer.writeByte(percentages[i]);
+        }
+    }
+
+    /** Escribe {@code TRAINER_CREATURE_LIST} ({@code S}). */
+    public static void trainerCreatureList(PacketBuffer buffer, String creatures) {
+        buffer.writeByte(ServerPacket.TRAINER_CREATURE_LIST.getId());
+        buffer.writeCp1252String(creatures);
+    }
+
+    /** Escribe {@code GUILD_NEWS} ({@code SSS}). */
+    public static void guildNews(PacketBuffer buffer, String news, String enemies, String allies) {
+        buffer.writeByte(ServerPacket.GUILD_NEWS.getId());
+        buffer.writeCp1252String(news);
+        buffer.writeCp1252String(enemies);
+        buffer.writeCp1252String(allies);
+    }
+
+    /** Escribe {@code OFFER_DETAILS} ({@code S}). */
+    public static void offerDetails(PacketBuffer buffer, String details) {
+        buffer.writeByte(ServerPacket.OFFER_DETAILS.getId());
+        buffer.writeCp1252String(details);
+    }
+
+    /** Escribe {@code ALIANCE_PROPOSALS_LIST} ({@code S}). */
+    public static void alianceProposalsList(PacketBuffer buffer, String guilds) {
+        buffer.writeByte(ServerPacket.ALIANCE_PROPOSALS_LIST.getId());
+        buffer.writeCp1252String(guilds);
+    }
+
+    /** Escribe {@code PEACE_PROPOSALS_LIST} ({@code S}). */
+    public static void peaceProposalsList(PacketBuffer buffer, String guilds) {
+        buffer.writeByte(ServerPacket.PEACE_PROPOSALS_LIST.getId());
+        buffer.writeCp1252String(guilds);
+    }
+
+    /** Escribe {@code CHARACTER_INFO} ({@code SBBBBLLLSSSBBLL}). */
+    public static void characterInfo(PacketBuffer buffer, String name, int race, int charClass, int gender, int level, int gold,
+            int bank, int reputation, String previousPetitions, String currentGuild, String previousGuilds, int royalArmy,
+            int chaosLegion, int citizensKilled, int criminalsKilled) {
+        buffer.writeByte(ServerPacket.CHARACTER_INFO.getId());
+        buffer.writeCp1252String(name);
+        buffer.writeByte(race);
+        buffer.writeByte(charClass);
+        buffer.writeByte(gender);
+        buffer.writeByte(level);
+        buffer.writeLong(gold);
+        buffer.writeLong(bank);
+        buffer.writeLong(reputation);
+        buffer.writeCp1252String(previousPetitions);
+        buffer.writeCp1252String(currentGuild);
+        buffer.writeCp1252String(previousGuilds);
+        buffer.writeByte(royalArmy);
+        buffer.writeByte(chaosLegion);
+        buffer.writeLong(citizensKilled);
+        buffer.writeLong(criminalsKilled);
+    }
+
+    /** Escribe {@code GUILD_LEADER_INFO} ({@code SSSS}). */
+    public static void guildLeaderInfo(PacketBuffer buffer, String guilds, String members, String news, String requests) {
+        buffer.writeByte(ServerPacket.GUILD_LEADER_INFO.getId());
+        buffer.writeCp1252String(guilds);
+        buffer.writeCp1252String(members);
+        buffer.writeCp1252String(news);
+        buffer.writeCp1252String(requests);
+    }
+
+    /** Escribe {@code GUILD_MEMBER_INFO} ({@code SS}). */
+    public static void guildMemberInfo(PacketBuffer buffer, String guilds, String members) {
+        buffer.writeByte(ServerPacket.GUILD_MEMBER_INFO.getId());
+        buffer.writeCp1252String(guilds);
+        buffer.writeCp1252String(members);
+    }
+
+    /** Escribe {@code GUILD_DETAILS} ({@code SSSSSIBSIISSS}). */
+    public static void guildDetails(PacketBuffer buffer, String name, String founder, String creationDate, String leader,
+            String url, short members, int electionsOpen, String alignment, short enemies, short allies, String antifaction,
+            String codex, String description) {
+        buffer.writeByte(ServerPacket.GUILD_DETAILS.getId());
+        buffer.writeCp1252String(name);
+        buffer.writeCp1252String(founder);
+        buffer.writeCp1252String(creationDate);
+        buffer.writeCp1252String(leader);
+        buffer.writeCp1252String(url);
+        buffer.writeInteger(members);
+        buffer.writeByte(electionsOpen);
+        buffer.writeCp1252String(alignment);
+        buffer.writeInteger(enemies);
+        buffer.writeInteger(allies);
+        buffer.writeCp1252String(antifaction);
+        buffer.writeCp1252String(codex);
+        buffer.writeCp1252String(description);
+    }
+
+    /** Escribe {@code SHOW_GUILD_FUNDATION_FORM}. */
+    public static void showGuildFundationForm(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.SHOW_GUILD_FUNDATION_FORM.getId());
+    }
+
+    /** Escribe {@code PARALIZE_OK}. */
+    public static void paralizeOk(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.PARALIZE_OK.getId());
+    }
+
+    /** Escribe {@code SHOW_USER_REQUEST} ({@code S}). */
+    public static void showUserRequest(PacketBuffer buffer, String details) {
+        buffer.writeByte(ServerPacket.SHOW_USER_REQUEST.getId());
+        buffer.writeCp1252String(details);
+    }
+
+    /** Escribe {@code TRADE_OK}. */
+    public static void tradeOk(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.TRADE_OK.getId());
+    }
+
+    /** Escribe {@code BANK_OK}. */
+    public static void bankOk(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.BANK_OK.getId());
+    }
+
+    /** Escribe {@code CHANGE_USER_TRADE_SLOT} ({@code BILIBIIIILSILIBIIIILS}). */
+    public static void changeUserTradeSlot(PacketBuffer buffer, int offerSlot, short objIndex, int amount, short grhIndex,
+            int objType, short maxHit, short minHit, short maxDef, short minDef, int price, String name, short otherObjIndex,
+            int otherAmount, short otherGrhIndex, int otherObjType, short otherMaxHit, short otherMinHit, short otherMaxDef,
+            short otherMinDef, int otherPrice, String otherName) {
+        buffer.writeByte(ServerPacket.CHANGE_USER_TRADE_SLOT.getId());
+        buffer.writeByte(offerSlot);
+        buffer.writeInteger(objIndex);
+        buffer.writeLong(amount);
+        buffer.writeInteger(grhIndex);
+        buffer.writeByte(objType);
+        buffer.writeInteger(maxHit);
+        buffer.writeInteger(minHit);
+        buffer.writeInteger(maxDef);
+        buffer.writeInteger(minDef);
+        buffer.writeLong(price);
+        buffer.writeCp1252String(name);
+        buffer.writeInteger(otherObjIndex);
+        buffer.writeLong(otherAmount);
+        buffer.writeInteger(otherGrhIndex);
+        buffer.writeByte(otherObjType);
+        buffer.writeInteger(otherMaxHit);
+        buffer.writeInteger(otherMinHit);
+        buffer.writeInteger(otherMaxDef);
+        buffer.writeInteger(otherMinDef);
+        buffer.writeLong(otherPrice);
+        buffer.writeCp1252String(otherName);
+    }
+
+    /** Escribe {@code SEND_NIGHT} ({@code B}). */
+    public static void sendNight(PacketBuffer buffer, int night) {
+        buffer.writeByte(ServerPacket.SEND_NIGHT.getId());
+        buffer.writeByte(night);
+    }
+
+    /** Escribe {@code PONG}. */
+    public static void pong(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.PONG.getId());
+    }
+
+    /** Escribe {@code UPDATE_TAG_AND_STATUS} ({@code IBS}). */
+    public static void updateTagAndStatus(PacketBuffer buffer, short charIndex, int nickColor, String tag) {
+        buffer.writeByte(ServerPacket.UPDATE_TAG_AND_STATUS.getId());
+        buffer.writeInteger(charIndex);
+        buffer.writeByte(nickColor);
+        buffer.writeCp1252String(tag);
+    }
+
+    /** Escribe {@code SPAWN_LIST} ({@code S}). */
+    public static void spawnList(PacketBuffer buffer, String creatures) {
+        buffer.writeByte(ServerPacket.SPAWN_LIST.getId());
+        buffer.writeCp1252String(creatures);
+    }
+
+    /** Escribe {@code SHOW_SOS_FORM} ({@code S}). */
+    public static void showSosForm(PacketBuffer buffer, String requests) {
+        buffer.writeByte(ServerPacket.SHOW_SOS_FORM.getId());
+        buffer.writeCp1252String(requests);
+    }
+
+    /** Escribe {@code SHOW_MOTD_EDITION_FORM} ({@code S}). */
+    public static void showMotdEditionForm(PacketBuffer buffer, String motd) {
+        buffer.writeByte(ServerPacket.SHOW_MOTD_EDITION_FORM.getId());
+        buffer.writeCp1252String(motd);
+    }
+
+    /** Escribe {@code SHOW_GM_PANEL_FORM}. */
+    public static void showGmPanelForm(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.SHOW_GM_PANEL_FORM.getId());
+    }
+
+    /** Escribe {@code USER_NAME_LIST} ({@code S}). */
+    public static void userNameList(PacketBuffer buffer, String userNames) {
+        buffer.writeByte(ServerPacket.USER_NAME_LIST.getId());
+        buffer.writeCp1252String(userNames);
+    }
+
+    /** Escribe {@code SHOW_GUILD_ALIGN}. */
+    public static void showGuildAlign(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.SHOW_GUILD_ALIGN.getId());
+    }
+
+    /** Escribe {@code SHOW_PARTY_FORM} ({@code BS}). */
+    public static void showPartyForm(PacketBuffer buffer, int leader, String members) {
+        buffer.writeByte(ServerPacket.SHOW_PARTY_FORM.getId());
+        buffer.writeByte(leader);
+        buffer.writeCp1252String(members);
+    }
+
+    /** Escribe {@code UPDATE_STRENGHT_AND_DEXTERITY} ({@code BB}). */
+    public static void updateStrenghtAndDexterity(PacketBuffer buffer, int strength, int dexterity) {
+        buffer.writeByte(ServerPacket.UPDATE_STRENGHT_AND_DEXTERITY.getId());
+        buffer.writeByte(strength);
+        buffer.writeByte(dexterity);
+    }
+
+    /** Escribe {@code UPDATE_STRENGHT} ({@code B}). */
+    public static void updateStrenght(PacketBuffer buffer, int strength) {
+        buffer.writeByte(ServerPacket.UPDATE_STRENGHT.getId());
+        buffer.writeByte(strength);
+    }
+
+    /** Escribe {@code UPDATE_DEXTERITY} ({@code B}). */
+    public static void updateDexterity(PacketBuffer buffer, int dexterity) {
+        buffer.writeByte(ServerPacket.UPDATE_DEXTERITY.getId());
+        buffer.writeByte(dexterity);
+    }
+
+    /** Escribe {@code ADD_SLOTS} ({@code B}). */
+    public static void addSlots(PacketBuffer buffer, int slots) {
+        buffer.writeByte(ServerPacket.ADD_SLOTS.getId());
+        buffer.writeByte(slots);
+    }
+
+    /** Escribe {@code STOP_WORKING}. */
+    public static void stopWorking(PacketBuffer buffer) {
+        buffer.writeByte(ServerPacket.STOP_WORKING.getId());
+    }
+
+    /** Escribe {@code CANCEL_OFFER_ITEM} ({@code B}). */
+    public static void cancelOfferItem(PacketBuffer buffer, int slot) {
+        buffer.writeByte(ServerPacket.CANCEL_OFFER_ITEM.getId());
+        buffer.writeByte(slot);
+    }
+
+}
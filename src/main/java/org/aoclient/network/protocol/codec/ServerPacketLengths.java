@@ -0,0 +1,562 @@
+package org.aoclient.network.protocol.codec;
+
+import org.aoclient.network.PacketBuffer;
+
+import java.net.ProtocolException;
+
+/**
+ * Calcula la longitud exacta de los paquetes del servidor segun los layouts de {@code ServerPacket} y {@code MessageType}.
+ * <p>
+ * Generado por {@code PacketCodecGenerator}, no modificar a mano.
+ */
+
+public final class ServerPacketLengths {
+
+    private ServerPacketLengths() {
+    }
+
+    /**
+     * Calcula la longitud del paquete que comienza en el cursor de lectura del buffer, incluyendo su byte identificador.
+     *
+     * @param id     ID del paquete
+     * @param buffer buffer con los bytes recibidos del servidor
+     * @return la longitud total del paquete o, si todavia faltan bytes, la cantidad minima de bytes que necesita con signo
+     * negativo
+     * @throws ProtocolException si el ID no corresponde a un paquete del servidor o el paquete contiene un mensaje de
+     *                           {@code MULTI_MESSAGE} de tipo desconocido, con lo que no se puede saber donde termina
+     */
+    public static int frameLength(int id, PacketBuffer buffer) throws ProtocolException {
+        int available = buffer.getLength();
+        return switch (id) {
+            case 0 -> fixed(available, 1); // LOGGED
+            case 1 -> fixed(available, 1); // REMOVE_DIALOGS
+            case 2 -> fixed(available, 3); // REMOVE_CHAR_DIALOG
+            case 3 -> fixed(available, 1); // NAVIGATE_TOGGLE
+            case 4 -> fixed(available, 1); // DISCONNECT
+            case 5 -> fixed(available, 1); // COMMERCE_END
+            case 6 -> fixed(available, 1); // BANK_END
+            case 7 -> fixed(available, 1); // COMMERCE_INIT
+            case 8 -> fixed(available, 5); // BANK_INIT
+            case 9 -> userCommerceInit(buffer, available);
+            case 10 -> fixed(available, 1); // USER_COMMERCE_END
+            case 11 -> fixed(available, 1); // USER_OFFER_CONFIRM
+            case 12 -> commerceChat(buffer, available);
+            case 13 -> fixed(available, 1); // SHOW_BLACKSMITH_FORM
+            case 14 -> fixed(available, 1); // SHOW_CARPENTER_FORM
+            case 15 -> fixed(available, 3); // UPDATE_STA
+            case 16 -> fixed(available, 3); // UPDATE_MANA
+            case 17 -> fixed(available, 3); // UPDATE_HP
+            case 18 -> fixed(available, 5); // UPDATE_GOLD
+            case 19 -> fixed(available, 5); // UPDATE_BANK_GOLD
+            case 20 -> fixed(available, 5); // UPDATE_EXP
+            case 21 -> fixed(available, 5); // CHANGE_MAP
+            case 22 -> fixed(available, 3); // POS_UPDATE
+            case 23 -> chatOverHead(buffer, available);
+            case 24 -> consoleMsg(buffer, available);
+            case 25 -> guildChat(buffer, available);
+            case 26 -> showMessageBox(buffer, available);
+            case 27 -> fixed(available, 3); // USER_INDEX_IN_SERVER
+            case 28 -> fixed(available, 3); // USER_CHAR_INDEX_IN_SERVER
+            case 29 -> characterCreate(buffer, available);
+            case 30 -> fixed(available, 3); // CHARACTER_REMOVE
+            case 31 -> characterChangeNick(buffer, available);
+            case 32 -> fixed(available, 5); // CHARACTER_MOVE
+            case 33 -> fixed(available, 2); // FORCE_CHAR_MOVE
+            case 34 -> fixed(available, 18); // CHARACTER_CHANGE
+            case 35 -> fixed(available, 5); // OBJECT_CREATE
+            case 36 -> fixed(available, 3); // OBJECT_DELETE
+            case 37 -> fixed(available, 4); // BLOCK_POSITION
+            case 38 -> fixed(available, 4); // PLAY_MIDI
+            case 39 -> fixed(available, 4); // PLAY_WAVE
+            case 40 -> guildList(buffer, available);
+            case 41 -> fixed(available, 3); // AREA_CHANGED
+            case 42 -> fixed(available, 1); // PAUSE_TOGGLE
+            case 43 -> fixed(available, 1); // RAIN_TOGGLE
+            case 44 -> fixed(available, 7); // CREATE_FX
+            case 45 -> fixed(available, 26); // UPDATE_USER_STATS
+            case 46 -> fixed(available, 2); // WORK_REQUEST_TARGET
+            case 47 -> changeInventorySlot(buffer, available);
+            case 48 -> changeBankSlot(buffer, available);
+            case 49 -> changeSpellSlot(buffer, available);
+            case 50 -> fixed(available, 6); // ATTRIBUTES
+            case 51 -> blacksmithWeapons(buffer, available);
+            case 52 -> blacksmithArmors(buffer, available);
+            case 53 -> carpenterObjects(buffer, available);
+            case 54 -> fixed(available, 1); // REST_OK
+            case 55 -> errorMsg(buffer, available);
+            case 56 -> fixed(available, 1); // BLIND
+            case 57 -> fixed(available, 1); // DUMB
+            case 58 -> showSignal(buffer, available);
+            case 59 -> changeNpcInventorySlot(buffer, available);
+            case 60 -> fixed(available, 5); // UPDATE_HUNGER_AND_THIRST
+            case 61 -> fixed(available, 29); // FAME
+            case 62 -> fixed(available, 20); // MINI_STATS
+            case 63 -> fixed(available, 3); // LEVEL_UP
+            case 64 -> addForumMsg(buffer, available);
+            case 65 -> fixed(available, 3); // SHOW_FORUM_FORM
+            case 66 -> fixed(available, 4); // SET_INVISIBLE
+            case 67 -> fixed(available, 6); // DICE_ROLL
+            case 68 -> fixed(available, 1); // MEDITATE_TOGGLE
+            case 69 -> fixed(available, 1); // BLIND_NO_MORE
+            case 70 -> fixed(available, 1); // DUMB_NO_MORE
+            case 71 -> fixed(available, 42); // SEND_SKILLS
+            case 72 -> trainerCreatureList(buffer, available);
+            case 73 -> guildNews(buffer, available);
+            case 74 -> offerDetails(buffer, available);
+            case 75 -> alianceProposalsList(buffer, available);
+            case 76 -> peaceProposalsList(buffer, available);
+            case 77 -> characterInfo(buffer, available);
+            case 78 -> guildLeaderInfo(buffer, available);
+            case 79 -> guildMemberInfo(buffer, available);
+            case 80 -> guildDetails(buffer, available);
+            case 81 -> fixed(available, 1); // SHOW_GUILD_FUNDATION_FORM
+            case 82 -> fixed(available, 1); // PARALIZE_OK
+            case 83 -> showUserRequest(buffer, available);
+            case 84 -> fixed(available, 1); // TRADE_OK
+            case 85 -> fixed(available, 1); // BANK_OK
+            case 86 -> changeUserTradeSlot(buffer, available);
+            case 87 -> fixed(available, 2); // SEND_NIGHT
+            case 88 -> fixed(available, 1); // PONG
+            case 89 -> updateTagAndStatus(buffer, available);
+            case 90 -> spawnList(buffer, available);
+            case 91 -> showSosForm(buffer, available);
+            case 92 -> showMotdEditionForm(buffer, available);
+            case 93 -> fixed(available, 1); // SHOW_GM_PANEL_FORM
+            case 94 -> userNameList(buffer, available);
+            case 95 -> fixed(available, 1); // SHOW_GUILD_ALIGN
+            case 96 -> showPartyForm(buffer, available);
+            case 97 -> fixed(available, 3); // UPDATE_STRENGHT_AND_DEXTERITY
+            case 98 -> fixed(available, 2); // UPDATE_STRENGHT
+            case 99 -> fixed(available, 2); // UPDATE_DEXTERITY
+            case 100 -> fixed(available, 2); // ADD_SLOTS
+            case 101 -> multiMessage(buffer, available);
+            case 102 -> fixed(available, 1); // STOP_WORKING
+            case 103 -> fixed(available, 2); // CANCEL_OFFER_ITEM
+            default -> throw new ProtocolException("Unknown server packet ID: " + id);
+        };
+    }
+
+    private static int fixed(int available, int length) {
+        return available >= length ? length : -length;
+    }
+
+    /** {@code USER_COMMERCE_INIT}: {@code S}. */
+    private static int userCommerceInit(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code COMMERCE_CHAT}: {@code SB}. */
+    private static int commerceChat(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 1;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHAT_OVER_HEAD}: {@code SIBBB}. */
+    private static int chatOverHead(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 5;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CONSOLE_MSG}: {@code SB}. */
+    private static int consoleMsg(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 1;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GUILD_CHAT}: {@code S}. */
+    private static int guildChat(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code SHOW_MESSAGE_BOX}: {@code S}. */
+    private static int showMessageBox(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHARACTER_CREATE}: {@code IIIBBBIIIIISBB}. */
+    private static int characterCreate(PacketBuffer buffer, int available) {
+        int offset = 20;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 2;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHARACTER_CHANGE_NICK}: {@code IS}. */
+    private static int characterChangeNick(PacketBuffer buffer, int available) {
+        int offset = 3;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GUILD_LIST}: {@code S}. */
+    private static int guildList(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHANGE_INVENTORY_SLOT}: {@code BISIBIBIIIIF}. */
+    private static int changeInventorySlot(PacketBuffer buffer, int available) {
+        int offset = 4;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 18;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHANGE_BANK_SLOT}: {@code BISIIBIIIIF}. */
+    private static int changeBankSlot(PacketBuffer buffer, int available) {
+        int offset = 4;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 17;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHANGE_SPELL_SLOT}: {@code BIS}. */
+    private static int changeSpellSlot(PacketBuffer buffer, int available) {
+        int offset = 4;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code BLACKSMITH_WEAPONS}: {@code #(SIIIIII)}. */
+    private static int blacksmithWeapons(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        int count0 = Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 2;
+        for (int i1 = 0; i1 < count0; i1++) {
+            if (available < offset + 2) return -(offset + 2);
+            offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            offset += 12;
+        }
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code BLACKSMITH_ARMORS}: {@code #(SIIIIII)}. */
+    private static int blacksmithArmors(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        int count0 = Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 2;
+        for (int i1 = 0; i1 < count0; i1++) {
+            if (available < offset + 2) return -(offset + 2);
+            offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            offset += 12;
+        }
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CARPENTER_OBJECTS}: {@code #(SIIIII)}. */
+    private static int carpenterObjects(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        int count0 = Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 2;
+        for (int i1 = 0; i1 < count0; i1++) {
+            if (available < offset + 2) return -(offset + 2);
+            offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            offset += 10;
+        }
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code ERROR_MSG}: {@code S}. */
+    private static int errorMsg(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code SHOW_SIGNAL}: {@code SI}. */
+    private static int showSignal(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 2;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHANGE_NPC_INVENTORY_SLOT}: {@code BSIFIIBIIII}. */
+    private static int changeNpcInventorySlot(PacketBuffer buffer, int available) {
+        int offset = 2;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 19;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code ADD_FORUM_MSG}: {@code BSSS}. */
+    private static int addForumMsg(PacketBuffer buffer, int available) {
+        int offset = 2;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code TRAINER_CREATURE_LIST}: {@code S}. */
+    private static int trainerCreatureList(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GUILD_NEWS}: {@code SSS}. */
+    private static int guildNews(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code OFFER_DETAILS}: {@code S}. */
+    private static int offerDetails(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code ALIANCE_PROPOSALS_LIST}: {@code S}. */
+    private static int alianceProposalsList(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code PEACE_PROPOSALS_LIST}: {@code S}. */
+    private static int peaceProposalsList(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHARACTER_INFO}: {@code SBBBBLLLSSSBBLL}. */
+    private static int characterInfo(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 16;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 10;
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GUILD_LEADER_INFO}: {@code SSSS}. */
+    private static int guildLeaderInfo(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GUILD_MEMBER_INFO}: {@code SS}. */
+    private static int guildMemberInfo(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code GUILD_DETAILS}: {@code SSSSSIBSIISSS}. */
+    private static int guildDetails(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 3;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 4;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code SHOW_USER_REQUEST}: {@code S}. */
+    private static int showUserRequest(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code CHANGE_USER_TRADE_SLOT}: {@code BILIBIIIILSILIBIIIILS}. */
+    private static int changeUserTradeSlot(PacketBuffer buffer, int available) {
+        int offset = 23;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        offset += 21;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code UPDATE_TAG_AND_STATUS}: {@code IBS}. */
+    private static int updateTagAndStatus(PacketBuffer buffer, int available) {
+        int offset = 4;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code SPAWN_LIST}: {@code S}. */
+    private static int spawnList(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code SHOW_SOS_FORM}: {@code S}. */
+    private static int showSosForm(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code SHOW_MOTD_EDITION_FORM}: {@code S}. */
+    private static int showMotdEditionForm(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code USER_NAME_LIST}: {@code S}. */
+    private static int userNameList(PacketBuffer buffer, int available) {
+        int offset = 1;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code SHOW_PARTY_FORM}: {@code BS}. */
+    private static int showPartyForm(PacketBuffer buffer, int available) {
+        int offset = 2;
+        if (available < offset + 2) return -(offset + 2);
+        offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+        return available >= offset ? offset : -offset;
+    }
+
+    /** {@code MULTI_MESSAGE}: {@code M}. */
+    private static int multiMessage(PacketBuffer buffer, int available) throws ProtocolException {
+        int offset = 1;
+        offset = multiMessage(buffer, available, offset);
+        if (offset < 0) return offset;
+        return available >= offset ? offset : -offset;
+    }
+
+    /**
+     * Recorre el mensaje de un {@code MULTI_MESSAGE} que comienza en la posicion indicada.
+     *
+     * @return la posicion siguiente al mensaje o, si faltan bytes para leer un prefijo, la cantidad minima de bytes con signo
+     * negativo
+     * @throws ProtocolException si el tipo de mensaje es desconocido
+     */
+    private static int multiMessage(PacketBuffer buffer, int available, int offset) throws ProtocolException {
+        if (available < offset + 1) return -(offset + 1);
+        int type = buffer.peekByteAt(offset);
+        offset++;
+        switch (type) {
+            case 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 22, 23 -> {
+                // Mensajes sin datos adicionales
+            }
+            case 12 -> { // NPC_HIT_USER
+                offset += 3;
+            }
+            case 13 -> { // USER_HIT_NPC
+                offset += 4;
+            }
+            case 14 -> { // USER_ATTACKED_SWING
+                offset += 2;
+            }
+            case 15 -> { // USER_HITTED_BY_USER
+                offset += 5;
+            }
+            case 16 -> { // USER_HITTED_USER
+                offset += 5;
+            }
+            case 17 -> { // WORK_REQUEST_TARGET
+                offset += 1;
+            }
+            case 18 -> { // HAVE_KILLED_USER
+                offset += 6;
+            }
+            case 19 -> { // USER_KILL
+                offset += 2;
+            }
+            case 20 -> { // EARN_EXP
+                offset += 4;
+            }
+            case 21 -> { // GO_HOME
+                offset += 3;
+                if (available < offset + 2) return -(offset + 2);
+                offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);
+            }
+            default -> throw new ProtocolException("Unknown MULTI_MESSAGE type: " + type);
+        }
+        return offset;
+    }
+
+}
@@ -1,11 +1,13 @@
 package org.aoclient.network.protocol.command;
 
 import org.aoclient.engine.game.Console;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.User;
 
 public interface CommandHandler {
 
-    User user = User.INSTANCE;
+    Session session = Session.CLIENT;
+    User user = session.getUser();
     Console console = Console.INSTANCE;
     CommandValidator validator = CommandProcessor.INSTANCE.validator;
 
@@ -1,6 +1,7 @@
 package org.aoclient.network.protocol.command;
 
 import org.aoclient.engine.game.Console;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.renderer.RGBColor;
 import org.aoclient.network.protocol.Protocol;
 import org.aoclient.network.protocol.command.handlers.basic.*;
@@ -44,8 +45,8 @@ public enum CommandProcessor {
         CommandContext context = new CommandContext(rawCommand);
 
         if (context.isCommand()) handleCommand(context);
-        else if (context.isYell()) Protocol.writeYell(context.getMessage());
-        else Protocol.writeTalk(context.getMessage());
+        else if (context.isYell()) Protocol.writeYell(Session.CLIENT, context.getMessage());
+        else Protocol.writeTalk(Session.CLIENT, context.getMessage());
 
     }
 
@@ -1,12 +1,12 @@
 package org.aoclient.network.protocol.command;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.protocol.types.NumericType;
 
 public class CommandValidator {
 
     public void requireAlive() throws CommandException {
-        if (User.INSTANCE.isDead())
+        if (Session.CLIENT.getUser().isDead())
             throw new CommandException("¡Estás muerto!");
     }
 
@@ -19,7 +19,7 @@ public class BankDepositGoldCommand implements CommandHandler {
         else {
             if (context.hasArguments()) {
                 if (validator.isValidNumber(context.getArgumentsRaw(), NumericType.LONG))
-                    writeBankDepositGold(Integer.parseInt(context.getArgumentsRaw()));
+                    writeBankDepositGold(session, Integer.parseInt(context.getArgumentsRaw()));
                 else
                     console.addMsgToConsole(new String("Incorrect amount. Please use \"/DEPOSITAR amount\".".getBytes(), StandardCharsets.UTF_8),
                             false, true, new RGBColor());
@@ -19,7 +19,7 @@ public class BankExtractGoldCommand implements CommandHandler {
         else {
             if (context.hasArguments()) {
                 if (validator.isValidNumber(context.getArgumentsRaw(), NumericType.LONG))
-                    writeBankExtractGold(Integer.parseInt(context.getArgumentsRaw()));
+                    writeBankExtractGold(session, Integer.parseInt(context.getArgumentsRaw()));
                 else
                     console.addMsgToConsole(new String("Incorrect quantity. Use \"/RETIRAR quantity\".".getBytes(), StandardCharsets.UTF_8),
                             false, true, new RGBColor());
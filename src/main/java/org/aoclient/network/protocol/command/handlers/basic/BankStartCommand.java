@@ -10,7 +10,7 @@ public class BankStartCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeBankStart();
+        writeBankStart(session);
     }
 
 }
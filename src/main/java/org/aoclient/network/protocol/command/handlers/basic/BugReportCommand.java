@@ -13,7 +13,7 @@ public class BugReportCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeBugReport(context.getArgumentsRaw());
+        if (context.hasArguments()) writeBugReport(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Write a description of the bug.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
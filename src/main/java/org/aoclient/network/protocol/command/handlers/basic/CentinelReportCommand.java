@@ -19,7 +19,7 @@ public class CentinelReportCommand implements CommandHandler {
                     false, true, new RGBColor());
         else {
             if (validator.isValidNumber(context.getArgumentsRaw(), NumericType.INTEGER))
-                writeCentinelReport(Integer.parseInt(context.getArgumentsRaw()));
+                writeCentinelReport(session, Integer.parseInt(context.getArgumentsRaw()));
             else
                 console.addMsgToConsole(new String("The verification code must be numeric. Use /CENTINELA X, where X is the verification code.".getBytes(), StandardCharsets.UTF_8),
                         false, true, new RGBColor());
@@ -15,7 +15,7 @@ public class ChangeDescriptionCommand implements CommandHandler {
     public void handle(CommandContext context) throws CommandException {
         if (user.isDead())
             console.addMsgToConsole(new String("You are dead!".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
-        else writeChangeDescription(context.getArgumentsRaw());
+        else writeChangeDescription(session, context.getArgumentsRaw());
     }
 
 }
@@ -10,7 +10,7 @@ public class CommerceStartCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeCommerceStart();
+        writeCommerceStart(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class ConsultationCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeConsultation();
+        writeConsultation(session);
     }
 
 }
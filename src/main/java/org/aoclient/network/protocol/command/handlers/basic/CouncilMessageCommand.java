@@ -13,7 +13,7 @@ public class CouncilMessageCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeCouncilMessage(context.getArgumentsRaw());
+        if (context.hasArguments()) writeCouncilMessage(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Write a message.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -13,7 +13,7 @@ public class DenounceCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeDenounce(context.getArgumentsRaw());
+        if (context.hasArguments()) writeDenounce(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("File your denounce.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class EnlistCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeEnlist();
+        writeEnlist(session);
     }
 
 }
@@ -19,7 +19,7 @@ public class GambleCommand implements CommandHandler {
         else {
             if (context.hasArguments()) {
                 if (validator.isValidNumber(context.getArgumentsRaw(), NumericType.INTEGER))
-                    writeGamble(Short.parseShort(context.getArgumentsRaw()));
+                    writeGamble(session, Short.parseShort(context.getArgumentsRaw()));
                 else
                     console.addMsgToConsole(new String("Missing parameters. Use \"/APOSTAR cantidad\".".getBytes(), StandardCharsets.UTF_8),
                             false, true, new RGBColor());
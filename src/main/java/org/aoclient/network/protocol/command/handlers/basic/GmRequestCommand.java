@@ -10,7 +10,7 @@ public class GmRequestCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeGMRequest();
+        writeGMRequest(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class HealCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeHeal();
+        writeHeal(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class HelpCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeHelp();
+        writeHelp(session);
     }
 
 }
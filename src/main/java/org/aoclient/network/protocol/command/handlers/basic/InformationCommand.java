@@ -10,7 +10,7 @@ public class InformationCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeInformation();
+        writeInformation(session);
     }
 
 }
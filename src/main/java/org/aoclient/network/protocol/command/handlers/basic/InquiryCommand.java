@@ -15,9 +15,9 @@ public class InquiryCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.getArgumentCount() == 0) writeInquiry();
+        if (context.getArgumentCount() == 0) writeInquiry(session);
         else {
-            if (validator.isValidNumber(context.getArgumentsRaw(), NumericType.BYTE)) writeInquiryVote(Integer.parseInt(context.getArgumentsRaw()));
+            if (validator.isValidNumber(context.getArgumentsRaw(), NumericType.BYTE)) writeInquiryVote(session, Integer.parseInt(context.getArgumentsRaw()));
             else {
                 console.addMsgToConsole(new String("To vote for an option, write /encuesta OPTIONNUMBER, for example to vote for option 1, write /encuesta 1.".getBytes(), StandardCharsets.UTF_8),
                         false, true, new RGBColor());
@@ -10,7 +10,7 @@ public class MeditateCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeMeditate();
+        writeMeditate(session);
     }
 
 }
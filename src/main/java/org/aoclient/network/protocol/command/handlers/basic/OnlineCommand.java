@@ -10,7 +10,7 @@ public class OnlineCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeOnline();
+        writeOnline(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class PunishmentsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writePunishments(context.getArgumentsRaw());
+        if (context.hasArguments()) writePunishments(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use /PENAS NICKNAME.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
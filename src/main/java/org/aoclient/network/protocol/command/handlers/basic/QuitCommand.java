@@ -10,7 +10,7 @@ public class QuitCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeQuit();
+        writeQuit(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class RequestAccountStateCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeRequestAccountState();
+        writeRequestAccountState(session);
     }
 
 }
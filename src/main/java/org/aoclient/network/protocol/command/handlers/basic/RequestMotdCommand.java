@@ -10,7 +10,7 @@ public class RequestMotdCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeRequestMOTD();
+        writeRequestMOTD(session);
     }
 
 }
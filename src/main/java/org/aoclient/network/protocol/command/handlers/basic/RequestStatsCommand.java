@@ -10,7 +10,7 @@ public class RequestStatsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeRequestStats();
+        writeRequestStats(session);
     }
 
 }
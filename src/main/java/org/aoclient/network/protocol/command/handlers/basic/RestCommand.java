@@ -10,7 +10,7 @@ public class RestCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeRest();
+        writeRest(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class ResucitateCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeResucitate();
+        writeResucitate(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class RewardCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeReward();
+        writeReward(session);
     }
 
 }
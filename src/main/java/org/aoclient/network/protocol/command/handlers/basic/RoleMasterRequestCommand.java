@@ -13,7 +13,7 @@ public class RoleMasterRequestCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRoleMasterRequest(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRoleMasterRequest(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Write a message.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class ShareNpcCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeShareNpc();
+        writeShareNpc(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class StopSharingNpcCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeStopSharingNpc();
+        writeStopSharingNpc(session);
     }
 
 }
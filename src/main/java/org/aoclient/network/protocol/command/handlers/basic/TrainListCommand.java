@@ -10,7 +10,7 @@ public class TrainListCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeTrainList();
+        writeTrainList(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class UptimeCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeUpTime();
+        writeUpTime(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class AcceptChaosCouncilMemberCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeAcceptChaosCouncilMember(context.getArgumentsRaw());
+        if (context.hasArguments()) writeAcceptChaosCouncilMember(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/ACEPTCONSECAOS nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -13,7 +13,7 @@ public class AcceptRoyalCouncilMemberCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeAcceptRoyalCouncilMember(context.getArgumentsRaw());
+        if (context.hasArguments()) writeAcceptRoyalCouncilMember(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/ACEPTCONSE nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
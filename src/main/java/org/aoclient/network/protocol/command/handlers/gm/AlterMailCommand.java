@@ -17,7 +17,7 @@ public class AlterMailCommand implements CommandHandler {
             String[] tmpArr = validator.AEMAILSplit(context.getArgumentsRaw());
             if (tmpArr[0].isEmpty())
                 console.addMsgToConsole(new String("Incorrect format. Use \"/AEMAIL nickname-newmail\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
-            else writeAlterMail(tmpArr[0], tmpArr[1]);
+            else writeAlterMail(session, tmpArr[0], tmpArr[1]);
         } else
             console.addMsgToConsole(new String("Missing parameters. Use \"/AEMAIL nickname-newmail\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -15,7 +15,7 @@ public class AlterPasswordCommand implements CommandHandler {
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
             String[] tmpArr = context.getArgumentsRaw().split("@", 2);
-            if (tmpArr.length == 2) writeAlterPassword(tmpArr[0], tmpArr[1]);
+            if (tmpArr.length == 2) writeAlterPassword(session, tmpArr[0], tmpArr[1]);
             else
                 console.addMsgToConsole(new String("Incorrect format. Use \"/APASS pjsinpass@pjconpass\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
@@ -15,7 +15,7 @@ public class BanCharCommand implements CommandHandler {
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
             String[] tmpArr = context.getArgumentsRaw().split("@", 2);
-            if (tmpArr.length == 2) writeBanChar(tmpArr[0], tmpArr[1]);
+            if (tmpArr.length == 2) writeBanChar(session, tmpArr[0], tmpArr[1]);
             else
                 console.addMsgToConsole(new String("Incorrect format. Use \"/BAN nickname@reason\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
@@ -10,7 +10,7 @@ public class BannedIpListCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeBannedIPList();
+        writeBannedIPList(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class BannedIpReloadCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeBannedIPReload();
+        writeBannedIPReload(session);
     }
 
 }
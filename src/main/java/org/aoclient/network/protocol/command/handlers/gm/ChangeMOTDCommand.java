@@ -10,7 +10,7 @@ public class ChangeMOTDCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeChangeMOTD();
+        writeChangeMOTD(session);
     }
 
 }
@@ -16,7 +16,7 @@ public class ChaosArmourCommand implements CommandHandler {
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments() && context.getArgumentCount() >= 2) {
             if (validator.isValidNumber(context.getArgument(0), NumericType.BYTE) && validator.isValidNumber(context.getArgument(1), NumericType.INTEGER))
-                writeChaosArmour(Integer.parseInt(context.getArgument(0)), Short.parseShort(context.getArgument(1)));
+                writeChaosArmour(session, Integer.parseInt(context.getArgument(0)), Short.parseShort(context.getArgument(1)));
             else
                 console.addMsgToConsole(new String("Incorrect value. \"Use /AI armor object\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
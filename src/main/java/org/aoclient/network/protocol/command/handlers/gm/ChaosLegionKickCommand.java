@@ -13,7 +13,7 @@ public class ChaosLegionKickCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeChaosLegionKick(context.getArgumentsRaw());
+        if (context.hasArguments()) writeChaosLegionKick(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/NOCAOS nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
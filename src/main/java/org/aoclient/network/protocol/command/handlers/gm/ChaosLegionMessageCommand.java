@@ -13,7 +13,7 @@ public class ChaosLegionMessageCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeChaosLegionMessage(context.getArgumentsRaw());
+        if (context.hasArguments()) writeChaosLegionMessage(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Write a message".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -18,10 +18,10 @@ public class ChatColorCommand implements CommandHandler {
             if (validator.isValidNumber(context.getArgument(0), NumericType.BYTE) &&
                     validator.isValidNumber(context.getArgument(1), NumericType.BYTE) &&
                     validator.isValidNumber(context.getArgument(2), NumericType.BYTE)) {
-                writeChatColor(Integer.parseInt(context.getArgument(0)), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)));
+                writeChatColor(session, Integer.parseInt(context.getArgument(0)), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)));
             } else
                 console.addMsgToConsole(new String("Incorrect value. Use \"/CHATCOLOR r g b\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
-        } else if (!context.hasArguments()) writeChatColor(0, 255, 0);
+        } else if (!context.hasArguments()) writeChatColor(session, 0, 255, 0);
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/CHATCOLOR r g b\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -17,7 +17,8 @@ public class CheckSlotCommand implements CommandHandler {
         if (context.hasArguments()) {
             String[] tmpArr = context.getArgumentsRaw().split("@", 2);
             if (tmpArr.length == 2) {
-                if (validator.isValidNumber(tmpArr[1], NumericType.BYTE)) writeCheckSlot(tmpArr[0], Integer.parseInt(tmpArr[1]));
+                if (validator.isValidNumber(tmpArr[1], NumericType.BYTE))
+                    writeCheckSlot(session, tmpArr[0], Integer.parseInt(tmpArr[1]));
                 else
                     console.addMsgToConsole(new String("Incorrect format. Use \"/SLOT nickname@slot\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
             } else
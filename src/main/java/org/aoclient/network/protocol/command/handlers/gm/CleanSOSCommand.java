@@ -10,7 +10,7 @@ public class CleanSOSCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments() && context.getArgument(0).equalsIgnoreCase("SOS")) writeCleanSOS();
+        if (context.hasArguments() && context.getArgument(0).equalsIgnoreCase("SOS")) writeCleanSOS(session);
     }
 
 }
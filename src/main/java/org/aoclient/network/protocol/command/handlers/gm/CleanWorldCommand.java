@@ -10,7 +10,7 @@ public class CleanWorldCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeCleanWorld();
+        writeCleanWorld(session);
     }
 
 }
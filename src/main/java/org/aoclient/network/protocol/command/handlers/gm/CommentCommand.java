@@ -13,7 +13,7 @@ public class CommentCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeComment(context.getArgumentsRaw());
+        if (context.hasArguments()) writeComment(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Write a comment.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -13,7 +13,7 @@ public class CouncilKickCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeCouncilKick(context.getArgumentsRaw());
+        if (context.hasArguments()) writeCouncilKick(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/KICKCONSE nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -14,7 +14,7 @@ public class CreateItemCommand implements CommandHandler {
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
             if (validator.isValidNumber(context.getArgument(0), NumericType.LONG))
-                writeCreateItem(Integer.parseInt(context.getArgument(0)));
+                writeCreateItem(session, Integer.parseInt(context.getArgument(0)));
             else console.addMsgToConsole("Incorrect object. Use \"/CI object\".", false, true, new RGBColor());
         } else console.addMsgToConsole("Missing parameters. Use \"/CI object\".", false, true, new RGBColor());
     }
@@ -15,7 +15,7 @@ public class CreateNPCWithRespawnCommand implements CommandHandler {
     @Override
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
-            if (validator.isValidNumber(context.getArgument(0), NumericType.INTEGER)) writeCreateNPCWithRespawn(Short.parseShort(context.getArgument(0)));
+            if (validator.isValidNumber(context.getArgument(0), NumericType.INTEGER)) writeCreateNPCWithRespawn(session, Short.parseShort(context.getArgument(0)));
             else
                 console.addMsgToConsole(new String("Incorrect npc. Use \"/RACC npc\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
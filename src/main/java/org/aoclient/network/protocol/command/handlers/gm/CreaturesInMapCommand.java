@@ -16,10 +16,10 @@ public class CreaturesInMapCommand implements CommandHandler {
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
             if (validator.isValidNumber(context.getArgumentsRaw(), NumericType.INTEGER))
-                writeCreaturesInMap(Short.parseShort(context.getArgumentsRaw()));
+                writeCreaturesInMap(session, Short.parseShort(context.getArgumentsRaw()));
             else // No es numerico
                 console.addMsgToConsole(new String("Wrong map. Use \"/NENE map\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
-        } else writeCreaturesInMap(user.getUserMap()); // Por defecto toma el mapa en el que esta
+        } else writeCreaturesInMap(session, user.getUserMap()); // Por defecto toma el mapa en el que esta
     }
 
 }
@@ -14,7 +14,7 @@ public class CriminalMessageCommand implements CommandHandler {
     @Override
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
-            writeCriminalMessage(context.getArgumentsRaw());
+            writeCriminalMessage(session, context.getArgumentsRaw());
         } else
             console.addMsgToConsole(new String("Write a message".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
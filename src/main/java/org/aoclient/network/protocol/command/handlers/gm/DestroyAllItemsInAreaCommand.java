@@ -10,7 +10,7 @@ public class DestroyAllItemsInAreaCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeDestroyAllItemsInArea();
+        writeDestroyAllItemsInArea(session);
     }
 
 }
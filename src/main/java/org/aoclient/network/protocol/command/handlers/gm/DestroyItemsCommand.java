@@ -10,7 +10,7 @@ public class DestroyItemsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeDestroyItems();
+        writeDestroyItems(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class DoBackupCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeDoBackup();
+        writeDoBackup(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class DumpIpTablesCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeDumpIPTables();
+        writeDumpIPTables(session);
     }
 
 }
@@ -39,8 +39,9 @@ public class EditCharCommand implements CommandHandler {
                 default -> -1;
             };
             if (tmpInt > 0) {
-                if (context.getArgumentCount() == 3) writeEditChar(context.getArgument(0), tmpInt, context.getArgument(2), "");
-                else writeEditChar(context.getArgument(0), tmpInt, context.getArgument(2), context.getArgument(3));
+                if (context.getArgumentCount() == 3)
+                    writeEditChar(session, context.getArgument(0), tmpInt, context.getArgument(2), "");
+                else writeEditChar(session, context.getArgument(0), tmpInt, context.getArgument(2), context.getArgument(3));
             } else
                 console.addMsgToConsole(new String("Incorrect command.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
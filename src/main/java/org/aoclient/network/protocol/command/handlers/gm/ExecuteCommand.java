@@ -13,7 +13,7 @@ public class ExecuteCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeExecute(context.getArgumentsRaw());
+        if (context.hasArguments()) writeExecute(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/EJECUTAR nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -15,7 +15,7 @@ public class ForceMidiAllCommand implements CommandHandler {
     @Override
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
-            if (validator.isValidNumber(context.getArgument(0), NumericType.BYTE)) writeForceMIDIAll(Integer.parseInt(context.getArgument(0)));
+            if (validator.isValidNumber(context.getArgument(0), NumericType.BYTE)) writeForceMIDIAll(session, Integer.parseInt(context.getArgument(0)));
              else
                 console.addMsgToConsole(new String("Incorrect MIDI. Use \"/FORCEMIDI midi\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
@@ -15,7 +15,7 @@ public class ForceWavAllCommand implements CommandHandler {
     @Override
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
-            if (validator.isValidNumber(context.getArgument(0), NumericType.BYTE)) writeForceWAVEAll(Integer.parseInt(context.getArgument(0)));
+            if (validator.isValidNumber(context.getArgument(0), NumericType.BYTE)) writeForceWAVEAll(session, Integer.parseInt(context.getArgument(0)));
             else
                 console.addMsgToConsole(new String("Incorrect WAV. Use \"/FORCEWAV wav\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
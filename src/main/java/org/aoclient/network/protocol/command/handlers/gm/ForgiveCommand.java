@@ -13,7 +13,7 @@ public class ForgiveCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeForgive(context.getArgumentsRaw());
+        if (context.hasArguments()) writeForgive(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/PERDON nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class GmPanelCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeGMPanel();
+        writeGMPanel(session);
     }
 
 }
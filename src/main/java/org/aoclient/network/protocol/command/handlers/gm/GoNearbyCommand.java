@@ -13,7 +13,7 @@ public class GoNearbyCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeGoNearby(context.getArgumentsRaw());
+        if (context.hasArguments()) writeGoNearby(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/IRCERCA nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -13,7 +13,7 @@ public class GoToCharCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeGoToChar(context.getArgumentsRaw());
+        if (context.hasArguments()) writeGoToChar(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/IRA nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class HidingCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeHiding();
+        writeHiding(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class HomeCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeHome();
+        writeHome(session);
     }
 
 }
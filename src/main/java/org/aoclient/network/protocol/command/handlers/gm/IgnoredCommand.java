@@ -10,7 +10,7 @@ public class IgnoredCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeIgnored();
+        writeIgnored(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class InvisibleCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeInvisible();
+        writeInvisible(session);
     }
 
 }
@@ -16,7 +16,7 @@ public class IpToNickCommand implements CommandHandler {
         if (context.hasArguments()) {
             if (validator.isValidIPv4(context.getArgumentsRaw())) {
                 int[] ip = validator.str2ipv4l(context.getArgumentsRaw());
-                if (ip != null) writeIPToNick(ip);
+                if (ip != null) writeIPToNick(session, ip);
                 else
                     console.addMsgToConsole(new String("Error converting IP.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
             } else
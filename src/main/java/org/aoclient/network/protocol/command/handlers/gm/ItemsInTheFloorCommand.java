@@ -10,7 +10,7 @@ public class ItemsInTheFloorCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeItemsInTheFloor();
+        writeItemsInTheFloor(session);
     }
 
 }
@@ -18,7 +18,7 @@ public class JailCommand implements CommandHandler {
             String[] tmpArr = context.getArgumentsRaw().split("@");
             if (tmpArr.length == 3) {
                 if (validator.isValidNumber(tmpArr[2], NumericType.BYTE))
-                    writeJail(tmpArr[0], tmpArr[1], Integer.parseInt(tmpArr[2]));
+                    writeJail(session, tmpArr[0], tmpArr[1], Integer.parseInt(tmpArr[2]));
                 else
                     console.addMsgToConsole(new String("Incorrect time. Use \"/CARCEL nickname@reason@time\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
             } else
@@ -10,7 +10,7 @@ public class KickAllCharsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeKickAllChars();
+        writeKickAllChars(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class KickCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeKick(context.getArgumentsRaw());
+        if (context.hasArguments()) writeKick(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/ECHAR nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class KillAllNearbyNPCsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeKillAllNearbyNPCs();
+        writeKillAllNearbyNPCs(session);
     }
 
 }
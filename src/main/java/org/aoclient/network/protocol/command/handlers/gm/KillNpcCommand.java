@@ -10,7 +10,7 @@ public class KillNpcCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeKillNPC();
+        writeKillNPC(session);
     }
 
 }
@@ -14,7 +14,7 @@ public class KillNpcNoRespawnCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeKillNPCNoRespawn();
+        writeKillNPCNoRespawn(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class LastIpCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeLastIP(context.getArgumentsRaw());
+        if (context.hasArguments()) writeLastIP(session, context.getArgumentsRaw());
          else
             console.addMsgToConsole(new String("Missing parameters. Use \"/LASTIP nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
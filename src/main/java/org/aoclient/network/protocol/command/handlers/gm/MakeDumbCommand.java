@@ -13,7 +13,7 @@ public class MakeDumbCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeMakeDumb(context.getArgumentsRaw());
+        if (context.hasArguments()) writeMakeDumb(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/ESTUPIDO nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
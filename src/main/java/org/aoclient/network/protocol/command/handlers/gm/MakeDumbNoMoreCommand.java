@@ -13,7 +13,7 @@ public class MakeDumbNoMoreCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeMakeDumbNoMore(context.getArgumentsRaw());
+        if (context.hasArguments()) writeMakeDumbNoMore(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/NOESTUPIDO nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
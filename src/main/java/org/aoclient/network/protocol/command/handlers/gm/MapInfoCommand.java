@@ -16,28 +16,28 @@ public class MapInfoCommand implements CommandHandler {
         if (context.getArgumentCount() > 1) {
             switch (context.getArgument(0).toUpperCase()) {
                 case "PK":
-                    writeChangeMapInfoPK(context.getArgument(1).equals("1"));
+                    writeChangeMapInfoPK(session, context.getArgument(1).equals("1"));
                     break;
                 case "BACKUP":
-                    writeChangeMapInfoBackup(context.getArgument(1).equals("1"));
+                    writeChangeMapInfoBackup(session, context.getArgument(1).equals("1"));
                     break;
                 case "RESTRINGIR":
-                    writeChangeMapInfoRestricted(context.getArgument(1));
+                    writeChangeMapInfoRestricted(session, context.getArgument(1));
                     break;
                 case "MAGIASINEFECTO":
-                    writeChangeMapInfoNoMagic(Boolean.parseBoolean(context.getArgument(1)));
+                    writeChangeMapInfoNoMagic(session, Boolean.parseBoolean(context.getArgument(1)));
                     break;
                 case "INVISINEFECTO":
-                    writeChangeMapInfoNoInvi(Boolean.parseBoolean(context.getArgument(1)));
+                    writeChangeMapInfoNoInvi(session, Boolean.parseBoolean(context.getArgument(1)));
                     break;
                 case "RESUSINEFECTO":
-                    writeChangeMapInfoNoResu(Boolean.parseBoolean(context.getArgument(1)));
+                    writeChangeMapInfoNoResu(session, Boolean.parseBoolean(context.getArgument(1)));
                     break;
                 case "TERRENO":
-                    writeChangeMapInfoLand(context.getArgument(1));
+                    writeChangeMapInfoLand(session, context.getArgument(1));
                     break;
                 case "ZONA":
-                    writeChangeMapInfoZone(context.getArgument(1));
+                    writeChangeMapInfoZone(session, context.getArgument(1));
                     break;
             }
         } else
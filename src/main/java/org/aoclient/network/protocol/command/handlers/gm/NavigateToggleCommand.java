@@ -10,7 +10,7 @@ public class NavigateToggleCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeNavigateToggle();
+        writeNavigateToggle(session);
     }
 
 }
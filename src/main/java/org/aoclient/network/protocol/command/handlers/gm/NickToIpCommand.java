@@ -13,7 +13,7 @@ public class NickToIpCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeNickToIP(context.getArgumentsRaw());
+        if (context.hasArguments()) writeNickToIP(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/NCIK2IP nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
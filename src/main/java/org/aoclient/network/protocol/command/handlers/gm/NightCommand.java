@@ -10,7 +10,7 @@ public class NightCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeNight();
+        writeNight(session);
     }
 
 }
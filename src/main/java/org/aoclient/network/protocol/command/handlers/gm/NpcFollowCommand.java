@@ -10,7 +10,7 @@ public class NpcFollowCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeNPCFollow();
+        writeNPCFollow(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class OnlineChaosLegionCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeOnlineChaosLegion();
+        writeOnlineChaosLegion(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class OnlineGmCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeOnlineGM();
+        writeOnlineGM(session);
     }
 
 }
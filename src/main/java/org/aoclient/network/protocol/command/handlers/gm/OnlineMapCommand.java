@@ -16,10 +16,10 @@ public class OnlineMapCommand implements CommandHandler {
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
             if (validator.isValidNumber(context.getArgument(0), NumericType.INTEGER))
-                writeOnlineMap(Short.parseShort(context.getArgument(0)));
+                writeOnlineMap(session, Short.parseShort(context.getArgument(0)));
             else
                 console.addMsgToConsole(new String("Mapa incorrecto.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
-        } else writeOnlineMap(user.getUserMap());
+        } else writeOnlineMap(session, user.getUserMap());
     }
 
 }
@@ -10,7 +10,7 @@ public class OnlineRoyalArmyCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeOnlineRoyalArmy();
+        writeOnlineRoyalArmy(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class PingCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writePing();
+        writePing(session);
     }
 
 }
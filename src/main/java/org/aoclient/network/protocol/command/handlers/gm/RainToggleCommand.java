@@ -10,7 +10,7 @@ public class RainToggleCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeRainToggle();
+        writeRainToggle(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class ReloadNpcsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeReloadNPCs();
+        writeReloadNPCs(session);
     }
 
 }
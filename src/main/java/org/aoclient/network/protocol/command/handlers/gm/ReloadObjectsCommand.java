@@ -10,7 +10,7 @@ public class ReloadObjectsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeReloadObjects();
+        writeReloadObjects(session);
     }
 
 }
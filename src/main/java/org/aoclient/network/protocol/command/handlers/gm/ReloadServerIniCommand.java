@@ -10,7 +10,7 @@ public class ReloadServerIniCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeReloadServerIni();
+        writeReloadServerIni(session);
     }
 
 }
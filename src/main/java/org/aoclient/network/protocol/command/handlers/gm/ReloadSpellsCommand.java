@@ -10,7 +10,7 @@ public class ReloadSpellsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeReloadSpells();
+        writeReloadSpells(session);
     }
 
 }
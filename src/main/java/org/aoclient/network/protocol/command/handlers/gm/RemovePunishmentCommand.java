@@ -15,7 +15,7 @@ public class RemovePunishmentCommand implements CommandHandler {
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
             String[] tmpArr = context.getArgumentsRaw().split("@", 3);
-            if (tmpArr.length == 3) writeRemovePunishment(tmpArr[0], Integer.parseInt(tmpArr[1]), tmpArr[2]);
+            if (tmpArr.length == 3) writeRemovePunishment(session, tmpArr[0], Integer.parseInt(tmpArr[1]), tmpArr[2]);
             else
                 console.addMsgToConsole(new String("Incorrect format. Use \"/BORRARPENA nick@punishment@newPunishment\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
@@ -13,7 +13,7 @@ public class RequestCharBankCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRequestCharBank(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRequestCharBank(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/BOV nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
 
@@ -13,7 +13,7 @@ public class RequestCharGoldCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRequestCharGold(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRequestCharGold(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/BAL nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -13,7 +13,7 @@ public class RequestCharInfoCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRequestCharInfo(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRequestCharInfo(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/INFO nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
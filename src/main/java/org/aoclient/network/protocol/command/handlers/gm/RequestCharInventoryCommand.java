@@ -13,7 +13,7 @@ public class RequestCharInventoryCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRequestCharInventory(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRequestCharInventory(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/INV nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
 
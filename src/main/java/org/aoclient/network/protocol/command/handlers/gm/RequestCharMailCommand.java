@@ -13,7 +13,7 @@ public class RequestCharMailCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRequestCharMail(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRequestCharMail(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/LASTEMAIL nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -13,7 +13,7 @@ public class RequestCharSkillsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRequestCharSkills(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRequestCharSkills(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/SKILLS nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
 
@@ -13,7 +13,7 @@ public class RequestCharStatsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRequestCharStats(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRequestCharStats(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/STAT nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
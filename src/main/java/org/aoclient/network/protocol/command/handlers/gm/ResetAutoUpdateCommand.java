@@ -10,7 +10,7 @@ public class ResetAutoUpdateCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeResetAutoUpdate();
+        writeResetAutoUpdate(session);
     }
 
 }
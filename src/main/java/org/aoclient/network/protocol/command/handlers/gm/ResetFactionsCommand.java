@@ -13,7 +13,7 @@ public class ResetFactionsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeResetFactions(context.getArgumentsRaw());
+        if (context.hasArguments()) writeResetFactions(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/RAJAR nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
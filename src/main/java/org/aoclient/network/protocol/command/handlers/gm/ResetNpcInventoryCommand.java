@@ -10,7 +10,7 @@ public class ResetNpcInventoryCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeResetNPCInventory();
+        writeResetNPCInventory(session);
     }
 
 }
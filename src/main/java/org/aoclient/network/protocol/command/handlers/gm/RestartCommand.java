@@ -10,7 +10,7 @@ public class RestartCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeRestart();
+        writeRestart(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class ReviveCharCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeReviveChar(context.getArgumentsRaw());
+        if (context.hasArguments()) writeReviveChar(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/REVIVIR nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
 
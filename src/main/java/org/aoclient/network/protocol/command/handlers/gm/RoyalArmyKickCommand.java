@@ -13,7 +13,7 @@ public class RoyalArmyKickCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRoyalArmyKick(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRoyalArmyKick(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/NOREAL nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class SaveCharsCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeSaveChars();
+        writeSaveChars(session);
     }
 
 }
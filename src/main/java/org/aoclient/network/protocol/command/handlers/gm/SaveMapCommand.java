@@ -10,7 +10,7 @@ public class SaveMapCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeSaveMap();
+        writeSaveMap(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class ServerMessageCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeServerMessage();
+        if (context.hasArguments()) writeServerMessage(session);
         else
             console.addMsgToConsole(new String("Write a mesagge.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
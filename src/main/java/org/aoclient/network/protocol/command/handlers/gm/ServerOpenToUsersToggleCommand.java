@@ -10,7 +10,7 @@ public class ServerOpenToUsersToggleCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeServerOpenToUsersToggle();
+        writeServerOpenToUsersToggle(session);
     }
 
 }
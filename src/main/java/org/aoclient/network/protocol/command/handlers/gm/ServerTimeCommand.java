@@ -10,7 +10,7 @@ public class ServerTimeCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeServerTime();
+        writeServerTime(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class SetCharDescriptionCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeSetCharDescription(context.getArgumentsRaw());
+        writeSetCharDescription(session, context.getArgumentsRaw());
     }
 
 }
@@ -16,7 +16,7 @@ public class SetIniVarCommand implements CommandHandler {
         if (context.getArgumentCount() == 3) {
             context.setArgument(2, context.getArgument(2).replace("+", " ")); // ?
             // argumentosAll[2] = context.getArgument(2).replace("+", " ");
-            writeSetIniVar(context.getArgument(0), context.getArgument(1), context.getArgument(2));
+            writeSetIniVar(session, context.getArgument(0), context.getArgument(1), context.getArgument(2));
         } else
             console.addMsgToConsole(new String("Incorrect parameters. Use \"/SETINIVAR llave clave valor\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -14,10 +14,10 @@ public class ShowCommand implements CommandHandler {
         if (context.hasArguments()) {
             switch (context.getArgument(0).toUpperCase()) {
                 case "SOS":
-                    writeSOSShowList();
+                    writeSOSShowList(session);
                     break;
                 case "INT":
-                    writeShowServerForm();
+                    writeShowServerForm(session);
                     break;
             }
         }
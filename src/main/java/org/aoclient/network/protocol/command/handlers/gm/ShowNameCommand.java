@@ -10,7 +10,7 @@ public class ShowNameCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeShowName();
+        writeShowName(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class SilenceCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeSilence(context.getArgumentsRaw());
+        if (context.hasArguments()) writeSilence(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/SILENCIAR nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class SpawnListRequestCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeSpawnListRequest();
+        writeSpawnListRequest(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class SummonCharCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeSummonChar();
+        if (context.hasArguments()) writeSummonChar(session);
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/SUM nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
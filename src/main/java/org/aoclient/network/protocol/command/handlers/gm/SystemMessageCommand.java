@@ -13,7 +13,7 @@ public class SystemMessageCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeSystemMessage(context.getArgumentsRaw());
+        if (context.hasArguments()) writeSystemMessage(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Write a message.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
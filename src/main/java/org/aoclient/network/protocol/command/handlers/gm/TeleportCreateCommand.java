@@ -19,10 +19,10 @@ public class TeleportCreateCommand implements CommandHandler {
                     validator.isValidNumber(context.getArgument(1), NumericType.BYTE) &&
                     validator.isValidNumber(context.getArgument(2), NumericType.BYTE)) {
                 if (context.getArgumentCount() == 3)
-                    writeTeleportCreate(Short.parseShort(context.getArgument(0)), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)), 0);
+                    writeTeleportCreate(session, Short.parseShort(context.getArgument(0)), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)), 0);
                 else {
                     if (validator.isValidNumber(context.getArgument(3), NumericType.BYTE))
-                        writeTeleportCreate(Short.parseShort(context.getArgument(0)), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)), Integer.parseInt(context.getArgument(3)));
+                        writeTeleportCreate(session, Short.parseShort(context.getArgument(0)), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)), Integer.parseInt(context.getArgument(3)));
                     else
                         console.addMsgToConsole(new String("Invalid value. Use \"/CT map x y radius(optional)\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
                 }
@@ -10,7 +10,7 @@ public class TeleportDestroyCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeTeleportDestroy();
+        writeTeleportDestroy(session);
     }
 
 }
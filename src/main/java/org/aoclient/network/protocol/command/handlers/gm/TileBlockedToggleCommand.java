@@ -10,7 +10,7 @@ public class TileBlockedToggleCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeTileBlockedToggle();
+        writeTileBlockedToggle(session);
     }
 
 }
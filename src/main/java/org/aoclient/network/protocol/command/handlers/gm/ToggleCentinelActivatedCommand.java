@@ -10,7 +10,7 @@ public class ToggleCentinelActivatedCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeToggleCentinelActivated();
+        writeToggleCentinelActivated(session);
     }
 
 }
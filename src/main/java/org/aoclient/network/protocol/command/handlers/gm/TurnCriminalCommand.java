@@ -13,7 +13,7 @@ public class TurnCriminalCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeTurnCriminal(context.getArgumentsRaw());
+        if (context.hasArguments()) writeTurnCriminal(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/CONDEN nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
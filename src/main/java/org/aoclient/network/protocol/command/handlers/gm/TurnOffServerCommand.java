@@ -10,7 +10,7 @@ public class TurnOffServerCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeTurnOffServer();
+        writeTurnOffServer(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class UnbanCharCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeUnbanChar(context.getArgumentsRaw());
+        if (context.hasArguments()) writeUnbanChar(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/UNBAN nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
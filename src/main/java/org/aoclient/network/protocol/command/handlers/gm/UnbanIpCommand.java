@@ -14,7 +14,8 @@ public class UnbanIpCommand implements CommandHandler {
     @Override
     public void handle(CommandContext context) throws CommandException {
         if (context.hasArguments()) {
-            if (validator.isValidIPv4(context.getArgumentsRaw())) writeUnbanIP(validator.str2ipv4l(context.getArgumentsRaw()));
+            if (validator.isValidIPv4(context.getArgumentsRaw()))
+                writeUnbanIP(session, validator.str2ipv4l(context.getArgumentsRaw()));
             else
                 console.addMsgToConsole(new String("Incorrect IP. Use \"/UNBAN ip\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else
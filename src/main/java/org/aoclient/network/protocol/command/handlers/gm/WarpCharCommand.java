@@ -18,7 +18,7 @@ public class WarpCharCommand implements CommandHandler {
             if (validator.isValidNumber(context.getArgument(1), NumericType.INTEGER) &&
                     validator.isValidNumber(context.getArgument(2), NumericType.BYTE) &&
                     validator.isValidNumber(context.getArgument(3), NumericType.BYTE)) {
-                writeWarpChar(context.getArgument(0), Short.parseShort(context.getArgument(1)), Integer.parseInt(context.getArgument(2)), Integer.parseInt(context.getArgument(3)));
+                writeWarpChar(session, context.getArgument(0), Short.parseShort(context.getArgument(1)), Integer.parseInt(context.getArgument(2)), Integer.parseInt(context.getArgument(3)));
             } else
                 console.addMsgToConsole(new String("Incorrect value. Use \"/TELEP nickname map x y\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
         } else if (context.getArgumentCount() == 3) {
@@ -26,11 +26,11 @@ public class WarpCharCommand implements CommandHandler {
                     validator.isValidNumber(context.getArgument(1), NumericType.BYTE) &&
                     validator.isValidNumber(context.getArgument(2), NumericType.BYTE)) {
                 // Por defecto, si no se indica el nombre, se teletransporta el mismo usuario
-                writeWarpChar("YO", Short.parseShort(context.getArgument(0)), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)));
+                writeWarpChar(session, "YO", Short.parseShort(context.getArgument(0)), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)));
             } else if (validator.isValidNumber(context.getArgument(1), NumericType.BYTE) &&
                     validator.isValidNumber(context.getArgument(2), NumericType.BYTE)) {
                 // Por defecto, si no se indica el mapa, se teletransporta al mismo donde esta el usuario
-                writeWarpChar(context.getArgument(0), user.getUserMap(), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)));
+                writeWarpChar(session, context.getArgument(0), user.getUserMap(), Integer.parseInt(context.getArgument(1)), Integer.parseInt(context.getArgument(2)));
             } else
                 // No uso ningun formato por defecto
                 console.addMsgToConsole(new String("Incorrect value. Use \"/TELEP nickname map x y\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
@@ -38,7 +38,7 @@ public class WarpCharCommand implements CommandHandler {
             if (validator.isValidNumber(context.getArgument(0), NumericType.BYTE) &&
                     validator.isValidNumber(context.getArgument(1), NumericType.BYTE)) {
                 // Por defecto, se considera que se quiere unicamente cambiar las coordenadas del usuario, en el mismo mapa
-                writeWarpChar("YO", user.getUserMap(), Integer.parseInt(context.getArgument(0)), Integer.parseInt(context.getArgument(1)));
+                writeWarpChar(session, "YO", user.getUserMap(), Integer.parseInt(context.getArgument(0)), Integer.parseInt(context.getArgument(1)));
             } else
                 // No uso ningun formato por defecto
                 console.addMsgToConsole(new String("Incorrect value. Use \"/TELEP nickname map x y\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
@@ -10,7 +10,7 @@ public class WarpMeToTargetCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeWarpMeToTarget();
+        writeWarpMeToTarget(session);
     }
 
 }
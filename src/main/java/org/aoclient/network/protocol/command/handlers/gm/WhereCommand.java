@@ -13,7 +13,7 @@ public class WhereCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeWhere(context.getArgumentsRaw());
+        if (context.hasArguments()) writeWhere(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/DONDE NICKNAME\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class WorkingCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeWorking();
+        writeWorking(session);
     }
 
 }
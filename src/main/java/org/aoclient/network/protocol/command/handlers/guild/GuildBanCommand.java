@@ -13,7 +13,7 @@ public class GuildBanCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeGuildBan(context.getArgumentsRaw());
+        if (context.hasArguments()) writeGuildBan(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/BANCLAN guildname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
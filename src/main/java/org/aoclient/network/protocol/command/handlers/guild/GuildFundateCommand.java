@@ -13,7 +13,7 @@ public class GuildFundateCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (user.getUserLvl() >= 25) writeGuildFundate();
+        if (user.getUserLvl() >= 25) writeGuildFundate(session);
         else
             console.addMsgToConsole(new String("To found a clan you must be level 25 and have 90 leadership skills.".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
@@ -10,7 +10,7 @@ public class GuildLeaveCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeGuildLeave();
+        writeGuildLeave(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class GuildMemberListCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeGuildMemberList(context.getArgumentsRaw());
+        if (context.hasArguments()) writeGuildMemberList(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/MIEMBROSCLAN guildname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
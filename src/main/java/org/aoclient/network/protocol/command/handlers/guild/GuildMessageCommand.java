@@ -13,7 +13,7 @@ public class GuildMessageCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.getArgumentCount() == 0) writeGuildMessage(context.getArgumentsRaw());
+        if (context.getArgumentCount() == 0) writeGuildMessage(session, context.getArgumentsRaw());
         else console.addMsgToConsole(new String("Write a message.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
 
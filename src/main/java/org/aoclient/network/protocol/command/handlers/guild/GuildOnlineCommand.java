@@ -10,7 +10,7 @@ public class GuildOnlineCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeGuildOnline();
+        writeGuildOnline(session);
     }
 
 }
@@ -13,7 +13,7 @@ public class GuildOnlineMembersCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeGuildOnlineMembers(context.getArgumentsRaw());
+        if (context.hasArguments()) writeGuildOnlineMembers(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/ONCLAN clanname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -13,7 +13,7 @@ public class GuildVoteCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeGuildVote(context.getArgumentsRaw());
+        if (context.hasArguments()) writeGuildVote(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use /VOTO NICKNAME.".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
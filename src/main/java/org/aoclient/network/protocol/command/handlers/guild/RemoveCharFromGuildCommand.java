@@ -13,7 +13,7 @@ public class RemoveCharFromGuildCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeRemoveCharFromGuild(context.getArgumentsRaw());
+        if (context.hasArguments()) writeRemoveCharFromGuild(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/RAJARCLAN nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
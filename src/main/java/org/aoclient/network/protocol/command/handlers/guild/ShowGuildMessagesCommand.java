@@ -13,7 +13,7 @@ public class ShowGuildMessagesCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writeShowGuildMessages(context.getArgumentsRaw());
+        if (context.hasArguments()) writeShowGuildMessages(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. \"Use /SHOWCMSG guildname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -13,7 +13,7 @@ public class PartyAcceptMemberCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writePartyAcceptMember(context.getArgumentsRaw());
+        if (context.hasArguments()) writePartyAcceptMember(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/ACCEPTPARTY nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
@@ -10,7 +10,7 @@ public class PartyCreateCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writePartyCreate();
+        writePartyCreate(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class PartyJoinCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writePartyJoin();
+        writePartyJoin(session);
     }
 
 }
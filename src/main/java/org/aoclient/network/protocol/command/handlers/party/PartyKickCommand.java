@@ -13,7 +13,7 @@ public class PartyKickCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writePartyKick(context.getArgumentsRaw());
+        if (context.hasArguments()) writePartyKick(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/ECHARPARTY nickname\".".getBytes(), StandardCharsets.UTF_8),
                     false, true, new RGBColor());
@@ -10,7 +10,7 @@ public class PartyLeaveCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writePartyLeave();
+        writePartyLeave(session);
     }
 
 }
@@ -10,7 +10,7 @@ public class PartyOnlineCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writePartyOnline();
+        writePartyOnline(session);
     }
 
 }
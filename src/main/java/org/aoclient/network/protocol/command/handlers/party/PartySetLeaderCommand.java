@@ -13,7 +13,7 @@ public class PartySetLeaderCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        if (context.hasArguments()) writePartySetLeader(context.getArgumentsRaw());
+        if (context.hasArguments()) writePartySetLeader(session, context.getArgumentsRaw());
         else
             console.addMsgToConsole(new String("Missing parameters. Use \"/PARTYLIDER nickname\".".getBytes(), StandardCharsets.UTF_8), false, true, new RGBColor());
     }
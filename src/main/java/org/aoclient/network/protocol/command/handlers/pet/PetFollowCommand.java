@@ -10,7 +10,7 @@ public class PetFollowCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writePetFollow();
+        writePetFollow(session);
     }
 
 }
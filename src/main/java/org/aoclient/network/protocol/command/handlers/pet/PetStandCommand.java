@@ -10,7 +10,7 @@ public class PetStandCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writePetStand();
+        writePetStand(session);
     }
 
 }
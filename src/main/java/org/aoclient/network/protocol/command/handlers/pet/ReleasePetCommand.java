@@ -10,7 +10,7 @@ public class ReleasePetCommand implements CommandHandler {
 
     @Override
     public void handle(CommandContext context) throws CommandException {
-        writeReleasePet();
+        writeReleasePet(session);
     }
 
 }
@@ -1,21 +1,20 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class AddForumMessageHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(8)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        int forumType = tempBuffer.readByte();
-        String title = tempBuffer.readCp1252String();
-        String autor = tempBuffer.readCp1252String();
-        String message = tempBuffer.readCp1252String();
+        int forumType = buffer.readByte();
+        String title = buffer.readCp1252String();
+        String autor = buffer.readCp1252String();
+        String message = buffer.readCp1252String();
 
         //If Not frmForo.ForoLimpio Then
         //        clsForos.ClearForums
@@ -24,7 +23,7 @@ public class AddForumMessageHandler implements PacketHandler {
         //
         //    Call clsForos.AddPost(ForumAlignment(ForumType), Title, Author, Message, EsAnuncio(ForumType))
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleAddForumMessage Cargado! - FALTA TERMINAR!");
     }
 
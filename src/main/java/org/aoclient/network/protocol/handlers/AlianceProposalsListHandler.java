@@ -1,18 +1,17 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class AlianceProposalsListHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String vsGuildList = tempBuffer.readCp1252String();
+        String vsGuildList = buffer.readCp1252String();
 
         //Dim vsGuildList() As String
         //    Dim i As Long
@@ -27,7 +26,7 @@ public class AlianceProposalsListHandler implements PacketHandler {
         //    frmPeaceProp.ProposalType = TIPO_PROPUESTA.ALIANZA
         //    Call frmPeaceProp.Show(vbModeless, //FrmMain)
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleAlianceProposalsList Cargado! - FALTA TERMINAR!");
     }
 
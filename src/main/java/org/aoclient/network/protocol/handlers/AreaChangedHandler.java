@@ -1,17 +1,16 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class AreaChangedHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
         int x = buffer.readByte();
         int y = buffer.readByte();
-        User.INSTANCE.areaChange(x, y);
+        session.getUser().areaChange(x, y);
     }
 
 }
@@ -1,6 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.models.Attribute;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
@@ -8,15 +8,14 @@ import org.tinylog.Logger;
 public class AttributesHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(6)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         int[] attributes = new int[Attribute.values().length];
         for (int i = 0; i < 5; i++)
             attributes[i] = buffer.readByte();
 
-        User.INSTANCE.setAttributes(attributes);
+        session.getUser().setAttributes(attributes);
         //    'Show them in character creation
         //    If EstadoLogin = E_MODO.Dados Then
         //        With frmCrearPersonaje
@@ -1,14 +1,14 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class BankEndHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
-        User.INSTANCE.setUserComerciando(false);
+        session.getUser().setUserComerciando(false);
     }
 
 }
@@ -1,11 +1,12 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class BankOKHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         //Dim i As Long
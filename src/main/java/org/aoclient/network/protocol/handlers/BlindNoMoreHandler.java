@@ -1,12 +1,13 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class BlindNoMoreHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         //UserCiego = False
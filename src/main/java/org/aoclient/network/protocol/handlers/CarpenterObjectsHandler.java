@@ -1,26 +1,25 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class CarpenterObjectsHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        short count = tempBuffer.readInteger();
+        short count = buffer.readInteger();
 
         for (int i = 0; i < count; i++) {
-            tempBuffer.readCp1252String();
-            tempBuffer.readInteger();
-            tempBuffer.readInteger();
-            tempBuffer.readInteger();
-            tempBuffer.readInteger();
-            tempBuffer.readInteger();
+            buffer.readCp1252String();
+            buffer.readInteger();
+            buffer.readInteger();
+            buffer.readInteger();
+            buffer.readInteger();
+            buffer.readInteger();
         }
 
         //ReDim ObjCarpintero(Count) As tItemsConstruibles
@@ -72,7 +71,7 @@ public class CarpenterObjectsHandler implements PacketHandler {
         //        End With
         //    Next i
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleCarpenterObjects Cargado! - FALTA TERMINAR!");
     }
 
@@ -1,32 +1,30 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.User;
 import org.aoclient.engine.game.models.ObjectType;
 import org.aoclient.network.PacketBuffer;
 
 public class ChangeInventorySlotHandler implements PacketHandler {
 
-    private final User user = User.INSTANCE;
-
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(22)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        User user = session.getUser();
+        buffer.mark();
+        buffer.readByte();
 
-        int slot = tempBuffer.readByte();
-        short objIndex = tempBuffer.readInteger();
-        String name = tempBuffer.readCp1252String();
-        int amount = tempBuffer.readInteger();
-        boolean equipped = tempBuffer.readBoolean();
-        short grhIndex = tempBuffer.readInteger();
-        int objType = tempBuffer.readByte();
-        short maxHit = tempBuffer.readInteger();
-        short minHit = tempBuffer.readInteger();
-        short maxDef = tempBuffer.readInteger();
-        short minDef = tempBuffer.readInteger();
-        float value = tempBuffer.readFloat();
+        int slot = buffer.readByte();
+        short objIndex = buffer.readInteger();
+        String name = buffer.readCp1252String();
+        int amount = buffer.readInteger();
+        boolean equipped = buffer.readBoolean();
+        short grhIndex = buffer.readInteger();
+        int objType = buffer.readByte();
+        short maxHit = buffer.readInteger();
+        short minHit = buffer.readInteger();
+        short maxDef = buffer.readInteger();
+        short minDef = buffer.readInteger();
+        float value = buffer.readFloat();
 
         if (equipped) {
             switch (ObjectType.values()[objType - 1]) {
@@ -68,7 +66,7 @@ public class ChangeInventorySlotHandler implements PacketHandler {
 
         user.getUserInventory().setItem(slot - 1, objIndex, amount, equipped, grhIndex, objType, maxHit, minHit, maxDef, minDef, value, name);
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
     }
 
 }
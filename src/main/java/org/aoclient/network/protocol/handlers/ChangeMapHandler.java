@@ -1,27 +1,32 @@
 package org.aoclient.network.protocol.handlers;
 
 import org.aoclient.engine.game.Rain;
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.utils.GameData;
 import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.Reconnection;
 
 import static org.aoclient.engine.utils.GameData.bLluvia;
 
 public class ChangeMapHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         short userMap = buffer.readInteger();
-        User.INSTANCE.setUserMap(userMap);
+        short previousMap = session.getUser().getUserMap();
+        session.getUser().setUserMap(userMap);
 
         // Once on-the-fly editor is implemented check for map version before loading....
         // For now we just drop it
         buffer.readInteger();
 
-        GameData.loadMap(userMap);
+        // Al volver a entrar tras una reconexion al mismo mapa se conservan las capas y las texturas ya cargadas; solo se quitan
+        // los personajes y objetos, que el servidor vuelve a enviar
+        if (Reconnection.INSTANCE.isReentering() && userMap == previousMap) GameData.clearMapObjects();
+        else GameData.loadMap(userMap);
+        session.getCharList().eraseAllChars();
 
         if (!bLluvia[userMap] && Rain.INSTANCE.isRaining()) Rain.INSTANCE.stopRainingSoundLoop();
 
@@ -1,27 +1,25 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class ChangeSpellSlotHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(6)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        int slot = tempBuffer.readByte();
-        // tempBuffer.readByte();
-        // short hechizoNum = tempBuffer.readInteger();
-        tempBuffer.readInteger();
-        String hechizoName = tempBuffer.readCp1252String();
+        int slot = buffer.readByte();
+        // buffer.readByte();
+        // short hechizoNum = buffer.readInteger();
+        buffer.readInteger();
+        String hechizoName = buffer.readCp1252String();
 
-        User.INSTANCE.getInventorySpells().addSpell(slot - 1, hechizoName);
+        session.getUser().getInventorySpells().addSpell(slot - 1, hechizoName);
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("ChangeSpellSlot Cargado! - FALTA TERMINAR!");
     }
 
@@ -1,40 +1,39 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class ChangeUserTradeSlotHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(22)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
-
-        int offerSlot = tempBuffer.readByte();
-
-        tempBuffer.readInteger();
-        tempBuffer.readLong();
-        tempBuffer.readInteger();
-        tempBuffer.readByte();
-        tempBuffer.readInteger();
-        tempBuffer.readInteger();
-        tempBuffer.readInteger();
-        tempBuffer.readInteger();
-        tempBuffer.readLong();
-        tempBuffer.readCp1252String();
-
-        tempBuffer.readInteger();
-        tempBuffer.readLong();
-        tempBuffer.readInteger();
-        tempBuffer.readByte();
-        tempBuffer.readInteger();
-        tempBuffer.readInteger();
-        tempBuffer.readInteger();
-        tempBuffer.readInteger();
-        tempBuffer.readLong();
-        tempBuffer.readCp1252String();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
+
+        int offerSlot = buffer.readByte();
+
+        buffer.readInteger();
+        buffer.readLong();
+        buffer.readInteger();
+        buffer.readByte();
+        buffer.readInteger();
+        buffer.readInteger();
+        buffer.readInteger();
+        buffer.readInteger();
+        buffer.readLong();
+        buffer.readCp1252String();
+
+        buffer.readInteger();
+        buffer.readLong();
+        buffer.readInteger();
+        buffer.readByte();
+        buffer.readInteger();
+        buffer.readInteger();
+        buffer.readInteger();
+        buffer.readInteger();
+        buffer.readLong();
+        buffer.readCp1252String();
 
         //OfferSlot = Buffer.ReadByte
         //
@@ -52,7 +51,7 @@ public class ChangeUserTradeSlotHandler implements PacketHandler {
         //
         //    Call frmComerciarUsu.PrintCommerceMsg(TradingUserName & " ha modificado su oferta.", FontTypeNames.FONTTYPE_VENENO)
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleChangeUserTradeSlot Cargado! - FALTA TERMINAR!");
     }
 
@@ -1,6 +1,7 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.engine.game.models.Direction;
 import org.aoclient.engine.utils.inits.BodyData;
 import org.aoclient.engine.utils.inits.HeadData;
@@ -10,14 +11,13 @@ import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 import static org.aoclient.engine.game.models.Character.CASPER_HEAD;
-import static org.aoclient.engine.game.models.Character.refreshAllChars;
 import static org.aoclient.engine.utils.GameData.*;
 
 public class CharacterChangeHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(18)) return;
+    public void handle(Session session, PacketBuffer buffer) {
+        CharacterList charList = session.getCharList();
         buffer.readByte();
 
         short charIndex = buffer.readInteger();
@@ -25,39 +25,38 @@ public class CharacterChangeHandler implements PacketHandler {
 
         // esta dentro del rango del array de bodydata?
         if (tempint < 1 || tempint > bodyData.length) {
-            charList[charIndex].setBody(new BodyData(bodyData[0]));
-            charList[charIndex].setiBody(0);
+            charList.get(charIndex).setBody(new BodyData(bodyData[0]));
+            charList.get(charIndex).setiBody(0);
         } else {
-            charList[charIndex].setBody(new BodyData(bodyData[tempint]));
-            charList[charIndex].setiBody(tempint);
+            charList.get(charIndex).setBody(new BodyData(bodyData[tempint]));
+            charList.get(charIndex).setiBody(tempint);
         }
 
         short headIndex = buffer.readInteger();
 
         if (headIndex < 1 || headIndex > headData.length) {
-            charList[charIndex].setHead(headData[0]);
-            charList[charIndex].setiHead(0);
+            charList.get(charIndex).setHead(headData[0]);
+            charList.get(charIndex).setiHead(0);
         } else {
-            charList[charIndex].setHead(headData[headIndex]);
-            charList[charIndex].setiHead(headIndex);
+            charList.get(charIndex).setHead(headData[headIndex]);
+            charList.get(charIndex).setiHead(headIndex);
         }
 
-        charList[charIndex].setDead(headIndex == CASPER_HEAD);
-        charList[charIndex].setHeading(Direction.values()[buffer.readByte() - 1]);
+        charList.get(charIndex).setDead(headIndex == CASPER_HEAD);
+        charList.get(charIndex).setHeading(Direction.values()[buffer.readByte() - 1]);
 
         tempint = buffer.readInteger();
-        if (tempint != 0) charList[charIndex].setWeapon(new WeaponData(weaponData[tempint]));
-
+        if (tempint != 0) charList.get(charIndex).setWeapon(new WeaponData(weaponData[tempint]));
 
         tempint = buffer.readInteger();
-        if (tempint != 0) charList[charIndex].setShield(new ShieldData(shieldData[tempint]));
+        if (tempint != 0) charList.get(charIndex).setShield(new ShieldData(shieldData[tempint]));
 
         tempint = buffer.readInteger();
-        if (tempint != 0) charList[charIndex].setHelmet(new HeadData(helmetsData[tempint]));
+        if (tempint != 0) charList.get(charIndex).setHelmet(new HeadData(helmetsData[tempint]));
 
-        User.INSTANCE.setCharacterFx(charIndex, buffer.readInteger(), buffer.readInteger());
+        session.getUser().setCharacterFx(charIndex, buffer.readInteger(), buffer.readInteger());
 
-        refreshAllChars();
+        charList.refreshAllChars();
         Logger.debug("handleCharacterChange Cargado! - FALTA TERMINAR!");
     }
 
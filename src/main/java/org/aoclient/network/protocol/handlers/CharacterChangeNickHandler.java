@@ -1,16 +1,18 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.network.PacketBuffer;
 
-import static org.aoclient.engine.utils.GameData.charList;
-
 public class CharacterChangeNickHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
+    public void handle(Session session, PacketBuffer buffer) {
+        CharacterList charList = session.getCharList();
+        buffer.mark();
         buffer.readByte();
-        charList[buffer.readInteger()].setName(buffer.readCp1252String());
+        charList.get(buffer.readInteger()).setName(buffer.readCp1252String());
+        buffer.commit();
     }
 
 }
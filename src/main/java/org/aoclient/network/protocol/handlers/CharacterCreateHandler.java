@@ -1,45 +1,33 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.engine.game.models.Direction;
-import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder.CharacterCreate;
 import org.aoclient.network.protocol.types.NickColorType;
 import org.aoclient.network.protocol.types.PlayerType;
 
-import static org.aoclient.engine.game.models.Character.makeChar;
-import static org.aoclient.engine.game.models.Character.refreshAllChars;
-import static org.aoclient.engine.utils.GameData.charList;
+public class CharacterCreateHandler extends DecodedPacketHandler<CharacterCreate> {
 
-public class CharacterCreateHandler implements PacketHandler {
+    public CharacterCreateHandler() {
+        super(new CharacterCreate());
+    }
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(24)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
-
-        short charIndex = tempBuffer.readInteger();
-        short body = tempBuffer.readInteger();
-        short head = tempBuffer.readInteger();
-        int numHeading = tempBuffer.readByte();
-        Direction direction = Direction.values()[numHeading - 1];
-        int x = tempBuffer.readByte();
-        int y = tempBuffer.readByte();
-        short weapon = tempBuffer.readInteger();
-        short shield = tempBuffer.readInteger();
-        short helmet = tempBuffer.readInteger();
+    protected void handle(Session session, CharacterCreate event) {
+        CharacterList charList = session.getCharList();
+        short charIndex = event.charIndex;
+        Direction direction = Direction.values()[event.heading - 1];
+        int nickColor = event.nickColor;
+        int privs = event.privileges;
 
-        User.INSTANCE.setCharacterFx(charIndex, tempBuffer.readInteger(), tempBuffer.readInteger());
+        session.getUser().setCharacterFx(charIndex, event.fx, event.fxLoops);
 
-        charList[charIndex].setName(tempBuffer.readCp1252String());
+        charList.get(charIndex).setName(event.name);
 
-        int nickColor = tempBuffer.readByte();
-        int privs = tempBuffer.readByte();
+        charList.get(charIndex).setCriminal((nickColor & NickColorType.CRIMINAL.getId()) != 0);
 
-        charList[charIndex].setCriminal((nickColor & NickColorType.CRIMINAL.getId()) != 0);
-
-        charList[charIndex].setAttackable((nickColor & NickColorType.ATACABLE.getId()) != 0);
+        charList.get(charIndex).setAttackable((nickColor & NickColorType.ATACABLE.getId()) != 0);
 
         if (privs != 0) {
 
@@ -50,14 +38,13 @@ public class CharacterCreateHandler implements PacketHandler {
             if ((privs & PlayerType.ROLE_MASTER.getId()) != 0) privs = PlayerType.ROLE_MASTER.getId();
 
             int logPrivs = (int) (Math.log(privs) / Math.log(2));
-            charList[charIndex].setPriv(logPrivs);
-
-        } else charList[charIndex].setPriv(0);
+            charList.get(charIndex).setPriv(logPrivs);
 
-        makeChar(charIndex, body, head, direction, x, y, weapon, shield, helmet);
-        refreshAllChars();
+        } else charList.get(charIndex).setPriv(0);
 
-        buffer.copy(tempBuffer);
+        charList.makeChar(charIndex, event.body, event.head, direction, event.x, event.y, event.weapon, event.shield,
+                event.helmet);
+        charList.refreshAllChars();
     }
 
 }
@@ -1,35 +1,34 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class CharacterInfoHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(35)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String nombre = tempBuffer.readCp1252String();
-        int raza = tempBuffer.readByte();
-        int clase = tempBuffer.readByte();
-        int genero = tempBuffer.readByte();
-        int nivel = tempBuffer.readByte();
-        int oro = tempBuffer.readLong();
-        int banco = tempBuffer.readLong();
-        int reputacion = tempBuffer.readLong();
+        String nombre = buffer.readCp1252String();
+        int raza = buffer.readByte();
+        int clase = buffer.readByte();
+        int genero = buffer.readByte();
+        int nivel = buffer.readByte();
+        int oro = buffer.readLong();
+        int banco = buffer.readLong();
+        int reputacion = buffer.readLong();
 
-        String txtPeticiones = tempBuffer.readCp1252String();
-        String guildActual = tempBuffer.readCp1252String();
-        String txtMiembro = tempBuffer.readCp1252String();
+        String txtPeticiones = buffer.readCp1252String();
+        String guildActual = buffer.readCp1252String();
+        String txtMiembro = buffer.readCp1252String();
 
-        boolean armada = tempBuffer.readBoolean();
-        boolean caos = tempBuffer.readBoolean();
+        boolean armada = buffer.readBoolean();
+        boolean caos = buffer.readBoolean();
 
-        int ciudadanos = tempBuffer.readLong();
-        int criminales = tempBuffer.readLong();
+        int ciudadanos = buffer.readLong();
+        int criminales = buffer.readLong();
 
         //With frmCharInfo
         //        If .frmType = CharInfoFrmType.frmMembers Then
@@ -93,7 +92,7 @@ public class CharacterInfoHandler implements PacketHandler {
         //        Call .Show(vbModeless, //FrmMain)
         //    End With
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleCharacterInfo Cargado! - FALTA TERMINAR!");
     }
 
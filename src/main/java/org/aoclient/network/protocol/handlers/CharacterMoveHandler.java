@@ -1,31 +1,31 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
-import org.aoclient.network.PacketBuffer;
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.Character;
+import org.aoclient.engine.game.models.CharacterList;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder.CharacterMove;
 
-import static org.aoclient.engine.game.models.Character.refreshAllChars;
-import static org.aoclient.engine.utils.GameData.charList;
+public class CharacterMoveHandler extends DecodedPacketHandler<CharacterMove> {
 
-public class CharacterMoveHandler implements PacketHandler {
+    public CharacterMoveHandler() {
+        super(new CharacterMove());
+    }
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
-        buffer.readByte();
-
-        short charIndex = buffer.readInteger();
-        int x = buffer.readByte();
-        int y = buffer.readByte();
+    protected void handle(Session session, CharacterMove event) {
+        CharacterList charList = session.getCharList();
+        short charIndex = event.charIndex;
 
         // Si esta meditando, removemos el FX.
-        if (charList[charIndex].getFxIndex() >= 40 && charList[charIndex].getFxIndex() <= 49) charList[charIndex].setFxIndex(0);
+        Character character = charList.get(charIndex);
+        if (character.getFxIndex() >= 40 && character.getFxIndex() <= 49) character.setFxIndex(0);
 
         // Play steps sounds if the user is not an admin of any kind
-        int priv = charList[charIndex].getPriv();
-        if (priv != 1 && priv != 2 && priv != 3 && priv != 5 && priv != 25) User.INSTANCE.doPasosFx(charIndex);
+        int priv = charList.get(charIndex).getPriv();
+        if (priv != 1 && priv != 2 && priv != 3 && priv != 5 && priv != 25) session.getUser().doPasosFx(charIndex);
 
-        User.INSTANCE.moveCharbyPos(charIndex, x, y);
-        refreshAllChars();
+        session.getUser().moveCharbyPos(charIndex, event.x, event.y);
+        charList.refreshAllChars();
     }
 
 }
@@ -1,19 +1,18 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.network.PacketBuffer;
 
-import static org.aoclient.engine.game.models.Character.eraseChar;
-import static org.aoclient.engine.game.models.Character.refreshAllChars;
-
 public class CharacterRemoveHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
+    public void handle(Session session, PacketBuffer buffer) {
+        CharacterList charList = session.getCharList();
         buffer.readByte();
 
-        eraseChar(buffer.readInteger());
-        refreshAllChars();
+        charList.eraseChar(buffer.readInteger());
+        charList.refreshAllChars();
     }
 
 }
@@ -1,19 +1,18 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class CommerceChatHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(4)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String chat = tempBuffer.readCp1252String();
-        int fontSize = tempBuffer.readByte();
+        String chat = buffer.readCp1252String();
+        int fontSize = buffer.readByte();
 
         /*
         If InStr(1, chat, "~") Then
@@ -46,7 +45,7 @@ public class CommerceChatHandler implements PacketHandler {
     End If
          */
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
 
         Logger.debug("handleCommerceChat CARGADO - FALTA TERMINAR!");
     }
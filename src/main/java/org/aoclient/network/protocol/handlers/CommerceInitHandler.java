@@ -1,6 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.forms.FComerce;
 import org.aoclient.network.PacketBuffer;
@@ -8,10 +8,10 @@ import org.aoclient.network.PacketBuffer;
 public class CommerceInitHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
         // comerciando = true
-        User.INSTANCE.setUserComerciando(true);
+        session.getUser().setUserComerciando(true);
         ImGUISystem.INSTANCE.show(new FComerce());
     }
 
@@ -1,6 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.Console;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.models.FontType;
 import org.aoclient.engine.renderer.RGBColor;
 import org.aoclient.network.PacketBuffer;
@@ -9,17 +9,14 @@ import org.tinylog.Logger;
 public class ConsoleMessageHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(4)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String chat = tempBuffer.readCp1252String();
-        FontType fontType = FontType.values()[tempBuffer.readByte()];
-
-        Console.INSTANCE.addMsgToConsole(chat, false, false, new RGBColor(fontType.r, fontType.g, fontType.b));
+        String chat = buffer.readCp1252String();
+        FontType fontType = FontType.values()[buffer.readByte()];
 
+        session.addMsgToConsole(chat, false, false, new RGBColor(fontType.r, fontType.g, fontType.b));
 
         //        With FontTypes(FontIndex)
         //            Call AddtoRichTextBox(//FrmMain.RecTxt, chat, .red, .green, .blue, .bold, .italic)
@@ -31,7 +28,7 @@ public class ConsoleMessageHandler implements PacketHandler {
         //        End If
         //    End If
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleConsoleMessage CARGADO - FALTA TERMINAR!");
     }
 
@@ -1,20 +1,17 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
-import org.aoclient.network.PacketBuffer;
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder.CreateFx;
 
-public class CreateFXHandler implements PacketHandler {
+public class CreateFXHandler extends DecodedPacketHandler<CreateFx> {
 
-    @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(7)) return;
-        buffer.readByte();
-
-        short charIndex = buffer.readInteger();
-        short fX = buffer.readInteger();
-        short loops = buffer.readInteger();
+    public CreateFXHandler() {
+        super(new CreateFx());
+    }
 
-        User.INSTANCE.setCharacterFx(charIndex, fX, loops);
+    @Override
+    protected void handle(Session session, CreateFx event) {
+        session.getUser().setCharacterFx(event.charIndex, event.fx, event.fxLoops);
     }
 
 }
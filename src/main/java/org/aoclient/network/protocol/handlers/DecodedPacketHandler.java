@@ -0,0 +1,56 @@
+package org.aoclient.network.protocol.handlers;
+
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder;
+
+/**
+ * Handler de un paquete que tiene decoder generado en {@link ServerPacketDecoder}: recibe el evento con los campos ya leidos en
+ * lugar del buffer, por lo que no depende del orden de lectura ni del layout del paquete.
+ * <p>
+ * Si el paquete llega como bytes (por ejemplo, desde {@code PacketReceiver#handleIncomingBytes}), el handler lo decodifica en su
+ * propio evento antes de aplicarlo; si el hilo de red ya lo decodifico, {@code PacketReceiver} le pasa directamente ese evento.
+ *
+ * @param <E> evento del paquete que maneja
+ */
+
+public abstract class DecodedPacketHandler<E extends ServerPacketDecoder.Event> implements PacketHandler {
+
+    /**
+     * Evento en el que se decodifican los paquetes que llegan como bytes. No admite que dos hilos apliquen paquetes a la vez, por
+     * lo que los receptores atendidos desde hilos distintos necesitan sus propias instancias de los handlers.
+     */
+    private final E event;
+
+    protected DecodedPacketHandler(E event) {
+        this.event = event;
+    }
+
+    @Override
+    public final void handle(Session session, PacketBuffer buffer) {
+        // Marca la posicion de lectura para que PacketReceiver pueda volver a ella si el paquete esta incompleto
+        buffer.mark();
+        event.decode(buffer);
+        handle(session, event);
+    }
+
+    /**
+     * Aplica un evento ya decodificado, que debe ser del paquete que maneja este handler.
+     *
+     * @param session sesion sobre la que se aplica el paquete
+     * @param event   evento del paquete
+     */
+    @SuppressWarnings("unchecked")
+    public final void handleDecoded(Session session, ServerPacketDecoder.Event event) {
+        handle(session, (E) event);
+    }
+
+    /**
+     * Aplica los campos del paquete.
+     *
+     * @param session sesion sobre la que se aplica el paquete
+     * @param event   evento con los campos del paquete
+     */
+    protected abstract void handle(Session session, E event);
+
+}
@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.forms.FCreateCharacter;
 import org.aoclient.network.PacketBuffer;
@@ -11,8 +12,7 @@ import static org.aoclient.engine.Sound.playSound;
 public class DiceRollHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(6)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         int fuerza = buffer.readByte();
@@ -21,7 +21,7 @@ public class DiceRollHandler implements PacketHandler {
         int carisma = buffer.readByte();
         int constitucion = buffer.readByte();
 
-        playSound(SND_DICE);
+        if (session.hasAudio()) playSound(SND_DICE);
 
         try {
             // Buscar el formulario FCreateCharacter abierto y actualizar atributos
@@ -1,22 +1,22 @@
 package org.aoclient.network.protocol.handlers;
 
 import org.aoclient.engine.Sound;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.SocketConnection;
 import org.tinylog.Logger;
 
 import static org.aoclient.engine.Sound.playMusic;
-import static org.aoclient.engine.game.models.Character.eraseAllChars;
 
 public class DisconnectHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         SocketConnection.INSTANCE.disconnect();
-        eraseAllChars();
+        session.getCharList().eraseAllChars();
 
         ImGUISystem.INSTANCE.closeAllFrms();
 
@@ -54,7 +54,6 @@ public class DisconnectHandler implements PacketHandler {
         charlist(i).invisible = False
     Next i
 
-
     For i = 1 To MAX_INVENTORY_SLOTS
         Call Inventario.SetItem(i, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, "")
     Next i
@@ -1,6 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.forms.FMessage;
 import org.aoclient.network.PacketBuffer;
@@ -9,19 +9,17 @@ import org.aoclient.network.SocketConnection;
 public class ErrorMessageHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String errMsg = tempBuffer.readCp1252String();
+        String errMsg = buffer.readCp1252String();
         ImGUISystem.INSTANCE.show(new FMessage(errMsg));
 
         SocketConnection.INSTANCE.disconnect();
-        User.INSTANCE.setUserConected(false);
+        session.getUser().setUserConected(false);
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
     }
 
 }
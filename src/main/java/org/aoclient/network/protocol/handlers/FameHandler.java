@@ -1,23 +1,22 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.models.Reputation;
 import org.aoclient.network.PacketBuffer;
 
 public class FameHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(29)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         int[] reputations = new int[Reputation.values().length];
         for (Reputation reputation : Reputation.values())
             reputations[reputation.ordinal()] = buffer.readLong();
 
-        User.INSTANCE.setReputations(reputations);
+        session.getUser().setReputations(reputations);
         long average = buffer.readLong();
-        User.INSTANCE.setCriminal(average < 0);
+        session.getUser().setCriminal(average < 0);
     }
 
 }
@@ -1,24 +1,23 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.engine.game.models.Direction;
 import org.aoclient.network.PacketBuffer;
 
-import static org.aoclient.engine.game.models.Character.refreshAllChars;
-
 public class ForceCharMoveHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(2)) return;
+    public void handle(Session session, PacketBuffer buffer) {
+        CharacterList charList = session.getCharList();
         buffer.readByte();
 
         Direction direction = Direction.values()[buffer.readByte() - 1];
-        short userCharIndex = User.INSTANCE.getUserCharIndex();
-        User.INSTANCE.moveCharbyHead(userCharIndex, direction);
-        User.INSTANCE.moveScreen(direction);
+        short userCharIndex = session.getUser().getUserCharIndex();
+        session.getUser().moveCharbyHead(userCharIndex, direction);
+        session.getUser().moveScreen(direction);
 
-        refreshAllChars();
+        charList.refreshAllChars();
     }
 
 }
@@ -1,18 +1,17 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class GuildChatHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String chat = tempBuffer.readCp1252String();
+        String chat = buffer.readCp1252String();
 
         //Dim str As String
         //    Dim r As Byte
@@ -57,7 +56,7 @@ public class GuildChatHandler implements PacketHandler {
         //        Call DialogosClanes.PushBackText(ReadField(1, chat, 126))
         //    End If
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleGuildChat CARGADO - FALTA TERMINAR");
     }
 
@@ -1,34 +1,33 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class GuildDetailsHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(26)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        tempBuffer.readCp1252String();
-        tempBuffer.readCp1252String();
-        tempBuffer.readCp1252String();
-        tempBuffer.readCp1252String();
-        tempBuffer.readCp1252String();
-        tempBuffer.readInteger();
+        buffer.readCp1252String();
+        buffer.readCp1252String();
+        buffer.readCp1252String();
+        buffer.readCp1252String();
+        buffer.readCp1252String();
+        buffer.readInteger();
 
-        tempBuffer.readBoolean();
+        buffer.readBoolean();
 
-        tempBuffer.readCp1252String();
-        tempBuffer.readInteger();
-        tempBuffer.readInteger();
-        tempBuffer.readCp1252String();
+        buffer.readCp1252String();
+        buffer.readInteger();
+        buffer.readInteger();
+        buffer.readCp1252String();
 
-        tempBuffer.readCp1252String();
+        buffer.readCp1252String();
 
-        tempBuffer.readCp1252String();
+        buffer.readCp1252String();
 
         //With frmGuildBrief
         //        .imgDeclararGuerra.Visible = .EsLeader
@@ -65,7 +64,7 @@ public class GuildDetailsHandler implements PacketHandler {
         //        .Desc.Text = Buffer.ReadASCIIString()
         //    End With
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleGuildDetails Cargado! - FALTA TERMINAR!");
     }
 
@@ -1,21 +1,20 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class GuildLeaderInfoHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(9)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String guildNames = tempBuffer.readCp1252String();
-        guildNames = tempBuffer.readCp1252String();
-        String txtGuildNews = tempBuffer.readCp1252String();
-        String list = tempBuffer.readCp1252String();
+        String guildNames = buffer.readCp1252String();
+        guildNames = buffer.readCp1252String();
+        String txtGuildNews = buffer.readCp1252String();
+        String list = buffer.readCp1252String();
 
         //With frmGuildLeader
         //        'Get list of existing guilds
@@ -54,7 +53,7 @@ public class GuildLeaderInfoHandler implements PacketHandler {
         //        .Show , //FrmMain
         //    End With
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleGuildLeaderInfo Cargado! - FALTA TERMINAR!");
     }
 
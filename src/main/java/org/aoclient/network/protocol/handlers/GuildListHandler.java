@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.forms.FGuildAdm;
 import org.aoclient.network.PacketBuffer;
@@ -8,13 +9,11 @@ import org.tinylog.Logger;
 public class GuildListHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String guildNames = tempBuffer.readCp1252String();
+        String guildNames = buffer.readCp1252String();
         
         // Split the guild names using null character as separator
         String[] guildsArray = guildNames.split("\0");
@@ -24,7 +23,7 @@ public class GuildListHandler implements PacketHandler {
         guildAdm.setGuildsList(guildsArray);
         ImGUISystem.INSTANCE.show(guildAdm);
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("Guild list loaded with " + guildsArray.length + " guilds");
     }
 }
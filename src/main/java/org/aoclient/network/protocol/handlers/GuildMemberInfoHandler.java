@@ -1,20 +1,18 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class GuildMemberInfoHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
-
-        String guildNames = tempBuffer.readCp1252String();
-        String guildMembers = tempBuffer.readCp1252String();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
+        String guildNames = buffer.readCp1252String();
+        String guildMembers = buffer.readCp1252String();
 
         //With frmGuildMember
         //        'Clear guild's list
@@ -44,7 +42,7 @@ public class GuildMemberInfoHandler implements PacketHandler {
         //        .Show vbModeless, //FrmMain
         //    End With
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleGuildMemberInfo Cargado! - FALTA TERMINAR!");
     }
 
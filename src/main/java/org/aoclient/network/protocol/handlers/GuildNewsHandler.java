@@ -1,20 +1,19 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class GuildNewsHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(7)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String news = tempBuffer.readCp1252String();
-        String guildList = tempBuffer.readCp1252String();
-        guildList = tempBuffer.readCp1252String();
+        String news = buffer.readCp1252String();
+        String guildList = buffer.readCp1252String();
+        guildList = buffer.readCp1252String();
 
         //'Get news' string
         //    frmGuildNews.news = Buffer.ReadASCIIString()
@@ -37,7 +36,7 @@ public class GuildNewsHandler implements PacketHandler {
         //
         //    If ClientSetup.bGuildNews Then frmGuildNews.Show vbModeless, //FrmMain
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleGuildNews Cargado! - FALTA TERMINAR!");
     }
 
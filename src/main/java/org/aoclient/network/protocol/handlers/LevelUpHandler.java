@@ -1,17 +1,16 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class LevelUpHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
-        short skillPoints = (short) (User.INSTANCE.getFreeSkillPoints() + buffer.readInteger());
-        User.INSTANCE.setFreeSkillPoints(skillPoints);
+        short skillPoints = (short) (session.getUser().getFreeSkillPoints() + buffer.readInteger());
+        session.getUser().setFreeSkillPoints(skillPoints);
     }
 
 }
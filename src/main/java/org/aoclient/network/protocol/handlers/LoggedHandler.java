@@ -1,14 +1,16 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.Reconnection;
 
 public class LoggedHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
-        User.INSTANCE.setUserConected(true);
+        session.getUser().setUserConected(true);
+        Reconnection.INSTANCE.onLogged();
     }
 
 }
@@ -1,24 +1,23 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.models.KillCounter;
 import org.aoclient.network.PacketBuffer;
 
 public class MiniStatsHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(20)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         int i = 1;
         for (KillCounter counter : KillCounter.values()) {
-            if (i < KillCounter.values().length) User.INSTANCE.setKillCounter(counter.ordinal(), buffer.readLong());
-            else User.INSTANCE.setKillCounter(counter.ordinal(), buffer.readInteger());
+            if (i < KillCounter.values().length) session.getUser().setKillCounter(counter.ordinal(), buffer.readLong());
+            else session.getUser().setKillCounter(counter.ordinal(), buffer.readInteger());
             i++;
         }
-        User.INSTANCE.setRole(buffer.readByte());
-        User.INSTANCE.setJailTime(buffer.readLong());
+        session.getUser().setRole(buffer.readByte());
+        session.getUser().setJailTime(buffer.readLong());
 
         //With UserEstadisticas
         //        .CiudadanosMatados = data.ReadLong()
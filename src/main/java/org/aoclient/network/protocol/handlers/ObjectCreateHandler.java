@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 import static org.aoclient.engine.utils.GameData.initGrh;
@@ -8,8 +9,7 @@ import static org.aoclient.engine.utils.GameData.mapData;
 public class ObjectCreateHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         int x = buffer.readByte();
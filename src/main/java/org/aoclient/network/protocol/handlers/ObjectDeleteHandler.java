@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 import static org.aoclient.engine.utils.GameData.mapData;
@@ -7,8 +8,7 @@ import static org.aoclient.engine.utils.GameData.mapData;
 public class ObjectDeleteHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         int x = buffer.readByte();
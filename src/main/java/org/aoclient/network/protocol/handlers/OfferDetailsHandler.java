@@ -1,20 +1,19 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class OfferDetailsHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String recievePeticion = tempBuffer.readCp1252String();
+        String recievePeticion = buffer.readCp1252String();
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleOfferDetails Cargado! - FALTA TERMINAR!");
     }
 
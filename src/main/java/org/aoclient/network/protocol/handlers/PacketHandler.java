@@ -1,13 +1,17 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 /**
  * Representa un contrato que define la accion de manejar los paquetes del servidor.
+ * <p>
+ * Los handlers no guardan estado de la sesion: lo reciben en cada paquete, por lo que una misma clase de handler sirve tanto
+ * para el cliente como para las sesiones de herramientas como {@code BotSwarm}.
  */
 
 public interface PacketHandler {
 
-    void handle(PacketBuffer buffer);
+    void handle(Session session, PacketBuffer buffer);
 
 }
@@ -1,16 +1,18 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.Character;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.network.PacketBuffer;
 
-import static org.aoclient.engine.utils.GameData.charList;
-
 public class ParalizeOKHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
+        CharacterList charList = session.getCharList();
         buffer.readByte();
-        charList[User.INSTANCE.getUserCharIndex()].setParalizado(!charList[User.INSTANCE.getUserCharIndex()].isParalizado());
+        Character character = charList.get(session.getUser().getUserCharIndex());
+        character.setParalizado(!character.isParalizado());
     }
 
 }
@@ -1,18 +1,17 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class PeaceProposalsListHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String guildList = tempBuffer.readCp1252String();
+        String guildList = buffer.readCp1252String();
 
         //Dim guildList() As String
         //    Dim i As Long
@@ -27,7 +26,7 @@ public class PeaceProposalsListHandler implements PacketHandler {
         //    frmPeaceProp.ProposalType = TIPO_PROPUESTA.PAZ
         //    Call frmPeaceProp.Show(vbModeless, //FrmMain)
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handlePeaceProposalsList Cargado! - FALTA TERMINAR!");
     }
 
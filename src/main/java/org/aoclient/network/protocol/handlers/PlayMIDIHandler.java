@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
@@ -8,14 +9,13 @@ import static org.aoclient.engine.Sound.playMusic;
 public class PlayMIDIHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(4)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         int currentMusic = buffer.readByte();
 
         buffer.readInteger(); // Remove the bytes to prevent errors
-        if (currentMusic > 0) playMusic(currentMusic + ".ogg"); // play music
+        if (currentMusic > 0 && session.hasAudio()) playMusic(currentMusic + ".ogg"); // play music
 
         Logger.debug("handlePlayMIDI Cargado! - FALTA TERMINAR!");
     }
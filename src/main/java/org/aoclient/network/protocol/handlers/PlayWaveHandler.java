@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 import static org.aoclient.engine.Sound.playSound;
@@ -7,8 +8,7 @@ import static org.aoclient.engine.Sound.playSound;
 public class PlayWaveHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         int wave = buffer.readByte();
@@ -16,7 +16,7 @@ public class PlayWaveHandler implements PacketHandler {
         int srcY = buffer.readByte();
 
         // Call Audio.PlayWave(CStr(wave) & ".wav", srcX, srcY)
-        playSound(String.valueOf(wave) + ".ogg");
+        if (session.hasAudio()) playSound(String.valueOf(wave) + ".ogg");
     }
 
 }
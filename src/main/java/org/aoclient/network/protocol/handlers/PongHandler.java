@@ -1,20 +1,33 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.Console;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.renderer.RGBColor;
 import org.aoclient.network.PacketBuffer;
-import org.aoclient.network.protocol.Protocol;
+import org.aoclient.network.SocketConnection;
 
-import static org.lwjgl.glfw.GLFW.glfwGetTime;
+/**
+ * Respuesta a un PING. Registra el tiempo de ida y vuelta en las estadisticas de latencia y, si el PING lo pidio el usuario con
+ * /PING, lo muestra en la consola.
+ * <p>
+ * El tiempo se mide hasta que el hilo de red recibio el PONG, sin contar lo que espero en la cola hasta ser aplicado.
+ */
 
 public class PongHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
-        Console.INSTANCE.addMsgToConsole("El ping es " + (int) (glfwGetTime() - Protocol.pingTime) + " ms.", false, false, new RGBColor(1f, 0f, 0f));
-        Protocol.pingTime = 0;
+        if (session.getPingTime() == 0) return; // Respuesta a un PING que ya se dio por perdido
+
+        long receivedNanos = SocketConnection.INSTANCE.getCurrentPacketReceivedNanos();
+        if (receivedNanos - session.getPingTime() < 0) receivedNanos = System.nanoTime(); // No llego a traves de la cola del hilo de red
+        long rttNanos = receivedNanos - session.getPingTime();
+        SocketConnection.INSTANCE.getLatencyStats().record(rttNanos);
+        if (session.isPingRequested())
+            session.addMsgToConsole("El ping es " + rttNanos / 1_000_000 + " ms.", false, false, new RGBColor(1f, 0f, 0f));
+        session.setPingTime(0);
+        session.setPingRequested(false);
     }
 
 }
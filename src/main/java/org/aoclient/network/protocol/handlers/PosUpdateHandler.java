@@ -1,36 +1,36 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.network.PacketBuffer;
 
-import static org.aoclient.engine.utils.GameData.charList;
 import static org.aoclient.engine.utils.GameData.mapData;
 
 public class PosUpdateHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
+    public void handle(Session session, PacketBuffer buffer) {
+        CharacterList charList = session.getCharList();
         buffer.readByte();
 
-        int x = User.INSTANCE.getUserPos().getX();
-        int y = User.INSTANCE.getUserPos().getY();
-        int userCharIndex = User.INSTANCE.getUserCharIndex();
+        int x = session.getUser().getUserPos().getX();
+        int y = session.getUser().getUserPos().getY();
+        int userCharIndex = session.getUser().getUserCharIndex();
 
         // Remove char form old position
-        if (mapData[x][y].getCharIndex() == userCharIndex) mapData[x][y].setCharIndex(0);
+        if (session.isOnMap() && mapData[x][y].getCharIndex() == userCharIndex) mapData[x][y].setCharIndex(0);
 
         // Set new pos
-        User.INSTANCE.getUserPos().setX(buffer.readByte());
-        User.INSTANCE.getUserPos().setY(buffer.readByte());
+        session.getUser().getUserPos().setX(buffer.readByte());
+        session.getUser().getUserPos().setY(buffer.readByte());
 
         // again xd
-        x = User.INSTANCE.getUserPos().getX();
-        y = User.INSTANCE.getUserPos().getY();
+        x = session.getUser().getUserPos().getX();
+        y = session.getUser().getUserPos().getY();
 
-        mapData[x][y].setCharIndex(userCharIndex);
-        charList[userCharIndex].getPos().setX(x);
-        charList[userCharIndex].getPos().setY(y);
+        if (session.isOnMap()) mapData[x][y].setCharIndex(userCharIndex);
+        charList.get(userCharIndex).getPos().setX(x);
+        charList.get(userCharIndex).getPos().setY(y);
     }
 
 }
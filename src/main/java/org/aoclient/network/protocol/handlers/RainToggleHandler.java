@@ -1,20 +1,20 @@
 package org.aoclient.network.protocol.handlers;
 
 import org.aoclient.engine.game.Rain;
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class RainToggleHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
-        int userX = User.INSTANCE.getUserPos().getX();
-        int userY = User.INSTANCE.getUserPos().getY();
-        if (User.INSTANCE.inMapBounds(userX, userY)) return;
+        int userX = session.getUser().getUserPos().getX();
+        int userY = session.getUser().getUserPos().getY();
+        if (session.getUser().inMapBounds(userX, userY)) return;
 
-        User.INSTANCE.setUnderCeiling(User.INSTANCE.checkUnderCeiling());
+        session.getUser().setUnderCeiling(session.getUser().checkUnderCeiling());
 
         if (Rain.INSTANCE.isRaining()) {
             Rain.INSTANCE.setRainValue(false);
@@ -1,15 +1,15 @@
 package org.aoclient.network.protocol.handlers;
 
 import org.aoclient.engine.game.Dialogs;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class RemoveCharDialogHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
-        Dialogs.removeDialog(buffer.readInteger());
+        Dialogs.removeDialog(session.getCharList(), buffer.readInteger());
     }
 
 }
@@ -1,14 +1,15 @@
 package org.aoclient.network.protocol.handlers;
 
 import org.aoclient.engine.game.Dialogs;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class RemoveDialogsHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
-        Dialogs.removeAllDialogs();
+        Dialogs.removeAllDialogs(session.getCharList());
     }
 
 }
@@ -1,13 +1,13 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class SendNightHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(2)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         boolean tBool = buffer.readBoolean();
@@ -1,6 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.models.Skill;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
@@ -8,8 +8,7 @@ import org.tinylog.Logger;
 public class SendSkillsHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(2 + 20 * 2)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
         // variables globales
@@ -23,7 +22,7 @@ public class SendSkillsHandler implements PacketHandler {
         int porcentajeSkills[] = new int[20];
 
         for (Skill skill : Skill.values()) {
-            User.INSTANCE.setSkill(skill.getId(), buffer.readByte());
+            session.getUser().setSkill(skill.getId(), buffer.readByte());
             porcentajeSkills[skill.getId() - 1] = buffer.readByte();
         }
 
@@ -1,18 +1,18 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
-import static org.aoclient.engine.utils.GameData.charList;
-
 public class SetInvisibleHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(4)) return;
+    public void handle(Session session, PacketBuffer buffer) {
+        CharacterList charList = session.getCharList();
         buffer.readByte();
 
-        charList[buffer.readInteger()].setInvisible(buffer.readBoolean());
+        charList.get(buffer.readInteger()).setInvisible(buffer.readBoolean());
         Logger.debug("handleSetInvisible Cargado!");
     }
 
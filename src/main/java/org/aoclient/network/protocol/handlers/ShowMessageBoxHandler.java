@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.forms.FMessage;
 import org.aoclient.network.PacketBuffer;
@@ -7,16 +8,14 @@ import org.aoclient.network.PacketBuffer;
 public class ShowMessageBoxHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String msg = tempBuffer.readCp1252String();
+        String msg = buffer.readCp1252String();
         ImGUISystem.INSTANCE.show(new FMessage(msg));
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
     }
 
 }
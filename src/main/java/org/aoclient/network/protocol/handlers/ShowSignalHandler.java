@@ -1,22 +1,21 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class ShowSignalHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String tmp = tempBuffer.readCp1252String();
-        short param = tempBuffer.readInteger();
+        String tmp = buffer.readCp1252String();
+        short param = buffer.readInteger();
         // Call InitCartel(tmp, Buffer.ReadInteger())
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleShowSignal Cargado! - FALTA TERMINAR!");
     }
 
@@ -1,24 +1,23 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class ShowUserRequestHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String recievePeticion = tempBuffer.readCp1252String();
+        String recievePeticion = buffer.readCp1252String();
 
         // Call frmUserRequest.recievePeticion(Buffer.ReadASCIIString())
         //    Call frmUserRequest.Show(vbModeless, //FrmMain)
         //
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleShowUserRequest Cargado! - FALTA TERMINAR!");
     }
 
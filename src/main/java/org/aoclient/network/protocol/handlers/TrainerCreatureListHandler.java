@@ -1,18 +1,17 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class TrainerCreatureListHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String creatures = tempBuffer.readCp1252String();
+        String creatures = buffer.readCp1252String();
 
         //creatures = Split(Buffer.ReadASCIIString(), SEPARATOR)
         //
@@ -21,7 +20,7 @@ public class TrainerCreatureListHandler implements PacketHandler {
         //    Next i
         //    frmEntrenador.Show , //FrmMain
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleTrainerCreatureList Cargado! - FALTA TERMINAR!");
     }
 
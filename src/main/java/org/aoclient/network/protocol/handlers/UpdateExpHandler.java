@@ -1,16 +1,15 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class UpdateExpHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
         // Get data and update
-        User.INSTANCE.setUserExp(buffer.readLong());
+        session.getUser().setUserExp(buffer.readLong());
     }
 
 }
@@ -1,15 +1,14 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class UpdateGoldHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
-        User.INSTANCE.setUserGLD(buffer.readLong());
+        session.getUser().setUserGLD(buffer.readLong());
     }
 
 }
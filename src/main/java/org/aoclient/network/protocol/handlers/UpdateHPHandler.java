@@ -1,21 +1,22 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
-import org.aoclient.network.PacketBuffer;
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.models.CharacterList;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder.UpdateHp;
 import org.tinylog.Logger;
 
-import static org.aoclient.engine.utils.GameData.charList;
+public class UpdateHPHandler extends DecodedPacketHandler<UpdateHp> {
 
-public class UpdateHPHandler implements PacketHandler {
+    public UpdateHPHandler() {
+        super(new UpdateHp());
+    }
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        buffer.readByte();
-
-        User.INSTANCE.setUserMinHP(buffer.readInteger());
+    protected void handle(Session session, UpdateHp event) {
+        CharacterList charList = session.getCharList();
+        session.getUser().setUserMinHP(event.minHp);
 
-        charList[User.INSTANCE.getUserCharIndex()].setDead(User.INSTANCE.getUserMinHP() <= 0);
+        charList.get(session.getUser().getUserCharIndex()).setDead(session.getUser().getUserMinHP() <= 0);
 
         //
         //    'Is the user alive??
@@ -1,19 +1,18 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 
 public class UpdateHungerAndThirstHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(5)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
 
-        User.INSTANCE.setUserMaxAGU(buffer.readByte());
-        User.INSTANCE.setUserMinAGU(buffer.readByte());
-        User.INSTANCE.setUserMaxHAM(buffer.readByte());
-        User.INSTANCE.setUserMinHAM(buffer.readByte());
+        session.getUser().setUserMaxAGU(buffer.readByte());
+        session.getUser().setUserMinAGU(buffer.readByte());
+        session.getUser().setUserMaxHAM(buffer.readByte());
+        session.getUser().setUserMinHAM(buffer.readByte());
     }
 
 }
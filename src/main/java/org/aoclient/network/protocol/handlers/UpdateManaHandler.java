@@ -1,16 +1,17 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
-import org.aoclient.network.PacketBuffer;
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder.UpdateMana;
 
-public class UpdateManaHandler implements PacketHandler {
+public class UpdateManaHandler extends DecodedPacketHandler<UpdateMana> {
 
-    @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        buffer.readByte();
+    public UpdateManaHandler() {
+        super(new UpdateMana());
+    }
 
-        User.INSTANCE.setUserMinMAN(buffer.readInteger());
+    @Override
+    protected void handle(Session session, UpdateMana event) {
+        session.getUser().setUserMinMAN(event.minMana);
     }
 
 }
@@ -1,16 +1,17 @@
 package org.aoclient.network.protocol.handlers;
 
-import org.aoclient.engine.game.User;
-import org.aoclient.network.PacketBuffer;
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder.UpdateSta;
 
-public class UpdateStaHandler implements PacketHandler {
+public class UpdateStaHandler extends DecodedPacketHandler<UpdateSta> {
 
-    @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        buffer.readByte();
+    public UpdateStaHandler() {
+        super(new UpdateSta());
+    }
 
-        User.INSTANCE.setUserMinSTA(buffer.readInteger());
+    @Override
+    protected void handle(Session session, UpdateSta event) {
+        session.getUser().setUserMinSTA(event.minSta);
     }
 
 }
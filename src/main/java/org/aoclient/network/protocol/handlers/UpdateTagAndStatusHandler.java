@@ -1,20 +1,19 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class UpdateTagAndStatusHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(6)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        short charIndex = tempBuffer.readInteger();
-        int nickColor = tempBuffer.readByte();
-        String userTag = tempBuffer.readCp1252String();
+        short charIndex = buffer.readInteger();
+        int nickColor = buffer.readByte();
+        String userTag = buffer.readCp1252String();
 
         //Dim CharIndex As Integer
         //    Dim NickColor As Byte
@@ -37,7 +36,7 @@ public class UpdateTagAndStatusHandler implements PacketHandler {
         //        .Nombre = UserTag
         //    End With
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleUpdateTagAndStatus Cargado! - FALTA TERMINAR!");
     }
 
@@ -1,17 +1,16 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.models.CharacterList;
 import org.aoclient.network.PacketBuffer;
 
-import static org.aoclient.engine.utils.GameData.charList;
-
 public class UpdateUserStatsHandler implements PacketHandler {
 
-    private final User user = User.INSTANCE;
-
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(26)) return;
+    public void handle(Session session, PacketBuffer buffer) {
+        User user = session.getUser();
+        CharacterList charList = session.getCharList();
         buffer.readByte();
 
         user.setUserMaxHP(buffer.readInteger());
@@ -25,7 +24,7 @@ public class UpdateUserStatsHandler implements PacketHandler {
         user.setUserPasarNivel(buffer.readLong());
         user.setUserExp(buffer.readLong());
 
-        charList[user.getUserCharIndex()].setDead(user.getUserMinHP() <= 0);
+        charList.get(user.getUserCharIndex()).setDead(user.getUserMinHP() <= 0);
 
         //
         //    If UserMinHP = 0 Then
@@ -1,12 +1,14 @@
 package org.aoclient.network.protocol.handlers;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.tinylog.Logger;
 
 public class UserCommerceInitHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
         buffer.readByte();
 
         // variable local vb6
@@ -42,6 +44,7 @@ public class UserCommerceInitHandler implements PacketHandler {
         //    Comerciando = True
         //    Call frmComerciarUsu.Show(vbModeless, //FrmMain)
 
+        buffer.commit();
         Logger.debug("handleUserCommerceInit CARGADO - FALTA TERMINAR!");
     }
 
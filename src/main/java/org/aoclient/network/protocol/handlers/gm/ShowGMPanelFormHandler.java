@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers.gm;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.forms.FPanelGM;
 import org.aoclient.network.PacketBuffer;
@@ -8,7 +9,7 @@ import org.aoclient.network.protocol.handlers.PacketHandler;
 public class ShowGMPanelFormHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
         ImGUISystem.INSTANCE.show(new FPanelGM());
     }
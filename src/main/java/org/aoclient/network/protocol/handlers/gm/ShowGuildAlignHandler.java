@@ -1,12 +1,13 @@
 package org.aoclient.network.protocol.handlers.gm;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.protocol.handlers.PacketHandler;
 
 public class ShowGuildAlignHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
         //frmEligeAlineacion.Show vbModeless, //FrmMain
     }
@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers.gm;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.protocol.handlers.PacketHandler;
 import org.tinylog.Logger;
@@ -7,19 +8,17 @@ import org.tinylog.Logger;
 public class ShowMOTDEditionFormHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String txtMotd = tempBuffer.readCp1252String();
+        String txtMotd = buffer.readCp1252String();
 
         //frmCambiaMotd.txtMotd.Text = Buffer.ReadASCIIString()
         //    frmCambiaMotd.Show , //FrmMain
         //
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleShowMOTDEditionForm Cargado! - FALTA TERMINAR!");
     }
 
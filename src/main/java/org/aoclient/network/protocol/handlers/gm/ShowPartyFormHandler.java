@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers.gm;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.protocol.handlers.PacketHandler;
 import org.tinylog.Logger;
@@ -7,14 +8,12 @@ import org.tinylog.Logger;
 public class ShowPartyFormHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(4)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        int esPartyLeader = tempBuffer.readByte();
-        String members = tempBuffer.readCp1252String();
+        int esPartyLeader = buffer.readByte();
+        String members = buffer.readCp1252String();
 
         //Dim members() As String
         //    Dim i As Long
@@ -29,7 +28,7 @@ public class ShowPartyFormHandler implements PacketHandler {
         //    frmParty.lblTotalExp.Caption = Buffer.ReadLong
         //    frmParty.Show , //FrmMain
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleShowPartyForm Cargado! - FALTA TERMINAR!");
     }
 
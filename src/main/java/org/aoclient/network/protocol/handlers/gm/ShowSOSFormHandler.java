@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers.gm;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.protocol.handlers.PacketHandler;
 import org.tinylog.Logger;
@@ -7,12 +8,10 @@ import org.tinylog.Logger;
 public class ShowSOSFormHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
-        String sosList = tempBuffer.readCp1252String();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
+        String sosList = buffer.readCp1252String();
 
         //Dim sosList() As String
         //    Dim i As Long
@@ -25,7 +24,7 @@ public class ShowSOSFormHandler implements PacketHandler {
         //
         //    frmMSG.Show , //FrmMain
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleShowSOSForm Cargado! - FALTA TERMINAR!");
     }
 
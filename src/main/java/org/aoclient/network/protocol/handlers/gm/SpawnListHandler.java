@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers.gm;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.engine.gui.ImGUISystem;
 import org.aoclient.engine.gui.forms.FSpawnList;
 import org.aoclient.network.PacketBuffer;
@@ -9,13 +10,11 @@ import org.tinylog.Logger;
 public class SpawnListHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String creatureListString = tempBuffer.readCp1252String();
+        String creatureListString = buffer.readCp1252String();
 
         // Dividimos por el carácter nulo
         String[] creatureList = creatureListString.split("\0");
@@ -23,7 +22,7 @@ public class SpawnListHandler implements PacketHandler {
         // Mostramos la lista en el GUI
         ImGUISystem.INSTANCE.show(new FSpawnList(creatureList));
 
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleSpawnList Cargado! - FALTA TERMINAR!");
     }
 
@@ -1,17 +1,16 @@
 package org.aoclient.network.protocol.handlers.gm;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.protocol.handlers.PacketHandler;
 
 public class UpdateStrenghtAndDexterityHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
-        User.INSTANCE.setUserStrg(buffer.readByte());
-        User.INSTANCE.setUserDext(buffer.readByte());
+        session.getUser().setUserStrg(buffer.readByte());
+        session.getUser().setUserDext(buffer.readByte());
     }
 
 }
@@ -1,16 +1,15 @@
 package org.aoclient.network.protocol.handlers.gm;
 
-import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.protocol.handlers.PacketHandler;
 
 public class UpdateStrenghtHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(2)) return;
+    public void handle(Session session, PacketBuffer buffer) {
         buffer.readByte();
-        User.INSTANCE.setUserStrg(buffer.readByte());
+        session.getUser().setUserStrg(buffer.readByte());
     }
 
 }
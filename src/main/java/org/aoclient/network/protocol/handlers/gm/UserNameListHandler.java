@@ -1,5 +1,6 @@
 package org.aoclient.network.protocol.handlers.gm;
 
+import org.aoclient.engine.game.Session;
 import org.aoclient.network.PacketBuffer;
 import org.aoclient.network.protocol.handlers.PacketHandler;
 import org.tinylog.Logger;
@@ -7,13 +8,11 @@ import org.tinylog.Logger;
 public class UserNameListHandler implements PacketHandler {
 
     @Override
-    public void handle(PacketBuffer buffer) {
-        if (buffer.checkBytes(3)) return;
-        PacketBuffer tempBuffer = new PacketBuffer();
-        tempBuffer.copy(buffer);
-        tempBuffer.readByte();
+    public void handle(Session session, PacketBuffer buffer) {
+        buffer.mark();
+        buffer.readByte();
 
-        String userList = tempBuffer.readCp1252String();
+        String userList = buffer.readCp1252String();
 
         //Dim userList() As String
         //    Dim i As Long
@@ -28,8 +27,7 @@ public class UserNameListHandler implements PacketHandler {
         //        If frmPanelGm.cboListaUsus.ListCount > 0 Then frmPanelGm.cboListaUsus.ListIndex = 0
         //    End If
 
-
-        buffer.copy(tempBuffer);
+        buffer.commit();
         Logger.debug("handleUserNameList Cargado! - FALTA TERMINAR!");
     }
 
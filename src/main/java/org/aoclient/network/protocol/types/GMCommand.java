@@ -18,152 +18,156 @@ package org.aoclient.network.protocol.types;
  *   <li>Manejo de configuraciones del servidor y mapas, actualizacion de datos y ejecucion de acciones avanzadas.
  *   <li>Soporte para tareas relacionadas con el sistema, como reiniciar el servidor, realizar respaldos y cargar datos modificados.
  * </ul>
+ * <p>
+ * Todos se envian dentro del paquete {@link org.aoclient.network.protocol.ClientPacket#GM_COMMANDS}, seguidos del <b>layout</b>
+ * propio de cada comando, con los mismos codigos que {@link org.aoclient.network.protocol.ClientPacket}. Los comandos que el
+ * cliente todavia no envia no declaran layout.
  */
 
 public enum GMCommand {
 
     STRAW_BUNDLE(0),
-    GM_MESSAGE(1),                  // '/GMSG
-    SHOW_NAME(2),                   // '/SHOWNAME
-    ONLINE_ROYAL_ARMY(3),           // '/ONLINEREAL
-    ONLINE_CHAOS_LEGION(4),         // '/ONLINECAOS
-    GO_NEARBY(5),                   // '/IRCERCA
-    COMMENT(6),                     // '/REM
-    SERVER_TIME(7),                 // '/HORA
-    WHERE(8),                       // '/DONDE
-    CREATURES_IN_MAP(9),            // '/NENE
-    WARP_ME_TO_TARGET(10),          // '/TELEPLOC
-    WARP_CHAR(11),                  // '/TELEP
-    SILENCE(12),                    // '/SILENCIAR
-    SOS_SHOW_LIST(13),              // '/SHOW SOS
-    SOS_REMOVE(14),                 // 'SOSDONE
-    GO_TO_CHAR(15),                 // '/IRA
-    INVISIBLE(16),                  // '/INVISIBLE
-    GM_PANEL(17),                   // '/PANELGM
-    REQUEST_USER_LIST(18),          // 'LISTUSU
-    WORKING(19),                    // '/TRABAJANDO
-    HIDING(20),                     // '/OCULTANDO
-    JAIL(21),                       // '/CARCEL
-    KILL_NPC(22),                   // '/RMATA
-    WARN_USER(23),                  // '/ADVERTENCIA
-    EDIT_CHAR(24),                  // '/MOD
-    REQUEST_CHAR_INFO(25),          // '/INFO
-    REQUEST_CHAR_STATS(26),         // '/STAT
-    REQUEST_CHAR_GOLD(27),          // '/BAL
-    REQUEST_CHAR_INVENTORY(28),     // '/INV
-    REQUEST_CHAR_BANK(29),          // '/BOV
-    REQUEST_CHAR_SKILLS(30),        // '/SKILLS
-    REVIVE_CHAR(31),                // '/REVIVIR
-    ONLINE_GM(32),                  // '/ONLINEGM
-    ONLINE_MAP(33),                 // '/ONLINEMAP
-    FORGIVE(34),                    // '/PERDON
-    KICK(35),                       // '/ECHAR
-    EXECUTE(36),                    // '/EJECUTAR
-    BAN_CHAR(37),                   // '/BAN
-    UNBAN_CHAR(38),                 // '/UNBAN
-    NPC_FOLLOW(39),                 // '/SEGUIR
-    SUMMON_CHAR(40),                // '/SUM
-    SPAWN_LIST_REQUEST(41),         // '/CC
-    SPAWN_CREATURE(42),             // 'SPA
-    RESET_NPC_INVENTORY(43),        // '/RESETINV
-    CLEAN_WORLD(44),                // '/LIMPIAR
-    SERVER_MESSAGE(45),             // '/RMSG
-    NICK_TO_IP(46),                 // '/NICK2IP
-    IP_TO_NICK(47),                 // '/IP2NICK
-    GUILD_ONLINE_MEMBERS(48),       // '/ONCLAN
-    TELEPORT_CREATE(49),            // '/CT
-    TELEPORT_DESTROY(50),           // '/DT
-    RAIN_TOGGLE(51),                // '/LLUVIA
-    SET_CHAR_DESCRIPTION(52),       // '/SETDESC
-    FORCE_MIDI_TO_MAP(53),          // '/FORCEMIDIMAP
-    FORCE_WAVE_TO_MAP(54),          // '/FORCEWAVMAP
-    ROYAL_ARMY_MESSAGE(55),         // '/REALMSG
-    CHAOS_LEGION_MESSAGE(56),       // '/CAOSMSG
-    CITIZEN_MESSAGE(57),            // '/CIUMSG
-    CRIMINAL_MESSAGE(58),           // '/CRIMSG
-    TALK_AS_NPC(59),                // '/TALKAS
-    DESTROY_ALL_ITEMS_IN_AREA(60),  // '/MASSDEST
-    ACCEPT_ROYAL_COUNCIL_MEMBER(61),// '/ACEPTCONSE
-    ACCEPT_CHAOS_COUNCIL_MEMBER(62),// '/ACEPTCONSECAOS
-    ITEMS_IN_THE_FLOOR(63),         // '/PISO
-    MAKE_DUMB(64),                  // '/ESTUPIDO
-    MAKE_DUMB_NO_MORE(65),          // '/NOESTUPIDO
-    DUMP_IP_TABLES(66),             // '/DUMPSECURITY
-    COUNCIL_KICK(67),               // '/KICKCONSE
-    SET_TRIGGER(68),                // '/TRIGGER
-    ASK_TRIGGER(69),                // '/TRIGGER with no args
-    BANNED_IP_LIST(70),             // '/BANIPLIST
-    BANNED_IP_RELOAD(71),           // '/BANIPRELOAD
-    GUILD_MEMBER_LIST(72),          // '/MIEMBROSCLAN
-    GUILD_BAN(73),                  // '/BANCLAN
-    BAN_IP(74),                     // '/BANIP
-    UNBAN_IP(75),                   // '/UNBANIP
-    CREATE_ITEM(76),                // '/CI
-    DESTROY_ITEMS(77),              // '/DEST
-    CHAOS_LEGION_KICK(78),          // '/NOCAOS
-    ROYAL_ARMY_KICK(79),            // '/NOREAL
-    FORCE_MIDI_ALL(80),             // '/FORCEMIDI
-    FORCE_WAVE_ALL(81),             // '/FORCEWAV
-    REMOVE_PUNISHMENT(82),          // '/BORRARPENA
-    TILE_BLOCKED_TOGGLE(83),        // '/BLOQ
-    KILL_NPC_NO_RESPAWN(84),        // '/MATA
-    KILL_ALL_NEARBY_NPCS(85),       // '/MASSKILL
-    LAST_IP(86),                    // '/LASTIP
-    CHANGE_MOTD(87),                // '/MOTDCAMBIA
-    SET_MOTD(88),                   // 'ZMOTD
-    SYSTEM_MESSAGE(89),             // '/SMSG
-    CREATE_NPC(90),                 // '/ACC
-    CREATE_NPC_WITH_RESPAWN(91),    // '/RACC
-    IMPERIAL_ARMOUR(92),            // '/AI1 - 4
-    CHAOS_ARMOUR(93),               // '/AC1 - 4
-    NAVIGATE_TOGGLE(94),            // '/NAVE
-    SERVER_OPEN_TO_USERS_TOGGLE(95),// '/HABILITAR
-    TURN_OFF_SERVER(96),            // '/APAGAR
-    TURN_CRIMINAL(97),              // '/CONDEN
-    RESET_FACTIONS(98),             // '/RAJAR
-    REMOVE_CHAR_FROM_GUILD(99),     // '/RAJARCLAN
-    REQUEST_CHAR_MAIL(100),         // '/LASTEMAIL
-    ALTER_PASSWORD(101),            // '/APASS
-    ALTER_MAIL(102),                // '/AEMAIL
-    ALTER_NAME(103),                // '/ANAME
-    TOGGLE_CENTINEL_ACTIVATED(104), // '/CENTINELAACTIVADO
-    DO_BACKUP(105),                 // '/DOBACKUP
-    SHOW_GUILD_MESSAGES(106),       // '/SHOWCMSG
-    SAVE_MAP(107),                  // '/GUARDAMAPA
-    CHANGE_MAP_INFO_PK(108),        // '/MODMAPINFO PK
-    CHANGE_MAP_INFO_BACKUP(109),    // '/MODMAPINFO BACKUP
-    CHANGE_MAP_INFO_RESTRICTED(110),// '/MODMAPINFO RESTRINGIR
-    CHANGE_MAP_INFO_NO_MAGIC(111),  // '/MODMAPINFO MAGIASINEFECTO
-    CHANGE_MAP_INFO_NO_INVI(112),   // '/MODMAPINFO INVISINEFECTO
-    CHANGE_MAP_INFO_NO_RESU(113),   // '/MODMAPINFO RESUSINEFECTO
-    CHANGE_MAP_INFO_LAND(114),      // '/MODMAPINFO TERRENO
-    CHANGE_MAP_INFO_ZONE(115),      // '/MODMAPINFO ZONA
-    CHANGE_MAP_INFO_STEAL_NPC(116), // '/MODMAPINFO ROBONPCm
-    CHANGE_MAP_INFO_NO_OCULTAR(117),// '/MODMAPINFO OCULTARSINEFECTO
-    CHANGE_MAP_INFO_NO_INVOCAR(118),// '/MODMAPINFO INVOCARSINEFECTO
-    SAVE_CHARS(119),                // '/GRABAR
-    CLEAN_SOS(120),                 // '/BORRAR SOS
-    SHOW_SERVER_FORM(121),          // '/SHOW INT
-    NIGHT(122),                     // '/NOCHE
-    KICK_ALL_CHARS(123),            // '/ECHARTODOSPJS
-    RELOAD_NPCS(124),               // '/RELOADNPCS
-    RELOAD_SERVER_INI(125),         // '/RELOADSINI
-    RELOAD_SPELLS(126),             // '/RELOADHECHIZOS
-    RELOAD_OBJECTS(127),            // '/RELOADOBJ
-    RESTART(128),                   // '/REINICIAR
-    RESET_AUTO_UPDATE(129),         // '/AUTOUPDATE
-    CHAT_COLOR(130),                // '/CHATCOLOR
-    IGNORED(131),                   // '/IGNORADO
-    CHECK_SLOT(132),                // '/SLOT
-    SET_INI_VAR(133),               // '/SETINIVAR LLAVE CLAVE VALOR
-    CREATE_PRETORIAN_CLAN(134),     // '/CREARPRETORIANOS
-    REMOVE_PRETORIAN_CLAN(135),     // '/ELIMINARPRETORIANOS
-    ENABLE_DENOUNCES(136),          // '/DENUNCIAS
-    SHOW_DENOUNCES_LIST(137),       // '/SHOW DENUNCIAS
-    MAP_MESSAGE(138),               // '/MAPMSG
-    SET_DIALOG(139),                // '/SETDIALOG
-    IMPERSONATE(140),               // '/IMPERSONAR
-    IMITATE(141),                   // '/MIMETIZAR
+    GM_MESSAGE(1, "S{message}"),                  // '/GMSG
+    SHOW_NAME(2, ""),                             // '/SHOWNAME
+    ONLINE_ROYAL_ARMY(3, ""),                     // '/ONLINEREAL
+    ONLINE_CHAOS_LEGION(4, ""),                   // '/ONLINECAOS
+    GO_NEARBY(5, "S{userName}"),                  // '/IRCERCA
+    COMMENT(6, "S{message}"),                     // '/REM
+    SERVER_TIME(7, ""),                           // '/HORA
+    WHERE(8, "S{userName}"),                      // '/DONDE
+    CREATURES_IN_MAP(9, "I{map}"),                // '/NENE
+    WARP_ME_TO_TARGET(10, ""),                    // '/TELEPLOC
+    WARP_CHAR(11, "S{userName}I{map}B{x}B{y}"),   // '/TELEP
+    SILENCE(12, "S{userName}"),                   // '/SILENCIAR
+    SOS_SHOW_LIST(13, ""),                        // '/SHOW SOS
+    SOS_REMOVE(14),                               // 'SOSDONE
+    GO_TO_CHAR(15, "S{userName}"),                // '/IRA
+    INVISIBLE(16, ""),                            // '/INVISIBLE
+    GM_PANEL(17, ""),                             // '/PANELGM
+    REQUEST_USER_LIST(18),                        // 'LISTUSU
+    WORKING(19, ""),                              // '/TRABAJANDO
+    HIDING(20, ""),                               // '/OCULTANDO
+    JAIL(21, "S{userName}S{reason}B{time}"),      // '/CARCEL
+    KILL_NPC(22, ""),                             // '/RMATA
+    WARN_USER(23, "S{userName}S{reason}"),        // '/ADVERTENCIA
+    EDIT_CHAR(24, "S{userName}B{editOption}S{arg1}S{arg2}"), // '/MOD
+    REQUEST_CHAR_INFO(25, "S{userName}"),         // '/INFO
+    REQUEST_CHAR_STATS(26, "S{userName}"),        // '/STAT
+    REQUEST_CHAR_GOLD(27, "S{userName}"),         // '/BAL
+    REQUEST_CHAR_INVENTORY(28, "S{userName}"),    // '/INV
+    REQUEST_CHAR_BANK(29, "S{userName}"),         // '/BOV
+    REQUEST_CHAR_SKILLS(30, "S{userName}"),       // '/SKILLS
+    REVIVE_CHAR(31, "S{userName}"),               // '/REVIVIR
+    ONLINE_GM(32, ""),                            // '/ONLINEGM
+    ONLINE_MAP(33, "I{map}"),                     // '/ONLINEMAP
+    FORGIVE(34, "S{userName}"),                   // '/PERDON
+    KICK(35, "S{userName}"),                      // '/ECHAR
+    EXECUTE(36, "S{userName}"),                   // '/EJECUTAR
+    BAN_CHAR(37, "S{userName}S{reason}"),         // '/BAN
+    UNBAN_CHAR(38, "S{userName}"),                // '/UNBAN
+    NPC_FOLLOW(39, ""),                           // '/SEGUIR
+    SUMMON_CHAR(40, ""),                          // '/SUM
+    SPAWN_LIST_REQUEST(41, ""),                   // '/CC
+    SPAWN_CREATURE(42, "I{creatureIndex}"),       // 'SPA
+    RESET_NPC_INVENTORY(43, ""),                  // '/RESETINV
+    CLEAN_WORLD(44, ""),                          // '/LIMPIAR
+    SERVER_MESSAGE(45, ""),                       // '/RMSG
+    NICK_TO_IP(46, "S{userName}"),                // '/NICK2IP
+    IP_TO_NICK(47, "4B{ip}"),                     // '/IP2NICK
+    GUILD_ONLINE_MEMBERS(48, "S{guild}"),         // '/ONCLAN
+    TELEPORT_CREATE(49, "I{map}B{x}B{y}B{radius}"), // '/CT
+    TELEPORT_DESTROY(50, ""),                     // '/DT
+    RAIN_TOGGLE(51, ""),                          // '/LLUVIA
+    SET_CHAR_DESCRIPTION(52, "S{description}"),   // '/SETDESC
+    FORCE_MIDI_TO_MAP(53, "B{midi}I{map}"),       // '/FORCEMIDIMAP
+    FORCE_WAVE_TO_MAP(54, "B{wave}I{map}B{x}B{y}"), // '/FORCEWAVMAP
+    ROYAL_ARMY_MESSAGE(55, "S{message}"),         // '/REALMSG
+    CHAOS_LEGION_MESSAGE(56, "S{message}"),       // '/CAOSMSG
+    CITIZEN_MESSAGE(57, "S{message}"),            // '/CIUMSG
+    CRIMINAL_MESSAGE(58, "S{message}"),           // '/CRIMSG
+    TALK_AS_NPC(59, "S{message}"),                // '/TALKAS
+    DESTROY_ALL_ITEMS_IN_AREA(60, ""),            // '/MASSDEST
+    ACCEPT_ROYAL_COUNCIL_MEMBER(61, "S{userName}"), // '/ACEPTCONSE
+    ACCEPT_CHAOS_COUNCIL_MEMBER(62, "S{userName}"), // '/ACEPTCONSECAOS
+    ITEMS_IN_THE_FLOOR(63, ""),                   // '/PISO
+    MAKE_DUMB(64, "S{userName}"),                 // '/ESTUPIDO
+    MAKE_DUMB_NO_MORE(65, "S{userName}"),         // '/NOESTUPIDO
+    DUMP_IP_TABLES(66, ""),                       // '/DUMPSECURITY
+    COUNCIL_KICK(67, "S{userName}"),              // '/KICKCONSE
+    SET_TRIGGER(68, "B{trigger}"),                // '/TRIGGER
+    ASK_TRIGGER(69, ""),                          // '/TRIGGER with no args
+    BANNED_IP_LIST(70, ""),                       // '/BANIPLIST
+    BANNED_IP_RELOAD(71, ""),                     // '/BANIPRELOAD
+    GUILD_MEMBER_LIST(72, "S{guild}"),            // '/MIEMBROSCLAN
+    GUILD_BAN(73, "S{guild}"),                    // '/BANCLAN
+    BAN_IP(74, "?{byIp}(4B{ip})(S{userName})S{reason}"), // '/BANIP
+    UNBAN_IP(75, "4B{ip}"),                       // '/UNBANIP
+    CREATE_ITEM(76, "I{itemIndex}"),              // '/CI
+    DESTROY_ITEMS(77, ""),                        // '/DEST
+    CHAOS_LEGION_KICK(78, "S{userName}"),         // '/NOCAOS
+    ROYAL_ARMY_KICK(79, "S{userName}"),           // '/NOREAL
+    FORCE_MIDI_ALL(80, "B{midi}"),                // '/FORCEMIDI
+    FORCE_WAVE_ALL(81, "B{wave}"),                // '/FORCEWAV
+    REMOVE_PUNISHMENT(82, "S{userName}B{punishment}S{newText}"), // '/BORRARPENA
+    TILE_BLOCKED_TOGGLE(83, ""),                  // '/BLOQ
+    KILL_NPC_NO_RESPAWN(84, ""),                  // '/MATA
+    KILL_ALL_NEARBY_NPCS(85, ""),                 // '/MASSKILL
+    LAST_IP(86, "S{userName}"),                   // '/LASTIP
+    CHANGE_MOTD(87, ""),                          // '/MOTDCAMBIA
+    SET_MOTD(88),                                 // 'ZMOTD
+    SYSTEM_MESSAGE(89, "S{message}"),             // '/SMSG
+    CREATE_NPC(90, "I{npcIndex}"),                // '/ACC
+    CREATE_NPC_WITH_RESPAWN(91, "I{npcIndex}"),   // '/RACC
+    IMPERIAL_ARMOUR(92, "B{armourIndex}I{objectIndex}"), // '/AI1 - 4
+    CHAOS_ARMOUR(93, "B{armourIndex}I{objectIndex}"), // '/AC1 - 4
+    NAVIGATE_TOGGLE(94, ""),                      // '/NAVE
+    SERVER_OPEN_TO_USERS_TOGGLE(95, ""),          // '/HABILITAR
+    TURN_OFF_SERVER(96, ""),                      // '/APAGAR
+    TURN_CRIMINAL(97, "S{userName}"),             // '/CONDEN
+    RESET_FACTIONS(98, "S{userName}"),            // '/RAJAR
+    REMOVE_CHAR_FROM_GUILD(99, "S{userName}"),    // '/RAJARCLAN
+    REQUEST_CHAR_MAIL(100, "S{userName}"),        // '/LASTEMAIL
+    ALTER_PASSWORD(101, "S{userName}S{copyFrom}"), // '/APASS
+    ALTER_MAIL(102, "S{userName}S{newMail}"),     // '/AEMAIL
+    ALTER_NAME(103, "S{userName}S{newName}"),     // '/ANAME
+    TOGGLE_CENTINEL_ACTIVATED(104, ""),           // '/CENTINELAACTIVADO
+    DO_BACKUP(105, ""),                           // '/DOBACKUP
+    SHOW_GUILD_MESSAGES(106, "S{guild}"),         // '/SHOWCMSG
+    SAVE_MAP(107, ""),                            // '/GUARDAMAPA
+    CHANGE_MAP_INFO_PK(108, "Z{pk}"),             // '/MODMAPINFO PK
+    CHANGE_MAP_INFO_BACKUP(109, "Z{backup}"),     // '/MODMAPINFO BACKUP
+    CHANGE_MAP_INFO_RESTRICTED(110, "S{restriction}"), // '/MODMAPINFO RESTRINGIR
+    CHANGE_MAP_INFO_NO_MAGIC(111, "Z{noMagic}"),  // '/MODMAPINFO MAGIASINEFECTO
+    CHANGE_MAP_INFO_NO_INVI(112, "Z{noInvisibility}"), // '/MODMAPINFO INVISINEFECTO
+    CHANGE_MAP_INFO_NO_RESU(113, "Z{noResurrection}"), // '/MODMAPINFO RESUSINEFECTO
+    CHANGE_MAP_INFO_LAND(114, "S{land}"),         // '/MODMAPINFO TERRENO
+    CHANGE_MAP_INFO_ZONE(115, "S{zone}"),         // '/MODMAPINFO ZONA
+    CHANGE_MAP_INFO_STEAL_NPC(116),               // '/MODMAPINFO ROBONPCm
+    CHANGE_MAP_INFO_NO_OCULTAR(117),              // '/MODMAPINFO OCULTARSINEFECTO
+    CHANGE_MAP_INFO_NO_INVOCAR(118),              // '/MODMAPINFO INVOCARSINEFECTO
+    SAVE_CHARS(119, ""),                          // '/GRABAR
+    CLEAN_SOS(120, ""),                           // '/BORRAR SOS
+    SHOW_SERVER_FORM(121, ""),                    // '/SHOW INT
+    NIGHT(122, ""),                               // '/NOCHE
+    KICK_ALL_CHARS(123, ""),                      // '/ECHARTODOSPJS
+    RELOAD_NPCS(124, ""),                         // '/RELOADNPCS
+    RELOAD_SERVER_INI(125, ""),                   // '/RELOADSINI
+    RELOAD_SPELLS(126, ""),                       // '/RELOADHECHIZOS
+    RELOAD_OBJECTS(127, ""),                      // '/RELOADOBJ
+    RESTART(128, ""),                             // '/REINICIAR
+    RESET_AUTO_UPDATE(129, ""),                   // '/AUTOUPDATE
+    CHAT_COLOR(130, "B{red}B{green}B{blue}"),     // '/CHATCOLOR
+    IGNORED(131, ""),                             // '/IGNORADO
+    CHECK_SLOT(132, "S{userName}B{slot}"),        // '/SLOT
+    SET_INI_VAR(133, "S{section}S{key}S{value}"), // '/SETINIVAR LLAVE CLAVE VALOR
+    CREATE_PRETORIAN_CLAN(134),                   // '/CREARPRETORIANOS
+    REMOVE_PRETORIAN_CLAN(135),                   // '/ELIMINARPRETORIANOS
+    ENABLE_DENOUNCES(136),                        // '/DENUNCIAS
+    SHOW_DENOUNCES_LIST(137),                     // '/SHOW DENUNCIAS
+    MAP_MESSAGE(138),                             // '/MAPMSG
+    SET_DIALOG(139),                              // '/SETDIALOG
+    IMPERSONATE(140),                             // '/IMPERSONAR
+    IMITATE(141),                                 // '/MIMETIZAR
     RECORD_ADD(142),
     RECORD_REMOVE(143),
     RECORD_ADD_OBS(144),
@@ -171,13 +175,24 @@ public enum GMCommand {
     RECORD_DETAILS_REQUEST(146);
 
     private final int id;
+    /** Layout del cuerpo del comando, sin incluir los bytes identificadores, o null si el cliente todavia no envia el comando. */
+    private final String layout;
 
     GMCommand(int id) {
+        this(id, null);
+    }
+
+    GMCommand(int id, String layout) {
         this.id = id;
+        this.layout = layout;
     }
 
     public int getId() {
         return id;
     }
 
+    public String getLayout() {
+        return layout;
+    }
+
 }
\ No newline at end of file
@@ -16,33 +16,47 @@ package org.aoclient.network.protocol.types;
  * <li>Notificaciones sobre ganancias, experiencia o acciones completadas.
  * <li>Situaciones particulares como trabajar, moverse a casa o eventos sociales.
  * </ul>
+ * <p>
+ * Cada tipo declara el layout de los datos que lo acompañan, a partir del cual {@code PacketCodecGenerator} genera el calculo de
+ * la longitud de los paquetes {@code MULTI_MESSAGE}.
  */
 
 public enum MessageType {
 
-    DONT_SEE_ANYTHING,
-    NPC_SWING,
-    NPC_KILL_USER,
-    BLOCKED_WITH_SHIELD_USER,
-    BLOCKED_WITH_SHIELD_OTHER,
-    USER_SWING,
-    SAFE_MODE_ON,
-    SAFE_MODE_OFF,
-    RESUSCITATION_SAFE_OFF,
-    RESUSCITATION_SAFE_ON,
-    NOBILITY_LOST,
-    CANT_USE_WHILE_MEDITATING,
-    NPC_HIT_USER,
-    USER_HIT_NPC,
-    USER_ATTACKED_SWING,
-    USER_HITTED_BY_USER,
-    USER_HITTED_USER,
-    WORK_REQUEST_TARGET,
-    HAVE_KILLED_USER,
-    USER_KILL,
-    EARN_EXP,
-    GO_HOME,
-    CANCEL_GO_HOME,
-    FINISH_HOME
+    DONT_SEE_ANYTHING(""),
+    NPC_SWING(""),
+    NPC_KILL_USER(""),
+    BLOCKED_WITH_SHIELD_USER(""),
+    BLOCKED_WITH_SHIELD_OTHER(""),
+    USER_SWING(""),
+    SAFE_MODE_ON(""),
+    SAFE_MODE_OFF(""),
+    RESUSCITATION_SAFE_OFF(""),
+    RESUSCITATION_SAFE_ON(""),
+    NOBILITY_LOST(""),
+    CANT_USE_WHILE_MEDITATING(""),
+    NPC_HIT_USER("B{bodyPart}I{damage}"),
+    USER_HIT_NPC("L{damage}"),
+    USER_ATTACKED_SWING("I{charIndex}"),
+    USER_HITTED_BY_USER("I{charIndex}B{bodyPart}I{damage}"),
+    USER_HITTED_USER("I{charIndex}B{bodyPart}I{damage}"),
+    WORK_REQUEST_TARGET("B{skill}"),
+    HAVE_KILLED_USER("I{charIndex}L{exp}"),
+    USER_KILL("I{charIndex}"),
+    EARN_EXP("L{exp}"),
+    GO_HOME("B{distance}I{time}S{homeland}"),
+    CANCEL_GO_HOME(""),
+    FINISH_HOME("");
+
+    /** Layout del cuerpo del mensaje dentro de {@code MULTI_MESSAGE}, con los mismos codigos que {@code ServerPacket}. */
+    private final String layout;
+
+    MessageType(String layout) {
+        this.layout = layout;
+    }
+
+    public String getLayout() {
+        return layout;
+    }
 
 }
@@ -0,0 +1,462 @@
+package org.aoclient.scripts;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * <p>
+ * Construye archivos ao en paralelo y de forma incremental. Es lo que usa {@link Compressor#compressResource(String, String)}.
+ * <p>
+ * La construccion tiene tres fases, cuya duracion se informa en el {@link Result}:
+ * <ol>
+ * <li><b>Listado</b>: recorre la carpeta y ordena los archivos por su ruta relativa, que es el orden de las entradas en el
+ * archivo. Asi el resultado no depende del orden en que el sistema de archivos devuelve las carpetas.
+ * <li><b>Procesamiento</b>: en un {@link ForkJoinPool}, lee cada archivo, calcula su SHA-256 y su CRC-32 y lo comprime con
+ * deflate. Si el {@link ArchiveManifest manifiesto} de la construccion anterior tiene una entrada con el mismo nombre y el mismo
+ * hash, no la comprime: sus datos comprimidos se copiaran tal cual del archivo anterior.
+ * <li><b>Escritura</b>: escribe las entradas en orden en un archivo temporal, copiando los datos reutilizados directamente del
+ * archivo anterior con {@link FileChannel#transferTo}, y al final reemplaza al archivo anterior y escribe el nuevo manifiesto.
+ * </ol>
+ * El zip se escribe sin {@code ZipOutputStream}, que no admite datos ya comprimidos, y con una fecha fija en todas las entradas,
+ * por lo que la misma carpeta produce siempre el mismo archivo, byte a byte, con cualquier cantidad de hilos y tanto en una
+ * construccion completa como en una incremental. Los nombres de las entradas usan {@code /} como separador en todos los sistemas.
+ * <p>
+ * El formato sigue siendo un zip comun (sin zip64, por lo que admite hasta 65535 entradas y 4 GB), que lee {@link ResourcePack}.
+ */
+
+public final class ArchiveBuilder {
+
+    /** Fecha y hora fijas de todas las entradas, en formato MS-DOS: 1 de enero de 1980 a las 00:00. */
+    private static final int DOS_TIME = 0, DOS_DATE = 1 << 5 | 1;
+    /** Bandera que indica que el nombre de la entrada esta en UTF-8. */
+    private static final int UTF8_FLAG = 1 << 11;
+    private static final int VERSION = 20;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_HEADER_SIZE = 30, CENTRAL_HEADER_SIZE = 46, END_SIZE = 22;
+    private static final long MAX_ZIP_OFFSET = 0xFFFFFFFFL;
+    private static final int MAX_ZIP_ENTRIES = 0xFFFF;
+
+    private final int threads;
+    private final int level;
+
+    /**
+     * @param threads cantidad de hilos que comprimen
+     * @param level   nivel de compresion de deflate, de 0 a 9, o {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public ArchiveBuilder(int threads, int level) {
+        if (threads <= 0) throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+        this.threads = threads;
+        this.level = level;
+    }
+
+    public ArchiveBuilder() {
+        this(Runtime.getRuntime().availableProcessors(), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public static void main(String[] args) {
+        List<String> paths = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean full = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--full" -> full = true;
+                default -> paths.add(args[i]);
+            }
+        }
+        if (paths.size() != 2) {
+            System.err.println("Usage: ArchiveBuilder <folder> <archive.ao> [--threads n] [--full]");
+            System.exit(1);
+        }
+
+        try {
+            Result result = new ArchiveBuilder(threads, Deflater.DEFAULT_COMPRESSION)
+                    .build(Paths.get(paths.get(0)), Paths.get(paths.get(1)), !full);
+            System.out.println("Built '" + paths.get(1) + "' from '" + paths.get(0) + "' with " + threads + " threads");
+            result.print();
+        } catch (IOException e) {
+            System.err.println("Build failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Lista los archivos regulares de una carpeta y sus subcarpetas, ordenados por su ruta relativa. Es el orden de las entradas
+     * en los archivos ao y, entre archivos con el mismo nombre base, el primero es el que encuentra el cliente.
+     *
+     * @param folder carpeta a recorrer
+     * @return los archivos, ordenados
+     * @throws IOException si no se pudo recorrer la carpeta
+     */
+    public static List<Path> listFiles(Path folder) throws IOException {
+        try (Stream<Path> stream = Files.walk(folder)) {
+            return stream.filter(Files::isRegularFile)
+                    .sorted((a, b) -> entryName(folder, a).compareTo(entryName(folder, b)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Construye el archivo ao con el contenido de una carpeta.
+     *
+     * @param folder      carpeta con los recursos
+     * @param archive     archivo ao, que se reemplaza si existe
+     * @param incremental true para reutilizar las entradas que no cambiaron desde la construccion anterior
+     * @return un resumen de la construccion
+     * @throws IOException si no se pudo leer la carpeta o escribir el archivo
+     */
+    public Result build(Path folder, Path archive, boolean incremental) throws IOException {
+        if (!Files.isDirectory(folder)) throw new IOException("'" + folder + "' is not a directory");
+        Result result = new Result();
+
+        long start = System.nanoTime();
+        List<Path> files = listFiles(folder);
+        result.listNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        ArchiveManifest previous = incremental ? ArchiveManifest.readFor(archive) : null;
+        List<Pending> entries;
+        Path temp = tempFor(archive);
+        try {
+            ArchiveManifest manifest;
+            try (FileChannel previousChannel = previous != null ? FileChannel.open(archive, StandardOpenOption.READ) : null) {
+                List<Callable<Pending>> tasks = new ArrayList<>(files.size());
+                for (Path file : files)
+                    tasks.add(() -> {
+                        String name = entryName(folder, file);
+                        byte[] content = Files.readAllBytes(file);
+                        ArchiveManifest.Entry old = previous != null ? previous.get(name) : null;
+                        if (old != null && old.hash.equals(sha256(content)) && isEntryAt(previousChannel, old))
+                            return Pending.reuse(old);
+                        return Pending.compress(name, content, level);
+                    });
+                entries = invokeAll(tasks);
+                result.processNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                manifest = writeTo(temp, entries, previousChannel);
+            }
+            // El archivo anterior ya esta cerrado, ya que no se puede reemplazar un archivo abierto en todos los sistemas
+            install(temp, archive, manifest);
+            result.writeNanos = System.nanoTime() - start;
+            result.archiveBytes = manifest.getArchiveLength();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        for (Pending entry : entries) {
+            if (entry.reused != null) result.reused++;
+            else result.compressed++;
+            result.originalBytes += entry.size;
+        }
+        result.entries = entries.size();
+        return result;
+    }
+
+    /**
+     * Ejecuta las tareas en el pool del constructor y devuelve sus resultados en el orden de las tareas.
+     */
+    <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : pool.invokeAll(tasks))
+                results.add(future.get());
+            return results;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            throw new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while building the archive", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Devuelve el archivo temporal en el que se escribe un archivo ao antes de reemplazarlo.
+     */
+    static Path tempFor(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + ".tmp");
+    }
+
+    /**
+     * Escribe las entradas indicadas, en ese orden, en un archivo zip y lo sincroniza con el disco, sin escribir su manifiesto.
+     *
+     * @param file            archivo a escribir, que se reemplaza si existe
+     * @param entries         entradas comprimidas o reutilizadas
+     * @param previousChannel archivo del que se copian los datos de las entradas reutilizadas, o null si no hay ninguna
+     * @return el manifiesto del archivo escrito
+     * @throws IOException si no se pudo escribir el archivo
+     */
+    static ArchiveManifest writeTo(Path file, List<Pending> entries, FileChannel previousChannel) throws IOException {
+        if (entries.size() > MAX_ZIP_ENTRIES) throw new IOException("Too many entries for a zip archive: " + entries.size());
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        List<ArchiveManifest.Entry> manifestEntries = new ArrayList<>(entries.size());
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = 0;
+            List<byte[]> names = new ArrayList<>(entries.size());
+            for (Pending entry : entries) {
+                byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+                names.add(name);
+                ByteBuffer header = header(LOCAL_HEADER_SIZE + name.length);
+                header.putInt(LOCAL_HEADER_SIGNATURE).putShort((short) VERSION);
+                putEntryFields(header, entry, name.length).put(name).flip();
+                writeFully(out, header, offset);
+                long dataOffset = offset + header.limit();
+                if (entry.reused != null)
+                    copy(previousChannel, dataStart(previousChannel, entry.reused), entry.compressedSize, out, dataOffset);
+                else writeFully(out, ByteBuffer.wrap(entry.compressed), dataOffset);
+                manifestEntries.add(new ArchiveManifest.Entry(entry.name, entry.hash, entry.size, entry.crc,
+                        entry.compressedSize, offset));
+                offset = dataOffset + entry.compressedSize;
+                if (offset > MAX_ZIP_OFFSET) throw new IOException("Archive too large for a zip without zip64");
+            }
+
+            long centralStart = offset;
+            for (int i = 0; i < entries.size(); i++) {
+                Pending entry = entries.get(i);
+                byte[] name = names.get(i);
+                ByteBuffer header = header(CENTRAL_HEADER_SIZE + name.length);
+                header.putInt(CENTRAL_HEADER_SIGNATURE).putShort((short) VERSION).putShort((short) VERSION);
+                putEntryFields(header, entry, name.length);
+                header.putShort((short) 0).putShort((short) 0).putShort((short) 0).putInt(0)
+                        .putInt((int) manifestEntries.get(i).offset).put(name).flip();
+                writeFully(out, header, offset);
+                offset += header.limit();
+            }
+            if (offset > MAX_ZIP_OFFSET) throw new IOException("Archive too large for a zip without zip64");
+
+            ByteBuffer end = header(END_SIZE);
+            end.putInt(END_SIGNATURE).putShort((short) 0).putShort((short) 0).putShort((short) entries.size())
+                    .putShort((short) entries.size()).putInt((int) (offset - centralStart)).putInt((int) centralStart)
+                    .putShort((short) 0).flip();
+            writeFully(out, end, offset);
+            out.force(true);
+        }
+        return new ArchiveManifest(ArchiveManifest.Identity.of(file), manifestEntries);
+    }
+
+    /**
+     * Reemplaza un archivo ao por uno ya escrito con {@link #writeTo} y escribe su manifiesto. Si el proceso se corta en el
+     * medio, queda el archivo anterior o el nuevo, nunca uno a medio escribir. El archivo anterior no debe estar abierto.
+     * <p>
+     * El manifiesto se escribe antes de reemplazar el archivo. Como guarda la identidad del archivo nuevo, si el proceso se corta
+     * entre los dos reemplazos queda un manifiesto que no coincide con el archivo anterior y se descarta.
+     *
+     * @param written  archivo escrito, que se mueve
+     * @param archive  archivo ao a reemplazar
+     * @param manifest manifiesto del archivo escrito
+     * @throws IOException si no se pudo reemplazar el archivo o escribir el manifiesto
+     */
+    static void install(Path written, Path archive, ArchiveManifest manifest) throws IOException {
+        Path manifestPath = ArchiveManifest.pathFor(archive);
+        Path manifestTemp = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+        manifest.write(manifestTemp);
+        Files.move(manifestTemp, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Un archivo abierto para leer recursos no se puede reemplazar en todos los sistemas
+        ResourcePack.invalidate(archive.toString());
+        // El paquete del archivo anterior ya no coincide con el nuevo y se vuelve a comprobar en la proxima lectura
+        AssetPack.invalidate(archive.toString());
+        // Mover dentro del mismo directorio conserva la fecha de modificacion que guarda el manifiesto
+        Files.move(written, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Escribe los campos comunes a la cabecera local y a la central, desde la version necesaria para extraer.
+     */
+    private static ByteBuffer putEntryFields(ByteBuffer header, Pending entry, int nameLength) {
+        return header.putShort((short) UTF8_FLAG).putShort((short) Deflater.DEFLATED).putShort((short) DOS_TIME)
+                .putShort((short) DOS_DATE).putInt(entry.crc).putInt((int) entry.compressedSize).putInt((int) entry.size)
+                .putShort((short) nameLength).putShort((short) 0);
+    }
+
+    /**
+     * Verifica que en la posicion que indica el manifiesto haya una cabecera local con el mismo nombre, para no copiar datos de
+     * un archivo que cambio sin su manifiesto.
+     */
+    static boolean isEntryAt(FileChannel channel, ArchiveManifest.Entry entry) throws IOException {
+        byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = header(LOCAL_HEADER_SIZE + name.length);
+        if (channel.read(header, entry.offset) < header.capacity()) return false;
+        header.flip();
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE || header.getShort(8) != Deflater.DEFLATED
+                || header.getInt(14) != entry.crc || Short.toUnsignedInt(header.getShort(26)) != name.length) return false;
+        return Arrays.equals(Arrays.copyOfRange(header.array(), LOCAL_HEADER_SIZE, header.limit()), name);
+    }
+
+    /**
+     * Devuelve la posicion de los datos comprimidos de una entrada, salteando su cabecera local.
+     */
+    static long dataStart(FileChannel channel, ArchiveManifest.Entry entry) throws IOException {
+        ByteBuffer header = header(LOCAL_HEADER_SIZE);
+        if (channel.read(header, entry.offset) < LOCAL_HEADER_SIZE)
+            throw new IOException("Truncated archive entry " + entry.name);
+        int nameLength = Short.toUnsignedInt(header.getShort(26)), extraLength = Short.toUnsignedInt(header.getShort(28));
+        return entry.offset + LOCAL_HEADER_SIZE + nameLength + extraLength;
+    }
+
+    private static void copy(FileChannel from, long position, long count, FileChannel to, long target) throws IOException {
+        long copied = 0;
+        while (copied < count) {
+            long n = from.transferTo(position + copied, count - copied, to.position(target + copied));
+            if (n <= 0) throw new IOException("Could not copy the archive entry at " + position);
+            copied += n;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+    }
+
+    private static ByteBuffer header(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Devuelve el nombre de la entrada de un archivo: su ruta relativa a la carpeta, con {@code /} como separador.
+     */
+    static String entryName(Path folder, Path file) {
+        return folder.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest)
+                hex.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Entrada lista para escribir: comprimida en memoria, o reutilizada del archivo anterior.
+     */
+    static final class Pending {
+
+        final String name;
+        final String hash;
+        final long size;
+        final int crc;
+        final long compressedSize;
+        /** Datos comprimidos, o null si se copian del archivo anterior. */
+        final byte[] compressed;
+        /** Entrada del archivo anterior cuyos datos se copian, o null si la entrada se comprimio. */
+        final ArchiveManifest.Entry reused;
+
+        private Pending(String name, String hash, long size, int crc, long compressedSize, byte[] compressed,
+                        ArchiveManifest.Entry reused) {
+            this.name = name;
+            this.hash = hash;
+            this.size = size;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.compressed = compressed;
+            this.reused = reused;
+        }
+
+        static Pending reuse(ArchiveManifest.Entry entry) {
+            return new Pending(entry.name, entry.hash, entry.size, entry.crc, entry.compressedSize, null, entry);
+        }
+
+        static Pending compress(String name, byte[] content, int level) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            Deflater deflater = new Deflater(level, true);
+            try {
+                deflater.setInput(content);
+                deflater.finish();
+                byte[] buffer = new byte[Math.max(64, content.length + content.length / 1000 + 64)];
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    length += deflater.deflate(buffer, length, buffer.length - length);
+                }
+                byte[] compressed = Arrays.copyOf(buffer, length);
+                return new Pending(name, sha256(content), content.length, (int) crc.getValue(), length, compressed, null);
+            } finally {
+                deflater.end();
+            }
+        }
+
+    }
+
+    /**
+     * Resumen de una construccion.
+     */
+    public static final class Result {
+
+        int entries;
+        int reused;
+        int compressed;
+        long originalBytes;
+        long archiveBytes;
+        long listNanos;
+        long processNanos;
+        long writeNanos;
+
+        public int getEntries() {
+            return entries;
+        }
+
+        /** Entradas copiadas del archivo anterior sin volver a comprimirlas. */
+        public int getReused() {
+            return reused;
+        }
+
+        public int getCompressed() {
+            return compressed;
+        }
+
+        public long getArchiveBytes() {
+            return archiveBytes;
+        }
+
+        /**
+         * Imprime el resumen, con la duracion de cada fase.
+         */
+        public void print() {
+            System.out.printf(Locale.ROOT, "  Entries:     %d (%d compressed, %d reused), %.1f MB -> %.1f MB%n", entries,
+                    compressed, reused, originalBytes / 1048576.0, archiveBytes / 1048576.0);
+            System.out.printf(Locale.ROOT, "  Phases:      list %d ms, read/hash/compress %d ms, write %d ms, total %d ms%n",
+                    listNanos / 1_000_000, processNanos / 1_000_000, writeNanos / 1_000_000,
+                    (listNanos + processNanos + writeNanos) / 1_000_000);
+        }
+
+    }
+
+}
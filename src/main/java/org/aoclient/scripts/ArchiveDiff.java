@@ -0,0 +1,108 @@
+package org.aoclient.scripts;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.zip.ZipFile;
+
+/**
+ * <p>
+ * Genera el {@link ArchivePatch parche} que convierte una version de un archivo ao en otra, para publicar una actualizacion de
+ * recursos sin que cada jugador descargue el archivo entero.
+ * <p>
+ * Compara las dos versiones entrada por entrada con sus {@link ArchiveManifest manifiestos} (o los calcula, si alguna version no
+ * tiene uno), asi que solo descomprime las entradas que cambiaron. Una entrada con el mismo hash que alguna de la version
+ * anterior se copia, aunque haya cambiado de nombre. Una entrada modificada se guarda como {@link BinaryDelta diferencia binaria}
+ * sobre la version anterior, salvo que la diferencia no sea mas chica que la entrada, y una entrada nueva se guarda entera. Las
+ * diferencias se calculan en paralelo.
+ * <p>
+ * Todo se hace con archivos locales, por lo que se puede probar el ciclo completo sin servidor de actualizaciones:
+ * <pre>{@code
+ * ArchiveDiff graphics-1.ao graphics-2.ao graphics-1-2.aopatch
+ * ArchivePatch resources/graphics.ao graphics-1-2.aopatch
+ * }</pre>
+ */
+
+public final class ArchiveDiff {
+
+    private ArchiveDiff() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: ArchiveDiff <old.ao> <new.ao> <patch" + ArchivePatch.EXTENSION + ">");
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Path newArchive = Paths.get(args[1]), output = Paths.get(args[2]);
+            ArchivePatch patch = diff(Paths.get(args[0]), newArchive);
+            patch.write(output);
+            System.out.printf(Locale.ROOT, "Created '%s' from '%s' to '%s' (%s): %.1f KB instead of %.1f KB in %d ms%n", args[2],
+                    args[0], args[1], patch.describe(), Files.size(output) / 1024.0, Files.size(newArchive) / 1024.0,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            System.err.println("Diff failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compara dos versiones de un archivo ao.
+     *
+     * @param oldArchive version anterior
+     * @param newArchive version nueva
+     * @return el parche que convierte la version anterior en la nueva
+     * @throws IOException si no se pudo leer alguna de las versiones
+     */
+    public static ArchivePatch diff(Path oldArchive, Path newArchive) throws IOException {
+        ArchiveManifest oldManifest = ArchiveManifest.of(oldArchive), newManifest = ArchiveManifest.of(newArchive);
+        Map<String, String> namesByHash = new HashMap<>();
+        for (ArchiveManifest.Entry entry : oldManifest.getEntries())
+            namesByHash.putIfAbsent(entry.hash, entry.name);
+
+        List<ArchivePatch.Operation> operations;
+        try (ZipFile oldZip = new ZipFile(oldArchive.toFile(), StandardCharsets.UTF_8);
+             ZipFile newZip = new ZipFile(newArchive.toFile(), StandardCharsets.UTF_8)) {
+            List<Callable<ArchivePatch.Operation>> tasks = new ArrayList<>(newManifest.getEntries().size());
+            for (ArchiveManifest.Entry entry : newManifest.getEntries())
+                tasks.add(() -> {
+                    ArchiveManifest.Entry old = oldManifest.get(entry.name);
+                    String copied = old != null && old.hash.equals(entry.hash) ? old.name : namesByHash.get(entry.hash);
+                    if (copied != null) return operation(entry, ArchivePatch.COPY, copied, null, null);
+                    byte[] content = ArchivePatch.readEntry(newZip, entry.name);
+                    if (old != null) {
+                        byte[] delta = BinaryDelta.diff(ArchivePatch.readEntry(oldZip, old.name), content);
+                        if (delta.length < content.length) return operation(entry, ArchivePatch.DELTA, old.name, old.hash, delta);
+                    }
+                    return operation(entry, ArchivePatch.ADD, null, null, content);
+                });
+            operations = new ArchiveBuilder().invokeAll(tasks);
+        }
+
+        Set<String> names = new HashSet<>();
+        for (ArchiveManifest.Entry entry : newManifest.getEntries())
+            names.add(entry.name);
+        int removed = 0;
+        for (ArchiveManifest.Entry entry : oldManifest.getEntries())
+            if (!names.contains(entry.name)) removed++;
+        return new ArchivePatch(operations, removed);
+    }
+
+    private static ArchivePatch.Operation operation(ArchiveManifest.Entry entry, int type, String baseName, String baseHash,
+                                                    byte[] data) {
+        return new ArchivePatch.Operation(entry.name, type, entry.hash, entry.size, entry.crc, baseName, baseHash, data);
+    }
+
+}
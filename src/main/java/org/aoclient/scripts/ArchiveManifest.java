@@ -0,0 +1,353 @@
+package org.aoclient.scripts;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * <p>
+ * Manifiesto de un archivo ao: por cada entrada, el hash SHA-256 de su contenido y donde estan sus datos comprimidos dentro del
+ * archivo. Lo escribe {@link ArchiveBuilder} junto al archivo, con el mismo nombre y la extension {@link #EXTENSION}.
+ * <p>
+ * Con el manifiesto, la siguiente construccion del mismo archivo sabe que entradas no cambiaron sin descomprimirlas, y las copia
+ * tal cual del archivo anterior en lugar de volver a comprimirlas. Tambien permite comparar dos versiones de un archivo entrada
+ * por entrada.
+ * <p>
+ * El manifiesto solo se usa si describe al archivo tal como esta ahora. Para saberlo guarda la {@link Identity identidad} del
+ * archivo: su longitud, su fecha de modificacion, y la posicion y el CRC-32 de su directorio central, que lista el nombre, el
+ * CRC, las longitudes y la posicion de cada entrada. Un archivo reemplazado sin su manifiesto (por ejemplo, si el proceso se
+ * corto entre el reemplazo del archivo y el del manifiesto, o si alguien copio otra version encima) no coincide aunque tenga la
+ * misma longitud.
+ * <p>
+ * Es un archivo de texto en UTF-8. La primera linea es {@code # ao manifest 2 <longitud> <fecha> <posicion> <crc>}, con la
+ * identidad del archivo (la fecha en milisegundos y el CRC en hexadecimal), y cada una de las siguientes describe una entrada,
+ * en el orden del archivo, con estos campos separados por tabuladores: nombre, SHA-256 en hexadecimal, longitud original,
+ * CRC-32 en hexadecimal, longitud comprimida y posicion de la cabecera local de la entrada.
+ */
+
+public final class ArchiveManifest {
+
+    public static final String EXTENSION = ".manifest";
+    private static final String HEADER = "# ao manifest 2 ";
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50, END_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_HEADER_SIZE = 46, END_SIZE = 22;
+
+    /** Identidad del archivo ao que describe, para detectar que el archivo cambio sin el manifiesto. */
+    private final Identity archive;
+    private final List<Entry> entries;
+    private final Map<String, Entry> byName = new HashMap<>();
+
+    public ArchiveManifest(Identity archive, List<Entry> entries) {
+        this.archive = archive;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        for (Entry entry : entries)
+            byName.put(entry.name, entry);
+    }
+
+    /**
+     * Devuelve la ruta del manifiesto de un archivo ao.
+     */
+    public static Path pathFor(Path archive) {
+        return Paths.get(archive + EXTENSION);
+    }
+
+    /**
+     * Lee el manifiesto de un archivo ao. Un manifiesto ilegible, de otra version del formato o que no coincide con la identidad
+     * del archivo se ignora, ya que siempre se puede volver a calcular con {@link #scan(Path)}.
+     *
+     * @param archive archivo ao
+     * @return el manifiesto, o null si no existe o no describe al archivo tal como esta ahora
+     * @throws IOException si no se pudo leer el archivo ao
+     */
+    public static ArchiveManifest readFor(Path archive) throws IOException {
+        if (!Files.isRegularFile(archive)) return null;
+        ArchiveManifest manifest;
+        try {
+            manifest = read(pathFor(archive));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Ignoring manifest of '" + archive + "': " + e.getMessage());
+            return null;
+        }
+        Identity current;
+        try {
+            current = Identity.of(archive);
+        } catch (IOException e) {
+            return null; // No es un zip valido, asi que el manifiesto no lo describe
+        }
+        return manifest.archive.equals(current) ? manifest : null;
+    }
+
+    /**
+     * Devuelve el manifiesto de un archivo ao: el que esta junto al archivo si lo describe, o si no uno calculado con
+     * {@link #scan(Path)}.
+     *
+     * @param archive archivo ao
+     * @return el manifiesto
+     * @throws IOException si no se pudo leer el archivo
+     */
+    public static ArchiveManifest of(Path archive) throws IOException {
+        ArchiveManifest manifest = readFor(archive);
+        return manifest != null ? manifest : scan(archive);
+    }
+
+    /**
+     * Calcula el manifiesto de un archivo ao que no lo tiene, por ejemplo uno generado antes que {@link ArchiveBuilder}. La
+     * posicion de cada entrada se obtiene del directorio central del zip y el hash, descomprimiendola.
+     *
+     * @param archive archivo ao
+     * @return el manifiesto
+     * @throws IOException si no se pudo leer el archivo o no es un zip valido
+     */
+    public static ArchiveManifest scan(Path archive) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Identity identity = Identity.of(archive);
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ);
+             ZipFile zipFile = new ZipFile(archive.toFile(), StandardCharsets.UTF_8)) {
+            ByteBuffer central = readFully(channel, identity.centralOffset, identity.centralLength);
+            while (central.hasRemaining()) {
+                if (central.remaining() < CENTRAL_HEADER_SIZE || central.getInt(central.position()) != CENTRAL_HEADER_SIGNATURE)
+                    throw new IOException("Malformed zip central directory: " + archive);
+                int start = central.position();
+                int crc = central.getInt(start + 16);
+                long compressedSize = Integer.toUnsignedLong(central.getInt(start + 20));
+                long size = Integer.toUnsignedLong(central.getInt(start + 24));
+                int nameLength = Short.toUnsignedInt(central.getShort(start + 28));
+                int extraLength = Short.toUnsignedInt(central.getShort(start + 30));
+                int commentLength = Short.toUnsignedInt(central.getShort(start + 32));
+                long offset = Integer.toUnsignedLong(central.getInt(start + 42));
+                byte[] name = new byte[nameLength];
+                central.position(start + CENTRAL_HEADER_SIZE).get(name);
+                central.position(central.position() + extraLength + commentLength);
+
+                String entryName = new String(name, StandardCharsets.UTF_8);
+                if (entryName.endsWith("/")) continue;
+                ZipEntry entry = zipFile.getEntry(entryName);
+                if (entry == null) throw new IOException("Entry " + entryName + " not found in " + archive);
+                String hash;
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    hash = ArchiveBuilder.sha256(in.readAllBytes());
+                }
+                entries.add(new Entry(entryName, hash, size, crc, compressedSize, offset));
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Malformed zip central directory: " + archive, e);
+        }
+        return new ArchiveManifest(identity, entries);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException("Truncated zip archive");
+        return buffer.flip();
+    }
+
+    /**
+     * Lee un manifiesto.
+     *
+     * @param path archivo del manifiesto
+     * @return el manifiesto
+     * @throws IOException si no se pudo leer o esta malformado
+     */
+    public static ArchiveManifest read(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(HEADER)) throw new IOException("Not an ao manifest: " + path);
+            String[] identity = header.substring(HEADER.length()).trim().split(" ");
+            if (identity.length != 4) throw new IOException("Malformed ao manifest header: " + header);
+            Identity archive = new Identity(Long.parseLong(identity[0]), Long.parseLong(identity[1]), Long.parseLong(identity[2]),
+                    -1, (int) Long.parseLong(identity[3], 16));
+            List<Entry> entries = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                String[] fields = line.split("\t");
+                if (fields.length != 6) throw new IOException("Malformed ao manifest line: " + line);
+                entries.add(new Entry(fields[0], fields[1], Long.parseLong(fields[2]), (int) Long.parseLong(fields[3], 16),
+                        Long.parseLong(fields[4]), Long.parseLong(fields[5])));
+            }
+            return new ArchiveManifest(archive, entries);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed ao manifest: " + path, e);
+        }
+    }
+
+    /**
+     * Escribe el manifiesto.
+     *
+     * @param path archivo del manifiesto, que se reemplaza si existe
+     * @throws IOException si no se pudo escribir
+     */
+    public void write(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(HEADER + archive.length + ' ' + archive.modified + ' ' + archive.centralOffset + ' '
+                    + Integer.toHexString(archive.centralCrc));
+            writer.newLine();
+            for (Entry entry : entries) {
+                writer.write(entry.name + '\t' + entry.hash + '\t' + entry.size + '\t' + Integer.toHexString(entry.crc) + '\t'
+                        + entry.compressedSize + '\t' + entry.offset);
+                writer.newLine();
+            }
+        }
+    }
+
+    public long getArchiveLength() {
+        return archive.length;
+    }
+
+    /**
+     * @return entradas en el orden del archivo
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return la entrada con ese nombre, o null si no existe
+     */
+    public Entry get(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Identidad de un archivo ao: los datos que cambian si el archivo se reemplaza por otro, aunque tenga la misma longitud.
+     */
+    public static final class Identity {
+
+        /** Identidad de un archivo que no existe. */
+        static final Identity NONE = new Identity(0, 0, 0, 0, 0);
+
+        final long length;
+        /** Fecha de modificacion en milisegundos, que se conserva al mover el archivo dentro del mismo sistema de archivos. */
+        final long modified;
+        /** Posicion del directorio central. */
+        final long centralOffset;
+        /** Longitud del directorio central, solo para leerlo; no forma parte de la comparacion, ya que la cubre el CRC. */
+        final int centralLength;
+        /** CRC-32 del directorio central. */
+        final int centralCrc;
+
+        Identity(long length, long modified, long centralOffset, int centralLength, int centralCrc) {
+            this.length = length;
+            this.modified = modified;
+            this.centralOffset = centralOffset;
+            this.centralLength = centralLength;
+            this.centralCrc = centralCrc;
+        }
+
+        /**
+         * Calcula la identidad de un archivo ao, ubicando su directorio central con el registro de fin de directorio que esta
+         * al final del archivo.
+         *
+         * @param archive archivo ao
+         * @return la identidad
+         * @throws IOException si no se pudo leer el archivo o no es un zip
+         */
+        public static Identity of(Path archive) throws IOException {
+            try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+                long size = channel.size();
+                int tailLength = (int) Math.min(size, END_SIZE + 0xFFFF);
+                ByteBuffer tail = readFully(channel, size - tailLength, tailLength);
+                for (int i = tailLength - END_SIZE; i >= 0; i--) {
+                    if (tail.getInt(i) != END_SIGNATURE) continue;
+                    long length = Integer.toUnsignedLong(tail.getInt(i + 12));
+                    long offset = Integer.toUnsignedLong(tail.getInt(i + 16));
+                    if (offset + length > size || length > Integer.MAX_VALUE) break;
+                    CRC32 crc = new CRC32();
+                    crc.update(readFully(channel, offset, (int) length));
+                    return new Identity(size, Files.getLastModifiedTime(archive).toMillis(), offset, (int) length,
+                            (int) crc.getValue());
+                }
+            }
+            throw new IOException("Not a zip archive: " + archive);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Identity)) return false;
+            Identity other = (Identity) o;
+            return length == other.length && modified == other.modified && centralOffset == other.centralOffset
+                    && centralCrc == other.centralCrc;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(length) * 31 + centralCrc;
+        }
+
+    }
+
+    /**
+     * Entrada del manifiesto.
+     */
+    public static final class Entry {
+
+        final String name;
+        final String hash;
+        final long size;
+        final int crc;
+        final long compressedSize;
+        final long offset;
+
+        Entry(String name, String hash, long size, int crc, long compressedSize, long offset) {
+            if (name.indexOf('\t') >= 0 || name.indexOf('\n') >= 0) throw new IllegalArgumentException("Invalid name: " + name);
+            this.name = name;
+            this.hash = hash;
+            this.size = size;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.offset = offset;
+        }
+
+        /** Nombre de la entrada, con su ruta dentro del archivo separada por {@code /}. */
+        public String getName() {
+            return name;
+        }
+
+        /** SHA-256 del contenido original, en hexadecimal. */
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public int getCrc() {
+            return crc;
+        }
+
+        public long getCompressedSize() {
+            return compressedSize;
+        }
+
+        /** Posicion de la cabecera local de la entrada dentro del archivo. */
+        public long getOffset() {
+            return offset;
+        }
+
+    }
+
+}
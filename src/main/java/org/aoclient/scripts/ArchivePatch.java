@@ -0,0 +1,366 @@
+package org.aoclient.scripts;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * <p>
+ * Parche que convierte una version de un archivo ao en otra, para actualizar los recursos del cliente sin descargar el archivo
+ * entero. Lo genera {@link ArchiveDiff} comparando los {@link ArchiveManifest manifiestos} de las dos versiones, y lo aplica el
+ * cliente con {@link #apply(Path)}.
+ * <p>
+ * El parche describe cada entrada de la version nueva, en orden, con una de estas operaciones:
+ * <ul>
+ * <li>{@link #COPY}: la entrada no cambio, o solo cambio de nombre, y se copia de la version anterior.
+ * <li>{@link #DELTA}: la entrada cambio y se reconstruye con una {@link BinaryDelta diferencia binaria} sobre la entrada con el
+ * mismo nombre en la version anterior.
+ * <li>{@link #ADD}: la entrada es nueva, o la diferencia no era mas chica que la entrada, y el parche trae su contenido.
+ * </ul>
+ * Las entradas de la version anterior que no aparecen se eliminan. Cada operacion lleva el SHA-256 del contenido resultante, y
+ * las diferencias tambien el de la entrada sobre la que se aplican.
+ * <p>
+ * Al aplicarlo, primero se verifica que el archivo tenga todas las entradas de las que depende el parche con el hash esperado, y
+ * si no, se rechaza sin modificar nada. Despues se escribe la version nueva en un archivo temporal con {@link ArchiveBuilder}
+ * (que copia sin recomprimir las entradas que no cambiaron), se comprueba el CRC-32 de cada entrada escrita y recien entonces
+ * reemplaza al archivo con un movimiento atomico. Si el proceso se corta en cualquier momento queda la version anterior entera o
+ * la nueva entera, y volver a aplicar el parche sobre la version nueva no hace nada. Si habia un {@link AssetPack} generado para
+ * el archivo se elimina antes del reemplazo, porque tendria los recursos de la version anterior y el cliente lo preferiria sobre
+ * el archivo.
+ * <p>
+ * Formato: {@link #MAGIC}, un byte con la {@link #VERSION} y el resto comprimido con deflate: la cantidad de entradas, la de
+ * entradas eliminadas y cada operacion con el nombre, el tipo, el hash, la longitud y el CRC-32 de la entrada. Le sigue el
+ * nombre de la entrada de origen para {@link #COPY}, el nombre y hash de origen y la diferencia para {@link #DELTA}, y el
+ * contenido para {@link #ADD}.
+ * <p>
+ * Uso: {@code ArchivePatch <archivo.ao> <parche.aopatch>}, por ejemplo
+ * {@code ArchivePatch resources/graphics.ao graphics-1-2.aopatch}.
+ */
+
+public final class ArchivePatch {
+
+    public static final String EXTENSION = ".aopatch";
+    static final byte[] MAGIC = {'A', 'O', 'P', 'T'};
+    static final int VERSION = 1;
+    static final int COPY = 0, DELTA = 1, ADD = 2;
+
+    private final List<Operation> operations;
+    private final int removed;
+
+    ArchivePatch(List<Operation> operations, int removed) {
+        this.operations = Collections.unmodifiableList(new ArrayList<>(operations));
+        this.removed = removed;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: ArchivePatch <archive.ao> <patch" + EXTENSION + ">");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        try {
+            ArchivePatch patch = read(Paths.get(args[1]));
+            if (patch.apply(Paths.get(args[0])))
+                System.out.println("Patched '" + args[0] + "' with '" + args[1] + "' (" + patch.describe() + ") in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+            else System.out.println("'" + args[0] + "' is already up to date");
+        } catch (IOException e) {
+            System.err.println("Patching failed, the archive was not modified: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Lee un parche.
+     *
+     * @param path archivo del parche
+     * @return el parche
+     * @throws IOException si no se pudo leer o esta malformado
+     */
+    public static ArchivePatch read(Path path) throws IOException {
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path))) {
+            byte[] magic = file.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC)) throw new IOException("Not an ao patch: " + path);
+            int version = file.read();
+            if (version != VERSION) throw new IOException("Unsupported ao patch version " + version + ": " + path);
+
+            DataInputStream in = new DataInputStream(new InflaterInputStream(file));
+            int count = in.readInt(), removed = in.readInt();
+            if (count < 0 || removed < 0) throw new IOException("Malformed ao patch: " + path);
+            List<Operation> operations = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                int type = in.readUnsignedByte();
+                String hash = in.readUTF();
+                long size = in.readLong();
+                int crc = in.readInt();
+                switch (type) {
+                    case COPY -> operations.add(new Operation(name, type, hash, size, crc, in.readUTF(), null, null));
+                    case DELTA -> operations.add(new Operation(name, type, hash, size, crc, in.readUTF(), in.readUTF(),
+                            readBytes(in)));
+                    case ADD -> operations.add(new Operation(name, type, hash, size, crc, null, null, readBytes(in)));
+                    default -> throw new IOException("Unknown ao patch operation " + type + ": " + path);
+                }
+            }
+            return new ArchivePatch(operations, removed);
+        } catch (EOFException e) {
+            throw new IOException("Truncated ao patch: " + path, e);
+        }
+    }
+
+    /**
+     * Escribe el parche. Se escribe en un archivo temporal que al final reemplaza al anterior.
+     *
+     * @param path archivo del parche, que se reemplaza si existe
+     * @throws IOException si no se pudo escribir
+     */
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                file.write(MAGIC);
+                file.write(VERSION);
+                Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+                DeflaterOutputStream deflated = new DeflaterOutputStream(file, deflater, 8192);
+                DataOutputStream out = new DataOutputStream(deflated);
+                out.writeInt(operations.size());
+                out.writeInt(removed);
+                for (Operation operation : operations) {
+                    out.writeUTF(operation.name);
+                    out.writeByte(operation.type);
+                    out.writeUTF(operation.hash);
+                    out.writeLong(operation.size);
+                    out.writeInt(operation.crc);
+                    if (operation.type != ADD) out.writeUTF(operation.baseName);
+                    if (operation.type == DELTA) out.writeUTF(operation.baseHash);
+                    if (operation.type != COPY) {
+                        out.writeInt(operation.data.length);
+                        out.write(operation.data);
+                    }
+                }
+                out.flush();
+                deflated.finish();
+                deflater.end();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Aplica el parche a un archivo ao, reemplazandolo por la version nueva.
+     *
+     * @param archive archivo ao con la version anterior
+     * @return true si se aplico, o false si el archivo ya tenia la version nueva
+     * @throws IOException si el archivo no es la version de la que parte el parche, o no se pudo escribir la version nueva. En
+     *                     ambos casos el archivo queda como estaba.
+     */
+    public boolean apply(Path archive) throws IOException {
+        ArchiveManifest base = ArchiveManifest.of(archive);
+        if (isApplied(base)) return false;
+        for (Operation operation : operations) {
+            if (operation.type == ADD) continue;
+            ArchiveManifest.Entry entry = base.get(operation.baseName);
+            String expected = operation.type == COPY ? operation.hash : operation.baseHash;
+            if (entry == null || !entry.hash.equals(expected))
+                throw new IOException("'" + archive + "' is not the version this patch applies to: entry " + operation.baseName
+                        + (entry == null ? " is missing" : " has different content"));
+        }
+
+        ArchiveBuilder builder = new ArchiveBuilder();
+        Path temp = ArchiveBuilder.tempFor(archive);
+        try {
+            ArchiveManifest manifest;
+            try (ZipFile zipFile = new ZipFile(archive.toFile(), StandardCharsets.UTF_8);
+                 FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+                List<Callable<ArchiveBuilder.Pending>> tasks = new ArrayList<>(operations.size());
+                for (Operation operation : operations)
+                    tasks.add(() -> patch(operation, base, zipFile, channel));
+                manifest = ArchiveBuilder.writeTo(temp, builder.invokeAll(tasks), channel);
+            }
+            verify(temp);
+            /* Un paquete generado a partir de la version anterior ocultaria los recursos nuevos. Se elimina antes de reemplazar
+             * el archivo para que, si el proceso se corta en el medio, nunca quede un paquete viejo junto a la version nueva. */
+            AssetPack.invalidate(archive.toString());
+            Files.deleteIfExists(AssetPack.pathFor(archive));
+            ArchiveBuilder.install(temp, archive, manifest);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    /**
+     * Indica si el archivo ya tiene exactamente las entradas de la version nueva, por ejemplo porque el parche ya se aplico.
+     */
+    private boolean isApplied(ArchiveManifest base) {
+        if (base.getEntries().size() != operations.size()) return false;
+        for (int i = 0; i < operations.size(); i++) {
+            ArchiveManifest.Entry entry = base.getEntries().get(i);
+            if (!entry.name.equals(operations.get(i).name) || !entry.hash.equals(operations.get(i).hash)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene una entrada de la version nueva. Las entradas copiadas con el mismo nombre se reutilizan sin descomprimirlas; el
+     * resto se reconstruye, se verifica su hash y se comprime.
+     */
+    private static ArchiveBuilder.Pending patch(Operation operation, ArchiveManifest base, ZipFile zipFile, FileChannel channel)
+            throws IOException {
+        byte[] content;
+        switch (operation.type) {
+            case COPY -> {
+                ArchiveManifest.Entry entry = base.get(operation.baseName);
+                if (entry.name.equals(operation.name) && ArchiveBuilder.isEntryAt(channel, entry))
+                    return ArchiveBuilder.Pending.reuse(entry);
+                content = readEntry(zipFile, operation.baseName);
+            }
+            case DELTA -> {
+                byte[] original = readEntry(zipFile, operation.baseName);
+                if (!ArchiveBuilder.sha256(original).equals(operation.baseHash))
+                    throw new IOException("Entry " + operation.baseName + " does not match its manifest");
+                content = BinaryDelta.apply(original, operation.data);
+            }
+            default -> content = operation.data;
+        }
+        if (!ArchiveBuilder.sha256(content).equals(operation.hash))
+            throw new IOException("Patched entry " + operation.name + " does not match the expected content");
+        return ArchiveBuilder.Pending.compress(operation.name, content, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Comprueba, antes de reemplazar el archivo, que cada entrada escrita se descomprima con la longitud y el CRC-32 esperados.
+     */
+    private void verify(Path written) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (ZipFile zipFile = new ZipFile(written.toFile(), StandardCharsets.UTF_8)) {
+            if (zipFile.size() != operations.size())
+                throw new IOException("The patched archive has the wrong number of entries");
+            for (Operation operation : operations) {
+                ZipEntry entry = zipFile.getEntry(operation.name);
+                if (entry == null) throw new IOException("Entry " + operation.name + " is missing from the patched archive");
+                crc.reset();
+                long size = 0;
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        crc.update(buffer, 0, read);
+                        size += read;
+                    }
+                }
+                if (size != operation.size || (int) crc.getValue() != operation.crc)
+                    throw new IOException("Entry " + operation.name + " is corrupt in the patched archive");
+            }
+        }
+    }
+
+    /**
+     * Lee el contenido descomprimido de una entrada por su nombre completo.
+     */
+    static byte[] readEntry(ZipFile zipFile, String name) throws IOException {
+        ZipEntry entry = zipFile.getEntry(name);
+        if (entry == null) throw new IOException("Entry " + name + " not found in " + zipFile.getName());
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) throw new IOException("Malformed ao patch: negative length");
+        byte[] data = in.readNBytes(length);
+        if (data.length < length) throw new EOFException();
+        return data;
+    }
+
+    /**
+     * @return un resumen de las operaciones, por ejemplo {@code 2430 copied, 3 patched, 1 added, 0 removed}
+     */
+    public String describe() {
+        int[] counts = new int[3];
+        for (Operation operation : operations)
+            counts[operation.type]++;
+        return counts[COPY] + " copied, " + counts[DELTA] + " patched, " + counts[ADD] + " added, " + removed + " removed";
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public int getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Operacion que produce una entrada de la version nueva.
+     */
+    public static final class Operation {
+
+        final String name;
+        final int type;
+        /** SHA-256 del contenido resultante. */
+        final String hash;
+        final long size;
+        final int crc;
+        /** Entrada de la version anterior que se copia o sobre la que se aplica la diferencia, o null para {@link #ADD}. */
+        final String baseName;
+        /** SHA-256 de la entrada de origen de una diferencia. */
+        final String baseHash;
+        /** Diferencia para {@link #DELTA} o contenido para {@link #ADD}. */
+        final byte[] data;
+
+        Operation(String name, int type, String hash, long size, int crc, String baseName, String baseHash, byte[] data) {
+            this.name = name;
+            this.type = type;
+            this.hash = hash;
+            this.size = size;
+            this.crc = crc;
+            this.baseName = baseName;
+            this.baseHash = baseHash;
+            this.data = data;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** {@link #COPY}, {@link #DELTA} o {@link #ADD}. */
+        public int getType() {
+            return type;
+        }
+
+        /** Bytes que ocupa la operacion en el parche, antes de comprimirlo. */
+        public int getDataLength() {
+            return data != null ? data.length : 0;
+        }
+
+    }
+
+}
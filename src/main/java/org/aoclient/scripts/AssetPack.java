@@ -0,0 +1,452 @@
+package org.aoclient.scripts;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * <p>
+ * Paquete de recursos sin comprimir que se lee a traves de un unico {@link FileChannel#map mapeo en memoria}, como alternativa a
+ * los archivos ao (zip) para los recursos que ya vienen comprimidos, como las imagenes PNG.
+ * <p>
+ * En un archivo ao cada imagen se vuelve a comprimir con deflate y se descomprime en cada carga, aunque el PNG no se achique. En
+ * este formato esas entradas se guardan tal cual y leerlas no copia nada: {@link #slice(String)} devuelve una vista del mapeo, y
+ * la primera lectura de cada pagina la resuelve el cache de paginas del sistema operativo. Las entradas que si se achican (mapas,
+ * archivos de inicializacion) se guardan comprimidas con deflate y se descomprimen al leerlas.
+ * <p>
+ * El archivo, con extension {@link #EXTENSION} y todos los valores en little-endian, tiene:
+ * <ol>
+ * <li>Una cabecera fija de {@link #HEADER_SIZE} bytes: la firma {@code AOPK}, la version del formato, tres bytes reservados, la
+ * cantidad de entradas, la longitud del bloque de nombres y la {@link ArchiveManifest.Identity identidad} del archivo ao al que
+ * reemplaza tal como estaba al generar el paquete (longitud, fecha de modificacion, y posicion y CRC-32 del directorio central,
+ * todo en cero si no habia archivo ao), seguida de cuatro bytes reservados.
+ * <li>La tabla de contenidos, con un registro de {@link #TOC_ENTRY_SIZE} bytes por entrada ordenado por nombre: posicion y
+ * longitud del nombre en el bloque de nombres, metodo ({@link #STORED} o {@link #DEFLATED}), posicion de los datos en el archivo,
+ * longitud guardada, longitud original y CRC-32 del contenido original.
+ * <li>El bloque de nombres: el nombre base de cada entrada en minusculas y en UTF-8.
+ * <li>Los datos de las entradas, en el orden de la tabla.
+ * </ol>
+ * Al abrir el paquete la tabla se carga en un {@link HashMap}, por lo que buscar una entrada cuesta O(1); como esta ordenada,
+ * tambien se puede recorrer o buscar en O(log n) sin cargarla. Los nombres son los mismos que usa {@link ResourcePack}, asi que
+ * un paquete puede reemplazar al archivo ao del mismo nombre: si junto a {@code resources/graphics.ao} existe
+ * {@code resources/graphics.aopk}, {@link Compressor#readResource(String, String)} lee del paquete. Los paquetes se generan con
+ * {@link AssetPacker}.
+ * <p>
+ * Un paquete solo reemplaza al archivo ao si este sigue siendo el mismo que cuando se genero el paquete. Si el archivo se
+ * reconstruyo o se actualizo despues, el paquete tiene los recursos viejos y se ignora; lo mismo pasa con un paquete que no se
+ * puede abrir. En ambos casos los recursos se leen del archivo ao.
+ * <p>
+ * El mapeo es de solo lectura y la tabla no cambia despues de abrirse, asi que varios hilos pueden leer a la vez sin
+ * sincronizarse. Las vistas devueltas siguen siendo validas mientras el paquete este abierto.
+ */
+
+public final class AssetPack implements Closeable {
+
+    public static final String EXTENSION = ".aopk";
+    static final byte[] MAGIC = {'A', 'O', 'P', 'K'};
+    static final int VERSION = 2;
+    /**
+     * Firma, version, tres bytes reservados, cantidad de entradas, longitud del bloque de nombres, identidad del archivo ao
+     * (longitud, fecha, posicion y CRC del directorio central) y cuatro bytes reservados.
+     */
+    static final int HEADER_SIZE = 4 + 1 + 3 + 4 + 4 + 8 + 8 + 8 + 4 + 4;
+    /** Posicion y longitud del nombre, metodo, un byte reservado, posicion de los datos, longitudes y CRC-32. */
+    static final int TOC_ENTRY_SIZE = 4 + 2 + 1 + 1 + 8 + 4 + 4 + 4;
+    /** Entrada guardada sin comprimir. */
+    static final int STORED = 0;
+    /** Entrada comprimida con deflate sin cabecera zlib. */
+    static final int DEFLATED = 1;
+
+    /** Paquetes abiertos por ruta absoluta y normalizada, incluyendo los que no existen, para no volver a buscarlos. */
+    private static final Map<Path, Optional<AssetPack>> PACKS = new ConcurrentHashMap<>();
+
+    private final Path path;
+    /** Identidad del archivo ao al que reemplaza el paquete, tal como estaba al generarlo. */
+    private final ArchiveManifest.Identity source;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    /** Entradas por nombre base en minusculas. */
+    private final Map<String, Entry> entries;
+    /** Entradas en el orden de la tabla de contenidos. */
+    private final List<Entry> ordered;
+
+    private AssetPack(Path path, ArchiveManifest.Identity source, FileChannel channel, MappedByteBuffer mapped,
+                      List<Entry> ordered) {
+        this.path = path;
+        this.source = source;
+        this.channel = channel;
+        this.mapped = mapped;
+        this.ordered = Collections.unmodifiableList(ordered);
+        this.entries = new HashMap<>(ordered.size() * 4 / 3 + 1);
+        for (Entry entry : ordered)
+            entries.put(entry.name, entry);
+    }
+
+    /**
+     * Abre un paquete y carga su tabla de contenidos.
+     *
+     * @param path archivo del paquete
+     * @return el paquete abierto
+     * @throws IOException si el archivo no se pudo leer o no es un paquete valido
+     */
+    public static AssetPack open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Asset pack too large to map: " + path);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            List<Entry> entries = readToc(path, mapped);
+            ArchiveManifest.Identity source = new ArchiveManifest.Identity(mapped.getLong(16), mapped.getLong(24),
+                    mapped.getLong(32), -1, mapped.getInt(40));
+            return new AssetPack(path, source, channel, mapped, entries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e instanceof IOException ? (IOException) e : new IOException("Malformed asset pack: " + path, e);
+        }
+    }
+
+    /**
+     * Devuelve el paquete que reemplaza a un archivo ao, si existe: el archivo del mismo nombre con extension {@link #EXTENSION}.
+     * Un paquete que no se puede abrir o que se genero para otra version del archivo ao se ignora, avisandolo una vez. El
+     * resultado, tambien cuando no hay paquete, se conserva hasta que se llame a {@link #invalidate(String)}.
+     *
+     * @param aoName ruta del archivo ao
+     * @return el paquete abierto, o null si no hay un paquete valido para ese archivo
+     */
+    public static AssetPack forArchive(String aoName) {
+        Path path = Paths.get(aoName).toAbsolutePath().normalize();
+        Optional<AssetPack> pack = PACKS.get(path);
+        if (pack == null) {
+            Optional<AssetPack> opened = Optional.ofNullable(openFor(path));
+            pack = PACKS.putIfAbsent(path, opened);
+            if (pack == null) pack = opened;
+            else opened.ifPresent(AssetPack::close);
+        }
+        return pack.orElse(null);
+    }
+
+    /**
+     * Abre el paquete de un archivo ao si existe y corresponde a la version actual del archivo.
+     */
+    private static AssetPack openFor(Path archive) {
+        Path packPath = pathFor(archive);
+        if (!Files.isRegularFile(packPath)) return null;
+        AssetPack pack;
+        try {
+            pack = open(packPath);
+        } catch (IOException e) {
+            System.err.println("Ignoring asset pack, reading '" + archive + "' instead: " + e.getMessage());
+            return null;
+        }
+        try {
+            if (pack.source.equals(identityOf(archive))) return pack;
+            System.err.println("Ignoring asset pack " + packPath + ": it was generated for another version of '" + archive + "'");
+        } catch (IOException e) {
+            System.err.println("Ignoring asset pack " + packPath + ": could not read '" + archive + "': " + e.getMessage());
+        }
+        pack.close();
+        return null;
+    }
+
+    /**
+     * Devuelve la identidad de un archivo ao, o una identidad en cero si no existe, que es la que guarda un paquete generado sin
+     * archivo ao.
+     */
+    static ArchiveManifest.Identity identityOf(Path archive) throws IOException {
+        return Files.isRegularFile(archive) ? ArchiveManifest.Identity.of(archive) : ArchiveManifest.Identity.NONE;
+    }
+
+    /**
+     * Cierra el paquete que reemplaza a un archivo ao, si estaba abierto, para que se vuelva a buscar. No debe llamarse mientras
+     * otro hilo usa el paquete o alguna de sus vistas.
+     *
+     * @param aoName ruta del archivo ao
+     */
+    public static void invalidate(String aoName) {
+        Optional<AssetPack> pack = PACKS.remove(Paths.get(aoName).toAbsolutePath().normalize());
+        if (pack != null) pack.ifPresent(AssetPack::close);
+    }
+
+    private static List<Entry> readToc(Path path, ByteBuffer mapped) throws IOException {
+        if (mapped.limit() < HEADER_SIZE) throw new IOException("Not an asset pack: " + path);
+        for (int i = 0; i < MAGIC.length; i++)
+            if (mapped.get(i) != MAGIC[i]) throw new IOException("Not an asset pack: " + path);
+        if (mapped.get(MAGIC.length) != VERSION)
+            throw new IOException("Unsupported asset pack version " + mapped.get(MAGIC.length) + ": " + path);
+        int count = mapped.getInt(8);
+        int namesLength = mapped.getInt(12);
+        long namesOffset = HEADER_SIZE + (long) count * TOC_ENTRY_SIZE;
+        if (count < 0 || namesLength < 0 || namesOffset + namesLength > mapped.limit())
+            throw new IOException("Malformed asset pack table of contents: " + path);
+
+        List<Entry> entries = new ArrayList<>(count);
+        byte[] nameBytes = new byte[namesLength];
+        mapped.get((int) namesOffset, nameBytes);
+        for (int i = 0; i < count; i++) {
+            int record = HEADER_SIZE + i * TOC_ENTRY_SIZE;
+            int nameStart = mapped.getInt(record), nameLength = Short.toUnsignedInt(mapped.getShort(record + 4));
+            int method = mapped.get(record + 6);
+            long offset = mapped.getLong(record + 8);
+            int storedLength = mapped.getInt(record + 16), length = mapped.getInt(record + 20), crc = mapped.getInt(record + 24);
+            if (nameStart < 0 || nameStart + nameLength > namesLength || offset < 0 || storedLength < 0 || length < 0
+                    || offset + storedLength > mapped.limit() || method != STORED && method != DEFLATED)
+                throw new IOException("Malformed asset pack entry " + i + ": " + path);
+            String name = new String(nameBytes, nameStart, nameLength, StandardCharsets.UTF_8);
+            entries.add(new Entry(name, method, (int) offset, storedLength, length, crc));
+        }
+        return entries;
+    }
+
+    /**
+     * Indica si el paquete tiene una entrada con el nombre base indicado, sin distinguir mayusculas de minusculas.
+     */
+    public boolean contains(String resourceName) {
+        return entries.containsKey(key(resourceName));
+    }
+
+    /**
+     * @return entradas del paquete en el orden de la tabla de contenidos, es decir, ordenadas por nombre
+     */
+    public List<Entry> getEntries() {
+        return ordered;
+    }
+
+    /**
+     * Devuelve el contenido de una entrada. Si esta guardada sin comprimir es una vista de solo lectura del mapeo, sin copias;
+     * si esta comprimida, un buffer nuevo con el contenido descomprimido.
+     *
+     * @param resourceName nombre base del recurso, sin extension
+     * @return el contenido, con la posicion en 0 y el limite al final
+     * @throws FileNotFoundException si el paquete no tiene una entrada con ese nombre
+     * @throws IOException           si la entrada comprimida esta dañada
+     */
+    public ByteBuffer slice(String resourceName) throws IOException {
+        return slice(entry(resourceName));
+    }
+
+    /**
+     * Devuelve el contenido de una entrada de este paquete, igual que {@link #slice(String)}.
+     */
+    public ByteBuffer slice(Entry entry) throws IOException {
+        ByteBuffer stored = mapped.slice(entry.offset, entry.storedLength).asReadOnlyBuffer();
+        if (entry.method == STORED) return stored;
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored);
+            ByteBuffer content = ByteBuffer.allocate(entry.length);
+            while (content.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(content) == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+            }
+            if (content.hasRemaining()) throw new IOException("Truncated asset pack entry '" + entry.name + "' in " + path);
+            return content.flip();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt asset pack entry '" + entry.name + "' in " + path + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Lee el contenido de una entrada en un array nuevo.
+     *
+     * @param resourceName nombre base del recurso, sin extension
+     * @return los bytes del recurso
+     * @throws FileNotFoundException si el paquete no tiene una entrada con ese nombre
+     * @throws IOException           si la entrada comprimida esta dañada
+     */
+    public byte[] read(String resourceName) throws IOException {
+        ByteBuffer content = slice(resourceName);
+        if (content.hasArray() && content.arrayOffset() == 0 && content.array().length == content.remaining())
+            return content.array();
+        byte[] data = new byte[content.remaining()];
+        content.get(data);
+        return data;
+    }
+
+    /**
+     * Abre un stream sobre el contenido de una entrada. Para las entradas sin comprimir lee directamente del mapeo.
+     *
+     * @param resourceName nombre base del recurso, sin extension
+     * @return el stream del recurso
+     * @throws FileNotFoundException si el paquete no tiene una entrada con ese nombre
+     * @throws IOException           si la entrada comprimida esta dañada
+     */
+    public InputStream openStream(String resourceName) throws IOException {
+        return new BufferInputStream(slice(resourceName));
+    }
+
+    /**
+     * Verifica el CRC-32 de todas las entradas contra el de la tabla de contenidos.
+     *
+     * @throws IOException si alguna entrada esta dañada
+     */
+    public void verify() throws IOException {
+        CRC32 crc = new CRC32();
+        for (Entry entry : ordered) {
+            crc.reset();
+            crc.update(slice(entry));
+            if ((int) crc.getValue() != entry.crc) throw new IOException("CRC mismatch in asset pack entry '" + entry.name + "'");
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return la identidad del archivo ao al que reemplaza el paquete, tal como estaba al generarlo
+     */
+    public ArchiveManifest.Identity getSource() {
+        return source;
+    }
+
+    /**
+     * Cierra el canal del paquete. El mapeo lo libera el recolector de basura cuando ya no quedan vistas que lo usen.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // El paquete solo se leia, no hay nada que se pueda perder
+        }
+    }
+
+    private Entry entry(String resourceName) throws FileNotFoundException {
+        Entry entry = entries.get(key(resourceName));
+        if (entry == null) throw new FileNotFoundException("No files were found matching '" + resourceName + "' in " + path);
+        return entry;
+    }
+
+    static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Devuelve la ruta del paquete que reemplazaria a un archivo ao.
+     */
+    static Path pathFor(Path archive) {
+        return Paths.get(stripExtension(archive.toString()) + EXTENSION);
+    }
+
+    /**
+     * Devuelve la ruta del archivo ao al que reemplazaria un paquete.
+     */
+    static Path archiveFor(Path pack) {
+        return Paths.get(stripExtension(pack.toString()) + ".ao");
+    }
+
+    private static String stripExtension(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) ? path.substring(0, dot) : path;
+    }
+
+    /**
+     * Entrada de la tabla de contenidos.
+     */
+    public static final class Entry {
+
+        final String name;
+        final int method;
+        final int offset;
+        final int storedLength;
+        final int length;
+        final int crc;
+
+        Entry(String name, int method, int offset, int storedLength, int length, int crc) {
+            this.name = name;
+            this.method = method;
+            this.offset = offset;
+            this.storedLength = storedLength;
+            this.length = length;
+            this.crc = crc;
+        }
+
+        /** Nombre base de la entrada, en minusculas. */
+        public String getName() {
+            return name;
+        }
+
+        public boolean isCompressed() {
+            return method == DEFLATED;
+        }
+
+        /** Longitud del contenido original. */
+        public int getLength() {
+            return length;
+        }
+
+        /** Longitud que ocupa la entrada en el paquete. */
+        public int getStoredLength() {
+            return storedLength;
+        }
+
+        /** CRC-32 del contenido original. */
+        public int getCrc() {
+            return crc;
+        }
+
+    }
+
+    /**
+     * Stream sobre un {@link ByteBuffer}, que lee del mapeo sin copiar la entrada.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+    }
+
+}
@@ -0,0 +1,221 @@
+package org.aoclient.scripts;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * <p>
+ * Genera un paquete de recursos mapeable en memoria ({@link AssetPack}) a partir de una carpeta, igual que
+ * {@link Compressor#compressResource(String, String)} genera un archivo ao.
+ * <p>
+ * Cada archivo de la carpeta y sus subcarpetas se guarda como una entrada con su nombre base en minusculas. Los formatos que ya
+ * vienen comprimidos (PNG, JPG, OGG, ...) se guardan tal cual, para poder leerlos directamente del mapeo; el resto se comprime
+ * con deflate y se guarda comprimido solo si se achica al menos un {@link #MIN_SAVING_PERCENT}%. Si dos archivos tienen el mismo
+ * nombre base se conserva el mismo que en el archivo ao y se avisa, ya que el cliente no podria distinguirlos.
+ * <p>
+ * El paquete se escribe en un archivo temporal que al final reemplaza al anterior, para que un cliente que lo tenga mapeado nunca
+ * vea un paquete a medio escribir. Antes de reemplazarlo se verifica el CRC-32 de todas las entradas.
+ * <p>
+ * En la cabecera se guarda la identidad del archivo ao del mismo nombre que el paquete, por lo que el paquete hay que generarlo
+ * despues de construir el archivo ao: si el archivo ao cambia, el cliente ignora el paquete hasta que se vuelva a generar.
+ * <p>
+ * Uso: {@code AssetPacker <carpeta> <paquete.aopk> [--store-all] [--level 0-9]}, por ejemplo
+ * {@code AssetPacker resources/graphics-descompressed resources/graphics.aopk}.
+ */
+
+public final class AssetPacker {
+
+    /** Ahorro minimo para guardar una entrada comprimida en lugar de guardarla tal cual. */
+    private static final int MIN_SAVING_PERCENT = 10;
+    /** Extensiones de formatos ya comprimidos, que no se vuelven a comprimir. */
+    private static final Set<String> COMPRESSED_FORMATS = Set.of("png", "jpg", "jpeg", "gif", "ogg", "mp3", "zip", "ao");
+
+    private AssetPacker() {
+    }
+
+    public static void main(String[] args) {
+        List<String> paths = new ArrayList<>();
+        boolean storeAll = false;
+        int level = Deflater.BEST_COMPRESSION;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--store-all" -> storeAll = true;
+                case "--level" -> level = Integer.parseInt(args[++i]);
+                default -> paths.add(args[i]);
+            }
+        }
+        if (paths.size() != 2) {
+            System.err.println("Usage: AssetPacker <folder> <pack" + AssetPack.EXTENSION + "> [--store-all] [--level 0-9]");
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Summary summary = pack(Paths.get(paths.get(0)), Paths.get(paths.get(1)), storeAll, level);
+            System.out.printf(Locale.ROOT, "Packed %d files (%d compressed) from '%s' in '%s': %.1f MB -> %.1f MB in %d ms%n",
+                    summary.entries, summary.compressed, paths.get(0), paths.get(1), summary.originalBytes / 1048576.0,
+                    summary.packBytes / 1048576.0, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            System.err.println("Packing failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Genera el paquete.
+     *
+     * @param folder   carpeta con los recursos
+     * @param output   archivo del paquete, que se reemplaza si existe
+     * @param storeAll true para no comprimir ninguna entrada
+     * @param level    nivel de compresion de deflate, de 0 a 9
+     * @return un resumen del paquete generado
+     * @throws IOException si no se pudo leer la carpeta, escribir el paquete o el paquete escrito no es valido
+     */
+    public static Summary pack(Path folder, Path output, boolean storeAll, int level) throws IOException {
+        if (!Files.isDirectory(folder)) throw new IOException("'" + folder + "' is not a directory");
+
+        /* Se recorre la carpeta en el mismo orden que ArchiveBuilder, para que entre nombres repetidos gane el mismo archivo que
+         * en el ao, y se ordena por nombre, que es el orden de la tabla de contenidos. */
+        TreeMap<String, Path> files = new TreeMap<>();
+        for (Path file : ArchiveBuilder.listFiles(folder)) {
+            String name = AssetPack.key(Compressor.getBaseName(file.getFileName().toString()));
+            Path previous = files.putIfAbsent(name, file);
+            if (previous != null) System.err.println("Skipping '" + file + "': same name as '" + previous + "'");
+        }
+
+        byte[][] names = new byte[files.size()][];
+        int namesLength = 0, index = 0;
+        for (String name : files.keySet()) {
+            names[index] = name.getBytes(StandardCharsets.UTF_8);
+            if (names[index].length > 0xFFFF) throw new IOException("Name too long: " + name);
+            namesLength += names[index++].length;
+        }
+        long dataStart = AssetPack.HEADER_SIZE + (long) files.size() * AssetPack.TOC_ENTRY_SIZE + namesLength;
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        ArchiveManifest.Identity source = AssetPack.identityOf(AssetPack.archiveFor(output));
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        Summary summary = new Summary();
+        try {
+            ByteBuffer toc = ByteBuffer.allocate((int) dataStart).order(ByteOrder.LITTLE_ENDIAN);
+            toc.put(AssetPack.MAGIC).put((byte) AssetPack.VERSION).put(new byte[3]).putInt(files.size()).putInt(namesLength)
+                    .putLong(source.length).putLong(source.modified).putLong(source.centralOffset).putInt(source.centralCrc)
+                    .putInt(0);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                Deflater deflater = new Deflater(level, true);
+                CRC32 crc = new CRC32();
+                long offset = dataStart;
+                int nameStart = 0;
+                index = 0;
+                for (Path file : files.values()) {
+                    byte[] content = Files.readAllBytes(file);
+                    crc.reset();
+                    crc.update(content);
+                    byte[] stored = content;
+                    int method = AssetPack.STORED;
+                    if (!storeAll && !COMPRESSED_FORMATS.contains(extension(file))) {
+                        byte[] deflated = deflate(deflater, content);
+                        if (deflated.length <= (long) content.length * (100 - MIN_SAVING_PERCENT) / 100) {
+                            stored = deflated;
+                            method = AssetPack.DEFLATED;
+                            summary.compressed++;
+                        }
+                    }
+                    if (offset + stored.length > Integer.MAX_VALUE) throw new IOException("Asset pack too large to map");
+
+                    toc.putInt(nameStart).putShort((short) names[index].length).put((byte) method).put((byte) 0).putLong(offset)
+                            .putInt(stored.length).putInt(content.length).putInt((int) crc.getValue());
+                    writeFully(channel, ByteBuffer.wrap(stored), offset);
+                    offset += stored.length;
+                    nameStart += names[index++].length;
+                    summary.originalBytes += content.length;
+                }
+                deflater.end();
+                for (byte[] name : names)
+                    toc.put(name);
+                writeFully(channel, toc.flip(), 0);
+                channel.force(true);
+                summary.packBytes = offset;
+            }
+            summary.entries = files.size();
+
+            try (AssetPack pack = AssetPack.open(temp)) {
+                pack.verify();
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return summary;
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] content) {
+        deflater.reset();
+        deflater.setInput(content);
+        deflater.finish();
+        byte[] buffer = new byte[Math.max(64, content.length + content.length / 1000 + 64)];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Resumen de un paquete generado.
+     */
+    public static final class Summary {
+
+        int entries;
+        int compressed;
+        long originalBytes;
+        long packBytes;
+
+        public int getEntries() {
+            return entries;
+        }
+
+        public int getCompressed() {
+            return compressed;
+        }
+
+        public long getOriginalBytes() {
+            return originalBytes;
+        }
+
+        public long getPackBytes() {
+            return packBytes;
+        }
+
+    }
+
+}
@@ -0,0 +1,168 @@
+package org.aoclient.scripts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Diferencia binaria entre dos versiones de un recurso, para enviar solo lo que cambio. La usan {@link ArchiveDiff} y
+ * {@link ArchivePatch} con las entradas modificadas de un archivo ao.
+ * <p>
+ * {@link #diff(byte[], byte[])} indexa la version anterior en bloques de {@link #BLOCK_SIZE} bytes por su hash y recorre la
+ * version nueva con un hash rodante. Cada vez que un bloque coincide, la coincidencia se extiende hacia atras y hacia adelante
+ * byte a byte y se emite una copia de la version anterior; lo que no coincide con nada se emite literal. Es el mismo enfoque que
+ * rsync, en una sola pasada y sin compresion propia: el parche que contiene las diferencias ya se comprime entero.
+ * <p>
+ * Formato: la longitud de la version nueva y despues una secuencia de instrucciones, todas con enteros de longitud variable
+ * (7 bits por byte, el bit alto indica que sigue otro byte). Cada instruccion empieza con {@code longitud << 1 | tipo}. Si el
+ * tipo es literal le siguen los bytes literales, y si es una copia, la posicion en la version anterior de donde se copian.
+ */
+
+public final class BinaryDelta {
+
+    /** Tamaño de los bloques de la version anterior que se buscan en la nueva. */
+    private static final int BLOCK_SIZE = 16;
+    private static final int LITERAL = 0, COPY = 1;
+    /** Multiplicador del hash rodante. */
+    private static final int PRIME = 0x01000193;
+
+    private BinaryDelta() {
+    }
+
+    /**
+     * Calcula la diferencia entre dos versiones.
+     *
+     * @param base   version anterior
+     * @param target version nueva
+     * @return las instrucciones que generan {@code target} a partir de {@code base}
+     */
+    public static byte[] diff(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, target.length / 8));
+        writeVarInt(out, target.length);
+
+        /* Tabla de direccionamiento abierto con la posicion + 1 de cada bloque alineado de la version anterior. Los bloques
+         * repetidos (por ejemplo, las zonas de un solo color de un BMP) se guardan una sola vez, para que no se amontonen en la
+         * misma zona de la tabla. */
+        int blocks = base.length / BLOCK_SIZE;
+        int[] table = new int[Integer.highestOneBit(Math.max(1, blocks * 2)) << 1];
+        int mask = table.length - 1;
+        for (int block = 0; block < blocks; block++) {
+            int position = block * BLOCK_SIZE, slot = hash(base, position) & mask;
+            while (table[slot] != 0 && !Arrays.equals(base, table[slot] - 1, table[slot] - 1 + BLOCK_SIZE, base, position,
+                    position + BLOCK_SIZE))
+                slot = slot + 1 & mask;
+            if (table[slot] == 0) table[slot] = position + 1;
+        }
+
+        int power = 1; // PRIME ^ (BLOCK_SIZE - 1), para quitar el byte que sale del hash rodante
+        for (int i = 1; i < BLOCK_SIZE; i++)
+            power *= PRIME;
+
+        int literalStart = 0, i = 0;
+        int hash = blocks > 0 && target.length >= BLOCK_SIZE ? hash(target, 0) : 0;
+        while (blocks > 0 && i + BLOCK_SIZE <= target.length) {
+            int match = -1;
+            for (int slot = hash & mask; table[slot] != 0; slot = slot + 1 & mask) {
+                int candidate = table[slot] - 1;
+                if (Arrays.equals(base, candidate, candidate + BLOCK_SIZE, target, i, i + BLOCK_SIZE)) {
+                    match = candidate;
+                    break;
+                }
+            }
+            if (match < 0) {
+                if (i + BLOCK_SIZE < target.length)
+                    hash = (hash - (target[i] & 0xFF) * power) * PRIME + (target[i + BLOCK_SIZE] & 0xFF);
+                i++;
+                continue;
+            }
+
+            int start = i, from = match;
+            while (start > literalStart && from > 0 && target[start - 1] == base[from - 1]) {
+                start--;
+                from--;
+            }
+            int length = i + BLOCK_SIZE - start;
+            while (start + length < target.length && from + length < base.length && target[start + length] == base[from + length])
+                length++;
+
+            writeLiteral(out, target, literalStart, start);
+            writeVarInt(out, length << 1 | COPY);
+            writeVarInt(out, from);
+            i = literalStart = start + length;
+            if (i + BLOCK_SIZE <= target.length) hash = hash(target, i);
+        }
+        writeLiteral(out, target, literalStart, target.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * Aplica una diferencia.
+     *
+     * @param base  version anterior, la misma que se uso para calcular la diferencia
+     * @param delta instrucciones calculadas con {@link #diff(byte[], byte[])}
+     * @return la version nueva
+     * @throws IOException si las instrucciones estan malformadas o no corresponden a esa version anterior
+     */
+    public static byte[] apply(byte[] base, byte[] delta) throws IOException {
+        int[] position = {0};
+        byte[] target = new byte[readLength(delta, position)];
+        int written = 0;
+        while (position[0] < delta.length) {
+            int instruction = readLength(delta, position);
+            int length = instruction >>> 1;
+            if (length > target.length - written) throw new IOException("Corrupt delta: instruction past the end of the target");
+            if ((instruction & 1) == COPY) {
+                int from = readLength(delta, position);
+                if (from > base.length - length) throw new IOException("Corrupt delta: copy past the end of the base");
+                System.arraycopy(base, from, target, written, length);
+            } else {
+                if (length > delta.length - position[0]) throw new IOException("Corrupt delta: truncated literal");
+                System.arraycopy(delta, position[0], target, written, length);
+                position[0] += length;
+            }
+            written += length;
+        }
+        if (written != target.length) throw new IOException("Corrupt delta: " + written + " of " + target.length + " bytes");
+        return target;
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++)
+            hash = hash * PRIME + (data[i] & 0xFF);
+        return hash;
+    }
+
+    private static void writeLiteral(ByteArrayOutputStream out, byte[] data, int from, int to) {
+        if (from == to) return;
+        writeVarInt(out, to - from << 1 | LITERAL);
+        out.write(data, from, to - from);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Lee un entero de longitud variable no negativo y avanza la posicion.
+     */
+    private static int readLength(byte[] data, int[] position) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= data.length) throw new IOException("Corrupt delta: truncated");
+            int b = data[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) throw new IOException("Corrupt delta: negative length");
+                return value;
+            }
+        }
+        throw new IOException("Corrupt delta: length too long");
+    }
+
+}
@@ -0,0 +1,797 @@
+package org.aoclient.scripts;
+
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.models.Direction;
+import org.aoclient.engine.renderer.Surface;
+import org.aoclient.engine.utils.GameData;
+import org.aoclient.engine.utils.inits.MapData;
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.PacketReceiver;
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder.CharacterCreate;
+import org.aoclient.network.protocol.codec.ServerPacketLengths;
+import org.aoclient.network.protocol.handlers.*;
+import org.tinylog.Logger;
+import org.tinylog.configuration.Configuration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.aoclient.network.protocol.Protocol.*;
+
+/**
+ * <p>
+ * Generador de carga que conecta cientos de bots a un servidor desde una sola JVM, para probar el servidor sin una maquina por
+ * cliente.
+ * <p>
+ * Cada bot es una {@link Session} del cliente, con su propio canal y su buffer de entrada: el usuario, los personajes que ve y
+ * los paquetes pendientes de enviar son los de su sesion. Los paquetes se escriben con los metodos {@code write} de
+ * {@link org.aoclient.network.protocol.Protocol} y se aplican con un {@link PacketReceiver} por bot, que usa los mismos handlers
+ * que el cliente para la posicion, los personajes y las estadisticas del usuario. Solo el login, el cambio de mapa, el PONG, los
+ * errores y la desconexion tienen handlers propios del bot, porque en el cliente cargan el mapa o actualizan la interfaz; los
+ * paquetes que el bot no necesita se descartan sin leerlos.
+ * <p>
+ * Los datos del juego se cargan una sola vez con {@link GameData#init()} y todos los bots comparten, sin modificarlas, las tablas
+ * de cuerpos, cabezas y armas (con las que los handlers arman los personajes) y las celdas bloqueadas de los mapas indicados
+ * (para caminar solo por donde el cliente permitiria hacerlo). Las sesiones se crean sin mapa, por lo que los handlers llevan la
+ * posicion de cada personaje sin marcar la ocupacion de las celdas.
+ * <p>
+ * Los bots se reparten entre unos pocos hilos, cada uno con un {@link Selector} que atiende a todos sus bots sin bloquearse,
+ * igual que {@link ServerSimulator}. Asi un hilo mantiene cientos de conexiones y el costo por bot es solo el de su sesion. Cada
+ * hilo crea sus propias instancias de los handlers y las comparte entre sus bots, ya que las usa de a un paquete por vez. Los
+ * bots se conectan escalonados, entran a la partida con {@code LOGIN_EXISTING_CHAR} y, hasta que termina la prueba, caminan,
+ * hablan y miden la latencia con {@code PING} a los intervalos configurados. Al final salen con {@code /SALIR} y se imprime un
+ * resumen con los tiempos de login, el trafico, la latencia y los errores de protocolo.
+ * <p>
+ * Se usa desde la linea de comandos: {@code BotSwarm [--server host:port] [--bots n] [--threads n] [--duration s]
+ * [--ramp-up ms] [--name prefix] [--password password] [--walk-interval ms] [--talk-interval ms] [--ping-interval ms]
+ * [--maps 1,2,...] [--seed n]}. Los nombres de los bots son el prefijo seguido de su numero, y todos usan la misma contraseña.
+ */
+
+public class BotSwarm implements Closeable {
+
+    /** Tamaño de los mapas, en celdas por lado. */
+    private static final int MAP_SIZE = 100;
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    /** Capacidad inicial del buffer de salida de cada bot, suficiente para las acciones de varios ticks. */
+    private static final int OUTPUT_BUFFER_SIZE = 256;
+    /** Intervalo con el que cada hilo revisa las acciones de sus bots. */
+    private static final long TICK_NANOS = 10_000_000;
+    private static final long LOGIN_TIMEOUT_NANOS = 30_000_000_000L;
+    private static final long QUIT_TIMEOUT_NANOS = 5_000_000_000L;
+    /** Cantidad de intervalos de un milisegundo de los histogramas, que cubren hasta 10 s. Lo demas va a un intervalo extra. */
+    private static final int BUCKETS = 10_000;
+    private static final double[] PERCENTILES = {50, 90, 99};
+    private static final String[] PHRASES = {"Hola!", "Alguien vende pociones?", "Vamos a dungeon", "Compro espada larga",
+            "Alguien para party?", "Que nivel sos?", "Buenas!", "Voy al banco"};
+    /** Handler de los paquetes que el bot no necesita. {@link PacketReceiver} descarta el paquete entero sin leerlo. */
+    private static final PacketHandler DISCARD = (session, buffer) -> {
+    };
+
+    private final Settings settings;
+    private final SharedData shared;
+    private final Worker[] workers;
+    /** Memoria ocupada antes de crear las sesiones, para medir al final cuanto ocupan. */
+    private final long heapBeforeSessions;
+    private volatile boolean stopping;
+
+    /**
+     * Carga los datos del juego compartidos por todos los bots y reparte los bots entre los hilos. Se llama desde la carpeta del
+     * cliente, donde estan los recursos.
+     */
+    public BotSwarm(Settings settings) {
+        this.settings = settings;
+        this.shared = SharedData.load(settings.maps);
+        int threads = Math.max(1, Math.min(settings.threads, settings.bots));
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++)
+            workers[i] = new Worker(i, new Random(settings.seed + i));
+        heapBeforeSessions = SharedData.usedHeap();
+        for (int i = 0; i < settings.bots; i++)
+            workers[i % threads].add(new Bot(i, settings.name + (i + 1)));
+    }
+
+    public static void main(String[] args) {
+        // Los handlers del juego registran cada paquete a nivel debug, lo que con cientos de bots solo llenaria el registro
+        Configuration.set("level", "info");
+
+        Settings settings = new Settings();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--server" -> settings.server(args[++i]);
+                case "--bots" -> settings.bots(Integer.parseInt(args[++i]));
+                case "--threads" -> settings.threads(Integer.parseInt(args[++i]));
+                case "--duration" -> settings.duration(Integer.parseInt(args[++i]));
+                case "--ramp-up" -> settings.rampUp(Integer.parseInt(args[++i]));
+                case "--name" -> settings.name(args[++i]);
+                case "--password" -> settings.password(args[++i]);
+                case "--walk-interval" -> settings.walkInterval(Integer.parseInt(args[++i]));
+                case "--talk-interval" -> settings.talkInterval(Integer.parseInt(args[++i]));
+                case "--ping-interval" -> settings.pingInterval(Integer.parseInt(args[++i]));
+                case "--maps" -> settings.maps(Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray());
+                case "--seed" -> settings.seed(Long.parseLong(args[++i]));
+                default -> {
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+
+        BotSwarm swarm = new BotSwarm(settings);
+        Thread hook = new Thread(swarm::close, "Bot swarm shutdown");
+        Runtime.getRuntime().addShutdownHook(hook);
+        try {
+            swarm.run();
+        } catch (IOException e) {
+            System.err.println("Bot swarm failed: " + e.getMessage());
+            System.exit(1);
+        }
+        Runtime.getRuntime().removeShutdownHook(hook);
+        swarm.report();
+    }
+
+    /**
+     * Ejecuta la prueba completa y espera a que todos los bots se desconecten.
+     *
+     * @throws IOException si no se pudo abrir un selector
+     */
+    public void run() throws IOException {
+        long startNanos = System.nanoTime();
+        Thread[] threads = new Thread[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i].open(startNanos);
+            threads[i] = new Thread(workers[i], "Bot swarm " + (i + 1));
+            threads[i].start();
+        }
+        Logger.info("Bot swarm started: {} bots on {} threads against {}:{}", settings.bots, workers.length, settings.host,
+                settings.port);
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Termina la prueba antes de tiempo: los bots en la partida salen con {@code /SALIR} y el resto se desconecta.
+     */
+    @Override
+    public void close() {
+        stopping = true;
+        for (Worker worker : workers)
+            if (worker.selector != null) worker.selector.wakeup();
+    }
+
+    /**
+     * Imprime el resumen de la prueba, sumando las mediciones de todos los hilos.
+     */
+    public void report() {
+        int[] logins = new int[BUCKETS + 1], rtts = new int[BUCKETS + 1];
+        long logged = 0, failed = 0, dropped = 0, packets = 0, bytesIn = 0, bytesOut = 0, walks = 0, talks = 0, pings = 0;
+        long errors = 0, unknownAppearances = 0, characters = 0;
+        double seconds = 0;
+        for (Worker worker : workers) {
+            for (int i = 0; i <= BUCKETS; i++) {
+                logins[i] += worker.loginMillis[i];
+                rtts[i] += worker.rttMillis[i];
+            }
+            for (Bot bot : worker.bots) {
+                if (bot.loggedNanos != 0) logged++;
+                else failed++;
+                if (bot.dropped) dropped++;
+                characters += bot.session.getCharList().countCreated();
+            }
+            packets += worker.packets;
+            bytesIn += worker.bytesIn;
+            bytesOut += worker.bytesOut;
+            walks += worker.walks;
+            talks += worker.talks;
+            pings += worker.pings;
+            errors += worker.errors;
+            unknownAppearances += worker.unknownAppearances;
+            seconds = Math.max(seconds, (worker.endNanos - worker.startNanos) / 1e9);
+        }
+
+        System.out.printf(Locale.ROOT, "Bot swarm against %s:%d: %d bots on %d threads, %.1f s%n", settings.host, settings.port,
+                settings.bots, workers.length, seconds);
+        System.out.println("  Sessions:    " + logged + " logged in, " + failed + " failed, " + dropped
+                + " dropped by the server");
+        System.out.println("  Login time:  " + percentiles(logins));
+        System.out.printf(Locale.ROOT, "  Traffic:     %d packets received (%.0f per second), %d bytes in, %d bytes out%n",
+                packets, seconds > 0 ? packets / seconds : 0, bytesIn, bytesOut);
+        System.out.println("  Actions:     " + walks + " walks, " + talks + " talks, " + pings + " pings");
+        System.out.println("  Ping RTT:    " + percentiles(rtts));
+        System.out.println("  Protocol:    " + errors + " error messages, " + unknownAppearances + " unknown appearances");
+        // Las sesiones siguen en memoria hasta el final, con los personajes que cada bot conocia al salir
+        long sessionBytes = Math.max(0, SharedData.usedHeap() - heapBeforeSessions);
+        System.out.printf(Locale.ROOT, "  Memory:      %.1f MB of game data loaded once, %.1f KB of session state per bot"
+                        + " (%.1f known characters per bot)%n", shared.heapBytes / (1024.0 * 1024),
+                settings.bots > 0 ? sessionBytes / 1024.0 / settings.bots : 0,
+                settings.bots > 0 ? (double) characters / settings.bots : 0);
+    }
+
+    private static String percentiles(int[] histogram) {
+        long count = 0;
+        for (int value : histogram)
+            count += value;
+        if (count == 0) return "no samples";
+        StringBuilder text = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            long rank = (long) Math.ceil(count * percentile / 100), seen = 0;
+            int bucket = 0;
+            while ((seen += histogram[bucket]) < rank) bucket++;
+            text.append(String.format(Locale.ROOT, "p%.0f %s ms, ", percentile, bucket < BUCKETS ? bucket + 1 : ">" + BUCKETS));
+        }
+        return text.append(count).append(" samples").toString();
+    }
+
+    private static void record(int[] histogram, long nanos) {
+        histogram[(int) Math.min(nanos / 1_000_000, BUCKETS)]++;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // No hay nada mas que hacer con un canal que no se pudo cerrar
+        }
+    }
+
+    /**
+     * Configuracion de la prueba. Los valores predeterminados conectan 100 bots a un servidor local durante un minuto.
+     */
+    public static final class Settings {
+
+        private String host = "127.0.0.1";
+        private int port = 7666;
+        private int bots = 100;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int duration = 60;
+        private int rampUp = 10;
+        private String name = "Bot";
+        private String password = "bot";
+        private int walkInterval = 500;
+        private int talkInterval = 15_000;
+        private int pingInterval = 2_000;
+        private int[] maps = {1};
+        private long seed = System.nanoTime();
+
+        /** Servidor como {@code host:puerto}. */
+        public Settings server(String server) {
+            int colon = server.lastIndexOf(':');
+            if (colon <= 0) throw new IllegalArgumentException("The server must be host:port: " + server);
+            this.host = server.substring(0, colon);
+            this.port = Integer.parseInt(server.substring(colon + 1));
+            return this;
+        }
+
+        /** Cantidad de bots. */
+        public Settings bots(int bots) {
+            this.bots = bots;
+            return this;
+        }
+
+        /** Cantidad de hilos entre los que se reparten los bots. */
+        public Settings threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /** Tiempo que los bots permanecen en la partida desde que se inicia la prueba, en segundos. */
+        public Settings duration(int duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /** Tiempo entre la conexion de un bot y la del siguiente, en milisegundos. */
+        public Settings rampUp(int rampUp) {
+            this.rampUp = rampUp;
+            return this;
+        }
+
+        /** Prefijo del nombre de los personajes de los bots. */
+        public Settings name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /** Contraseña de los personajes de los bots. */
+        public Settings password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        /** Intervalo promedio entre los pasos de cada bot, en milisegundos. 0 los deja quietos. */
+        public Settings walkInterval(int walkInterval) {
+            this.walkInterval = walkInterval;
+            return this;
+        }
+
+        /** Intervalo promedio entre los mensajes de cada bot, en milisegundos. 0 los deja callados. */
+        public Settings talkInterval(int talkInterval) {
+            this.talkInterval = talkInterval;
+            return this;
+        }
+
+        /** Intervalo entre los PING de cada bot, en milisegundos. 0 no mide la latencia. */
+        public Settings pingInterval(int pingInterval) {
+            this.pingInterval = pingInterval;
+            return this;
+        }
+
+        /** Mapas cuyas celdas bloqueadas se cargan para que los bots las eviten. En el resto caminan sin restricciones. */
+        public Settings maps(int... maps) {
+            this.maps = maps.clone();
+            return this;
+        }
+
+        /** Semilla de los valores aleatorios, para repetir las mismas acciones. */
+        public Settings seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+    }
+
+    /**
+     * Datos del juego cargados una sola vez y compartidos, sin modificarse, por todos los bots de todos los hilos. Las tablas de
+     * cuerpos, cabezas, armas y efectos quedan en {@link GameData}, donde las leen los handlers.
+     */
+    private static final class SharedData {
+
+        /** Celdas bloqueadas de cada mapa cargado, indexadas por {@code x + y * (MAP_SIZE + 1)}. */
+        final Map<Integer, boolean[]> blocked;
+        /** Memoria que ocupan los datos cargados, medida aproximadamente. */
+        final long heapBytes;
+
+        private SharedData(Map<Integer, boolean[]> blocked, long heapBytes) {
+            this.blocked = blocked;
+            this.heapBytes = heapBytes;
+        }
+
+        /**
+         * Carga los datos con los mismos metodos que el cliente. Los mapas se cargan uno por uno en {@link GameData#mapData} y se
+         * conserva solo lo que necesitan los bots.
+         */
+        static SharedData load(int[] maps) {
+            long before = usedHeap();
+            GameData.init();
+            // loadMap libera las texturas del mapa anterior, aunque los bots nunca cargan ninguna
+            Surface.INSTANCE.init();
+            Map<Integer, boolean[]> blocked = new HashMap<>();
+            for (int map : maps) {
+                GameData.loadMap(map);
+                if (GameData.mapData == null) continue;
+                boolean[] cells = new boolean[(MAP_SIZE + 1) * (MAP_SIZE + 1)];
+                for (int y = 1; y <= MAP_SIZE; y++) {
+                    for (int x = 1; x <= MAP_SIZE; x++) {
+                        MapData cell = GameData.mapData[x][y];
+                        cells[x + y * (MAP_SIZE + 1)] = cell != null && cell.getBlocked();
+                    }
+                }
+                blocked.put(map, cells);
+            }
+            // Los bots no dibujan el mapa, asi que no hace falta conservar sus capas
+            GameData.mapData = null;
+            return new SharedData(Map.copyOf(blocked), Math.max(0, usedHeap() - before));
+        }
+
+        boolean isBlocked(int map, int x, int y) {
+            if (x < 1 || y < 1 || x > MAP_SIZE || y > MAP_SIZE) return true;
+            boolean[] cells = blocked.get(map);
+            return cells != null && cells[x + y * (MAP_SIZE + 1)];
+        }
+
+        /**
+         * Reemplaza por 0 (ninguno) el cuerpo, la cabeza, las armas o el efecto del personaje que no existan en los datos del
+         * cliente, para que el handler pueda crearlo igual.
+         *
+         * @return true si el personaje tenia alguno desconocido
+         */
+        static boolean sanitize(CharacterCreate event) {
+            boolean known = isKnown(event.body, GameData.bodyData) && isKnown(event.head, GameData.headData)
+                    && isKnown(event.weapon, GameData.weaponData) && isKnown(event.shield, GameData.shieldData)
+                    && isKnown(event.helmet, GameData.helmetsData) && isKnown(event.fx, GameData.fxData);
+            if (known) return false;
+            if (!isKnown(event.body, GameData.bodyData)) event.body = 0;
+            if (!isKnown(event.head, GameData.headData)) event.head = 0;
+            if (!isKnown(event.weapon, GameData.weaponData)) event.weapon = 0;
+            if (!isKnown(event.shield, GameData.shieldData)) event.shield = 0;
+            if (!isKnown(event.helmet, GameData.helmetsData)) event.helmet = 0;
+            if (!isKnown(event.fx, GameData.fxData)) event.fx = 0;
+            return true;
+        }
+
+        /** 0 es valido y significa que no hay. */
+        private static boolean isKnown(int index, Object[] data) {
+            return index == 0 || index > 0 && index < data.length && data[index] != null;
+        }
+
+        static long usedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
+    }
+
+    /**
+     * Hilo que atiende a un grupo de bots con un selector: los conecta, lee y procesa lo que envia el servidor, ejecuta sus
+     * acciones y escribe sus paquetes. Las mediciones son propias del hilo y se suman al final de la prueba.
+     */
+    private final class Worker implements Runnable {
+
+        final int index;
+        final Random random;
+        final List<Bot> bots = new ArrayList<>();
+        final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        final int[] loginMillis = new int[BUCKETS + 1];
+        final int[] rttMillis = new int[BUCKETS + 1];
+        /** Handlers del cliente que aplican los paquetes sobre la sesion de cada bot, compartidos por los bots del hilo. */
+        final Map<ServerPacket, PacketHandler> gameHandlers = new EnumMap<>(ServerPacket.class);
+        final CharacterCreateHandler characterCreate = new CharacterCreateHandler();
+        /** Evento en el que se decodifica CHARACTER_CREATE para revisar la apariencia antes de pasarselo al handler. */
+        final CharacterCreate characterCreateEvent = new CharacterCreate();
+        Selector selector;
+        long startNanos, endNanos;
+        long packets, bytesIn, bytesOut, walks, talks, pings, errors, unknownAppearances;
+
+        Worker(int index, Random random) {
+            this.index = index;
+            this.random = random;
+            gameHandlers.put(ServerPacket.USER_CHAR_INDEX_IN_SERVER, new UserCharIndexInServerHandler());
+            gameHandlers.put(ServerPacket.POS_UPDATE, new PosUpdateHandler());
+            gameHandlers.put(ServerPacket.CHARACTER_REMOVE, new CharacterRemoveHandler());
+            gameHandlers.put(ServerPacket.CHARACTER_MOVE, new CharacterMoveHandler());
+            gameHandlers.put(ServerPacket.FORCE_CHAR_MOVE, new ForceCharMoveHandler());
+            gameHandlers.put(ServerPacket.AREA_CHANGED, new AreaChangedHandler());
+            gameHandlers.put(ServerPacket.UPDATE_HP, new UpdateHPHandler());
+            gameHandlers.put(ServerPacket.UPDATE_MANA, new UpdateManaHandler());
+            gameHandlers.put(ServerPacket.UPDATE_STA, new UpdateStaHandler());
+            gameHandlers.put(ServerPacket.UPDATE_GOLD, new UpdateGoldHandler());
+            gameHandlers.put(ServerPacket.UPDATE_EXP, new UpdateExpHandler());
+            gameHandlers.put(ServerPacket.UPDATE_USER_STATS, new UpdateUserStatsHandler());
+        }
+
+        /**
+         * Agrega un bot al hilo, con un receptor que aplica sobre su sesion los handlers del cliente y los propios del bot.
+         */
+        void add(Bot bot) {
+            PacketReceiver receiver = new PacketReceiver(bot.session, DISCARD);
+            gameHandlers.forEach(receiver::register);
+            receiver.register(ServerPacket.CHARACTER_CREATE, this::characterCreate);
+            receiver.register(ServerPacket.LOGGED, (session, buffer) -> logged(bot, buffer));
+            receiver.register(ServerPacket.CHANGE_MAP, this::changeMap);
+            receiver.register(ServerPacket.PONG, this::pong);
+            receiver.register(ServerPacket.ERROR_MSG, (session, buffer) -> error(bot, buffer));
+            receiver.register(ServerPacket.DISCONNECT, (session, buffer) -> bot.close());
+            bot.receiver = receiver;
+            bots.add(bot);
+        }
+
+        void open(long startNanos) throws IOException {
+            this.startNanos = startNanos;
+            selector = Selector.open();
+        }
+
+        @Override
+        public void run() {
+            long quitNanos = startNanos + settings.duration * 1_000_000_000L;
+            int open = bots.size();
+            try {
+                while (open > 0) {
+                    long now = System.nanoTime();
+                    boolean quitting = stopping || now - quitNanos >= 0;
+                    open = 0;
+                    for (Bot bot : bots) {
+                        if (bot.state == Bot.CLOSED) continue;
+                        act(bot, now, quitting);
+                        if (bot.state != Bot.CLOSED) open++;
+                    }
+                    selector.select(Math.max(1, TICK_NANOS / 1_000_000));
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Bot bot = (Bot) key.attachment();
+                        if (!key.isValid()) continue;
+                        try {
+                            if (key.isConnectable()) connected(bot);
+                            else {
+                                if (key.isReadable()) read(bot);
+                                if (key.isValid() && key.isWritable()) flush(bot);
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            fail(bot, e.getMessage());
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException e) {
+                Logger.error("Bot swarm thread {} stopped: {}", index + 1, e.getMessage());
+                for (Bot bot : bots)
+                    bot.close();
+            } finally {
+                endNanos = System.nanoTime();
+                closeQuietly(selector);
+            }
+        }
+
+        /**
+         * Avanza el estado de un bot: lo conecta cuando le toca, controla los tiempos de espera y ejecuta las acciones que
+         * correspondan.
+         */
+        private void act(Bot bot, long now, boolean quitting) {
+            try {
+                switch (bot.state) {
+                    case Bot.WAITING -> {
+                        if (quitting) bot.close();
+                        else if (now - (startNanos + bot.index * settings.rampUp * 1_000_000L) >= 0) connect(bot, now);
+                    }
+                    case Bot.CONNECTING, Bot.LOGGING_IN -> {
+                        if (quitting) bot.close();
+                        else if (now - bot.connectNanos > LOGIN_TIMEOUT_NANOS) fail(bot, "login timed out");
+                    }
+                    case Bot.PLAYING -> {
+                        if (quitting) {
+                            writeQuit(bot.session);
+                            bot.state = Bot.QUITTING;
+                            bot.quitNanos = now;
+                        } else play(bot, now);
+                        flush(bot);
+                    }
+                    case Bot.QUITTING -> {
+                        if (now - bot.quitNanos > QUIT_TIMEOUT_NANOS) bot.close();
+                    }
+                    default -> {
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(bot, e.getMessage());
+            }
+        }
+
+        private void connect(Bot bot, long now) throws IOException {
+            bot.connectNanos = now;
+            bot.state = Bot.CONNECTING;
+            bot.channel = SocketChannel.open();
+            bot.channel.configureBlocking(false);
+            bot.channel.socket().setTcpNoDelay(true);
+            bot.key = bot.channel.register(selector, SelectionKey.OP_CONNECT, bot);
+            if (bot.channel.connect(new InetSocketAddress(settings.host, settings.port))) connected(bot);
+        }
+
+        private void connected(Bot bot) throws IOException {
+            bot.channel.finishConnect();
+            bot.state = Bot.LOGGING_IN;
+            bot.key.interestOps(SelectionKey.OP_READ);
+            bot.session.getUser().setUserName(bot.name);
+            writeLoginExistingChar(bot.session, bot.name, settings.password);
+            flush(bot);
+        }
+
+        /**
+         * Ejecuta las acciones de un bot en la partida cuyo momento ya llego.
+         */
+        private void play(Bot bot, long now) {
+            if (settings.walkInterval > 0 && now - bot.nextWalkNanos >= 0) {
+                bot.nextWalkNanos = now + jitter(settings.walkInterval);
+                walk(bot);
+            }
+            if (settings.talkInterval > 0 && now - bot.nextTalkNanos >= 0) {
+                bot.nextTalkNanos = now + jitter(settings.talkInterval);
+                writeTalk(bot.session, PHRASES[random.nextInt(PHRASES.length)]);
+                talks++;
+            }
+            if (settings.pingInterval > 0 && bot.session.getPingTime() == 0 && now - bot.nextPingNanos >= 0) {
+                bot.nextPingNanos = now + settings.pingInterval * 1_000_000L;
+                writeHeartbeatPing(bot.session);
+                pings++;
+            }
+        }
+
+        /**
+         * Da un paso en una direccion al azar que no este bloqueada, igual que {@link User#moveTo(Direction)}: envia el paso y
+         * mueve al personaje sin esperar la confirmacion del servidor. Como la sesion no tiene mapa, las celdas bloqueadas se
+         * consultan en los datos compartidos.
+         */
+        private void walk(Bot bot) {
+            User user = bot.session.getUser();
+            short charIndex = user.getUserCharIndex();
+            if (bot.session.getCharList().get(charIndex).isParalizado()) return;
+            int first = random.nextInt(4);
+            for (int i = 0; i < 4; i++) {
+                Direction direction = Direction.values()[(first + i) % 4];
+                int x = user.getUserPos().getX() + (direction == Direction.RIGHT ? 1 : direction == Direction.LEFT ? -1 : 0);
+                int y = user.getUserPos().getY() + (direction == Direction.DOWN ? 1 : direction == Direction.UP ? -1 : 0);
+                if (shared.isBlocked(user.getUserMap(), x, y)) continue;
+                writeWalk(bot.session, direction);
+                user.moveScreen(direction);
+                user.moveCharbyHead(charIndex, direction);
+                walks++;
+                return;
+            }
+        }
+
+        /** Devuelve un intervalo aleatorio entre la mitad y una vez y media el indicado, para que los bots no actuen a la vez. */
+        private long jitter(int millis) {
+            return millis * 500_000L + (long) (random.nextDouble() * millis * 1_000_000L);
+        }
+
+        private void read(Bot bot) throws IOException {
+            int read;
+            while ((read = bot.channel.read(readBuffer)) > 0) {
+                bytesIn += read;
+                bot.in.writeBlock(readBuffer.flip());
+                readBuffer.clear();
+            }
+            process(bot);
+            if (read < 0 && bot.state != Bot.CLOSED) {
+                if (bot.state == Bot.QUITTING) bot.close();
+                else fail(bot, "connection closed by the server");
+            }
+        }
+
+        /**
+         * Aplica los paquetes completos que envio el servidor con el receptor del bot. Los que el bot no necesita se descartan
+         * enteros.
+         */
+        private void process(Bot bot) {
+            PacketBuffer in = bot.in;
+            while (in.getLength() > 0 && bot.state != Bot.CLOSED) {
+                int id = in.peekByteAt(0);
+                int length;
+                try {
+                    length = ServerPacketLengths.frameLength(id, in);
+                } catch (ProtocolException e) {
+                    fail(bot, e.getMessage());
+                    return;
+                }
+                if (length < 0) return;
+                if (!bot.receiver.handlePacket(ServerPacket.fromId(id), in, length)) {
+                    fail(bot, bot.protocolError);
+                    return;
+                }
+                packets++;
+            }
+        }
+
+        /**
+         * Revisa la apariencia del personaje antes de crearlo con el handler del cliente, que no admite cuerpos ni cabezas que
+         * no esten en sus datos.
+         */
+        private void characterCreate(Session session, PacketBuffer buffer) {
+            buffer.mark();
+            characterCreateEvent.decode(buffer);
+            if (SharedData.sanitize(characterCreateEvent)) unknownAppearances++;
+            characterCreate.handleDecoded(session, characterCreateEvent);
+        }
+
+        private void logged(Bot bot, PacketBuffer buffer) {
+            buffer.readByte();
+            long now = System.nanoTime();
+            bot.session.getUser().setUserConected(true);
+            bot.state = Bot.PLAYING;
+            bot.loggedNanos = now;
+            record(loginMillis, now - bot.connectNanos);
+            bot.nextWalkNanos = now + jitter(settings.walkInterval);
+            bot.nextTalkNanos = now + jitter(settings.talkInterval);
+            bot.nextPingNanos = now;
+        }
+
+        /**
+         * Igual que {@link ChangeMapHandler}, pero sin cargar el mapa: solo se quitan los personajes, que el servidor vuelve a
+         * enviar.
+         */
+        private void changeMap(Session session, PacketBuffer buffer) {
+            buffer.readByte();
+            session.getUser().setUserMap(buffer.readInteger());
+            buffer.readInteger(); // Version del mapa
+            session.getCharList().eraseAllChars();
+        }
+
+        private void pong(Session session, PacketBuffer buffer) {
+            buffer.readByte();
+            if (session.getPingTime() != 0) record(rttMillis, System.nanoTime() - session.getPingTime());
+            session.setPingTime(0);
+        }
+
+        private void error(Bot bot, PacketBuffer buffer) {
+            buffer.readByte();
+            errors++;
+            Logger.warn("Server error for '{}': {}", bot.name, buffer.readCp1252String());
+        }
+
+        /**
+         * Escribe los paquetes pendientes del bot. Lo que el canal no acepta se guarda en un buffer propio del bot y se vuelve a
+         * intentar cuando el canal admite escritura.
+         */
+        private void flush(Bot bot) throws IOException {
+            if (bot.channel == null || !bot.channel.isConnected()) return;
+            if (bot.pending != null) {
+                bytesOut += bot.channel.write(bot.pending);
+                if (bot.pending.hasRemaining()) return;
+                bot.pending = null;
+            }
+            PacketBuffer out = bot.session.getOutputBuffer();
+            while (out.getLength() > 0) {
+                writeBuffer.clear();
+                out.readBytes(writeBuffer);
+                writeBuffer.flip();
+                bytesOut += bot.channel.write(writeBuffer);
+                if (writeBuffer.hasRemaining()) {
+                    bot.pending = ByteBuffer.allocate(writeBuffer.remaining()).put(writeBuffer).flip();
+                    break;
+                }
+            }
+            bot.key.interestOps(bot.pending != null ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        private void fail(Bot bot, String reason) {
+            if (bot.state == Bot.CLOSED) return;
+            if (bot.state == Bot.PLAYING) bot.dropped = true;
+            Logger.warn("Bot '{}' disconnected: {}", bot.name, reason);
+            bot.close();
+        }
+
+    }
+
+    /**
+     * Un bot: su sesion del cliente, el canal por el que la atiende y los tiempos de sus acciones. Solo lo usa el hilo que lo
+     * atiende.
+     */
+    private static final class Bot {
+
+        static final int WAITING = 0, CONNECTING = 1, LOGGING_IN = 2, PLAYING = 3, QUITTING = 4, CLOSED = 5;
+
+        final int index;
+        final String name;
+        /** Sesion sin mapa con el usuario, los personajes que ve y los paquetes que todavia no escribio en el canal. */
+        final Session session = new Session(OUTPUT_BUFFER_SIZE, reason -> protocolError = reason);
+        /** Error de protocolo por el que el receptor cerro la sesion, o null si no hubo ninguno. */
+        String protocolError;
+        /** Bytes del servidor que todavia no forman un paquete completo. */
+        final PacketBuffer in = new PacketBuffer();
+        /** Receptor que aplica los paquetes del servidor sobre la sesion. */
+        PacketReceiver receiver;
+        SocketChannel channel;
+        SelectionKey key;
+        /** Bytes que el canal no acepto en la ultima escritura, o null si no quedo nada pendiente. */
+        ByteBuffer pending;
+        int state = WAITING;
+        boolean dropped;
+        long connectNanos, loggedNanos, quitNanos;
+        long nextWalkNanos, nextTalkNanos, nextPingNanos;
+
+        Bot(int index, String name) {
+            this.index = index;
+            this.name = name;
+        }
+
+        void close() {
+            state = CLOSED;
+            if (key != null) key.cancel();
+            closeQuietly(channel);
+        }
+
+    }
+
+}
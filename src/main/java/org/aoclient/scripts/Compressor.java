@@ -1,19 +1,11 @@
 package org.aoclient.scripts;
 
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Enumeration;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Stream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
-import java.util.zip.ZipOutputStream;
 
 /**
  * <p>
@@ -49,21 +41,16 @@ public class Compressor {
      * Este metodo preserva la estructura jerarquica original de la carpeta dentro del archivo comprimido y utiliza codificacion
      * UTF-8 para garantizar la compatibilidad de caracteres especiales en los nombres de archivos y carpetas.
      * <p>
-     * El proceso interno funciona de la siguiente manera:
-     * <ol>
-     * <li>Convierte {@code resourceName} en un objeto {@link Path} para la manipulacion eficiente de rutas
-     * <li>Valida que el nombre del recurso (que es una carpeta en este caso) exista y sea un directorio
-     * <li>Crea un {@link FileOutputStream} hacia el archivo ao especificado
-     * <li>Envuelve este stream en un {@link ZipOutputStream} para manejar la compresion ao
-     * <li>Crea un flujo de ruta ({@code pathStream}) utilizando {@link Files#walk} envuelto en <i>try-with-resources</i>
-     * <li>Recorre recursivamente todos los archivos regulares encontrados en la carpeta y subcarpetas
-     * <li>Para cada archivo encontrado, delega la compresion al metodo {@link #compressFile} que utiliza un buffer optimizado
-     * </ol>
+     * La construccion la hace {@link ArchiveBuilder}, que comprime los archivos en paralelo y escribe las entradas ordenadas por
+     * su ruta, asi que la misma carpeta produce siempre el mismo archivo. Junto al archivo ao guarda un {@link ArchiveManifest}
+     * con el hash de cada entrada, y la siguiente vez copia tal cual las entradas que no cambiaron en lugar de volver a
+     * comprimirlas. Al terminar imprime cuanto tardo cada fase.
      * <p>
      * Si ocurre un error durante la compresion, se retorna un valor negativo (-1) con informacion sobre la causa del problema,
      * evitando que se cierre el compresor.
      * <p>
-     * Es importante aclarar que siempre sobrescribe el archivo ao si existe.
+     * Es importante aclarar que siempre sobrescribe el archivo ao si existe. El archivo nuevo se escribe aparte y reemplaza al
+     * anterior recien al final, asi que un error nunca deja un archivo a medio escribir.
      * <p>
      * La codificacion UTF-8 asegura que los archivos o carpetas con nombres que contienen caracteres especiales (acentos, ñ,
      * caracteres no latinos, etc.) se manejen correctamente y puedan ser extraidos en cualquier sistema operativo.
@@ -100,20 +87,10 @@ public class Compressor {
             return -1;
         }
 
-        final AtomicInteger fileCount = new AtomicInteger(0);
-        try (FileOutputStream fos = new FileOutputStream(aoName); ZipOutputStream zos = new ZipOutputStream(fos, StandardCharsets.UTF_8)) {
-            try (Stream<Path> pathStream = Files.walk(path)) {
-                pathStream.filter(Files::isRegularFile).forEach(file -> {
-                    if (compressFile(path, file, zos)) fileCount.incrementAndGet();
-                });
-            } catch (IOException e) {
-                System.err.println("Error walking directory structure: " + e.getMessage());
-                return -1;
-            } catch (Exception e) {
-                System.err.println("Unexpected error during directory traversal: " + e.getClass().getName() + ": " + e.getMessage());
-                return -1;
-            }
-            return fileCount.get();
+        try {
+            ArchiveBuilder.Result result = new ArchiveBuilder().build(path, Paths.get(aoName), true);
+            result.print();
+            return result.getEntries();
         } catch (IOException e) {
             System.err.println("Error creating ao file: " + e.getMessage());
             return -1;
@@ -129,6 +106,13 @@ public class Compressor {
      * Este metodo busca dentro del archivo ao especificado un recurso cuyo nombre base (sin la extension) coincida con el nombre
      * del recurso proporcionado. Si se encuentra una coincidencia, el contenido del recurso se lee y se devuelve como un array de
      * bytes. Si ocurre un error, se registra en la consola y se devuelve null.
+     * <p>
+     * El archivo se abre e indexa una sola vez con {@link ResourcePack}, asi que las lecturas siguientes del mismo archivo no
+     * vuelven a leer el directorio central del zip ni recorren sus entradas.
+     * <p>
+     * Si junto al archivo ao hay un paquete mapeable del mismo nombre con extension {@link AssetPack#EXTENSION}, generado con
+     * {@link AssetPacker} a partir de la version actual del archivo, el recurso se lee del paquete. Si el paquete no tiene el
+     * recurso o no se puede leer, se lee del archivo ao.
      * <pre>{@code
      * // Lee un archivo desde un ao
      * byte[] data = readResource("resources/inits.ao", "heads");
@@ -145,52 +129,75 @@ public class Compressor {
      * @return bytes del recurso encontrado, o null si ocurre un error
      */
     public static byte[] readResource(String aoName, String resourceName) {
-
-        if (aoName == null || resourceName == null) {
-            System.err.println("aoName and resourceName cannot be null");
-            return null;
+        if (!validate(aoName, resourceName)) return null;
+        AssetPack pack = AssetPack.forArchive(aoName);
+        if (pack != null) {
+            try {
+                return pack.read(resourceName);
+            } catch (IOException e) {
+                packFailed(pack, resourceName, e);
+            }
         }
-
-        if (aoName.isEmpty() || resourceName.isEmpty()) {
-            System.err.println("aoName and resourceName cannot be empty");
-            return null;
+        try {
+            return ResourcePack.get(aoName).read(resourceName);
+        } catch (FileNotFoundException e) {
+            System.err.println(e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Error reading resource '" + resourceName + "' from ao file '" + aoName + "': " + e.getMessage());
         }
+        return null;
+    }
 
-        try (ZipFile zipFile = new ZipFile(aoName, StandardCharsets.UTF_8)) {
-
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
-
-            while (entries.hasMoreElements()) {
-
-                ZipEntry entry = entries.nextElement();
-
-                // Ignora directorios
-                if (entry.isDirectory()) continue;
-
-                String fileName = getFileName(entry.getName());
-                String baseName = getBaseName(fileName);
-
-                if (baseName.equalsIgnoreCase(resourceName)) {
-                    // Lee los datos del recurso encontrado desde un try-with-resources garantizando que el stream se cierre automaticamente al finalizar
-                    try (InputStream is = zipFile.getInputStream(entry)) {
-                        return is.readAllBytes();
-                    } catch (IOException e) {
-                        System.err.println("Error reading resource data for '" + resourceName + "': " + e.getMessage());
-                        return null;
-                    }
-                }
-
+    /**
+     * Abre un stream con el contenido de un recurso de un archivo comprimido ao, para procesarlo sin copiarlo antes a un array
+     * (por ejemplo, para decodificar una imagen con {@code ImageIO.read}). Hay que cerrarlo al terminar de leer.
+     *
+     * @param aoName       nombre del archivo ao que contiene el recurso
+     * @param resourceName nombre del recurso a leer (sin extension)
+     * @return el stream del recurso, o null si ocurre un error
+     */
+    public static InputStream openResource(String aoName, String resourceName) {
+        if (!validate(aoName, resourceName)) return null;
+        AssetPack pack = AssetPack.forArchive(aoName);
+        if (pack != null) {
+            try {
+                return pack.openStream(resourceName);
+            } catch (IOException e) {
+                packFailed(pack, resourceName, e);
             }
-
-            System.err.println("No files were found matching '" + resourceName + "' in " + aoName);
-
+        }
+        try {
+            return ResourcePack.get(aoName).openStream(resourceName);
+        } catch (FileNotFoundException e) {
+            System.err.println(e.getMessage());
         } catch (IOException e) {
-            System.err.println("Error accessing ao file '" + aoName + "'");
+            System.err.println("Error reading resource '" + resourceName + "' from ao file '" + aoName + "': " + e.getMessage());
         }
-
         return null;
     }
 
+    /**
+     * Avisa que no se pudo leer un recurso del paquete, salvo que simplemente no este en el paquete, antes de buscarlo en el
+     * archivo ao.
+     */
+    private static void packFailed(AssetPack pack, String resourceName, IOException e) {
+        if (!(e instanceof FileNotFoundException))
+            System.err.println("Error reading resource '" + resourceName + "' from " + pack.getPath()
+                    + ", reading it from the ao file: " + e.getMessage());
+    }
+
+    private static boolean validate(String aoName, String resourceName) {
+        if (aoName == null || resourceName == null) {
+            System.err.println("aoName and resourceName cannot be null");
+            return false;
+        }
+        if (aoName.isEmpty() || resourceName.isEmpty()) {
+            System.err.println("aoName and resourceName cannot be empty");
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Extrae el nombre del archivo de una ruta completa.
      * <p>
@@ -215,9 +222,10 @@ public class Compressor {
      * @param path ruta completa del archivo
      * @return el nombre del archivo sin la estructura de directorios
      */
-    private static String getFileName(String path) {
-        // Obtiene el indice de la ultima ocurrencia del separador (del sistema operativo actual) de archivos en la ruta
-        int lastSeparatorIndex = path.lastIndexOf(File.separatorChar);
+    static String getFileName(String path) {
+        /* Obtiene el indice de la ultima ocurrencia de cualquiera de los dos separadores, ya que los archivos generados por
+         * ArchiveBuilder usan '/' y los anteriores usaban el separador del sistema en el que se comprimieron. */
+        int lastSeparatorIndex = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
         /* Si encontro algun separador (lastSeparatorIndex >= 0), extrae la subcadena desde la posicion justo despues del ultimo
          * separador hasta el final. Si no se encontro ningun separador (lastSeparatorIndex == -1), devuelve la cadena original
          * completa, asumiendo que ya es solo un nombre de archivo. */
@@ -247,76 +255,11 @@ public class Compressor {
      * @param fileName el nombre del archivo del que se extraera el nombre base
      * @return el nombre base del archivo sin la extension
      */
-    private static String getBaseName(String fileName) {
+    static String getBaseName(String fileName) {
         int dotIndex = fileName.lastIndexOf('.');
         return dotIndex > 0 ? fileName.substring(0, dotIndex) : fileName;
     }
 
-    /**
-     * <p>
-     * Comprime un archivo individual dentro del archivo ao utilizando un buffer optimizado.
-     * <p>
-     * El proceso funciona de la siguiente manera:
-     * <ol>
-     * <li>Crea una entrada zip con la ruta relativa del archivo respecto a la carpeta base
-     * <li>Establece un buffer de 8KB para transferir el contenido del archivo por fragmentos
-     * <li>Lee el archivo de entrada utilizando un {@link InputStream} con <i>try-with-resources</i>
-     * <li>Transfiere los datos por bloques, optimizando el uso de memoria
-     * <li>Cierra la entrada zip actual una vez completada la transferencia
-     * </ol>
-     * <p>
-     * La implementacion del buffer personalizado de 8KB (8192 bytes) ofrece un equilibrio optimo entre:
-     * <ul>
-     * <li>Rendimiento de compresion: evita lecturas/escrituras por byte que serian ineficientes
-     * <li>Uso de memoria: no ocupa demasiado espacio en RAM durante la operacion
-     * <li>Compatibilidad: funciona bien con la mayoria de tipos de sistemas de archivos
-     * </ul>
-     * <p>
-     * El buffer es esencial para archivos grandes, ya que evita cargar todo el contenido en memoria a la vez. Esto previene
-     * posibles errores de {@code OutOfMemoryError} y mejora significativamente el rendimiento al reducir el numero de operaciones
-     * de I/O necesarias.
-     * <p>
-     * Realize las siguientes compresiones de la carpeta sounds y estos fueron los resultados:
-     * <pre>{@code
-     * Primera prueba
-     * Se comprimio en 3550 ms sin buffer
-     * Se comprimio en 755 ms con buffer
-     * Segunda prueba
-     * Se comprimio en 2580 ms sin buffer
-     * Se comprimio en 782 ms con buffer
-     * }</pre>
-     * <p>
-     * Por lo tanto, usar buffer mejora la velocidad de compresion aproximadamente un <b>70%</b>, siendo 4 veces mas rapida que
-     * sin buffer!
-     *
-     * @param path carpeta que se esta comprimiendo
-     * @param file archivo que se va a comprimir
-     * @param zos  stream de salida zip donde se escribira el archivo
-     * @return {@code true} si el archivo se comprimio exitosamente, {@code false} si ocurrio algun error
-     */
-    private static boolean compressFile(Path path, Path file, ZipOutputStream zos) {
-
-        final int defaultBufferSize = 8192; // 8KB
-
-        try {
-            zos.putNextEntry(new ZipEntry(path.relativize(file).toString()));
-            byte[] buffer = new byte[defaultBufferSize];
-            int bytesRead;
-            try (InputStream in = Files.newInputStream(file)) {
-                while ((bytesRead = in.read(buffer)) != -1)
-                    zos.write(buffer, 0, bytesRead);
-            }
-            zos.closeEntry();
-            return true;
-        } catch (IOException e) {
-            System.err.println("Error compressing '" + file + "' - I/O error: " + e.getMessage());
-            return false;
-        } catch (Exception e) {
-            System.err.println("Error compressing '" + file + "' - Unexpected error: " + e.getClass().getName() + ": " + e.getMessage());
-            return false;
-        }
-    }
-
     public static void main(String[] args) {
 
         String resourceName = "resources/gui-descompressed";
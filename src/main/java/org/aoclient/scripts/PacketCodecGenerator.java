@@ -0,0 +1,832 @@
+package org.aoclient.scripts;
+
+import org.aoclient.network.protocol.ClientPacket;
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.types.GMCommand;
+import org.aoclient.network.protocol.types.MessageType;
+import org.aoclient.scripts.PacketLayout.Kind;
+import org.aoclient.scripts.PacketLayout.Node;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.aoclient.network.protocol.ServerPacket.*;
+import static org.aoclient.scripts.PacketLayout.codes;
+import static org.aoclient.scripts.PacketLayout.fixedSize;
+import static org.aoclient.scripts.PacketLayout.parse;
+
+/**
+ * <p>
+ * Genera los codecs de los paquetes a partir de los layouts declarados en {@link ServerPacket}, {@link MessageType},
+ * {@link ClientPacket} y {@link GMCommand}, para que la disposicion de los bytes de cada paquete se escriba en un unico lugar.
+ * <p>
+ * Genera seis clases en el paquete {@code org.aoclient.network.protocol.codec}:
+ * <ul>
+ * <li>{@code ServerPacketLengths}: calcula la longitud exacta de cada paquete del servidor con codigo lineal propio de cada
+ * layout, examinando solo los prefijos de longitud de las cadenas y los contadores. Los paquetes de layout fijo se resuelven con
+ * una comparacion. La usa {@code PacketFramer} para saber si un paquete llego completo.
+ * <li>{@code ClientPacketLengths}: lo mismo para los paquetes del cliente, incluidos los comandos de GM. La usa
+ * {@link ServerSimulator} para delimitar los paquetes que recibe.
+ * <li>{@code ClientPacketEncoder} y {@code GMCommandEncoder}: un encoder por paquete del cliente y por comando de GM, con un
+ * parametro tipado por cada campo del layout, que escribe el paquete completo en el buffer sin asignar memoria. Los usan los
+ * metodos {@code write} de {@code Protocol}.
+ * <li>{@code ServerPacketEncoder}: un encoder por paquete del servidor, salvo los que tienen listas con contador o mensajes de
+ * {@code MULTI_MESSAGE}. Lo usa {@link ServerSimulator} para generar el trafico del servidor.
+ * <li>{@code ServerPacketDecoder}: un evento con un atributo tipado por cada campo, y el codigo que lo lee del buffer, para los
+ * paquetes del servidor de {@link #DECODED}. Sus handlers reciben el evento ya decodificado en lugar del buffer.
+ * </ul>
+ * Los parametros de los encoders y los atributos de los eventos llevan los nombres que el layout declara para cada campo
+ * ({@code I{charIndex}}); un campo sin nombre en un layout que llega a uno de ellos es un error.
+ * El codigo generado se versiona junto con el resto del codigo, ya que el generador necesita las enumeraciones compiladas. Se
+ * regenera con la task {@code generatePacketCodecs} de Gradle despues de modificar un layout, y la task {@code checkPacketCodecs}
+ * (parte de {@code check}) falla si el codigo versionado no coincide con los layouts.
+ * <p>
+ * Uso: {@code PacketCodecGenerator [--check] [directorio de fuentes]}. El directorio predeterminado es {@code src/main/java}.
+ */
+
+public class PacketCodecGenerator {
+
+    private static final String PACKAGE = "org.aoclient.network.protocol.codec";
+    private static final String DEFAULT_SOURCE_ROOT = "src/main/java";
+    /**
+     * Paquetes del servidor que tienen decoder: los mas frecuentes en una zona concurrida, que el hilo de red decodifica antes de
+     * encolarlos para que el hilo de renderizado solo aplique los campos.
+     * <p>
+     * La lista es acotada a proposito. El resto de los paquetes llega a lo sumo unas pocas veces por segundo y su handler lee el
+     * buffer directamente: un evento por paquete no ahorraria tiempo en el hilo de renderizado y sumaria un slot en cada
+     * {@code InboundFrame} de la cola. Esos handlers se siguen verificando contra el layout: {@code PacketHandlerLayoutTest}
+     * comprueba que cada uno lea exactamente la longitud que calcula {@code ServerPacketLengths}. Un paquete que pase a ser
+     * frecuente se agrega aca y su handler pasa a implementar {@code DecodedPacketHandler}.
+     */
+    private static final List<ServerPacket> DECODED = List.of(CHARACTER_MOVE, CHARACTER_CREATE, UPDATE_HP, UPDATE_MANA,
+            UPDATE_STA, CREATE_FX, CHAT_OVER_HEAD);
+
+    public static void main(String[] args) throws IOException {
+        boolean check = args.length > 0 && args[0].equals("--check");
+        int rootArg = check ? 1 : 0;
+        Path sourceRoot = Paths.get(args.length > rootArg ? args[rootArg] : DEFAULT_SOURCE_ROOT);
+        Path dir = sourceRoot.resolve(PACKAGE.replace('.', '/'));
+
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("ServerPacketLengths", generateServerPacketLengths());
+        sources.put("ClientPacketLengths", generateClientPacketLengths());
+        sources.put("ClientPacketEncoder", generateClientPacketEncoder());
+        sources.put("GMCommandEncoder", generateGMCommandEncoder());
+        sources.put("ServerPacketEncoder", generateServerPacketEncoder());
+        sources.put("ServerPacketDecoder", generateServerPacketDecoder());
+
+        int stale = 0;
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            Path file = dir.resolve(entry.getKey() + ".java");
+            if (check) {
+                if (!Files.exists(file) || !Files.readString(file, StandardCharsets.UTF_8).equals(entry.getValue())) {
+                    System.err.println("'" + file + "' is out of date, run generatePacketCodecs");
+                    stale++;
+                }
+            } else {
+                Files.createDirectories(dir);
+                Files.writeString(file, entry.getValue(), StandardCharsets.UTF_8);
+                System.out.println("Generated " + file);
+            }
+        }
+        if (stale > 0) System.exit(1);
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------------------
+    // ServerPacketLengths
+    // ---------------------------------------------------------------------------------------------------------------------------
+
+    private static String generateServerPacketLengths() {
+        Source src = new Source();
+        src.header("org.aoclient.network.PacketBuffer", "", "java.net.ProtocolException");
+        src.line("/**");
+        src.line(" * Calcula la longitud exacta de los paquetes del servidor segun los layouts de {@code ServerPacket} y {@code MessageType}.");
+        src.line(" * <p>");
+        src.line(" * Generado por {@code PacketCodecGenerator}, no modificar a mano.");
+        src.line(" */");
+        src.line("");
+        src.open("public final class ServerPacketLengths {");
+        src.line("");
+        src.open("private ServerPacketLengths() {");
+        src.close("}");
+        src.line("");
+        src.line("/**");
+        src.line(" * Calcula la longitud del paquete que comienza en el cursor de lectura del buffer, incluyendo su byte identificador.");
+        src.line(" *");
+        src.line(" * @param id     ID del paquete");
+        src.line(" * @param buffer buffer con los bytes recibidos del servidor");
+        src.line(" * @return la longitud total del paquete o, si todavia faltan bytes, la cantidad minima de bytes que necesita con signo");
+        src.line(" * negativo");
+        src.line(" * @throws ProtocolException si el ID no corresponde a un paquete del servidor o el paquete contiene un mensaje de");
+        src.line(" *                           {@code MULTI_MESSAGE} de tipo desconocido, con lo que no se puede saber donde termina");
+        src.line(" */");
+        src.open("public static int frameLength(int id, PacketBuffer buffer) throws ProtocolException {");
+        src.line("int available = buffer.getLength();");
+        src.open("return switch (id) {");
+        List<ServerPacket> variable = new ArrayList<>();
+        for (ServerPacket packet : ServerPacket.values()) {
+            List<Node> nodes = parse(packet.getLayout());
+            int size = fixedSize(nodes);
+            if (size >= 0) src.line("case " + packet.getId() + " -> fixed(available, " + (1 + size) + "); // " + packet.name());
+            else {
+                src.line("case " + packet.getId() + " -> " + camelCase(packet.name()) + "(buffer, available);");
+                variable.add(packet);
+            }
+        }
+        src.line("default -> throw new ProtocolException(\"Unknown server packet ID: \" + id);");
+        src.close("};");
+        src.close("}");
+        src.line("");
+        src.open("private static int fixed(int available, int length) {");
+        src.line("return available >= length ? length : -length;");
+        src.close("}");
+
+        for (ServerPacket packet : variable) {
+            boolean message = contains(parse(packet.getLayout()), Kind.MESSAGE);
+            emitLengthMethod(src, packet.name(), packet.getLayout(), message ? " throws ProtocolException" : "");
+        }
+
+        src.line("");
+        src.line("/**");
+        src.line(" * Recorre el mensaje de un {@code MULTI_MESSAGE} que comienza en la posicion indicada.");
+        src.line(" *");
+        src.line(" * @return la posicion siguiente al mensaje o, si faltan bytes para leer un prefijo, la cantidad minima de bytes con signo");
+        src.line(" * negativo");
+        src.line(" * @throws ProtocolException si el tipo de mensaje es desconocido");
+        src.line(" */");
+        src.open("private static int multiMessage(PacketBuffer buffer, int available, int offset) throws ProtocolException {");
+        src.line("if (available < offset + 1) return -(offset + 1);");
+        src.line("int type = buffer.peekByteAt(offset);");
+        src.line("offset++;");
+        src.open("switch (type) {");
+        List<String> empty = new ArrayList<>();
+        for (MessageType type : MessageType.values())
+            if (parse(type.getLayout()).isEmpty()) empty.add(String.valueOf(type.ordinal()));
+        src.open("case " + String.join(", ", empty) + " -> {");
+        src.line("// Mensajes sin datos adicionales");
+        src.close("}");
+        for (MessageType type : MessageType.values()) {
+            List<Node> nodes = parse(type.getLayout());
+            if (nodes.isEmpty()) continue;
+            src.open("case " + type.ordinal() + " -> { // " + type.name());
+            LengthEmitter emitter = new LengthEmitter(src, 0);
+            emitter.emit(nodes);
+            emitter.flush();
+            src.close("}");
+        }
+        // Sin conocer el tipo no se sabe donde termina el mensaje, asi que se pierde la sincronizacion con el flujo
+        src.line("default -> throw new ProtocolException(\"Unknown MULTI_MESSAGE type: \" + type);");
+        src.close("}");
+        src.line("return offset;");
+        src.close("}");
+        src.line("");
+        src.close("}");
+        return src.toString();
+    }
+
+    private static String generateClientPacketLengths() {
+        Source src = new Source();
+        src.header("org.aoclient.network.PacketBuffer");
+        src.line("/**");
+        src.line(" * Calcula la longitud exacta de los paquetes del cliente segun los layouts de {@code ClientPacket} y {@code GMCommand}.");
+        src.line(" * <p>");
+        src.line(" * Generado por {@code PacketCodecGenerator}, no modificar a mano.");
+        src.line(" */");
+        src.line("");
+        src.open("public final class ClientPacketLengths {");
+        src.line("");
+        src.open("private ClientPacketLengths() {");
+        src.close("}");
+        src.line("");
+        src.line("/**");
+        src.line(" * Calcula la longitud del paquete que comienza en el cursor de lectura del buffer, incluyendo su byte identificador.");
+        src.line(" *");
+        src.line(" * @param id     ID del paquete");
+        src.line(" * @param buffer buffer con los bytes recibidos del cliente");
+        src.line(" * @return la longitud total del paquete o, si todavia faltan bytes, la cantidad minima de bytes que necesita con signo");
+        src.line(" * negativo");
+        src.line(" * @throws IllegalArgumentException si el ID no corresponde a un paquete que envie el cliente");
+        src.line(" */");
+        src.open("public static int frameLength(int id, PacketBuffer buffer) {");
+        src.line("int available = buffer.getLength();");
+        src.open("return switch (id) {");
+        List<ClientPacket> variable = new ArrayList<>();
+        for (ClientPacket packet : ClientPacket.values()) {
+            if (packet.getLayout() == null) continue;
+            int size = fixedSize(parse(packet.getLayout()));
+            if (size >= 0) src.line("case " + packet.getId() + " -> fixed(available, " + (1 + size) + "); // " + packet.name());
+            else {
+                src.line("case " + packet.getId() + " -> " + camelCase(packet.name()) + "(buffer, available);");
+                variable.add(packet);
+            }
+        }
+        src.line("default -> throw new IllegalArgumentException(\"Unknown client packet ID: \" + id);");
+        src.close("};");
+        src.close("}");
+        src.line("");
+        src.open("private static int fixed(int available, int length) {");
+        src.line("return available >= length ? length : -length;");
+        src.close("}");
+
+        for (ClientPacket packet : variable)
+            emitLengthMethod(src, packet.name(), packet.getLayout(), "");
+
+        src.line("");
+        src.line("/**");
+        src.line(" * Recorre el comando de un {@code GM_COMMANDS} que comienza en la posicion indicada.");
+        src.line(" *");
+        src.line(" * @return la posicion siguiente al comando o, si faltan bytes para leer un prefijo, la cantidad minima de bytes con signo");
+        src.line(" * negativo");
+        src.line(" */");
+        src.open("private static int gmCommand(PacketBuffer buffer, int available, int offset) {");
+        src.line("if (available < offset + 1) return -(offset + 1);");
+        src.line("int command = buffer.peekByteAt(offset);");
+        src.line("offset++;");
+        src.open("switch (command) {");
+        for (GMCommand command : GMCommand.values()) {
+            if (command.getLayout() == null) continue;
+            src.open("case " + command.getId() + " -> { // " + command.name());
+            LengthEmitter emitter = new LengthEmitter(src, 0);
+            emitter.emit(parse(command.getLayout()));
+            emitter.flush();
+            src.close("}");
+        }
+        src.line("default -> throw new IllegalArgumentException(\"Unknown GM command ID: \" + command);");
+        src.close("}");
+        src.line("return offset;");
+        src.close("}");
+        src.line("");
+        src.close("}");
+        return src.toString();
+    }
+
+    /**
+     * Indica si un layout contiene, en cualquier nivel, un elemento del tipo indicado.
+     */
+    private static boolean contains(List<Node> nodes, Kind kind) {
+        for (Node node : nodes)
+            if (node.kind == kind || node.children != null && contains(node.children, kind)) return true;
+        return false;
+    }
+
+    /**
+     * Emite el metodo que calcula la longitud de un paquete de layout variable.
+     */
+    private static void emitLengthMethod(Source src, String name, String layout, String throwsClause) {
+        src.line("");
+        src.line("/** {@code " + name + "}: {@code " + codes(layout) + "}. */");
+        src.open("private static int " + camelCase(name) + "(PacketBuffer buffer, int available)" + throwsClause + " {");
+        // El byte identificador se suma junto con los primeros campos de tamaño fijo
+        LengthEmitter emitter = new LengthEmitter(src, 1);
+        emitter.emit(parse(layout));
+        emitter.flush();
+        src.line("return available >= offset ? offset : -offset;");
+        src.close("}");
+    }
+
+    /**
+     * Emite el codigo que avanza {@code offset} sobre los elementos de un layout, acumulando los elementos de tamaño fijo
+     * consecutivos en una unica suma.
+     */
+    private static class LengthEmitter {
+
+        private final Source src;
+        /** Bytes de tamaño fijo que todavia no se sumaron a {@code offset}. */
+        private int pending;
+        /** Indica si hay que declarar la variable {@code offset}, que en los mensajes es un parametro. */
+        private boolean declare;
+        private int variables;
+
+        /**
+         * @param src     codigo en el que se emite
+         * @param initial bytes ya recorridos al comenzar; si es mayor a 0, la primera suma declara {@code offset}
+         */
+        LengthEmitter(Source src, int initial) {
+            this.src = src;
+            this.pending = initial;
+            this.declare = initial > 0;
+        }
+
+        void emit(List<Node> nodes) {
+            for (Node node : nodes) {
+                int size = fixedSize(node);
+                if (size >= 0) {
+                    pending += size;
+                    continue;
+                }
+                flush();
+                switch (node.kind) {
+                    case PRIMITIVE -> {
+                        // Solo las cadenas tienen tamaño variable
+                        src.line("if (available < offset + 2) return -(offset + 2);");
+                        src.line("offset += 2 + Math.max(buffer.peekIntegerAt(offset), 0);");
+                    }
+                    case GROUP -> emit(node.children);
+                    case REPEAT -> {
+                        String index = "i" + variables++;
+                        src.open("for (int " + index + " = 0; " + index + " < " + node.count + "; " + index + "++) {");
+                        emit(node.children);
+                        flush();
+                        src.close("}");
+                    }
+                    case COUNTED -> {
+                        String count = "count" + variables++;
+                        src.line("if (available < offset + 2) return -(offset + 2);");
+                        src.line("int " + count + " = Math.max(buffer.peekIntegerAt(offset), 0);");
+                        src.line("offset += 2;");
+                        int elementSize = fixedSize(node.children);
+                        if (elementSize > 0) src.line("offset += " + count + " * " + elementSize + ";");
+                        else if (elementSize < 0) {
+                            String index = "i" + variables++;
+                            src.open("for (int " + index + " = 0; " + index + " < " + count + "; " + index + "++) {");
+                            emit(node.children);
+                            flush();
+                            src.close("}");
+                        }
+                    }
+                    case MESSAGE -> {
+                        src.line("offset = multiMessage(buffer, available, offset);");
+                        src.line("if (offset < 0) return offset;");
+                    }
+                    case CONDITIONAL -> {
+                        String flag = "flag" + variables++;
+                        src.line("if (available < offset + 1) return -(offset + 1);");
+                        src.line("boolean " + flag + " = buffer.peekByteAt(offset) != 0;");
+                        src.line("offset++;");
+                        src.open("if (" + flag + ") {");
+                        emit(node.children.get(0).children);
+                        flush();
+                        src.middle("} else {");
+                        emit(node.children.get(1).children);
+                        flush();
+                        src.close("}");
+                    }
+                    case GM_COMMAND -> {
+                        src.line("offset = gmCommand(buffer, available, offset);");
+                        src.line("if (offset < 0) return offset;");
+                    }
+                    default -> throw new IllegalStateException("Unsupported element in packet layout: " + node.kind);
+                }
+            }
+        }
+
+        void flush() {
+            if (declare) src.line("int offset = " + pending + ";");
+            else if (pending > 0) src.line("offset += " + pending + ";");
+            declare = false;
+            pending = 0;
+        }
+
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------------------
+    // ClientPacketEncoder y GMCommandEncoder
+    // ---------------------------------------------------------------------------------------------------------------------------
+
+    private static String generateClientPacketEncoder() {
+        Source src = new Source();
+        src.header("org.aoclient.network.PacketBuffer", "org.aoclient.network.protocol.ClientPacket");
+        src.line("/**");
+        src.line(" * Encoders de los paquetes del cliente segun los layouts de {@code ClientPacket}. Cada metodo escribe el paquete completo,");
+        src.line(" * incluyendo su byte identificador. Los comandos de GM estan en {@link GMCommandEncoder}.");
+        src.line(" * <p>");
+        src.line(" * Generado por {@code PacketCodecGenerator}, no modificar a mano.");
+        src.line(" */");
+        src.line("");
+        src.open("public final class ClientPacketEncoder {");
+        src.line("");
+        src.open("private ClientPacketEncoder() {");
+        src.close("}");
+        for (ClientPacket packet : ClientPacket.values()) {
+            if (packet.getLayout() == null || packet == ClientPacket.GM_COMMANDS) continue;
+            src.line("");
+            emitEncoder(src, packet.name(), packet.getLayout(), List.of("ClientPacket." + packet.name() + ".getId()"));
+        }
+        src.line("");
+        src.close("}");
+        return src.toString();
+    }
+
+    private static String generateGMCommandEncoder() {
+        Source src = new Source();
+        src.header("org.aoclient.network.PacketBuffer", "org.aoclient.network.protocol.ClientPacket",
+                "org.aoclient.network.protocol.types.GMCommand");
+        src.line("/**");
+        src.line(" * Encoders de los comandos de GM segun los layouts de {@code GMCommand}. Cada metodo escribe el paquete");
+        src.line(" * {@code GM_COMMANDS} completo, incluyendo el byte identificador del paquete y el del comando.");
+        src.line(" * <p>");
+        src.line(" * Generado por {@code PacketCodecGenerator}, no modificar a mano.");
+        src.line(" */");
+        src.line("");
+        src.open("public final class GMCommandEncoder {");
+        src.line("");
+        src.open("private GMCommandEncoder() {");
+        src.close("}");
+        for (GMCommand command : GMCommand.values()) {
+            if (command.getLayout() == null) continue;
+            src.line("");
+            emitEncoder(src, command.name(), command.getLayout(),
+                    List.of("ClientPacket.GM_COMMANDS.getId()", "GMCommand." + command.name() + ".getId()"));
+        }
+        src.line("");
+        src.close("}");
+        return src.toString();
+    }
+
+    private static String generateServerPacketEncoder() {
+        Source src = new Source();
+        src.header("org.aoclient.network.PacketBuffer", "org.aoclient.network.protocol.ServerPacket");
+        src.line("/**");
+        src.line(" * Encoders de los paquetes del servidor segun los layouts de {@code ServerPacket}. Cada metodo escribe el paquete completo,");
+        src.line(" * incluyendo su byte identificador. Los paquetes con listas de largo variable ({@code #}) o mensajes de {@code MULTI_MESSAGE}");
+        src.line(" * no tienen encoder.");
+        src.line(" * <p>");
+        src.line(" * Generado por {@code PacketCodecGenerator}, no modificar a mano.");
+        src.line(" */");
+        src.line("");
+        src.open("public final class ServerPacketEncoder {");
+        src.line("");
+        src.open("private ServerPacketEncoder() {");
+        src.close("}");
+        for (ServerPacket packet : ServerPacket.values()) {
+            if (!encodable(parse(packet.getLayout()))) continue;
+            src.line("");
+            emitEncoder(src, packet.name(), packet.getLayout(), List.of("ServerPacket." + packet.name() + ".getId()"));
+        }
+        src.line("");
+        src.close("}");
+        return src.toString();
+    }
+
+    /**
+     * Indica si un layout tiene un encoder, es decir, si no tiene listas con contador ni mensajes.
+     */
+    private static boolean encodable(List<Node> nodes) {
+        for (Node node : nodes)
+            if (node.kind == Kind.COUNTED || node.kind == Kind.MESSAGE || !encodable(node.children)) return false;
+        return true;
+    }
+
+    private static void emitEncoder(Source src, String name, String layout, List<String> ids) {
+        List<Node> nodes = parse(layout);
+        StringBuilder params = new StringBuilder("PacketBuffer buffer");
+        List<String> body = new ArrayList<>();
+        for (String id : ids)
+            body.add("buffer.writeByte(" + id + ");");
+        new EncoderEmitter(params, body).emit(nodes, "");
+
+        src.line("/** Escribe {@code " + name + "}" + (layout.isEmpty() ? "" : " ({@code " + codes(layout) + "})") + ". */");
+        String signature = "public static void " + camelCase(name) + "(" + params + ") {";
+        if (signature.length() + src.indentWidth() <= Source.MAX_LINE) src.open(signature);
+        else src.open(wrap(signature, src.indentWidth()));
+        for (String line : body)
+            src.line(line);
+        src.close("}");
+    }
+
+    /**
+     * Construye los parametros y las sentencias de un encoder. Cada campo del layout es un parametro con el nombre del campo; un
+     * campo repetido una cantidad fija de veces es un array.
+     */
+    private static class EncoderEmitter {
+
+        private final StringBuilder params;
+        private final List<String> body;
+
+        EncoderEmitter(StringBuilder params, List<String> body) {
+            this.params = params;
+            this.body = body;
+        }
+
+        void emit(List<Node> nodes, String indent) {
+            for (Node node : nodes) {
+                switch (node.kind) {
+                    case PRIMITIVE -> {
+                        String field = param(javaType(node.code), node.requireName());
+                        body.add(indent + "buffer." + writer(node.code) + "(" + field + ");");
+                    }
+                    case REPEAT -> {
+                        // Cada campo del elemento repetido es un array con un valor por repeticion
+                        List<Node> elements = repeated(node);
+                        List<String> writes = new ArrayList<>();
+                        for (Node element : elements) {
+                            String field = param(javaType(element.code) + "[]", element.requireName());
+                            writes.add("buffer." + writer(element.code) + "(" + field + "[i]);");
+                        }
+                        if (writes.size() == 1) {
+                            body.add(indent + "for (int i = 0; i < " + node.count + "; i++)");
+                            body.add(indent + "    " + writes.get(0));
+                        } else {
+                            body.add(indent + "for (int i = 0; i < " + node.count + "; i++) {");
+                            for (String write : writes)
+                                body.add(indent + "    " + write);
+                            body.add(indent + "}");
+                        }
+                    }
+                    case GROUP -> emit(node.children, indent);
+                    case CONDITIONAL -> {
+                        String field = param("boolean", node.requireName());
+                        body.add(indent + "buffer.writeBoolean(" + field + ");");
+                        body.add(indent + "if (" + field + ") {");
+                        emit(node.children.get(0).children, indent + "    ");
+                        body.add(indent + "} else {");
+                        emit(node.children.get(1).children, indent + "    ");
+                        body.add(indent + "}");
+                    }
+                    default -> throw new IllegalStateException("Unsupported element in an encoded packet layout: " + node.kind);
+                }
+            }
+        }
+
+        private String param(String type, String name) {
+            params.append(", ").append(type).append(' ').append(name);
+            return name;
+        }
+
+        private static String writer(char code) {
+            return switch (code) {
+                case 'B' -> "writeByte";
+                case 'I' -> "writeInteger";
+                case 'L' -> "writeLong";
+                case 'F' -> "writeFloat";
+                case 'D' -> "writeDouble";
+                case 'S' -> "writeCp1252String";
+                case 'Z' -> "writeBoolean";
+                default -> throw new IllegalStateException("Invalid packet layout code: " + code);
+            };
+        }
+
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------------------
+    // ServerPacketDecoder
+    // ---------------------------------------------------------------------------------------------------------------------------
+
+    private static String generateServerPacketDecoder() {
+        Source src = new Source();
+        src.header("org.aoclient.network.PacketBuffer", "org.aoclient.network.protocol.ServerPacket");
+        src.line("/**");
+        src.line(" * Decoders de los paquetes del servidor mas frecuentes segun los layouts de {@code ServerPacket}. Cada paquete tiene un");
+        src.line(" * evento con un atributo por campo del layout, y decodificarlo lee el paquete completo, incluyendo su byte identificador.");
+        src.line(" * <p>");
+        src.line(" * Los eventos son mutables para poder reutilizarlos: {@link Events} tiene uno de cada tipo, asi que decodificar no asigna");
+        src.line(" * memoria salvo por las cadenas.");
+        src.line(" * <p>");
+        src.line(" * Generado por {@code PacketCodecGenerator}, no modificar a mano.");
+        src.line(" */");
+        src.line("");
+        src.open("public final class ServerPacketDecoder {");
+        src.line("");
+        src.open("private ServerPacketDecoder() {");
+        src.close("}");
+        src.line("");
+        src.line("/** Paquete del servidor decodificado. */");
+        src.open("public abstract static class Event {");
+        src.line("");
+        src.line("/**");
+        src.line(" * Lee el paquete completo que comienza en el cursor de lectura del buffer, incluyendo su byte identificador, y guarda sus");
+        src.line(" * campos en el evento.");
+        src.line(" *");
+        src.line(" * @param buffer buffer que contiene el paquete completo");
+        src.line(" */");
+        src.line("public abstract void decode(PacketBuffer buffer);");
+        src.line("");
+        src.line("/** Devuelve el paquete que representa el evento. */");
+        src.line("public abstract ServerPacket getPacket();");
+        src.line("");
+        src.close("}");
+
+        for (ServerPacket packet : DECODED)
+            emitEvent(src, packet);
+
+        src.line("");
+        src.line("/**");
+        src.line(" * Un evento de cada paquete que tiene decoder, para decodificar cualquiera de ellos sin asignar memoria.");
+        src.line(" */");
+        src.open("public static final class Events {");
+        src.line("");
+        for (ServerPacket packet : DECODED) {
+            String type = pascalCase(packet.name());
+            src.line("public final " + type + " " + camelCase(packet.name()) + " = new " + type + "();");
+        }
+        src.line("");
+        src.line("/**");
+        src.line(" * Decodifica el paquete que comienza en el cursor de lectura del buffer en el evento que le corresponde.");
+        src.line(" *");
+        src.line(" * @param packet paquete identificado por el primer byte del buffer");
+        src.line(" * @param buffer buffer que contiene el paquete completo");
+        src.line(" * @return el evento con los campos del paquete, o null si el paquete no tiene decoder, en cuyo caso no se lee nada");
+        src.line(" */");
+        src.open("public Event decode(ServerPacket packet, PacketBuffer buffer) {");
+        src.line("Event event = get(packet);");
+        src.line("if (event != null) event.decode(buffer);");
+        src.line("return event;");
+        src.close("}");
+        src.line("");
+        src.line("/**");
+        src.line(" * Devuelve el evento de un paquete.");
+        src.line(" *");
+        src.line(" * @param packet paquete del servidor");
+        src.line(" * @return el evento, o null si el paquete no tiene decoder");
+        src.line(" */");
+        src.open("public Event get(ServerPacket packet) {");
+        src.open("return switch (packet.getId()) {");
+        for (ServerPacket packet : DECODED)
+            src.line("case " + packet.getId() + " -> " + camelCase(packet.name()) + "; // " + packet.name());
+        src.line("default -> null;");
+        src.close("};");
+        src.close("}");
+        src.line("");
+        src.close("}");
+        src.line("");
+        src.close("}");
+        return src.toString();
+    }
+
+    /**
+     * Emite el evento de un paquete, con un atributo publico por campo y el metodo que lo decodifica.
+     */
+    private static void emitEvent(Source src, ServerPacket packet) {
+        List<Node> nodes = parse(packet.getLayout());
+        String name = pascalCase(packet.name());
+
+        src.line("");
+        src.line("/** {@code " + packet.name() + "}: {@code " + codes(packet.getLayout()) + "}. */");
+        src.open("public static final class " + name + " extends Event {");
+        src.line("");
+        for (Node node : nodes) {
+            if (node.kind == Kind.REPEAT) {
+                for (Node element : repeated(node)) {
+                    String type = javaType(element.code);
+                    src.line("public final " + type + "[] " + element.requireName() + " = new " + type + "[" + node.count + "];");
+                }
+            } else if (node.kind == Kind.PRIMITIVE) src.line("public " + javaType(node.code) + " " + node.requireName() + ";");
+            else throw new IllegalStateException("Unsupported element in a decoded packet layout: " + node.kind);
+        }
+        src.line("");
+        src.line("@Override");
+        src.open("public void decode(PacketBuffer buffer) {");
+        src.line("buffer.readByte();");
+        for (Node node : nodes) {
+            if (node.kind == Kind.REPEAT) {
+                List<Node> elements = repeated(node);
+                if (elements.size() == 1) {
+                    src.line("for (int i = 0; i < " + node.count + "; i++)");
+                    src.line("    " + elements.get(0).requireName() + "[i] = buffer." + reader(elements.get(0).code) + "();");
+                } else {
+                    src.open("for (int i = 0; i < " + node.count + "; i++) {");
+                    for (Node element : elements)
+                        src.line(element.requireName() + "[i] = buffer." + reader(element.code) + "();");
+                    src.close("}");
+                }
+            } else src.line(node.requireName() + " = buffer." + reader(node.code) + "();");
+        }
+        src.close("}");
+        src.line("");
+        src.line("@Override");
+        src.open("public ServerPacket getPacket() {");
+        src.line("return ServerPacket." + packet.name() + ";");
+        src.close("}");
+        src.line("");
+        src.close("}");
+    }
+
+    /**
+     * Devuelve los campos del elemento de una repeticion, que en un encoder o un decoder solo puede tener campos simples,
+     * agrupados o no.
+     */
+    private static List<Node> repeated(Node node) {
+        List<Node> elements = new ArrayList<>();
+        primitives(node.children, elements);
+        return elements;
+    }
+
+    private static String reader(char code) {
+        return switch (code) {
+            case 'B' -> "readByte";
+            case 'I' -> "readInteger";
+            case 'L' -> "readLong";
+            case 'F' -> "readFloat";
+            case 'S' -> "readCp1252String";
+            case 'Z' -> "readBoolean";
+            default -> throw new IllegalStateException("Unsupported code in a decoded packet layout: " + code);
+        };
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------------------
+    // Escritura del codigo
+    // ---------------------------------------------------------------------------------------------------------------------------
+
+    private static void primitives(List<Node> nodes, List<Node> elements) {
+        for (Node node : nodes) {
+            if (node.kind == Kind.PRIMITIVE) elements.add(node);
+            else if (node.kind == Kind.GROUP) primitives(node.children, elements);
+            else throw new IllegalStateException("Only simple fields can be repeated in an encoded or decoded packet layout");
+        }
+    }
+
+    /** Tipo de Java de un campo, el mismo que usan los metodos de lectura y escritura de {@code PacketBuffer}. */
+    private static String javaType(char code) {
+        return switch (code) {
+            case 'B', 'L' -> "int";
+            case 'I' -> "short";
+            case 'F' -> "float";
+            case 'D' -> "double";
+            case 'S' -> "String";
+            case 'Z' -> "boolean";
+            default -> throw new IllegalStateException("Invalid packet layout code: " + code);
+        };
+    }
+
+    private static String pascalCase(String constant) {
+        String camel = camelCase(constant);
+        return Character.toUpperCase(camel.charAt(0)) + camel.substring(1);
+    }
+
+    private static String camelCase(String constant) {
+        StringBuilder sb = new StringBuilder();
+        boolean upper = false;
+        for (char c : constant.toCharArray()) {
+            if (c == '_') upper = true;
+            else {
+                sb.append(upper ? c : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Parte una firma larga despues de las comas, con la continuacion indentada 8 espacios. */
+    private static String wrap(String signature, int indent) {
+        StringBuilder sb = new StringBuilder();
+        int lineStart = 0, lastBreak = -1, column = indent;
+        for (int i = 0; i < signature.length(); i++) {
+            // Si el caracter no entra en la linea, corta despues de la ultima coma anterior
+            if (column + i - lineStart >= Source.MAX_LINE && lastBreak > lineStart) {
+                sb.append(signature, lineStart, lastBreak).append('\n').append(" ".repeat(indent + 8));
+                lineStart = lastBreak + 1; // Saltea el espacio despues de la coma
+                column = indent + 8;
+            }
+            if (signature.charAt(i) == ',') lastBreak = i + 1;
+        }
+        return sb.append(signature.substring(lineStart)).toString();
+    }
+
+    /** Acumula el codigo generado manejando la indentacion. */
+    private static class Source {
+
+        static final int MAX_LINE = 130;
+
+        private final StringBuilder sb = new StringBuilder();
+        private int indent;
+
+        /** Escribe el paquete y los imports; un import vacio separa dos grupos. */
+        void header(String... imports) {
+            line("package " + PACKAGE + ";");
+            line("");
+            for (String name : imports)
+                line(name.isEmpty() ? "" : "import " + name + ";");
+            line("");
+        }
+
+        void line(String line) {
+            if (line.isEmpty()) sb.append('\n');
+            else sb.append(" ".repeat(indentWidth())).append(line).append('\n');
+        }
+
+        void open(String line) {
+            line(line);
+            indent++;
+        }
+
+        void close(String line) {
+            indent--;
+            line(line);
+        }
+
+        /** Escribe una linea que cierra un bloque y abre otro, como la del {@code else} de un {@code if}. */
+        void middle(String line) {
+            indent--;
+            line(line);
+            indent++;
+        }
+
+        int indentWidth() {
+            return indent * 4;
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,193 @@
+package org.aoclient.scripts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interpreta los layouts con los que los enums del protocolo ({@code ServerPacket}, {@code MessageType}, {@code ClientPacket} y
+ * {@code GMCommand}) declaran la disposicion de los bytes de cada paquete, convirtiendolos en un arbol de elementos.
+ * <p>
+ * Cada campo puede llevar su nombre entre llaves despues del codigo, por ejemplo {@code I{charIndex}B{x}B{y}} o
+ * {@code ?{byIp}(...)(...)} en una condicion. Los nombres no cambian la disposicion de los bytes; los codecs generados los usan
+ * como nombres de los parametros de los encoders y de los atributos de los eventos decodificados.
+ * <p>
+ * Lo comparten {@link PacketCodecGenerator}, que genera los codecs a partir del arbol, y {@link PacketStreamHarness}, que lo
+ * recorre para fabricar y leer paquetes sinteticos.
+ */
+
+final class PacketLayout {
+
+    private PacketLayout() {
+    }
+
+    /** Tipo de un elemento del layout. */
+    enum Kind {
+        /** Un unico valor ({@code B}, {@code I}, {@code L}, {@code F}, {@code D}, {@code S} o {@code Z}). */
+        PRIMITIVE,
+        /** Un elemento repetido una cantidad fija de veces ({@code N...}). */
+        REPEAT,
+        /** Una secuencia de elementos entre parentesis. */
+        GROUP,
+        /** Un Integer con la cantidad de elementos seguido de esa cantidad de elementos ({@code #...}). */
+        COUNTED,
+        /** Un Boolean seguido de uno de dos grupos ({@code ?(...)(...)}). */
+        CONDITIONAL,
+        /** Un mensaje de {@code MULTI_MESSAGE} ({@code M}). */
+        MESSAGE,
+        /** Un comando de GM ({@code G}). */
+        GM_COMMAND
+    }
+
+    /** Elemento de un layout, con sus elementos hijos si es una repeticion, un grupo o una condicion. */
+    static final class Node {
+
+        final Kind kind;
+        final char code;
+        final int count;
+        final List<Node> children;
+        /** Nombre del campo ({@code {nombre}} despues del codigo), o null si el layout no lo declara. */
+        final String name;
+
+        Node(Kind kind, char code, int count, List<Node> children, String name) {
+            this.kind = kind;
+            this.code = code;
+            this.count = count;
+            this.children = children;
+            this.name = name;
+        }
+
+        /**
+         * Devuelve el nombre del campo, que necesitan los codecs que lo exponen como parametro o atributo.
+         *
+         * @throws IllegalStateException si el layout no declara el nombre
+         */
+        String requireName() {
+            if (name == null) throw new IllegalStateException("Unnamed field '" + code + "' in packet layout");
+            return name;
+        }
+
+    }
+
+    /**
+     * Interpreta un layout.
+     *
+     * @param layout layout a interpretar
+     * @return los elementos del layout en orden
+     * @throws IllegalStateException si el layout tiene un codigo desconocido o parentesis desbalanceados
+     */
+    static List<Node> parse(String layout) {
+        int[] position = {0};
+        List<Node> nodes = parseSequence(layout, position);
+        if (position[0] != layout.length()) throw new IllegalStateException("Unbalanced parentheses in packet layout: " + layout);
+        return nodes;
+    }
+
+    private static List<Node> parseSequence(String layout, int[] position) {
+        List<Node> nodes = new ArrayList<>();
+        while (position[0] < layout.length() && layout.charAt(position[0]) != ')')
+            nodes.add(parseElement(layout, position));
+        return nodes;
+    }
+
+    private static Node parseElement(String layout, int[] position) {
+        char c = layout.charAt(position[0]);
+        if (Character.isDigit(c)) {
+            int count = 0;
+            while (Character.isDigit(c = layout.charAt(position[0]))) {
+                count = count * 10 + (c - '0');
+                position[0]++;
+            }
+            return new Node(Kind.REPEAT, c, count, List.of(parseElement(layout, position)), null);
+        }
+        position[0]++;
+        return switch (c) {
+            case 'B', 'I', 'L', 'F', 'D', 'S', 'Z' -> new Node(Kind.PRIMITIVE, c, 1, List.of(), parseName(layout, position));
+            case 'M' -> new Node(Kind.MESSAGE, c, 1, List.of(), null);
+            case 'G' -> new Node(Kind.GM_COMMAND, c, 1, List.of(), null);
+            case '#' -> new Node(Kind.COUNTED, c, 1, List.of(parseElement(layout, position)), null);
+            case '(' -> parseGroup(layout, position);
+            case '?' -> {
+                String name = parseName(layout, position);
+                Node ifTrue = parseGroup(layout, expect(layout, position, '('));
+                Node ifFalse = parseGroup(layout, expect(layout, position, '('));
+                yield new Node(Kind.CONDITIONAL, c, 1, List.of(ifTrue, ifFalse), name);
+            }
+            default -> throw new IllegalStateException("Invalid packet layout code: " + c + " in " + layout);
+        };
+    }
+
+    /** Lee un grupo cuyo parentesis de apertura ya fue consumido. */
+    private static Node parseGroup(String layout, int[] position) {
+        List<Node> children = parseSequence(layout, position);
+        expect(layout, position, ')');
+        return new Node(Kind.GROUP, '(', 1, children, null);
+    }
+
+    /** Lee el nombre entre llaves que puede seguir al codigo de un campo, o devuelve null si no hay. */
+    private static String parseName(String layout, int[] position) {
+        if (position[0] >= layout.length() || layout.charAt(position[0]) != '{') return null;
+        int end = layout.indexOf('}', position[0]);
+        if (end < 0) throw new IllegalStateException("Unclosed field name at " + position[0] + " in packet layout: " + layout);
+        String name = layout.substring(position[0] + 1, end);
+        if (!name.matches("[a-z][A-Za-z0-9]*"))
+            throw new IllegalStateException("Invalid field name '" + name + "' in packet layout: " + layout);
+        position[0] = end + 1;
+        return name;
+    }
+
+    /**
+     * Quita los nombres de los campos de un layout, dejando solo los codigos que determinan la disposicion de los bytes.
+     *
+     * @param layout layout con o sin nombres
+     * @return el layout sin nombres, por ejemplo {@code IBB} para {@code I{charIndex}B{x}B{y}}
+     */
+    static String codes(String layout) {
+        return layout.replaceAll("\\{[^}]*}", "");
+    }
+
+    private static int[] expect(String layout, int[] position, char expected) {
+        if (position[0] >= layout.length() || layout.charAt(position[0]) != expected)
+            throw new IllegalStateException("Expected '" + expected + "' at " + position[0] + " in packet layout: " + layout);
+        position[0]++;
+        return position;
+    }
+
+    /**
+     * Calcula el tamaño en bytes de una secuencia de elementos.
+     *
+     * @return el tamaño, o -1 si depende del contenido del paquete
+     */
+    static int fixedSize(List<Node> nodes) {
+        int size = 0;
+        for (Node node : nodes) {
+            int nodeSize = fixedSize(node);
+            if (nodeSize < 0) return -1;
+            size += nodeSize;
+        }
+        return size;
+    }
+
+    /**
+     * Calcula el tamaño en bytes de un elemento.
+     *
+     * @return el tamaño, o -1 si depende del contenido del paquete
+     */
+    static int fixedSize(Node node) {
+        return switch (node.kind) {
+            case PRIMITIVE -> switch (node.code) {
+                case 'B', 'Z' -> 1;
+                case 'I' -> 2;
+                case 'L', 'F' -> 4;
+                case 'D' -> 8;
+                default -> -1;
+            };
+            case REPEAT -> {
+                int size = fixedSize(node.children);
+                yield size < 0 ? -1 : size * node.count;
+            }
+            case GROUP -> fixedSize(node.children);
+            default -> -1;
+        };
+    }
+
+}
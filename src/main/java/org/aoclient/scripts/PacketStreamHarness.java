@@ -0,0 +1,178 @@
+package org.aoclient.scripts;
+
+import com.sun.management.ThreadMXBean;
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.WireCapture;
+import org.aoclient.network.WireCaptureReader;
+import org.aoclient.network.protocol.PacketReceiver;
+import org.tinylog.configuration.Configuration;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Mide el throughput y la asignacion de memoria del camino de recepcion de paquetes ({@link PacketBuffer}, {@code PacketFramer}
+ * y {@link PacketReceiver}) sin conexion y sin el motor del juego, procesando un {@link SyntheticPacketStream flujo sintetico}
+ * grande en segmentos TCP.
+ * <p>
+ * Las verificaciones de fragmentacion, flujos malformados y presupuestos de rendimiento son tests de JUnit
+ * ({@code PacketStreamFragmentationTest} y {@code PacketStreamBudgetTest}); este programa solo informa las cifras, y ademas
+ * permite verificar la fragmentacion de flujos grabados: archivos con los bytes tal como llegaron del socket, o capturas
+ * {@code .aocap} de {@link WireCapture}.
+ * <p>
+ * Uso: {@code PacketStreamHarness [--seed n] [archivo ...]}. Termina con codigo 1 si algun flujo grabado da un resultado distinto
+ * al fragmentarlo.
+ */
+
+public class PacketStreamHarness {
+
+    /** Cantidad de paquetes del flujo usado para medir el rendimiento. */
+    private static final int BENCHMARK_PACKETS = 200_000;
+    private static final int BENCHMARK_WARMUP_ROUNDS = 5;
+    private static final int BENCHMARK_ROUNDS = 10;
+    /** Cantidad de fragmentaciones aleatorias de cada flujo grabado. */
+    private static final int RANDOM_FRAGMENTATIONS = 200;
+
+    private PacketStreamHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Cada paquete procesado se registra a nivel debug, lo que falsearia la medicion de rendimiento
+        Configuration.set("level", "warn");
+
+        long seed = System.nanoTime();
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--seed")) seed = Long.parseLong(args[++i]);
+            else files.add(args[i]);
+        }
+
+        System.out.println("Seed " + seed);
+        Random random = new Random(seed);
+        boolean passed = true;
+        for (String file : files) {
+            // De las capturas del cliente solo se usan los bytes recibidos del servidor
+            byte[] bytes = file.endsWith(WireCapture.EXTENSION)
+                    ? WireCaptureReader.readStream(Paths.get(file), WireCapture.RECEIVED)
+                    : Files.readAllBytes(Paths.get(file));
+            passed &= checkFragmentation("'" + file + "'", bytes, random);
+        }
+        benchmark(random);
+
+        if (!passed) {
+            System.err.println("Some recorded streams do not match when fragmented");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Verifica que procesar un flujo grabado en segmentos aleatorios de el mismo resultado que procesarlo entero.
+     */
+    private static boolean checkFragmentation(String name, byte[] stream, Random random) {
+        SyntheticPacketStream.Result reference = SyntheticPacketStream.run(stream, new int[0]);
+        for (int i = 0; i < RANDOM_FRAGMENTATIONS; i++) {
+            SyntheticPacketStream.Result result = SyntheticPacketStream.run(stream,
+                    SyntheticPacketStream.randomCuts(random, stream.length));
+            if (!result.equals(reference)) {
+                System.err.println("FAILED " + name + ": fragmented gives " + result + ", expected " + reference);
+                return false;
+            }
+        }
+        System.out.println(name + ": " + reference + ", " + RANDOM_FRAGMENTATIONS + " fragmentations match");
+        return true;
+    }
+
+    /**
+     * Mide el throughput y la asignacion de memoria por paquete de procesar un flujo grande en segmentos TCP.
+     */
+    private static void benchmark(Random random) {
+        byte[] bytes = new SyntheticPacketStream(random, BENCHMARK_PACKETS, true).getBytes();
+        Measurement measurement = measure(bytes, BENCHMARK_WARMUP_ROUNDS, BENCHMARK_ROUNDS);
+        System.out.printf("Throughput: %.1f MB/s, %.0f packets/s (%d packets, %d bytes)%n", measurement.getThroughput(),
+                BENCHMARK_PACKETS / (measurement.bestNanos / 1e9), BENCHMARK_PACKETS, bytes.length);
+        if (measurement.allocatedBytes < 0) System.out.println("Allocation: not supported by this JVM");
+        else System.out.printf("Allocation: %.2f bytes/packet%n", measurement.getAllocationPerPacket());
+    }
+
+    /**
+     * Procesa un flujo varias veces en segmentos TCP, igual que el hilo de red, y mide la ronda mas rapida y la memoria asignada
+     * en las rondas medidas.
+     *
+     * @param stream        bytes del flujo, con paquetes completos
+     * @param warmupRounds  rondas que no se miden, para que el JIT compile el camino de recepcion
+     * @param rounds        rondas medidas
+     * @return la medicion
+     */
+    public static Measurement measure(byte[] stream, int warmupRounds, int rounds) {
+        SyntheticPacketStream.MockState state = new SyntheticPacketStream.MockState();
+        // El handler simulado no aplica los paquetes, por lo que la sesion queda vacia y no envia nada
+        PacketReceiver receiver = new PacketReceiver(new Session(0), state);
+        PacketBuffer buffer = new PacketBuffer();
+        ByteBuffer segment = ByteBuffer.allocateDirect(SyntheticPacketStream.MAX_SEGMENT);
+
+        // La asignacion por hilo es una extension de HotSpot, por lo que puede no estar disponible
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean() instanceof ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() ? bean : null;
+        Measurement measurement = new Measurement();
+        measurement.streamBytes = stream.length;
+        measurement.bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < warmupRounds + rounds; round++) {
+            int packetsBefore = state.getPackets();
+            long allocatedBefore = threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+            long start = System.nanoTime();
+            for (int offset = 0; offset < stream.length; offset += SyntheticPacketStream.MAX_SEGMENT) {
+                // Igual que el hilo de red: el segmento llega a un buffer directo y se copia al buffer de recepcion
+                segment.clear();
+                segment.put(stream, offset, Math.min(SyntheticPacketStream.MAX_SEGMENT, stream.length - offset)).flip();
+                buffer.writeBlock(segment);
+                SyntheticPacketStream.drain(receiver, buffer);
+            }
+            long nanos = System.nanoTime() - start;
+            if (round < warmupRounds) continue;
+            measurement.bestNanos = Math.min(measurement.bestNanos, nanos);
+            measurement.packets += state.getPackets() - packetsBefore;
+            if (threads != null) measurement.allocatedBytes += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        if (threads == null) measurement.allocatedBytes = -1;
+        measurement.pendingBytes = buffer.getLength();
+        return measurement;
+    }
+
+    /**
+     * Resultado de {@link #measure(byte[], int, int)}.
+     */
+    public static final class Measurement {
+
+        long streamBytes;
+        long bestNanos;
+        long packets;
+        /** Bytes asignados en las rondas medidas, o -1 si la JVM no informa la asignacion por hilo. */
+        long allocatedBytes;
+        /** Bytes que quedaron sin procesar al terminar, que con un flujo de paquetes completos deben ser 0. */
+        int pendingBytes;
+
+        /** Throughput de la ronda mas rapida, en MB/s. */
+        public double getThroughput() {
+            return streamBytes / (bestNanos / 1e9) / (1024 * 1024);
+        }
+
+        /** Bytes asignados por paquete procesado en las rondas medidas, o -1 si la JVM no informa la asignacion por hilo. */
+        public double getAllocationPerPacket() {
+            return allocatedBytes < 0 ? -1 : (double) allocatedBytes / packets;
+        }
+
+        public int getPendingBytes() {
+            return pendingBytes;
+        }
+
+    }
+
+}
@@ -0,0 +1,194 @@
+package org.aoclient.scripts;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * <p>
+ * Archivo ao abierto una unica vez, con un indice de sus recursos por nombre base.
+ * <p>
+ * {@link #get(String)} abre cada archivo la primera vez que se pide y lo conserva abierto durante toda la ejecucion, asi que el
+ * directorio central del zip se lee una sola vez. Al abrirlo se arma un {@link HashMap} con el nombre base de cada recurso (sin
+ * carpetas ni extension y en minusculas), por lo que buscar un recurso cuesta O(1) en lugar de recorrer todas las entradas
+ * comparando nombres, como hacia {@link Compressor#readResource(String, String)} en cada llamada. Si dos entradas tienen el mismo
+ * nombre base se conserva la primera, que es la que encontraba el recorrido.
+ * <p>
+ * El indice no cambia despues de construirse y {@link ZipFile} admite lecturas concurrentes, por lo que varios hilos pueden leer
+ * del mismo archivo a la vez sin sincronizarse. Ademas de {@link #read(String)}, que devuelve los bytes en un array, el recurso se
+ * puede leer como stream con {@link #openStream(String)}, por ejemplo para decodificar una imagen sin copiarla antes a memoria, o
+ * en un {@link ByteBuffer} directo con {@link #readBuffer(String)}, listo para pasarlo a una biblioteca nativa.
+ * <pre>{@code
+ * try (InputStream in = ResourcePack.get("resources/gui.ao").openStream("VentanaPrincipal")) {
+ *     BufferedImage image = ImageIO.read(in);
+ * }
+ * }</pre>
+ */
+
+public final class ResourcePack implements Closeable {
+
+    /** Archivos abiertos, por ruta absoluta y normalizada. */
+    private static final Map<Path, ResourcePack> PACKS = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final ZipFile zipFile;
+    /** Entradas por nombre base en minusculas. */
+    private final Map<String, ZipEntry> entries;
+
+    private ResourcePack(Path path, ZipFile zipFile, Map<String, ZipEntry> entries) {
+        this.path = path;
+        this.zipFile = zipFile;
+        this.entries = entries;
+    }
+
+    /**
+     * Devuelve el archivo ao indicado, abriendolo e indexandolo si es la primera vez que se pide.
+     *
+     * @param aoName ruta del archivo ao
+     * @return el archivo abierto
+     * @throws IOException si el archivo no existe o no es un zip valido
+     */
+    public static ResourcePack get(String aoName) throws IOException {
+        Path path = Paths.get(aoName).toAbsolutePath().normalize();
+        ResourcePack pack = PACKS.get(path);
+        if (pack != null) return pack;
+        // Se abre fuera de computeIfAbsent para no bloquear el mapa mientras se lee el directorio central
+        ResourcePack opened = open(path);
+        pack = PACKS.putIfAbsent(path, opened);
+        if (pack == null) return opened;
+        opened.close();
+        return pack;
+    }
+
+    /**
+     * Cierra el archivo ao indicado si estaba abierto, para que el siguiente {@link #get(String)} lo vuelva a leer. Se usa al
+     * regenerar el archivo, y no debe llamarse mientras otro hilo esta leyendo de el.
+     *
+     * @param aoName ruta del archivo ao
+     */
+    public static void invalidate(String aoName) {
+        ResourcePack pack = PACKS.remove(Paths.get(aoName).toAbsolutePath().normalize());
+        if (pack != null) pack.close();
+    }
+
+    private static ResourcePack open(Path path) throws IOException {
+        ZipFile zipFile = new ZipFile(path.toFile(), StandardCharsets.UTF_8);
+        Map<String, ZipEntry> entries = new HashMap<>(zipFile.size() * 4 / 3 + 1);
+        Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+        while (enumeration.hasMoreElements()) {
+            ZipEntry entry = enumeration.nextElement();
+            if (entry.isDirectory()) continue;
+            entries.putIfAbsent(key(Compressor.getBaseName(Compressor.getFileName(entry.getName()))), entry);
+        }
+        return new ResourcePack(path, zipFile, entries);
+    }
+
+    /**
+     * Indica si el archivo tiene un recurso con el nombre base indicado, sin distinguir mayusculas de minusculas.
+     */
+    public boolean contains(String resourceName) {
+        return entries.containsKey(key(resourceName));
+    }
+
+    /**
+     * @return cantidad de recursos indexados
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Abre un stream con el contenido descomprimido de un recurso. Hay que cerrarlo al terminar de leer.
+     *
+     * @param resourceName nombre base del recurso, sin extension
+     * @return el stream del recurso
+     * @throws FileNotFoundException si el archivo no tiene un recurso con ese nombre
+     * @throws IOException           si no se pudo leer el archivo
+     */
+    public InputStream openStream(String resourceName) throws IOException {
+        return zipFile.getInputStream(entry(resourceName));
+    }
+
+    /**
+     * Lee el contenido descomprimido de un recurso en un array del tamaño exacto, sin los arrays intermedios de
+     * {@link InputStream#readAllBytes()} cuando el zip indica el tamaño del recurso.
+     *
+     * @param resourceName nombre base del recurso, sin extension
+     * @return los bytes del recurso
+     * @throws FileNotFoundException si el archivo no tiene un recurso con ese nombre
+     * @throws IOException           si no se pudo leer el archivo
+     */
+    public byte[] read(String resourceName) throws IOException {
+        ZipEntry entry = entry(resourceName);
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            long size = entry.getSize();
+            if (size < 0 || size > Integer.MAX_VALUE - 8) return in.readAllBytes();
+            byte[] data = new byte[(int) size];
+            if (in.readNBytes(data, 0, data.length) < data.length) throw new EOFException("Truncated resource: " + resourceName);
+            return data;
+        }
+    }
+
+    /**
+     * Lee el contenido descomprimido de un recurso en un {@link ByteBuffer} directo, listo para pasarlo a una biblioteca nativa.
+     *
+     * @param resourceName nombre base del recurso, sin extension
+     * @return el buffer, con la posicion en 0 y el limite al final del recurso
+     * @throws FileNotFoundException si el archivo no tiene un recurso con ese nombre
+     * @throws IOException           si no se pudo leer el archivo
+     */
+    public ByteBuffer readBuffer(String resourceName) throws IOException {
+        ZipEntry entry = entry(resourceName);
+        if (entry.getSize() < 0 || entry.getSize() > Integer.MAX_VALUE) {
+            byte[] data = read(resourceName);
+            return ByteBuffer.allocateDirect(data.length).put(data).flip();
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) entry.getSize());
+        byte[] chunk = new byte[(int) Math.min(8192, Math.max(1, entry.getSize()))];
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            while (buffer.hasRemaining()) {
+                int read = in.read(chunk, 0, Math.min(chunk.length, buffer.remaining()));
+                if (read < 0) throw new EOFException("Truncated resource: " + resourceName);
+                buffer.put(chunk, 0, read);
+            }
+        }
+        return buffer.flip();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() {
+        try {
+            zipFile.close();
+        } catch (IOException ignored) {
+            // El archivo solo se leia, no hay nada que se pueda perder
+        }
+    }
+
+    private ZipEntry entry(String resourceName) throws FileNotFoundException {
+        ZipEntry entry = entries.get(key(resourceName));
+        if (entry == null) throw new FileNotFoundException("No files were found matching '" + resourceName + "' in " + path);
+        return entry;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,679 @@
+package org.aoclient.scripts;
+
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.ClientPacket;
+import org.aoclient.network.protocol.codec.ClientPacketLengths;
+import org.aoclient.network.protocol.codec.ServerPacketEncoder;
+import org.tinylog.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Servidor de Argentum Online simulado para probar el cliente sin un servidor real, con una carga sintetica configurable.
+ * <p>
+ * Habla el mismo protocolo que el servidor: delimita los paquetes del cliente con {@link ClientPacketLengths} y escribe los suyos
+ * con {@link ServerPacketEncoder}, ambos generados a partir de los layouts. Responde lo necesario para entrar a la partida
+ * (cualquier nombre y contraseña son validos, tanto para un personaje existente como para uno nuevo), los dados, los PING, el
+ * chat, los pasos del personaje y {@code /SALIR}; el resto de los paquetes del cliente se ignora.
+ * <p>
+ * Todos los clientes conectados comparten un mundo con NPCs y jugadores simulados que caminan ({@code CHARACTER_MOVE}), hablan
+ * ({@code CHAT_OVER_HEAD}) y lanzan efectos ({@code CREATE_FX}) a la frecuencia configurada, y que cada cierto tiempo se mudan a
+ * otro mapa ({@code CHANGE_MAP}). Los clientes tambien se ven entre si.
+ * <p>
+ * Para simular una red real, cada sentido de cada conexion puede tener una latencia fija mas una variacion aleatoria, y el
+ * sentido del servidor al cliente un limite de ancho de banda. Los bytes se demoran en colas propias de cada conexion, sin
+ * alterar su orden.
+ * <p>
+ * Se puede usar embebido, por ejemplo desde un banco de pruebas:
+ * <pre>{@code
+ * try (ServerSimulator server = new ServerSimulator(new ServerSimulator.Settings().port(0).npcs(200).latency(80))) {
+ *     server.start();
+ *     // conectar el cliente a 127.0.0.1:server.getPort()
+ * }
+ * }</pre>
+ * o desde la linea de comandos: {@code ServerSimulator [--port n] [--npcs n] [--players n] [--walk-interval ms]
+ * [--chat-rate n/s] [--fx-rate n/s] [--map-change-interval s] [--maps 1,2,...] [--latency ms] [--jitter ms]
+ * [--bandwidth bytes/s] [--tick ms] [--seed n]}.
+ */
+
+public class ServerSimulator implements Closeable {
+
+    /** Coordenadas entre las que se mueven los personajes, lejos de los bordes del mapa. */
+    private static final int MIN_POSITION = 12, MAX_POSITION = 88;
+    /** Cuerpos, cabezas y efectos entre los que se eligen los de los personajes simulados. */
+    private static final int MAX_BODY = 40, MAX_HEAD = 40, MAX_FX = 30;
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    /** Rafaga maxima del limite de ancho de banda, en segundos de transferencia. */
+    private static final double MAX_BURST_SECONDS = 0.05;
+    private static final String[] PHRASES = {"Hola!", "Alguien vende pociones?", "Vamos a dungeon", "Compro espada larga",
+            "Cuidado con el dragon", "Jajaja", "Alguien para party?", "Que nivel sos?", "Me mataron en el bosque", "Bienvenido!"};
+    private static final ClientPacket[] CLIENT_PACKETS = new ClientPacket[256];
+
+    static {
+        for (ClientPacket packet : ClientPacket.values())
+            CLIENT_PACKETS[packet.getId()] = packet;
+    }
+
+    private final Settings settings;
+    private final Random random;
+    /** Personajes simulados, cuyos indices van de 1 a la cantidad de NPCs mas la de jugadores. */
+    private final List<SimulatedChar> world = new ArrayList<>();
+    private final List<Session> sessions = new ArrayList<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private ServerSocketChannel server;
+    private Selector selector;
+    private Thread thread;
+    private volatile boolean running;
+    private int mapIndex;
+    private int nextUserIndex;
+    private double pendingChats;
+    private double pendingFxs;
+    private long lastTickNanos;
+    private long nextMapChangeNanos;
+
+    public ServerSimulator(Settings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Settings settings = new Settings();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> settings.port(Integer.parseInt(args[++i]));
+                case "--npcs" -> settings.npcs(Integer.parseInt(args[++i]));
+                case "--players" -> settings.players(Integer.parseInt(args[++i]));
+                case "--walk-interval" -> settings.walkInterval(Integer.parseInt(args[++i]));
+                case "--chat-rate" -> settings.chatRate(Double.parseDouble(args[++i]));
+                case "--fx-rate" -> settings.fxRate(Double.parseDouble(args[++i]));
+                case "--map-change-interval" -> settings.mapChangeInterval(Integer.parseInt(args[++i]));
+                case "--maps" -> settings.maps(Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray());
+                case "--latency" -> settings.latency(Integer.parseInt(args[++i]));
+                case "--jitter" -> settings.jitter(Integer.parseInt(args[++i]));
+                case "--bandwidth" -> settings.bandwidth(Integer.parseInt(args[++i]));
+                case "--tick" -> settings.tickInterval(Integer.parseInt(args[++i]));
+                case "--seed" -> settings.seed(Long.parseLong(args[++i]));
+                default -> {
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+
+        ServerSimulator simulator = new ServerSimulator(settings);
+        simulator.start();
+        System.out.println("Server simulator listening on port " + simulator.getPort() + ", press Ctrl+C to stop");
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::close));
+        // El hilo del servidor es daemon para no retener al programa que lo embebe, asi que aca se lo espera
+        try {
+            simulator.thread.join();
+        } catch (InterruptedException e) {
+            simulator.close();
+        }
+    }
+
+    /**
+     * Abre el puerto y comienza a atender conexiones en un hilo propio.
+     *
+     * @throws IOException si no se pudo abrir el puerto
+     */
+    public void start() throws IOException {
+        if (settings.npcs + settings.players + 1 > Short.MAX_VALUE) throw new IllegalArgumentException("Too many characters");
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(settings.port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        for (int i = 0; i < settings.npcs + settings.players; i++)
+            world.add(new SimulatedChar(i + 1, i < settings.npcs ? "" : "Simulado" + (i - settings.npcs + 1)));
+        placeCharacters();
+        nextUserIndex = world.size() + 1;
+
+        running = true;
+        thread = new Thread(this::run, "Server simulator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Devuelve el puerto en el que escucha el servidor, util cuando se configuro el puerto 0 para que el sistema elija uno libre.
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Cierra todas las conexiones y el puerto.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (selector != null) selector.wakeup();
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Bucle del hilo del servidor: genera la carga en cada tick y mueve los bytes entre los canales y las colas que simulan la
+     * red.
+     */
+    private void run() {
+        long tickNanos = settings.tickInterval * 1_000_000L;
+        long nextTick = System.nanoTime();
+        lastTickNanos = nextTick;
+        nextMapChangeNanos = nextTick + settings.mapChangeInterval * 1_000_000_000L;
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                if (now - nextTick >= 0) {
+                    tick(now);
+                    // Si el hilo se atraso, no intenta recuperar los ticks perdidos
+                    nextTick = Math.max(nextTick + tickNanos, now);
+                }
+
+                long wake = nextTick;
+                for (int i = sessions.size() - 1; i >= 0; i--) {
+                    Session session = sessions.get(i);
+                    try {
+                        deliverInbound(session, now);
+                        wake = earliest(wake, flushOutbound(session, now));
+                    } catch (IOException | RuntimeException e) {
+                        Logger.warn("Closing simulated connection: {}", e.getMessage());
+                        closeSession(session);
+                    }
+                }
+
+                selector.select(Math.max(1, (wake - System.nanoTime()) / 1_000_000));
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) accept();
+                    else if (key.isReadable()) read((Session) key.attachment());
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException e) {
+            Logger.error("Server simulator stopped: {}", e.getMessage());
+        } finally {
+            for (int i = sessions.size() - 1; i >= 0; i--)
+                closeSession(sessions.get(i));
+            closeQuietly(server);
+            closeQuietly(selector);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        Session session = new Session(channel);
+        session.key = channel.register(selector, SelectionKey.OP_READ, session);
+        sessions.add(session);
+        Logger.info("Simulated server accepted {}", channel.getRemoteAddress());
+    }
+
+    /**
+     * Lee los bytes que envio el cliente y los encola con la latencia de la red simulada.
+     */
+    private void read(Session session) {
+        try {
+            int read;
+            while ((read = session.channel.read(readBuffer)) > 0) {
+                readBuffer.flip();
+                ByteBuffer chunk = ByteBuffer.allocate(read).put(readBuffer).flip();
+                session.inbound.add(new Chunk(chunk, session.inboundDue = delay(session.inboundDue)));
+                readBuffer.clear();
+            }
+            if (read < 0) closeSession(session);
+        } catch (IOException e) {
+            closeSession(session);
+        } finally {
+            readBuffer.clear();
+        }
+    }
+
+    /**
+     * Procesa los bytes del cliente cuya demora ya se cumplio.
+     */
+    private void deliverInbound(Session session, long now) {
+        while (!session.inbound.isEmpty() && now - session.inbound.peek().due >= 0)
+            session.in.writeBlock(session.inbound.poll().data);
+
+        PacketBuffer in = session.in;
+        while (in.getLength() > 0 && !session.closing) {
+            int id = in.peekByteAt(0);
+            int length = ClientPacketLengths.frameLength(id, in);
+            if (length < 0) return;
+            long start = in.getConsumedBytes();
+            handle(session, CLIENT_PACKETS[id], in);
+            // Los paquetes que no se simulan, y lo que un handler no haya leido, se descartan
+            in.skip(length - (int) (in.getConsumedBytes() - start));
+        }
+        // Las respuestas salen sin esperar al siguiente tick, para que no se sumen a la latencia simulada
+        session.seal();
+    }
+
+    /**
+     * Responde un paquete del cliente. El paquete esta completo en el buffer, a partir de su byte identificador.
+     */
+    private void handle(Session session, ClientPacket packet, PacketBuffer in) {
+        in.readByte();
+        SimulatedChar user = session.character;
+        switch (packet) {
+            case LOGIN_EXISTING_CHAR, LOGIN_NEW_CHAR -> {
+                String name = in.readCp1252String();
+                if (user == null) login(session, name);
+            }
+            case THROW_DICES -> {
+                int[] attributes = new int[5];
+                for (int i = 0; i < attributes.length; i++)
+                    attributes[i] = 13 + random.nextInt(6);
+                ServerPacketEncoder.diceRoll(session.out, attributes);
+            }
+            case TALK, YELL -> {
+                String text = in.readCp1252String();
+                if (user == null) return;
+                for (Session other : sessions)
+                    if (other.character != null)
+                        ServerPacketEncoder.chatOverHead(other.out, text, (short) user.index, 255, 255, 255);
+            }
+            case WALK -> {
+                int heading = in.readByte();
+                if (user == null) return;
+                user.step(heading);
+                for (Session other : sessions)
+                    if (other != session && other.character != null)
+                        ServerPacketEncoder.characterMove(other.out, (short) user.index, user.x, user.y);
+            }
+            case REQUEST_POSITION_UPDATE -> {
+                if (user != null) ServerPacketEncoder.posUpdate(session.out, user.x, user.y);
+            }
+            case PING -> ServerPacketEncoder.pong(session.out);
+            case QUIT -> {
+                ServerPacketEncoder.disconnect(session.out);
+                session.closing = true;
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Envia la secuencia de paquetes con la que el servidor pone al personaje en el mapa y da por terminado el login.
+     */
+    private void login(Session session, String name) {
+        SimulatedChar user = new SimulatedChar(nextUserIndex++, name);
+        user.place(random);
+        session.character = user;
+
+        PacketBuffer out = session.out;
+        ServerPacketEncoder.userIndexInServer(out, (short) user.index);
+        ServerPacketEncoder.changeMap(out, (short) settings.maps[mapIndex], (short) 0);
+        createCharacters(session);
+        ServerPacketEncoder.updateUserStats(out, (short) 300, (short) 300, (short) 500, (short) 500, (short) 400, (short) 400,
+                10_000, 25, 100_000, 5_000);
+        ServerPacketEncoder.updateHungerAndThirst(out, 100, 100, 100, 100);
+        ServerPacketEncoder.consoleMsg(out, "Bienvenido al servidor simulado, " + name + ".", 0);
+        ServerPacketEncoder.logged(out);
+
+        for (Session other : sessions)
+            if (other != session && other.character != null) create(other.out, user);
+        Logger.info("Simulated server logged in '{}'", name);
+    }
+
+    /**
+     * Crea en el cliente al personaje del usuario, lo asigna como propio y crea al resto de los personajes del mapa.
+     */
+    private void createCharacters(Session session) {
+        create(session.out, session.character);
+        ServerPacketEncoder.userCharIndexInServer(session.out, (short) session.character.index);
+        for (SimulatedChar character : world)
+            create(session.out, character);
+        for (Session other : sessions)
+            if (other != session && other.character != null) create(session.out, other.character);
+    }
+
+    private static void create(PacketBuffer out, SimulatedChar character) {
+        ServerPacketEncoder.characterCreate(out, (short) character.index, (short) character.body, (short) character.head,
+                character.heading, character.x, character.y, (short) 0, (short) 0, (short) 0, (short) 0, (short) 0,
+                character.name, 0, 0);
+    }
+
+    /**
+     * Genera la carga sintetica del tick y la encola para cada cliente logeado.
+     */
+    private void tick(long now) {
+        double seconds = (now - lastTickNanos) / 1e9;
+        lastTickNanos = now;
+
+        if (settings.mapChangeInterval > 0 && now - nextMapChangeNanos >= 0) {
+            nextMapChangeNanos = now + settings.mapChangeInterval * 1_000_000_000L;
+            changeMap();
+        }
+
+        long walkNanos = settings.walkInterval * 1_000_000L;
+        for (SimulatedChar character : world) {
+            if (walkNanos <= 0 || now - character.nextStepNanos < 0) continue;
+            // Cada personaje camina con un intervalo aleatorio alrededor del configurado, para que los pasos no lleguen juntos
+            character.nextStepNanos = now + walkNanos / 2 + (long) (random.nextDouble() * walkNanos);
+            character.step(1 + random.nextInt(4));
+            for (Session session : sessions)
+                if (session.character != null)
+                    ServerPacketEncoder.characterMove(session.out, (short) character.index, character.x, character.y);
+        }
+
+        if (!world.isEmpty()) {
+            for (pendingChats += settings.chatRate * seconds; pendingChats >= 1; pendingChats--) {
+                SimulatedChar speaker = world.get(random.nextInt(world.size()));
+                String text = PHRASES[random.nextInt(PHRASES.length)];
+                for (Session session : sessions)
+                    if (session.character != null)
+                        ServerPacketEncoder.chatOverHead(session.out, text, (short) speaker.index, 255, 255, 255);
+            }
+            for (pendingFxs += settings.fxRate * seconds; pendingFxs >= 1; pendingFxs--) {
+                SimulatedChar target = world.get(random.nextInt(world.size()));
+                short fx = (short) (1 + random.nextInt(MAX_FX));
+                for (Session session : sessions)
+                    if (session.character != null)
+                        ServerPacketEncoder.createFx(session.out, (short) target.index, fx, (short) random.nextInt(3));
+            }
+        }
+
+        for (Session session : sessions)
+            session.seal();
+    }
+
+    /**
+     * Muda a todos los personajes al siguiente mapa de la lista y los vuelve a crear en cada cliente.
+     */
+    private void changeMap() {
+        mapIndex = (mapIndex + 1) % settings.maps.length;
+        placeCharacters();
+        for (Session session : sessions) {
+            if (session.character == null) continue;
+            session.character.place(random);
+            ServerPacketEncoder.changeMap(session.out, (short) settings.maps[mapIndex], (short) 0);
+        }
+        for (Session session : sessions)
+            if (session.character != null) createCharacters(session);
+    }
+
+    private void placeCharacters() {
+        for (SimulatedChar character : world)
+            character.place(random);
+    }
+
+    /**
+     * Escribe en el canal los bytes cuya demora ya se cumplio, hasta donde lo permita el ancho de banda.
+     *
+     * @return el momento en que habra mas bytes para escribir, o {@link Long#MAX_VALUE} si no queda nada pendiente
+     */
+    private long flushOutbound(Session session, long now) throws IOException {
+        int bandwidth = settings.bandwidth;
+        if (bandwidth > 0) {
+            session.tokens = Math.min(session.tokens + (now - session.lastRefillNanos) / 1e9 * bandwidth,
+                    bandwidth * MAX_BURST_SECONDS);
+            session.lastRefillNanos = now;
+        }
+
+        while (!session.outbound.isEmpty()) {
+            Chunk chunk = session.outbound.peek();
+            if (now - chunk.due < 0) return chunk.due;
+            ByteBuffer data = chunk.data;
+            int limit = data.limit();
+            if (bandwidth > 0) {
+                // Sin credito suficiente, espera lo que tarda en acumularse un byte mas de los disponibles
+                if (session.tokens < 1) return now + (long) ((1 - session.tokens) / bandwidth * 1e9) + 1;
+                data.limit(data.position() + (int) Math.min(data.remaining(), session.tokens));
+            }
+            int written = session.channel.write(data);
+            data.limit(limit);
+            session.tokens -= written;
+            if (data.hasRemaining()) return written == 0 ? now + 1_000_000 : now;
+            session.outbound.poll();
+        }
+
+        if (session.closing) closeSession(session);
+        return Long.MAX_VALUE;
+    }
+
+    private void closeSession(Session session) {
+        if (!sessions.remove(session)) return;
+        closeQuietly(session.channel);
+        if (session.character != null) {
+            for (Session other : sessions)
+                if (other.character != null) ServerPacketEncoder.characterRemove(other.out, (short) session.character.index);
+            Logger.info("Simulated server disconnected '{}'", session.character.name);
+        }
+    }
+
+    /**
+     * Calcula el momento de entrega de un bloque de bytes segun la latencia y la variacion configuradas, sin adelantarse al
+     * bloque anterior del mismo sentido.
+     */
+    private long delay(long previousDue) {
+        long due = System.nanoTime() + settings.latency * 1_000_000L;
+        if (settings.jitter > 0) due += (long) (random.nextDouble() * settings.jitter * 1_000_000L);
+        return Math.max(due, previousDue);
+    }
+
+    private static long earliest(long a, long b) {
+        return a - b <= 0 ? a : b;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // No hay nada mas que hacer con un canal que no se pudo cerrar
+        }
+    }
+
+    /**
+     * Configuracion del servidor simulado. Los valores predeterminados simulan un mapa concurrido, sin demoras de red.
+     */
+    public static final class Settings {
+
+        private int port = 7666;
+        private int npcs = 50;
+        private int players = 20;
+        private int walkInterval = 600;
+        private double chatRate = 2;
+        private double fxRate = 1;
+        private int mapChangeInterval;
+        private int[] maps = {1};
+        private int latency;
+        private int jitter;
+        private int bandwidth;
+        private int tickInterval = 50;
+        private long seed = System.nanoTime();
+
+        /** Puerto en el que escucha, o 0 para que el sistema elija uno libre. */
+        public Settings port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /** Cantidad de NPCs simulados. */
+        public Settings npcs(int npcs) {
+            this.npcs = npcs;
+            return this;
+        }
+
+        /** Cantidad de jugadores simulados, que a diferencia de los NPCs tienen nombre. */
+        public Settings players(int players) {
+            this.players = players;
+            return this;
+        }
+
+        /** Intervalo promedio entre los pasos de cada personaje simulado, en milisegundos. 0 los deja quietos. */
+        public Settings walkInterval(int walkInterval) {
+            this.walkInterval = walkInterval;
+            return this;
+        }
+
+        /** Mensajes de chat por segundo. */
+        public Settings chatRate(double chatRate) {
+            this.chatRate = chatRate;
+            return this;
+        }
+
+        /** Efectos por segundo. */
+        public Settings fxRate(double fxRate) {
+            this.fxRate = fxRate;
+            return this;
+        }
+
+        /** Intervalo entre cambios de mapa, en segundos. 0 los desactiva. */
+        public Settings mapChangeInterval(int mapChangeInterval) {
+            this.mapChangeInterval = mapChangeInterval;
+            return this;
+        }
+
+        /** Mapas que se recorren en cada cambio de mapa, empezando por el primero. */
+        public Settings maps(int... maps) {
+            if (maps.length == 0) throw new IllegalArgumentException("At least one map is required");
+            this.maps = maps.clone();
+            return this;
+        }
+
+        /** Latencia de cada sentido de la conexion, en milisegundos. */
+        public Settings latency(int latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /** Variacion aleatoria maxima que se suma a la latencia, en milisegundos. */
+        public Settings jitter(int jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /** Ancho de banda del servidor al cliente, en bytes por segundo. 0 no lo limita. */
+        public Settings bandwidth(int bandwidth) {
+            this.bandwidth = bandwidth;
+            return this;
+        }
+
+        /** Intervalo entre los ticks en los que se genera la carga, en milisegundos. */
+        public Settings tickInterval(int tickInterval) {
+            this.tickInterval = Math.max(1, tickInterval);
+            return this;
+        }
+
+        /** Semilla de los valores aleatorios, para repetir la misma carga. */
+        public Settings seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+    }
+
+    /**
+     * Personaje del mundo simulado.
+     */
+    private static final class SimulatedChar {
+
+        final int index;
+        final String name;
+        int body, head, heading = 3, x, y;
+        long nextStepNanos;
+
+        SimulatedChar(int index, String name) {
+            this.index = index;
+            this.name = name;
+        }
+
+        /** Ubica al personaje en una posicion aleatoria, con otra apariencia. */
+        void place(Random random) {
+            body = 1 + random.nextInt(MAX_BODY);
+            head = 1 + random.nextInt(MAX_HEAD);
+            x = MIN_POSITION + random.nextInt(MAX_POSITION - MIN_POSITION + 1);
+            y = MIN_POSITION + random.nextInt(MAX_POSITION - MIN_POSITION + 1);
+        }
+
+        /** Da un paso en la direccion indicada (1 arriba, 2 derecha, 3 abajo, 4 izquierda), sin salir del area permitida. */
+        void step(int direction) {
+            heading = direction;
+            switch (direction) {
+                case 1 -> y = Math.max(MIN_POSITION, y - 1);
+                case 2 -> x = Math.min(MAX_POSITION, x + 1);
+                case 3 -> y = Math.min(MAX_POSITION, y + 1);
+                case 4 -> x = Math.max(MIN_POSITION, x - 1);
+                default -> {
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Bytes en transito por la red simulada, con el momento en que deben entregarse.
+     */
+    private static final class Chunk {
+
+        final ByteBuffer data;
+        final long due;
+
+        Chunk(ByteBuffer data, long due) {
+            this.data = data;
+            this.due = due;
+        }
+
+    }
+
+    /**
+     * Conexion de un cliente.
+     */
+    private final class Session {
+
+        final SocketChannel channel;
+        /** Bytes del cliente que ya llegaron y todavia no forman un paquete completo. */
+        final PacketBuffer in = new PacketBuffer();
+        /** Paquetes generados para el cliente desde el ultimo tick. */
+        final PacketBuffer out = new PacketBuffer();
+        final ArrayDeque<Chunk> inbound = new ArrayDeque<>();
+        final ArrayDeque<Chunk> outbound = new ArrayDeque<>();
+        SelectionKey key;
+        SimulatedChar character;
+        boolean closing;
+        long inboundDue;
+        long outboundDue;
+        /** Bytes que se pueden enviar sin superar el ancho de banda. */
+        double tokens;
+        long lastRefillNanos = System.nanoTime();
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /** Pasa los paquetes generados a la red simulada. */
+        void seal() {
+            if (out.getLength() == 0) return;
+            ByteBuffer chunk = ByteBuffer.allocate(out.getLength());
+            out.readBytes(chunk);
+            outbound.add(new Chunk(chunk.flip(), outboundDue = delay(outboundDue)));
+        }
+
+    }
+
+}
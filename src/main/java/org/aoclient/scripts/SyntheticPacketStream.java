@@ -0,0 +1,381 @@
+package org.aoclient.scripts;
+
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.PacketReceiver;
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.handlers.PacketHandler;
+import org.aoclient.network.protocol.types.MessageType;
+import org.aoclient.scripts.PacketLayout.Node;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Flujo de paquetes del servidor generado al azar a partir de los layouts de {@link ServerPacket}, y el receptor simulado con el
+ * que se procesa sin conexion y sin el motor del juego. Lo usan los tests del camino de recepcion (fragmentacion, flujos
+ * malformados y presupuestos de rendimiento) y {@link PacketStreamHarness}.
+ * <p>
+ * Los paquetes no se aplican al juego: todos los procesa un handler simulado ({@link MockState}) que lee cada campo en el orden
+ * del layout y lo acumula en un resumen, por lo que dos procesamientos coinciden solo si leyeron los mismos paquetes con los
+ * mismos valores. Asi no depende de OpenGL, ImGui ni del estado del juego.
+ */
+
+public final class SyntheticPacketStream {
+
+    /** Tamaño maximo de un segmento, igual al MSS tipico de TCP sobre Ethernet. */
+    public static final int MAX_SEGMENT = 1460;
+    /**
+     * Nombres con los que se completan las cadenas cuando se piden nombres comunes. En una partida las cadenas que mas se repiten
+     * son nombres de personajes y tags de clan, que pasan por la cache de cadenas del buffer.
+     */
+    private static final String[] NAMES = {"Lorwik", "Nhyl", "Guardia Real", "Lobo", "Orco", "Goblin", "Araña gigante",
+            "<Legion>", "<Caos>", "Mercader", "Sacerdote", "Banquero", "Dragon Rojo", "Tigre salvaje", "Zombie", "Esqueleto"};
+
+    /** Elementos del layout de cada paquete del servidor, indexados por ID. */
+    private static final List<Node>[] SERVER_LAYOUTS = parseServerLayouts();
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+    private static final List<List<Node>> MESSAGE_LAYOUTS = new ArrayList<>();
+    private static final ServerPacket[] PACKETS = ServerPacket.values();
+    /** IDs que no corresponden a ningun paquete del servidor. */
+    private static final int[] INVALID_IDS;
+
+    static {
+        for (MessageType type : MESSAGE_TYPES)
+            MESSAGE_LAYOUTS.add(PacketLayout.parse(type.getLayout()));
+        INVALID_IDS = IntStream.range(0, 256).filter(id -> ServerPacket.fromId(id) == null).toArray();
+    }
+
+    private final Random random;
+    private final boolean commonNames;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    /** Posicion en la que comienza cada paquete. */
+    private final List<Integer> offsets = new ArrayList<>();
+
+    /**
+     * Genera un flujo de paquetes del servidor elegidos al azar, con valores aleatorios que respetan el layout de cada uno.
+     *
+     * @param random      generador de los paquetes y sus valores
+     * @param packets     cantidad de paquetes
+     * @param commonNames si las cadenas se eligen entre nombres comunes en lugar de generarse con bytes aleatorios
+     */
+    public SyntheticPacketStream(Random random, int packets, boolean commonNames) {
+        this.random = random;
+        this.commonNames = commonNames;
+        for (int i = 0; i < packets; i++) {
+            ServerPacket packet = PACKETS[random.nextInt(PACKETS.length)];
+            offsets.add(out.size());
+            out.write(packet.getId());
+            write(SERVER_LAYOUTS[packet.getId()]);
+        }
+    }
+
+    /**
+     * @return los bytes del flujo, en un array nuevo en cada llamada
+     */
+    public byte[] getBytes() {
+        return out.toByteArray();
+    }
+
+    public int getPackets() {
+        return offsets.size();
+    }
+
+    /**
+     * @return la posicion en el flujo en la que comienza cada paquete
+     */
+    public List<Integer> getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * @return los IDs de paquete que no corresponden a ningun paquete del servidor
+     */
+    public static int[] getInvalidIds() {
+        return INVALID_IDS.clone();
+    }
+
+    /**
+     * Devuelve posiciones de corte al azar, mayormente cercanas entre si, que son las que cortan los paquetes en lugares
+     * distintos, y de vez en cuando separadas hasta un segmento TCP.
+     *
+     * @param random generador de los cortes
+     * @param length longitud del flujo
+     * @return las posiciones de corte en orden creciente
+     */
+    public static int[] randomCuts(Random random, int length) {
+        List<Integer> cuts = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            position += 1 + (random.nextInt(4) == 0 ? random.nextInt(MAX_SEGMENT) : random.nextInt(32));
+            if (position >= length) break;
+            cuts.add(position);
+        }
+        return cuts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Procesa un flujo entregandolo al receptor en fragmentos, del mismo modo que el hilo de red entrega lo que lee del socket.
+     *
+     * @param stream bytes del flujo
+     * @param cuts   posiciones de corte en orden creciente
+     * @return el resultado del procesamiento
+     */
+    public static Result run(byte[] stream, int[] cuts) {
+        MockState state = new MockState();
+        // El handler simulado no aplica los paquetes, por lo que la sesion queda vacia y no envia nada
+        PacketReceiver receiver = new PacketReceiver(new Session(0), state);
+        PacketBuffer buffer = new PacketBuffer();
+        Result result = new Result();
+        try {
+            int start = 0;
+            for (int i = 0; i <= cuts.length; i++) {
+                int end = i < cuts.length ? cuts[i] : stream.length;
+                buffer.writeBlock(ByteBuffer.wrap(stream, start, end - start));
+                start = end;
+                drain(receiver, buffer);
+                // Con un ID invalido el receptor se detiene, y el hilo de red cierra la conexion
+                if (buffer.getLength() > 0 && ServerPacket.fromId(buffer.peekByteAt(0)) == null) {
+                    result.invalidId = buffer.peekByteAt(0);
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            result.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        result.packets = state.packets;
+        result.digest = state.digest;
+        result.consumed = buffer.getConsumedBytes();
+        // Tras un ID invalido el resto del flujo ya no se entrega, por eso los pendientes se cuentan sobre el flujo completo
+        result.pending = (int) (stream.length - result.consumed);
+        return result;
+    }
+
+    /**
+     * Procesa todos los paquetes completos del buffer, ya que el receptor procesa una cantidad limitada por llamada.
+     */
+    public static void drain(PacketReceiver receiver, PacketBuffer buffer) {
+        int handled;
+        do {
+            handled = receiver.handleIncomingBytes(buffer);
+        } while (handled > 0);
+    }
+
+    private void write(List<Node> nodes) {
+        for (Node node : nodes) {
+            switch (node.kind) {
+                case PRIMITIVE -> writePrimitive(node.code);
+                case REPEAT -> {
+                    for (int i = 0; i < node.count; i++)
+                        write(node.children);
+                }
+                case GROUP -> write(node.children);
+                case COUNTED -> {
+                    int count = random.nextInt(5);
+                    writeLittleEndian(count, 2);
+                    for (int i = 0; i < count; i++)
+                        write(node.children);
+                }
+                case CONDITIONAL -> {
+                    boolean condition = random.nextBoolean();
+                    out.write(condition ? 1 : 0);
+                    write(node.children.subList(condition ? 0 : 1, condition ? 1 : 2));
+                }
+                case MESSAGE -> {
+                    // Solo tipos conocidos: uno desconocido es un error de delimitacion que detiene el flujo
+                    int type = random.nextInt(MESSAGE_TYPES.length);
+                    out.write(type);
+                    write(MESSAGE_LAYOUTS.get(type));
+                }
+                case GM_COMMAND -> throw new IllegalStateException("Server packets have no GM commands");
+            }
+        }
+    }
+
+    private void writePrimitive(char code) {
+        switch (code) {
+            case 'B' -> out.write(random.nextInt(256));
+            case 'Z' -> out.write(random.nextInt(2));
+            case 'I' -> writeLittleEndian(random.nextInt(), 2);
+            case 'L' -> writeLittleEndian(random.nextInt(), 4);
+            case 'F' -> writeLittleEndian(Float.floatToIntBits(random.nextFloat() * 1000), 4);
+            case 'D' -> {
+                long bits = Double.doubleToLongBits(random.nextDouble() * 1000);
+                writeLittleEndian((int) bits, 4);
+                writeLittleEndian((int) (bits >>> 32), 4);
+            }
+            case 'S' -> {
+                byte[] string;
+                if (commonNames) string = NAMES[random.nextInt(NAMES.length)].getBytes(StandardCharsets.ISO_8859_1);
+                else {
+                    // Bytes de todo el rango, incluidos los de 0x80-0x9F que Cp1252 decodifica con la tabla
+                    string = new byte[random.nextInt(4) == 0 ? 0 : random.nextInt(48)];
+                    random.nextBytes(string);
+                }
+                writeLittleEndian(string.length, 2);
+                out.writeBytes(string);
+            }
+            default -> throw new IllegalStateException("Invalid packet layout code: " + code);
+        }
+    }
+
+    private void writeLittleEndian(int value, int bytes) {
+        for (int i = 0; i < bytes; i++)
+            out.write(value >>> 8 * i);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Node>[] parseServerLayouts() {
+        List<Node>[] layouts = new List[256];
+        for (ServerPacket packet : ServerPacket.values())
+            layouts[packet.getId()] = PacketLayout.parse(packet.getLayout());
+        return layouts;
+    }
+
+    /**
+     * Resultado de procesar un flujo. Dos resultados son iguales si se procesaron los mismos paquetes con los mismos valores y el
+     * flujo termino en el mismo estado.
+     */
+    public static final class Result {
+
+        int packets;
+        long digest;
+        long consumed;
+        int pending;
+        /** ID invalido en el que se detuvo el procesamiento, o -1. */
+        int invalidId = -1;
+        /** Excepcion que escapo del receptor, o null. */
+        String error;
+
+        public int getPackets() {
+            return packets;
+        }
+
+        /** Bytes del flujo que consumio el receptor. */
+        public long getConsumed() {
+            return consumed;
+        }
+
+        /** Bytes del flujo que quedaron sin procesar. */
+        public int getPending() {
+            return pending;
+        }
+
+        /** ID invalido en el que se detuvo el procesamiento, o -1 si no encontro ninguno. */
+        public int getInvalidId() {
+            return invalidId;
+        }
+
+        /** Excepcion que escapo del receptor, o null si no hubo ninguna. */
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Result other)) return false;
+            return packets == other.packets && digest == other.digest && consumed == other.consumed && pending == other.pending
+                    && invalidId == other.invalidId && Objects.equals(error, other.error);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(digest);
+        }
+
+        @Override
+        public String toString() {
+            return packets + " packets, " + consumed + " bytes consumed, " + pending + " pending"
+                    + (invalidId >= 0 ? ", stopped at invalid id " + invalidId : "") + (error != null ? ", " + error : "");
+        }
+
+    }
+
+    /**
+     * Estado del juego simulado: un handler que, en lugar de aplicar el paquete, lee cada campo en el orden del layout con los
+     * metodos de {@link PacketBuffer} y lo acumula en un resumen FNV-1a.
+     */
+    public static final class MockState implements PacketHandler {
+
+        private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        int packets;
+        long digest = FNV_OFFSET;
+
+        @Override
+        public void handle(Session session, PacketBuffer buffer) {
+            int id = buffer.readByte();
+            mix(id);
+            read(buffer, SERVER_LAYOUTS[id]);
+            packets++;
+        }
+
+        public int getPackets() {
+            return packets;
+        }
+
+        private void read(PacketBuffer buffer, List<Node> nodes) {
+            // Sin iterador, para que el handler simulado no asigne memoria y no se confunda con la del receptor
+            for (int n = 0; n < nodes.size(); n++) {
+                Node node = nodes.get(n);
+                switch (node.kind) {
+                    case PRIMITIVE -> readPrimitive(buffer, node.code);
+                    case REPEAT -> {
+                        for (int i = 0; i < node.count; i++)
+                            read(buffer, node.children);
+                    }
+                    case GROUP -> read(buffer, node.children);
+                    case COUNTED -> {
+                        int count = Math.max(buffer.readInteger(), 0);
+                        mix(count);
+                        for (int i = 0; i < count; i++)
+                            read(buffer, node.children);
+                    }
+                    case CONDITIONAL -> {
+                        boolean condition = buffer.readBoolean();
+                        mix(condition ? 1 : 0);
+                        read(buffer, node.children.get(condition ? 0 : 1).children);
+                    }
+                    case MESSAGE -> {
+                        int type = buffer.readByte();
+                        mix(type);
+                        if (type < MESSAGE_TYPES.length) read(buffer, MESSAGE_LAYOUTS.get(type));
+                    }
+                    case GM_COMMAND -> throw new IllegalStateException("Server packets have no GM commands");
+                }
+            }
+        }
+
+        private void readPrimitive(PacketBuffer buffer, char code) {
+            switch (code) {
+                case 'B' -> mix(buffer.readByte());
+                case 'Z' -> mix(buffer.readBoolean() ? 1 : 0);
+                case 'I' -> mix(buffer.readInteger());
+                case 'L' -> mix(buffer.readLong());
+                case 'F' -> mix(Float.floatToRawIntBits(buffer.readFloat()));
+                case 'D' -> {
+                    long bits = Double.doubleToRawLongBits(buffer.peekDouble());
+                    buffer.skip(Double.BYTES);
+                    mix((int) bits);
+                    mix((int) (bits >>> 32));
+                }
+                case 'S' -> mix(buffer.readCp1252String().hashCode());
+                default -> throw new IllegalStateException("Invalid packet layout code: " + code);
+            }
+        }
+
+        private void mix(int value) {
+            digest = (digest ^ value) * FNV_PRIME;
+        }
+
+    }
+
+}
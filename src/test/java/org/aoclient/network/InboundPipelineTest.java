@@ -0,0 +1,117 @@
+package org.aoclient.network;
+
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.codec.ServerPacketDecoder;
+import org.aoclient.network.protocol.codec.ServerPacketEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que el lado productor de la cola entrante este acotado: con un servidor que envia mas rapido de lo que el hilo de
+ * renderizado aplica, el buffer de recepcion deja de crecer cuando la cola se llena y el resto de los bytes queda sin leer en el
+ * canal, en lugar de acumularse en memoria.
+ */
+
+class InboundPipelineTest {
+
+    private static final int QUEUE_CAPACITY = 64;
+    /** Cantidad de paquetes {@code UPDATE_HP} (3 bytes cada uno) que tiene el canal, muchos mas de los que entran en la cola. */
+    private static final int PACKETS = 200_000;
+    /** Maximo que puede guardar el buffer de recepcion: una lectura del canal mas el paquete incompleto que la precede. */
+    private static final int MAX_BUFFERED = InboundPipeline.CHANNEL_BUFFER_SIZE + 3;
+
+    private final SpscRing<InboundFrame> queue = new SpscRing<>(QUEUE_CAPACITY, InboundFrame::new);
+    private final InboundPipeline pipeline = new InboundPipeline(queue, new InboundShedder(QUEUE_CAPACITY * 3 / 4));
+    private final FloodChannel channel = new FloodChannel(PACKETS);
+
+    @Test
+    void stopsReadingWhileTheQueueIsFull() throws IOException {
+        assertTrue(pipeline.receive(channel, null), "The queue should be full after the first read");
+        assertEquals(QUEUE_CAPACITY, queue.size());
+        int buffered = pipeline.getBufferedBytes();
+        long read = channel.getReadBytes();
+        assertTrue(buffered <= MAX_BUFFERED, "Buffered " + buffered + " bytes with a full queue");
+        assertTrue(read <= MAX_BUFFERED, "Read " + read + " bytes from the channel with a full queue");
+
+        // Mientras nadie aplica paquetes, reintentar la publicacion no lee mas del canal
+        for (int i = 0; i < 1000; i++)
+            assertTrue(pipeline.publishFrames());
+        assertEquals(buffered, pipeline.getBufferedBytes(), "The receive buffer grew while the queue was full");
+        assertEquals(read, channel.getReadBytes(), "The channel was read while the queue was full");
+    }
+
+    @Test
+    void resumesReadingOnceSlotsAreReleased() throws IOException {
+        int applied = 0;
+        int maxBuffered = 0;
+        boolean queueFull = pipeline.receive(channel, null);
+        while (applied < PACKETS) {
+            // Igual que el bucle del hilo de red: con la cola llena solo reintenta publicar, y vuelve a leer cuando hay lugar
+            if (queueFull) queueFull = pipeline.publishFrames();
+            if (!queueFull) queueFull = pipeline.receive(channel, null);
+            maxBuffered = Math.max(maxBuffered, pipeline.getBufferedBytes());
+
+            // El hilo de renderizado aplica la mitad de la cola por frame
+            for (int i = 0; i < QUEUE_CAPACITY / 2 && queue.peek() != null; i++) {
+                InboundFrame frame = queue.peek();
+                assertEquals(ServerPacket.UPDATE_HP, frame.packet);
+                assertEquals((short) applied, ((ServerPacketDecoder.UpdateHp) frame.event).minHp, "Packet out of order");
+                queue.release();
+                applied++;
+            }
+        }
+
+        assertEquals(PACKETS * 3L, channel.getReadBytes());
+        assertEquals(0, pipeline.getBufferedBytes());
+        assertFalse(pipeline.publishFrames());
+        assertTrue(maxBuffered <= MAX_BUFFERED, "The receive buffer reached " + maxBuffered + " bytes");
+    }
+
+    /**
+     * Canal no bloqueante que siempre tiene bytes para leer, como un servidor que envia paquetes sin pausa, hasta agotar un flujo
+     * de {@code UPDATE_HP} numerados.
+     */
+    private static final class FloodChannel implements ReadableByteChannel {
+
+        private final ByteBuffer stream;
+
+        FloodChannel(int packets) {
+            PacketBuffer buffer = new PacketBuffer();
+            for (int i = 0; i < packets; i++)
+                ServerPacketEncoder.updateHp(buffer, (short) i);
+            stream = ByteBuffer.allocate(buffer.getLength());
+            buffer.readBytes(stream);
+            stream.flip();
+        }
+
+        long getReadBytes() {
+            return stream.position();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            int count = Math.min(dst.remaining(), stream.remaining());
+            dst.put(stream.slice().limit(count));
+            stream.position(stream.position() + count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
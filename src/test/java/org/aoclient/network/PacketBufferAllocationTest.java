@@ -0,0 +1,183 @@
+package org.aoclient.network;
+
+import org.aoclient.engine.game.Session;
+import org.aoclient.engine.game.User;
+import org.aoclient.engine.game.models.Character;
+import org.aoclient.network.protocol.PacketReceiver;
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.codec.ServerPacketEncoder;
+import org.aoclient.network.protocol.handlers.CharacterMoveHandler;
+import org.aoclient.network.protocol.handlers.UpdateHPHandler;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que recibir y aplicar los paquetes de tamaño fijo mas frecuentes ({@code CHARACTER_MOVE} y {@code UPDATE_HP}) no
+ * genere basura una vez que los buffers alcanzaron su capacidad de trabajo, midiendo los bytes asignados por el hilo con
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}.
+ * <p>
+ * Los paquetes recorren el mismo camino que en el cliente: {@link InboundPipeline} los lee de un canal, los delimita y los
+ * decodifica en el evento de un {@link InboundFrame} de la cola, y {@link PacketReceiver#handleEvent} los aplica sobre una
+ * {@link Session} con los handlers del juego ({@link CharacterMoveHandler} y {@link UpdateHPHandler}). Los dos hilos del cliente
+ * se ejecutan aca en el mismo, para que la medicion los incluya a ambos.
+ * <p>
+ * La tarea {@code test} de Gradle desactiva el analisis de escape del JIT, para que el test falle si el camino crea objetos
+ * aunque el compilador los pudiera eliminar en la JVM que ejecuta el test.
+ */
+
+class PacketBufferAllocationTest {
+
+    /** Paquetes de cada tipo que se reciben y aplican en cada ronda, uno por personaje. */
+    private static final int PACKETS_PER_ROUND = 64;
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 20_000;
+    /** Posicion del usuario, alrededor de la cual se mueven los personajes sin salir de su area. */
+    private static final int CENTER = 50;
+    /**
+     * Margen para las asignaciones que no dependen de la cantidad de paquetes, como las de la propia medicion. Una sola
+     * asignacion por paquete sumaria varios megabytes en las rondas medidas.
+     */
+    private static final long TOLERANCE_BYTES = 4096;
+
+    private final SpscRing<InboundFrame> queue = new SpscRing<>(PACKETS_PER_ROUND * 4, InboundFrame::new);
+    private final InboundPipeline pipeline = new InboundPipeline(queue, new InboundShedder(queue.capacity()));
+    private final BurstChannel channel = new BurstChannel();
+    /** Rafaga de paquetes de cada ronda, como la escribiria el servidor. */
+    private final PacketBuffer burst = new PacketBuffer();
+    private final Session session = new Session(0);
+    private final PacketReceiver receiver = new PacketReceiver(session);
+    /** Acumula el estado que dejan los handlers para que el compilador no pueda descartar el camino. */
+    private long checksum;
+
+    @Test
+    void receivingFixedSizePacketsDoesNotAllocate() throws IOException {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "The JVM does not report per-thread allocation");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported(), "The JVM does not report per-thread allocation");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        createCharacters();
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+            round(i);
+
+        checksum = 0;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ROUNDS; i++)
+            round(i);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(expectedChecksum(), checksum, "The handlers did not apply the packets as written");
+        assertTrue(allocated < TOLERANCE_BYTES, "Receiving " + MEASURED_ROUNDS * PACKETS_PER_ROUND * 2L + " packets allocated "
+                + allocated + " bytes");
+    }
+
+    /**
+     * Crea el usuario y los personajes de antemano, como lo harian {@code LOGGED}, {@code AREA_CHANGED} y
+     * {@code CHARACTER_CREATE}, para que las rondas solo muevan personajes existentes. La sesion no es la del cliente, por lo que
+     * sus pasos no suenan.
+     */
+    private void createCharacters() {
+        User user = session.getUser();
+        user.setUserCharIndex((short) 1);
+        user.getUserPos().setX(CENTER);
+        user.getUserPos().setY(CENTER);
+        user.areaChange(CENTER, CENTER);
+        for (int charIndex = 1; charIndex <= PACKETS_PER_ROUND; charIndex++) {
+            Character character = session.getCharList().get(charIndex);
+            character.setActive(true);
+            character.getPos().setX(CENTER);
+            character.getPos().setY(CENTER);
+        }
+    }
+
+    /**
+     * Recibe una rafaga de paquetes, como la que llega en una lectura del canal, y la aplica paquete por paquete igual que el
+     * hilo de red y el de renderizado.
+     */
+    private void round(int round) throws IOException {
+        for (int i = 0; i < PACKETS_PER_ROUND; i++) {
+            ServerPacketEncoder.characterMove(burst, (short) (i + 1), x(round, i), y(round, i));
+            ServerPacketEncoder.updateHp(burst, (short) (round & 0x7FFF));
+        }
+        channel.fill(burst);
+
+        assertFalse(pipeline.receive(channel, null), "The queue filled up with a single burst");
+        int applied = 0;
+        for (InboundFrame frame = queue.peek(); frame != null; frame = queue.peek()) {
+            receiver.handleEvent(frame.event);
+            queue.release();
+            applied++;
+        }
+        assertEquals(PACKETS_PER_ROUND * 2, applied, "Packets applied in the round");
+
+        for (int charIndex = 1; charIndex <= PACKETS_PER_ROUND; charIndex++) {
+            Character character = session.getCharList().get(charIndex);
+            checksum += character.getPos().getX() + character.getPos().getY();
+        }
+        checksum += session.getUser().getUserMinHP();
+    }
+
+    private static int x(int round, int i) {
+        return CENTER - 4 + (round + i) % 9;
+    }
+
+    private static int y(int round, int i) {
+        return CENTER - 4 + (round * 7 + i) % 9;
+    }
+
+    private static long expectedChecksum() {
+        long expected = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (int i = 0; i < PACKETS_PER_ROUND; i++)
+                expected += x(round, i) + y(round, i);
+            expected += round & 0x7FFF;
+        }
+        return expected;
+    }
+
+    /**
+     * Canal no bloqueante con los bytes de una rafaga, que se leen como si hubieran llegado del socket. Reutiliza su buffer entre
+     * rafagas para no medir asignaciones propias.
+     */
+    private static final class BurstChannel implements ReadableByteChannel {
+
+        private final ByteBuffer bytes = ByteBuffer.allocate(InboundPipeline.CHANNEL_BUFFER_SIZE);
+
+        void fill(PacketBuffer burst) {
+            bytes.clear();
+            burst.readBytes(bytes);
+            bytes.flip();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            int count = Math.min(dst.remaining(), bytes.remaining());
+            int limit = bytes.limit();
+            bytes.limit(bytes.position() + count);
+            dst.put(bytes);
+            bytes.limit(limit);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.aoclient.network.protocol;
+
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.NotEnoughBytesException;
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.handlers.PacketHandler;
+import org.aoclient.scripts.SyntheticPacketStream;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Verifica que los handlers del juego lean exactamente el layout de su paquete: ni un byte menos, que {@link PacketReceiver}
+ * descartaria en silencio, ni uno mas, que cerraria la sesion. Solo los paquetes de {@code DECODED} tienen un decoder generado
+ * del layout; el resto de los handlers leen el buffer a mano y este test es lo que los mantiene alineados con
+ * {@link ServerPacket}.
+ * <p>
+ * Cada handler recibe un buffer con un unico paquete de {@link SyntheticPacketStream}, sobre una sesion nueva. Los valores son
+ * aleatorios, por lo que algunos handlers fallan al aplicarlos (un indice de personaje fuera de rango o un mapa sin cargar);
+ * como no se sabe cuanto leyeron, esos paquetes no cuentan como verificados, pero un handler que lee mas alla del paquete
+ * siempre hace fallar el test.
+ */
+
+class PacketHandlerLayoutTest {
+
+    private static final long SEED = 1;
+    /** Cantidad de paquetes del flujo, suficiente para que cada tipo aparezca varias veces con valores distintos. */
+    private static final int PACKETS = 5000;
+    /**
+     * Cantidad minima de tipos de paquete verificados. Los que fallan con valores aleatorios dependen del estado del juego o
+     * del motor; si la cantidad baja, algun handler empezo a fallar antes de terminar de leer.
+     */
+    private static final int MIN_VERIFIED = 75;
+
+    @Test
+    void handlersReadExactlyTheirLayout() {
+        SyntheticPacketStream stream = new SyntheticPacketStream(new Random(SEED), PACKETS, true);
+        byte[] bytes = stream.getBytes();
+        List<Integer> offsets = stream.getOffsets();
+        Set<ServerPacket> verified = EnumSet.noneOf(ServerPacket.class);
+        Set<ServerPacket> failed = EnumSet.noneOf(ServerPacket.class);
+
+        for (int i = 0; i < offsets.size(); i++) {
+            int start = offsets.get(i);
+            int end = i + 1 < offsets.size() ? offsets.get(i + 1) : bytes.length;
+            ServerPacket packet = ServerPacket.fromId(bytes[start] & 0xFF);
+            Session session = new Session(0, reason -> fail(packet + ": " + reason));
+            PacketHandler handler = new PacketReceiver(session).getHandler(packet);
+            assertTrue(handler != null, "No handler registered for " + packet);
+
+            PacketBuffer buffer = new PacketBuffer();
+            buffer.writeBlock(ByteBuffer.wrap(bytes, start, end - start));
+            try {
+                handler.handle(session, buffer);
+            } catch (NotEnoughBytesException e) {
+                fail("Handler of " + packet + " read past the end of its " + (end - start) + " byte layout");
+            } catch (RuntimeException | LinkageError e) {
+                failed.add(packet);
+                continue;
+            }
+            assertEquals(0, buffer.getLength(), "Handler of " + packet + " left unread bytes of its layout");
+            verified.add(packet);
+        }
+
+        failed.removeAll(verified);
+        assertTrue(verified.size() >= MIN_VERIFIED, "Only " + verified.size() + " packet types could be verified, failed: "
+                + failed);
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.aoclient.network.protocol;
+
+import org.aoclient.engine.game.Session;
+import org.aoclient.network.PacketBuffer;
+import org.aoclient.network.protocol.codec.ServerPacketEncoder;
+import org.aoclient.network.protocol.handlers.PacketHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que {@link PacketReceiver} cierre la sesion ante los errores que hacen perder la sincronizacion con el flujo (un ID
+ * desconocido o un handler que lee mas alla del paquete), en lugar de dejar los bytes en el buffer y reintentarlos en cada
+ * llamada.
+ */
+
+class PacketReceiverTest {
+
+    /** Motivos con los que el receptor cerro la sesion. */
+    private final List<String> errors = new ArrayList<>();
+    private final Session session = new Session(0, errors::add);
+    private final PacketBuffer buffer = new PacketBuffer();
+    /** Cantidad de paquetes {@code UPDATE_HP} que aplico el handler. */
+    private int applied;
+
+    @Test
+    void unknownIdClosesTheSession() {
+        PacketReceiver receiver = new PacketReceiver(session, new UpdateHpHandler(false));
+        ServerPacketEncoder.updateHp(buffer, (short) 1);
+        buffer.writeByte(unknownId());
+        ServerPacketEncoder.updateHp(buffer, (short) 2);
+
+        assertEquals(1, receiver.handleIncomingBytes(buffer), "Packets before the unknown id");
+        assertEquals(1, applied);
+        assertEquals(1, errors.size(), "The session should be closed once");
+        assertEquals(4, buffer.getLength(), "The unknown id and what follows should stay unprocessed");
+    }
+
+    @Test
+    void handlerReadingPastTheFrameClosesTheSession() {
+        PacketReceiver receiver = new PacketReceiver(session, new UpdateHpHandler(false));
+        // El paquete llego truncado: el framer no lo vio completo, pero el frame dice que lo esta
+        buffer.writeByte(ServerPacket.UPDATE_HP.getId());
+        buffer.writeByte(0);
+
+        assertFalse(receiver.handlePacket(ServerPacket.UPDATE_HP, buffer, 2));
+        assertEquals(0, applied);
+        assertEquals(1, errors.size(), "The session should be closed");
+        assertTrue(errors.get(0).contains(ServerPacket.UPDATE_HP.name()), errors.get(0));
+    }
+
+    @Test
+    void handlerReadingIntoTheNextPacketClosesTheSession() {
+        // Un handler que no coincide con el layout: lee un byte de mas, que pertenece al paquete siguiente
+        PacketReceiver receiver = new PacketReceiver(session, new UpdateHpHandler(true));
+        ServerPacketEncoder.updateHp(buffer, (short) 1);
+        ServerPacketEncoder.updateHp(buffer, (short) 2);
+
+        assertEquals(0, receiver.handleIncomingBytes(buffer));
+        assertEquals(1, errors.size(), "The session should be closed");
+    }
+
+    @Test
+    void truncatedStreamWaitsWithoutClosing() {
+        PacketReceiver receiver = new PacketReceiver(session, new UpdateHpHandler(false));
+        buffer.writeByte(ServerPacket.UPDATE_HP.getId());
+        buffer.writeByte(0);
+
+        assertEquals(0, receiver.handleIncomingBytes(buffer));
+        assertEquals(0, errors.size(), "An incomplete packet is not a protocol error");
+        buffer.writeByte(0);
+        assertEquals(1, receiver.handleIncomingBytes(buffer));
+        assertEquals(1, applied);
+    }
+
+    /**
+     * Lee los paquetes {@code UPDATE_HP}, los unicos que envian los tests. Es una sola clase para todos los tests, para que el
+     * handler simulado no vuelva megamorfica la llamada a los handlers del receptor y afecte la medicion de
+     * {@code PacketStreamBudgetTest} cuando los tests corren en la misma JVM.
+     */
+    private final class UpdateHpHandler implements PacketHandler {
+
+        /** Indica si el handler lee un byte de mas, como uno que no coincide con el layout del paquete. */
+        private final boolean overRead;
+
+        UpdateHpHandler(boolean overRead) {
+            this.overRead = overRead;
+        }
+
+        @Override
+        public void handle(Session session, PacketBuffer buffer) {
+            buffer.readByte();
+            buffer.readInteger();
+            if (overRead) buffer.readByte();
+            applied++;
+        }
+
+    }
+
+    private static int unknownId() {
+        for (int id = 0; id < 256; id++)
+            if (ServerPacket.fromId(id) == null) return id;
+        throw new IllegalStateException("Every packet ID is in use");
+    }
+
+}
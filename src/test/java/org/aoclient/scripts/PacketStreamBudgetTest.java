@@ -0,0 +1,59 @@
+package org.aoclient.scripts;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica el presupuesto de rendimiento del camino de recepcion de paquetes con un flujo sintetico grande procesado en segmentos
+ * TCP: un throughput minimo y una asignacion maxima por paquete. Las cifras detalladas las informa {@link PacketStreamHarness}.
+ */
+
+class PacketStreamBudgetTest {
+
+    private static final long SEED = 1;
+    private static final int PACKETS = 100_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 5;
+    /**
+     * Throughput minimo, en MB/s. Esta muy por debajo de lo que se mide en cualquier equipo de desarrollo para que el test no
+     * dependa de la carga de la maquina, pero detecta un camino de recepcion que vuelva a ser cuadratico o a copiar el buffer.
+     */
+    private static final double MIN_THROUGHPUT = 20;
+    /**
+     * Asignacion maxima por paquete, en bytes. El flujo incluye cadenas, y las que no estan en la cache de nombres crean su
+     * {@code String}; el resto del camino no deberia asignar nada.
+     */
+    private static final double MAX_ALLOCATION = 16;
+
+    private static PacketStreamHarness.Measurement measurement;
+
+    private static synchronized PacketStreamHarness.Measurement measure() {
+        if (measurement == null) {
+            byte[] stream = new SyntheticPacketStream(new Random(SEED), PACKETS, true).getBytes();
+            measurement = PacketStreamHarness.measure(stream, WARMUP_ROUNDS, ROUNDS);
+        }
+        return measurement;
+    }
+
+    @Test
+    void throughputIsWithinBudget() {
+        PacketStreamHarness.Measurement measurement = measure();
+        assertEquals(0, measurement.getPendingBytes(), "Bytes left unprocessed");
+        assertTrue(measurement.getThroughput() >= MIN_THROUGHPUT, String.format("Throughput %.1f MB/s is below %.1f MB/s",
+                measurement.getThroughput(), MIN_THROUGHPUT));
+    }
+
+    @Test
+    void allocationPerPacketIsWithinBudget() {
+        PacketStreamHarness.Measurement measurement = measure();
+        Assumptions.assumeTrue(measurement.getAllocationPerPacket() >= 0, "The JVM does not report per-thread allocation");
+        assertTrue(measurement.getAllocationPerPacket() <= MAX_ALLOCATION, String.format(
+                "Allocation %.2f bytes/packet is above %.2f bytes/packet", measurement.getAllocationPerPacket(), MAX_ALLOCATION));
+    }
+
+}
@@ -0,0 +1,157 @@
+package org.aoclient.scripts;
+
+import org.aoclient.network.protocol.ServerPacket;
+import org.aoclient.network.protocol.types.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * <p>
+ * Verifica que el camino de recepcion de paquetes ({@code PacketBuffer}, {@code PacketFramer} y {@code PacketReceiver}) procese
+ * un flujo partido en cualquier punto exactamente igual que entero, como lo entrega TCP: cada posicion de corte por separado,
+ * byte a byte y en segmentos de tamaño aleatorio.
+ * <p>
+ * Lo mismo se verifica con flujos malformados (IDs invalidos, bytes alterados, prefijos de longitud corruptos y flujos
+ * truncados), que ademas no deben producir excepciones. Un ID invalido o un mensaje de {@code MULTI_MESSAGE} de tipo desconocido
+ * detienen el procesamiento en el mismo paquete sin importar como se haya fragmentado el flujo.
+ * <p>
+ * Los flujos se generan con una semilla fija, asi que una falla se reproduce siempre igual.
+ */
+
+class PacketStreamFragmentationTest {
+
+    private static final long SEED = 1;
+    /** Cantidad de paquetes del flujo sintetico que se fragmenta. */
+    private static final int PACKETS = 2000;
+    /** Bytes iniciales de cada flujo en los que se prueba cada posicion de corte, ya que el costo es cuadratico. */
+    private static final int EXHAUSTIVE_LIMIT = 4096;
+    /** Cantidad de fragmentaciones aleatorias de cada flujo. */
+    private static final int RANDOM_FRAGMENTATIONS = 200;
+    /** Cantidad de flujos malformados de cada tipo. */
+    private static final int MALFORMED_STREAMS = 15;
+    /** Cantidad de paquetes de cada flujo malformado. */
+    private static final int MALFORMED_PACKETS = 40;
+
+    private final Random random = new Random(SEED);
+
+    @Test
+    void everyFragmentationMatchesTheWholeStream() {
+        SyntheticPacketStream stream = new SyntheticPacketStream(random, PACKETS, false);
+        SyntheticPacketStream.Result reference = assertFragmentationMatches("synthetic stream", stream.getBytes());
+        assertEquals(PACKETS, reference.getPackets(), "Packets processed without fragmentation");
+        assertEquals(0, reference.getPending(), "Bytes left without fragmentation");
+    }
+
+    @Test
+    void invalidIdStopsAtTheSamePacket() {
+        int[] invalidIds = SyntheticPacketStream.getInvalidIds();
+        for (int i = 0; i < MALFORMED_STREAMS; i++) {
+            SyntheticPacketStream stream = new SyntheticPacketStream(random, MALFORMED_PACKETS, false);
+            byte[] bytes = stream.getBytes();
+            // Un ID invalido en el limite entre dos paquetes
+            int packet = random.nextInt(stream.getPackets());
+            int at = stream.getOffsets().get(packet), id = invalidIds[random.nextInt(invalidIds.length)];
+            byte[] malformed = new byte[bytes.length + 1];
+            System.arraycopy(bytes, 0, malformed, 0, at);
+            malformed[at] = (byte) id;
+            System.arraycopy(bytes, at, malformed, at + 1, bytes.length - at);
+
+            SyntheticPacketStream.Result reference = assertFragmentationMatches("invalid id stream " + i, malformed);
+            assertEquals(id, reference.getInvalidId(), "Invalid id in stream " + i);
+            assertEquals(packet, reference.getPackets(), "Packets before the invalid id in stream " + i);
+            assertEquals(at, reference.getConsumed(), "Bytes before the invalid id in stream " + i);
+        }
+    }
+
+    @Test
+    void unknownMultiMessageTypeStopsAtTheSamePacket() {
+        for (int i = 0; i < MALFORMED_STREAMS; i++) {
+            SyntheticPacketStream stream = new SyntheticPacketStream(random, MALFORMED_PACKETS, false);
+            byte[] bytes = stream.getBytes();
+            int packet = random.nextInt(stream.getPackets());
+            int at = stream.getOffsets().get(packet);
+            byte[] malformed = new byte[bytes.length + 2];
+            System.arraycopy(bytes, 0, malformed, 0, at);
+            malformed[at] = (byte) ServerPacket.MULTI_MESSAGE.getId();
+            malformed[at + 1] = (byte) (MessageType.values().length + random.nextInt(256 - MessageType.values().length));
+            System.arraycopy(bytes, at, malformed, at + 2, bytes.length - at);
+
+            SyntheticPacketStream.Result reference = assertFragmentationMatches("unknown message stream " + i, malformed);
+            assertEquals(packet, reference.getPackets(), "Packets before the unknown message in stream " + i);
+            assertEquals(at, reference.getConsumed(), "Bytes before the unknown message in stream " + i);
+        }
+    }
+
+    @Test
+    void flippedBytesMatchWhenFragmented() {
+        for (int i = 0; i < MALFORMED_STREAMS; i++) {
+            byte[] bytes = new SyntheticPacketStream(random, MALFORMED_PACKETS, false).getBytes();
+            for (int k = 1 + random.nextInt(4); k > 0; k--)
+                bytes[random.nextInt(bytes.length)] = (byte) random.nextInt(256);
+            assertFragmentationMatches("flipped bytes stream " + i, bytes);
+        }
+    }
+
+    @Test
+    void corruptLengthPrefixesMatchWhenFragmented() {
+        // Valores que, si caen sobre un prefijo de longitud o un contador, lo vuelven negativo o enorme
+        short[] values = {Short.MAX_VALUE, Short.MIN_VALUE, -1, 0x4000};
+        for (int i = 0; i < MALFORMED_STREAMS; i++) {
+            byte[] bytes = new SyntheticPacketStream(random, MALFORMED_PACKETS, false).getBytes();
+            int at = 1 + random.nextInt(bytes.length - 2);
+            short value = values[random.nextInt(values.length)];
+            bytes[at] = (byte) value;
+            bytes[at + 1] = (byte) (value >> 8);
+            assertFragmentationMatches("corrupt prefix stream " + i, bytes);
+        }
+    }
+
+    @Test
+    void truncatedStreamsMatchWhenFragmented() {
+        for (int i = 0; i < MALFORMED_STREAMS; i++) {
+            byte[] bytes = new SyntheticPacketStream(random, MALFORMED_PACKETS, false).getBytes();
+            assertFragmentationMatches("truncated stream " + i, Arrays.copyOf(bytes, 1 + random.nextInt(bytes.length - 1)));
+        }
+    }
+
+    /**
+     * Verifica que procesar el flujo fragmentado de distintas formas de el mismo resultado que procesarlo entero, y que ninguna
+     * excepcion escape del receptor.
+     *
+     * @return el resultado de procesar el flujo entero
+     */
+    private SyntheticPacketStream.Result assertFragmentationMatches(String name, byte[] stream) {
+        SyntheticPacketStream.Result reference = SyntheticPacketStream.run(stream, new int[0]);
+        assertNull(reference.getError(), name + " without fragmentation");
+
+        // Cada posicion de corte por separado, dentro del prefijo en el que es viable
+        int limit = Math.min(stream.length, EXHAUSTIVE_LIMIT);
+        byte[] prefix = Arrays.copyOf(stream, limit);
+        SyntheticPacketStream.Result prefixReference = SyntheticPacketStream.run(prefix, new int[0]);
+        for (int cut = 1; cut < limit; cut++)
+            assertMatches(name, prefix, prefixReference, new int[]{cut});
+
+        // Byte a byte, es decir, todas las posiciones de corte a la vez
+        int[] everyByte = new int[Math.max(limit - 1, 0)];
+        for (int i = 0; i < everyByte.length; i++)
+            everyByte[i] = i + 1;
+        assertMatches(name, prefix, prefixReference, everyByte);
+
+        // Segmentos de tamaño aleatorio sobre el flujo completo
+        for (int i = 0; i < RANDOM_FRAGMENTATIONS; i++)
+            assertMatches(name, stream, reference, SyntheticPacketStream.randomCuts(random, stream.length));
+        return reference;
+    }
+
+    private static void assertMatches(String name, byte[] stream, SyntheticPacketStream.Result reference, int[] cuts) {
+        SyntheticPacketStream.Result result = SyntheticPacketStream.run(stream, cuts);
+        assertEquals(reference, result, () -> name + " fragmented at "
+                + (cuts.length <= 8 ? Arrays.toString(cuts) : cuts.length + " cuts"));
+    }
+
+}